@@ -2,6 +2,7 @@ package com.petlearning.basic;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
 
 /**
  * Spring Boot 應用程式啟動類
@@ -15,6 +16,9 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
 public class BasicSpringBootApplication {
 
     public static void main(String[] args) {
-        SpringApplication.run(BasicSpringBootApplication.class, args);
+        SpringApplication application = new SpringApplication(BasicSpringBootApplication.class);
+        // 記錄啟動步驟（Bean 建立、自動配置等耗時），透過 /actuator/startup 查看
+        application.setApplicationStartup(new BufferingApplicationStartup(2048));
+        application.run(args);
     }
 }
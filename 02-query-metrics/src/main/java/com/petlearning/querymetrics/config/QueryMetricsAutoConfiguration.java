@@ -0,0 +1,58 @@
+package com.petlearning.querymetrics.config;
+
+import com.petlearning.querymetrics.hibernate.JdbcTimingListener;
+import com.petlearning.querymetrics.hibernate.QueryCountInspector;
+import com.petlearning.querymetrics.web.QueryCountFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.Ordered;
+
+/**
+ * SQL 統計自動配置
+ *
+ * 服務加入 02-query-metrics 依賴即可啟用：
+ * - 向 Hibernate 註冊 QueryCountInspector（計數）與 JdbcTimingListener（計時）
+ * - 依設定開啟 Hibernate Statistics，由 Actuator 匯出 hibernate.* 指標
+ * - Servlet Web 應用以 QueryCountFilter 為每個請求統計
+ */
+@AutoConfiguration(before = HibernateJpaAutoConfiguration.class)
+@ConditionalOnClass(HibernatePropertiesCustomizer.class)
+@ConditionalOnProperty(prefix = "query-metrics", name = "enabled", matchIfMissing = true)
+@EnableConfigurationProperties(QueryMetricsProperties.class)
+public class QueryMetricsAutoConfiguration {
+
+    @Bean
+    public HibernatePropertiesCustomizer queryMetricsHibernatePropertiesCustomizer(QueryMetricsProperties properties) {
+        return hibernateProperties -> {
+            hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR, new QueryCountInspector());
+            hibernateProperties.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER, JdbcTimingListener.class.getName());
+            if (properties.isHibernateStatistics()) {
+                hibernateProperties.putIfAbsent(AvailableSettings.GENERATE_STATISTICS, "true");
+                // 開啟統計時 Hibernate 預設也會在每個 Session 結束時以 INFO 輸出多行 Session Metrics
+                hibernateProperties.putIfAbsent(AvailableSettings.LOG_SESSION_METRICS, "false");
+            }
+        };
+    }
+
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    public FilterRegistrationBean<QueryCountFilter> queryCountFilterRegistration(ObjectProvider<MeterRegistry> meterRegistry,
+                                                                                QueryMetricsProperties properties) {
+        QueryCountFilter filter = new QueryCountFilter(meterRegistry, properties.isResponseHeaders(),
+                properties.getWarnThreshold());
+        FilterRegistrationBean<QueryCountFilter> registration = new FilterRegistrationBean<>(filter);
+        // 靠近最外層：標頭緩衝要包住其他會寫出回應的 filter
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+        return registration;
+    }
+}
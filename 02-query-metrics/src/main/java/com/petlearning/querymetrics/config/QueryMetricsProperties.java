@@ -0,0 +1,63 @@
+package com.petlearning.querymetrics.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * SQL 統計設定
+ *
+ * 範例：
+ * <pre>
+ * query-metrics:
+ *   enabled: true
+ *   response-headers: false   # dev 設為 true，回應帶 X-Query-Count / X-Query-Time-Ms
+ *   warn-threshold: 20
+ *   hibernate-statistics: true
+ * </pre>
+ */
+@ConfigurationProperties(prefix = "query-metrics")
+public class QueryMetricsProperties {
+
+    /** 是否統計 SQL */
+    private boolean enabled = true;
+
+    /** 回應是否帶統計標頭；需要緩衝回應內容，只建議在開發環境開啟 */
+    private boolean responseHeaders = false;
+
+    /** 單一請求的 SQL 數超過此值時記錄警告（常見於 N+1），0 表示不檢查 */
+    private int warnThreshold = 20;
+
+    /** 是否開啟 Hibernate Statistics（hibernate.generate_statistics），並由 Actuator 匯出 */
+    private boolean hibernateStatistics = true;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public boolean isResponseHeaders() {
+        return responseHeaders;
+    }
+
+    public void setResponseHeaders(boolean responseHeaders) {
+        this.responseHeaders = responseHeaders;
+    }
+
+    public int getWarnThreshold() {
+        return warnThreshold;
+    }
+
+    public void setWarnThreshold(int warnThreshold) {
+        this.warnThreshold = warnThreshold;
+    }
+
+    public boolean isHibernateStatistics() {
+        return hibernateStatistics;
+    }
+
+    public void setHibernateStatistics(boolean hibernateStatistics) {
+        this.hibernateStatistics = hibernateStatistics;
+    }
+}
@@ -0,0 +1,35 @@
+package com.petlearning.querymetrics.hibernate;
+
+import org.hibernate.SessionEventListener;
+
+/**
+ * 量測 JDBC execute 耗時，累加到目前執行緒的 {@link QueryCount}
+ *
+ * 以 hibernate.session.events.auto 註冊，Hibernate 為每個 Session 建立一個實例，
+ * 同一 Session 不會同時執行兩個 statement，開始時間存在欄位即可。
+ */
+public class JdbcTimingListener implements SessionEventListener {
+
+    private long statementStart;
+    private long batchStart;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        statementStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        QueryCounter.recordJdbcTime(System.nanoTime() - statementStart);
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        batchStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        QueryCounter.recordJdbcTime(System.nanoTime() - batchStart);
+    }
+}
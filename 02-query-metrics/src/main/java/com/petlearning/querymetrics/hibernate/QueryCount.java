@@ -0,0 +1,106 @@
+package com.petlearning.querymetrics.hibernate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 一段工作（通常是一個 HTTP 請求）所執行的 SQL 統計
+ *
+ * 只由所屬的執行緒寫入；請求結束後才讀取，不需要同步。
+ */
+public class QueryCount {
+
+    /** 保留的 SQL 文字上限，N+1 時只留前面幾筆供診斷 */
+    static final int MAX_RECORDED_STATEMENTS = 100;
+
+    private int selects;
+    private int inserts;
+    private int updates;
+    private int deletes;
+    private int others;
+    private long jdbcNanos;
+    private final List<String> statements = new ArrayList<>();
+
+    void recordStatement(String sql) {
+        switch (typeOf(sql)) {
+            case "select" -> selects++;
+            case "insert" -> inserts++;
+            case "update" -> updates++;
+            case "delete" -> deletes++;
+            default -> others++;
+        }
+        if (statements.size() < MAX_RECORDED_STATEMENTS) {
+            statements.add(sql);
+        }
+    }
+
+    void recordJdbcTime(long nanos) {
+        jdbcNanos += nanos;
+    }
+
+    /**
+     * 以第一個關鍵字分類，CTE（with ...）視為查詢
+     */
+    static String typeOf(String sql) {
+        String trimmed = sql.stripLeading();
+        int end = 0;
+        while (end < trimmed.length() && Character.isLetter(trimmed.charAt(end))) {
+            end++;
+        }
+        String keyword = trimmed.substring(0, end).toLowerCase(Locale.ROOT);
+        return switch (keyword) {
+            case "select", "with" -> "select";
+            case "insert", "update", "delete" -> keyword;
+            case "merge" -> "update";
+            default -> "other";
+        };
+    }
+
+    public int getTotal() {
+        return selects + inserts + updates + deletes + others;
+    }
+
+    public int getSelects() {
+        return selects;
+    }
+
+    public int getInserts() {
+        return inserts;
+    }
+
+    public int getUpdates() {
+        return updates;
+    }
+
+    public int getDeletes() {
+        return deletes;
+    }
+
+    public int getOthers() {
+        return others;
+    }
+
+    /**
+     * JDBC execute 的累計耗時（不含讀取 ResultSet 與物件組裝）
+     */
+    public Duration getJdbcTime() {
+        return Duration.ofNanos(jdbcNanos);
+    }
+
+    /**
+     * 依執行順序排列的 SQL，最多 {@value #MAX_RECORDED_STATEMENTS} 筆
+     */
+    public List<String> getStatements() {
+        return Collections.unmodifiableList(statements);
+    }
+
+    @Override
+    public String toString() {
+        return "QueryCount{total=" + getTotal() + ", selects=" + selects + ", inserts=" + inserts
+                + ", updates=" + updates + ", deletes=" + deletes + ", others=" + others
+                + ", jdbcTime=" + getJdbcTime().toNanos() / 1_000_000.0 + "ms}";
+    }
+}
@@ -0,0 +1,17 @@
+package com.petlearning.querymetrics.hibernate;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Hibernate 每次準備 JDBC statement 前呼叫，記到目前執行緒的 {@link QueryCount}
+ *
+ * 與 show-sql 看到的語句一一對應；不修改 SQL。
+ */
+public class QueryCountInspector implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        QueryCounter.recordStatement(sql);
+        return sql;
+    }
+}
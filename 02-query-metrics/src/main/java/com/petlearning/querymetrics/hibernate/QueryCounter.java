@@ -0,0 +1,60 @@
+package com.petlearning.querymetrics.hibernate;
+
+/**
+ * 以 ThreadLocal 把 Hibernate 執行的 SQL 歸到目前執行緒上的 {@link QueryCount}
+ *
+ * Hibernate 的 StatementInspector 與 SessionEventListener 拿不到請求物件，
+ * 只能透過執行緒找到目前的統計；沒有呼叫 {@link #start()} 的執行緒（排程、啟動階段）不做記錄。
+ *
+ * <pre>
+ * QueryCount count = QueryCounter.start();
+ * try {
+ *     ownerService.findAll();
+ * } finally {
+ *     QueryCounter.stop();
+ * }
+ * </pre>
+ */
+public final class QueryCounter {
+
+    private static final ThreadLocal<QueryCount> CURRENT = new ThreadLocal<>();
+
+    private QueryCounter() {
+    }
+
+    /**
+     * 在目前執行緒開始新的統計（取代尚未結束的統計）
+     */
+    public static QueryCount start() {
+        QueryCount count = new QueryCount();
+        CURRENT.set(count);
+        return count;
+    }
+
+    /**
+     * 結束目前執行緒的統計，回傳結果（沒有進行中的統計時回傳 null）
+     */
+    public static QueryCount stop() {
+        QueryCount count = CURRENT.get();
+        CURRENT.remove();
+        return count;
+    }
+
+    public static QueryCount current() {
+        return CURRENT.get();
+    }
+
+    static void recordStatement(String sql) {
+        QueryCount count = CURRENT.get();
+        if (count != null) {
+            count.recordStatement(sql);
+        }
+    }
+
+    static void recordJdbcTime(long nanos) {
+        QueryCount count = CURRENT.get();
+        if (count != null) {
+            count.recordJdbcTime(nanos);
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.petlearning.querymetrics.web;
+
+import com.petlearning.querymetrics.hibernate.QueryCount;
+import com.petlearning.querymetrics.hibernate.QueryCounter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.util.Locale;
+
+/**
+ * 為每個請求統計 SQL 數量與 JDBC 耗時
+ *
+ * - 統計結果放在 request attribute {@value #ATTRIBUTE}，測試以 QueryCountMatchers 斷言
+ * - 匯出 Micrometer 指標（依 method + uri 樣板分組）：
+ *   http.server.requests.statements（每請求 SQL 數）、http.server.requests.jdbc（每請求 JDBC 耗時）
+ * - SQL 數超過 warn-threshold 時記錄警告與前幾筆 SQL
+ * - response-headers 開啟時回應帶 X-Query-Count / X-Query-Time-Ms；
+ *   標頭必須在 body 寫出前設定，因此以 ContentCachingResponseWrapper 緩衝回應
+ */
+public class QueryCountFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(QueryCountFilter.class);
+
+    public static final String ATTRIBUTE = QueryCountFilter.class.getName() + ".COUNT";
+    public static final String COUNT_HEADER = "X-Query-Count";
+    public static final String TIME_HEADER = "X-Query-Time-Ms";
+
+    /** 警告訊息中列出的 SQL 筆數 */
+    private static final int LOGGED_STATEMENTS = 5;
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    private final boolean responseHeaders;
+    private final int warnThreshold;
+
+    public QueryCountFilter(ObjectProvider<MeterRegistry> meterRegistry, boolean responseHeaders, int warnThreshold) {
+        this.meterRegistry = meterRegistry;
+        this.responseHeaders = responseHeaders;
+        this.warnThreshold = warnThreshold;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        QueryCount count = QueryCounter.start();
+        request.setAttribute(ATTRIBUTE, count);
+        ContentCachingResponseWrapper buffered = responseHeaders ? new ContentCachingResponseWrapper(response) : null;
+        try {
+            chain.doFilter(request, buffered != null ? buffered : response);
+        } finally {
+            QueryCounter.stop();
+            String uri = uriTemplate(request);
+            record(request.getMethod(), uri, count);
+            if (warnThreshold > 0 && count.getTotal() > warnThreshold) {
+                logger.warn("{} {} executed {} SQL statements (threshold {}), first: {}", request.getMethod(), uri,
+                        count.getTotal(), warnThreshold,
+                        count.getStatements().subList(0, Math.min(LOGGED_STATEMENTS, count.getStatements().size())));
+            }
+            if (buffered != null) {
+                buffered.setHeader(COUNT_HEADER, Integer.toString(count.getTotal()));
+                buffered.setHeader(TIME_HEADER,
+                        String.format(Locale.ROOT, "%.3f", count.getJdbcTime().toNanos() / 1_000_000.0));
+                buffered.copyBodyToResponse();
+            }
+        }
+    }
+
+    private void record(String method, String uri, QueryCount count) {
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        if (registry == null) {
+            return;
+        }
+        Tags tags = Tags.of("method", method, "uri", uri);
+        DistributionSummary.builder("http.server.requests.statements")
+                .description("SQL statements executed per request")
+                .baseUnit("statements")
+                .tags(tags)
+                .register(registry)
+                .record(count.getTotal());
+        Timer.builder("http.server.requests.jdbc")
+                .description("JDBC execution time per request")
+                .tags(tags)
+                .register(registry)
+                .record(count.getJdbcTime());
+    }
+
+    /**
+     * 使用 MVC 比對到的路徑樣板（/api/owners/{id}），避免每個 ID 各產生一組指標
+     */
+    private static String uriTemplate(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : "UNKNOWN";
+    }
+}
@@ -0,0 +1,75 @@
+package com.petlearning.querymetrics.hibernate;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * SQL 分類與執行緒歸屬測試
+ */
+class QueryCountTest {
+
+    private final QueryCountInspector inspector = new QueryCountInspector();
+
+    @AfterEach
+    void tearDown() {
+        QueryCounter.stop();
+    }
+
+    @Test
+    void should_ClassifyByLeadingKeyword_When_StatementRecorded() {
+        // Given
+        QueryCount count = QueryCounter.start();
+
+        // When
+        inspector.inspect("select o1_0.id from owners o1_0");
+        inspector.inspect("  WITH recent as (select 1) select * from recent");
+        inspector.inspect("insert into owners (first_name) values (?)");
+        inspector.inspect("update owners set city=? where id=?");
+        inspector.inspect("delete from owners where id=?");
+        inspector.inspect("merge into owners using ...");
+        inspector.inspect("call next value for owners_seq");
+
+        // Then
+        assertThat(count.getSelects()).isEqualTo(2);
+        assertThat(count.getInserts()).isEqualTo(1);
+        assertThat(count.getUpdates()).isEqualTo(2);
+        assertThat(count.getDeletes()).isEqualTo(1);
+        assertThat(count.getOthers()).isEqualTo(1);
+        assertThat(count.getTotal()).isEqualTo(7);
+        assertThat(count.getStatements()).first().isEqualTo("select o1_0.id from owners o1_0");
+    }
+
+    @Test
+    void should_IgnoreStatements_When_NoCountStartedOnThread() throws InterruptedException {
+        // Given
+        QueryCount count = QueryCounter.start();
+
+        // When：其他執行緒執行的 SQL 不算在這個統計
+        Thread other = new Thread(() -> inspector.inspect("select 1"));
+        other.start();
+        other.join();
+        inspector.inspect("select 2");
+
+        // Then
+        assertThat(count.getTotal()).isEqualTo(1);
+        assertThat(QueryCounter.stop()).isSameAs(count);
+        assertThat(QueryCounter.current()).isNull();
+    }
+
+    @Test
+    void should_KeepCountingButCapText_When_ManyStatements() {
+        // Given
+        QueryCount count = QueryCounter.start();
+
+        // When
+        for (int i = 0; i < QueryCount.MAX_RECORDED_STATEMENTS + 50; i++) {
+            inspector.inspect("select " + i);
+        }
+
+        // Then
+        assertThat(count.getSelects()).isEqualTo(QueryCount.MAX_RECORDED_STATEMENTS + 50);
+        assertThat(count.getStatements()).hasSize(QueryCount.MAX_RECORDED_STATEMENTS);
+    }
+}
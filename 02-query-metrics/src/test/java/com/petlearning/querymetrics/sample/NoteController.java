@@ -0,0 +1,41 @@
+package com.petlearning.querymetrics.sample;
+
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/notes")
+public class NoteController {
+
+    private final NoteRepository noteRepository;
+
+    public NoteController(NoteRepository noteRepository) {
+        this.noteRepository = noteRepository;
+    }
+
+    @PostMapping
+    public Note create(@RequestBody String text) {
+        return noteRepository.save(new Note(text));
+    }
+
+    /**
+     * 刻意逐筆查詢（N+1 的樣子），用來測試警告與計數
+     */
+    @GetMapping("/one-by-one")
+    public List<String> oneByOne() {
+        return noteRepository.findAll().stream()
+                .map(note -> noteRepository.findById(note.getId()).orElseThrow().getText())
+                .toList();
+    }
+
+    @GetMapping("/{id}")
+    public Note get(@PathVariable Long id) {
+        return noteRepository.findById(id).orElseThrow();
+    }
+}
@@ -0,0 +1,6 @@
+package com.petlearning.querymetrics.sample;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface NoteRepository extends JpaRepository<Note, Long> {
+}
@@ -0,0 +1,10 @@
+package com.petlearning.querymetrics.sample;
+
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+/**
+ * 測試用應用：一個實體、一個 Repository、一個 Controller
+ */
+@SpringBootApplication
+public class SampleApplication {
+}
@@ -0,0 +1,78 @@
+package com.petlearning.querymetrics.test;
+
+import com.petlearning.querymetrics.hibernate.QueryCount;
+import com.petlearning.querymetrics.web.QueryCountFilter;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import java.util.List;
+import java.util.function.ToIntFunction;
+
+import static org.springframework.test.util.AssertionErrors.fail;
+
+/**
+ * MockMvc 的 SQL 數量斷言：鎖定每個端點執行的 SQL 數，多一條就讓建置失敗
+ *
+ * <pre>
+ * mockMvc.perform(delete("/api/owners/{id}", id))
+ *         .andExpect(status().isNoContent())
+ *         .andExpect(statements(2))
+ *         .andExpect(deletes(1));
+ * </pre>
+ *
+ * 需要 QueryCountFilter（02-query-metrics 自動配置）在 MockMvc 的 filter chain 中，
+ * 例如 {@code @SpringBootTest} + {@code @AutoConfigureMockMvc}。
+ * 失敗訊息會列出實際執行的 SQL，方便找出多出來的那一條。
+ */
+public final class QueryCountMatchers {
+
+    private QueryCountMatchers() {
+    }
+
+    /** 全部 SQL 數 */
+    public static ResultMatcher statements(int expected) {
+        return matcher("SQL statements", expected, QueryCount::getTotal);
+    }
+
+    public static ResultMatcher selects(int expected) {
+        return matcher("select statements", expected, QueryCount::getSelects);
+    }
+
+    public static ResultMatcher inserts(int expected) {
+        return matcher("insert statements", expected, QueryCount::getInserts);
+    }
+
+    public static ResultMatcher updates(int expected) {
+        return matcher("update statements", expected, QueryCount::getUpdates);
+    }
+
+    public static ResultMatcher deletes(int expected) {
+        return matcher("delete statements", expected, QueryCount::getDeletes);
+    }
+
+    private static ResultMatcher matcher(String what, int expected, ToIntFunction<QueryCount> actual) {
+        return result -> {
+            QueryCount count = queryCount(result);
+            int value = actual.applyAsInt(count);
+            if (value != expected) {
+                fail("Expected " + expected + " " + what + " but was " + value + describe(count.getStatements()));
+            }
+        };
+    }
+
+    private static QueryCount queryCount(MvcResult result) {
+        Object count = result.getRequest().getAttribute(QueryCountFilter.ATTRIBUTE);
+        if (!(count instanceof QueryCount queryCount)) {
+            throw new AssertionError("No query count recorded: QueryCountFilter is not in the MockMvc filter chain");
+        }
+        return queryCount;
+    }
+
+    private static String describe(List<String> statements) {
+        StringBuilder text = new StringBuilder(":");
+        for (int i = 0; i < statements.size(); i++) {
+            text.append("\n  ").append(i + 1).append(". ").append(statements.get(i));
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,119 @@
+package com.petlearning.querymetrics.web;
+
+import com.petlearning.querymetrics.sample.Note;
+import com.petlearning.querymetrics.sample.NoteRepository;
+import com.petlearning.querymetrics.sample.SampleApplication;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static com.petlearning.querymetrics.test.QueryCountMatchers.inserts;
+import static com.petlearning.querymetrics.test.QueryCountMatchers.selects;
+import static com.petlearning.querymetrics.test.QueryCountMatchers.statements;
+import static org.hamcrest.Matchers.containsString;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 每請求 SQL 統計整合測試：計數、標頭、指標與測試斷言
+ */
+@SpringBootTest(classes = SampleApplication.class, properties = {
+        "spring.jpa.open-in-view=false",
+        "query-metrics.response-headers=true",
+        "query-metrics.warn-threshold=3"
+})
+@AutoConfigureMockMvc
+class QueryCountFilterIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private NoteRepository noteRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @BeforeEach
+    void setUp() {
+        noteRepository.deleteAll();
+    }
+
+    @Test
+    void should_CountStatementsAndAddHeaders_When_RequestHitsDatabase() throws Exception {
+        // When & Then：IDENTITY 主鍵，新增只有一條 insert
+        mockMvc.perform(post("/notes").content("hello"))
+                .andExpect(status().isOk())
+                .andExpect(statements(1))
+                .andExpect(inserts(1))
+                .andExpect(header().string(QueryCountFilter.COUNT_HEADER, "1"))
+                .andExpect(header().exists(QueryCountFilter.TIME_HEADER))
+                .andExpect(content().string(containsString("hello")));
+    }
+
+    @Test
+    void should_CountEveryLookup_When_EndpointQueriesOneByOne() throws Exception {
+        // Given
+        IntStream.range(0, 5).forEach(i -> noteRepository.save(new Note("note-" + i)));
+
+        // When & Then：1 次 findAll + 5 次 findById
+        mockMvc.perform(get("/notes/one-by-one"))
+                .andExpect(status().isOk())
+                .andExpect(statements(6))
+                .andExpect(selects(6))
+                .andExpect(header().string(QueryCountFilter.COUNT_HEADER, "6"));
+    }
+
+    @Test
+    void should_RecordMetricsByUriTemplate_When_RequestCompletes() throws Exception {
+        // Given
+        Long id = noteRepository.save(new Note("metrics")).getId();
+        DistributionSummary before = meterRegistry.find("http.server.requests.statements")
+                .tag("uri", "/notes/{id}").summary();
+        long previous = before == null ? 0 : before.count();
+
+        // When
+        mockMvc.perform(get("/notes/{id}", id)).andExpect(status().isOk());
+        mockMvc.perform(get("/notes/{id}", id)).andExpect(status().isOk());
+
+        // Then
+        DistributionSummary summary = meterRegistry.get("http.server.requests.statements")
+                .tags("method", "GET", "uri", "/notes/{id}").summary();
+        assertThat(summary.count()).isEqualTo(previous + 2);
+        assertThat(summary.max()).isEqualTo(1.0);
+        Timer jdbc = meterRegistry.get("http.server.requests.jdbc").tag("uri", "/notes/{id}").timer();
+        assertThat(jdbc.totalTime(TimeUnit.NANOSECONDS)).isPositive();
+        assertThat(meterRegistry.find("hibernate.statements").functionCounter()).isNotNull();
+        assertThat(entityManagerFactory.getProperties()).containsEntry("hibernate.session.events.log", "false");
+    }
+
+    @Test
+    void should_FailWithExecutedSql_When_CountRegresses() {
+        // Given
+        Long id = noteRepository.save(new Note("regression")).getId();
+
+        // When & Then
+        assertThatThrownBy(() -> mockMvc.perform(get("/notes/{id}", id)).andExpect(statements(0)))
+                .isInstanceOf(AssertionError.class)
+                .hasMessageContaining("Expected 0 SQL statements but was 1")
+                .hasMessageContaining("1. select");
+    }
+}
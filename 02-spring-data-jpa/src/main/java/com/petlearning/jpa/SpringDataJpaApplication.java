@@ -2,6 +2,7 @@ package com.petlearning.jpa;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
 
 /**
  * Spring Data JPA 應用程式啟動類
@@ -16,6 +17,9 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
 public class SpringDataJpaApplication {
 
     public static void main(String[] args) {
-        SpringApplication.run(SpringDataJpaApplication.class, args);
+        SpringApplication application = new SpringApplication(SpringDataJpaApplication.class);
+        // 記錄啟動步驟（Bean 建立、自動配置等耗時），透過 /actuator/startup 查看
+        application.setApplicationStartup(new BufferingApplicationStartup(2048));
+        application.run(args);
     }
 }
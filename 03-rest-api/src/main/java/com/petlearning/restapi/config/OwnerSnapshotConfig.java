@@ -0,0 +1,51 @@
+package com.petlearning.restapi.config;
+
+import com.petlearning.restapi.snapshot.OwnerSnapshotFilter;
+import com.petlearning.restapi.snapshot.OwnerSnapshotRefresher;
+import com.petlearning.restapi.snapshot.OwnerSnapshotStore;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+
+/**
+ * 唯讀服務模式：GET /api/owners/{id} 由 off-heap 快照回應，不經過 Hibernate 與連線池
+ *
+ * 快照中沒有的飼主（尚未載入、欄位過長、已被本機更新或刪除）仍交給 OwnerController 查詢資料庫。
+ */
+@Configuration
+@EnableConfigurationProperties(OwnerSnapshotProperties.class)
+@ConditionalOnProperty(prefix = "owner-snapshot", name = "enabled", havingValue = "true")
+public class OwnerSnapshotConfig {
+
+    @Bean
+    public OwnerSnapshotStore ownerSnapshotStore(OwnerSnapshotProperties properties) throws IOException {
+        return new OwnerSnapshotStore(properties.getDirectory(), properties.getInitialCapacity());
+    }
+
+    @Bean
+    public OwnerSnapshotRefresher ownerSnapshotRefresher(OwnerSnapshotStore ownerSnapshotStore,
+                                                         JdbcTemplate jdbcTemplate,
+                                                         OwnerSnapshotProperties properties) {
+        return new OwnerSnapshotRefresher(ownerSnapshotStore, jdbcTemplate, properties.getBatchSize(),
+                properties.getRefreshInterval(), properties.getFullRebuildInterval());
+    }
+
+    /**
+     * 排在 SQL 統計（QueryCountFilter）之後，由快照回應的請求也會記錄為 0 條 SQL
+     */
+    @Bean
+    public FilterRegistrationBean<OwnerSnapshotFilter> ownerSnapshotFilterRegistration(
+            OwnerSnapshotStore ownerSnapshotStore) {
+        FilterRegistrationBean<OwnerSnapshotFilter> registration =
+                new FilterRegistrationBean<>(new OwnerSnapshotFilter(ownerSnapshotStore));
+        registration.addUrlPatterns(OwnerSnapshotFilter.PATH + "*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 2);
+        return registration;
+    }
+}
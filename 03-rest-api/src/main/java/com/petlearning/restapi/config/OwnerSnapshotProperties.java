@@ -0,0 +1,88 @@
+package com.petlearning.restapi.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * 飼主快照（唯讀服務模式）設定
+ *
+ * 範例：
+ * <pre>
+ * owner-snapshot:
+ *   enabled: true
+ *   directory: /var/lib/rest-api/owner-snapshot
+ *   refresh-interval: 5s
+ *   full-rebuild-interval: 1h
+ * </pre>
+ */
+@ConfigurationProperties(prefix = "owner-snapshot")
+public class OwnerSnapshotProperties {
+
+    /** 是否以快照回應 GET /api/owners/{id}（唯讀服務模式） */
+    private boolean enabled;
+
+    /** 映射檔所在目錄，啟動時清空後重建 */
+    private Path directory = Path.of(System.getProperty("java.io.tmpdir"), "rest-api", "owner-snapshot");
+
+    /** 增量載入的間隔：只載入 id 大於水位的新飼主 */
+    private Duration refreshInterval = Duration.ofSeconds(5);
+
+    /** 完整重建的間隔，用來反映其他節點的更新與刪除；0 表示只在啟動時建立 */
+    private Duration fullRebuildInterval = Duration.ofHours(1);
+
+    /** 每次查詢載入的筆數（依 id 分批，不使用 OFFSET） */
+    private int batchSize = 10_000;
+
+    /** 映射檔的初始容量（筆數），不足時加倍 */
+    private int initialCapacity = 65_536;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    public void setDirectory(Path directory) {
+        this.directory = directory;
+    }
+
+    public Duration getRefreshInterval() {
+        return refreshInterval;
+    }
+
+    public void setRefreshInterval(Duration refreshInterval) {
+        this.refreshInterval = refreshInterval;
+    }
+
+    public Duration getFullRebuildInterval() {
+        return fullRebuildInterval;
+    }
+
+    public void setFullRebuildInterval(Duration fullRebuildInterval) {
+        this.fullRebuildInterval = fullRebuildInterval;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public int getInitialCapacity() {
+        return initialCapacity;
+    }
+
+    public void setInitialCapacity(int initialCapacity) {
+        this.initialCapacity = initialCapacity;
+    }
+}
@@ -6,6 +6,9 @@ package com.petlearning.restapi.dto;
  */
 public class ApiResponse<T> {
     
+    /** 成功回應的預設訊息 */
+    public static final String SUCCESS_MESSAGE = "操作成功";
+    
     private boolean success;
     private String message;
     private T data;
@@ -23,7 +26,7 @@ public class ApiResponse<T> {
      * 建立成功回應
      */
     public static <T> ApiResponse<T> success(T data) {
-        return new ApiResponse<>(true, "操作成功", data);
+        return new ApiResponse<>(true, SUCCESS_MESSAGE, data);
     }
     
     /**
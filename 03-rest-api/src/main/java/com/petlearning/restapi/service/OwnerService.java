@@ -4,6 +4,7 @@ import com.petlearning.restapi.entity.Owner;
 import com.petlearning.restapi.exception.ResourceNotFoundException;
 import com.petlearning.restapi.repository.OwnerRepository;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
@@ -47,7 +48,9 @@ public class OwnerService {
     
     /**
      * 更新飼主資訊
+     * 查詢與更新在同一個交易中，save 不需再以 merge 重新查詢一次（1 select + 1 update）
      */
+    @Transactional
     public Owner update(Long id, Owner ownerDetails) {
         Owner owner = findById(id);
         owner.setFirstName(ownerDetails.getFirstName());
@@ -59,11 +62,11 @@ public class OwnerService {
     
     /**
      * 刪除飼主
+     * 直接載入實體再刪除；先 existsById 再 deleteById 會多一次 count 查詢（1 select + 1 delete）
      */
+    @Transactional
     public void delete(Long id) {
-        if (!ownerRepository.existsById(id)) {
-            throw new ResourceNotFoundException("找不到 ID 為 " + id + " 的飼主");
-        }
-        ownerRepository.deleteById(id);
+        Owner owner = findById(id);
+        ownerRepository.delete(owner);
     }
 }
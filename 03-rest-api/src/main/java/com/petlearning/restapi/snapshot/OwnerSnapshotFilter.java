@@ -0,0 +1,98 @@
+package com.petlearning.restapi.snapshot;
+
+import com.petlearning.restapi.dto.ApiResponse;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 以快照回應 GET /api/owners/{id}
+ *
+ * 在 DispatcherServlet 之前攔截：不經過 Controller、Hibernate、連線池與 Jackson，
+ * 回應內容（ApiResponse 包裝的飼主 JSON）直接從映射檔複製到每條執行緒重複使用的 byte[]，
+ * 處理一個請求不會建立新物件。快照中沒有的 id 交給後面的 OwnerController。
+ *
+ * 經過本機 API 的 PUT / DELETE 使快照中的該筆失效，之後的查詢改走資料庫。
+ */
+public class OwnerSnapshotFilter extends OncePerRequestFilter {
+
+    public static final String PATH = "/api/owners/";
+
+    private static final byte[] PREFIX = ("{\"success\":true,\"message\":\"" + ApiResponse.SUCCESS_MESSAGE
+            + "\",\"data\":").getBytes(StandardCharsets.UTF_8);
+    private static final int BUFFER_SIZE = PREFIX.length + OwnerSnapshotStore.MAX_JSON_SIZE + 1;
+
+    private final OwnerSnapshotStore store;
+    private final ThreadLocal<byte[]> buffers = ThreadLocal.withInitial(() -> {
+        byte[] buffer = new byte[BUFFER_SIZE];
+        System.arraycopy(PREFIX, 0, buffer, 0, PREFIX.length);
+        return buffer;
+    });
+
+    public OwnerSnapshotFilter(OwnerSnapshotStore store) {
+        this.store = store;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long id = ownerId(request);
+        if (id < 0) {
+            chain.doFilter(request, response);
+            return;
+        }
+        String method = request.getMethod();
+        if (HttpMethod.GET.matches(method)) {
+            byte[] buffer = buffers.get();
+            int length = store.writeJson(id, buffer, PREFIX.length);
+            if (length < 0) {
+                chain.doFilter(request, response);
+                return;
+            }
+            int end = PREFIX.length + length;
+            buffer[end++] = '}';
+            response.setStatus(HttpServletResponse.SC_OK);
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.setContentLength(end);
+            response.getOutputStream().write(buffer, 0, end);
+            return;
+        }
+        boolean write = HttpMethod.PUT.matches(method) || HttpMethod.DELETE.matches(method);
+        if (write) {
+            // 送出前先失效，提交後到失效之間不會回應舊資料；失敗的請求只是讓該筆改查資料庫
+            store.invalidate(id);
+        }
+        chain.doFilter(request, response);
+        if (write) {
+            // 處理期間若開始了重建，新一代可能讀到修改前的資料
+            store.invalidate(id);
+        }
+    }
+
+    /**
+     * 從 URI 解析 /api/owners/{id}，不建立子字串；不是這個格式時回傳 -1
+     */
+    static long ownerId(HttpServletRequest request) {
+        String uri = request.getRequestURI();
+        int start = request.getContextPath().length() + PATH.length();
+        if (uri.length() <= start || uri.length() - start > 18 || !uri.startsWith(PATH, start - PATH.length())) {
+            return -1;
+        }
+        long id = 0;
+        for (int i = start; i < uri.length(); i++) {
+            char c = uri.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            id = id * 10 + (c - '0');
+        }
+        return id;
+    }
+}
@@ -0,0 +1,154 @@
+package com.petlearning.restapi.snapshot;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 從資料庫載入飼主快照
+ *
+ * - 啟動完成後完整建立一次，之後每 refresh-interval 以 id 水位增量載入新飼主
+ *   （IDENTITY 主鍵遞增，WHERE id &gt; 水位 ORDER BY id 分批讀取，走主鍵索引，不使用 OFFSET）
+ * - 水位看不到其他節點的更新、刪除，以及比水位晚提交但 id 較小的新增，
+ *   每 full-rebuild-interval 完整重建一次來反映
+ *
+ * 直接以 JDBC 讀取欄位，不建立 Owner 實體，也不佔用 Hibernate 的一級快取。
+ */
+public class OwnerSnapshotRefresher implements DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(OwnerSnapshotRefresher.class);
+
+    private static final String SELECT_AFTER = "SELECT id, first_name, last_name, city, telephone FROM owners "
+            + "WHERE id > ? ORDER BY id LIMIT ?";
+
+    private final OwnerSnapshotStore store;
+    private final JdbcTemplate jdbcTemplate;
+    private final int batchSize;
+    private final Duration refreshInterval;
+    private final Duration fullRebuildInterval;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "owner-snapshot");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private long lastRebuildNanos;
+    private boolean built;
+
+    public OwnerSnapshotRefresher(OwnerSnapshotStore store, JdbcTemplate jdbcTemplate, int batchSize,
+                                  Duration refreshInterval, Duration fullRebuildInterval) {
+        this.store = store;
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = batchSize;
+        this.refreshInterval = refreshInterval;
+        this.fullRebuildInterval = fullRebuildInterval;
+    }
+
+    @EventListener
+    public void onApplicationReady(ApplicationReadyEvent event) {
+        scheduler.scheduleWithFixedDelay(this::refreshQuietly, 0, refreshInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 第一次或到了重建間隔時完整重建，否則增量載入
+     *
+     * @return 這次載入的筆數
+     */
+    public synchronized int refresh() throws IOException {
+        boolean rebuildDue = !fullRebuildInterval.isZero()
+                && System.nanoTime() - lastRebuildNanos >= fullRebuildInterval.toNanos();
+        return !built || rebuildDue ? rebuild() : loadNew();
+    }
+
+    /**
+     * 寫入新一代的檔案，完成後整批替換；重建期間繼續以舊的一代回應
+     */
+    public synchronized int rebuild() throws IOException {
+        long start = System.nanoTime();
+        store.startRebuild();
+        int loaded = load(false);
+        store.publish();
+        built = true;
+        lastRebuildNanos = start;
+        logger.info("Built owner snapshot: {} owners ({} served from database), {} MB mapped, {} ms",
+                loaded, store.getOverflowCount(), store.getFileSize() >> 20,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        return loaded;
+    }
+
+    private int loadNew() throws IOException {
+        int loaded = load(true);
+        if (loaded > 0) {
+            logger.debug("Loaded {} new owners into snapshot, watermark {}", loaded, store.getWatermark());
+        }
+        return loaded;
+    }
+
+    /**
+     * @param publishEachBatch 增量載入時每批都 publish，讓新飼主盡快可見；重建時最後才替換
+     */
+    private int load(boolean publishEachBatch) throws IOException {
+        int total = 0;
+        try {
+            while (true) {
+                Integer loaded = jdbcTemplate.query(SELECT_AFTER, rs -> {
+                    int count = 0;
+                    while (rs.next()) {
+                        append(rs.getLong(1), rs.getString(2), rs.getString(3), rs.getString(4), rs.getString(5));
+                        count++;
+                    }
+                    return count;
+                }, store.getWatermark(), batchSize);
+                total += loaded;
+                if (publishEachBatch) {
+                    store.publish();
+                }
+                if (loaded < batchSize) {
+                    return total;
+                }
+            }
+        } catch (UncheckedIOException ex) {
+            throw ex.getCause();
+        }
+    }
+
+    private void append(long id, String firstName, String lastName, String city, String telephone) {
+        try {
+            store.append(id, firstName, lastName, city, telephone);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * 排程中拋出例外會停止之後的執行，因此只記錄警告，下一次再試
+     */
+    private void refreshQuietly() {
+        try {
+            refresh();
+        } catch (IOException | DataAccessException ex) {
+            logger.warn("Failed to refresh owner snapshot: {}", ex.getMessage());
+        } catch (RuntimeException ex) {
+            logger.warn("Failed to refresh owner snapshot", ex);
+        }
+    }
+
+    /**
+     * 等進行中的載入結束，之後才關閉快照檔案
+     */
+    @Override
+    public void destroy() throws InterruptedException {
+        scheduler.shutdownNow();
+        scheduler.awaitTermination(5, TimeUnit.SECONDS);
+    }
+}
@@ -0,0 +1,393 @@
+package com.petlearning.restapi.snapshot;
+
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 飼主資料的 off-heap 唯讀快照
+ *
+ * 兩個記憶體映射檔（MappedByteBuffer），資料不在 Java heap 上，GC 不需要掃描：
+ * <pre>
+ * owners-N.idx  long id × count，依 id 遞增排列（binary search）
+ * owners-N.dat  固定 {@value #RECORD_SIZE} bytes 的記錄，第 i 筆對應 idx 的第 i 個 id
+ *   byte    狀態：0 可直接回應，1 欄位超出記錄大小，2 已被本機更新或刪除
+ *   byte×4  firstName / lastName / city / telephone 的長度，0xFF 表示 null
+ *   byte…   四個欄位依序排列，內容是已做過 JSON 跳脫的 UTF-8
+ * </pre>
+ * 查詢只讀取映射的記憶體並寫入呼叫端的 byte[]，不建立任何物件；
+ * 狀態不是 0 或 id 不在快照中時回傳 -1，由呼叫端改查資料庫。
+ *
+ * 寫入端（{@link #append}、{@link #publish}、{@link #startRebuild}）只能有一條執行緒，
+ * 新增的記錄在 publish 前對讀取端不可見。重建寫入新一代的檔案，publish 時整批替換，
+ * 替換前讀取端繼續使用舊的一代。
+ */
+public class OwnerSnapshotStore implements Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(OwnerSnapshotStore.class);
+
+    static final int RECORD_SIZE = 96;
+
+    private static final int HEADER_SIZE = 5;
+    private static final int ID_SIZE = Long.BYTES;
+    private static final int NULL_LENGTH = 0xFF;
+    private static final byte SERVABLE = 0;
+    private static final byte OVERFLOW = 1;
+    private static final byte STALE = 2;
+
+    /** 單一 MappedByteBuffer 最多 2GB */
+    static final int MAX_RECORDS = Integer.MAX_VALUE / RECORD_SIZE;
+
+    private static final byte[] ID = bytes("{\"id\":");
+    private static final byte[] FIRST_NAME = bytes(",\"firstName\":");
+    private static final byte[] LAST_NAME = bytes(",\"lastName\":");
+    private static final byte[] CITY = bytes(",\"city\":");
+    private static final byte[] TELEPHONE = bytes(",\"telephone\":");
+    private static final byte[] NULL = bytes("null");
+
+    /** 一筆飼主 JSON 的最大長度：欄位名稱、引號、19 位數 id 與 {@value #RECORD_SIZE} bytes 的欄位內容 */
+    public static final int MAX_JSON_SIZE = 256;
+
+    private final Path directory;
+    private final int initialCapacity;
+    private int nextGeneration;
+    private Generation live;
+    private Generation pending;
+    private final List<Long> staleBeforePublish = new ArrayList<>();
+    private volatile View view = new View(null, null, 0);
+
+    /**
+     * 讀取端看到的一致狀態：count 筆以內的記錄都已完整寫入
+     */
+    private record View(MappedByteBuffer ids, MappedByteBuffer records, int count) {
+    }
+
+    public OwnerSnapshotStore(Path directory, int initialCapacity) throws IOException {
+        if (initialCapacity <= 0 || initialCapacity > MAX_RECORDS) {
+            throw new IllegalArgumentException("initialCapacity must be between 1 and " + MAX_RECORDS);
+        }
+        this.directory = directory;
+        this.initialCapacity = initialCapacity;
+        Files.createDirectories(directory);
+        deleteGenerations(directory);
+        this.live = new Generation(directory, nextGeneration++, initialCapacity);
+    }
+
+    /**
+     * 把飼主的 JSON（與 Jackson 序列化 Owner 的結果相同）寫到 target[offset] 起
+     *
+     * @return 寫入的 bytes 數；不在快照中、欄位過長或已失效時回傳 -1
+     */
+    public int writeJson(long id, byte[] target, int offset) {
+        View current = view;
+        int slot = find(current, id);
+        if (slot < 0) {
+            return -1;
+        }
+        MappedByteBuffer records = current.records();
+        int base = slot * RECORD_SIZE;
+        if (records.get(base) != SERVABLE) {
+            return -1;
+        }
+        int position = offset;
+        position = put(target, position, ID);
+        position = putLong(target, position, id);
+        int field = base + HEADER_SIZE;
+        position = put(target, position, FIRST_NAME);
+        position = putField(records, base + 1, field, target, position);
+        field += fieldLength(records, base + 1);
+        position = put(target, position, LAST_NAME);
+        position = putField(records, base + 2, field, target, position);
+        field += fieldLength(records, base + 2);
+        position = put(target, position, CITY);
+        position = putField(records, base + 3, field, target, position);
+        field += fieldLength(records, base + 3);
+        position = put(target, position, TELEPHONE);
+        position = putField(records, base + 4, field, target, position);
+        target[position++] = '}';
+        return position - offset;
+    }
+
+    /**
+     * 標記飼主已被本機的 API 更新或刪除，之後的查詢改走資料庫
+     *
+     * 重建中或還有未 publish 的記錄時，寫入中的一代可能已讀到修改前的資料，
+     * 因此記下 id，在 publish 時對新的 View 再標記一次。
+     * 與 publish 持有同一把鎖：否則在兩者之間替換的 View 既沒被標記、id 也沒被記下。
+     */
+    public synchronized void invalidate(long id) {
+        markStale(view, id);
+        if (pending != null || live.count != view.count()) {
+            staleBeforePublish.add(id);
+        }
+    }
+
+    /**
+     * 新增一筆記錄（寫入中的一代），id 必須大於目前的水位
+     */
+    public synchronized void append(long id, String firstName, String lastName, String city, String telephone)
+            throws IOException {
+        Generation target = writing();
+        if (id <= target.watermark) {
+            throw new IllegalArgumentException("id " + id + " is not above watermark " + target.watermark);
+        }
+        target.append(id, encode(firstName), encode(lastName), encode(city), encode(telephone));
+    }
+
+    /**
+     * 讓 publish 前新增的記錄對讀取端可見；重建中時以新一代替換舊的一代
+     */
+    public synchronized void publish() {
+        Generation previous = null;
+        if (pending != null) {
+            previous = live;
+            live = pending;
+            pending = null;
+        }
+        View published = live.view();
+        staleBeforePublish.forEach(id -> markStale(published, id));
+        staleBeforePublish.clear();
+        view = published;
+        if (previous != null) {
+            previous.close();
+        }
+    }
+
+    /**
+     * 開始重建：之後的 append 寫入新一代的檔案，publish 時才替換
+     */
+    public synchronized void startRebuild() throws IOException {
+        if (pending != null) {
+            pending.close();
+        }
+        pending = new Generation(directory, nextGeneration++, initialCapacity);
+    }
+
+    /**
+     * 寫入中那一代的最大 id，下一次增量載入從這裡之後開始
+     */
+    public synchronized long getWatermark() {
+        return writing().watermark;
+    }
+
+    /**
+     * 讀取端可見的記錄數
+     */
+    public int size() {
+        return view.count();
+    }
+
+    /**
+     * 讀取端可見的記錄中，欄位超出記錄大小而改查資料庫的筆數
+     */
+    public synchronized int getOverflowCount() {
+        return live.overflow;
+    }
+
+    /**
+     * 兩個映射檔目前的大小（bytes）
+     */
+    public synchronized long getFileSize() {
+        return (long) live.capacity * (ID_SIZE + RECORD_SIZE);
+    }
+
+    @Override
+    public synchronized void close() {
+        view = new View(null, null, 0);
+        if (pending != null) {
+            pending.close();
+            pending = null;
+        }
+        live.close();
+    }
+
+    private static void markStale(View current, long id) {
+        int slot = find(current, id);
+        if (slot >= 0) {
+            current.records().put(slot * RECORD_SIZE, STALE);
+        }
+    }
+
+    private Generation writing() {
+        return pending != null ? pending : live;
+    }
+
+    /**
+     * 在 idx 上 binary search，回傳位置；找不到回傳 -1
+     */
+    private static int find(View current, long id) {
+        MappedByteBuffer ids = current.ids();
+        int low = 0;
+        int high = current.count() - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            long value = ids.getLong(mid * ID_SIZE);
+            if (value < id) {
+                low = mid + 1;
+            } else if (value > id) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    private static int fieldLength(MappedByteBuffer records, int lengthIndex) {
+        int length = records.get(lengthIndex) & 0xFF;
+        return length == NULL_LENGTH ? 0 : length;
+    }
+
+    private static int putField(MappedByteBuffer records, int lengthIndex, int field, byte[] target, int position) {
+        int length = records.get(lengthIndex) & 0xFF;
+        if (length == NULL_LENGTH) {
+            return put(target, position, NULL);
+        }
+        target[position++] = '"';
+        records.get(field, target, position, length);
+        position += length;
+        target[position++] = '"';
+        return position;
+    }
+
+    private static int put(byte[] target, int position, byte[] value) {
+        System.arraycopy(value, 0, target, position, value.length);
+        return position + value.length;
+    }
+
+    /**
+     * 以 ASCII 數字寫出 id（非負數），不經過 Long.toString
+     */
+    private static int putLong(byte[] target, int position, long value) {
+        long divisor = 1;
+        while (value / divisor >= 10) {
+            divisor *= 10;
+        }
+        for (; divisor > 0; divisor /= 10) {
+            target[position++] = (byte) ('0' + (value / divisor) % 10);
+        }
+        return position;
+    }
+
+    /**
+     * 與 Jackson 相同的 JSON 字串跳脫，回應時直接複製 bytes
+     */
+    private static byte[] encode(String value) {
+        return value == null ? null : JsonStringEncoder.getInstance().quoteAsUTF8(value);
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static void deleteGenerations(Path directory) throws IOException {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "owners-*.{idx,dat}")) {
+            for (Path file : files) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    /**
+     * 一代快照檔案；容量不足時把兩個檔案重新映射成兩倍大小
+     */
+    private static final class Generation {
+
+        private final Path idsFile;
+        private final Path recordsFile;
+        private final FileChannel idsChannel;
+        private final FileChannel recordsChannel;
+        private MappedByteBuffer ids;
+        private MappedByteBuffer records;
+        private int capacity;
+        private int count;
+        private int overflow;
+        private long watermark;
+
+        Generation(Path directory, int number, int capacity) throws IOException {
+            this.idsFile = directory.resolve("owners-" + number + ".idx");
+            this.recordsFile = directory.resolve("owners-" + number + ".dat");
+            this.idsChannel = FileChannel.open(idsFile, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE);
+            this.recordsChannel = FileChannel.open(recordsFile, StandardOpenOption.CREATE_NEW,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE);
+            map(capacity);
+        }
+
+        void append(long id, byte[] firstName, byte[] lastName, byte[] city, byte[] telephone) throws IOException {
+            if (count == capacity) {
+                if (capacity == MAX_RECORDS) {
+                    throw new IllegalStateException("Owner snapshot is full (" + MAX_RECORDS + " records)");
+                }
+                map((int) Math.min((long) capacity * 2, MAX_RECORDS));
+            }
+            int base = count * RECORD_SIZE;
+            int length = length(firstName) + length(lastName) + length(city) + length(telephone);
+            if (length > RECORD_SIZE - HEADER_SIZE) {
+                records.put(base, OVERFLOW);
+                overflow++;
+            } else {
+                records.put(base, SERVABLE);
+                int field = base + HEADER_SIZE;
+                field = putField(base + 1, field, firstName);
+                field = putField(base + 2, field, lastName);
+                field = putField(base + 3, field, city);
+                putField(base + 4, field, telephone);
+            }
+            ids.putLong(count * ID_SIZE, id);
+            count++;
+            watermark = id;
+        }
+
+        View view() {
+            return new View(ids, records, count);
+        }
+
+        void close() {
+            try {
+                idsChannel.close();
+                recordsChannel.close();
+                // 已映射的區域在 buffer 被回收前仍然有效，舊的 View 可以繼續讀到最後
+                Files.deleteIfExists(idsFile);
+                Files.deleteIfExists(recordsFile);
+            } catch (IOException ex) {
+                logger.warn("Failed to delete owner snapshot files {}: {}", recordsFile, ex.getMessage());
+            }
+        }
+
+        private int putField(int lengthIndex, int field, byte[] value) {
+            if (value == null) {
+                records.put(lengthIndex, (byte) NULL_LENGTH);
+                return field;
+            }
+            records.put(lengthIndex, (byte) value.length);
+            records.put(field, value);
+            return field + value.length;
+        }
+
+        /**
+         * null 不佔空間；單一欄位超過 254 bytes 時總長度必定超出記錄大小，長度 0xFF 不會與 null 混淆
+         */
+        private static int length(byte[] value) {
+            return value == null ? 0 : value.length;
+        }
+
+        private void map(int newCapacity) throws IOException {
+            ids = idsChannel.map(FileChannel.MapMode.READ_WRITE, 0, (long) newCapacity * ID_SIZE);
+            records = recordsChannel.map(FileChannel.MapMode.READ_WRITE, 0, (long) newCapacity * RECORD_SIZE);
+            capacity = newCapacity;
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.petlearning.restapi.controller;
+
+import com.petlearning.restapi.entity.Owner;
+import com.petlearning.restapi.repository.OwnerRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static com.petlearning.querymetrics.test.QueryCountMatchers.deletes;
+import static com.petlearning.querymetrics.test.QueryCountMatchers.inserts;
+import static com.petlearning.querymetrics.test.QueryCountMatchers.selects;
+import static com.petlearning.querymetrics.test.QueryCountMatchers.statements;
+import static com.petlearning.querymetrics.test.QueryCountMatchers.updates;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 飼主 API 的 SQL 數量回歸測試
+ *
+ * 每個端點執行的 SQL 數固定下來；N+1 或多餘的存在檢查會讓測試（以及建置）失敗。
+ * 調整查詢後數量確實改變時，連同原因一起更新這裡的期望值。
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class OwnerControllerQueryCountTest {
+
+    private static final String OWNER_JSON = """
+            {"firstName": "小明", "lastName": "王", "city": "台北", "telephone": "0912345678"}
+            """;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private OwnerRepository ownerRepository;
+
+    private Long ownerId;
+
+    @BeforeEach
+    void setUp() {
+        ownerRepository.deleteAll();
+        ownerId = ownerRepository.save(new Owner("大華", "陳")).getId();
+        ownerRepository.save(new Owner("小美", "林"));
+        ownerRepository.save(new Owner("阿強", "張"));
+    }
+
+    @Test
+    void should_UseSingleSelect_When_ListingAllOwners() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/api/owners"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.length()").value(3))
+                .andExpect(statements(1))
+                .andExpect(selects(1));
+    }
+
+    @Test
+    void should_UseSingleSelect_When_GettingOwnerById() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/api/owners/{id}", ownerId))
+                .andExpect(status().isOk())
+                .andExpect(statements(1));
+    }
+
+    @Test
+    void should_UseSingleInsert_When_CreatingOwner() throws Exception {
+        // When & Then：IDENTITY 主鍵，新增時不先查詢
+        mockMvc.perform(post("/api/owners").contentType(MediaType.APPLICATION_JSON).content(OWNER_JSON))
+                .andExpect(status().isCreated())
+                .andExpect(statements(1))
+                .andExpect(inserts(1));
+    }
+
+    @Test
+    void should_SelectOnceThenUpdate_When_UpdatingOwner() throws Exception {
+        // When & Then
+        mockMvc.perform(put("/api/owners/{id}", ownerId).contentType(MediaType.APPLICATION_JSON).content(OWNER_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.city").value("台北"))
+                .andExpect(statements(2))
+                .andExpect(selects(1))
+                .andExpect(updates(1));
+    }
+
+    @Test
+    void should_SelectOnceThenDelete_When_DeletingOwner() throws Exception {
+        // When & Then：沒有額外的 existsById count 查詢
+        mockMvc.perform(delete("/api/owners/{id}", ownerId))
+                .andExpect(status().isNoContent())
+                .andExpect(statements(2))
+                .andExpect(selects(1))
+                .andExpect(deletes(1));
+    }
+
+    @Test
+    void should_StopAfterLookup_When_DeletingMissingOwner() throws Exception {
+        // When & Then
+        mockMvc.perform(delete("/api/owners/{id}", 999_999))
+                .andExpect(status().isNotFound())
+                .andExpect(statements(1));
+    }
+}
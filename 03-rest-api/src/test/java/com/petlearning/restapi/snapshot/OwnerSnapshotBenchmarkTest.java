@@ -0,0 +1,243 @@
+package com.petlearning.restapi.snapshot;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.petlearning.restapi.dto.ApiResponse;
+import com.petlearning.restapi.entity.Owner;
+import com.petlearning.restapi.service.OwnerService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.function.LongConsumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 500 萬位飼主：off-heap 快照 vs Hibernate 查詢 vs heap 上的 HashMap 快取
+ *
+ * 預設不執行，使用以下指令執行（HashMap 快取需要較大的 heap）：
+ * mvn test -pl 03-rest-api -Dbenchmark=true -Dtest=OwnerSnapshotBenchmarkTest -DargLine=-Xmx3g
+ *
+ * 資料庫使用 H2 檔案模式，資料不在 heap 上，heap 的差異只來自快取方式。
+ * - heap：Full GC 後的已用 heap，建立快照 / HashMap 前後的差
+ * - 單執行緒查詢：隨機 id，每次查詢的延遲與配置的 bytes（ThreadMXBean）
+ * - HTTP：同一批 id 經 GET /api/owners/{id}，先由快照回應，再清空快照改由 OwnerController 回應；
+ *   bytes/req 為整個 JVM（含客戶端）配置的 bytes，兩段的客戶端工作相同
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:file:./target/owner-snapshot-benchmark/petdb",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.format_sql=false",
+        "owner-snapshot.enabled=true",
+        "owner-snapshot.directory=target/owner-snapshot-benchmark/snapshot",
+        "owner-snapshot.refresh-interval=24h",
+        "owner-snapshot.full-rebuild-interval=0",
+        "owner-snapshot.initial-capacity=8388608"
+})
+class OwnerSnapshotBenchmarkTest {
+
+    private static final int OWNERS = 5_000_000;
+    private static final int WARMUP_OPS = 50_000;
+    private static final int MEASURED_OPS = 200_000;
+    private static final int HTTP_WARMUP = 5_000;
+    private static final int HTTP_REQUESTS = 20_000;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private OwnerSnapshotStore store;
+
+    @Autowired
+    private OwnerSnapshotRefresher refresher;
+
+    @Autowired
+    private OwnerService ownerService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @LocalServerPort
+    private int port;
+
+    private final com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    @Test
+    void compareSnapshotWithHibernateAndHeapCache() throws Exception {
+        long seedStart = System.nanoTime();
+        seed();
+        System.out.printf("%nseeded %,d owners in %d s%n", OWNERS, (System.nanoTime() - seedStart) / 1_000_000_000);
+
+        long heapBefore = usedHeapAfterGc();
+        long buildStart = System.nanoTime();
+        int loaded = refresher.rebuild();
+        long buildMillis = (System.nanoTime() - buildStart) / 1_000_000;
+        long snapshotHeap = usedHeapAfterGc() - heapBefore;
+        assertThat(loaded).isEqualTo(OWNERS);
+        System.out.printf("snapshot: %,d owners, %d overflow, built in %d ms, %d MB mapped, heap %+d MB%n",
+                loaded, store.getOverflowCount(), buildMillis, store.getFileSize() >> 20, snapshotHeap >> 20);
+
+        long[] ids = new SplittableRandom(42).longs(WARMUP_OPS + MEASURED_OPS, 1, OWNERS + 1).toArray();
+        byte[] buffer = new byte[OwnerSnapshotStore.MAX_JSON_SIZE];
+        ByteArrayOutputStream json = new ByteArrayOutputStream(512);
+
+        System.out.printf("%n%-20s %10s %10s %12s %6s%n", "lookup + JSON", "p50(us)", "p99(us)", "bytes/op", "GCs");
+        // 量測區內不用 assertThat，避免把斷言物件的配置算進快照
+        long[] snapshot = measure(ids, id -> {
+            if (store.writeJson(id, buffer, 0) < 0) {
+                throw new IllegalStateException("owner " + id + " not in snapshot");
+            }
+        });
+        print("snapshot", snapshot);
+        long[] hibernate = measure(ids, id -> serialize(json, ownerService.findById(id)));
+        print("hibernate", hibernate);
+
+        long mapHeapBefore = usedHeapAfterGc();
+        Map<Long, Owner> cache = heapCache();
+        long mapHeap = usedHeapAfterGc() - mapHeapBefore;
+        long[] heap = measure(ids, id -> serialize(json, cache.get(id)));
+        print("HashMap", heap);
+        System.out.printf("HashMap cache: heap %+d MB%n", mapHeap >> 20);
+        cache.clear();
+
+        System.out.printf("%n%-20s %10s %10s %12s %6s%n", "GET /api/owners/{id}", "p50(us)", "p99(us)",
+                "bytes/req", "GCs");
+        HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        long[] httpSnapshot = http(client, ids);
+        print("snapshot", httpSnapshot);
+        store.startRebuild();
+        store.publish();
+        assertThat(store.size()).isZero();
+        long[] httpHibernate = http(client, ids);
+        print("hibernate", httpHibernate);
+
+        assertThat(snapshotHeap).isLessThan(mapHeap / 20);
+        assertThat(snapshot[0]).isLessThan(hibernate[0]);
+        assertThat(snapshot[2]).isZero();
+        assertThat(httpSnapshot[0]).isLessThan(httpHibernate[0]);
+    }
+
+    /**
+     * 以 INSERT ... SELECT 在資料庫內產生資料（中文姓名、城市與手機號碼，約 30 bytes / 筆）
+     */
+    private void seed() {
+        jdbcTemplate.execute("TRUNCATE TABLE owners RESTART IDENTITY");
+        jdbcTemplate.update("""
+                INSERT INTO owners (first_name, last_name, city, telephone)
+                SELECT SUBSTRING('小大阿志雅家', MOD(X, 6) + 1, 1) || SUBSTRING('明華強美玲豪偉婷', MOD(X / 7, 8) + 1, 1),
+                       SUBSTRING('王林陳張李黃吳劉蔡楊', MOD(X / 3, 10) + 1, 1),
+                       SUBSTRING('台北台中高雄台南新竹', MOD(X, 5) * 2 + 1, 2),
+                       '09' || LPAD(CAST(MOD(X * 7919, 100000000) AS VARCHAR), 8, '0')
+                FROM SYSTEM_RANGE(1, ?)
+                """, OWNERS);
+    }
+
+    private Map<Long, Owner> heapCache() {
+        Map<Long, Owner> cache = new HashMap<>(OWNERS * 4 / 3 + 1);
+        jdbcTemplate.query("SELECT id, first_name, last_name, city, telephone FROM owners", rs -> {
+            Owner owner = new Owner(rs.getString(2), rs.getString(3));
+            owner.setId(rs.getLong(1));
+            owner.setCity(rs.getString(4));
+            owner.setTelephone(rs.getString(5));
+            cache.put(owner.getId(), owner);
+        });
+        return cache;
+    }
+
+    private void serialize(ByteArrayOutputStream json, Owner owner) {
+        json.reset();
+        try {
+            objectMapper.writeValue(json, ApiResponse.success(owner));
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * @return [p50 us, p99 us, bytes/op, GC 次數]
+     */
+    private long[] measure(long[] ids, LongConsumer lookup) {
+        for (int i = 0; i < WARMUP_OPS; i++) {
+            lookup.accept(ids[i]);
+        }
+        long threadId = Thread.currentThread().getId();
+        long[] nanos = new long[MEASURED_OPS];
+        long gcBefore = gcCount();
+        long allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < MEASURED_OPS; i++) {
+            long start = System.nanoTime();
+            lookup.accept(ids[WARMUP_OPS + i]);
+            nanos[i] = System.nanoTime() - start;
+        }
+        long allocated = threads.getThreadAllocatedBytes(threadId) - allocatedBefore;
+        return summary(nanos, allocated / MEASURED_OPS, gcCount() - gcBefore);
+    }
+
+    private long[] http(HttpClient client, long[] ids) throws Exception {
+        for (int i = 0; i < HTTP_WARMUP; i++) {
+            get(client, ids[i]);
+        }
+        long[] nanos = new long[HTTP_REQUESTS];
+        long gcBefore = gcCount();
+        long allocatedBefore = allocatedByAllThreads();
+        for (int i = 0; i < HTTP_REQUESTS; i++) {
+            long start = System.nanoTime();
+            get(client, ids[HTTP_WARMUP + i]);
+            nanos[i] = System.nanoTime() - start;
+        }
+        long allocated = allocatedByAllThreads() - allocatedBefore;
+        return summary(nanos, allocated / HTTP_REQUESTS, gcCount() - gcBefore);
+    }
+
+    private void get(HttpClient client, long id) throws Exception {
+        HttpResponse<byte[]> response = client.send(
+                HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/owners/" + id)).build(),
+                HttpResponse.BodyHandlers.ofByteArray());
+        assertThat(response.statusCode()).isEqualTo(200);
+    }
+
+    private long allocatedByAllThreads() {
+        return Arrays.stream(threads.getThreadAllocatedBytes(threads.getAllThreadIds())).filter(b -> b > 0).sum();
+    }
+
+    private static long[] summary(long[] nanos, long bytesPerOp, long gcs) {
+        Arrays.sort(nanos);
+        return new long[]{nanos[nanos.length / 2] / 1_000, nanos[(int) (nanos.length * 0.99)] / 1_000,
+                bytesPerOp, gcs};
+    }
+
+    private static void print(String name, long[] result) {
+        System.out.printf("%-20s %10d %10d %12d %6d%n", name, result[0], result[1], result[2], result[3]);
+    }
+
+    private static long gcCount() {
+        return ManagementFactory.getGarbageCollectorMXBeans().stream()
+                .mapToLong(GarbageCollectorMXBean::getCollectionCount)
+                .sum();
+    }
+
+    private static long usedHeapAfterGc() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+}
@@ -0,0 +1,119 @@
+package com.petlearning.restapi.snapshot;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.petlearning.restapi.dto.ApiResponse;
+import com.petlearning.restapi.entity.Owner;
+import com.petlearning.restapi.repository.OwnerRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static com.petlearning.querymetrics.test.QueryCountMatchers.statements;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 唯讀服務模式測試
+ *
+ * 快照中的飼主不執行任何 SQL，回應與 OwnerController 的 JSON 完全相同；
+ * 快照中沒有或已失效的飼主仍由 OwnerController 查詢資料庫。
+ */
+@SpringBootTest(properties = {
+        "owner-snapshot.enabled=true",
+        "owner-snapshot.directory=target/owner-snapshot-test",
+        "owner-snapshot.refresh-interval=1h"
+})
+@AutoConfigureMockMvc
+class OwnerSnapshotFilterTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private OwnerRepository ownerRepository;
+
+    @Autowired
+    private OwnerSnapshotRefresher refresher;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Owner owner;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        ownerRepository.deleteAll();
+        owner = new Owner("大華", "陳");
+        owner.setCity("台北");
+        owner = ownerRepository.save(owner);
+        refresher.rebuild();
+    }
+
+    @Test
+    void should_ServeSameJsonWithoutSql_When_OwnerInSnapshot() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/api/owners/{id}", owner.getId()))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(content().json(objectMapper.writeValueAsString(ApiResponse.success(owner)), true))
+                .andExpect(statements(0));
+    }
+
+    @Test
+    void should_QueryDatabaseUntilRefreshed_When_OwnerCreated() throws Exception {
+        // Given
+        String created = mockMvc.perform(post("/api/owners").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"firstName\": \"小美\", \"lastName\": \"林\"}"))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        long id = objectMapper.readTree(created).path("data").path("id").asLong();
+
+        // When & Then
+        mockMvc.perform(get("/api/owners/{id}", id))
+                .andExpect(status().isOk())
+                .andExpect(statements(1));
+        refresher.refresh();
+        mockMvc.perform(get("/api/owners/{id}", id))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.firstName").value("小美"))
+                .andExpect(statements(0));
+    }
+
+    @Test
+    void should_ServeFromDatabase_When_OwnerUpdatedOrDeleted() throws Exception {
+        // When
+        mockMvc.perform(put("/api/owners/{id}", owner.getId()).contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"firstName\": \"大華\", \"lastName\": \"陳\", \"city\": \"高雄\"}"))
+                .andExpect(status().isOk());
+
+        // Then
+        mockMvc.perform(get("/api/owners/{id}", owner.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.city").value("高雄"))
+                .andExpect(statements(1));
+        mockMvc.perform(delete("/api/owners/{id}", owner.getId()))
+                .andExpect(status().isNoContent());
+        mockMvc.perform(get("/api/owners/{id}", owner.getId()))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void should_PassThrough_When_PathIsNotOwnerId() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/api/owners/{id}", 999_999))
+                .andExpect(status().isNotFound())
+                .andExpect(statements(1));
+        mockMvc.perform(get("/api/owners"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.length()").value(1));
+    }
+}
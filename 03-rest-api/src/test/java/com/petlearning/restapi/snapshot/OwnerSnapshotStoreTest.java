@@ -0,0 +1,165 @@
+package com.petlearning.restapi.snapshot;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.petlearning.restapi.entity.Owner;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 飼主快照存放區測試
+ */
+class OwnerSnapshotStoreTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @TempDir
+    Path dir;
+
+    private OwnerSnapshotStore store;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        store = new OwnerSnapshotStore(dir, 4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        store.close();
+    }
+
+    @Test
+    void should_RenderSameJsonAsJackson_When_OwnerInSnapshot() throws Exception {
+        // Given：含中文、null、需要跳脫的引號與反斜線
+        store.append(1, "小明", "王", "台北", "0912345678");
+        store.append(7, "Tom \"T\"", "O\\Neil", null, null);
+        store.publish();
+
+        // When & Then
+        assertThat(json(1)).isEqualTo(jackson(1, "小明", "王", "台北", "0912345678"));
+        assertThat(json(7)).isEqualTo(jackson(7, "Tom \"T\"", "O\\Neil", null, null));
+        assertThat(json(2)).isNull();
+        assertThat(json(8)).isNull();
+    }
+
+    @Test
+    void should_HideAppendedOwners_Until_Published() throws Exception {
+        // Given
+        store.append(1, "小明", "王", null, null);
+
+        // When & Then
+        assertThat(json(1)).isNull();
+        assertThat(store.getWatermark()).isEqualTo(1);
+        store.publish();
+        assertThat(json(1)).isNotNull();
+        assertThat(store.size()).isEqualTo(1);
+    }
+
+    @Test
+    void should_FallBack_When_FieldsExceedRecordOrOwnerInvalidated() throws Exception {
+        // Given
+        store.append(1, "小明", "王", "台".repeat(40), null);
+        store.append(2, "小美", "林", "台中", null);
+        store.append(3, "阿強", "張", "高雄", null);
+        store.publish();
+
+        // When
+        store.invalidate(2);
+
+        // Then
+        assertThat(json(1)).isNull();
+        assertThat(json(2)).isNull();
+        assertThat(json(3)).isNotNull();
+        assertThat(store.getOverflowCount()).isEqualTo(1);
+    }
+
+    @Test
+    void should_KeepInvalidation_When_OwnerUpdatedBeforeAppendPublished() throws Exception {
+        // Given：增量載入已讀到修改前的資料，尚未 publish
+        store.append(1, "小明", "王", null, null);
+
+        // When
+        store.invalidate(1);
+        store.publish();
+
+        // Then
+        assertThat(json(1)).isNull();
+        assertThat(store.size()).isEqualTo(1);
+    }
+
+    @Test
+    void should_GrowMappedFiles_When_CapacityExceeded() throws Exception {
+        // Given
+        for (long id = 1; id <= 100; id++) {
+            store.append(id, "名" + id, "姓", null, null);
+        }
+
+        // When
+        store.publish();
+
+        // Then
+        assertThat(store.size()).isEqualTo(100);
+        assertThat(json(100)).contains("\"firstName\":\"名100\"");
+        assertThat(store.getFileSize()).isEqualTo(128L * (8 + OwnerSnapshotStore.RECORD_SIZE));
+    }
+
+    @Test
+    void should_ServeOldGeneration_Until_RebuildPublished() throws Exception {
+        // Given
+        store.append(1, "小明", "王", null, null);
+        store.append(2, "小美", "林", null, null);
+        store.publish();
+
+        // When
+        store.startRebuild();
+        store.append(2, "小美", "陳", null, null);
+        store.invalidate(2);
+
+        // Then：重建期間仍是舊的一代，替換後舊檔刪除，重建期間的失效仍然有效
+        assertThat(json(1)).isNotNull();
+        assertThat(store.getWatermark()).isEqualTo(2);
+        store.publish();
+        assertThat(json(1)).isNull();
+        assertThat(json(2)).isNull();
+        assertThat(store.size()).isEqualTo(1);
+        try (var files = Files.list(dir)) {
+            assertThat(files.map(file -> file.getFileName().toString()))
+                    .containsExactlyInAnyOrder("owners-1.idx", "owners-1.dat");
+        }
+    }
+
+    @Test
+    void should_Reject_When_IdNotAboveWatermark() throws Exception {
+        // Given
+        store.append(5, "小明", "王", null, null);
+
+        // When & Then
+        assertThatThrownBy(() -> store.append(5, "小美", "林", null, null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("watermark");
+    }
+
+    private String json(long id) {
+        byte[] buffer = new byte[OwnerSnapshotStore.MAX_JSON_SIZE + 3];
+        int length = store.writeJson(id, buffer, 3);
+        return length < 0 ? null : new String(buffer, 3, length, StandardCharsets.UTF_8);
+    }
+
+    private String jackson(long id, String firstName, String lastName, String city, String telephone)
+            throws Exception {
+        Owner owner = new Owner(firstName, lastName);
+        owner.setId(id);
+        owner.setCity(city);
+        owner.setTelephone(telephone);
+        return objectMapper.writeValueAsString(owner);
+    }
+}
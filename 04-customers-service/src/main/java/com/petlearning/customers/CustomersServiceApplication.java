@@ -2,6 +2,7 @@ package com.petlearning.customers;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
 
 /**
  * Customers Service 啟動類
@@ -11,6 +12,9 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
 public class CustomersServiceApplication {
 
     public static void main(String[] args) {
-        SpringApplication.run(CustomersServiceApplication.class, args);
+        SpringApplication application = new SpringApplication(CustomersServiceApplication.class);
+        // 記錄啟動步驟（Bean 建立、自動配置等耗時），透過 /actuator/startup 查看
+        application.setApplicationStartup(new BufferingApplicationStartup(2048));
+        application.run(args);
     }
 }
@@ -0,0 +1,34 @@
+package com.petlearning.customers.client;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.petlearning.customers.dto.CustomerPet;
+import com.petlearning.serviceclient.client.ServiceClient;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Pets Service 客戶端
+ *
+ * 透過共用的 {@link ServiceClient} 呼叫，連線池、逾時與指標設定在 service-client.targets.pets-service
+ */
+@Component
+public class PetsClient {
+
+    static final String TARGET = "pets-service";
+
+    private static final TypeReference<List<CustomerPet>> PETS = new TypeReference<>() { };
+
+    private final ServiceClient serviceClient;
+
+    public PetsClient(ServiceClient serviceClient) {
+        this.serviceClient = serviceClient;
+    }
+
+    /**
+     * 客戶 id 即 Pets Service 的 ownerId
+     */
+    public List<CustomerPet> findByCustomer(Long customerId) {
+        return serviceClient.get(TARGET, "/api/owners/{ownerId}/pets", PETS, customerId);
+    }
+}
@@ -0,0 +1,46 @@
+package com.petlearning.customers.controller;
+
+import com.petlearning.customers.client.PetsClient;
+import com.petlearning.customers.dto.CustomerPet;
+import com.petlearning.serviceclient.client.ServiceClientException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * 客戶的寵物：資料在 Pets Service，經服務間呼叫取得
+ */
+@RestController
+@RequestMapping("/api/customers")
+public class CustomerPetsController {
+
+    private static final Logger logger = LoggerFactory.getLogger(CustomerPetsController.class);
+
+    private final PetsClient petsClient;
+
+    public CustomerPetsController(PetsClient petsClient) {
+        this.petsClient = petsClient;
+    }
+
+    @GetMapping("/{customerId}/pets")
+    public List<CustomerPet> getPets(@PathVariable Long customerId) {
+        return petsClient.findByCustomer(customerId);
+    }
+
+    /**
+     * Pets Service 無法使用或回應錯誤時回 502，不把下游的錯誤原樣轉給呼叫端
+     */
+    @ExceptionHandler(ServiceClientException.class)
+    @ResponseStatus(HttpStatus.BAD_GATEWAY)
+    public void handleServiceClientException(ServiceClientException ex) {
+        logger.warn("Call to {} failed: {}", ex.getTarget(), ex.getMessage());
+    }
+}
@@ -0,0 +1,13 @@
+package com.petlearning.customers.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * 客戶的寵物（來自 Pets Service），只保留需要的欄位；多出的欄位在解碼時忽略
+ */
+public record CustomerPet(Long id, String name, String type, LocalDate birthDate, List<Visit> visits) {
+
+    public record Visit(LocalDate visitDate, String description) {
+    }
+}
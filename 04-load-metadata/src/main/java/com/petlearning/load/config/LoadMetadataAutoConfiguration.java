@@ -0,0 +1,60 @@
+package com.petlearning.load.config;
+
+import com.netflix.appinfo.ApplicationInfoManager;
+import com.petlearning.load.eureka.LoadMetadataPublisher;
+import com.petlearning.load.metrics.LoadSampler;
+import com.petlearning.load.metrics.RequestLoadFilter;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.cloud.netflix.eureka.EurekaClientAutoConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+
+/**
+ * 負載 metadata 自動配置
+ *
+ * 服務加入 04-load-metadata 依賴即可啟用：
+ * - RequestLoadFilter 以最高優先序包住所有請求
+ * - 有 Eureka 客戶端時，LoadMetadataPublisher 定期發布負載訊號
+ */
+@AutoConfiguration(after = EurekaClientAutoConfiguration.class)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(prefix = "load-metadata", name = "enabled", matchIfMissing = true)
+@EnableConfigurationProperties(LoadMetadataProperties.class)
+public class LoadMetadataAutoConfiguration {
+
+    @Bean
+    public RequestLoadFilter requestLoadFilter() {
+        return new RequestLoadFilter();
+    }
+
+    @Bean
+    public FilterRegistrationBean<RequestLoadFilter> requestLoadFilterRegistration(RequestLoadFilter requestLoadFilter) {
+        FilterRegistrationBean<RequestLoadFilter> registration = new FilterRegistrationBean<>(requestLoadFilter);
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    @Bean
+    public LoadSampler loadSampler(RequestLoadFilter requestLoadFilter, ObjectProvider<DataSource> dataSource,
+                                   Environment environment) {
+        int maxThreads = environment.getProperty("server.tomcat.threads.max", Integer.class, 200);
+        return new LoadSampler(requestLoadFilter, dataSource, maxThreads);
+    }
+
+    @Bean
+    @ConditionalOnBean(ApplicationInfoManager.class)
+    public LoadMetadataPublisher loadMetadataPublisher(ApplicationInfoManager applicationInfoManager,
+                                                       LoadSampler loadSampler,
+                                                       LoadMetadataProperties properties) {
+        return new LoadMetadataPublisher(applicationInfoManager, loadSampler, properties);
+    }
+}
@@ -0,0 +1,69 @@
+package com.petlearning.load.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * 負載 metadata 發布設定
+ *
+ * 範例：
+ * <pre>
+ * load-metadata:
+ *   enabled: true
+ *   publish-interval: 30s
+ *   relative-change: 0.25
+ *   ratio-change: 0.1
+ * </pre>
+ *
+ * Eureka 的心跳不帶內容，metadata 只能透過重新註冊送到伺服器，
+ * 而每次重新註冊都會讓伺服器的回應快取失效、出現在所有客戶端的下一次增量抓取裡。
+ * 因此只有訊號變化超過門檻時才更新 metadata。
+ */
+@ConfigurationProperties(prefix = "load-metadata")
+public class LoadMetadataProperties {
+
+    /** 是否發布負載 metadata */
+    private boolean enabled = true;
+
+    /** 取樣與發布間隔，建議與 eureka.instance.lease-renewal-interval-in-seconds 相同 */
+    private Duration publishInterval = Duration.ofSeconds(30);
+
+    /** 進行中請求數與 p99 的相對變化門檻，低於門檻不重新發布 */
+    private double relativeChange = 0.25;
+
+    /** CPU 與連線池飽和度（0 ~ 1）的絕對變化門檻 */
+    private double ratioChange = 0.1;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Duration getPublishInterval() {
+        return publishInterval;
+    }
+
+    public void setPublishInterval(Duration publishInterval) {
+        this.publishInterval = publishInterval;
+    }
+
+    public double getRelativeChange() {
+        return relativeChange;
+    }
+
+    public void setRelativeChange(double relativeChange) {
+        this.relativeChange = relativeChange;
+    }
+
+    public double getRatioChange() {
+        return ratioChange;
+    }
+
+    public void setRatioChange(double ratioChange) {
+        this.ratioChange = ratioChange;
+    }
+}
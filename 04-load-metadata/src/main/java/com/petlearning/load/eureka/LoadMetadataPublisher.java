@@ -0,0 +1,96 @@
+package com.petlearning.load.eureka;
+
+import com.netflix.appinfo.ApplicationInfoManager;
+import com.petlearning.load.config.LoadMetadataProperties;
+import com.petlearning.load.metrics.LoadSampler;
+import com.petlearning.load.metrics.LoadSignals;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 定期把負載訊號寫入本實例的 Eureka metadata
+ *
+ * 流程：
+ * 1. 每 publish-interval 取樣一次（與心跳同頻率）
+ * 2. 與上次發布的值相比變化超過門檻，才呼叫 ApplicationInfoManager.registerAppMetadata
+ * 3. metadata 變更會把 InstanceInfo 標記為 dirty，由 Eureka 客戶端的 InstanceInfoReplicator
+ *    在下一個 replication 週期重新註冊（eureka.client.instance-info-replication-interval-seconds）
+ *
+ * 發布成本因此被兩層限制：取樣頻率，以及只有「明顯改變」才觸發重新註冊。
+ */
+public class LoadMetadataPublisher implements InitializingBean, DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoadMetadataPublisher.class);
+
+    private final ApplicationInfoManager applicationInfoManager;
+    private final LoadSampler sampler;
+    private final LoadMetadataProperties properties;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "load-metadata-publisher");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicLong samples = new AtomicLong();
+    private final AtomicLong publications = new AtomicLong();
+    private volatile LoadSignals lastPublished;
+
+    public LoadMetadataPublisher(ApplicationInfoManager applicationInfoManager, LoadSampler sampler,
+                                 LoadMetadataProperties properties) {
+        this.applicationInfoManager = applicationInfoManager;
+        this.sampler = sampler;
+        this.properties = properties;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        // 先放入閒置值，讓第一次註冊就帶有完整的 key
+        publish(LoadSignals.IDLE);
+        long interval = properties.getPublishInterval().toMillis();
+        scheduler.scheduleWithFixedDelay(this::sampleAndPublish, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    void sampleAndPublish() {
+        try {
+            LoadSignals signals = sampler.sample();
+            samples.incrementAndGet();
+            LoadSignals previous = lastPublished;
+            if (previous == null
+                    || signals.differsFrom(previous, properties.getRelativeChange(), properties.getRatioChange())) {
+                publish(signals);
+            }
+        } catch (RuntimeException ex) {
+            logger.warn("Failed to publish load metadata: {}", ex.getMessage());
+        }
+    }
+
+    private void publish(LoadSignals signals) {
+        applicationInfoManager.registerAppMetadata(signals.toMetadata());
+        lastPublished = signals;
+        publications.incrementAndGet();
+        logger.debug("Published load metadata {}", signals);
+    }
+
+    public LoadSignals getLastPublished() {
+        return lastPublished;
+    }
+
+    public long getSamples() {
+        return samples.get();
+    }
+
+    public long getPublications() {
+        return publications.get();
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.shutdownNow();
+    }
+}
@@ -0,0 +1,104 @@
+package com.petlearning.load.metrics;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.HdrHistogram.Histogram;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.util.ClassUtils;
+
+import javax.sql.DataSource;
+import java.lang.management.ManagementFactory;
+import java.lang.management.OperatingSystemMXBean;
+import java.sql.SQLException;
+
+/**
+ * 取樣目前的負載訊號
+ *
+ * 每次取樣只讀取計數器與 MXBean，不走訪請求或連線，成本與流量無關。
+ * p99 取最近兩個取樣區間的合併直方圖，避免慢請求剛好跨過區間時 p99 掉回 0；
+ * CPU 以 EWMA 平滑，單一區間的 GC 或 JIT 尖峰不會觸發重新發布。
+ * 連線池飽和度取 HikariCP（active / max）與 worker 執行緒（進行中請求峰值 / server.tomcat.threads.max）中較高者。
+ */
+public class LoadSampler {
+
+    private static final boolean HIKARI_PRESENT =
+            ClassUtils.isPresent("com.zaxxer.hikari.HikariDataSource", LoadSampler.class.getClassLoader());
+
+    private final RequestLoadFilter requestLoad;
+    private final ObjectProvider<DataSource> dataSource;
+    private final int maxWorkerThreads;
+    /** CPU 的 EWMA 權重 */
+    private static final double CPU_SMOOTHING = 0.5;
+
+    private final OperatingSystemMXBean os = ManagementFactory.getOperatingSystemMXBean();
+    private final Histogram previousInterval = new Histogram(2);
+    private final Histogram window = new Histogram(2);
+    private double smoothedCpu = -1;
+
+    public LoadSampler(RequestLoadFilter requestLoad, ObjectProvider<DataSource> dataSource, int maxWorkerThreads) {
+        this.requestLoad = requestLoad;
+        this.dataSource = dataSource;
+        this.maxWorkerThreads = Math.max(1, maxWorkerThreads);
+    }
+
+    public synchronized LoadSignals sample() {
+        int peakInflight = requestLoad.drainPeakInflight();
+        double workers = Math.min(1.0, (double) peakInflight / maxWorkerThreads);
+        return new LoadSignals(peakInflight, recentP99Millis(), smoothedCpu(),
+                Math.max(workers, connectionPoolSaturation()));
+    }
+
+    private double recentP99Millis() {
+        Histogram current = requestLoad.intervalLatency();
+        window.reset();
+        window.add(previousInterval);
+        window.add(current);
+        previousInterval.reset();
+        previousInterval.add(current);
+        return window.getTotalCount() == 0 ? 0 : window.getValueAtPercentile(99) / 1000.0;
+    }
+
+    private double smoothedCpu() {
+        double load = processCpu();
+        smoothedCpu = smoothedCpu < 0 ? load : smoothedCpu + CPU_SMOOTHING * (load - smoothedCpu);
+        return smoothedCpu;
+    }
+
+    private double processCpu() {
+        if (os instanceof com.sun.management.OperatingSystemMXBean sunOs) {
+            double load = sunOs.getProcessCpuLoad();
+            return load < 0 || Double.isNaN(load) ? 0 : load;
+        }
+        return 0;
+    }
+
+    private double connectionPoolSaturation() {
+        if (!HIKARI_PRESENT) {
+            return 0;
+        }
+        DataSource source = dataSource.getIfUnique();
+        return source == null ? 0 : Hikari.saturation(source);
+    }
+
+    /**
+     * 隔離 HikariCP 類別的參照，沒有 HikariCP 的服務不會載入
+     */
+    private static final class Hikari {
+
+        static double saturation(DataSource source) {
+            try {
+                if (!source.isWrapperFor(HikariDataSource.class)) {
+                    return 0;
+                }
+                HikariDataSource hikari = source.unwrap(HikariDataSource.class);
+                HikariPoolMXBean pool = hikari.getHikariPoolMXBean();
+                if (pool == null || hikari.getMaximumPoolSize() <= 0) {
+                    return 0;
+                }
+                return Math.min(1.0, (double) pool.getActiveConnections() / hikari.getMaximumPoolSize());
+            } catch (SQLException ex) {
+                return 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.petlearning.load.metrics;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 一次取樣的負載訊號，以 Eureka 實例 metadata 發布
+ *
+ * - load.inflight：取樣區間內的進行中請求數峰值
+ * - load.p99-ms：取樣區間內的請求延遲 p99（毫秒）
+ * - load.cpu：行程 CPU 使用率（0 ~ 1，已除以核心數）
+ * - load.pool：資料庫連線池或 worker 執行緒中較滿者的使用率（0 ~ 1）
+ *
+ * Gateway 的 LoadAwareLoadBalancer 讀取相同的 key。
+ */
+public record LoadSignals(int inflight, double p99Millis, double cpu, double poolSaturation) {
+
+    public static final String INFLIGHT = "load.inflight";
+    public static final String P99_MILLIS = "load.p99-ms";
+    public static final String CPU = "load.cpu";
+    public static final String POOL = "load.pool";
+
+    public static final LoadSignals IDLE = new LoadSignals(0, 0, 0, 0);
+
+    public Map<String, String> toMetadata() {
+        Map<String, String> metadata = new LinkedHashMap<>(8);
+        metadata.put(INFLIGHT, Integer.toString(inflight));
+        metadata.put(P99_MILLIS, String.format(Locale.ROOT, "%.1f", p99Millis));
+        metadata.put(CPU, String.format(Locale.ROOT, "%.2f", cpu));
+        metadata.put(POOL, String.format(Locale.ROOT, "%.2f", poolSaturation));
+        return metadata;
+    }
+
+    /**
+     * 與上次發布的訊號相比是否值得重新發布
+     *
+     * 進行中請求數與 p99 看相對變化（並忽略 1 個請求 / 1ms 以內的抖動），CPU 與飽和度看絕對變化
+     */
+    public boolean differsFrom(LoadSignals previous, double relativeChange, double ratioChange) {
+        return relativelyDifferent(inflight, previous.inflight, relativeChange, 1)
+                || relativelyDifferent(p99Millis, previous.p99Millis, relativeChange, 1)
+                || Math.abs(cpu - previous.cpu) >= ratioChange
+                || Math.abs(poolSaturation - previous.poolSaturation) >= ratioChange;
+    }
+
+    private static boolean relativelyDifferent(double current, double previous, double relativeChange, double noise) {
+        double delta = Math.abs(current - previous);
+        return delta > noise && delta >= relativeChange * Math.max(current, previous);
+    }
+}
@@ -0,0 +1,63 @@
+package com.petlearning.load.metrics;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 追蹤進行中請求數與請求延遲
+ *
+ * 請求路徑上只有兩次原子操作與一次 HdrHistogram Recorder 寫入（無鎖），
+ * 取樣端以 {@link #drainPeakInflight()} 與 {@link #intervalLatency()} 讀出區間資料。
+ */
+public class RequestLoadFilter extends OncePerRequestFilter {
+
+    /** 記錄上限 60 秒，超過的請求以上限計 */
+    private static final long MAX_MICROS = TimeUnit.SECONDS.toMicros(60);
+
+    private final AtomicInteger inflight = new AtomicInteger();
+    private final AtomicInteger peakInflight = new AtomicInteger();
+    private final Recorder latency = new Recorder(MAX_MICROS, 2);
+    private Histogram recycled;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        peakInflight.accumulateAndGet(inflight.incrementAndGet(), Math::max);
+        long start = System.nanoTime();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            inflight.decrementAndGet();
+            long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start);
+            latency.recordValue(Math.min(Math.max(micros, 1), MAX_MICROS));
+        }
+    }
+
+    public int currentInflight() {
+        return inflight.get();
+    }
+
+    /**
+     * 取出上次呼叫以來的進行中請求數峰值，並以目前值開始下一個區間
+     */
+    public int drainPeakInflight() {
+        return peakInflight.getAndSet(inflight.get());
+    }
+
+    /**
+     * 取出上次呼叫以來的延遲分佈（微秒），只應由單一取樣執行緒呼叫
+     */
+    public synchronized Histogram intervalLatency() {
+        recycled = latency.getIntervalHistogram(recycled);
+        return recycled;
+    }
+}
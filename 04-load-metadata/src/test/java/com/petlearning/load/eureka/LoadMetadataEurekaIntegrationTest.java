@@ -0,0 +1,170 @@
+package com.petlearning.load.eureka;
+
+import com.netflix.appinfo.InstanceInfo;
+import com.netflix.discovery.shared.Application;
+import com.netflix.discovery.shared.transport.jersey.TransportClientFactories;
+import com.netflix.discovery.shared.transport.jersey3.Jersey3TransportClientFactories;
+import com.netflix.eureka.registry.PeerAwareInstanceRegistry;
+import com.petlearning.load.metrics.LoadSignals;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.cloud.netflix.eureka.server.EnableEurekaServer;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Predicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 以本機 Eureka Server 驗證負載 metadata 的發布
+ *
+ * 情境：
+ * - 服務註冊後，Eureka 上的實例帶有閒置的負載 metadata
+ * - 8 個並行請求（每個 300ms）持續打進服務，Eureka 上的 load.inflight / load.p99-ms 隨之上升
+ * - 停止負載後 metadata 回到閒置值
+ * - 閒置期間大部分取樣不會觸發重新註冊（發布次數少於取樣次數）
+ */
+class LoadMetadataEurekaIntegrationTest {
+
+    private ConfigurableApplicationContext eureka;
+    private ConfigurableApplicationContext service;
+
+    @BeforeEach
+    void setUp() {
+        eureka = new SpringApplicationBuilder(LocalEurekaServer.class).run(
+                "--server.port=0",
+                "--spring.application.name=eureka",
+                "--eureka.client.register-with-eureka=false",
+                "--eureka.client.fetch-registry=false",
+                "--eureka.server.enable-self-preservation=false",
+                "--load-metadata.enabled=false");
+        String eurekaPort = eureka.getEnvironment().getProperty("local.server.port");
+
+        service = new SpringApplicationBuilder(LoadTestService.class).run(
+                "--server.port=0",
+                "--spring.application.name=load-test",
+                "--eureka.client.service-url.defaultZone=http://localhost:" + eurekaPort + "/eureka/",
+                "--eureka.client.fetch-registry=false",
+                "--eureka.client.initial-instance-info-replication-interval-seconds=1",
+                "--eureka.client.instance-info-replication-interval-seconds=1",
+                "--eureka.instance.lease-renewal-interval-in-seconds=1",
+                "--load-metadata.publish-interval=250ms",
+                // 250ms 的取樣區間內，同一 JVM 中 Eureka Server 的背景工作會讓 CPU 讀數明顯跳動
+                "--load-metadata.ratio-change=0.3");
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (service != null) {
+            service.close();
+        }
+        if (eureka != null) {
+            eureka.close();
+        }
+    }
+
+    @Test
+    void should_PropagateLoadSignalsToEureka_When_ServiceIsBusy() throws Exception {
+        // Given
+        PeerAwareInstanceRegistry registry = eureka.getBean(PeerAwareInstanceRegistry.class);
+        LoadMetadataPublisher publisher = service.getBean(LoadMetadataPublisher.class);
+        awaitMetadata(registry, metadata -> "0".equals(metadata.get(LoadSignals.INFLIGHT)));
+
+        // When
+        AtomicBoolean running = new AtomicBoolean(true);
+        ExecutorService clients = Executors.newFixedThreadPool(8);
+        HttpClient http = HttpClient.newHttpClient();
+        URI work = URI.create("http://localhost:" + service.getEnvironment().getProperty("local.server.port")
+                + "/work?millis=300");
+        for (int i = 0; i < 8; i++) {
+            clients.submit(() -> {
+                while (running.get()) {
+                    http.send(HttpRequest.newBuilder(work).build(), HttpResponse.BodyHandlers.discarding());
+                }
+                return null;
+            });
+        }
+        Map<String, String> busy = awaitMetadata(registry,
+                metadata -> Integer.parseInt(metadata.get(LoadSignals.INFLIGHT)) >= 4
+                        && Double.parseDouble(metadata.get(LoadSignals.P99_MILLIS)) >= 250);
+        running.set(false);
+        clients.shutdown();
+
+        // Then
+        assertThat(Double.parseDouble(busy.get(LoadSignals.POOL))).isGreaterThan(0);
+        assertThat(busy).containsKey(LoadSignals.CPU);
+
+        // When：負載停止
+        awaitMetadata(registry, metadata -> "0".equals(metadata.get(LoadSignals.INFLIGHT))
+                && "0.0".equals(metadata.get(LoadSignals.P99_MILLIS)));
+        long publications = publisher.getPublications();
+        long samples = publisher.getSamples();
+        Thread.sleep(2500);
+
+        // Then：閒置期間持續取樣，但多數取樣不會重新發布
+        long idleSamples = publisher.getSamples() - samples;
+        long idlePublications = publisher.getPublications() - publications;
+        assertThat(idleSamples).isGreaterThanOrEqualTo(5);
+        assertThat(idlePublications).isLessThan(idleSamples / 2);
+    }
+
+    private static Map<String, String> awaitMetadata(PeerAwareInstanceRegistry registry,
+                                                     Predicate<Map<String, String>> condition) throws Exception {
+        long deadline = System.nanoTime() + Duration.ofSeconds(30).toNanos();
+        while (true) {
+            Application app = registry.getApplication("LOAD-TEST");
+            if (app != null && !app.getInstances().isEmpty()) {
+                InstanceInfo instance = app.getInstances().get(0);
+                Map<String, String> metadata = instance.getMetadata();
+                if (metadata.containsKey(LoadSignals.INFLIGHT) && condition.test(metadata)) {
+                    return metadata;
+                }
+            }
+            assertThat(System.nanoTime()).as("metadata not propagated within 30s").isLessThan(deadline);
+            Thread.sleep(100);
+        }
+    }
+
+    @SpringBootConfiguration
+    @EnableAutoConfiguration
+    @EnableEurekaServer
+    static class LocalEurekaServer {
+    }
+
+    @SpringBootConfiguration
+    @EnableAutoConfiguration
+    @RestController
+    static class LoadTestService {
+
+        /**
+         * 測試 classpath 上有 Eureka Server 帶進來的 Jersey，RestTemplate transport 不會自動啟用
+         */
+        @Bean
+        TransportClientFactories<?> transportClientFactories() {
+            return Jersey3TransportClientFactories.getInstance();
+        }
+
+        @GetMapping("/work")
+        String work(@RequestParam long millis) throws InterruptedException {
+            Thread.sleep(millis);
+            return "done";
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.petlearning.load.eureka;
+
+import com.netflix.appinfo.ApplicationInfoManager;
+import com.petlearning.load.config.LoadMetadataProperties;
+import com.petlearning.load.metrics.LoadSampler;
+import com.petlearning.load.metrics.LoadSignals;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 負載 metadata 發布測試：只有明顯變化才更新 metadata
+ */
+class LoadMetadataPublisherTest {
+
+    private final ApplicationInfoManager applicationInfoManager = mock(ApplicationInfoManager.class);
+    private final LoadSampler sampler = mock(LoadSampler.class);
+    private LoadMetadataPublisher publisher;
+
+    @BeforeEach
+    void setUp() {
+        LoadMetadataProperties properties = new LoadMetadataProperties();
+        // 排程間隔拉長，測試直接呼叫 sampleAndPublish
+        properties.setPublishInterval(Duration.ofHours(1));
+        publisher = new LoadMetadataPublisher(applicationInfoManager, sampler, properties);
+        publisher.afterPropertiesSet();
+    }
+
+    @AfterEach
+    void tearDown() {
+        publisher.destroy();
+    }
+
+    @Test
+    void should_PublishIdleSignals_When_Started() {
+        // Then
+        verify(applicationInfoManager).registerAppMetadata(LoadSignals.IDLE.toMetadata());
+        assertThat(publisher.getLastPublished()).isEqualTo(LoadSignals.IDLE);
+    }
+
+    @Test
+    void should_SkipRegistration_When_SignalsBarelyChange() {
+        // Given
+        when(sampler.sample()).thenReturn(
+                new LoadSignals(0, 0.8, 0.02, 0),
+                new LoadSignals(1, 0.9, 0.05, 0.01),
+                new LoadSignals(0, 0.7, 0.03, 0));
+
+        // When
+        for (int i = 0; i < 3; i++) {
+            publisher.sampleAndPublish();
+        }
+
+        // Then：只有啟動時的一次
+        verify(applicationInfoManager, times(1)).registerAppMetadata(anyMap());
+        assertThat(publisher.getSamples()).isEqualTo(3);
+        assertThat(publisher.getPublications()).isEqualTo(1);
+    }
+
+    @Test
+    void should_Republish_When_LoadRisesThenFalls() {
+        // Given
+        LoadSignals busy = new LoadSignals(40, 250, 0.7, 0.6);
+        when(sampler.sample()).thenReturn(busy, new LoadSignals(42, 240, 0.72, 0.62), LoadSignals.IDLE);
+
+        // When
+        publisher.sampleAndPublish();
+        publisher.sampleAndPublish();
+        publisher.sampleAndPublish();
+
+        // Then
+        verify(applicationInfoManager).registerAppMetadata(busy.toMetadata());
+        verify(applicationInfoManager, times(2)).registerAppMetadata(LoadSignals.IDLE.toMetadata());
+        assertThat(publisher.getPublications()).isEqualTo(3);
+        assertThat(publisher.getLastPublished()).isEqualTo(LoadSignals.IDLE);
+    }
+}
@@ -0,0 +1,82 @@
+package com.petlearning.load.metrics;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * 負載取樣測試
+ *
+ * 以 RequestLoadFilter 包住會等待的請求，驗證取樣得到的峰值、延遲與 worker 飽和度
+ */
+class LoadSamplerTest {
+
+    @Test
+    void should_ReportPeakInflightAndLatency_When_RequestsOverlap() throws Exception {
+        // Given
+        RequestLoadFilter filter = new RequestLoadFilter();
+        LoadSampler sampler = new LoadSampler(filter, emptyDataSource(), 8);
+        CountDownLatch release = new CountDownLatch(1);
+        List<Thread> requests = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            Thread thread = new Thread(() -> request(filter, release));
+            thread.start();
+            requests.add(thread);
+        }
+        while (filter.currentInflight() < 4) {
+            Thread.sleep(5);
+        }
+        Thread.sleep(50);
+
+        // When
+        release.countDown();
+        for (Thread thread : requests) {
+            thread.join();
+        }
+        LoadSignals busy = sampler.sample();
+        LoadSignals recent = sampler.sample();
+        LoadSignals idle = sampler.sample();
+
+        // Then
+        assertThat(busy.inflight()).isEqualTo(4);
+        assertThat(busy.p99Millis()).isGreaterThanOrEqualTo(50);
+        assertThat(busy.poolSaturation()).isEqualTo(0.5);
+        assertThat(busy.cpu()).isBetween(0.0, 1.0);
+        // p99 視窗涵蓋最近兩個區間，再下一次取樣才回到 0
+        assertThat(recent.inflight()).isZero();
+        assertThat(recent.p99Millis()).isEqualTo(busy.p99Millis());
+        assertThat(idle.inflight()).isZero();
+        assertThat(idle.p99Millis()).isZero();
+        assertThat(filter.currentInflight()).isZero();
+    }
+
+    private static void request(RequestLoadFilter filter, CountDownLatch release) {
+        try {
+            filter.doFilter(new MockHttpServletRequest("GET", "/work"), new MockHttpServletResponse(),
+                    (request, response) -> {
+                        try {
+                            release.await(5, TimeUnit.SECONDS);
+                        } catch (InterruptedException ex) {
+                            Thread.currentThread().interrupt();
+                        }
+                    });
+        } catch (Exception ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ObjectProvider<DataSource> emptyDataSource() {
+        return mock(ObjectProvider.class);
+    }
+}
@@ -0,0 +1,46 @@
+package com.petlearning.load.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 負載訊號測試
+ */
+class LoadSignalsTest {
+
+    @Test
+    void should_FormatMetadata_When_Published() {
+        // Given
+        LoadSignals signals = new LoadSignals(12, 87.34, 0.456, 0.5);
+
+        // When / Then
+        assertThat(signals.toMetadata())
+                .containsEntry(LoadSignals.INFLIGHT, "12")
+                .containsEntry(LoadSignals.P99_MILLIS, "87.3")
+                .containsEntry(LoadSignals.CPU, "0.46")
+                .containsEntry(LoadSignals.POOL, "0.50");
+    }
+
+    @Test
+    void should_IgnoreJitter_When_ChangeBelowThresholds() {
+        // Given
+        LoadSignals previous = new LoadSignals(20, 100, 0.40, 0.30);
+
+        // When / Then
+        assertThat(new LoadSignals(22, 110, 0.45, 0.35).differsFrom(previous, 0.25, 0.1)).isFalse();
+        assertThat(new LoadSignals(1, 0.5, 0, 0).differsFrom(LoadSignals.IDLE, 0.25, 0.1)).isFalse();
+    }
+
+    @Test
+    void should_Republish_When_AnySignalChangesSignificantly() {
+        // Given
+        LoadSignals previous = new LoadSignals(20, 100, 0.40, 0.30);
+
+        // When / Then
+        assertThat(new LoadSignals(30, 100, 0.40, 0.30).differsFrom(previous, 0.25, 0.1)).isTrue();
+        assertThat(new LoadSignals(20, 60, 0.40, 0.30).differsFrom(previous, 0.25, 0.1)).isTrue();
+        assertThat(new LoadSignals(20, 100, 0.55, 0.30).differsFrom(previous, 0.25, 0.1)).isTrue();
+        assertThat(new LoadSignals(20, 100, 0.40, 0.90).differsFrom(previous, 0.25, 0.1)).isTrue();
+    }
+}
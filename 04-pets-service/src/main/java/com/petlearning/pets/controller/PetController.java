@@ -0,0 +1,84 @@
+package com.petlearning.pets.controller;
+
+import com.petlearning.pets.dto.PetPage;
+import com.petlearning.pets.dto.PetRequest;
+import com.petlearning.pets.dto.PetResponse;
+import com.petlearning.pets.dto.VisitRequest;
+import com.petlearning.pets.dto.VisitResponse;
+import com.petlearning.pets.dto.VisitWithPet;
+import com.petlearning.pets.service.PetService;
+import jakarta.validation.Valid;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * 寵物管理 API Controller
+ *
+ * 提供以下 REST API：
+ * - GET /api/pets?after={id}&size=20 - 分頁查詢寵物與最近一次就診
+ * - GET /api/pets/{id} - 查詢單一寵物與全部就診紀錄
+ * - GET /api/owners/{ownerId}/pets - 查詢飼主的寵物與就診紀錄
+ * - GET /api/visits/recent?limit=20 - 最近的就診紀錄
+ * - POST /api/pets - 新增寵物
+ * - PUT /api/pets/{id} - 更新寵物
+ * - POST /api/pets/{id}/visits - 新增就診紀錄
+ * - DELETE /api/pets/{id} - 刪除寵物
+ */
+@RestController
+@RequestMapping("/api")
+public class PetController {
+
+    private final PetService petService;
+
+    /**
+     * 建構子注入 Service
+     */
+    public PetController(PetService petService) {
+        this.petService = petService;
+    }
+
+    @GetMapping("/pets")
+    public PetPage getPets(@RequestParam(defaultValue = "0") long after,
+                           @RequestParam(defaultValue = "20") int size) {
+        return petService.findPage(after, size);
+    }
+
+    @GetMapping("/pets/{id}")
+    public PetResponse getPet(@PathVariable Long id) {
+        return petService.findById(id);
+    }
+
+    @GetMapping("/owners/{ownerId}/pets")
+    public List<PetResponse> getOwnerPets(@PathVariable Long ownerId) {
+        return petService.findByOwner(ownerId);
+    }
+
+    @GetMapping("/visits/recent")
+    public List<VisitWithPet> getRecentVisits(@RequestParam(defaultValue = "20") int limit) {
+        return petService.findRecentVisits(limit);
+    }
+
+    @PostMapping("/pets")
+    public ResponseEntity<PetResponse> createPet(@Valid @RequestBody PetRequest request) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(petService.create(request));
+    }
+
+    @PutMapping("/pets/{id}")
+    public PetResponse updatePet(@PathVariable Long id, @Valid @RequestBody PetRequest request) {
+        return petService.update(id, request);
+    }
+
+    @PostMapping("/pets/{id}/visits")
+    public ResponseEntity<VisitResponse> addVisit(@PathVariable Long id, @Valid @RequestBody VisitRequest request) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(petService.addVisit(id, request));
+    }
+
+    @DeleteMapping("/pets/{id}")
+    public ResponseEntity<Void> deletePet(@PathVariable Long id) {
+        petService.delete(id);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,11 @@
+package com.petlearning.pets.dto;
+
+import java.util.List;
+
+/**
+ * 以 ID 為游標的分頁結果
+ *
+ * nextCursor 為本頁最後一隻寵物的 ID，下一頁以 ?after={nextCursor} 取得；沒有下一頁時為 null。
+ */
+public record PetPage(List<PetSummary> content, Long nextCursor) {
+}
@@ -0,0 +1,17 @@
+package com.petlearning.pets.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.PastOrPresent;
+import jakarta.validation.constraints.Size;
+
+import java.time.LocalDate;
+
+/**
+ * 新增 / 更新寵物的請求內容
+ */
+public record PetRequest(
+        @NotBlank(message = "名字不可為空") @Size(max = 50, message = "名字不可超過 50 字元") String name,
+        @NotBlank(message = "種類不可為空") @Size(max = 50, message = "種類不可超過 50 字元") String type,
+        @PastOrPresent(message = "生日不可晚於今天") LocalDate birthDate,
+        Long ownerId) {
+}
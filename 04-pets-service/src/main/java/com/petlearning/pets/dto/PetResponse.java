@@ -0,0 +1,18 @@
+package com.petlearning.pets.dto;
+
+import com.petlearning.pets.entity.Pet;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * 寵物與全部就診紀錄（最新的在前）
+ */
+public record PetResponse(Long id, String name, String type, LocalDate birthDate, Long ownerId,
+                          List<VisitResponse> visits) {
+
+    public static PetResponse from(Pet pet) {
+        return new PetResponse(pet.getId(), pet.getName(), pet.getType(), pet.getBirthDate(), pet.getOwnerId(),
+                pet.getVisits().stream().map(VisitResponse::from).toList());
+    }
+}
@@ -0,0 +1,17 @@
+package com.petlearning.pets.dto;
+
+import com.petlearning.pets.entity.Pet;
+
+import java.time.LocalDate;
+
+/**
+ * 寵物與最近一次就診（沒有就診紀錄時為 null）
+ */
+public record PetSummary(Long id, String name, String type, LocalDate birthDate, Long ownerId,
+                         VisitResponse latestVisit) {
+
+    public static PetSummary from(Pet pet, VisitResponse latestVisit) {
+        return new PetSummary(pet.getId(), pet.getName(), pet.getType(), pet.getBirthDate(), pet.getOwnerId(),
+                latestVisit);
+    }
+}
@@ -0,0 +1,14 @@
+package com.petlearning.pets.dto;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.time.LocalDate;
+
+/**
+ * 新增就診紀錄的請求內容
+ */
+public record VisitRequest(
+        @NotNull(message = "就診日期不可為空") LocalDate visitDate,
+        @Size(max = 255, message = "說明不可超過 255 字元") String description) {
+}
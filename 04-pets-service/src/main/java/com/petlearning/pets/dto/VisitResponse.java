@@ -0,0 +1,15 @@
+package com.petlearning.pets.dto;
+
+import com.petlearning.pets.entity.Visit;
+
+import java.time.LocalDate;
+
+/**
+ * 就診紀錄
+ */
+public record VisitResponse(Long id, Long petId, LocalDate visitDate, String description) {
+
+    public static VisitResponse from(Visit visit) {
+        return new VisitResponse(visit.getId(), visit.getPet().getId(), visit.getVisitDate(), visit.getDescription());
+    }
+}
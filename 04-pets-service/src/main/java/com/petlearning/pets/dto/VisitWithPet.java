@@ -0,0 +1,17 @@
+package com.petlearning.pets.dto;
+
+import com.petlearning.pets.entity.Visit;
+
+import java.time.LocalDate;
+
+/**
+ * 就診紀錄與所屬寵物
+ */
+public record VisitWithPet(Long id, LocalDate visitDate, String description,
+                           Long petId, String petName, String petType) {
+
+    public static VisitWithPet from(Visit visit) {
+        return new VisitWithPet(visit.getId(), visit.getVisitDate(), visit.getDescription(),
+                visit.getPet().getId(), visit.getPet().getName(), visit.getPet().getType());
+    }
+}
@@ -0,0 +1,112 @@
+package com.petlearning.pets.entity;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.BatchSize;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 寵物實體
+ * 對應資料庫中的 pets 表
+ *
+ * 飼主在 Customers Service，這裡只存飼主 ID（跨服務不建立外鍵關聯）。
+ *
+ * 讀取方式：
+ * - 單一寵物含就診紀錄：具名 entity graph {@value #WITH_VISITS}，一條 join 查詢
+ * - 多隻寵物各自的就診紀錄：visits 集合以 @BatchSize 批次載入，
+ *   存取第一隻寵物的 visits 時一次載入最多 100 隻寵物的紀錄，避免 N+1
+ */
+@Entity
+@Table(name = "pets", indexes = @Index(name = "idx_pets_owner", columnList = "owner_id"))
+@NamedEntityGraph(name = Pet.WITH_VISITS, attributeNodes = @NamedAttributeNode("visits"))
+@BatchSize(size = 100)
+public class Pet {
+
+    public static final String WITH_VISITS = "Pet.visits";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 50)
+    private String name;
+
+    @Column(nullable = false, length = 50)
+    private String type;
+
+    @Column(name = "birth_date")
+    private LocalDate birthDate;
+
+    @Column(name = "owner_id")
+    private Long ownerId;
+
+    @OneToMany(mappedBy = "pet", cascade = CascadeType.ALL, orphanRemoval = true)
+    @OrderBy("visitDate DESC, id DESC")
+    @BatchSize(size = 100)
+    private List<Visit> visits = new ArrayList<>();
+
+    public Pet(String name, String type) {
+        if (name == null || type == null) {
+            throw new IllegalArgumentException("名字與種類不可為空");
+        }
+        this.name = name;
+        this.type = type;
+    }
+
+    /**
+     * Protected 無參建構子（JPA 需要）
+     */
+    protected Pet() {}
+
+    /**
+     * 新增就診紀錄，同時維護雙向關聯
+     */
+    public Visit addVisit(LocalDate visitDate, String description) {
+        Visit visit = new Visit(this, visitDate, description);
+        visits.add(visit);
+        return visit;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public LocalDate getBirthDate() {
+        return birthDate;
+    }
+
+    public void setBirthDate(LocalDate birthDate) {
+        this.birthDate = birthDate;
+    }
+
+    public Long getOwnerId() {
+        return ownerId;
+    }
+
+    public void setOwnerId(Long ownerId) {
+        this.ownerId = ownerId;
+    }
+
+    public List<Visit> getVisits() {
+        return visits;
+    }
+}
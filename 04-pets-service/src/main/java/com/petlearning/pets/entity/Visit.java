@@ -0,0 +1,65 @@
+package com.petlearning.pets.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDate;
+
+/**
+ * 就診紀錄實體
+ * 對應資料庫中的 visits 表
+ *
+ * (pet_id, visit_date) 索引支援「每隻寵物最近一次就診」查詢；
+ * visit_date 索引支援依日期列出最近的就診。
+ */
+@Entity
+@Table(name = "visits", indexes = {
+        @Index(name = "idx_visits_pet_date", columnList = "pet_id, visit_date"),
+        @Index(name = "idx_visits_date", columnList = "visit_date")
+})
+@NamedEntityGraph(name = Visit.WITH_PET, attributeNodes = @NamedAttributeNode("pet"))
+public class Visit {
+
+    public static final String WITH_PET = "Visit.pet";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "pet_id", nullable = false)
+    private Pet pet;
+
+    @Column(name = "visit_date", nullable = false)
+    private LocalDate visitDate;
+
+    @Column(length = 255)
+    private String description;
+
+    Visit(Pet pet, LocalDate visitDate, String description) {
+        this.pet = pet;
+        this.visitDate = visitDate;
+        this.description = description;
+    }
+
+    /**
+     * Protected 無參建構子（JPA 需要）
+     */
+    protected Visit() {}
+
+    // Getters
+    public Long getId() {
+        return id;
+    }
+
+    public Pet getPet() {
+        return pet;
+    }
+
+    public LocalDate getVisitDate() {
+        return visitDate;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+}
@@ -0,0 +1,33 @@
+package com.petlearning.pets.repository;
+
+import com.petlearning.pets.entity.Pet;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 寵物資料存取介面
+ */
+@Repository
+public interface PetRepository extends JpaRepository<Pet, Long> {
+
+    /**
+     * 查詢寵物並一併載入就診紀錄（一條 left join 查詢）
+     */
+    @EntityGraph(Pet.WITH_VISITS)
+    Optional<Pet> findWithVisitsById(Long id);
+
+    /**
+     * 以 ID 為游標取下一頁：走主鍵索引，深頁與第一頁一樣快（OFFSET 需要先掃過前面所有列）
+     */
+    List<Pet> findByIdGreaterThanOrderByIdAsc(Long afterId, Limit limit);
+
+    /**
+     * 依飼主查詢寵物；之後存取 visits 會以 @BatchSize 批次載入
+     */
+    List<Pet> findByOwnerIdOrderByIdAsc(Long ownerId);
+}
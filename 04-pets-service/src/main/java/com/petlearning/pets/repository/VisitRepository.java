@@ -0,0 +1,44 @@
+package com.petlearning.pets.repository;
+
+import com.petlearning.pets.dto.VisitResponse;
+import com.petlearning.pets.entity.Visit;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 就診紀錄資料存取介面
+ */
+@Repository
+public interface VisitRepository extends JpaRepository<Visit, Long> {
+
+    /**
+     * 一次查出多隻寵物各自最近一次就診（同一天多筆時取 ID 最大者）
+     *
+     * 條件為「不存在更新的紀錄」，每隻寵物只留一筆；
+     * 子查詢走 (pet_id, visit_date) 索引，v.pet.id 直接取外鍵欄位，不 join pets。
+     */
+    @Query("""
+            select new com.petlearning.pets.dto.VisitResponse(v.id, v.pet.id, v.visitDate, v.description)
+            from Visit v
+            where v.pet.id in :petIds
+              and not exists (
+                  select 1 from Visit newer
+                  where newer.pet.id = v.pet.id
+                    and (newer.visitDate > v.visitDate
+                         or (newer.visitDate = v.visitDate and newer.id > v.id)))
+            """)
+    List<VisitResponse> findLatestByPetIds(@Param("petIds") Collection<Long> petIds);
+
+    /**
+     * 最近的就診紀錄，所屬寵物以 entity graph 一起載入
+     */
+    @EntityGraph(Visit.WITH_PET)
+    List<Visit> findByOrderByVisitDateDescIdDesc(Limit limit);
+}
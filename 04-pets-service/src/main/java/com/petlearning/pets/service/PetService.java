@@ -0,0 +1,155 @@
+package com.petlearning.pets.service;
+
+import com.petlearning.pets.dto.PetPage;
+import com.petlearning.pets.dto.PetRequest;
+import com.petlearning.pets.dto.PetResponse;
+import com.petlearning.pets.dto.PetSummary;
+import com.petlearning.pets.dto.VisitRequest;
+import com.petlearning.pets.dto.VisitResponse;
+import com.petlearning.pets.dto.VisitWithPet;
+import com.petlearning.pets.entity.Pet;
+import com.petlearning.pets.entity.Visit;
+import com.petlearning.pets.exception.ResourceNotFoundException;
+import com.petlearning.pets.repository.PetRepository;
+import com.petlearning.pets.repository.VisitRepository;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 寵物業務邏輯服務層
+ *
+ * 每個讀取方法的 SQL 數固定，不隨資料量增加：
+ * - findById：1（entity graph join visits）
+ * - findPage：2（一頁寵物 + 這些寵物的最近一次就診）
+ * - findByOwner：1 + ⌈寵物數 / 100⌉（visits 批次載入）
+ * - findRecentVisits：1（entity graph join pet）
+ * 實體在交易內轉成 DTO，回應序列化時不會再觸發延遲載入。
+ */
+@Service
+@Transactional(readOnly = true)
+public class PetService {
+
+    /** 分頁大小上限 */
+    static final int MAX_PAGE_SIZE = 100;
+
+    private final PetRepository petRepository;
+    private final VisitRepository visitRepository;
+
+    /**
+     * 建構子注入 Repository
+     */
+    public PetService(PetRepository petRepository, VisitRepository visitRepository) {
+        this.petRepository = petRepository;
+        this.visitRepository = visitRepository;
+    }
+
+    /**
+     * 依 ID 查詢寵物與全部就診紀錄
+     */
+    public PetResponse findById(Long id) {
+        return petRepository.findWithVisitsById(id)
+                .map(PetResponse::from)
+                .orElseThrow(() -> notFound(id));
+    }
+
+    /**
+     * 以 ID 為游標分頁查詢寵物與最近一次就診
+     *
+     * @param afterId 上一頁最後一隻寵物的 ID，第一頁傳 0
+     * @param size    每頁筆數（1 ~ {@value #MAX_PAGE_SIZE}）
+     */
+    public PetPage findPage(long afterId, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        // 多取一筆判斷是否還有下一頁
+        List<Pet> pets = petRepository.findByIdGreaterThanOrderByIdAsc(afterId, Limit.of(pageSize + 1));
+        boolean hasNext = pets.size() > pageSize;
+        if (hasNext) {
+            pets = pets.subList(0, pageSize);
+        }
+        if (pets.isEmpty()) {
+            return new PetPage(List.of(), null);
+        }
+        Map<Long, VisitResponse> latest = visitRepository.findLatestByPetIds(pets.stream().map(Pet::getId).toList())
+                .stream()
+                .collect(Collectors.toMap(VisitResponse::petId, Function.identity()));
+        List<PetSummary> content = pets.stream()
+                .map(pet -> PetSummary.from(pet, latest.get(pet.getId())))
+                .toList();
+        return new PetPage(content, hasNext ? pets.get(pets.size() - 1).getId() : null);
+    }
+
+    /**
+     * 查詢飼主的所有寵物與就診紀錄
+     */
+    public List<PetResponse> findByOwner(Long ownerId) {
+        return petRepository.findByOwnerIdOrderByIdAsc(ownerId).stream()
+                .map(PetResponse::from)
+                .toList();
+    }
+
+    /**
+     * 最近的就診紀錄
+     */
+    public List<VisitWithPet> findRecentVisits(int limit) {
+        return visitRepository.findByOrderByVisitDateDescIdDesc(Limit.of(Math.max(1, Math.min(limit, MAX_PAGE_SIZE))))
+                .stream()
+                .map(VisitWithPet::from)
+                .toList();
+    }
+
+    /**
+     * 建立新寵物
+     */
+    @Transactional
+    public PetResponse create(PetRequest request) {
+        Pet pet = new Pet(request.name(), request.type());
+        apply(pet, request);
+        return PetResponse.from(petRepository.save(pet));
+    }
+
+    /**
+     * 更新寵物資訊
+     */
+    @Transactional
+    public PetResponse update(Long id, PetRequest request) {
+        Pet pet = petRepository.findWithVisitsById(id).orElseThrow(() -> notFound(id));
+        apply(pet, request);
+        return PetResponse.from(pet);
+    }
+
+    /**
+     * 新增就診紀錄
+     */
+    @Transactional
+    public VisitResponse addVisit(Long petId, VisitRequest request) {
+        Pet pet = petRepository.findById(petId).orElseThrow(() -> notFound(petId));
+        Visit visit = visitRepository.save(pet.addVisit(request.visitDate(), request.description()));
+        return VisitResponse.from(visit);
+    }
+
+    /**
+     * 刪除寵物（就診紀錄一併刪除）
+     */
+    @Transactional
+    public void delete(Long id) {
+        Pet pet = petRepository.findWithVisitsById(id).orElseThrow(() -> notFound(id));
+        petRepository.delete(pet);
+    }
+
+    private static void apply(Pet pet, PetRequest request) {
+        pet.setName(request.name());
+        pet.setType(request.type());
+        pet.setBirthDate(request.birthDate());
+        pet.setOwnerId(request.ownerId());
+    }
+
+    private static ResourceNotFoundException notFound(Long id) {
+        return new ResourceNotFoundException("找不到 ID 為 " + id + " 的寵物");
+    }
+}
@@ -0,0 +1,139 @@
+package com.petlearning.pets.controller;
+
+import com.petlearning.pets.entity.Pet;
+import com.petlearning.pets.repository.PetRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.petlearning.querymetrics.test.QueryCountMatchers.inserts;
+import static com.petlearning.querymetrics.test.QueryCountMatchers.selects;
+import static com.petlearning.querymetrics.test.QueryCountMatchers.statements;
+import static org.hamcrest.Matchers.nullValue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 寵物 API 的 SQL 數量測試：讀取的 SQL 數不隨寵物數、就診數增加
+ */
+@SpringBootTest(properties = "eureka.client.enabled=false")
+@AutoConfigureMockMvc
+class PetControllerQueryCountTest {
+
+    private static final long OWNER_ID = 7L;
+    private static final LocalDate DAY = LocalDate.of(2024, 3, 1);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private PetRepository petRepository;
+
+    private final List<Pet> pets = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        petRepository.deleteAll();
+        pets.clear();
+        // 飼主 7 有 4 隻寵物，每隻 3 次就診；最後一隻沒有飼主也沒有就診
+        for (int i = 0; i < 4; i++) {
+            Pet pet = new Pet("寵物" + i, i % 2 == 0 ? "狗" : "貓");
+            pet.setOwnerId(OWNER_ID);
+            pet.addVisit(DAY, "健康檢查");
+            pet.addVisit(DAY.plusDays(10 + i), "疫苗");
+            pet.addVisit(DAY.minusDays(30), "結紮");
+            pets.add(petRepository.save(pet));
+        }
+        pets.add(petRepository.save(new Pet("浪浪", "貓")));
+    }
+
+    @Test
+    void should_LoadPetAndVisitsInOneStatement_When_GettingPetById() throws Exception {
+        // When & Then：entity graph 一條 join 查詢
+        mockMvc.perform(get("/api/pets/{id}", pets.get(1).getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.visits.length()").value(3))
+                .andExpect(jsonPath("$.visits[0].description").value("疫苗"))
+                .andExpect(statements(1));
+    }
+
+    @Test
+    void should_UseTwoStatements_When_PagingPetsWithLatestVisit() throws Exception {
+        // When & Then：一頁寵物 + 最近一次就診
+        mockMvc.perform(get("/api/pets").param("size", "3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(3))
+                .andExpect(jsonPath("$.content[0].latestVisit.visitDate").value("2024-03-11"))
+                .andExpect(jsonPath("$.content[2].latestVisit.visitDate").value("2024-03-13"))
+                .andExpect(jsonPath("$.nextCursor").value(pets.get(2).getId()))
+                .andExpect(statements(2))
+                .andExpect(selects(2));
+
+        mockMvc.perform(get("/api/pets").param("after", pets.get(2).getId().toString()).param("size", "3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(2))
+                .andExpect(jsonPath("$.content[1].name").value("浪浪"))
+                .andExpect(jsonPath("$.content[1].latestVisit").value(nullValue()))
+                .andExpect(jsonPath("$.nextCursor").value(nullValue()))
+                .andExpect(statements(2));
+    }
+
+    @Test
+    void should_PickHighestId_When_LatestVisitsShareTheSameDate() throws Exception {
+        // Given：同一天兩次就診
+        mockMvc.perform(post("/api/pets/{id}/visits", pets.get(4).getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"visitDate\": \"2024-05-01\", \"description\": \"早上\"}"))
+                .andExpect(status().isCreated())
+                .andExpect(statements(2))
+                .andExpect(inserts(1));
+        mockMvc.perform(post("/api/pets/{id}/visits", pets.get(4).getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"visitDate\": \"2024-05-01\", \"description\": \"晚上\"}"))
+                .andExpect(status().isCreated());
+
+        // When & Then
+        mockMvc.perform(get("/api/pets").param("after", pets.get(3).getId().toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].latestVisit.description").value("晚上"))
+                .andExpect(statements(2));
+    }
+
+    @Test
+    void should_BatchLoadVisits_When_GettingOwnerPets() throws Exception {
+        // When & Then：寵物一條 + 4 隻寵物的就診一條（@BatchSize），不是 1 + 4
+        mockMvc.perform(get("/api/owners/{ownerId}/pets", OWNER_ID))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(4))
+                .andExpect(jsonPath("$[3].visits.length()").value(3))
+                .andExpect(statements(2));
+    }
+
+    @Test
+    void should_LoadVisitsWithPetsInOneStatement_When_ListingRecentVisits() throws Exception {
+        // When & Then：entity graph 一起載入所屬寵物
+        mockMvc.perform(get("/api/visits/recent").param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(5))
+                .andExpect(jsonPath("$[0].petName").value("寵物3"))
+                .andExpect(statements(1));
+    }
+
+    @Test
+    void should_Return404_When_PetNotFound() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/api/pets/{id}", 999_999))
+                .andExpect(status().isNotFound())
+                .andExpect(statements(1));
+    }
+}
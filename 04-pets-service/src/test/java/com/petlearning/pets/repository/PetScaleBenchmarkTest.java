@@ -0,0 +1,156 @@
+package com.petlearning.pets.repository;
+
+import com.petlearning.querymetrics.hibernate.QueryCount;
+import com.petlearning.querymetrics.web.QueryCountFilter;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+
+import static com.petlearning.querymetrics.test.QueryCountMatchers.statements;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 一百萬隻寵物、三百萬筆就診下的 SQL 數與延遲
+ *
+ * 執行：mvn test -pl 04-pets-service -Dbenchmark=true -Dtest=PetScaleBenchmarkTest
+ *
+ * 資料放在 target/ 下的 H2 檔案資料庫（不佔 JVM heap），以 SYSTEM_RANGE 一次批次產生；
+ * 資料表以 ddl-auto=update 保留，第二次執行起不再重新產生（mvn clean 後才會重建）。
+ * 每個端點都經過 MockMvc（含 JSON 序列化），斷言：
+ * - SQL 數與小資料量時相同
+ * - 請求 p50 與 JDBC 耗時 p99 低於上限（整體 p99 受 GC / JIT 影響大，只列出不斷言）
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@SpringBootTest(properties = {
+        "eureka.client.enabled=false",
+        "spring.datasource.url=jdbc:h2:file:./target/pets-scale/pets;DB_CLOSE_ON_EXIT=FALSE;CACHE_SIZE=262144;MAX_COMPACT_TIME=0",
+        "spring.jpa.hibernate.ddl-auto=update",
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.SQL=off"
+})
+@AutoConfigureMockMvc
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class PetScaleBenchmarkTest {
+
+    private static final int PETS = 1_000_000;
+    private static final int VISITS = 3_000_000;
+    /** 每位飼主 5 隻寵物 */
+    private static final int OWNERS = PETS / 5;
+    private static final int WARMUP = 500;
+    private static final int ITERATIONS = 1_000;
+    /** 單核心 CI 機器也應達到的上限 */
+    private static final double P50_LIMIT_MS = 50;
+    private static final double JDBC_P99_LIMIT_MS = 25;
+
+    static {
+        // surefire 以 -ea 執行；H2 MVStore 內部的 assert 在大量資料下很耗時，且有已知的記憶體計數誤判
+        PetScaleBenchmarkTest.class.getClassLoader().setPackageAssertionStatus("org.h2", false);
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    void seed() {
+        if (jdbcTemplate.queryForObject("select count(*) from pets", Long.class) == PETS) {
+            return;
+        }
+        jdbcTemplate.execute("set referential_integrity false");
+        jdbcTemplate.execute("truncate table visits restart identity");
+        jdbcTemplate.execute("truncate table pets restart identity");
+        jdbcTemplate.execute("set referential_integrity true");
+        long start = System.nanoTime();
+        jdbcTemplate.execute("""
+                insert into pets (name, type, birth_date, owner_id)
+                select 'pet-' || x,
+                       case mod(x, 3) when 0 then '狗' when 1 then '貓' else '兔' end,
+                       dateadd('DAY', -mod(x, 5000), date '2024-01-01'),
+                       mod(x, %d) + 1
+                from system_range(1, %d)
+                """.formatted(OWNERS, PETS));
+        jdbcTemplate.execute("""
+                insert into visits (pet_id, visit_date, description)
+                select mod(x, %d) + 1,
+                       dateadd('DAY', mod(x * 7919, 1500), date '2020-01-01'),
+                       'visit-' || x
+                from system_range(1, %d)
+                """.formatted(PETS, VISITS));
+        System.out.printf("%nSeeded %,d pets and %,d visits in %d s%n", PETS, VISITS,
+                TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - start));
+        assertThat(jdbcTemplate.queryForObject("select count(*) from pets", Long.class)).isEqualTo(PETS);
+    }
+
+    @Test
+    void should_KeepStatementCountAndLatency_When_ReadingAMillionPets() throws Exception {
+        System.out.printf("%n%-30s %10s %9s %9s %14s %14s%n",
+                "endpoint", "statements", "p50(ms)", "p99(ms)", "jdbc p50(ms)", "jdbc p99(ms)");
+        measure("GET /api/pets", 2,
+                i -> get("/api/pets").param("size", "20"),
+                jsonPath("$.content.length()").value(20));
+        measure("GET /api/pets?after=900000", 2,
+                i -> get("/api/pets").param("after", Integer.toString(900_000 + i)).param("size", "20"),
+                jsonPath("$.content.length()").value(20));
+        measure("GET /api/pets/{id}", 1,
+                i -> get("/api/pets/{id}", ThreadLocalRandom.current().nextInt(1, PETS + 1)),
+                jsonPath("$.visits.length()").value(3));
+        measure("GET /api/owners/{id}/pets", 2,
+                i -> get("/api/owners/{ownerId}/pets", ThreadLocalRandom.current().nextInt(1, OWNERS + 1)),
+                jsonPath("$.length()").value(5));
+        measure("GET /api/visits/recent", 1,
+                i -> get("/api/visits/recent").param("limit", "20"),
+                jsonPath("$.length()").value(20));
+    }
+
+    private void measure(String name, int expectedStatements, IntFunction<RequestBuilder> request,
+                         ResultMatcher content) throws Exception {
+        for (int i = 0; i < WARMUP; i++) {
+            mockMvc.perform(request.apply(i)).andExpect(status().isOk());
+        }
+        long[] nanos = new long[ITERATIONS];
+        long[] jdbcNanos = new long[ITERATIONS];
+        for (int i = 0; i < ITERATIONS; i++) {
+            RequestBuilder builder = request.apply(i);
+            long start = System.nanoTime();
+            MvcResult result = mockMvc.perform(builder)
+                    .andExpect(status().isOk())
+                    .andExpect(statements(expectedStatements))
+                    .andExpect(content)
+                    .andReturn();
+            nanos[i] = System.nanoTime() - start;
+            jdbcNanos[i] = ((QueryCount) result.getRequest().getAttribute(QueryCountFilter.ATTRIBUTE))
+                    .getJdbcTime().toNanos();
+        }
+        Arrays.sort(nanos);
+        Arrays.sort(jdbcNanos);
+        double p50 = percentile(nanos, 50);
+        double jdbcP99 = percentile(jdbcNanos, 99);
+        System.out.printf("%-30s %10d %9.2f %9.2f %14.2f %14.2f%n", name, expectedStatements,
+                p50, percentile(nanos, 99), percentile(jdbcNanos, 50), jdbcP99);
+        assertThat(p50).as("p50 of %s", name).isLessThan(P50_LIMIT_MS);
+        assertThat(jdbcP99).as("JDBC p99 of %s", name).isLessThan(JDBC_P99_LIMIT_MS);
+    }
+
+    private static double percentile(long[] sortedNanos, int percentile) {
+        return sortedNanos[sortedNanos.length * percentile / 100] / 1_000_000.0;
+    }
+}
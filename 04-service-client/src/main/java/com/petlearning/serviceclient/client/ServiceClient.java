@@ -0,0 +1,281 @@
+package com.petlearning.serviceclient.client;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.petlearning.serviceclient.config.ServiceClientProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.DefaultConnectionKeepAliveStrategy;
+import org.apache.hc.client5.http.impl.DefaultHttpRequestRetryStrategy;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpResponse;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.client5.http.classic.methods.HttpGet;
+import org.apache.hc.client5.http.protocol.HttpClientContext;
+import org.apache.hc.core5.http.EndpointDetails;
+import org.apache.hc.core5.http.HttpEntity;
+import org.apache.hc.core5.http.HttpHeaders;
+import org.apache.hc.core5.http.HttpHost;
+import org.apache.hc.core5.http.io.entity.EntityUtils;
+import org.apache.hc.core5.io.CloseMode;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerClient;
+import org.springframework.http.MediaType;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 服務間呼叫共用的 HTTP 客戶端
+ *
+ * <pre>
+ * List&lt;OwnerPet&gt; pets = serviceClient.get("pets-service", "/api/owners/{ownerId}/pets",
+ *         new TypeReference&lt;&gt;() { }, ownerId);
+ * </pre>
+ *
+ * - 連線池：所有目標共用一個 keep-alive 連線池，同一目標的呼叫重用既有連線，省去 TCP 握手
+ * - 閒置感知：閒置超過 idle-timeout 的連線不再重用，背景執行緒定期關閉；
+ *   閒置超過 validate-after-inactivity 的連線重用前先檢查是否已被對方關閉
+ * - 串流解碼：Jackson 直接從 socket 的 InputStream 解碼成 DTO，不先把整個 body 讀成 String
+ * - 每個目標各自的連線 / 回應逾時
+ * - base-url 為 lb://服務名稱 時，每次呼叫由 {@link LoadBalancerClient} 從服務註冊選擇實例
+ *   （沿用該服務設定的負載平衡策略），連線池仍以實例的 host:port 區分
+ *
+ * 指標：
+ * - service.client.requests：每次呼叫的耗時（含解碼），tag：target、method、status
+ * - service.client.connections：每次呼叫使用的連線，tag：target、reused（true = 重用、false = 新建）
+ * - httpcomponents.httpclient.pool.*：連線池的可用 / 使用中 / 等待數
+ */
+public class ServiceClient implements Closeable {
+
+    public static final String REQUESTS_METRIC = "service.client.requests";
+    public static final String CONNECTIONS_METRIC = "service.client.connections";
+
+    /** 連線建立前就失敗（逾時、拒絕連線、池滿）時的 status tag */
+    static final String IO_ERROR = "IO_ERROR";
+
+    private final PoolingHttpClientConnectionManager connectionManager;
+    private final CloseableHttpClient httpClient;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final LoadBalancerClient loadBalancer;
+    private final Map<String, Target> targets = new HashMap<>();
+    /** lb:// 目標的實例在第一次被選到時才加入 */
+    private final Map<HttpHost, ConnectionConfig> connectionConfigs = new ConcurrentHashMap<>();
+
+    public ServiceClient(ServiceClientProperties properties, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this(properties, objectMapper, meterRegistry, null);
+    }
+
+    /**
+     * @param loadBalancer 解析 lb:// 目標；沒有 lb:// 目標時可為 null
+     */
+    public ServiceClient(ServiceClientProperties properties, ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                         LoadBalancerClient loadBalancer) {
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.loadBalancer = loadBalancer;
+
+        properties.getTargets().forEach((name, target) -> {
+            Target resolved = resolve(name, target, properties);
+            targets.put(name, resolved);
+            if (resolved.host() != null) {
+                connectionConfigs.put(resolved.host(), resolved.connectionConfig());
+            }
+        });
+        ConnectionConfig defaultConnectionConfig = connectionConfig(properties, properties.getConnectTimeout());
+
+        this.connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(properties.getMaxConnections())
+                .setMaxConnPerRoute(properties.getMaxConnectionsPerTarget())
+                .setConnectionConfigResolver(route ->
+                        connectionConfigs.getOrDefault(route.getTargetHost(), defaultConnectionConfig))
+                .build();
+
+        TimeValue idleTimeout = TimeValue.of(properties.getIdleTimeout());
+        this.httpClient = HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                // 對方回應 Keep-Alive: timeout=N 時以較短者為準，避免重用對方即將關閉的連線
+                .setKeepAliveStrategy((response, context) -> {
+                    TimeValue keepAlive = DefaultConnectionKeepAliveStrategy.INSTANCE
+                            .getKeepAliveDuration(response, context);
+                    return keepAlive.compareTo(idleTimeout) < 0 ? keepAlive : idleTimeout;
+                })
+                .evictIdleConnections(idleTimeout)
+                .evictExpiredConnections()
+                // 只重試一次「連線被對方關閉、請求尚未送達」的冪等請求，且不等待（預設等 1 秒）；
+                // 其餘重試交給呼叫端的容錯策略
+                .setRetryStrategy(new DefaultHttpRequestRetryStrategy(1, TimeValue.ZERO_MILLISECONDS))
+                .disableCookieManagement()
+                .disableRedirectHandling()
+                .build();
+
+        new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, "service-client").bindTo(meterRegistry);
+    }
+
+    /**
+     * GET 並把 JSON 回應解碼成指定型別
+     *
+     * @param target 目標名稱（service-client.targets 的 key）
+     * @param path 路徑樣板，例如 /api/pets/{id}
+     * @throws ServiceResponseException 回應狀態不是 2xx
+     * @throws ServiceClientException 連線、逾時或解碼失敗
+     */
+    public <T> T get(String target, String path, Class<T> type, Object... uriVariables) {
+        return get(target, path, objectMapper.constructType(type), uriVariables);
+    }
+
+    /**
+     * GET 並把 JSON 回應解碼成泛型型別，例如 {@code new TypeReference<List<OwnerPet>>() { }}
+     */
+    public <T> T get(String target, String path, TypeReference<T> type, Object... uriVariables) {
+        return get(target, path, objectMapper.constructType(type), uriVariables);
+    }
+
+    private <T> T get(String targetName, String path, JavaType type, Object... uriVariables) {
+        Target target = targets.get(targetName);
+        if (target == null) {
+            throw new IllegalArgumentException("Unknown service-client target: " + targetName);
+        }
+        URI uri = target.uriFactory().expand(path, uriVariables);
+        if (target.serviceId() != null) {
+            uri = choose(targetName, target, uri);
+        }
+        HttpGet request = new HttpGet(uri);
+        request.setConfig(target.requestConfig());
+        request.setHeader(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON_VALUE);
+
+        HttpClientContext context = HttpClientContext.create();
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String status = IO_ERROR;
+        try (CloseableHttpResponse response = httpClient.execute(request, context)) {
+            status = Integer.toString(response.getCode());
+            HttpEntity entity = response.getEntity();
+            if (response.getCode() >= 300) {
+                // 讀完剩餘的 body，連線才能放回連線池
+                EntityUtils.consume(entity);
+                throw new ServiceResponseException(targetName, response.getCode(),
+                        "GET " + uri + " returned " + response.getCode());
+            }
+            T body = entity == null ? null : objectMapper.readValue(entity.getContent(), type);
+            EntityUtils.consume(entity);
+            return body;
+        } catch (IOException ex) {
+            // 解碼失敗時連線上可能還有未讀的資料，關閉 response 會捨棄該連線
+            throw new ServiceClientException(targetName, "GET " + uri + " failed: " + ex.getMessage(), ex);
+        } finally {
+            sample.stop(Timer.builder(REQUESTS_METRIC)
+                    .tags("target", targetName, "method", "GET", "status", status)
+                    .register(meterRegistry));
+            recordConnection(target, context);
+        }
+    }
+
+    /**
+     * 把 http://服務名稱/路徑 換成選到的實例位址
+     */
+    private URI choose(String targetName, Target target, URI uri) {
+        ServiceInstance instance = loadBalancer.choose(target.serviceId());
+        if (instance == null) {
+            throw new ServiceClientException(targetName, "No available instance of " + target.serviceId(), null);
+        }
+        URI resolved = loadBalancer.reconstructURI(instance, uri);
+        connectionConfigs.putIfAbsent(httpHost(resolved), target.connectionConfig());
+        return resolved;
+    }
+
+    /**
+     * 連線的請求數大於 1 表示這次呼叫重用了連線池中的連線
+     */
+    private void recordConnection(Target target, HttpClientContext context) {
+        EndpointDetails endpoint = context.getEndpointDetails();
+        if (endpoint == null) {
+            return;
+        }
+        (endpoint.getRequestCount() > 1 ? target.reusedConnections() : target.newConnections()).increment();
+    }
+
+    @Override
+    public void close() {
+        httpClient.close(CloseMode.GRACEFUL);
+    }
+
+    private Target resolve(String name, ServiceClientProperties.Target target, ServiceClientProperties properties) {
+        if (target.getBaseUrl() == null) {
+            throw new IllegalStateException("service-client.targets." + name + ".base-url is required");
+        }
+        URI baseUrl = URI.create(target.getBaseUrl());
+        String serviceId = null;
+        HttpHost host = null;
+        String uriTemplateBase = target.getBaseUrl();
+        if ("lb".equals(baseUrl.getScheme())) {
+            if (loadBalancer == null) {
+                throw new IllegalStateException("service-client.targets." + name
+                        + " uses lb:// but no LoadBalancerClient is available (add spring-cloud-starter-loadbalancer)");
+            }
+            serviceId = baseUrl.getHost();
+            // reconstructURI 沿用原本的 scheme（實例為 secure 時改成 https），與 @LoadBalanced 的 http://服務名稱 相同
+            uriTemplateBase = "http" + target.getBaseUrl().substring("lb".length());
+        } else {
+            host = httpHost(baseUrl);
+        }
+        RequestConfig requestConfig = RequestConfig.custom()
+                .setConnectionRequestTimeout(Timeout.of(properties.getConnectionRequestTimeout()))
+                .setResponseTimeout(Timeout.of(orDefault(target.getResponseTimeout(), properties.getResponseTimeout())))
+                .build();
+        ConnectionConfig connectionConfig = connectionConfig(properties,
+                orDefault(target.getConnectTimeout(), properties.getConnectTimeout()));
+        return new Target(serviceId, host, new DefaultUriBuilderFactory(uriTemplateBase), requestConfig,
+                connectionConfig, connectionCounter(name, true), connectionCounter(name, false));
+    }
+
+    /**
+     * 連線池以含埠號的 HttpHost 區分路由，省略埠號時補上預設值才對得上
+     */
+    private static HttpHost httpHost(URI uri) {
+        int port = uri.getPort() != -1 ? uri.getPort() : "https".equals(uri.getScheme()) ? 443 : 80;
+        return new HttpHost(uri.getScheme(), uri.getHost(), port);
+    }
+
+    private Counter connectionCounter(String target, boolean reused) {
+        return Counter.builder(CONNECTIONS_METRIC)
+                .tags("target", target, "reused", Boolean.toString(reused))
+                .register(meterRegistry);
+    }
+
+    private static ConnectionConfig connectionConfig(ServiceClientProperties properties, Duration connectTimeout) {
+        return ConnectionConfig.custom()
+                .setConnectTimeout(Timeout.of(connectTimeout))
+                .setValidateAfterInactivity(TimeValue.of(properties.getValidateAfterInactivity()))
+                .setTimeToLive(TimeValue.of(properties.getConnectionTimeToLive()))
+                .build();
+    }
+
+    private static Duration orDefault(Duration value, Duration defaultValue) {
+        return value != null ? value : defaultValue;
+    }
+
+    /**
+     * @param serviceId lb:// 目標的服務名稱，固定位址的目標為 null
+     * @param host 固定位址的目標，lb:// 目標為 null
+     */
+    private record Target(String serviceId, HttpHost host, DefaultUriBuilderFactory uriFactory,
+                          RequestConfig requestConfig, ConnectionConfig connectionConfig,
+                          Counter reusedConnections, Counter newConnections) {
+    }
+}
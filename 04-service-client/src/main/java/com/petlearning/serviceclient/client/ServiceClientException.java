@@ -0,0 +1,18 @@
+package com.petlearning.serviceclient.client;
+
+/**
+ * 服務間呼叫失敗：連線失敗、逾時、連線池滿或回應無法解碼
+ */
+public class ServiceClientException extends RuntimeException {
+
+    private final String target;
+
+    public ServiceClientException(String target, String message, Throwable cause) {
+        super(message, cause);
+        this.target = target;
+    }
+
+    public String getTarget() {
+        return target;
+    }
+}
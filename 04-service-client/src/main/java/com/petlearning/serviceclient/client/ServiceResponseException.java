@@ -0,0 +1,18 @@
+package com.petlearning.serviceclient.client;
+
+/**
+ * 對方服務回應了非 2xx 的狀態碼
+ */
+public class ServiceResponseException extends ServiceClientException {
+
+    private final int statusCode;
+
+    public ServiceResponseException(String target, int statusCode, String message) {
+        super(target, message, null);
+        this.statusCode = statusCode;
+    }
+
+    public int getStatusCode() {
+        return statusCode;
+    }
+}
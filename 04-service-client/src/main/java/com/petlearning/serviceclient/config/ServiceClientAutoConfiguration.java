@@ -0,0 +1,35 @@
+package com.petlearning.serviceclient.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.petlearning.serviceclient.client.ServiceClient;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerClient;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * 服務間 HTTP 客戶端自動配置
+ *
+ * 服務加入 04-service-client 依賴並在 service-client.targets 設定呼叫目標即可注入 {@link ServiceClient}；
+ * 使用 Spring Boot 配置的 ObjectMapper 解碼，指標寫入 Actuator 的 MeterRegistry；
+ * 有 LoadBalancerClient（spring-cloud-starter-loadbalancer）時即可使用 lb:// 目標。
+ */
+@AutoConfiguration(after = JacksonAutoConfiguration.class)
+@EnableConfigurationProperties(ServiceClientProperties.class)
+public class ServiceClientAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public ServiceClient serviceClient(ServiceClientProperties properties,
+                                       ObjectProvider<ObjectMapper> objectMapper,
+                                       ObjectProvider<MeterRegistry> meterRegistry,
+                                       ObjectProvider<LoadBalancerClient> loadBalancer) {
+        return new ServiceClient(properties, objectMapper.getIfAvailable(ObjectMapper::new),
+                meterRegistry.getIfAvailable(() -> Metrics.globalRegistry), loadBalancer.getIfAvailable());
+    }
+}
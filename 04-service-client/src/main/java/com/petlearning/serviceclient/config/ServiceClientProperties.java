@@ -0,0 +1,160 @@
+package com.petlearning.serviceclient.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 服務間 HTTP 客戶端設定
+ *
+ * 範例：
+ * <pre>
+ * service-client:
+ *   idle-timeout: 15s
+ *   targets:
+ *     pets-service:
+ *       base-url: lb://pets-service
+ *       response-timeout: 2s
+ * </pre>
+ */
+@ConfigurationProperties(prefix = "service-client")
+public class ServiceClientProperties {
+
+    /** 連線池的連線總數上限 */
+    private int maxConnections = 200;
+
+    /** 每個目標（host:port）的連線數上限 */
+    private int maxConnectionsPerTarget = 50;
+
+    /** 閒置超過此時間的連線不再重用並由背景執行緒關閉；應小於對方伺服器的 keep-alive timeout */
+    private Duration idleTimeout = Duration.ofSeconds(15);
+
+    /** 閒置超過此時間的連線在重用前先檢查是否已被對方關閉 */
+    private Duration validateAfterInactivity = Duration.ofSeconds(2);
+
+    /** 連線的最長存活時間，到期後重新建立，讓 DNS 與實例變更生效 */
+    private Duration connectionTimeToLive = Duration.ofMinutes(5);
+
+    /** 從連線池取得連線的等待上限；池滿時快速失敗，而不是把請求執行緒卡住 */
+    private Duration connectionRequestTimeout = Duration.ofMillis(500);
+
+    /** 預設的 TCP 連線逾時 */
+    private Duration connectTimeout = Duration.ofSeconds(1);
+
+    /** 預設的回應逾時（兩個封包之間的最長間隔） */
+    private Duration responseTimeout = Duration.ofSeconds(3);
+
+    /** 呼叫目標，key 為目標名稱（也是指標的 target tag） */
+    private Map<String, Target> targets = new LinkedHashMap<>();
+
+    public int getMaxConnections() {
+        return maxConnections;
+    }
+
+    public void setMaxConnections(int maxConnections) {
+        this.maxConnections = maxConnections;
+    }
+
+    public int getMaxConnectionsPerTarget() {
+        return maxConnectionsPerTarget;
+    }
+
+    public void setMaxConnectionsPerTarget(int maxConnectionsPerTarget) {
+        this.maxConnectionsPerTarget = maxConnectionsPerTarget;
+    }
+
+    public Duration getIdleTimeout() {
+        return idleTimeout;
+    }
+
+    public void setIdleTimeout(Duration idleTimeout) {
+        this.idleTimeout = idleTimeout;
+    }
+
+    public Duration getValidateAfterInactivity() {
+        return validateAfterInactivity;
+    }
+
+    public void setValidateAfterInactivity(Duration validateAfterInactivity) {
+        this.validateAfterInactivity = validateAfterInactivity;
+    }
+
+    public Duration getConnectionTimeToLive() {
+        return connectionTimeToLive;
+    }
+
+    public void setConnectionTimeToLive(Duration connectionTimeToLive) {
+        this.connectionTimeToLive = connectionTimeToLive;
+    }
+
+    public Duration getConnectionRequestTimeout() {
+        return connectionRequestTimeout;
+    }
+
+    public void setConnectionRequestTimeout(Duration connectionRequestTimeout) {
+        this.connectionRequestTimeout = connectionRequestTimeout;
+    }
+
+    public Duration getConnectTimeout() {
+        return connectTimeout;
+    }
+
+    public void setConnectTimeout(Duration connectTimeout) {
+        this.connectTimeout = connectTimeout;
+    }
+
+    public Duration getResponseTimeout() {
+        return responseTimeout;
+    }
+
+    public void setResponseTimeout(Duration responseTimeout) {
+        this.responseTimeout = responseTimeout;
+    }
+
+    public Map<String, Target> getTargets() {
+        return targets;
+    }
+
+    public void setTargets(Map<String, Target> targets) {
+        this.targets = targets;
+    }
+
+    /**
+     * 單一呼叫目標；未設定的逾時沿用全域預設
+     */
+    public static class Target {
+
+        /** 固定位址，例如 http://localhost:8082；或 lb://pets-service 由服務註冊與負載平衡選擇實例 */
+        private String baseUrl;
+
+        private Duration connectTimeout;
+
+        private Duration responseTimeout;
+
+        public String getBaseUrl() {
+            return baseUrl;
+        }
+
+        public void setBaseUrl(String baseUrl) {
+            this.baseUrl = baseUrl;
+        }
+
+        public Duration getConnectTimeout() {
+            return connectTimeout;
+        }
+
+        public void setConnectTimeout(Duration connectTimeout) {
+            this.connectTimeout = connectTimeout;
+        }
+
+        public Duration getResponseTimeout() {
+            return responseTimeout;
+        }
+
+        public void setResponseTimeout(Duration responseTimeout) {
+            this.responseTimeout = responseTimeout;
+        }
+    }
+}
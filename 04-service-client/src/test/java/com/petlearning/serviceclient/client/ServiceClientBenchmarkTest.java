@@ -0,0 +1,239 @@
+package com.petlearning.serviceclient.client;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.petlearning.serviceclient.config.ServiceClientProperties;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.hc.client5.http.classic.methods.HttpGet;
+import org.apache.hc.client5.http.impl.classic.BasicHttpClientResponseHandler;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 共用客戶端 vs 每次呼叫各自建立客戶端
+ *
+ * 預設不執行，使用以下指令執行：
+ * mvn test -pl 04-service-client -Dbenchmark=true -Dtest=ServiceClientBenchmarkTest
+ *
+ * 本機 JDK HttpServer 回應 100 隻寵物（各 3 筆就診，約 24 KB）的 JSON，比較的呼叫方式：
+ * - per-call apache：每次 HttpClients.createDefault()，body 讀成 String 再解碼
+ * - per-call jdk：每次 HttpClient.newHttpClient()，BodyHandlers.ofString() 再解碼
+ * - pooled string：共用連線池，但 body 仍讀成 String 再解碼（只看串流解碼的差異）
+ * - ServiceClient：共用連線池 + 從 InputStream 直接解碼
+ *
+ * 單執行緒記錄延遲分佈與每次呼叫在呼叫端執行緒配置的記憶體（JDK HttpClient 在自己的
+ * selector 執行緒讀取 socket，bytes/op 會偏低），8 條執行緒記錄吞吐量；
+ * 連線數為伺服器看到的不同客戶端來源埠數。
+ *
+ * 以 JUnit 實作而非 JMH：數字適合相互比較，不適合當絕對值。
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class ServiceClientBenchmarkTest {
+
+    record Visit(String date, String description) {
+    }
+
+    record Pet(long id, String name, String type, long ownerId, List<Visit> visits) {
+    }
+
+    private static final TypeReference<List<Pet>> PETS = new TypeReference<>() { };
+    private static final int PET_COUNT = 100;
+    private static final int WARMUP_OPS = 300;
+    private static final int MEASURED_OPS = 1_000;
+    private static final int THREADS = 8;
+    private static final int OPS_PER_THREAD = 250;
+
+    private static HttpServer server;
+    private static final Set<Integer> connections = ConcurrentHashMap.newKeySet();
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+    private static String url;
+
+    @BeforeAll
+    static void startServer() throws IOException {
+        // JDK HttpServer 預設未開 TCP_NODELAY：標頭與 body 分兩次寫出時，重用的連線會卡在
+        // Nagle 與客戶端延遲 ACK 上（每次約 40ms）；Tomcat 等伺服器預設開啟
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+        List<Pet> pets = IntStream.rangeClosed(1, PET_COUNT)
+                .mapToObj(i -> new Pet(i, "pet-" + i, i % 2 == 0 ? "狗" : "貓", i / 5 + 1, List.of(
+                        new Visit("2024-03-0" + (i % 9 + 1), "年度健康檢查與疫苗接種"),
+                        new Visit("2023-11-1" + (i % 9 + 1), "皮膚過敏複診"),
+                        new Visit("2023-06-2" + (i % 9 + 1), "結紮手術"))))
+                .toList();
+        byte[] body = objectMapper.writeValueAsBytes(pets);
+
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 512);
+        server.setExecutor(Executors.newFixedThreadPool(THREADS));
+        server.createContext("/api/pets", exchange -> {
+            connections.add(exchange.getRemoteAddress().getPort());
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+        url = "http://localhost:" + server.getAddress().getPort();
+        System.out.printf("%npayload: %,d bytes%n", body.length);
+    }
+
+    @AfterAll
+    static void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    void should_ReuseConnectionsAndAllocateLess_When_SharingStreamingClient() throws Exception {
+        JavaType type = objectMapper.constructType(PETS);
+        ServiceClientProperties properties = new ServiceClientProperties();
+        ServiceClientProperties.Target target = new ServiceClientProperties.Target();
+        target.setBaseUrl(url);
+        properties.getTargets().put("pets", target);
+
+        Map<String, Supplier<List<Pet>>> clients = new LinkedHashMap<>();
+        clients.put("per-call apache", () -> {
+            try (CloseableHttpClient client = HttpClients.createDefault()) {
+                String body = client.execute(new HttpGet(url + "/api/pets"), new BasicHttpClientResponseHandler());
+                return objectMapper.readValue(body, type);
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        });
+        HttpRequest jdkRequest = HttpRequest.newBuilder(URI.create(url + "/api/pets")).build();
+        clients.put("per-call jdk", () -> {
+            try {
+                String body = HttpClient.newHttpClient().send(jdkRequest, HttpResponse.BodyHandlers.ofString()).body();
+                return objectMapper.readValue(body, type);
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(ex);
+            }
+        });
+        CloseableHttpClient pooled = HttpClients.custom()
+                .setConnectionManager(PoolingHttpClientConnectionManagerBuilder.create()
+                        .setMaxConnPerRoute(THREADS).build())
+                .build();
+        clients.put("pooled string", () -> {
+            try {
+                String body = pooled.execute(new HttpGet(url + "/api/pets"), new BasicHttpClientResponseHandler());
+                return objectMapper.readValue(body, type);
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        });
+        ServiceClient serviceClient = new ServiceClient(properties, objectMapper, new SimpleMeterRegistry());
+        clients.put("ServiceClient", () -> serviceClient.get("pets", "/api/pets", PETS));
+
+        System.out.printf("%-16s %10s %10s %12s %12s %16s %12s%n", "client", "p50(us)", "p99(us)", "bytes/op",
+                "connections", THREADS + " threads req/s", "connections");
+        Map<String, long[]> results = new LinkedHashMap<>();
+        try {
+            for (Map.Entry<String, Supplier<List<Pet>>> client : clients.entrySet()) {
+                Supplier<List<Pet>> call = client.getValue();
+                assertThat(call.get()).hasSize(PET_COUNT);
+
+                runSingle(call, WARMUP_OPS);
+                connections.clear();
+                long[] single = runSingle(call, MEASURED_OPS);
+                int singleConnections = connections.size();
+                connections.clear();
+                long throughput = runContended(call);
+                int contendedConnections = connections.size();
+
+                System.out.printf("%-16s %10d %10d %12d %12d %16d %12d%n", client.getKey(),
+                        single[0], single[1], single[2], singleConnections, throughput, contendedConnections);
+                results.put(client.getKey(), new long[]{single[0], single[2], contendedConnections});
+            }
+        } finally {
+            serviceClient.close();
+            pooled.close();
+        }
+
+        long[] shared = results.get("ServiceClient");
+        assertThat(shared[2]).isLessThanOrEqualTo(THREADS);
+        assertThat(shared[0]).isLessThan(results.get("per-call apache")[0]);
+        assertThat(shared[1]).isLessThan(results.get("pooled string")[1]);
+    }
+
+    /**
+     * @return [p50 us, p99 us, bytes/op]
+     */
+    private static long[] runSingle(Supplier<List<Pet>> call, int ops) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        long[] micros = new long[ops];
+        long allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < ops; i++) {
+            long start = System.nanoTime();
+            call.get();
+            micros[i] = (System.nanoTime() - start) / 1_000;
+        }
+        long allocated = threads.getThreadAllocatedBytes(threadId) - allocatedBefore;
+        Arrays.sort(micros);
+        return new long[]{micros[ops / 2], micros[(int) (ops * 0.99)], allocated / ops};
+    }
+
+    /**
+     * @return 每秒完成的呼叫數
+     */
+    private static long runContended(Supplier<List<Pet>> call) throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(THREADS);
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            Thread worker = new Thread(() -> {
+                try {
+                    start.await();
+                    for (int i = 0; i < OPS_PER_THREAD; i++) {
+                        call.get();
+                    }
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            });
+            worker.start();
+            workers.add(worker);
+        }
+        long begin = System.nanoTime();
+        start.countDown();
+        done.await();
+        long elapsed = System.nanoTime() - begin;
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        return (long) THREADS * OPS_PER_THREAD * 1_000_000_000L / elapsed;
+    }
+}
@@ -0,0 +1,270 @@
+package com.petlearning.serviceclient.client;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.petlearning.serviceclient.config.ServiceClientProperties;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerClient;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerRequest;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerUriTools;
+import org.springframework.cloud.client.loadbalancer.Request;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.SocketTimeoutException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 服務間 HTTP 客戶端測試：以 JDK HttpServer 模擬對方服務
+ */
+class ServiceClientTest {
+
+    record Pet(long id, String name) {
+    }
+
+    private HttpServer server;
+    /** 伺服器看到的客戶端連線（以來源埠區分） */
+    private final Set<Integer> connections = ConcurrentHashMap.newKeySet();
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private ServiceClientProperties properties;
+    private ServiceClient client;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/pets", this::pets);
+        server.createContext("/missing", exchange -> respond(exchange, 404, "{\"error\":\"not found\"}"));
+        server.createContext("/slow", exchange -> {
+            sleep(Duration.ofMillis(500));
+            respond(exchange, 200, "{\"id\":1,\"name\":\"Leo\"}");
+        });
+        server.start();
+
+        properties = new ServiceClientProperties();
+        properties.getTargets().put("pets", target(null));
+        properties.getTargets().put("impatient", target(Duration.ofMillis(100)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (client != null) {
+            client.close();
+        }
+        server.stop(0);
+    }
+
+    @Test
+    void should_DecodeJsonIntoDtos_When_TargetResponds() {
+        // Given
+        client = newClient();
+
+        // When
+        Pet pet = client.get("pets", "/pets/{id}", Pet.class, 7);
+        List<Pet> pets = client.get("pets", "/pets", new TypeReference<>() { });
+
+        // Then
+        assertThat(pet).isEqualTo(new Pet(7, "pet-7"));
+        assertThat(pets).containsExactly(new Pet(1, "pet-1"), new Pet(2, "pet-2"));
+        assertThat(meterRegistry.get(ServiceClient.REQUESTS_METRIC)
+                .tags("target", "pets", "method", "GET", "status", "200").timer().count()).isEqualTo(2);
+    }
+
+    @Test
+    void should_ReuseOneConnection_When_CallingTargetRepeatedly() {
+        // Given
+        client = newClient();
+
+        // When
+        for (int i = 1; i <= 10; i++) {
+            client.get("pets", "/pets/{id}", Pet.class, i);
+        }
+
+        // Then
+        assertThat(connections).hasSize(1);
+        assertThat(connectionCount("false")).isEqualTo(1);
+        assertThat(connectionCount("true")).isEqualTo(9);
+    }
+
+    @Test
+    void should_KeepConnectionReusable_When_TargetReturnsError() {
+        // Given
+        client = newClient();
+
+        // When & Then
+        assertThatThrownBy(() -> client.get("pets", "/missing", Pet.class))
+                .isInstanceOfSatisfying(ServiceResponseException.class, ex -> {
+                    assertThat(ex.getStatusCode()).isEqualTo(404);
+                    assertThat(ex.getTarget()).isEqualTo("pets");
+                });
+        client.get("pets", "/pets/{id}", Pet.class, 1);
+        assertThat(connections).hasSize(1);
+        assertThat(connectionCount("true")).isEqualTo(1);
+    }
+
+    @Test
+    void should_ApplyResponseTimeoutPerTarget_When_TargetIsSlow() {
+        // Given
+        client = newClient();
+
+        // When & Then：同一台主機，只有 impatient 目標設定了 100ms 回應逾時
+        assertThatThrownBy(() -> client.get("impatient", "/slow", Pet.class))
+                .isInstanceOf(ServiceClientException.class)
+                .hasCauseInstanceOf(SocketTimeoutException.class);
+        assertThat(client.get("pets", "/slow", Pet.class)).isEqualTo(new Pet(1, "Leo"));
+        assertThat(meterRegistry.get(ServiceClient.REQUESTS_METRIC)
+                .tags("target", "impatient", "status", ServiceClient.IO_ERROR).timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void should_OpenNewConnection_When_PooledConnectionIdledPastTimeout() {
+        // Given
+        properties.setIdleTimeout(Duration.ofMillis(200));
+        client = newClient();
+        client.get("pets", "/pets/{id}", Pet.class, 1);
+
+        // When
+        sleep(Duration.ofMillis(400));
+        client.get("pets", "/pets/{id}", Pet.class, 2);
+
+        // Then
+        assertThat(connections).hasSize(2);
+        assertThat(connectionCount("false")).isEqualTo(2);
+        assertThat(connectionCount("true")).isZero();
+    }
+
+    @Test
+    void should_CallChosenInstance_When_BaseUrlUsesLoadBalancer() {
+        // Given
+        StubLoadBalancer loadBalancer = new StubLoadBalancer();
+        ServiceClientProperties.Target target = new ServiceClientProperties.Target();
+        target.setBaseUrl("lb://pets-service");
+        properties.getTargets().put("discovered", target);
+        client = new ServiceClient(properties, new ObjectMapper(), meterRegistry, loadBalancer);
+
+        // When
+        Pet first = client.get("discovered", "/pets/{id}", Pet.class, 3);
+        Pet second = client.get("discovered", "/pets/{id}", Pet.class, 4);
+
+        // Then：每次呼叫都向負載平衡器選實例，選到同一個實例時重用連線
+        assertThat(first).isEqualTo(new Pet(3, "pet-3"));
+        assertThat(second).isEqualTo(new Pet(4, "pet-4"));
+        assertThat(loadBalancer.chosen).containsExactly("pets-service", "pets-service");
+        assertThat(connections).hasSize(1);
+    }
+
+    @Test
+    void should_Fail_When_NoInstanceAvailable() {
+        // Given
+        StubLoadBalancer loadBalancer = new StubLoadBalancer();
+        loadBalancer.instance = null;
+        ServiceClientProperties.Target target = new ServiceClientProperties.Target();
+        target.setBaseUrl("lb://pets-service");
+        properties.getTargets().put("discovered", target);
+        client = new ServiceClient(properties, new ObjectMapper(), meterRegistry, loadBalancer);
+
+        // When & Then
+        assertThatThrownBy(() -> client.get("discovered", "/pets/{id}", Pet.class, 1))
+                .isInstanceOf(ServiceClientException.class)
+                .hasMessageContaining("No available instance of pets-service");
+    }
+
+    private ServiceClient newClient() {
+        return new ServiceClient(properties, new ObjectMapper(), meterRegistry);
+    }
+
+    private ServiceClientProperties.Target target(Duration responseTimeout) {
+        ServiceClientProperties.Target target = new ServiceClientProperties.Target();
+        target.setBaseUrl("http://localhost:" + server.getAddress().getPort());
+        target.setResponseTimeout(responseTimeout);
+        return target;
+    }
+
+    private double connectionCount(String reused) {
+        return meterRegistry.get(ServiceClient.CONNECTIONS_METRIC)
+                .tags("target", "pets", "reused", reused).counter().count();
+    }
+
+    private void pets(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+        if (path.equals("/pets")) {
+            respond(exchange, 200, "[{\"id\":1,\"name\":\"pet-1\"},{\"id\":2,\"name\":\"pet-2\"}]");
+        } else {
+            String id = path.substring("/pets/".length());
+            respond(exchange, 200, "{\"id\":" + id + ",\"name\":\"pet-" + id + "\"}");
+        }
+    }
+
+    private void respond(HttpExchange exchange, int status, String json) throws IOException {
+        connections.add(exchange.getRemoteAddress().getPort());
+        byte[] body = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    /**
+     * 永遠選擇測試伺服器的負載平衡器，記錄被查詢的服務名稱
+     */
+    private class StubLoadBalancer implements LoadBalancerClient {
+
+        final List<String> chosen = new CopyOnWriteArrayList<>();
+        ServiceInstance instance = new DefaultServiceInstance("pets-1", "pets-service", "localhost",
+                server.getAddress().getPort(), false);
+
+        @Override
+        public ServiceInstance choose(String serviceId) {
+            chosen.add(serviceId);
+            return instance;
+        }
+
+        @Override
+        public <T> ServiceInstance choose(String serviceId, Request<T> request) {
+            return choose(serviceId);
+        }
+
+        @Override
+        public URI reconstructURI(ServiceInstance instance, URI original) {
+            return LoadBalancerUriTools.reconstructURI(instance, original);
+        }
+
+        @Override
+        public <T> T execute(String serviceId, LoadBalancerRequest<T> request) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public <T> T execute(String serviceId, ServiceInstance serviceInstance, LoadBalancerRequest<T> request) {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    private static void sleep(Duration duration) {
+        try {
+            Thread.sleep(duration.toMillis());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
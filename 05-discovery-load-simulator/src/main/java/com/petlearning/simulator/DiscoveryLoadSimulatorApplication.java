@@ -0,0 +1,16 @@
+package com.petlearning.simulator;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+/**
+ * Discovery Load Simulator 啟動類
+ * 對本機 Eureka Server 註冊大量模擬實例並持續心跳，觀察註冊表在負載下的表現
+ */
+@SpringBootApplication
+public class DiscoveryLoadSimulatorApplication {
+
+    public static void main(String[] args) {
+        SpringApplication.run(DiscoveryLoadSimulatorApplication.class, args);
+    }
+}
@@ -0,0 +1,51 @@
+package com.petlearning.simulator.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.petlearning.simulator.eureka.EurekaRestClient;
+import com.petlearning.simulator.load.LoadSimulator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 負載模擬配置
+ *
+ * simulator.duration > 0 時執行指定時間後停止並結束程式；
+ * 為 0 時持續執行，直到程式被關閉（Ctrl+C 時也會主動下線並輸出總計）。
+ */
+@Configuration
+@EnableConfigurationProperties(SimulatorProperties.class)
+public class SimulatorConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(SimulatorConfig.class);
+
+    @Bean
+    public EurekaRestClient eurekaRestClient(SimulatorProperties properties, ObjectMapper objectMapper) {
+        return new EurekaRestClient(properties.getEurekaUrl(), properties.getConnectTimeout(),
+                properties.getRequestTimeout(), properties.getLeaseDuration(), properties.getRenewInterval(),
+                objectMapper);
+    }
+
+    @Bean
+    public LoadSimulator loadSimulator(EurekaRestClient eurekaRestClient, SimulatorProperties properties) {
+        return new LoadSimulator(eurekaRestClient, properties);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "simulator", name = "run-on-startup", matchIfMissing = true)
+    public ApplicationRunner simulationRunner(LoadSimulator loadSimulator, SimulatorProperties properties) {
+        return args -> {
+            loadSimulator.start();
+            if (properties.getDuration().isZero()) {
+                logger.info("Running until stopped");
+                return;
+            }
+            Thread.sleep(properties.getDuration().toMillis());
+            loadSimulator.stop();
+        };
+    }
+}
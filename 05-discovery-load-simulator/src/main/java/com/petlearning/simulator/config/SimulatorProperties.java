@@ -0,0 +1,176 @@
+package com.petlearning.simulator.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.net.URI;
+import java.time.Duration;
+
+/**
+ * 負載模擬配置（simulator.*）
+ */
+@ConfigurationProperties(prefix = "simulator")
+public class SimulatorProperties {
+
+    /** 啟動後是否立即執行模擬（測試時關閉，改由程式呼叫） */
+    private boolean runOnStartup = true;
+
+    /** Eureka Server 的 REST 根路徑 */
+    private URI eurekaUrl = URI.create("http://localhost:8761/eureka");
+
+    /** 模擬的實例總數 */
+    private int instances = 500;
+
+    /** 實例平均分配到幾個應用（SIM-APP-00 ...） */
+    private int applications = 20;
+
+    /** 心跳間隔，與 eureka.instance.lease-renewal-interval-in-seconds 預設值相同 */
+    private Duration renewInterval = Duration.ofSeconds(30);
+
+    /** 增量註冊表抓取間隔，與 eureka.client.registry-fetch-interval-seconds 預設值相同；0 表示不抓取 */
+    private Duration fetchInterval = Duration.ofSeconds(30);
+
+    /** 註冊時宣告的租約長度，超過此時間沒有心跳就會被逐出 */
+    private Duration leaseDuration = Duration.ofSeconds(90);
+
+    /** 在這段時間內平均完成所有註冊，避免瞬間湧入 */
+    private Duration rampUp = Duration.ofSeconds(30);
+
+    /** 模擬總長度（含 rampUp）；0 表示持續到程式被關閉 */
+    private Duration duration = Duration.ofMinutes(5);
+
+    /** 輸出區間統計的間隔 */
+    private Duration reportInterval = Duration.ofSeconds(10);
+
+    /** 註冊後就不再心跳的實例比例，用來觸發伺服器端的逐出 */
+    private double silentFraction = 0.0;
+
+    /** 發送請求的執行緒數 */
+    private int threads = 16;
+
+    /** 結束時是否主動下線（DELETE）仍在心跳的實例 */
+    private boolean cancelOnShutdown = true;
+
+    private Duration connectTimeout = Duration.ofSeconds(2);
+
+    private Duration requestTimeout = Duration.ofSeconds(5);
+
+    public boolean isRunOnStartup() {
+        return runOnStartup;
+    }
+
+    public void setRunOnStartup(boolean runOnStartup) {
+        this.runOnStartup = runOnStartup;
+    }
+
+    public URI getEurekaUrl() {
+        return eurekaUrl;
+    }
+
+    public void setEurekaUrl(URI eurekaUrl) {
+        this.eurekaUrl = eurekaUrl;
+    }
+
+    public int getInstances() {
+        return instances;
+    }
+
+    public void setInstances(int instances) {
+        this.instances = instances;
+    }
+
+    public int getApplications() {
+        return applications;
+    }
+
+    public void setApplications(int applications) {
+        this.applications = applications;
+    }
+
+    public Duration getRenewInterval() {
+        return renewInterval;
+    }
+
+    public void setRenewInterval(Duration renewInterval) {
+        this.renewInterval = renewInterval;
+    }
+
+    public Duration getFetchInterval() {
+        return fetchInterval;
+    }
+
+    public void setFetchInterval(Duration fetchInterval) {
+        this.fetchInterval = fetchInterval;
+    }
+
+    public Duration getLeaseDuration() {
+        return leaseDuration;
+    }
+
+    public void setLeaseDuration(Duration leaseDuration) {
+        this.leaseDuration = leaseDuration;
+    }
+
+    public Duration getRampUp() {
+        return rampUp;
+    }
+
+    public void setRampUp(Duration rampUp) {
+        this.rampUp = rampUp;
+    }
+
+    public Duration getDuration() {
+        return duration;
+    }
+
+    public void setDuration(Duration duration) {
+        this.duration = duration;
+    }
+
+    public Duration getReportInterval() {
+        return reportInterval;
+    }
+
+    public void setReportInterval(Duration reportInterval) {
+        this.reportInterval = reportInterval;
+    }
+
+    public double getSilentFraction() {
+        return silentFraction;
+    }
+
+    public void setSilentFraction(double silentFraction) {
+        this.silentFraction = silentFraction;
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public void setThreads(int threads) {
+        this.threads = threads;
+    }
+
+    public boolean isCancelOnShutdown() {
+        return cancelOnShutdown;
+    }
+
+    public void setCancelOnShutdown(boolean cancelOnShutdown) {
+        this.cancelOnShutdown = cancelOnShutdown;
+    }
+
+    public Duration getConnectTimeout() {
+        return connectTimeout;
+    }
+
+    public void setConnectTimeout(Duration connectTimeout) {
+        this.connectTimeout = connectTimeout;
+    }
+
+    public Duration getRequestTimeout() {
+        return requestTimeout;
+    }
+
+    public void setRequestTimeout(Duration requestTimeout) {
+        this.requestTimeout = requestTimeout;
+    }
+}
@@ -0,0 +1,119 @@
+package com.petlearning.simulator.eureka;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+/**
+ * 直接呼叫 Eureka REST API 的精簡客戶端
+ *
+ * 與 Eureka 客戶端送出的請求相同：
+ * - POST   {eurekaUrl}/apps/{APP}                                   註冊（JSON，成功回 204）
+ * - PUT    {eurekaUrl}/apps/{APP}/{id}?status=UP&lastDirtyTimestamp= 心跳（實例不存在時回 404）
+ * - DELETE {eurekaUrl}/apps/{APP}/{id}                              下線
+ * - GET    {eurekaUrl}/apps/delta                                   增量註冊表
+ *
+ * Eureka Server 只提供 HTTP/1.1，因此固定版本，省去 h2c 升級協商。
+ * 不使用 eureka-client 是為了在一個 JVM 內模擬上千個實例，而不必建立上千個 DiscoveryClient。
+ * 所有方法回傳 HTTP 狀態碼，只有連線失敗或逾時才拋出 IOException。
+ */
+public class EurekaRestClient {
+
+    private static final String DATA_CENTER_CLASS = "com.netflix.appinfo.InstanceInfo$DefaultDataCenterInfo";
+
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper;
+    private final String baseUrl;
+    private final Duration requestTimeout;
+    private final long leaseSeconds;
+    private final long renewSeconds;
+
+    public EurekaRestClient(URI eurekaUrl, Duration connectTimeout, Duration requestTimeout,
+                            Duration leaseDuration, Duration renewInterval, ObjectMapper objectMapper) {
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(connectTimeout)
+                .build();
+        this.objectMapper = objectMapper;
+        String url = eurekaUrl.toString();
+        this.baseUrl = url.endsWith("/") ? url.substring(0, url.length() - 1) : url;
+        this.requestTimeout = requestTimeout;
+        this.leaseSeconds = Math.max(1, leaseDuration.toSeconds());
+        this.renewSeconds = Math.max(1, renewInterval.toSeconds());
+    }
+
+    public int register(SimulatedInstance instance) throws IOException {
+        HttpRequest request = request("/apps/" + instance.app())
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(registrationBody(instance)))
+                .build();
+        return send(request);
+    }
+
+    public int renew(SimulatedInstance instance) throws IOException {
+        HttpRequest request = request("/apps/" + instance.app() + "/" + instance.instanceId()
+                + "?status=UP&lastDirtyTimestamp=" + instance.lastDirtyTimestamp())
+                .PUT(HttpRequest.BodyPublishers.noBody())
+                .build();
+        return send(request);
+    }
+
+    public int cancel(SimulatedInstance instance) throws IOException {
+        HttpRequest request = request("/apps/" + instance.app() + "/" + instance.instanceId())
+                .DELETE()
+                .build();
+        return send(request);
+    }
+
+    public int fetchDelta() throws IOException {
+        HttpRequest request = request("/apps/delta")
+                .header("Accept", "application/json")
+                .GET()
+                .build();
+        return send(request);
+    }
+
+    byte[] registrationBody(SimulatedInstance instance) throws JsonProcessingException {
+        ObjectNode root = objectMapper.createObjectNode();
+        ObjectNode info = root.putObject("instance");
+        info.put("instanceId", instance.instanceId());
+        info.put("hostName", instance.hostName());
+        info.put("app", instance.app());
+        info.put("ipAddr", instance.ipAddr());
+        info.put("vipAddress", instance.app().toLowerCase());
+        info.put("status", "UP");
+        info.putObject("port").put("$", instance.port()).put("@enabled", "true");
+        info.putObject("securePort").put("$", 443).put("@enabled", "false");
+        String home = "http://" + instance.hostName() + ":" + instance.port();
+        info.put("homePageUrl", home + "/");
+        info.put("statusPageUrl", home + "/actuator/info");
+        info.put("healthCheckUrl", home + "/actuator/health");
+        info.putObject("dataCenterInfo").put("@class", DATA_CENTER_CLASS).put("name", "MyOwn");
+        info.putObject("leaseInfo")
+                .put("renewalIntervalInSecs", renewSeconds)
+                .put("durationInSecs", leaseSeconds);
+        info.putObject("metadata").put("simulated", "true");
+        info.put("lastDirtyTimestamp", String.valueOf(instance.lastDirtyTimestamp()));
+        return objectMapper.writeValueAsBytes(root);
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(requestTimeout);
+    }
+
+    private int send(HttpRequest request) throws IOException {
+        try {
+            return httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while calling Eureka", ex);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.petlearning.simulator.eureka;
+
+/**
+ * 一個模擬的服務實例
+ *
+ * @param app 應用名稱（Eureka 以大寫儲存）
+ * @param instanceId 實例 ID，心跳與下線時使用
+ * @param hostName 主機名稱
+ * @param ipAddr IP 位址（10.x.x.x，不需要真的可連線）
+ * @param port 服務埠
+ * @param lastDirtyTimestamp 實例資訊最後變更時間，心跳時一併送出
+ * @param silent 註冊後是否停止心跳（模擬當機，讓伺服器逐出）
+ */
+public record SimulatedInstance(
+        String app,
+        String instanceId,
+        String hostName,
+        String ipAddr,
+        int port,
+        long lastDirtyTimestamp,
+        boolean silent) {
+
+    /**
+     * 依序號產生實例；silent 由呼叫端依 silentFraction 決定
+     */
+    public static SimulatedInstance of(int index, int applications, boolean silent, long timestamp) {
+        String app = String.format("SIM-APP-%02d", index % Math.max(1, applications));
+        String id = String.format("sim-%05d", index);
+        String ip = "10." + (index >> 16 & 0xff) + "." + (index >> 8 & 0xff) + "." + (index & 0xff);
+        return new SimulatedInstance(app, id, id + ".simulated.local", ip, 8080, timestamp, silent);
+    }
+}
@@ -0,0 +1,252 @@
+package com.petlearning.simulator.load;
+
+import com.petlearning.simulator.config.SimulatorProperties;
+import com.petlearning.simulator.eureka.EurekaRestClient;
+import com.petlearning.simulator.eureka.SimulatedInstance;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Eureka 註冊表負載模擬器
+ *
+ * 流程：
+ * 1. 在 rampUp 內平均註冊 instances 個實例（POST /apps/{APP}）
+ * 2. 每個實例註冊後以 renewInterval 心跳；收到 404（已被逐出）時與真實客戶端一樣重新註冊
+ * 3. 每個實例以 fetchInterval 抓取增量註冊表，起始時間隨機錯開，避免所有實例同時抓取
+ * 4. silentFraction 比例的實例註冊後就不再心跳，租約到期後由伺服器逐出
+ * 5. 每 reportInterval 輸出各操作的區間吞吐量與延遲百分位數；停止時輸出總計並主動下線
+ *
+ * 請求由 threads 個執行緒發送。伺服器變慢時排程任務會延後，
+ * 這時區間吞吐量會低於設定值，延遲統計只反映實際送出的請求。
+ */
+public class LoadSimulator implements DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoadSimulator.class);
+
+    public enum Operation { REGISTER, RENEW, FETCH, CANCEL }
+
+    private final EurekaRestClient client;
+    private final SimulatorProperties properties;
+
+    private final Map<Operation, OperationStats> stats = new EnumMap<>(Operation.class);
+    private final Set<SimulatedInstance> registered = ConcurrentHashMap.newKeySet();
+    private final Queue<ScheduledFuture<?>> tasks = new ConcurrentLinkedQueue<>();
+    private final LongAdder reRegistrations = new LongAdder();
+
+    private volatile ScheduledExecutorService executor;
+
+    public LoadSimulator(EurekaRestClient client, SimulatorProperties properties) {
+        this.client = client;
+        this.properties = properties;
+    }
+
+    /**
+     * 開始註冊並排程心跳與抓取（重複呼叫無作用）
+     */
+    public synchronized void start() {
+        if (executor != null) {
+            return;
+        }
+        long startNanos = System.nanoTime();
+        for (Operation operation : Operation.values()) {
+            stats.put(operation, new OperationStats(operation.name().toLowerCase(), startNanos));
+        }
+        AtomicInteger threadCount = new AtomicInteger();
+        executor = Executors.newScheduledThreadPool(properties.getThreads(),
+                runnable -> new Thread(runnable, "simulator-" + threadCount.incrementAndGet()));
+
+        int instances = properties.getInstances();
+        long rampUpNanos = properties.getRampUp().toNanos();
+        long timestamp = System.currentTimeMillis();
+        for (int i = 0; i < instances; i++) {
+            SimulatedInstance instance = SimulatedInstance.of(i, properties.getApplications(),
+                    isSilent(i, properties.getSilentFraction()), timestamp);
+            long delay = instances > 1 ? rampUpNanos * i / instances : 0;
+            tasks.add(executor.schedule(() -> onboard(instance), delay, TimeUnit.NANOSECONDS));
+        }
+        long reportNanos = properties.getReportInterval().toNanos();
+        tasks.add(executor.scheduleAtFixedRate(this::report, reportNanos, reportNanos, TimeUnit.NANOSECONDS));
+        logger.info("Simulating {} instances of {} applications against {} (renew every {}, fetch every {}, {}% silent)",
+                instances, properties.getApplications(), properties.getEurekaUrl(), properties.getRenewInterval(),
+                properties.getFetchInterval(), Math.round(properties.getSilentFraction() * 100));
+    }
+
+    /**
+     * 停止排程，依設定主動下線仍在心跳的實例，並輸出總計
+     */
+    public synchronized void stop() throws InterruptedException {
+        if (executor == null) {
+            return;
+        }
+        ScheduledFuture<?> task;
+        while ((task = tasks.poll()) != null) {
+            task.cancel(false);
+        }
+        // 先等進行中的心跳結束，否則下線後才到的心跳會收到 404 並重新註冊
+        executor.shutdown();
+        executor.awaitTermination(properties.getRequestTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        executor = null;
+        if (properties.isCancelOnShutdown()) {
+            cancelAll();
+        }
+        report();
+        logger.info("Simulation finished, totals:");
+        for (OperationStats operation : stats.values()) {
+            logger.info("  {}", operation.total().format());
+        }
+    }
+
+    private void cancelAll() throws InterruptedException {
+        List<Callable<Object>> cancels = new ArrayList<>();
+        for (SimulatedInstance instance : registered) {
+            if (!instance.silent()) {
+                cancels.add(Executors.callable(() -> cancel(instance)));
+            }
+        }
+        ExecutorService cancelling = Executors.newFixedThreadPool(properties.getThreads());
+        try {
+            cancelling.invokeAll(cancels);
+        } finally {
+            cancelling.shutdown();
+        }
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        stop();
+    }
+
+    /**
+     * 目前已註冊（且未主動下線）的實例數
+     */
+    public int getRegisteredInstances() {
+        return registered.size();
+    }
+
+    public long getReRegistrations() {
+        return reRegistrations.sum();
+    }
+
+    /**
+     * 各操作的總計（到最近一次報表為止）
+     */
+    public synchronized Map<Operation, OperationStats.Snapshot> totals() {
+        Map<Operation, OperationStats.Snapshot> totals = new EnumMap<>(Operation.class);
+        stats.forEach((operation, operationStats) -> totals.put(operation, operationStats.total()));
+        return totals;
+    }
+
+    /**
+     * 輸出上次報表以來的區間統計
+     */
+    void report() {
+        long now = System.nanoTime();
+        logger.info("Registered {} instances, {} re-registrations", registered.size(), reRegistrations.sum());
+        for (OperationStats operation : stats.values()) {
+            logger.info("  {}", operation.interval(now).format());
+        }
+    }
+
+    /**
+     * 第一次註冊；不論成功與否都開始心跳，失敗時由心跳收到 404 後重新註冊
+     */
+    private void onboard(SimulatedInstance instance) {
+        register(instance);
+        ScheduledExecutorService current = executor;
+        if (current == null) {
+            return;
+        }
+        long renewNanos = properties.getRenewInterval().toNanos();
+        long fetchNanos = properties.getFetchInterval().toNanos();
+        try {
+            if (!instance.silent()) {
+                tasks.add(current.scheduleAtFixedRate(() -> renew(instance), renewNanos, renewNanos, TimeUnit.NANOSECONDS));
+            }
+            if (fetchNanos > 0) {
+                long offset = ThreadLocalRandom.current().nextLong(fetchNanos);
+                tasks.add(current.scheduleAtFixedRate(this::fetch, offset, fetchNanos, TimeUnit.NANOSECONDS));
+            }
+        } catch (RejectedExecutionException ex) {
+            // 模擬已停止
+        }
+    }
+
+    private void register(SimulatedInstance instance) {
+        if (call(Operation.REGISTER, () -> client.register(instance), 204)) {
+            registered.add(instance);
+        }
+    }
+
+    private void renew(SimulatedInstance instance) {
+        long start = System.nanoTime();
+        int status = status(() -> client.renew(instance));
+        stats.get(Operation.RENEW).record(System.nanoTime() - start, status != 200);
+        if (status == 404) {
+            registered.remove(instance);
+            reRegistrations.increment();
+            register(instance);
+        }
+    }
+
+    private void fetch() {
+        call(Operation.FETCH, client::fetchDelta, 200);
+    }
+
+    private void cancel(SimulatedInstance instance) {
+        if (call(Operation.CANCEL, () -> client.cancel(instance), 200)) {
+            registered.remove(instance);
+        }
+    }
+
+    private boolean call(Operation operation, EurekaCall call, int expectedStatus) {
+        long start = System.nanoTime();
+        boolean ok = status(call) == expectedStatus;
+        stats.get(operation).record(System.nanoTime() - start, !ok);
+        return ok;
+    }
+
+    /**
+     * @return HTTP 狀態碼；連線失敗或逾時回傳 -1
+     */
+    private static int status(EurekaCall call) {
+        try {
+            return call.execute();
+        } catch (IOException ex) {
+            logger.debug("Eureka call failed: {}", ex.getMessage());
+            return -1;
+        }
+    }
+
+    /**
+     * 讓 silent 實例平均散佈在序號中，而不是集中在同一個應用
+     */
+    static boolean isSilent(int index, double silentFraction) {
+        return Math.floor((index + 1) * silentFraction) > Math.floor(index * silentFraction);
+    }
+
+    @FunctionalInterface
+    private interface EurekaCall {
+        int execute() throws IOException;
+    }
+}
@@ -0,0 +1,110 @@
+package com.petlearning.simulator.load;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 單一操作（register / renew / fetch / cancel）的客戶端延遲統計
+ *
+ * 說明：
+ * - 延遲以 HdrHistogram {@link Recorder} 記錄（微秒），多個執行緒同時寫入不需要鎖
+ * - {@link #interval(long)} 取出上次呼叫以來的區間直方圖並累加到總計，用於週期報表
+ * - 錯誤包含非預期的狀態碼與連線失敗 / 逾時，錯誤請求的延遲同樣計入直方圖
+ */
+public class OperationStats {
+
+    /** 最大可記錄延遲：60 秒（微秒單位） */
+    static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.SECONDS.toMicros(60);
+
+    private static final int SIGNIFICANT_DIGITS = 2;
+
+    private final String operation;
+    private final Recorder recorder = new Recorder(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+    private final LongAdder intervalErrors = new LongAdder();
+
+    // 以下欄位只在持有 this 鎖時存取
+    private final Histogram total = new Histogram(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+    private Histogram recycled;
+    private long totalErrors;
+    private long intervalStartNanos;
+    private final long startNanos;
+
+    public OperationStats(String operation, long startNanos) {
+        this.operation = operation;
+        this.startNanos = startNanos;
+        this.intervalStartNanos = startNanos;
+    }
+
+    public void record(long latencyNanos, boolean error) {
+        long micros = Math.min(TimeUnit.NANOSECONDS.toMicros(latencyNanos), HIGHEST_TRACKABLE_MICROS);
+        recorder.recordValue(Math.max(micros, 0));
+        if (error) {
+            intervalErrors.increment();
+        }
+    }
+
+    /**
+     * 結束目前區間，回傳區間統計並累加到總計
+     */
+    public synchronized Snapshot interval(long nowNanos) {
+        Histogram histogram = recorder.getIntervalHistogram(recycled);
+        long errors = intervalErrors.sumThenReset();
+        total.add(histogram);
+        totalErrors += errors;
+        Snapshot snapshot = snapshot(histogram, errors, nowNanos - intervalStartNanos);
+        intervalStartNanos = nowNanos;
+        recycled = histogram;
+        return snapshot;
+    }
+
+    /**
+     * 從開始到最後一次 {@link #interval(long)} 的總計
+     */
+    public synchronized Snapshot total() {
+        return snapshot(total, totalErrors, intervalStartNanos - startNanos);
+    }
+
+    public String getOperation() {
+        return operation;
+    }
+
+    private Snapshot snapshot(Histogram histogram, long errors, long elapsedNanos) {
+        long count = histogram.getTotalCount();
+        double seconds = elapsedNanos / 1e9;
+        return new Snapshot(operation, count, errors,
+                seconds > 0 ? count / seconds : 0,
+                percentileMillis(histogram, 50),
+                percentileMillis(histogram, 99),
+                percentileMillis(histogram, 99.9),
+                count > 0 ? histogram.getMaxValue() / 1000.0 : 0);
+    }
+
+    private static double percentileMillis(Histogram histogram, double percentile) {
+        if (histogram.getTotalCount() == 0) {
+            return 0;
+        }
+        return histogram.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    /**
+     * 統計快照（延遲單位為毫秒）
+     */
+    public record Snapshot(
+            String operation,
+            long count,
+            long errors,
+            double perSecond,
+            double p50Millis,
+            double p99Millis,
+            double p999Millis,
+            double maxMillis) {
+
+        public String format() {
+            return String.format("%-8s %8d req %7.1f/s  p50 %7.2f ms  p99 %7.2f ms  p99.9 %7.2f ms  max %7.2f ms  errors %d",
+                    operation, count, perSecond, p50Millis, p99Millis, p999Millis, maxMillis, errors);
+        }
+    }
+}
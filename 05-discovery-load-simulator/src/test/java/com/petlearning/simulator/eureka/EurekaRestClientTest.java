@@ -0,0 +1,93 @@
+package com.petlearning.simulator.eureka;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.URI;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Eureka REST 客戶端測試
+ */
+class EurekaRestClientTest {
+
+    private StubEurekaServer server;
+    private EurekaRestClient client;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = new StubEurekaServer();
+        client = client(server.eurekaUrl());
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.close();
+    }
+
+    @Test
+    void should_SendEurekaInstanceJson_When_Registering() throws IOException {
+        // Given
+        SimulatedInstance instance = SimulatedInstance.of(3, 2, false, 1_000L);
+
+        // When
+        int status = client.register(instance);
+
+        // Then
+        assertThat(status).isEqualTo(204);
+        JsonNode registered = server.instances().get("sim-00003");
+        assertThat(registered.path("app").asText()).isEqualTo("SIM-APP-01");
+        assertThat(registered.path("ipAddr").asText()).isEqualTo("10.0.0.3");
+        assertThat(registered.path("port").path("$").asInt()).isEqualTo(8080);
+        assertThat(registered.path("leaseInfo").path("durationInSecs").asInt()).isEqualTo(90);
+        assertThat(registered.path("leaseInfo").path("renewalIntervalInSecs").asInt()).isEqualTo(30);
+        assertThat(registered.path("dataCenterInfo").path("name").asText()).isEqualTo("MyOwn");
+    }
+
+    @Test
+    void should_ReturnNotFound_When_RenewingUnknownInstance() throws IOException {
+        // Given
+        SimulatedInstance instance = SimulatedInstance.of(1, 1, false, 1_000L);
+
+        // When
+        int status = client.renew(instance);
+
+        // Then
+        assertThat(status).isEqualTo(404);
+        assertThat(server.lastRenewQuery()).isEqualTo("status=UP&lastDirtyTimestamp=1000");
+    }
+
+    @Test
+    void should_RenewCancelAndFetch_When_InstanceRegistered() throws IOException {
+        // Given
+        SimulatedInstance instance = SimulatedInstance.of(1, 1, false, 1_000L);
+        client.register(instance);
+
+        // When & Then
+        assertThat(client.renew(instance)).isEqualTo(200);
+        assertThat(client.fetchDelta()).isEqualTo(200);
+        assertThat(client.cancel(instance)).isEqualTo(200);
+        assertThat(server.instances()).isEmpty();
+    }
+
+    @Test
+    void should_ThrowIOException_When_ServerUnreachable() {
+        // Given
+        EurekaRestClient unreachable = client(URI.create("http://127.0.0.1:1/eureka/"));
+
+        // When & Then
+        assertThatThrownBy(unreachable::fetchDelta).isInstanceOf(IOException.class);
+    }
+
+    private static EurekaRestClient client(URI eurekaUrl) {
+        return new EurekaRestClient(eurekaUrl, Duration.ofSeconds(1), Duration.ofSeconds(2),
+                Duration.ofSeconds(90), Duration.ofSeconds(30), new ObjectMapper());
+    }
+}
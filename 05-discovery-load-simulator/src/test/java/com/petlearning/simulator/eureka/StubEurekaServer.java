@@ -0,0 +1,120 @@
+package com.petlearning.simulator.eureka;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 測試用 Eureka REST 端點（/eureka/apps/...）
+ *
+ * 以 instanceId 保存註冊的實例，依 Eureka 的回應碼處理註冊（204）、心跳（200 / 404）、
+ * 下線（200 / 404）與增量抓取（200）；{@link #evict(String)} 可模擬伺服器逐出實例。
+ */
+public class StubEurekaServer implements AutoCloseable {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final byte[] EMPTY_DELTA =
+            "{\"applications\":{\"versions__delta\":\"1\",\"apps__hashcode\":\"\",\"application\":[]}}"
+                    .getBytes(StandardCharsets.UTF_8);
+
+    private final HttpServer server;
+    private final Map<String, JsonNode> instances = new ConcurrentHashMap<>();
+    private final AtomicInteger registrations = new AtomicInteger();
+    private final AtomicInteger renewals = new AtomicInteger();
+    private final AtomicInteger renewalsNotFound = new AtomicInteger();
+    private final AtomicInteger cancellations = new AtomicInteger();
+    private final AtomicInteger fetches = new AtomicInteger();
+    private volatile String lastRenewQuery;
+
+    public StubEurekaServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/eureka/apps", this::handle);
+        server.setExecutor(Executors.newFixedThreadPool(4));
+        server.start();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            // 先讀完請求本體，否則連線無法重用，客戶端會遇到連線被關閉
+            byte[] body = exchange.getRequestBody().readAllBytes();
+            String[] path = exchange.getRequestURI().getPath().split("/");
+            // ["", "eureka", "apps", APP?, ID?]
+            String method = exchange.getRequestMethod();
+            if ("GET".equals(method) && path.length == 4 && "delta".equals(path[3])) {
+                fetches.incrementAndGet();
+                exchange.getResponseHeaders().add("Content-Type", "application/json");
+                exchange.sendResponseHeaders(200, EMPTY_DELTA.length);
+                exchange.getResponseBody().write(EMPTY_DELTA);
+            } else if ("POST".equals(method) && path.length == 4) {
+                JsonNode instance = MAPPER.readTree(body).path("instance");
+                instances.put(instance.path("instanceId").asText(), instance);
+                registrations.incrementAndGet();
+                exchange.sendResponseHeaders(204, -1);
+            } else if ("PUT".equals(method) && path.length == 5) {
+                lastRenewQuery = exchange.getRequestURI().getQuery();
+                boolean known = instances.containsKey(path[4]);
+                (known ? renewals : renewalsNotFound).incrementAndGet();
+                exchange.sendResponseHeaders(known ? 200 : 404, -1);
+            } else if ("DELETE".equals(method) && path.length == 5) {
+                boolean known = instances.remove(path[4]) != null;
+                if (known) {
+                    cancellations.incrementAndGet();
+                }
+                exchange.sendResponseHeaders(known ? 200 : 404, -1);
+            } else {
+                exchange.sendResponseHeaders(405, -1);
+            }
+        }
+    }
+
+    public URI eurekaUrl() {
+        return URI.create("http://127.0.0.1:" + server.getAddress().getPort() + "/eureka");
+    }
+
+    public Map<String, JsonNode> instances() {
+        return instances;
+    }
+
+    public void evict(String instanceId) {
+        instances.remove(instanceId);
+    }
+
+    public int registrations() {
+        return registrations.get();
+    }
+
+    public int renewals() {
+        return renewals.get();
+    }
+
+    public int renewalsNotFound() {
+        return renewalsNotFound.get();
+    }
+
+    public int cancellations() {
+        return cancellations.get();
+    }
+
+    public int fetches() {
+        return fetches.get();
+    }
+
+    public String lastRenewQuery() {
+        return lastRenewQuery;
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+}
@@ -0,0 +1,114 @@
+package com.petlearning.simulator.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.petlearning.simulator.config.SimulatorProperties;
+import com.petlearning.simulator.eureka.EurekaRestClient;
+import com.petlearning.simulator.eureka.StubEurekaServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.function.BooleanSupplier;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 負載模擬器測試
+ *
+ * 以縮短的心跳與抓取間隔對測試用 Eureka 端點執行模擬
+ */
+class LoadSimulatorTest {
+
+    private StubEurekaServer server;
+    private SimulatorProperties properties;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = new StubEurekaServer();
+        properties = new SimulatorProperties();
+        properties.setEurekaUrl(server.eurekaUrl());
+        properties.setInstances(20);
+        properties.setApplications(4);
+        properties.setRenewInterval(Duration.ofMillis(100));
+        properties.setFetchInterval(Duration.ofMillis(200));
+        properties.setRampUp(Duration.ofMillis(100));
+        properties.setReportInterval(Duration.ofSeconds(1));
+        properties.setThreads(4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.close();
+    }
+
+    @Test
+    void should_RegisterRenewAndFetch_When_SimulationRuns() throws Exception {
+        // Given
+        properties.setSilentFraction(0.25);
+        LoadSimulator simulator = simulator();
+
+        // When
+        simulator.start();
+        awaitUntil(() -> server.registrations() == 20 && server.renewals() >= 30 && server.fetches() >= 20);
+        simulator.stop();
+
+        // Then
+        assertThat(server.cancellations()).isEqualTo(15);
+        assertThat(server.instances()).hasSize(5);
+        assertThat(server.renewalsNotFound()).isZero();
+        Map<LoadSimulator.Operation, OperationStats.Snapshot> totals = simulator.totals();
+        assertThat(totals.get(LoadSimulator.Operation.REGISTER).count()).isEqualTo(20);
+        assertThat(totals.get(LoadSimulator.Operation.RENEW).count()).isGreaterThanOrEqualTo(30);
+        assertThat(totals.get(LoadSimulator.Operation.CANCEL).count()).isEqualTo(15);
+        assertThat(totals.values()).allSatisfy(snapshot -> assertThat(snapshot.errors()).isZero());
+    }
+
+    @Test
+    void should_ReRegister_When_ServerEvictedInstance() throws Exception {
+        // Given
+        properties.setInstances(2);
+        LoadSimulator simulator = simulator();
+        simulator.start();
+        awaitUntil(() -> server.renewals() >= 2);
+
+        // When
+        server.evict("sim-00000");
+        awaitUntil(() -> server.instances().containsKey("sim-00000"));
+        simulator.stop();
+
+        // Then
+        assertThat(server.renewalsNotFound()).isPositive();
+        assertThat(simulator.getReRegistrations()).isPositive();
+        assertThat(server.registrations()).isGreaterThanOrEqualTo(3);
+    }
+
+    @Test
+    void should_SpreadSilentInstances_When_FractionConfigured() {
+        // When
+        long silent = IntStream.range(0, 100).filter(i -> LoadSimulator.isSilent(i, 0.25)).count();
+
+        // Then
+        assertThat(silent).isEqualTo(25);
+        assertThat(LoadSimulator.isSilent(3, 0.25)).isTrue();
+        assertThat(LoadSimulator.isSilent(0, 0.0)).isFalse();
+    }
+
+    private LoadSimulator simulator() {
+        EurekaRestClient client = new EurekaRestClient(properties.getEurekaUrl(), Duration.ofSeconds(1),
+                Duration.ofSeconds(2), properties.getLeaseDuration(), properties.getRenewInterval(),
+                new ObjectMapper());
+        return new LoadSimulator(client, properties);
+    }
+
+    private static void awaitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condition not met within 10s").isLessThan(deadline);
+            Thread.sleep(20);
+        }
+    }
+}
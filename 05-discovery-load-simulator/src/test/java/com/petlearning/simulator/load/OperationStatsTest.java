@@ -0,0 +1,55 @@
+package com.petlearning.simulator.load;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * 操作延遲統計測試
+ */
+class OperationStatsTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    void should_ReportIntervalAndAccumulateTotal_When_IntervalsRoll() {
+        // Given
+        OperationStats stats = new OperationStats("renew", 0);
+        for (int i = 1; i <= 100; i++) {
+            stats.record(TimeUnit.MILLISECONDS.toNanos(i), false);
+        }
+
+        // When
+        OperationStats.Snapshot first = stats.interval(SECOND);
+        stats.record(TimeUnit.MILLISECONDS.toNanos(5), true);
+        OperationStats.Snapshot second = stats.interval(2 * SECOND);
+
+        // Then
+        assertThat(first.count()).isEqualTo(100);
+        assertThat(first.perSecond()).isEqualTo(100.0);
+        assertThat(first.p50Millis()).isCloseTo(50.0, within(1.0));
+        assertThat(first.p99Millis()).isCloseTo(99.0, within(1.0));
+        assertThat(second.count()).isEqualTo(1);
+        assertThat(second.errors()).isEqualTo(1);
+        assertThat(stats.total().count()).isEqualTo(101);
+        assertThat(stats.total().errors()).isEqualTo(1);
+        assertThat(stats.total().perSecond()).isEqualTo(50.5);
+    }
+
+    @Test
+    void should_ReturnZeroPercentiles_When_NothingRecorded() {
+        // Given
+        OperationStats stats = new OperationStats("fetch", 0);
+
+        // When
+        OperationStats.Snapshot snapshot = stats.interval(SECOND);
+
+        // Then
+        assertThat(snapshot.count()).isZero();
+        assertThat(snapshot.p99Millis()).isZero();
+        assertThat(snapshot.format()).startsWith("fetch");
+    }
+}
@@ -0,0 +1,25 @@
+package com.petlearning.discovery.config;
+
+import com.petlearning.discovery.registry.InstrumentedRegistryPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 註冊表量測配置
+ *
+ * 關閉方式：discovery.registry.instrumentation.enabled=false，
+ * 此時使用 Spring Cloud 原本的 InstanceRegistry，/api/info 只回傳 Eureka 本身的統計。
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "discovery.registry.instrumentation", name = "enabled", matchIfMissing = true)
+public class RegistryInstrumentationConfig {
+
+    /**
+     * 宣告為 static，後處理器不必先建立本配置類別
+     */
+    @Bean
+    static InstrumentedRegistryPostProcessor instrumentedRegistryPostProcessor() {
+        return new InstrumentedRegistryPostProcessor();
+    }
+}
@@ -1,16 +1,19 @@
 package com.petlearning.discovery.controller;
 
+import com.netflix.eureka.registry.PeerAwareInstanceRegistryImpl;
+import com.petlearning.discovery.dto.RegistryInfo;
+import com.petlearning.discovery.registry.InstrumentedInstanceRegistry;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 /**
  * Eureka Server 演示端點
- * 
+ *
  * 說明：
  * - Eureka Dashboard 提供 Web UI: http://localhost:8761
  * - 此端點提供 API 方式訪問服務實例信息
- * 
+ *
  * 使用場景：
  * 1. 驗證服務是否正確註冊
  * 2. 檢查服務實例的健康狀態
@@ -20,6 +23,14 @@ import org.springframework.web.bind.annotation.RestController;
 @RequestMapping("/api")
 public class EurekaInfoController {
 
+    private static final String NAME = "Eureka Discovery Server";
+
+    private final PeerAwareInstanceRegistryImpl registry;
+
+    public EurekaInfoController(PeerAwareInstanceRegistryImpl registry) {
+        this.registry = registry;
+    }
+
     /**
      * 健康檢查
      */
@@ -29,10 +40,20 @@ public class EurekaInfoController {
     }
 
     /**
-     * 獲取伺服器信息
+     * 獲取伺服器信息：即時的註冊表大小與吞吐量
      */
     @GetMapping("/info")
-    public String info() {
-        return "Eureka Discovery Server - Service Registry for Microservices";
+    public RegistryInfo info() {
+        long instances = registry.getLocalRegistrySize();
+        long renews = registry.getNumOfRenewsInLastMin();
+        int threshold = registry.getNumOfRenewsPerMinThreshold();
+        if (registry instanceof InstrumentedInstanceRegistry instrumented) {
+            return new RegistryInfo(NAME, instances, renews, renews / 60.0, threshold,
+                    instrumented.getNumOfRegistrationsInLastMin(),
+                    instrumented.getNumOfCancellationsInLastMin(),
+                    instrumented.getNumOfEvictionsInLastMin(),
+                    instrumented.getLastEvictionSweep());
+        }
+        return new RegistryInfo(NAME, instances, renews, renews / 60.0, threshold, null, null, null, null);
     }
 }
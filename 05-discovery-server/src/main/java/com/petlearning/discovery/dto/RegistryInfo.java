@@ -0,0 +1,31 @@
+package com.petlearning.discovery.dto;
+
+import java.time.Duration;
+
+/**
+ * /api/info 回傳的即時註冊表資訊
+ *
+ * registrations/cancellations/evictions 與 lastEvictionSweep 來自 InstrumentedInstanceRegistry，
+ * 關閉量測時為 null。
+ *
+ * @param name 伺服器名稱
+ * @param instances 目前註冊的實例數
+ * @param renewsLastMinute 最近一分鐘收到的心跳數
+ * @param renewsPerSecond 最近一分鐘的平均心跳速率
+ * @param renewThreshold 每分鐘心跳低於此值時進入自我保護（已停用自我保護時僅供參考）
+ * @param registrationsLastMinute 最近一分鐘的註冊數
+ * @param cancellationsLastMinute 最近一分鐘的主動下線數
+ * @param evictionsLastMinute 最近一分鐘因租約過期被逐出的實例數
+ * @param lastEvictionSweep 最近一次逐出掃描的耗時
+ */
+public record RegistryInfo(
+        String name,
+        long instances,
+        long renewsLastMinute,
+        double renewsPerSecond,
+        int renewThreshold,
+        Long registrationsLastMinute,
+        Long cancellationsLastMinute,
+        Long evictionsLastMinute,
+        Duration lastEvictionSweep) {
+}
@@ -0,0 +1,232 @@
+package com.petlearning.discovery.registry;
+
+import com.netflix.appinfo.InstanceInfo;
+import com.netflix.discovery.EurekaClient;
+import com.netflix.discovery.EurekaClientConfig;
+import com.netflix.discovery.shared.Applications;
+import com.netflix.eureka.EurekaServerConfig;
+import com.netflix.eureka.resources.ServerCodecs;
+import com.netflix.eureka.transport.EurekaServerHttpClientFactory;
+import com.netflix.eureka.util.MeasuredRate;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.cloud.netflix.eureka.server.InstanceRegistry;
+import org.springframework.cloud.netflix.eureka.server.InstanceRegistryProperties;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+
+/**
+ * 加上 Micrometer 量測的 Eureka 註冊表
+ *
+ * 量測項目：
+ * - eureka.registry.operation（tag operation, result）：register / renew / cancel 在註冊表內的處理時間，
+ *   result=not_found 表示 renew/cancel 找不到實例（客戶端收到 404 後會重新註冊）
+ * - eureka.registry.eviction：每次逐出掃描的時間；eureka.registry.evicted：被逐出的實例數
+ * - eureka.registry.payload.build（tag type=full|delta）：回應快取失效後重建全量 / 增量註冊表快照的時間，
+ *   之後 ResponseCache 還會序列化成 JSON/XML，這段時間由客戶端的 fetch 延遲反映
+ * - eureka.registry.instances、eureka.registry.renews.last.minute、eureka.registry.renew.threshold
+ *
+ * 逐出與快取重建都是父類別內部呼叫（EvictionTask、ResponseCacheImpl），
+ * 所以必須以子類別覆寫，無法用代理包裝；替換方式見 {@link InstrumentedRegistryPostProcessor}。
+ */
+public class InstrumentedInstanceRegistry extends InstanceRegistry {
+
+    private static final long RATE_INTERVAL_MS = 60_000;
+
+    private final Timer registerTimer;
+    private final Timer renewTimer;
+    private final Timer renewNotFoundTimer;
+    private final Timer cancelTimer;
+    private final Timer cancelNotFoundTimer;
+    private final Timer evictionTimer;
+    private final Counter evicted;
+    private final Timer fullBuildTimer;
+    private final Timer deltaBuildTimer;
+
+    private final MeasuredRate registrationsLastMin = new MeasuredRate(RATE_INTERVAL_MS);
+    private final MeasuredRate cancellationsLastMin = new MeasuredRate(RATE_INTERVAL_MS);
+    private final MeasuredRate evictionsLastMin = new MeasuredRate(RATE_INTERVAL_MS);
+
+    private volatile Thread evictionThread;
+    private volatile long lastEvictionSweepNanos;
+
+    public InstrumentedInstanceRegistry(EurekaServerConfig serverConfig, EurekaClientConfig clientConfig,
+                                        ServerCodecs serverCodecs, EurekaClient eurekaClient,
+                                        EurekaServerHttpClientFactory httpClientFactory,
+                                        InstanceRegistryProperties properties, MeterRegistry meterRegistry) {
+        super(serverConfig, clientConfig, serverCodecs, initialized(eurekaClient), httpClientFactory,
+                properties.getExpectedNumberOfClientsSendingRenews(), properties.getDefaultOpenForTrafficCount());
+        registerTimer = operationTimer(meterRegistry, "register", "success");
+        renewTimer = operationTimer(meterRegistry, "renew", "success");
+        renewNotFoundTimer = operationTimer(meterRegistry, "renew", "not_found");
+        cancelTimer = operationTimer(meterRegistry, "cancel", "success");
+        cancelNotFoundTimer = operationTimer(meterRegistry, "cancel", "not_found");
+        evictionTimer = Timer.builder("eureka.registry.eviction")
+                .description("Time spent in one eviction sweep over the registry")
+                .register(meterRegistry);
+        evicted = Counter.builder("eureka.registry.evicted")
+                .description("Instances removed because their lease expired")
+                .register(meterRegistry);
+        fullBuildTimer = payloadTimer(meterRegistry, "full");
+        deltaBuildTimer = payloadTimer(meterRegistry, "delta");
+        Gauge.builder("eureka.registry.instances", this, InstrumentedInstanceRegistry::getLocalRegistrySize)
+                .description("Instances currently held in the local registry")
+                .register(meterRegistry);
+        Gauge.builder("eureka.registry.renews.last.minute", this, InstrumentedInstanceRegistry::getNumOfRenewsInLastMin)
+                .description("Heartbeats received during the last minute")
+                .register(meterRegistry);
+        Gauge.builder("eureka.registry.renew.threshold", this, InstrumentedInstanceRegistry::getNumOfRenewsPerMinThreshold)
+                .description("Heartbeats per minute below which self preservation kicks in")
+                .register(meterRegistry);
+
+        registrationsLastMin.start();
+        cancellationsLastMin.start();
+        evictionsLastMin.start();
+    }
+
+    @Override
+    public void register(InstanceInfo info, boolean isReplication) {
+        long start = System.nanoTime();
+        try {
+            super.register(info, isReplication);
+            registrationsLastMin.increment();
+        } finally {
+            registerTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public boolean renew(String appName, String serverId, boolean isReplication) {
+        return timed(renewTimer, renewNotFoundTimer, () -> super.renew(appName, serverId, isReplication));
+    }
+
+    @Override
+    public boolean cancel(String appName, String serverId, boolean isReplication) {
+        boolean cancelled = timed(cancelTimer, cancelNotFoundTimer,
+                () -> super.cancel(appName, serverId, isReplication));
+        if (cancelled) {
+            cancellationsLastMin.increment();
+        }
+        return cancelled;
+    }
+
+    /**
+     * EvictionTask 每個 evictionIntervalTimerInMs 呼叫一次；掃描期間的 internalCancel 都算逐出
+     */
+    @Override
+    public void evict(long additionalLeaseMs) {
+        long start = System.nanoTime();
+        evictionThread = Thread.currentThread();
+        try {
+            super.evict(additionalLeaseMs);
+        } finally {
+            evictionThread = null;
+            long elapsed = System.nanoTime() - start;
+            lastEvictionSweepNanos = elapsed;
+            evictionTimer.record(elapsed, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    protected boolean internalCancel(String appName, String id, boolean isReplication) {
+        boolean cancelled = super.internalCancel(appName, id, isReplication);
+        if (cancelled && Thread.currentThread() == evictionThread) {
+            evicted.increment();
+            evictionsLastMin.increment();
+        }
+        return cancelled;
+    }
+
+    /**
+     * getApplications() 最後也會走到這裡，所以只在此量測全量快照
+     */
+    @Override
+    public Applications getApplicationsFromMultipleRegions(String[] remoteRegions) {
+        return timed(fullBuildTimer, () -> super.getApplicationsFromMultipleRegions(remoteRegions));
+    }
+
+    @Override
+    public Applications getApplicationDeltas() {
+        return timed(deltaBuildTimer, super::getApplicationDeltas);
+    }
+
+    @Override
+    public Applications getApplicationDeltasFromMultipleRegions(String[] remoteRegions) {
+        return timed(deltaBuildTimer, () -> super.getApplicationDeltasFromMultipleRegions(remoteRegions));
+    }
+
+    @Override
+    public void shutdown() {
+        registrationsLastMin.stop();
+        cancellationsLastMin.stop();
+        evictionsLastMin.stop();
+        super.shutdown();
+    }
+
+    public long getNumOfRegistrationsInLastMin() {
+        return registrationsLastMin.getCount();
+    }
+
+    public long getNumOfCancellationsInLastMin() {
+        return cancellationsLastMin.getCount();
+    }
+
+    public long getNumOfEvictionsInLastMin() {
+        return evictionsLastMin.getCount();
+    }
+
+    /**
+     * 最近一次逐出掃描花費的時間，尚未掃描過時為 Duration.ZERO
+     */
+    public Duration getLastEvictionSweep() {
+        return Duration.ofNanos(lastEvictionSweepNanos);
+    }
+
+    /**
+     * 與 EurekaServerAutoConfiguration 相同：建立註冊表前先強制初始化內嵌的 EurekaClient
+     */
+    private static EurekaClient initialized(EurekaClient eurekaClient) {
+        eurekaClient.getApplications();
+        return eurekaClient;
+    }
+
+    private static boolean timed(Timer found, Timer notFound, BooleanSupplier call) {
+        long start = System.nanoTime();
+        boolean result = false;
+        try {
+            result = call.getAsBoolean();
+            return result;
+        } finally {
+            (result ? found : notFound).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private static <T> T timed(Timer timer, Supplier<T> call) {
+        long start = System.nanoTime();
+        try {
+            return call.get();
+        } finally {
+            timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private static Timer operationTimer(MeterRegistry registry, String operation, String result) {
+        return Timer.builder("eureka.registry.operation")
+                .description("Time spent handling a registry operation")
+                .tag("operation", operation)
+                .tag("result", result)
+                .register(registry);
+    }
+
+    private static Timer payloadTimer(MeterRegistry registry, String type) {
+        return Timer.builder("eureka.registry.payload.build")
+                .description("Time spent building a registry snapshot after a response cache miss")
+                .tag("type", type)
+                .register(registry);
+    }
+}
@@ -0,0 +1,32 @@
+package com.petlearning.discovery.registry;
+
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.beans.factory.support.BeanDefinitionRegistry;
+import org.springframework.beans.factory.support.BeanDefinitionRegistryPostProcessor;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+
+/**
+ * 把 Spring Cloud 建立的 peerAwareInstanceRegistry 換成 {@link InstrumentedInstanceRegistry}
+ *
+ * EurekaServerAutoConfiguration 的註冊表 Bean 沒有 @ConditionalOnMissingBean，
+ * 同名 Bean 又需要開啟 allow-bean-definition-overriding，所以在 Bean 定義階段直接替換；
+ * 其他 Eureka Bean 以 PeerAwareInstanceRegistry 型別注入，會拿到替換後的實例。
+ * 未啟用 Eureka Server（沒有這個 Bean 定義）時不做任何事。
+ */
+public class InstrumentedRegistryPostProcessor implements BeanDefinitionRegistryPostProcessor {
+
+    static final String REGISTRY_BEAN = "peerAwareInstanceRegistry";
+
+    @Override
+    public void postProcessBeanDefinitionRegistry(BeanDefinitionRegistry registry) {
+        if (!registry.containsBeanDefinition(REGISTRY_BEAN)) {
+            return;
+        }
+        registry.removeBeanDefinition(REGISTRY_BEAN);
+        registry.registerBeanDefinition(REGISTRY_BEAN, new RootBeanDefinition(InstrumentedInstanceRegistry.class));
+    }
+
+    @Override
+    public void postProcessBeanFactory(ConfigurableListableBeanFactory beanFactory) {
+    }
+}
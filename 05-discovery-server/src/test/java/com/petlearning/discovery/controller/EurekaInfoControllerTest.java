@@ -1,16 +1,20 @@
 package com.petlearning.discovery.controller;
 
+import com.netflix.eureka.registry.PeerAwareInstanceRegistryImpl;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.test.web.servlet.MockMvc;
 
+import static org.mockito.BDDMockito.given;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 /**
  * Eureka 控制器測試
- * 
+ *
  * TDD 練習：
  * - 測試健康檢查端點
  * - 測試伺服器信息端點
@@ -21,6 +25,9 @@ class EurekaInfoControllerTest {
     @Autowired
     private MockMvc mockMvc;
 
+    @MockBean
+    private PeerAwareInstanceRegistryImpl registry;
+
     @Test
     void should_ReturnSuccess_When_HealthCheckCalled() throws Exception {
         // When & Then
@@ -34,4 +41,18 @@ class EurekaInfoControllerTest {
         mockMvc.perform(get("/api/info"))
                 .andExpect(status().isOk());
     }
+
+    @Test
+    void should_ReportLiveRegistrySize_When_InfoCalled() throws Exception {
+        // Given
+        given(registry.getLocalRegistrySize()).willReturn(120L);
+        given(registry.getNumOfRenewsInLastMin()).willReturn(240L);
+
+        // When & Then
+        mockMvc.perform(get("/api/info"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.instances").value(120))
+                .andExpect(jsonPath("$.renewsLastMinute").value(240))
+                .andExpect(jsonPath("$.renewsPerSecond").value(4.0));
+    }
 }
@@ -0,0 +1,120 @@
+package com.petlearning.discovery.registry;
+
+import com.netflix.appinfo.DataCenterInfo;
+import com.netflix.appinfo.InstanceInfo;
+import com.netflix.appinfo.LeaseInfo;
+import com.netflix.appinfo.MyDataCenterInfo;
+import com.petlearning.discovery.dto.RegistryInfo;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 註冊表量測測試
+ *
+ * 啟動完整的 Eureka Server，直接對註冊表操作後檢查指標與 /api/info
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class InstrumentedInstanceRegistryTest {
+
+    private static final String APP = "SIMULATED-SERVICE";
+
+    @Autowired
+    private InstrumentedInstanceRegistry registry;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @AfterEach
+    void tearDown() {
+        registry.cancel(APP, "instance-1", false);
+        registry.cancel(APP, "instance-2", false);
+    }
+
+    @Test
+    void should_ReplaceDefaultRegistry_When_ContextStarts() {
+        // Then
+        assertThat(registry).isExactlyInstanceOf(InstrumentedInstanceRegistry.class);
+    }
+
+    @Test
+    void should_TimeRegistryOperations_When_InstancesRegisterAndRenew() {
+        // Given
+        long registered = count("register", "success");
+
+        // When
+        registry.register(instance("instance-1", 90), false);
+        registry.renew(APP, "instance-1", false);
+        registry.renew(APP, "missing", false);
+
+        // Then
+        assertThat(count("register", "success")).isEqualTo(registered + 1);
+        assertThat(count("renew", "success")).isPositive();
+        assertThat(count("renew", "not_found")).isPositive();
+        RegistryInfo info = restTemplate.getForObject("/api/info", RegistryInfo.class);
+        assertThat(info.instances()).isEqualTo(1);
+        assertThat(info.registrationsLastMinute()).isNotNull();
+    }
+
+    @Test
+    void should_CountEvictedInstances_When_LeaseExpires() throws Exception {
+        // Given
+        double evicted = meterRegistry.get("eureka.registry.evicted").counter().count();
+        registry.register(instance("instance-1", 1), false);
+        registry.register(instance("instance-2", 90), false);
+        Thread.sleep(1_100);
+
+        // When
+        registry.evict();
+
+        // Then
+        assertThat(meterRegistry.get("eureka.registry.evicted").counter().count()).isEqualTo(evicted + 1);
+        assertThat(meterRegistry.get("eureka.registry.eviction").timer().count()).isPositive();
+        assertThat(registry.getLocalRegistrySize()).isEqualTo(1);
+    }
+
+    @Test
+    void should_TimeSnapshotBuild_When_DeltaAndFullRequested() {
+        // Given
+        registry.register(instance("instance-1", 90), false);
+
+        // When
+        registry.getApplicationDeltas();
+        registry.getApplications();
+
+        // Then
+        assertThat(meterRegistry.get("eureka.registry.payload.build").tag("type", "delta").timer().count())
+                .isPositive();
+        assertThat(meterRegistry.get("eureka.registry.payload.build").tag("type", "full").timer().count())
+                .isPositive();
+    }
+
+    private long count(String operation, String result) {
+        return meterRegistry.get("eureka.registry.operation")
+                .tag("operation", operation)
+                .tag("result", result)
+                .timer()
+                .count();
+    }
+
+    private static InstanceInfo instance(String id, int leaseSeconds) {
+        return InstanceInfo.Builder.newBuilder()
+                .setAppName(APP)
+                .setInstanceId(id)
+                .setHostName(id + ".local")
+                .setIPAddr("127.0.0.1")
+                .setPort(8080)
+                .setStatus(InstanceInfo.InstanceStatus.UP)
+                .setDataCenterInfo(new MyDataCenterInfo(DataCenterInfo.Name.MyOwn))
+                .setLeaseInfo(LeaseInfo.Builder.newBuilder().setDurationInSecs(leaseSeconds).build())
+                .build();
+    }
+}
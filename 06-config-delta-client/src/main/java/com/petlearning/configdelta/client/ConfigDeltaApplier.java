@@ -0,0 +1,148 @@
+package com.petlearning.configdelta.client;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.ConfigurationPropertiesBean;
+import org.springframework.boot.context.properties.source.ConfigurationPropertyName;
+import org.springframework.cloud.context.environment.EnvironmentChangeEvent;
+import org.springframework.cloud.context.properties.ConfigurationPropertiesRebinder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.MutablePropertySources;
+import org.springframework.core.env.PropertySource;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 把 Config Server 推播的設定變更套用到本機 Environment，並只刷新受影響的 Bean
+ *
+ * 做法：
+ * - 遠端設定放在名為 {@value #PROPERTY_SOURCE_NAME} 的 MapPropertySource；
+ *   已有 spring.config.import=configserver: 匯入的來源時取代它們的位置，否則放在系統環境變數之後
+ * - 套用前後比對每個 key 的有效值，只有真的改變的 key 才算（被本機更高優先序來源蓋掉的不算）
+ * - 只 rebind prefix 涵蓋變更 key 的 @ConfigurationProperties Bean
+ * - 發布 EnvironmentChangeEvent（事件來源不是 ApplicationContext，
+ *   ConfigurationPropertiesRebinder 因此不會再全部 rebind 一次；LoggingRebinder 等監聽者照常運作）
+ */
+public class ConfigDeltaApplier {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConfigDeltaApplier.class);
+
+    public static final String PROPERTY_SOURCE_NAME = "configServerDelta";
+
+    /** Spring Cloud Config 客戶端匯入的 property source 名稱前綴 */
+    private static final List<String> CONFIG_SERVER_SOURCES = List.of("configserver:", "configClient", "bootstrapProperties");
+
+    private final ConfigurableApplicationContext context;
+    private final ObjectProvider<ConfigurationPropertiesRebinder> rebinder;
+    /** 其他執行緒隨時在讀 Environment，用 ConcurrentHashMap 而非 LinkedHashMap */
+    private final Map<String, Object> values = new ConcurrentHashMap<>();
+
+    public ConfigDeltaApplier(ConfigurableApplicationContext context,
+                              ObjectProvider<ConfigurationPropertiesRebinder> rebinder) {
+        this.context = context;
+        this.rebinder = rebinder;
+    }
+
+    /**
+     * 套用一次推播，回傳有效值真的改變的 key
+     */
+    public synchronized Set<String> apply(ConfigDeltaMessage message) {
+        ConfigurableEnvironment environment = context.getEnvironment();
+        install(environment.getPropertySources());
+
+        Set<String> touched = new LinkedHashSet<>(message.changed().keySet());
+        touched.addAll(message.removed());
+        if (message.full()) {
+            touched.addAll(values.keySet());
+        }
+        Map<String, String> before = new LinkedHashMap<>();
+        touched.forEach(key -> before.put(key, environment.getProperty(key)));
+
+        if (message.full()) {
+            // 不先 clear：讀取端不會看到設定暫時消失
+            values.keySet().retainAll(message.changed().keySet());
+        }
+        message.changed().forEach((key, value) -> {
+            if (value == null) {
+                values.remove(key);
+            } else {
+                values.put(key, value);
+            }
+        });
+        message.removed().forEach(values::remove);
+
+        Set<String> changed = new LinkedHashSet<>();
+        touched.forEach(key -> {
+            if (!Objects.equals(before.get(key), environment.getProperty(key))) {
+                changed.add(key);
+            }
+        });
+        if (changed.isEmpty()) {
+            return changed;
+        }
+        List<String> rebound = rebind(changed);
+        context.publishEvent(new EnvironmentChangeEvent(this, changed));
+        logger.info("Applied config commit {}: {} keys changed, rebound {}", message.commit(), changed.size(), rebound);
+        return changed;
+    }
+
+    /**
+     * 只 rebind prefix 涵蓋變更 key 的 @ConfigurationProperties Bean
+     */
+    private List<String> rebind(Set<String> keys) {
+        ConfigurationPropertiesRebinder propertiesRebinder = rebinder.getIfAvailable();
+        if (propertiesRebinder == null) {
+            return List.of();
+        }
+        List<ConfigurationPropertyName> names = keys.stream()
+                .map(key -> ConfigurationPropertyName.adapt(key, '.'))
+                .toList();
+        List<String> rebound = new ArrayList<>();
+        for (String beanName : propertiesRebinder.getBeanNames()) {
+            ConfigurationPropertiesBean bean = ConfigurationPropertiesBean.get(context, context.getBean(beanName), beanName);
+            if (bean != null && affects(bean.getAnnotation().prefix(), names) && propertiesRebinder.rebind(beanName)) {
+                rebound.add(beanName);
+            }
+        }
+        return rebound;
+    }
+
+    static boolean affects(String prefix, List<ConfigurationPropertyName> keys) {
+        if (prefix.isEmpty()) {
+            return true;
+        }
+        ConfigurationPropertyName name = ConfigurationPropertyName.of(prefix);
+        return keys.stream().anyMatch(key -> name.equals(key) || name.isAncestorOf(key));
+    }
+
+    private void install(MutablePropertySources sources) {
+        if (sources.contains(PROPERTY_SOURCE_NAME)) {
+            return;
+        }
+        MapPropertySource delta = new MapPropertySource(PROPERTY_SOURCE_NAME, values);
+        List<String> imported = sources.stream()
+                .map(PropertySource::getName)
+                .filter(name -> CONFIG_SERVER_SOURCES.stream().anyMatch(name::startsWith))
+                .toList();
+        if (!imported.isEmpty()) {
+            // 第一次推播是完整快照，之後以它取代啟動時匯入的版本（否則被移除的 key 會露出舊值）
+            sources.addBefore(imported.get(0), delta);
+            imported.forEach(sources::remove);
+        } else if (sources.contains(StandardEnvironment.SYSTEM_ENVIRONMENT_PROPERTY_SOURCE_NAME)) {
+            sources.addAfter(StandardEnvironment.SYSTEM_ENVIRONMENT_PROPERTY_SOURCE_NAME, delta);
+        } else {
+            sources.addFirst(delta);
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.petlearning.configdelta.client;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Config Server 推播的設定變更（對應伺服器端的 ConfigDelta）
+ *
+ * @param commit   目前的 commit
+ * @param full     true 表示 changed 為完整設定，應取代先前套用的所有 key
+ * @param changed  新增或變更的 key 與新值
+ * @param removed  被移除的 key
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record ConfigDeltaMessage(String commit, String previousCommit, boolean full,
+                                 Map<String, Object> changed, List<String> removed) {
+
+    public ConfigDeltaMessage {
+        changed = changed == null ? Map.of() : changed;
+        removed = removed == null ? List.of() : removed;
+    }
+}
@@ -0,0 +1,235 @@
+package com.petlearning.configdelta.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.petlearning.configdelta.config.ConfigDeltaClientProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.util.StringUtils;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 訂閱 Config Server 的設定變更推播（Server-Sent Events）
+ *
+ * 做法：
+ * - JDK HttpClient 非同步讀取 SSE，連線閒置時不佔用任何執行緒；解析、套用、重新連線共用一條執行緒
+ * - 每個 snapshot / delta 事件交給 {@link ConfigDeltaApplier} 套用
+ * - 斷線後以指數退避重新連線，並以 Last-Event-ID 帶回最後套用的 commit，伺服器只補送錯過的差異
+ * - 超過 idle-timeout 沒收到任何資料（伺服器會定期送心跳）就視為半開連線，主動重連
+ */
+public class ConfigDeltaSubscriber implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConfigDeltaSubscriber.class);
+
+    private final ConfigDeltaClientProperties properties;
+    private final String application;
+    private final ConfigDeltaApplier applier;
+    private final ObjectMapper objectMapper;
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(task -> {
+        Thread thread = new Thread(task, "config-delta");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final HttpClient client;
+    private final AtomicReference<Connection> current = new AtomicReference<>();
+
+    private final AtomicLong applied = new AtomicLong();
+    private final AtomicLong reconnects = new AtomicLong();
+    private volatile boolean running;
+    private volatile String lastCommit;
+    private volatile Duration nextDelay;
+
+    public ConfigDeltaSubscriber(ConfigDeltaClientProperties properties, String application,
+                                 ConfigDeltaApplier applier, ObjectMapper objectMapper) {
+        this.properties = properties;
+        this.application = application;
+        this.applier = applier;
+        this.objectMapper = objectMapper;
+        this.nextDelay = properties.getReconnectDelay();
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(executor)
+                .build();
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        executor.execute(this::connect);
+        long check = Math.max(1, properties.getIdleTimeout().toMillis() / 3);
+        executor.scheduleWithFixedDelay(this::checkIdle, check, check, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        Connection connection = current.getAndSet(null);
+        if (connection != null) {
+            connection.cancel();
+        }
+        executor.shutdownNow();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    URI subscriptionUri() {
+        UriComponentsBuilder uri = UriComponentsBuilder.fromUriString(properties.getUri())
+                .path("/api/config-events/{application}/{profile}");
+        if (StringUtils.hasText(properties.getLabel())) {
+            uri.queryParam("label", properties.getLabel());
+        }
+        return uri.buildAndExpand(application, properties.getProfile()).encode().toUri();
+    }
+
+    private void connect() {
+        if (!running) {
+            return;
+        }
+        HttpRequest.Builder request = HttpRequest.newBuilder(subscriptionUri())
+                .header("Accept", "text/event-stream");
+        if (lastCommit != null) {
+            request.header("Last-Event-ID", lastCommit);
+        }
+        Connection connection = new Connection();
+        current.set(connection);
+        client.sendAsync(request.build(), HttpResponse.BodyHandlers.fromLineSubscriber(connection))
+                .whenComplete((response, ex) -> {
+                    if (ex != null) {
+                        logger.debug("Config event stream failed: {}", ex.getMessage());
+                    } else if (response.statusCode() != 200) {
+                        logger.warn("Config event stream returned HTTP {}", response.statusCode());
+                    }
+                    closed(connection);
+                });
+    }
+
+    private void closed(Connection connection) {
+        if (!running || !current.compareAndSet(connection, null)) {
+            return;
+        }
+        Duration delay = nextDelay;
+        nextDelay = delay.multipliedBy(2).compareTo(properties.getMaxReconnectDelay()) > 0
+                ? properties.getMaxReconnectDelay() : delay.multipliedBy(2);
+        reconnects.incrementAndGet();
+        logger.info("Config event stream closed, reconnecting in {} ms", delay.toMillis());
+        executor.schedule(this::connect, delay.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private void checkIdle() {
+        Connection connection = current.get();
+        if (connection != null && System.nanoTime() - connection.lastActivity > properties.getIdleTimeout().toNanos()) {
+            logger.warn("No data from config server for {} s, reconnecting", properties.getIdleTimeout().toSeconds());
+            connection.cancel();
+            closed(connection);
+        }
+    }
+
+    private void dispatch(Connection connection, String event, String data) {
+        if (!"snapshot".equals(event) && !"delta".equals(event)) {
+            return;
+        }
+        try {
+            ConfigDeltaMessage message = objectMapper.readValue(data, ConfigDeltaMessage.class);
+            if (!message.full() && lastCommit != null && !lastCommit.equals(message.previousCommit())) {
+                // 差異不是接在已套用的 commit 之後：重新連線讓伺服器從 lastCommit 補送
+                logger.warn("Config delta based on {} but last applied commit is {}, resubscribing",
+                        message.previousCommit(), lastCommit);
+                connection.cancel();
+                closed(connection);
+                return;
+            }
+            applier.apply(message);
+            lastCommit = message.commit();
+            nextDelay = properties.getReconnectDelay();
+            applied.incrementAndGet();
+        } catch (Exception ex) {
+            logger.warn("Cannot apply config event: {}", ex.getMessage());
+        }
+    }
+
+    public String getLastCommit() {
+        return lastCommit;
+    }
+
+    public long getApplied() {
+        return applied.get();
+    }
+
+    public long getReconnects() {
+        return reconnects.get();
+    }
+
+    /**
+     * 一條 SSE 連線：逐行解析，空行結束一個事件
+     */
+    private final class Connection implements Flow.Subscriber<String> {
+
+        private volatile Flow.Subscription subscription;
+        private volatile long lastActivity = System.nanoTime();
+        private volatile boolean cancelled;
+        private String event;
+        private StringBuilder data;
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            if (cancelled) {
+                subscription.cancel();
+            } else {
+                subscription.request(Long.MAX_VALUE);
+            }
+        }
+
+        @Override
+        public void onNext(String line) {
+            lastActivity = System.nanoTime();
+            if (cancelled) {
+                return;
+            }
+            if (line.isEmpty()) {
+                if (data != null) {
+                    dispatch(this, event, data.toString());
+                }
+                event = null;
+                data = null;
+            } else if (line.startsWith("event:")) {
+                event = line.substring("event:".length()).trim();
+            } else if (line.startsWith("data:")) {
+                data = data == null ? new StringBuilder() : data.append('\n');
+                data.append(line.substring("data:".length()));
+            }
+            // id: 與 commit 相同、以 ':' 開頭的是心跳註解，不需處理
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+        }
+
+        @Override
+        public void onComplete() {
+        }
+
+        private void cancel() {
+            cancelled = true;
+            if (subscription != null) {
+                subscription.cancel();
+            }
+        }
+    }
+}
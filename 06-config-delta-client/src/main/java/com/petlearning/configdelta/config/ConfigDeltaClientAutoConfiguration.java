@@ -0,0 +1,45 @@
+package com.petlearning.configdelta.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.petlearning.configdelta.client.ConfigDeltaApplier;
+import com.petlearning.configdelta.client.ConfigDeltaSubscriber;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.autoconfigure.ConfigurationPropertiesRebinderAutoConfiguration;
+import org.springframework.cloud.context.properties.ConfigurationPropertiesRebinder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.env.Environment;
+import org.springframework.util.StringUtils;
+
+/**
+ * 設定變更訂閱自動配置
+ *
+ * 服務加入 06-config-delta-client 依賴並設定 config-events.client.uri 即可啟用：
+ * 啟動完成後訂閱 Config Server，收到變更只刷新受影響的 @ConfigurationProperties Bean。
+ */
+@AutoConfiguration(after = {ConfigurationPropertiesRebinderAutoConfiguration.class, JacksonAutoConfiguration.class})
+@ConditionalOnProperty(prefix = "config-events.client", name = "uri")
+@EnableConfigurationProperties(ConfigDeltaClientProperties.class)
+public class ConfigDeltaClientAutoConfiguration {
+
+    @Bean
+    public ConfigDeltaApplier configDeltaApplier(ConfigurableApplicationContext context,
+                                                 ObjectProvider<ConfigurationPropertiesRebinder> rebinder) {
+        return new ConfigDeltaApplier(context, rebinder);
+    }
+
+    @Bean
+    public ConfigDeltaSubscriber configDeltaSubscriber(ConfigDeltaClientProperties properties,
+                                                       ConfigDeltaApplier configDeltaApplier,
+                                                       ObjectProvider<ObjectMapper> objectMapper,
+                                                       Environment environment) {
+        String application = StringUtils.hasText(properties.getApplication())
+                ? properties.getApplication() : environment.getProperty("spring.application.name", "application");
+        return new ConfigDeltaSubscriber(properties, application, configDeltaApplier,
+                objectMapper.getIfAvailable(ObjectMapper::new));
+    }
+}
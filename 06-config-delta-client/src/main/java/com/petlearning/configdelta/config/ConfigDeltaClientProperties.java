@@ -0,0 +1,97 @@
+package com.petlearning.configdelta.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * 設定變更訂閱設定
+ *
+ * 範例：
+ * <pre>
+ * config-events:
+ *   client:
+ *     uri: http://localhost:8888
+ *     profile: dev
+ * </pre>
+ */
+@ConfigurationProperties(prefix = "config-events.client")
+public class ConfigDeltaClientProperties {
+
+    /** Config Server 位址；未設定時不訂閱 */
+    private String uri;
+
+    /** 訂閱的 application，省略時取 spring.application.name */
+    private String application;
+
+    /** 訂閱的 profile（多個以逗號分隔） */
+    private String profile = "default";
+
+    /** git label，省略時由 Config Server 使用預設 label */
+    private String label;
+
+    /** 斷線後第一次重新連線的等待時間，之後每次加倍 */
+    private Duration reconnectDelay = Duration.ofSeconds(1);
+
+    /** 重新連線等待時間上限 */
+    private Duration maxReconnectDelay = Duration.ofSeconds(30);
+
+    /** 超過此時間沒收到任何資料（含心跳）即視為連線已死，主動重新連線；應大於伺服器心跳間隔 */
+    private Duration idleTimeout = Duration.ofSeconds(90);
+
+    public String getUri() {
+        return uri;
+    }
+
+    public void setUri(String uri) {
+        this.uri = uri;
+    }
+
+    public String getApplication() {
+        return application;
+    }
+
+    public void setApplication(String application) {
+        this.application = application;
+    }
+
+    public String getProfile() {
+        return profile;
+    }
+
+    public void setProfile(String profile) {
+        this.profile = profile;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public void setLabel(String label) {
+        this.label = label;
+    }
+
+    public Duration getReconnectDelay() {
+        return reconnectDelay;
+    }
+
+    public void setReconnectDelay(Duration reconnectDelay) {
+        this.reconnectDelay = reconnectDelay;
+    }
+
+    public Duration getMaxReconnectDelay() {
+        return maxReconnectDelay;
+    }
+
+    public void setMaxReconnectDelay(Duration maxReconnectDelay) {
+        this.maxReconnectDelay = maxReconnectDelay;
+    }
+
+    public Duration getIdleTimeout() {
+        return idleTimeout;
+    }
+
+    public void setIdleTimeout(Duration idleTimeout) {
+        this.idleTimeout = idleTimeout;
+    }
+}
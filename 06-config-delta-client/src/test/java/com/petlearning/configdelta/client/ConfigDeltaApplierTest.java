@@ -0,0 +1,170 @@
+package com.petlearning.configdelta.client;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.source.ConfigurationPropertyName;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.cloud.autoconfigure.ConfigurationPropertiesRebinderAutoConfiguration;
+import org.springframework.cloud.context.environment.EnvironmentChangeEvent;
+import org.springframework.cloud.context.properties.ConfigurationPropertiesRebinder;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.MapPropertySource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 設定變更套用測試：只有有效值改變的 key 會觸發刷新，且只 rebind 受影響的 Bean
+ */
+class ConfigDeltaApplierTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(ConfigurationPropertiesRebinderAutoConfiguration.class))
+            .withUserConfiguration(TestConfig.class)
+            // 本機 application.yml 的預設值，優先序低於 Config Server
+            .withInitializer(context -> context.getEnvironment().getPropertySources().addLast(
+                    new MapPropertySource("application.yml", Map.of("pets.page-size", 10, "owners.greeting", "hello"))));
+
+    @Test
+    void should_RebindOnlyAffectedBeans_When_SnapshotChangesKeys() {
+        contextRunner.run(context -> {
+            // Given
+            ConfigDeltaApplier applier = applier(context);
+            OwnersProperties owners = context.getBean(OwnersProperties.class);
+            int ownersBinds = owners.binds;
+
+            // When
+            Set<String> changed = applier.apply(new ConfigDeltaMessage("c1", null, true,
+                    Map.of("pets.page-size", 20, "owners.greeting", "hello"), List.of()));
+
+            // Then：owners.greeting 值沒變，不算變更也不 rebind
+            assertThat(changed).containsExactly("pets.page-size");
+            assertThat(context.getBean(PetsProperties.class).getPageSize()).isEqualTo(20);
+            assertThat(owners.binds).isEqualTo(ownersBinds);
+            assertThat(context.getBean(ChangeListener.class).keys).containsExactly(Set.of("pets.page-size"));
+        });
+    }
+
+    @Test
+    void should_FallBackToLocalValue_When_KeyRemoved() {
+        contextRunner.run(context -> {
+            // Given
+            ConfigDeltaApplier applier = applier(context);
+            applier.apply(new ConfigDeltaMessage("c1", null, true, Map.of("pets.page-size", 20), List.of()));
+
+            // When
+            Set<String> changed = applier.apply(new ConfigDeltaMessage("c2", "c1", false,
+                    Map.of(), List.of("pets.page-size")));
+
+            // Then
+            assertThat(changed).containsExactly("pets.page-size");
+            assertThat(context.getBean(PetsProperties.class).getPageSize()).isEqualTo(10);
+        });
+    }
+
+    @Test
+    void should_DropKeysMissingFromNewSnapshot_When_SnapshotReplacesPrevious() {
+        contextRunner.run(context -> {
+            // Given
+            ConfigDeltaApplier applier = applier(context);
+            applier.apply(new ConfigDeltaMessage("c1", null, true,
+                    Map.of("pets.page-size", 20, "pets.feature", "beta"), List.of()));
+
+            // When
+            Set<String> changed = applier.apply(new ConfigDeltaMessage("c5", null, true,
+                    Map.of("pets.page-size", 20), List.of()));
+
+            // Then
+            assertThat(changed).containsExactly("pets.feature");
+            assertThat(context.getEnvironment().getProperty("pets.feature")).isNull();
+        });
+    }
+
+    @Test
+    void should_IgnoreKey_When_OverriddenByHigherLocalSource() {
+        contextRunner.withPropertyValues("pets.page-size=99").run(context -> {
+            // When
+            Set<String> changed = applier(context).apply(new ConfigDeltaMessage("c1", null, true,
+                    Map.of("pets.page-size", 20), List.of()));
+
+            // Then
+            assertThat(changed).isEmpty();
+            assertThat(context.getBean(PetsProperties.class).getPageSize()).isEqualTo(99);
+            assertThat(context.getBean(ChangeListener.class).keys).isEmpty();
+        });
+    }
+
+    @Test
+    void should_MatchRelaxedNames_When_CheckingPrefix() {
+        // When & Then
+        assertThat(ConfigDeltaApplier.affects("pets", List.of(ConfigurationPropertyName.adapt("pets.pageSize", '.'))))
+                .isTrue();
+        assertThat(ConfigDeltaApplier.affects("pets", List.of(ConfigurationPropertyName.adapt("petstore.name", '.'))))
+                .isFalse();
+    }
+
+    private static ConfigDeltaApplier applier(ConfigurableApplicationContext context) {
+        ObjectProvider<ConfigurationPropertiesRebinder> rebinder = context.getBeanProvider(ConfigurationPropertiesRebinder.class);
+        return new ConfigDeltaApplier(context, rebinder);
+    }
+
+    @Configuration
+    @EnableConfigurationProperties({PetsProperties.class, OwnersProperties.class})
+    static class TestConfig {
+
+        @Bean
+        ChangeListener changeListener() {
+            return new ChangeListener();
+        }
+    }
+
+    static class ChangeListener implements ApplicationListener<EnvironmentChangeEvent> {
+
+        private final List<Set<String>> keys = new ArrayList<>();
+
+        @Override
+        public void onApplicationEvent(EnvironmentChangeEvent event) {
+            keys.add(event.getKeys());
+        }
+    }
+
+    @ConfigurationProperties(prefix = "pets")
+    static class PetsProperties {
+
+        private int pageSize;
+
+        public int getPageSize() {
+            return pageSize;
+        }
+
+        public void setPageSize(int pageSize) {
+            this.pageSize = pageSize;
+        }
+    }
+
+    @ConfigurationProperties(prefix = "owners")
+    static class OwnersProperties {
+
+        private String greeting;
+        private int binds;
+
+        public String getGreeting() {
+            return greeting;
+        }
+
+        public void setGreeting(String greeting) {
+            this.greeting = greeting;
+            binds++;
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.petlearning.configdelta.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.petlearning.configdelta.config.ConfigDeltaClientProperties;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.context.properties.ConfigurationPropertiesRebinder;
+import org.springframework.context.support.GenericApplicationContext;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 設定變更訂閱測試：以 JDK HttpServer 模擬 Config Server 的 SSE 端點
+ */
+class ConfigDeltaSubscriberTest {
+
+    private HttpServer server;
+    private final BlockingQueue<Script> scripts = new LinkedBlockingQueue<>();
+    private final BlockingQueue<Optional<String>> lastEventIds = new LinkedBlockingQueue<>();
+    private final CountDownLatch shutdown = new CountDownLatch(1);
+    private GenericApplicationContext context;
+    private ConfigDeltaSubscriber subscriber;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/api/config-events/pets-service/default", this::stream);
+        server.start();
+
+        context = new GenericApplicationContext();
+        context.refresh();
+        ConfigDeltaClientProperties properties = new ConfigDeltaClientProperties();
+        properties.setUri("http://localhost:" + server.getAddress().getPort());
+        properties.setReconnectDelay(Duration.ofMillis(50));
+        ConfigDeltaApplier applier = new ConfigDeltaApplier(context,
+                context.getBeanProvider(ConfigurationPropertiesRebinder.class));
+        subscriber = new ConfigDeltaSubscriber(properties, "pets-service", applier, new ObjectMapper());
+    }
+
+    @AfterEach
+    void tearDown() {
+        subscriber.stop();
+        shutdown.countDown();
+        server.stop(0);
+        context.close();
+    }
+
+    @Test
+    void should_ApplyEventsAndResumeFromLastCommit_When_StreamReconnects() throws Exception {
+        // Given：第一條連線送快照與一次差異後斷線，第二條連線再送一次差異
+        scripts.add(new Script(true,
+                event("snapshot", "c1", "{\"commit\":\"c1\",\"full\":true,"
+                        + "\"changed\":{\"greeting\":\"hello\",\"pets.page-size\":20},\"removed\":[]}"),
+                event("delta", "c2", "{\"commit\":\"c2\",\"previousCommit\":\"c1\",\"full\":false,"
+                        + "\"changed\":{\"pets.page-size\":50},\"removed\":[]}")));
+        scripts.add(new Script(false,
+                event("delta", "c3", "{\"commit\":\"c3\",\"previousCommit\":\"c2\",\"full\":false,"
+                        + "\"changed\":{\"greeting\":\"bonjour\"},\"removed\":[]}")));
+
+        // When
+        subscriber.start();
+
+        // Then
+        await(() -> "c3".equals(subscriber.getLastCommit()));
+        assertThat(lastEventIds.poll(5, TimeUnit.SECONDS)).isEmpty();
+        assertThat(lastEventIds.poll(5, TimeUnit.SECONDS)).contains("c2");
+        assertThat(context.getEnvironment().getProperty("greeting")).isEqualTo("bonjour");
+        assertThat(context.getEnvironment().getProperty("pets.page-size")).isEqualTo("50");
+        assertThat(subscriber.getApplied()).isEqualTo(3);
+        assertThat(subscriber.getReconnects()).isEqualTo(1);
+    }
+
+    @Test
+    void should_Resubscribe_When_DeltaDoesNotFollowLastCommit() throws Exception {
+        // Given：c1 之後直接收到以 c2 為基準的差異（錯過了一次）
+        scripts.add(new Script(false,
+                event("snapshot", "c1", "{\"commit\":\"c1\",\"full\":true,\"changed\":{\"greeting\":\"hello\"}}"),
+                event("delta", "c3", "{\"commit\":\"c3\",\"previousCommit\":\"c2\",\"full\":false,"
+                        + "\"changed\":{\"greeting\":\"bonjour\"}}")));
+        scripts.add(new Script(false,
+                event("delta", "c3", "{\"commit\":\"c3\",\"previousCommit\":\"c1\",\"full\":false,"
+                        + "\"changed\":{\"greeting\":\"bonjour\"}}")));
+
+        // When
+        subscriber.start();
+
+        // Then：以 c1 重新訂閱，拿到接得上的差異
+        await(() -> "c3".equals(subscriber.getLastCommit()));
+        assertThat(lastEventIds.poll(5, TimeUnit.SECONDS)).isEmpty();
+        assertThat(lastEventIds.poll(5, TimeUnit.SECONDS)).contains("c1");
+        assertThat(context.getEnvironment().getProperty("greeting")).isEqualTo("bonjour");
+        assertThat(subscriber.getApplied()).isEqualTo(2);
+    }
+
+    private void stream(HttpExchange exchange) throws IOException {
+        lastEventIds.add(Optional.ofNullable(exchange.getRequestHeaders().getFirst("Last-Event-ID")));
+        Script script = scripts.poll();
+        exchange.getResponseHeaders().add("Content-Type", "text/event-stream");
+        exchange.sendResponseHeaders(200, 0);
+        OutputStream body = exchange.getResponseBody();
+        if (script != null) {
+            for (String event : script.events()) {
+                body.write(event.getBytes(StandardCharsets.UTF_8));
+                body.flush();
+            }
+        }
+        if (script == null || !script.close()) {
+            try {
+                shutdown.await();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        exchange.close();
+    }
+
+    private static String event(String name, String id, String data) {
+        return "event:" + name + "\nid:" + id + "\ndata:" + data + "\n\n";
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+        }
+        assertThat(condition.getAsBoolean()).isTrue();
+    }
+
+    /**
+     * 一條連線要送出的事件；close 為 false 時送完後保持連線
+     */
+    private record Script(boolean close, List<String> events) {
+
+        Script(boolean close, String... events) {
+            this(close, List.of(events));
+        }
+    }
+}
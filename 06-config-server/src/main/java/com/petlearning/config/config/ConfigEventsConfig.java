@@ -0,0 +1,34 @@
+package com.petlearning.config.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.petlearning.config.environment.RepositoryCommitTracker;
+import com.petlearning.config.events.ConfigEventBroadcaster;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.config.server.environment.EnvironmentRepository;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+/**
+ * 設定變更推播配置
+ *
+ * 注入的 EnvironmentRepository 是 @Primary 的組合儲存庫（啟用快取時即 CachingEnvironmentRepository），
+ * 推播時重新載入的設定會順便填進快取，稍後客戶端的 refresh 直接命中。
+ */
+@Configuration
+@EnableConfigurationProperties(ConfigEventsProperties.class)
+@ConditionalOnProperty(prefix = "config-events", name = "enabled", matchIfMissing = true)
+public class ConfigEventsConfig {
+
+    @Bean
+    public ConfigEventBroadcaster configEventBroadcaster(EnvironmentRepository environmentRepository,
+                                                         RepositoryCommitTracker repositoryCommitTracker,
+                                                         ConfigEventsProperties properties,
+                                                         ObjectMapper objectMapper, Environment environment) {
+        String defaultLabel = environment.getProperty("spring.cloud.config.server.git.default-label",
+                environment.getProperty("spring.cloud.config.server.default-label"));
+        return new ConfigEventBroadcaster(environmentRepository, repositoryCommitTracker, properties,
+                objectMapper, defaultLabel);
+    }
+}
@@ -0,0 +1,89 @@
+package com.petlearning.config.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * 設定變更通知（SSE）設定
+ *
+ * 範例：
+ * <pre>
+ * config-events:
+ *   enabled: true
+ *   heartbeat-interval: 30s
+ *   timeout: 10m
+ *   write-timeout: 10s
+ *   max-pending-events: 16
+ *   writer-threads: 4
+ * </pre>
+ */
+@ConfigurationProperties(prefix = "config-events")
+public class ConfigEventsProperties {
+
+    /** 是否提供 /api/config-events 訂閱端點 */
+    private boolean enabled = true;
+
+    /** 心跳（SSE 註解行）間隔，避免閒置連線被 proxy 或 NAT 切斷，也藉此清掉已斷線的訂閱 */
+    private Duration heartbeatInterval = Duration.ofSeconds(30);
+
+    /** 單一連線最長時間，到期由客戶端帶著最後的 commit 重新連線 */
+    private Duration timeout = Duration.ofMinutes(10);
+
+    /** 單次寫入超過此時間（客戶端不讀、TCP 緩衝區已滿）的訂閱者會被斷開 */
+    private Duration writeTimeout = Duration.ofSeconds(10);
+
+    /** 每個訂閱者最多積壓的待送事件，超過即斷開 */
+    private int maxPendingEvents = 16;
+
+    /** 寫入 SSE 連線的執行緒數；卡住的連線最多佔住這麼多條，其他訂閱者仍能收到事件 */
+    private int writerThreads = 4;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Duration getHeartbeatInterval() {
+        return heartbeatInterval;
+    }
+
+    public void setHeartbeatInterval(Duration heartbeatInterval) {
+        this.heartbeatInterval = heartbeatInterval;
+    }
+
+    public Duration getTimeout() {
+        return timeout;
+    }
+
+    public void setTimeout(Duration timeout) {
+        this.timeout = timeout;
+    }
+
+    public Duration getWriteTimeout() {
+        return writeTimeout;
+    }
+
+    public void setWriteTimeout(Duration writeTimeout) {
+        this.writeTimeout = writeTimeout;
+    }
+
+    public int getMaxPendingEvents() {
+        return maxPendingEvents;
+    }
+
+    public void setMaxPendingEvents(int maxPendingEvents) {
+        this.maxPendingEvents = maxPendingEvents;
+    }
+
+    public int getWriterThreads() {
+        return writerThreads;
+    }
+
+    public void setWriterThreads(int writerThreads) {
+        this.writerThreads = writerThreads;
+    }
+}
@@ -0,0 +1,68 @@
+package com.petlearning.config.config;
+
+import com.petlearning.config.environment.CachingEnvironmentRepository;
+import com.petlearning.config.environment.EnvironmentCachePostProcessor;
+import com.petlearning.config.environment.RepositoryCommitTracker;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.net.URI;
+import java.nio.file.Path;
+
+/**
+ * 已解析 Environment 快取配置
+ *
+ * 以 {@link CachingEnvironmentRepository} 包裝 Config Server 預設的組合儲存庫，
+ * 並由 {@link RepositoryCommitTracker} 監看來源 git 儲存庫決定何時失效。
+ * tracker 不受 config-cache.enabled 影響，設定變更通知（ConfigEventsConfig）也依賴它。
+ */
+@Configuration
+@EnableConfigurationProperties(EnvironmentCacheProperties.class)
+public class EnvironmentCacheConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(EnvironmentCacheConfig.class);
+
+    @Bean
+    public RepositoryCommitTracker repositoryCommitTracker(EnvironmentCacheProperties properties,
+                                                           Environment environment) {
+        Path repository = properties.getRepository();
+        if (repository == null) {
+            repository = localRepository(environment.getProperty("spring.cloud.config.server.git.uri"));
+        }
+        if (repository == null) {
+            logger.warn("Config repository is not a local file:// repository, environments will not be cached");
+        }
+        return new RepositoryCommitTracker(repository);
+    }
+
+    /**
+     * BeanPostProcessor 需為 static，且在屬性綁定前建立，設定值直接從 Environment 讀取
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "config-cache", name = "enabled", matchIfMissing = true)
+    public static EnvironmentCachePostProcessor environmentCachePostProcessor(
+            ObjectProvider<RepositoryCommitTracker> repositoryCommitTracker, Environment environment) {
+        String defaultLabel = environment.getProperty("spring.cloud.config.server.git.default-label",
+                environment.getProperty("spring.cloud.config.server.default-label"));
+        int maxEntries = environment.getProperty("config-cache.max-entries", Integer.class, 1000);
+        return new EnvironmentCachePostProcessor(repositoryCommitTracker, defaultLabel, maxEntries);
+    }
+
+    static Path localRepository(String uri) {
+        if (uri == null || !uri.startsWith("file:")) {
+            return null;
+        }
+        try {
+            return Path.of(URI.create(uri));
+        } catch (IllegalArgumentException ex) {
+            // file://${java.io.tmpdir}/... 展開後可能不是合法 URI（例如 Windows 路徑）
+            return Path.of(uri.substring("file:".length()).replaceFirst("^//", ""));
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.petlearning.config.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+
+/**
+ * 已解析 Environment 快取設定
+ *
+ * 範例：
+ * <pre>
+ * config-cache:
+ *   enabled: true
+ *   repository: /srv/config-repo   # 省略時取 spring.cloud.config.server.git.uri 的 file:// 路徑
+ *   max-entries: 1000
+ * </pre>
+ */
+@ConfigurationProperties(prefix = "config-cache")
+public class EnvironmentCacheProperties {
+
+    /** 是否快取已解析的 Environment */
+    private boolean enabled = true;
+
+    /** 要監看的來源 git 儲存庫；未設定時由 git uri 推導，非本機儲存庫則不快取 */
+    private Path repository;
+
+    /** 最多快取的 (application, profile, label) 組合數，超過時淘汰少用的組合 */
+    private int maxEntries = 1000;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Path getRepository() {
+        return repository;
+    }
+
+    public void setRepository(Path repository) {
+        this.repository = repository;
+    }
+
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    public void setMaxEntries(int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+}
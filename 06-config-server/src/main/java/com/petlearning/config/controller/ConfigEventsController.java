@@ -0,0 +1,50 @@
+package com.petlearning.config.controller;
+
+import com.petlearning.config.events.ConfigEventBroadcaster;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * 設定變更訂閱端點（Server-Sent Events）
+ *
+ * 用法：
+ * <pre>
+ * curl -N http://localhost:8888/api/config-events/pets-service/default
+ *
+ * event:snapshot          ← 第一次訂閱：完整設定
+ * id:3f2a...
+ * data:{"commit":"3f2a...","full":true,"changed":{...},"removed":[]}
+ *
+ * event:delta             ← 之後每次 commit：只有變更 / 移除的 key
+ * id:9c41...
+ * data:{"commit":"9c41...","previousCommit":"3f2a...","changed":{"pets.page-size":50},"removed":[]}
+ * </pre>
+ *
+ * 重新連線時以 since 參數或 Last-Event-ID 標頭帶回最後收到的 commit，只補送之後的差異。
+ */
+@RestController
+@RequestMapping("/api/config-events")
+@ConditionalOnProperty(prefix = "config-events", name = "enabled", matchIfMissing = true)
+public class ConfigEventsController {
+
+    private final ConfigEventBroadcaster broadcaster;
+
+    public ConfigEventsController(ConfigEventBroadcaster broadcaster) {
+        this.broadcaster = broadcaster;
+    }
+
+    @GetMapping(value = "/{application}/{profile}", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribe(@PathVariable String application, @PathVariable String profile,
+                                @RequestParam(required = false) String label,
+                                @RequestParam(required = false) String since,
+                                @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        return broadcaster.subscribe(application, profile, label, since != null ? since : lastEventId);
+    }
+}
@@ -1,5 +1,9 @@
 package com.petlearning.config.controller;
 
+import com.petlearning.config.dto.EnvironmentCacheStats;
+import com.petlearning.config.environment.CachingEnvironmentRepository;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
@@ -21,6 +25,12 @@ import org.springframework.web.bind.annotation.RestController;
 @RequestMapping("/api")
 public class ConfigInfoController {
 
+    private final ObjectProvider<CachingEnvironmentRepository> environmentCache;
+
+    public ConfigInfoController(ObjectProvider<CachingEnvironmentRepository> environmentCache) {
+        this.environmentCache = environmentCache;
+    }
+
     /**
      * 健康檢查
      */
@@ -36,4 +46,17 @@ public class ConfigInfoController {
     public String info() {
         return "Config Server - Centralized Configuration Management";
     }
+
+    /**
+     * 已解析 Environment 快取的統計（config-cache.enabled=false 時回傳 404）
+     */
+    @GetMapping("/environment-cache")
+    public ResponseEntity<EnvironmentCacheStats> environmentCache() {
+        CachingEnvironmentRepository cache = environmentCache.getIfAvailable();
+        if (cache == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(new EnvironmentCacheStats(cache.size(), cache.getHits(), cache.getMisses(),
+                cache.getCoalesced(), cache.getBypassed(), cache.getInvalidations()));
+    }
 }
@@ -0,0 +1,21 @@
+package com.petlearning.config.dto;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 設定變更通知的內容
+ *
+ * @param application    應用程式名稱
+ * @param profile        profile（多個以逗號分隔）
+ * @param label          git label
+ * @param commit         目前的 commit，同時作為 SSE 事件 id，重新連線時以 since / Last-Event-ID 帶回
+ * @param previousCommit 差異的基準 commit；完整快照時為 null
+ * @param full           true 表示 changed 為完整設定（第一次訂閱或無法計算差異）
+ * @param changed        新增或變更的 key 與新值（已依 property source 優先順序合併）
+ * @param removed        被移除的 key
+ */
+public record ConfigDelta(String application, String profile, String label, String commit,
+                          String previousCommit, boolean full, Map<String, Object> changed,
+                          List<String> removed) {
+}
@@ -0,0 +1,15 @@
+package com.petlearning.config.dto;
+
+/**
+ * 已解析 Environment 快取統計
+ *
+ * @param entries       目前快取的組合數
+ * @param hits          直接由記憶體回應的請求數
+ * @param misses        需要組裝 Environment 的請求數
+ * @param coalesced     等待同一次載入的請求數（同時 miss 合併）
+ * @param bypassed      未經快取的請求數（非本機儲存庫或 label 無法解析）
+ * @param invalidations 儲存庫變更觸發的失效次數
+ */
+public record EnvironmentCacheStats(int entries, long hits, long misses, long coalesced, long bypassed,
+                                    long invalidations) {
+}
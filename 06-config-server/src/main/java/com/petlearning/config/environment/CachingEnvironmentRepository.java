@@ -0,0 +1,164 @@
+package com.petlearning.config.environment;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.cloud.config.environment.Environment;
+import org.springframework.cloud.config.server.environment.SearchPathCompositeEnvironmentRepository;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 以 (application, profile, label, commit) 為 key 快取組裝完成的 Environment
+ *
+ * 問題：
+ * 預設每個客戶端請求都會讓 JGit 對來源儲存庫 fetch、checkout，再以 NativeEnvironmentRepository
+ * 重新解析 YAML 組出 property sources，即使設定檔完全沒變。
+ *
+ * 做法：
+ * - 由 {@link RepositoryCommitTracker} 取得 label 目前的 commit（記憶體查詢），commit 不變就直接回傳快取
+ * - 儲存庫變更時 tracker 通知，移除 commit 已過時的項目
+ * - 同一 key 同時 miss 的請求共用一次載入（CompletableFuture），不會同時對 git 做多次 fetch
+ * - 載入失敗不快取；載回的版本與預期 commit 不同（載入中剛好有新 commit）也不快取
+ * - 回傳淺拷貝，呼叫端修改 Environment 本身不會影響快取
+ * - 項目數以 Caffeine 的 maximumSize 限制（W-TinyLFU）：達到上限後新 key 照樣快取、淘汰少用的項目，
+ *   用大量不同 profile 掃描的客戶端擠不掉常用的項目，也不會讓其他 key 失去快取
+ *
+ * 包裝 Config Server 預設的 @Primary 組合儲存庫（由 EnvironmentCachePostProcessor 替換）。
+ * 繼承 SearchPathCompositeEnvironmentRepository 只為了型別相容：注入 EnvironmentRepository、
+ * SearchPathLocator 或具體型別的地方都拿到同一個 Bean，實際查詢一律委派給原本的組合儲存庫。
+ */
+public class CachingEnvironmentRepository extends SearchPathCompositeEnvironmentRepository {
+
+    private final SearchPathCompositeEnvironmentRepository delegate;
+    private final RepositoryCommitTracker commits;
+    private final String defaultLabel;
+    private final ConcurrentMap<Key, CompletableFuture<Environment>> environments;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+    private final AtomicLong bypassed = new AtomicLong();
+
+    public CachingEnvironmentRepository(SearchPathCompositeEnvironmentRepository delegate,
+                                        RepositoryCommitTracker commits, String defaultLabel, int maxEntries) {
+        super(new ArrayList<>(), ObservationRegistry.NOOP, false);
+        this.delegate = delegate;
+        this.commits = commits;
+        this.defaultLabel = defaultLabel;
+        // 淘汰在呼叫端執行緒上做，不佔用 ForkJoinPool.commonPool
+        this.environments = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .executor(Runnable::run)
+                .<Key, CompletableFuture<Environment>>build()
+                .asMap();
+        commits.addInvalidationListener(this::evictStale);
+    }
+
+    @Override
+    public Environment findOne(String application, String profile, String label) {
+        return findOne(application, profile, label, false);
+    }
+
+    @Override
+    public Environment findOne(String application, String profile, String label, boolean includeOrigin) {
+        String resolvedLabel = StringUtils.hasText(label) ? label : defaultLabel;
+        String commit = resolvedLabel == null ? null : commits.commitFor(resolvedLabel);
+        if (commit == null) {
+            bypassed.incrementAndGet();
+            return delegate.findOne(application, profile, label, includeOrigin);
+        }
+
+        Key key = new Key(application, profile, resolvedLabel, includeOrigin, commit);
+        CompletableFuture<Environment> existing = environments.get(key);
+        if (existing == null) {
+            CompletableFuture<Environment> loading = new CompletableFuture<>();
+            existing = environments.putIfAbsent(key, loading);
+            if (existing == null) {
+                misses.incrementAndGet();
+                return copy(load(key, loading, label));
+            }
+        }
+        if (existing.isDone()) {
+            hits.incrementAndGet();
+        } else {
+            coalesced.incrementAndGet();
+        }
+        return copy(await(existing));
+    }
+
+    private Environment load(Key key, CompletableFuture<Environment> loading, String label) {
+        try {
+            Environment environment = delegate.findOne(key.application(), key.profile(), label, key.includeOrigin());
+            loading.complete(environment);
+            if (environment.getVersion() != null && !key.commit().equals(environment.getVersion())) {
+                environments.remove(key, loading);
+            }
+            return environment;
+        } catch (RuntimeException ex) {
+            environments.remove(key, loading);
+            loading.completeExceptionally(ex);
+            throw ex;
+        }
+    }
+
+    @Override
+    public Locations getLocations(String application, String profile, String label) {
+        return delegate.getLocations(application, profile, label);
+    }
+
+    private static Environment await(CompletableFuture<Environment> future) {
+        try {
+            return future.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    private static Environment copy(Environment source) {
+        Environment copy = new Environment(source);
+        copy.addAll(source.getPropertySources());
+        return copy;
+    }
+
+    /**
+     * 移除 commit 已不是 label 目前 commit 的項目（在 tracker 的監看執行緒上執行）
+     */
+    void evictStale() {
+        environments.keySet().removeIf(key -> !key.commit().equals(commits.commitFor(key.label())));
+    }
+
+    public int size() {
+        return environments.size();
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public long getCoalesced() {
+        return coalesced.get();
+    }
+
+    public long getBypassed() {
+        return bypassed.get();
+    }
+
+    public long getInvalidations() {
+        return commits.getInvalidations();
+    }
+
+    record Key(String application, String profile, String label, boolean includeOrigin, String commit) {
+    }
+}
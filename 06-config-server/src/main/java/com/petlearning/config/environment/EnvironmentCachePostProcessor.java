@@ -0,0 +1,34 @@
+package com.petlearning.config.environment;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.cloud.config.server.environment.SearchPathCompositeEnvironmentRepository;
+
+/**
+ * 把 Config Server 的組合儲存庫替換成 {@link CachingEnvironmentRepository}
+ *
+ * 不直接宣告另一個 EnvironmentRepository Bean：Config Server 的預設 git 儲存庫
+ * 是 @ConditionalOnMissingBean(EnvironmentRepository.class)，多宣告一個會讓它不被建立。
+ */
+public class EnvironmentCachePostProcessor implements BeanPostProcessor {
+
+    private final ObjectProvider<RepositoryCommitTracker> commits;
+    private final String defaultLabel;
+    private final int maxEntries;
+
+    public EnvironmentCachePostProcessor(ObjectProvider<RepositoryCommitTracker> commits, String defaultLabel,
+                                         int maxEntries) {
+        this.commits = commits;
+        this.defaultLabel = defaultLabel;
+        this.maxEntries = maxEntries;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof SearchPathCompositeEnvironmentRepository composite
+                && !(bean instanceof CachingEnvironmentRepository)) {
+            return new CachingEnvironmentRepository(composite, commits.getObject(), defaultLabel, maxEntries);
+        }
+        return bean;
+    }
+}
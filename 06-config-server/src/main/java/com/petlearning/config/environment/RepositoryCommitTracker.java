@@ -0,0 +1,233 @@
+package com.petlearning.config.environment;
+
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.Ref;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.storage.file.FileRepositoryBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * 追蹤設定儲存庫中各 label 目前指向的 commit
+ *
+ * 做法：
+ * - label → commit 的解析結果放在記憶體，重複查詢不碰 git
+ * - WatchService 監看 git 目錄（HEAD、packed-refs）與 refs 底下的所有目錄，
+ *   commit、切換分支、gc 都會改到這些檔案；收到事件就清空解析結果並通知監聽者
+ * - 儲存庫在啟動時不存在（例如尚未建立 config-repo）時不快取，之後每次查詢再嘗試開啟
+ *
+ * 監看的是 Config Server 的來源儲存庫（spring.cloud.config.server.git.uri 的 file:// 路徑），
+ * 不是 JGit clone 到 basedir 的工作副本。
+ */
+public class RepositoryCommitTracker implements InitializingBean, DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(RepositoryCommitTracker.class);
+
+    private static final Set<String> REF_FILES = Set.of(Constants.HEAD, Constants.PACKED_REFS);
+
+    private final Path repositoryPath;
+    private final Map<String, Optional<String>> commits = new ConcurrentHashMap<>();
+    private final List<Runnable> listeners = new CopyOnWriteArrayList<>();
+    private final AtomicLong invalidations = new AtomicLong();
+    private volatile Repository repository;
+    private volatile WatchService watchService;
+    private Path refsDir;
+    private Thread watcher;
+
+    public RepositoryCommitTracker(Path repositoryPath) {
+        this.repositoryPath = repositoryPath;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        open();
+    }
+
+    /**
+     * label 目前的 commit id；儲存庫無法開啟或 label 不存在時回傳 null（呼叫端不應快取）
+     */
+    public String commitFor(String label) {
+        if (repository == null && !open()) {
+            return null;
+        }
+        Optional<String> cached = commits.get(label);
+        if (cached != null) {
+            return cached.orElse(null);
+        }
+        long generation = invalidations.get();
+        Optional<String> resolved = resolve(label);
+        // 解析期間儲存庫變了就不記住（可能讀到舊的 ref）
+        if (invalidations.get() == generation) {
+            commits.put(label, resolved);
+        }
+        return resolved.orElse(null);
+    }
+
+    /**
+     * 儲存庫變更時呼叫（在監看執行緒上執行，應保持輕量）
+     */
+    public void addInvalidationListener(Runnable listener) {
+        listeners.add(listener);
+    }
+
+    public long getInvalidations() {
+        return invalidations.get();
+    }
+
+    public boolean isWatching() {
+        return watchService != null;
+    }
+
+    void invalidate() {
+        // 先遞增再清空，與 commitFor 的世代檢查搭配，避免清空後又寫回舊的解析結果
+        invalidations.incrementAndGet();
+        commits.clear();
+        for (Runnable listener : listeners) {
+            listener.run();
+        }
+    }
+
+    private Optional<String> resolve(String label) {
+        String name = label.replace("(_)", "/");
+        try {
+            for (String candidate : List.of(Constants.R_HEADS + name, Constants.R_TAGS + name)) {
+                Ref ref = repository.exactRef(candidate);
+                if (ref != null) {
+                    ObjectId id = ref.isPeeled() && ref.getPeeledObjectId() != null
+                            ? ref.getPeeledObjectId() : ref.getObjectId();
+                    return Optional.ofNullable(id).map(ObjectId::getName);
+                }
+            }
+            // 直接以 commit id 當 label
+            return Optional.ofNullable(repository.resolve(name)).map(ObjectId::getName);
+        } catch (IOException | RuntimeException ex) {
+            logger.debug("Cannot resolve label {}: {}", label, ex.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private synchronized boolean open() {
+        if (repository != null) {
+            return true;
+        }
+        if (repositoryPath == null || !Files.isDirectory(repositoryPath)) {
+            return false;
+        }
+        Path gitDir = Files.isDirectory(repositoryPath.resolve(Constants.DOT_GIT))
+                ? repositoryPath.resolve(Constants.DOT_GIT) : repositoryPath;
+        try {
+            Repository opened = new FileRepositoryBuilder().setGitDir(gitDir.toFile()).setMustExist(true).build();
+            watch(gitDir);
+            repository = opened;
+            logger.info("Tracking config repository commits in {}", gitDir);
+            return true;
+        } catch (IOException ex) {
+            logger.warn("Cannot open config repository {}: {}", gitDir, ex.getMessage());
+            return false;
+        }
+    }
+
+    private void watch(Path gitDir) throws IOException {
+        WatchService service = FileSystems.getDefault().newWatchService();
+        refsDir = gitDir.resolve(Constants.R_REFS);
+        register(service, gitDir);
+        try (Stream<Path> dirs = Files.walk(refsDir)) {
+            for (Path dir : dirs.filter(Files::isDirectory).toList()) {
+                register(service, dir);
+            }
+        }
+        watchService = service;
+        watcher = new Thread(() -> pollEvents(service), "config-repo-watcher");
+        watcher.setDaemon(true);
+        watcher.start();
+    }
+
+    private void pollEvents(WatchService service) {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                WatchKey key = service.take();
+                boolean changed = drain(key);
+                // 一次 commit 會連續產生多個事件，先取完已排隊的再失效一次
+                for (WatchKey pending = service.poll(); pending != null; pending = service.poll()) {
+                    changed |= drain(pending);
+                }
+                if (changed) {
+                    invalidate();
+                }
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } catch (ClosedWatchServiceException ex) {
+            // 關閉中
+        }
+    }
+
+    private boolean drain(WatchKey key) {
+        Path dir = (Path) key.watchable();
+        boolean changed = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                changed = true;
+                continue;
+            }
+            Path child = (Path) event.context();
+            // git 目錄本身只關心 HEAD 與 packed-refs（index、logs 等變動不影響 commit）
+            if (!dir.startsWith(refsDir) && !REF_FILES.contains(child.toString())) {
+                continue;
+            }
+            changed = true;
+            if (event.kind() == StandardWatchEventKinds.ENTRY_CREATE) {
+                Path created = dir.resolve(child);
+                // 新的巢狀分支目錄（例如 refs/heads/feature/）也要監看
+                if (Files.isDirectory(created) && created.startsWith(refsDir)) {
+                    try {
+                        register(watchService, created);
+                    } catch (IOException ex) {
+                        logger.warn("Cannot watch {}: {}", created, ex.getMessage());
+                    }
+                }
+            }
+        }
+        key.reset();
+        return changed;
+    }
+
+    private static void register(WatchService service, Path dir) throws IOException {
+        dir.register(service, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY,
+                StandardWatchEventKinds.ENTRY_DELETE);
+    }
+
+    @Override
+    public void destroy() throws IOException {
+        if (watcher != null) {
+            watcher.interrupt();
+        }
+        if (watchService != null) {
+            watchService.close();
+        }
+        if (repository != null) {
+            repository.close();
+        }
+    }
+}
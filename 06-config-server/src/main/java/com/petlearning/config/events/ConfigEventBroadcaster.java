@@ -0,0 +1,415 @@
+package com.petlearning.config.events;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.petlearning.config.config.ConfigEventsProperties;
+import com.petlearning.config.dto.ConfigDelta;
+import com.petlearning.config.environment.RepositoryCommitTracker;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.cloud.config.environment.Environment;
+import org.springframework.cloud.config.server.environment.EnvironmentRepository;
+import org.springframework.util.StringUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 設定變更推播（Server-Sent Events）
+ *
+ * 問題：
+ * 客戶端只能定期輪詢或手動 /actuator/refresh，每次都下載整份 Environment，
+ * 而且大多數時候什麼都沒變。
+ *
+ * 做法：
+ * - 訂閱者依 (application, profile, label) 分組，每組只保留一份目前的有效設定與 commit
+ * - {@link RepositoryCommitTracker} 偵測到儲存庫變更時，只重新載入 commit 真的變了的組，
+ *   與前一份比對後把「變更的 key / 被移除的 key」推給該組所有訂閱者
+ * - 同一組的事件只序列化一次 JSON，再寫給每個連線
+ * - 重新連線時帶回最後的 commit（since 或 Last-Event-ID），只補送該 commit 之後的差異
+ *
+ * 執行緒模型：
+ * SseEmitter 走 Servlet async，請求執行緒在 controller 回傳後就釋放，閒置的訂閱只佔一個連線；
+ * 載入、比對與心跳在單一排程執行緒上依序執行，不需要額外的同步。
+ *
+ * 寫入：SseEmitter.send 是阻塞寫入，半開的連線在 TCP 送出緩衝區滿後會卡到 Tomcat 的寫入逾時，
+ * 因此排程執行緒不直接寫，而是把事件放進每個訂閱者自己的待送佇列，由固定大小的寫入執行緒池送出
+ * （同一訂閱者同時只有一條執行緒在寫，事件順序不變）。待送事件超過 max-pending-events，
+ * 或單次寫入超過 write-timeout 的訂閱者直接斷開，由客戶端帶著最後的 commit 重連。
+ */
+public class ConfigEventBroadcaster implements InitializingBean, DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConfigEventBroadcaster.class);
+
+    static final String SNAPSHOT = "snapshot";
+    static final String DELTA = "delta";
+
+    private final EnvironmentRepository repository;
+    private final RepositoryCommitTracker commits;
+    private final ConfigEventsProperties properties;
+    private final ObjectMapper objectMapper;
+    private final String defaultLabel;
+    private final ConcurrentMap<Topic, Group> groups = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(task -> {
+        Thread thread = new Thread(task, "config-events");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final ExecutorService writers;
+
+    private final AtomicLong deltas = new AtomicLong();
+    private final AtomicLong snapshots = new AtomicLong();
+    private final AtomicLong slowSubscribersDropped = new AtomicLong();
+
+    public ConfigEventBroadcaster(EnvironmentRepository repository, RepositoryCommitTracker commits,
+                                  ConfigEventsProperties properties, ObjectMapper objectMapper, String defaultLabel) {
+        this.repository = repository;
+        this.commits = commits;
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.defaultLabel = defaultLabel;
+        AtomicInteger writerCount = new AtomicInteger();
+        this.writers = Executors.newFixedThreadPool(properties.getWriterThreads(), task -> {
+            Thread thread = new Thread(task, "config-events-writer-" + writerCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        // 監聽者在 tracker 的監看執行緒上被呼叫，只排入工作
+        commits.addInvalidationListener(() -> executor.execute(this::refresh));
+        long heartbeat = properties.getHeartbeatInterval().toMillis();
+        executor.scheduleWithFixedDelay(this::heartbeat, heartbeat, heartbeat, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 訂閱設定變更
+     *
+     * @param since 客戶端已套用的 commit；null 表示第一次訂閱，先送完整快照
+     */
+    public SseEmitter subscribe(String application, String profile, String label, String since) {
+        return subscribe(application, profile, label, since, new SseEmitter(properties.getTimeout().toMillis()));
+    }
+
+    SseEmitter subscribe(String application, String profile, String label, String since, SseEmitter emitter) {
+        Topic topic = new Topic(application, profile, StringUtils.hasText(label) ? label : defaultLabel);
+        Subscriber subscriber = new Subscriber(emitter);
+        // 在 compute 內加入：與 unsubscribe 移除空組互斥，不會加進已被移除的組
+        Group group = groups.compute(topic, (key, existing) -> {
+            Group target = existing != null ? existing : new Group(key);
+            target.subscribers.add(subscriber);
+            return target;
+        });
+        emitter.onCompletion(() -> unsubscribe(group, subscriber));
+        emitter.onTimeout(() -> unsubscribe(group, subscriber));
+        emitter.onError(ex -> unsubscribe(group, subscriber));
+        // 在 controller 回傳前送出的事件會由 SseEmitter 暫存，初始化後再寫出
+        executor.execute(() -> greet(group, subscriber, since));
+        return emitter;
+    }
+
+    private void greet(Group group, Subscriber subscriber, String since) {
+        try {
+            if (group.commit == null) {
+                group.load(repository.findOne(group.topic.application(), group.topic.profile(), group.topic.label()));
+            }
+            if (since != null && since.equals(group.commit)) {
+                // 已是最新：送一行註解讓客戶端確認連線建立
+                deliver(group, subscriber, SseEmitter.event().comment("up-to-date"));
+                return;
+            }
+            ConfigDelta delta = since == null ? null : deltaSince(group, since);
+            if (delta == null) {
+                snapshots.incrementAndGet();
+                delta = new ConfigDelta(group.topic.application(), group.topic.profile(), group.topic.label(),
+                        group.commit, null, true, group.properties, List.of());
+                deliver(group, subscriber, SseEmitter.event().id(group.commit).name(SNAPSHOT).data(json(delta)));
+            } else {
+                deltas.incrementAndGet();
+                deliver(group, subscriber, SseEmitter.event().id(group.commit).name(DELTA).data(json(delta)));
+            }
+        } catch (RuntimeException ex) {
+            logger.debug("Cannot greet subscriber of {}: {}", group.topic, ex.getMessage());
+            subscriber.close();
+            unsubscribe(group, subscriber);
+            subscriber.emitter.completeWithError(ex);
+        }
+    }
+
+    /**
+     * 以 since 當 label 載入舊版本並計算差異；該 commit 已不存在等情況回傳 null（改送完整快照）
+     */
+    private ConfigDelta deltaSince(Group group, String since) {
+        try {
+            Environment previous = repository.findOne(group.topic.application(), group.topic.profile(), since);
+            if (previous.getVersion() == null || !previous.getVersion().startsWith(since)) {
+                return null;
+            }
+            return group.delta(since, EnvironmentDiff.flatten(previous));
+        } catch (RuntimeException ex) {
+            logger.debug("Cannot load {} at {}: {}", group.topic, since, ex.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * 儲存庫變更：重新載入 commit 有變的組並推播差異
+     */
+    void refresh() {
+        for (Group group : groups.values()) {
+            if (group.subscribers.isEmpty()) {
+                continue;
+            }
+            String commit = commits.commitFor(group.topic.label());
+            if (commit != null && commit.equals(group.commit)) {
+                continue;
+            }
+            try {
+                String previousCommit = group.commit;
+                Map<String, Object> previous = group.properties;
+                group.load(repository.findOne(group.topic.application(), group.topic.profile(), group.topic.label()));
+                if (Objects.equals(previousCommit, group.commit)) {
+                    continue;
+                }
+                ConfigDelta delta = group.delta(previousCommit, previous);
+                String payload = json(delta);
+                for (Subscriber subscriber : group.subscribers) {
+                    deliver(group, subscriber, SseEmitter.event().id(group.commit).name(DELTA).data(payload));
+                }
+                deltas.addAndGet(group.subscribers.size());
+                logger.info("Pushed {} changed / {} removed keys of {} at {} to {} subscribers",
+                        delta.changed().size(), delta.removed().size(), group.topic, group.commit,
+                        group.subscribers.size());
+            } catch (RuntimeException ex) {
+                logger.warn("Cannot refresh {}: {}", group.topic, ex.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 心跳：維持閒置連線，同時偵測已斷線的訂閱者（寫入失敗即移除）與卡住的寫入
+     */
+    void heartbeat() {
+        long now = System.nanoTime();
+        for (Group group : groups.values()) {
+            for (Subscriber subscriber : group.subscribers) {
+                if (subscriber.isStuck(now, writeTimeoutNanos())) {
+                    dropSlow(group, subscriber);
+                } else if (subscriber.isIdle()) {
+                    deliver(group, subscriber, SseEmitter.event().comment("heartbeat"));
+                }
+            }
+        }
+    }
+
+    /**
+     * 放入訂閱者的待送佇列；寫入卡住或積壓過多的訂閱者直接斷開
+     */
+    private void deliver(Group group, Subscriber subscriber, SseEmitter.SseEventBuilder event) {
+        switch (subscriber.offer(event, properties.getMaxPendingEvents(), writeTimeoutNanos())) {
+            case SCHEDULE -> writers.execute(() -> drain(group, subscriber));
+            case SLOW -> dropSlow(group, subscriber);
+            default -> {
+            }
+        }
+    }
+
+    /**
+     * 寫入執行緒：依序送出訂閱者的待送事件，送完才釋放
+     */
+    private void drain(Group group, Subscriber subscriber) {
+        SseEmitter.SseEventBuilder event;
+        while ((event = subscriber.next()) != null) {
+            try {
+                subscriber.emitter.send(event);
+            } catch (IOException | IllegalStateException ex) {
+                subscriber.close();
+                unsubscribe(group, subscriber);
+                subscriber.emitter.completeWithError(ex);
+                return;
+            }
+        }
+        if (subscriber.isClosed()) {
+            // 被判定為慢速而斷開：SseEmitter 的 send 與 complete 共用同一把鎖，由寫入執行緒在寫完後結束連線
+            subscriber.emitter.completeWithError(new IOException("Subscriber is not keeping up"));
+        }
+    }
+
+    /**
+     * 斷開慢速訂閱者：不再排入事件；卡住的寫入由 Tomcat 的寫入逾時結束，不佔用排程執行緒
+     */
+    private void dropSlow(Group group, Subscriber subscriber) {
+        if (!subscriber.close()) {
+            return;
+        }
+        slowSubscribersDropped.incrementAndGet();
+        logger.info("Dropping slow subscriber of {}", group.topic);
+        unsubscribe(group, subscriber);
+    }
+
+    private void unsubscribe(Group group, Subscriber subscriber) {
+        group.subscribers.remove(subscriber);
+        // 沒人訂閱就丟掉整組（含快取的設定）；在 computeIfPresent 內判斷，與 subscribe 的加入互斥，
+        // 只移除這一組，不誤刪剛重建的組
+        groups.computeIfPresent(group.topic,
+                (key, current) -> current == group && current.subscribers.isEmpty() ? null : current);
+    }
+
+    private long writeTimeoutNanos() {
+        return properties.getWriteTimeout().toNanos();
+    }
+
+    private String json(ConfigDelta delta) {
+        try {
+            return objectMapper.writeValueAsString(delta);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Cannot serialize config delta", ex);
+        }
+    }
+
+    public int getSubscribers() {
+        return groups.values().stream().mapToInt(group -> group.subscribers.size()).sum();
+    }
+
+    public int getGroups() {
+        return groups.size();
+    }
+
+    public long getDeltasSent() {
+        return deltas.get();
+    }
+
+    public long getSnapshotsSent() {
+        return snapshots.get();
+    }
+
+    public long getSlowSubscribersDropped() {
+        return slowSubscribersDropped.get();
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+        writers.shutdownNow();
+        groups.values().forEach(group -> group.subscribers.forEach(subscriber -> subscriber.emitter.complete()));
+        groups.clear();
+    }
+
+    record Topic(String application, String profile, String label) {
+    }
+
+    /**
+     * 同一 (application, profile, label) 的訂閱者與目前設定；欄位只在排程執行緒上讀寫
+     */
+    private static final class Group {
+
+        private final Topic topic;
+        private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+        private String commit;
+        private Map<String, Object> properties = Map.of();
+
+        private Group(Topic topic) {
+            this.topic = topic;
+        }
+
+        private void load(Environment environment) {
+            commit = environment.getVersion();
+            properties = EnvironmentDiff.flatten(environment);
+        }
+
+        private ConfigDelta delta(String previousCommit, Map<String, Object> previous) {
+            return new ConfigDelta(topic.application(), topic.profile(), topic.label(), commit, previousCommit,
+                    previousCommit == null, EnvironmentDiff.changed(previous, properties), EnvironmentDiff.removed(previous, properties));
+        }
+    }
+
+    private enum Offer { SCHEDULE, QUEUED, SLOW, CLOSED }
+
+    /**
+     * 一條 SSE 連線與它的待送佇列；佇列與狀態以自身為鎖
+     */
+    private static final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final Queue<SseEmitter.SseEventBuilder> outbox = new ArrayDeque<>();
+        private boolean draining;
+        private boolean closed;
+        // 目前這次寫入開始的時間，0 表示沒有在寫
+        private long writeStartedAt;
+
+        private Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        synchronized Offer offer(SseEmitter.SseEventBuilder event, int maxPending, long writeTimeoutNanos) {
+            if (closed) {
+                return Offer.CLOSED;
+            }
+            if (outbox.size() >= maxPending || isStuck(System.nanoTime(), writeTimeoutNanos)) {
+                return Offer.SLOW;
+            }
+            outbox.add(event);
+            if (draining) {
+                return Offer.QUEUED;
+            }
+            draining = true;
+            return Offer.SCHEDULE;
+        }
+
+        /**
+         * 取出下一個事件並標記寫入開始；沒有事件（或已關閉）時結束這次 drain
+         */
+        synchronized SseEmitter.SseEventBuilder next() {
+            SseEmitter.SseEventBuilder event = closed ? null : outbox.poll();
+            if (event == null) {
+                draining = false;
+                writeStartedAt = 0;
+                return null;
+            }
+            writeStartedAt = System.nanoTime();
+            return event;
+        }
+
+        synchronized boolean isStuck(long now, long writeTimeoutNanos) {
+            return writeStartedAt != 0 && now - writeStartedAt > writeTimeoutNanos;
+        }
+
+        synchronized boolean isIdle() {
+            return !closed && !draining;
+        }
+
+        synchronized boolean isClosed() {
+            return closed;
+        }
+
+        /**
+         * @return 這次呼叫是否關閉了訂閱者（已關閉時回傳 false）
+         */
+        synchronized boolean close() {
+            if (closed) {
+                return false;
+            }
+            closed = true;
+            outbox.clear();
+            return true;
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.petlearning.config.events;
+
+import org.springframework.cloud.config.environment.Environment;
+import org.springframework.cloud.config.environment.PropertySource;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * 計算兩份設定之間的差異
+ *
+ * Environment 的 property sources 由高到低排列，先出現的 key 生效；
+ * 比對的是合併後的有效值，客戶端只需要知道最終結果改了什麼。
+ */
+public final class EnvironmentDiff {
+
+    private EnvironmentDiff() {
+    }
+
+    /**
+     * 依優先順序合併所有 property sources
+     */
+    public static Map<String, Object> flatten(Environment environment) {
+        Map<String, Object> effective = new LinkedHashMap<>();
+        for (PropertySource source : environment.getPropertySources()) {
+            source.getSource().forEach((key, value) -> effective.putIfAbsent(String.valueOf(key), value));
+        }
+        return effective;
+    }
+
+    /**
+     * 新增或值不同的 key
+     */
+    public static Map<String, Object> changed(Map<String, Object> previous, Map<String, Object> current) {
+        Map<String, Object> changed = new LinkedHashMap<>();
+        current.forEach((key, value) -> {
+            if (!previous.containsKey(key) || !Objects.equals(previous.get(key), value)) {
+                changed.put(key, value);
+            }
+        });
+        return changed;
+    }
+
+    /**
+     * 不再存在的 key
+     */
+    public static List<String> removed(Map<String, Object> previous, Map<String, Object> current) {
+        List<String> removed = new ArrayList<>();
+        for (String key : previous.keySet()) {
+            if (!current.containsKey(key)) {
+                removed.add(key);
+            }
+        }
+        return removed;
+    }
+}
@@ -1,11 +1,15 @@
 package com.petlearning.config.controller;
 
+import com.petlearning.config.environment.CachingEnvironmentRepository;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.test.web.servlet.MockMvc;
 
+import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 /**
@@ -21,6 +25,9 @@ class ConfigInfoControllerTest {
     @Autowired
     private MockMvc mockMvc;
 
+    @MockBean
+    private CachingEnvironmentRepository environmentCache;
+
     @Test
     void should_ReturnSuccess_When_HealthCheckCalled() throws Exception {
         // When & Then
@@ -34,4 +41,21 @@ class ConfigInfoControllerTest {
         mockMvc.perform(get("/api/info"))
                 .andExpect(status().isOk());
     }
+
+    @Test
+    void should_ReturnCacheStats_When_EnvironmentCacheCalled() throws Exception {
+        // Given
+        when(environmentCache.size()).thenReturn(3);
+        when(environmentCache.getHits()).thenReturn(120L);
+        when(environmentCache.getMisses()).thenReturn(4L);
+        when(environmentCache.getCoalesced()).thenReturn(9L);
+
+        // When & Then
+        mockMvc.perform(get("/api/environment-cache"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.entries").value(3))
+                .andExpect(jsonPath("$.hits").value(120))
+                .andExpect(jsonPath("$.misses").value(4))
+                .andExpect(jsonPath("$.coalesced").value(9));
+    }
 }
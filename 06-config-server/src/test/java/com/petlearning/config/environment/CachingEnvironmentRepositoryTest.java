@@ -0,0 +1,211 @@
+package com.petlearning.config.environment;
+
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.cloud.config.environment.Environment;
+import org.springframework.cloud.config.environment.PropertySource;
+import org.springframework.cloud.config.server.environment.EnvironmentRepository;
+import org.springframework.cloud.config.server.environment.SearchPathCompositeEnvironmentRepository;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 已解析 Environment 快取測試
+ *
+ * 以真實的 git 儲存庫驅動 commit 追蹤，後端以計數的假儲存庫模擬 JGit 組裝 Environment
+ */
+class CachingEnvironmentRepositoryTest {
+
+    @TempDir
+    Path directory;
+
+    private ConfigRepoFixture repo;
+    private RepositoryCommitTracker tracker;
+    private CountingRepository backend;
+    private CachingEnvironmentRepository cache;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        repo = new ConfigRepoFixture(directory);
+        backend = new CountingRepository();
+        backend.version = repo.commit("application.yml", "greeting: hello\n");
+        tracker = new RepositoryCommitTracker(directory);
+        tracker.afterPropertiesSet();
+        SearchPathCompositeEnvironmentRepository composite = new SearchPathCompositeEnvironmentRepository(
+                new ArrayList<>(List.of(backend)), ObservationRegistry.NOOP, false);
+        cache = new CachingEnvironmentRepository(composite, tracker, "main", 100);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        tracker.destroy();
+        repo.close();
+    }
+
+    @Test
+    void should_ServeFromMemory_When_CommitUnchanged() {
+        // When
+        for (int i = 0; i < 5; i++) {
+            cache.findOne("customers-service", "dev", null);
+        }
+        Environment environment = cache.findOne("customers-service", "dev", "main");
+
+        // Then：label 省略與明確指定 main 是同一個 key
+        assertThat(backend.calls.get()).isEqualTo(1);
+        assertThat(cache.getMisses()).isEqualTo(1);
+        assertThat(cache.getHits()).isEqualTo(5);
+        assertThat(environment.getVersion()).isEqualTo(backend.version);
+        assertThat(environment.getPropertySources()).hasSize(1);
+    }
+
+    @Test
+    void should_KeepCacheIntact_When_CallerModifiesResult() {
+        // Given
+        Environment first = cache.findOne("customers-service", "dev", null);
+
+        // When
+        first.getPropertySources().clear();
+        first.setVersion("changed");
+
+        // Then
+        Environment second = cache.findOne("customers-service", "dev", null);
+        assertThat(second.getPropertySources()).hasSize(1);
+        assertThat(second.getVersion()).isEqualTo(backend.version);
+    }
+
+    @Test
+    void should_CoalesceConcurrentMisses_When_SameKeyRequested() throws Exception {
+        // Given
+        backend.release = new CountDownLatch(1);
+        ExecutorService clients = Executors.newFixedThreadPool(20);
+        List<Future<Environment>> results = new ArrayList<>();
+
+        // When
+        for (int i = 0; i < 20; i++) {
+            results.add(clients.submit(() -> cache.findOne("pets-service", "default", null)));
+        }
+        while (cache.getCoalesced() + cache.getMisses() < 20) {
+            Thread.sleep(5);
+        }
+        backend.release.countDown();
+        for (Future<Environment> result : results) {
+            assertThat(result.get(5, TimeUnit.SECONDS).getVersion()).isEqualTo(backend.version);
+        }
+        clients.shutdown();
+
+        // Then
+        assertThat(backend.calls.get()).isEqualTo(1);
+        assertThat(cache.getMisses()).isEqualTo(1);
+        assertThat(cache.getCoalesced()).isEqualTo(19);
+    }
+
+    @Test
+    void should_Reload_When_RepositoryReceivesNewCommit() throws Exception {
+        // Given
+        cache.findOne("customers-service", "dev", null);
+
+        // When
+        backend.version = repo.commit("application.yml", "greeting: bonjour\n");
+        Environment reloaded = cache.findOne("customers-service", "dev", null);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!backend.version.equals(reloaded.getVersion()) && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+            reloaded = cache.findOne("customers-service", "dev", null);
+        }
+
+        // Then
+        assertThat(reloaded.getVersion()).isEqualTo(backend.version);
+        assertThat(backend.calls.get()).isEqualTo(2);
+        assertThat(cache.size()).isEqualTo(1);
+    }
+
+    @Test
+    void should_NotCacheFailure_When_LoadThrows() {
+        // Given
+        backend.failure = new IllegalStateException("git unavailable");
+
+        // When / Then
+        assertThatThrownBy(() -> cache.findOne("customers-service", "dev", null))
+                .isInstanceOf(IllegalStateException.class);
+        backend.failure = null;
+        assertThat(cache.findOne("customers-service", "dev", null).getVersion()).isEqualTo(backend.version);
+        assertThat(backend.calls.get()).isEqualTo(2);
+    }
+
+    @Test
+    void should_Bypass_When_LabelCannotBeResolved() {
+        // When
+        cache.findOne("customers-service", "dev", "no-such-branch");
+        cache.findOne("customers-service", "dev", "no-such-branch");
+
+        // Then
+        assertThat(backend.calls.get()).isEqualTo(2);
+        assertThat(cache.getBypassed()).isEqualTo(2);
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void should_KeepCachingNewKeys_When_MaxEntriesReached() {
+        // Given：上限 2 筆，先用掃描式的 profile 塞滿
+        CachingEnvironmentRepository bounded = new CachingEnvironmentRepository(
+                new SearchPathCompositeEnvironmentRepository(new ArrayList<>(List.of(backend)),
+                        ObservationRegistry.NOOP, false), tracker, "main", 2);
+        for (int i = 0; i < 10; i++) {
+            bounded.findOne("customers-service", "scan-" + i, null);
+        }
+
+        // When
+        bounded.findOne("customers-service", "dev", null);
+        bounded.findOne("customers-service", "dev", null);
+
+        // Then：新的 key 仍被快取，項目數不超過上限
+        assertThat(bounded.getHits()).isEqualTo(1);
+        assertThat(bounded.getBypassed()).isZero();
+        assertThat(bounded.size()).isLessThanOrEqualTo(2);
+        assertThat(backend.calls.get()).isEqualTo(11);
+    }
+
+    /**
+     * 模擬 JGit：回傳目前 commit 的 Environment，並記錄被呼叫的次數
+     */
+    private static class CountingRepository implements EnvironmentRepository {
+
+        final AtomicInteger calls = new AtomicInteger();
+        volatile String version;
+        volatile CountDownLatch release;
+        volatile RuntimeException failure;
+
+        @Override
+        public Environment findOne(String application, String profile, String label) {
+            calls.incrementAndGet();
+            if (release != null) {
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            if (failure != null) {
+                throw failure;
+            }
+            Environment environment = new Environment(application, new String[]{profile}, label, version, null);
+            environment.add(new PropertySource("git:application.yml", Map.of("greeting", "hello")));
+            return environment;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.petlearning.config.environment;
+
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.api.errors.GitAPIException;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * 測試用的本機設定儲存庫（JGit 建立，分支 main），environment 與 events 的測試共用
+ */
+public class ConfigRepoFixture implements AutoCloseable {
+
+    private final Path directory;
+    private final Git git;
+
+    public ConfigRepoFixture(Path directory) throws GitAPIException {
+        this.directory = directory;
+        this.git = Git.init().setDirectory(directory.toFile()).setInitialBranch("main").call();
+    }
+
+    public Path directory() {
+        return directory;
+    }
+
+    public String uri() {
+        return directory.toUri().toString();
+    }
+
+    /**
+     * 寫入檔案並提交，回傳新的 commit id
+     */
+    public String commit(String file, String content) throws IOException, GitAPIException {
+        Files.writeString(directory.resolve(file), content);
+        git.add().addFilepattern(file).call();
+        return git.commit().setMessage("update " + file).setAuthor("test", "test@example.com")
+                .setCommitter("test", "test@example.com").call().getName();
+    }
+
+    @Override
+    public void close() {
+        git.close();
+    }
+}
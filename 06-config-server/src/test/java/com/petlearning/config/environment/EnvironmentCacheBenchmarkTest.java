@@ -0,0 +1,127 @@
+package com.petlearning.config.environment;
+
+import com.petlearning.config.ConfigServerApplication;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 100 個模擬客戶端同時向 Config Server 取設定：無快取 vs 已解析 Environment 快取
+ *
+ * 預設不執行，使用以下指令執行：
+ * mvn test -Dbenchmark=true -Dtest=EnvironmentCacheBenchmarkTest
+ *
+ * 每個客戶端以獨立執行緒輪流請求 3 組 (application, profile)，先暖機 5 秒再量測 15 秒。
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class EnvironmentCacheBenchmarkTest {
+
+    private static final int CLIENTS = 100;
+    private static final Duration WARMUP = Duration.ofSeconds(5);
+    private static final Duration MEASURE = Duration.ofSeconds(15);
+    private static final List<String> PATHS = List.of(
+            "/customers-service/dev", "/customers-service/default", "/pets-service/default");
+
+    @TempDir
+    Path directory;
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .executor(Executors.newFixedThreadPool(8))
+            .build();
+
+    @Test
+    void should_ServeMoreRequests_When_EnvironmentCacheEnabled() throws Exception {
+        try (ConfigRepoFixture repo = new ConfigRepoFixture(directory.resolve("config-repo"))) {
+            repo.commit("application.yml", "logging:\n  level:\n    root: INFO\nshared:\n  timeout: 5s\n");
+            repo.commit("customers-service.yml", "server:\n  port: 8081\ngreeting: hello\n");
+            repo.commit("customers-service-dev.yml", "greeting: hello-dev\nfeature:\n  beta: true\n");
+            repo.commit("pets-service.yml", "server:\n  port: 8082\npets:\n  page-size: 20\n");
+
+            Result uncached = run(repo, false);
+            Result cached = run(repo, true);
+
+            System.out.printf("%-10s %10s %12s %10s%n", "cache", "requests", "req/s", "mean(ms)");
+            System.out.printf("%-10s %10d %12.1f %10.2f%n", "disabled", uncached.requests(),
+                    uncached.perSecond(), uncached.meanMillis());
+            System.out.printf("%-10s %10d %12.1f %10.2f%n", "enabled", cached.requests(),
+                    cached.perSecond(), cached.meanMillis());
+            assertThat(cached.perSecond()).isGreaterThan(uncached.perSecond());
+        }
+    }
+
+    private Result run(ConfigRepoFixture repo, boolean cache) throws Exception {
+        try (ConfigurableApplicationContext server = new SpringApplicationBuilder(ConfigServerApplication.class).run(
+                "--server.port=0",
+                "--spring.cloud.config.server.git.uri=" + repo.uri(),
+                "--spring.cloud.config.server.git.basedir=" + directory.resolve("basedir-" + cache),
+                "--config-cache.enabled=" + cache,
+                "--logging.level.org.springframework.cloud.config.server=WARN",
+                "--logging.level.org.springframework.boot.SpringApplication=WARN")) {
+            String baseUrl = "http://localhost:" + server.getEnvironment().getProperty("local.server.port");
+            load(baseUrl, WARMUP);
+            return load(baseUrl, MEASURE);
+        }
+    }
+
+    private Result load(String baseUrl, Duration duration) throws InterruptedException {
+        AtomicLong requests = new AtomicLong();
+        AtomicLong errors = new AtomicLong();
+        AtomicLong totalNanos = new AtomicLong();
+        long deadline = System.nanoTime() + duration.toNanos();
+        CountDownLatch done = new CountDownLatch(CLIENTS);
+        ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+        for (int i = 0; i < CLIENTS; i++) {
+            int offset = i;
+            clients.submit(() -> {
+                List<HttpRequest> sequence = new ArrayList<>();
+                for (String path : PATHS) {
+                    sequence.add(HttpRequest.newBuilder(URI.create(baseUrl + path)).build());
+                }
+                try {
+                    for (int n = offset; System.nanoTime() < deadline; n++) {
+                        long start = System.nanoTime();
+                        HttpResponse<Void> response = client.send(sequence.get(n % sequence.size()),
+                                HttpResponse.BodyHandlers.discarding());
+                        totalNanos.addAndGet(System.nanoTime() - start);
+                        requests.incrementAndGet();
+                        if (response.statusCode() != 200) {
+                            errors.incrementAndGet();
+                        }
+                    }
+                } catch (Exception ex) {
+                    errors.incrementAndGet();
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        done.await(duration.toSeconds() + 30, TimeUnit.SECONDS);
+        clients.shutdownNow();
+        assertThat(errors.get()).isZero();
+        long count = requests.get();
+        return new Result(count, count / (double) duration.toSeconds(),
+                count == 0 ? 0 : totalNanos.get() / (double) count / 1_000_000);
+    }
+
+    private record Result(long requests, double perSecond, double meanMillis) {
+    }
+}
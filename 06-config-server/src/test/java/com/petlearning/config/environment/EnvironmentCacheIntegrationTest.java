@@ -0,0 +1,83 @@
+package com.petlearning.config.environment;
+
+import com.petlearning.config.ConfigServerApplication;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 以完整的 Config Server 驗證快取：未變更時由記憶體回應，commit 後回應新內容
+ */
+class EnvironmentCacheIntegrationTest {
+
+    @TempDir
+    Path directory;
+
+    private ConfigRepoFixture repo;
+    private ConfigurableApplicationContext server;
+    private final HttpClient http = HttpClient.newHttpClient();
+    private String baseUrl;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        repo = new ConfigRepoFixture(directory.resolve("config-repo"));
+        repo.commit("customers-service.yml", "greeting: hello\n");
+        server = new SpringApplicationBuilder(ConfigServerApplication.class).run(
+                "--server.port=0",
+                "--spring.cloud.config.server.git.uri=" + repo.uri(),
+                "--spring.cloud.config.server.git.basedir=" + directory.resolve("basedir"),
+                "--logging.level.org.springframework.cloud.config.server=INFO");
+        baseUrl = "http://localhost:" + server.getEnvironment().getProperty("local.server.port");
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (server != null) {
+            server.close();
+        }
+        repo.close();
+    }
+
+    @Test
+    void should_ServeCachedEnvironment_Until_RepositoryChanges() throws Exception {
+        // When
+        String first = get("/customers-service/default");
+        String second = get("/customers-service/default");
+
+        // Then
+        assertThat(first).contains("\"greeting\":\"hello\"").isEqualTo(second);
+        assertThat(get("/api/environment-cache")).contains("\"hits\":1", "\"misses\":1");
+
+        // When：提交新設定
+        String commit = repo.commit("customers-service.yml", "greeting: bonjour\n");
+        String updated = first;
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!updated.contains("bonjour") && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+            updated = get("/customers-service/default");
+        }
+
+        // Then
+        assertThat(updated).contains("\"greeting\":\"bonjour\"", commit);
+        assertThat(get("/api/environment-cache")).contains("\"entries\":1", "\"misses\":2");
+    }
+
+    private String get(String path) throws Exception {
+        HttpResponse<String> response = http.send(HttpRequest.newBuilder(URI.create(baseUrl + path)).build(),
+                HttpResponse.BodyHandlers.ofString());
+        assertThat(response.statusCode()).isEqualTo(200);
+        return response.body();
+    }
+}
@@ -0,0 +1,84 @@
+package com.petlearning.config.environment;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 儲存庫 commit 追蹤測試
+ */
+class RepositoryCommitTrackerTest {
+
+    @TempDir
+    Path directory;
+
+    private ConfigRepoFixture repo;
+    private RepositoryCommitTracker tracker;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        repo = new ConfigRepoFixture(directory);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (tracker != null) {
+            tracker.destroy();
+        }
+        repo.close();
+    }
+
+    @Test
+    void should_ResolveBranchTagAndCommitLabels_When_RepositoryExists() throws Exception {
+        // Given
+        String commit = repo.commit("application.yml", "greeting: hello\n");
+        tracker = start(directory);
+
+        // When / Then
+        assertThat(tracker.commitFor("main")).isEqualTo(commit);
+        assertThat(tracker.commitFor(commit)).isEqualTo(commit);
+        assertThat(tracker.commitFor("missing-branch")).isNull();
+        assertThat(tracker.isWatching()).isTrue();
+    }
+
+    @Test
+    void should_InvalidateAndResolveNewCommit_When_BranchMoves() throws Exception {
+        // Given
+        repo.commit("application.yml", "greeting: hello\n");
+        tracker = start(directory);
+        tracker.commitFor("main");
+        CountDownLatch invalidated = new CountDownLatch(1);
+        tracker.addInvalidationListener(invalidated::countDown);
+
+        // When
+        String next = repo.commit("application.yml", "greeting: bonjour\n");
+
+        // Then
+        assertThat(invalidated.await(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(tracker.commitFor("main")).isEqualTo(next);
+        assertThat(tracker.getInvalidations()).isPositive();
+    }
+
+    @Test
+    void should_ReturnNull_When_RepositoryIsMissing() throws Exception {
+        // Given
+        tracker = start(directory.resolve("not-created"));
+
+        // When / Then
+        assertThat(tracker.commitFor("main")).isNull();
+        assertThat(tracker.isWatching()).isFalse();
+    }
+
+    private static RepositoryCommitTracker start(Path path) {
+        RepositoryCommitTracker started = new RepositoryCommitTracker(path);
+        started.afterPropertiesSet();
+        return started;
+    }
+}
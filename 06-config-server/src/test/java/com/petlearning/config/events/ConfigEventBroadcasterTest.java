@@ -0,0 +1,142 @@
+package com.petlearning.config.events;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.petlearning.config.config.ConfigEventsProperties;
+import com.petlearning.config.environment.ConfigRepoFixture;
+import com.petlearning.config.environment.RepositoryCommitTracker;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.cloud.config.environment.Environment;
+import org.springframework.cloud.config.environment.PropertySource;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 設定變更推播的寫入測試：一條不讀資料的連線不能拖住其他訂閱者
+ *
+ * 以真實的 git 儲存庫驅動 commit 追蹤，訂閱者以記錄事件的 SseEmitter 代替 HTTP 連線
+ */
+class ConfigEventBroadcasterTest {
+
+    @TempDir
+    Path directory;
+
+    private ConfigRepoFixture repo;
+    private RepositoryCommitTracker tracker;
+    private ConfigEventBroadcaster broadcaster;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        repo = new ConfigRepoFixture(directory);
+        repo.commit("pets-service.yml", "greeting: hello\n");
+        tracker = new RepositoryCommitTracker(directory);
+        tracker.afterPropertiesSet();
+        ConfigEventsProperties properties = new ConfigEventsProperties();
+        properties.setHeartbeatInterval(Duration.ofMillis(50));
+        properties.setWriteTimeout(Duration.ofMillis(300));
+        properties.setWriterThreads(2);
+        broadcaster = new ConfigEventBroadcaster(this::findOne, tracker, properties, new ObjectMapper(), "main");
+        broadcaster.afterPropertiesSet();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        broadcaster.destroy();
+        tracker.destroy();
+        repo.close();
+    }
+
+    @Test
+    void should_KeepDeliveringToOthers_When_OneSubscriberStopsReading() throws Exception {
+        // Given：第一個訂閱者的寫入卡住（TCP 送出緩衝區已滿）
+        CountDownLatch unblock = new CountDownLatch(1);
+        RecordingEmitter stuck = new RecordingEmitter(unblock);
+        broadcaster.subscribe("pets-service", "default", null, null, stuck);
+        List<RecordingEmitter> others = List.of(new RecordingEmitter(null), new RecordingEmitter(null),
+                new RecordingEmitter(null));
+        others.forEach(emitter -> broadcaster.subscribe("pets-service", "default", null, null, emitter));
+        await(() -> others.stream().allMatch(emitter -> emitter.received("event:snapshot")));
+
+        // When
+        repo.commit("pets-service.yml", "greeting: hi\n");
+
+        // Then：其他訂閱者照常收到差異，卡住的訂閱者逾時後被斷開
+        await(() -> others.stream().allMatch(emitter -> emitter.received("event:delta")));
+        await(() -> broadcaster.getSlowSubscribersDropped() == 1);
+        assertThat(broadcaster.getSubscribers()).isEqualTo(3);
+        assertThat(stuck.failure).isNull();
+
+        // When：卡住的寫入結束（實際上是 Tomcat 的寫入逾時）
+        unblock.countDown();
+
+        // Then：由寫入執行緒結束連線
+        await(() -> stuck.failure != null);
+        assertThat(stuck.events).isEmpty();
+    }
+
+    private Environment findOne(String application, String profile, String label) {
+        Environment environment = new Environment(application, new String[]{profile}, label,
+                tracker.commitFor(label), null);
+        environment.add(new PropertySource("git:pets-service.yml", Map.of("greeting", tracker.commitFor(label))));
+        return environment;
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(condition.getAsBoolean()).isTrue();
+    }
+
+    /**
+     * 記錄送出的事件；block 不為 null 時寫入會卡到 block 放行為止
+     */
+    private static final class RecordingEmitter extends SseEmitter {
+
+        private final List<String> events = new CopyOnWriteArrayList<>();
+        private final CountDownLatch block;
+        private volatile Throwable failure;
+
+        private RecordingEmitter(CountDownLatch block) {
+            this.block = block;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            if (block != null) {
+                try {
+                    block.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+                return;
+            }
+            StringBuilder text = new StringBuilder();
+            builder.build().forEach(part -> text.append(part.getData()));
+            events.add(text.toString());
+        }
+
+        @Override
+        public synchronized void completeWithError(Throwable ex) {
+            failure = ex;
+        }
+
+        boolean received(String line) {
+            return events.stream().anyMatch(event -> event.contains(line));
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.petlearning.config.events;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.petlearning.config.ConfigServerApplication;
+import com.petlearning.config.environment.ConfigRepoFixture;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.http.HttpClient;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 以完整的 Config Server 驗證設定變更推播：訂閱時收到快照，commit 後只收到變更的 key，
+ * 重新連線時只補送錯過的差異
+ */
+class ConfigEventsIntegrationTest {
+
+    private static final String SUBSCRIBE = "/api/config-events/pets-service/default";
+
+    @TempDir
+    Path directory;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient http = HttpClient.newHttpClient();
+    private ConfigRepoFixture repo;
+    private ConfigurableApplicationContext server;
+    private String baseUrl;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        repo = new ConfigRepoFixture(directory.resolve("config-repo"));
+        server = new SpringApplicationBuilder(ConfigServerApplication.class).run(
+                "--server.port=0",
+                "--spring.cloud.config.server.git.uri=" + repo.uri(),
+                "--spring.cloud.config.server.git.basedir=" + directory.resolve("basedir"),
+                "--config-events.heartbeat-interval=200ms",
+                "--logging.level.org.springframework.cloud.config.server=INFO");
+        baseUrl = "http://localhost:" + server.getEnvironment().getProperty("local.server.port");
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (server != null) {
+            server.close();
+        }
+        repo.close();
+    }
+
+    @Test
+    void should_PushOnlyChangedKeys_When_CommitChangesSubscribedApplication() throws Exception {
+        // Given
+        String first = repo.commit("pets-service.yml", "pets:\n  page-size: 20\ngreeting: hello\nlegacy: true\n");
+
+        try (SseStream stream = SseStream.open(http, baseUrl + SUBSCRIBE, null)) {
+            // When：訂閱
+            SseStream.Event snapshot = stream.next(10, TimeUnit.SECONDS);
+
+            // Then：完整快照
+            assertThat(snapshot).isNotNull();
+            assertThat(snapshot.name()).isEqualTo("snapshot");
+            assertThat(snapshot.id()).isEqualTo(first);
+            JsonNode full = objectMapper.readTree(snapshot.data());
+            assertThat(full.get("full").asBoolean()).isTrue();
+            assertThat(full.get("changed").get("pets.page-size").asInt()).isEqualTo(20);
+
+            // When：提交新設定
+            String second = repo.commit("pets-service.yml", "pets:\n  page-size: 50\ngreeting: hello\n");
+            SseStream.Event delta = stream.next(10, TimeUnit.SECONDS);
+
+            // Then：只有變更與移除的 key
+            assertThat(delta).isNotNull();
+            assertThat(delta.name()).isEqualTo("delta");
+            assertThat(delta.id()).isEqualTo(second);
+            JsonNode changes = objectMapper.readTree(delta.data());
+            assertThat(changes.get("previousCommit").asText()).isEqualTo(first);
+            assertThat(changes.get("full").asBoolean()).isFalse();
+            assertThat(changes.get("changed").size()).isEqualTo(1);
+            assertThat(changes.get("changed").get("pets.page-size").asInt()).isEqualTo(50);
+            assertThat(changes.get("removed").get(0).asText()).isEqualTo("legacy");
+            assertThat(changes.get("removed").size()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    void should_SendOnlyMissedChanges_When_ReconnectingWithLastCommit() throws Exception {
+        // Given
+        String first = repo.commit("pets-service.yml", "pets:\n  page-size: 20\ngreeting: hello\n");
+        String second = repo.commit("pets-service.yml", "pets:\n  page-size: 20\ngreeting: bonjour\n");
+
+        // When：以 Last-Event-ID 帶回斷線前的 commit
+        try (SseStream stream = SseStream.open(http, baseUrl + SUBSCRIBE, first)) {
+            SseStream.Event delta = stream.next(10, TimeUnit.SECONDS);
+
+            // Then
+            assertThat(delta).isNotNull();
+            assertThat(delta.name()).isEqualTo("delta");
+            assertThat(delta.id()).isEqualTo(second);
+            JsonNode changes = objectMapper.readTree(delta.data());
+            assertThat(changes.get("changed").size()).isEqualTo(1);
+            assertThat(changes.get("changed").get("greeting").asText()).isEqualTo("bonjour");
+        }
+
+        // When：已是最新
+        try (SseStream stream = SseStream.open(http, baseUrl + SUBSCRIBE + "?since=" + second, null)) {
+            // Then：沒有事件，只有確認連線與心跳的註解
+            assertThat(stream.next(1, TimeUnit.SECONDS)).isNull();
+            assertThat(stream.comments()).isGreaterThanOrEqualTo(2);
+        }
+    }
+
+    @Test
+    void should_FallBackToSnapshot_When_LastCommitIsUnknown() throws Exception {
+        // Given
+        String commit = repo.commit("pets-service.yml", "greeting: hello\n");
+
+        // When
+        try (SseStream stream = SseStream.open(http, baseUrl + SUBSCRIBE + "?since=0000000", null)) {
+            SseStream.Event event = stream.next(10, TimeUnit.SECONDS);
+
+            // Then
+            assertThat(event).isNotNull();
+            assertThat(event.name()).isEqualTo("snapshot");
+            assertThat(event.id()).isEqualTo(commit);
+        }
+    }
+}
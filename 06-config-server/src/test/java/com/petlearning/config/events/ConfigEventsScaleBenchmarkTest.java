@@ -0,0 +1,107 @@
+package com.petlearning.config.events;
+
+import com.petlearning.config.ConfigServerApplication;
+import com.petlearning.config.environment.ConfigRepoFixture;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.http.HttpClient;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 大量閒置訂閱者：連線數 vs 伺服器執行緒數，以及一次 commit 推播給所有人的時間
+ *
+ * 預設不執行，使用以下指令執行：
+ * mvn test -Dbenchmark=true -Dtest=ConfigEventsScaleBenchmarkTest
+ *
+ * 2000 條 SSE 連線分散在 4 個 application，Tomcat 工作執行緒上限刻意壓到 8 條：
+ * 若每個訂閱佔住一條執行緒，第 9 個訂閱就收不到快照。全部收到快照後閒置 5 秒，
+ * 接著 commit 修改共用的 application.yml，量測所有訂閱者收到差異的時間。
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class ConfigEventsScaleBenchmarkTest {
+
+    private static final int SUBSCRIBERS = 2000;
+    private static final int WORKER_THREADS = 8;
+    private static final List<String> APPLICATIONS = List.of(
+            "customers-service", "pets-service", "visits-service", "api-gateway");
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void should_HoldThousandsOfIdleSubscribers_When_UsingFewThreads() throws Exception {
+        try (ConfigRepoFixture repo = new ConfigRepoFixture(directory.resolve("config-repo"))) {
+            repo.commit("application.yml", "shared:\n  timeout: 5s\n");
+            for (String application : APPLICATIONS) {
+                repo.commit(application + ".yml", "greeting: hello-" + application + "\n");
+            }
+            try (ConfigurableApplicationContext server = new SpringApplicationBuilder(ConfigServerApplication.class).run(
+                    "--server.port=0",
+                    "--server.tomcat.max-connections=" + (SUBSCRIBERS + 100),
+                    "--server.tomcat.threads.max=" + WORKER_THREADS,
+                    "--server.tomcat.threads.min-spare=" + WORKER_THREADS,
+                    "--spring.cloud.config.server.git.uri=" + repo.uri(),
+                    "--spring.cloud.config.server.git.basedir=" + directory.resolve("basedir"),
+                    "--logging.level.org.springframework.cloud.config.server=WARN",
+                    "--logging.level.org.springframework.boot.SpringApplication=WARN")) {
+                String baseUrl = "http://localhost:" + server.getEnvironment().getProperty("local.server.port");
+                HttpClient client = HttpClient.newBuilder()
+                        .version(HttpClient.Version.HTTP_1_1)
+                        .executor(Executors.newFixedThreadPool(4))
+                        .build();
+                ConfigEventBroadcaster broadcaster = server.getBean(ConfigEventBroadcaster.class);
+
+                List<SseStream> streams = new ArrayList<>();
+                long connectStart = System.nanoTime();
+                for (int i = 0; i < SUBSCRIBERS; i++) {
+                    String application = APPLICATIONS.get(i % APPLICATIONS.size());
+                    streams.add(SseStream.open(client, baseUrl + "/api/config-events/" + application + "/default", null));
+                }
+                for (SseStream stream : streams) {
+                    assertThat(stream.next(60, TimeUnit.SECONDS)).isNotNull();
+                }
+                long connectMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - connectStart);
+
+                Thread.sleep(5000);
+                long workers = threads("-exec-");
+                long total = Thread.activeCount();
+
+                long pushStart = System.nanoTime();
+                repo.commit("application.yml", "shared:\n  timeout: 10s\n");
+                for (SseStream stream : streams) {
+                    SseStream.Event delta = stream.next(60, TimeUnit.SECONDS);
+                    assertThat(delta).isNotNull();
+                    assertThat(delta.data()).contains("\"shared.timeout\":\"10s\"").doesNotContain("greeting");
+                }
+                long pushMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - pushStart);
+
+                System.out.printf("%-28s %10d%n", "subscribers", broadcaster.getSubscribers());
+                System.out.printf("%-28s %10d%n", "groups", broadcaster.getGroups());
+                System.out.printf("%-28s %10d%n", "connect + snapshot (ms)", connectMillis);
+                System.out.printf("%-28s %10d%n", "tomcat workers (idle)", workers);
+                System.out.printf("%-28s %10d%n", "jvm threads (incl. client)", total);
+                System.out.printf("%-28s %10d%n", "commit -> all deltas (ms)", pushMillis);
+                assertThat(broadcaster.getSubscribers()).isEqualTo(SUBSCRIBERS);
+                assertThat(workers).isLessThanOrEqualTo(WORKER_THREADS);
+
+                streams.forEach(SseStream::close);
+            }
+        }
+    }
+
+    private static long threads(String nameFragment) {
+        return Thread.getAllStackTraces().keySet().stream()
+                .filter(thread -> thread.getName().contains(nameFragment))
+                .count();
+    }
+}
@@ -0,0 +1,41 @@
+package com.petlearning.config.events;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.config.environment.Environment;
+import org.springframework.cloud.config.environment.PropertySource;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 設定差異計算測試
+ */
+class EnvironmentDiffTest {
+
+    @Test
+    void should_KeepHighestPrecedenceValue_When_Flattening() {
+        // Given：profile 專屬的 property source 排在前面
+        Environment environment = new Environment("pets-service", "dev");
+        environment.add(new PropertySource("pets-service-dev.yml", Map.of("pets.page-size", 50)));
+        environment.add(new PropertySource("pets-service.yml", Map.of("pets.page-size", 20, "greeting", "hello")));
+
+        // When
+        Map<String, Object> effective = EnvironmentDiff.flatten(environment);
+
+        // Then
+        assertThat(effective).containsExactlyInAnyOrderEntriesOf(Map.of("pets.page-size", 50, "greeting", "hello"));
+    }
+
+    @Test
+    void should_ReportOnlyChangedAndRemovedKeys_When_Comparing() {
+        // Given
+        Map<String, Object> previous = Map.of("greeting", "hello", "pets.page-size", 20, "legacy", true);
+        Map<String, Object> current = Map.of("greeting", "hello", "pets.page-size", 50, "feature.beta", true);
+
+        // When & Then
+        assertThat(EnvironmentDiff.changed(previous, current))
+                .containsExactlyInAnyOrderEntriesOf(Map.of("pets.page-size", 50, "feature.beta", true));
+        assertThat(EnvironmentDiff.removed(previous, current)).containsExactly("legacy");
+    }
+}
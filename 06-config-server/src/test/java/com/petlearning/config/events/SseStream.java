@@ -0,0 +1,95 @@
+package com.petlearning.config.events;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 測試用的 SSE 連線：以 JDK HttpClient 逐行讀取，把事件放進佇列（註解行只計數）
+ */
+class SseStream implements Flow.Subscriber<String>, AutoCloseable {
+
+    record Event(String name, String id, String data) {
+    }
+
+    private final BlockingQueue<Event> events = new LinkedBlockingQueue<>();
+    private final CompletableFuture<HttpResponse<Void>> response;
+    private volatile Flow.Subscription subscription;
+    private volatile int comments;
+    private String name;
+    private String id;
+    private StringBuilder data;
+
+    private SseStream(HttpClient client, HttpRequest request) {
+        this.response = client.sendAsync(request, HttpResponse.BodyHandlers.fromLineSubscriber(this));
+    }
+
+    static SseStream open(HttpClient client, String url, String lastEventId) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(url)).header("Accept", "text/event-stream");
+        if (lastEventId != null) {
+            request.header("Last-Event-ID", lastEventId);
+        }
+        return new SseStream(client, request.build());
+    }
+
+    Event next(long timeout, TimeUnit unit) throws InterruptedException {
+        return events.poll(timeout, unit);
+    }
+
+    int comments() {
+        return comments;
+    }
+
+    CompletableFuture<HttpResponse<Void>> response() {
+        return response;
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        this.subscription = subscription;
+        subscription.request(Long.MAX_VALUE);
+    }
+
+    @Override
+    public void onNext(String line) {
+        if (line.isEmpty()) {
+            if (data != null) {
+                events.add(new Event(name, id, data.toString()));
+            }
+            name = null;
+            id = null;
+            data = null;
+        } else if (line.startsWith(":")) {
+            comments++;
+        } else if (line.startsWith("event:")) {
+            name = line.substring("event:".length());
+        } else if (line.startsWith("id:")) {
+            id = line.substring("id:".length());
+        } else if (line.startsWith("data:")) {
+            data = data == null ? new StringBuilder() : data.append('\n');
+            data.append(line.substring("data:".length()));
+        }
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+    }
+
+    @Override
+    public void onComplete() {
+    }
+
+    @Override
+    public void close() {
+        if (subscription != null) {
+            subscription.cancel();
+        }
+        response.cancel(true);
+    }
+}
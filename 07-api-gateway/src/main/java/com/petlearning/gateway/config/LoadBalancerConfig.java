@@ -0,0 +1,19 @@
+package com.petlearning.gateway.config;
+
+import com.petlearning.gateway.loadbalancer.LoadAwareLoadBalancerConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cloud.loadbalancer.annotation.LoadBalancerClients;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 負載平衡配置
+ *
+ * lb:// 路由預設改用 {@link com.petlearning.gateway.loadbalancer.LoadAwareLoadBalancer}，
+ * 依後端實例在 Eureka metadata 回報的負載加權選擇；
+ * 設定 gateway.load-balancer.load-aware=false 即回到 Spring Cloud LoadBalancer 的輪詢。
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "gateway.load-balancer", name = "load-aware", havingValue = "true", matchIfMissing = true)
+@LoadBalancerClients(defaultConfiguration = LoadAwareLoadBalancerConfiguration.class)
+public class LoadBalancerConfig {
+}
@@ -0,0 +1,44 @@
+package com.petlearning.gateway.config;
+
+import com.netflix.discovery.EurekaClient;
+import com.petlearning.gateway.registry.RegistryFetchMonitor;
+import com.petlearning.gateway.registry.RegistrySnapshotListener;
+import com.petlearning.gateway.registry.RegistrySnapshotStore;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.netflix.eureka.RestTemplateTimeoutProperties;
+import org.springframework.cloud.netflix.eureka.http.DefaultEurekaClientHttpRequestFactorySupplier;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 本機註冊表快照配置
+ *
+ * Eureka Server 重啟或無法連線時，Gateway 重啟後仍能以上次成功抓取的註冊表路由。
+ * 讀取端由 eureka.client.backup-registry-impl 指定的 RegistrySnapshotBackupRegistry 負責。
+ * 寫入端依 RegistryFetchMonitor 判斷抓取是否成功，它取代預設的 EurekaClientHttpRequestFactorySupplier，
+ * 只適用 Eureka 客戶端的 RestTemplate 傳輸（eureka.client.webclient.enabled=false，預設值）。
+ */
+@Configuration
+@EnableConfigurationProperties(RegistrySnapshotProperties.class)
+@ConditionalOnProperty(prefix = "gateway.registry-snapshot", name = "enabled", matchIfMissing = true)
+public class RegistrySnapshotConfig {
+
+    @Bean
+    public RegistrySnapshotStore registrySnapshotStore(RegistrySnapshotProperties properties) {
+        return new RegistrySnapshotStore(properties.getFile(), properties.getMaxAge());
+    }
+
+    @Bean
+    public RegistryFetchMonitor registryFetchMonitor(RestTemplateTimeoutProperties timeoutProperties) {
+        return new RegistryFetchMonitor(new DefaultEurekaClientHttpRequestFactorySupplier(timeoutProperties));
+    }
+
+    @Bean
+    public RegistrySnapshotListener registrySnapshotListener(RegistrySnapshotStore registrySnapshotStore,
+                                                             RegistryFetchMonitor registryFetchMonitor,
+                                                             ObjectProvider<EurekaClient> eurekaClient) {
+        return new RegistrySnapshotListener(registrySnapshotStore, registryFetchMonitor, eurekaClient);
+    }
+}
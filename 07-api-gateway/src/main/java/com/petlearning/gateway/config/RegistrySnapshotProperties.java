@@ -0,0 +1,58 @@
+package com.petlearning.gateway.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * 本機註冊表快照設定
+ *
+ * 範例：
+ * <pre>
+ * gateway:
+ *   registry-snapshot:
+ *     enabled: true
+ *     file: /var/lib/api-gateway/registry.snapshot
+ *     max-age: 24h
+ * </pre>
+ *
+ * 需搭配 eureka.client.backup-registry-impl 指向 RegistrySnapshotBackupRegistry，
+ * Eureka 客戶端啟動時抓不到註冊表才會改讀快照。
+ */
+@ConfigurationProperties(prefix = "gateway.registry-snapshot")
+public class RegistrySnapshotProperties {
+
+    /** 是否在每次成功抓取後寫入快照，並在 Eureka 無法連線時使用 */
+    private boolean enabled = true;
+
+    /** 快照檔案位置，同目錄下會建立暫存檔再原子替換 */
+    private Path file = Path.of(System.getProperty("java.io.tmpdir"), "api-gateway", "registry.snapshot");
+
+    /** 快照最長可用時間（以檔案修改時間計算），超過時寧可不路由也不使用過舊的實例 */
+    private Duration maxAge = Duration.ofHours(24);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    public void setFile(Path file) {
+        this.file = file;
+    }
+
+    public Duration getMaxAge() {
+        return maxAge;
+    }
+
+    public void setMaxAge(Duration maxAge) {
+        this.maxAge = maxAge;
+    }
+}
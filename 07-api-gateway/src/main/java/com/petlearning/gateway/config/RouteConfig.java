@@ -0,0 +1,65 @@
+package com.petlearning.gateway.config;
+
+import com.petlearning.gateway.route.FileRouteDefinitionLocator;
+import com.petlearning.gateway.route.IndexedRoutePredicateHandlerMapping;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cloud.gateway.config.GlobalCorsProperties;
+import org.springframework.cloud.gateway.event.RefreshRoutesResultEvent;
+import org.springframework.cloud.gateway.handler.FilteringWebHandler;
+import org.springframework.cloud.gateway.handler.RoutePredicateHandlerMapping;
+import org.springframework.cloud.gateway.route.RouteLocator;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * 路由查找與動態路由配置
+ *
+ * - 以前綴樹索引取代預設的線性路由查找
+ * - 設定 gateway.dynamic-routes.file 時，從檔案載入路由並熱更新
+ */
+@Configuration
+public class RouteConfig {
+
+    /**
+     * 取代 GatewayAutoConfiguration 的 routePredicateHandlerMapping（@ConditionalOnMissingBean）
+     */
+    @Bean
+    public RoutePredicateHandlerMapping routePredicateHandlerMapping(
+            FilteringWebHandler webHandler, RouteLocator routeLocator,
+            GlobalCorsProperties globalCorsProperties, Environment environment) {
+        return new IndexedRoutePredicateHandlerMapping(webHandler, routeLocator, globalCorsProperties, environment);
+    }
+
+    /**
+     * 路由刷新後通知索引
+     *
+     * 監聽器獨立成 Bean 並延遲取得 handler mapping，
+     * 避免 CachingRouteLocator 建立期間發出事件時造成循環依賴
+     */
+    @Bean
+    public ApplicationListener<RefreshRoutesResultEvent> routeIndexRefreshListener(
+            ObjectProvider<RoutePredicateHandlerMapping> handlerMapping) {
+        return event -> {
+            if (handlerMapping.getIfAvailable() instanceof IndexedRoutePredicateHandlerMapping indexed) {
+                indexed.onRoutesRefreshed(event);
+            }
+        };
+    }
+
+    @Bean
+    @ConditionalOnProperty("gateway.dynamic-routes.file")
+    public FileRouteDefinitionLocator fileRouteDefinitionLocator(
+            @Value("${gateway.dynamic-routes.file}") Path file,
+            @Value("${gateway.dynamic-routes.poll-interval:2s}") Duration pollInterval,
+            ApplicationEventPublisher publisher) {
+        return new FileRouteDefinitionLocator(file, pollInterval, publisher);
+    }
+}
@@ -0,0 +1,48 @@
+package com.petlearning.gateway.config;
+
+import com.petlearning.gateway.pool.ServicePoolRoutingFilter;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.gateway.config.GatewayProperties;
+import org.springframework.cloud.gateway.config.HttpClientCustomizer;
+import org.springframework.cloud.gateway.config.HttpClientProperties;
+import org.springframework.cloud.gateway.config.HttpClientSslConfigurer;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.cloud.gateway.filter.headers.HttpHeadersFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.netty.http.client.HttpClient;
+
+import java.util.List;
+
+/**
+ * 每服務獨立連線池配置
+ *
+ * 需搭配 spring.cloud.gateway.global-filter.netty-routing.enabled=false，
+ * 關閉 Gateway 預設的 NettyRoutingFilter。
+ * 關閉後 Gateway 也不會建立 NettyWriteResponseFilter（負責把上游回應寫回 client），
+ * 因此在這裡一併註冊。
+ */
+@Configuration
+@EnableConfigurationProperties(ServicePoolProperties.class)
+public class ServicePoolConfig {
+
+    @Bean
+    public ServicePoolRoutingFilter servicePoolRoutingFilter(
+            HttpClient httpClient,
+            ObjectProvider<List<HttpHeadersFilter>> headersFilters,
+            HttpClientProperties httpClientProperties,
+            ServerProperties serverProperties,
+            HttpClientSslConfigurer httpClientSslConfigurer,
+            ObjectProvider<HttpClientCustomizer> httpClientCustomizers,
+            ServicePoolProperties servicePoolProperties) {
+        return new ServicePoolRoutingFilter(httpClient, headersFilters, httpClientProperties, serverProperties,
+                httpClientSslConfigurer, httpClientCustomizers.orderedStream().toList(), servicePoolProperties);
+    }
+
+    @Bean
+    public NettyWriteResponseFilter nettyWriteResponseFilter(GatewayProperties gatewayProperties) {
+        return new NettyWriteResponseFilter(gatewayProperties.getStreamingMediaTypes());
+    }
+}
@@ -0,0 +1,113 @@
+package com.petlearning.gateway.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 每個後端服務獨立的上游連線池設定
+ *
+ * 範例：
+ * <pre>
+ * gateway:
+ *   pools:
+ *     services:
+ *       pets-service:
+ *         max-connections: 50
+ *         pending-acquire-max-count: 100
+ *         pending-acquire-timeout: 2s
+ *         max-idle-time: 30s
+ *         eviction-interval: 30s
+ *         http2: false
+ * </pre>
+ *
+ * key 為服務名稱：lb:// 路由取服務 ID（例如 pets-service），其他路由取路由 ID。
+ * 未設定的服務沿用 Gateway 預設的共用連線池。
+ */
+@ConfigurationProperties(prefix = "gateway.pools")
+public class ServicePoolProperties {
+
+    private Map<String, Pool> services = new LinkedHashMap<>();
+
+    public Map<String, Pool> getServices() {
+        return services;
+    }
+
+    public void setServices(Map<String, Pool> services) {
+        this.services = services;
+    }
+
+    /**
+     * 單一服務的連線池參數
+     */
+    public static class Pool {
+
+        /** 最大連線數 */
+        private int maxConnections = 100;
+
+        /** 等待取得連線的最大請求數，超過直接失敗（快速失敗，不堆積） */
+        private int pendingAcquireMaxCount = 200;
+
+        /** 等待取得連線的最長時間 */
+        private Duration pendingAcquireTimeout = Duration.ofSeconds(5);
+
+        /** 連線閒置多久後關閉 */
+        private Duration maxIdleTime = Duration.ofSeconds(30);
+
+        /** 背景清除閒置連線的間隔，0 表示只在取用時檢查 */
+        private Duration evictionInterval = Duration.ofSeconds(30);
+
+        /** 啟用 HTTP/2（明文使用 h2c upgrade，無法升級時退回 HTTP/1.1） */
+        private boolean http2 = false;
+
+        public int getMaxConnections() {
+            return maxConnections;
+        }
+
+        public void setMaxConnections(int maxConnections) {
+            this.maxConnections = maxConnections;
+        }
+
+        public int getPendingAcquireMaxCount() {
+            return pendingAcquireMaxCount;
+        }
+
+        public void setPendingAcquireMaxCount(int pendingAcquireMaxCount) {
+            this.pendingAcquireMaxCount = pendingAcquireMaxCount;
+        }
+
+        public Duration getPendingAcquireTimeout() {
+            return pendingAcquireTimeout;
+        }
+
+        public void setPendingAcquireTimeout(Duration pendingAcquireTimeout) {
+            this.pendingAcquireTimeout = pendingAcquireTimeout;
+        }
+
+        public Duration getMaxIdleTime() {
+            return maxIdleTime;
+        }
+
+        public void setMaxIdleTime(Duration maxIdleTime) {
+            this.maxIdleTime = maxIdleTime;
+        }
+
+        public Duration getEvictionInterval() {
+            return evictionInterval;
+        }
+
+        public void setEvictionInterval(Duration evictionInterval) {
+            this.evictionInterval = evictionInterval;
+        }
+
+        public boolean isHttp2() {
+            return http2;
+        }
+
+        public void setHttp2(boolean http2) {
+            this.http2 = http2;
+        }
+    }
+}
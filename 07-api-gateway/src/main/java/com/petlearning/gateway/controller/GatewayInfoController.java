@@ -1,8 +1,17 @@
 package com.petlearning.gateway.controller;
 
+import com.petlearning.gateway.dto.RouteInfo;
+import com.petlearning.gateway.metrics.RouteStats;
+import com.petlearning.gateway.metrics.RouteStatsRegistry;
+import org.springframework.cloud.client.discovery.ReactiveDiscoveryClient;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.route.RouteLocator;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
 
 /**
  * API Gateway 演示端點
@@ -21,6 +30,18 @@ import org.springframework.web.bind.annotation.RestController;
 @RequestMapping("/api")
 public class GatewayInfoController {
 
+    private final RouteLocator routeLocator;
+    private final RouteStatsRegistry routeStatsRegistry;
+    private final ReactiveDiscoveryClient discoveryClient;
+
+    public GatewayInfoController(RouteLocator routeLocator,
+                                 RouteStatsRegistry routeStatsRegistry,
+                                 ReactiveDiscoveryClient discoveryClient) {
+        this.routeLocator = routeLocator;
+        this.routeStatsRegistry = routeStatsRegistry;
+        this.discoveryClient = discoveryClient;
+    }
+
     /**
      * 健康檢查
      */
@@ -31,10 +52,47 @@ public class GatewayInfoController {
 
     /**
      * 獲取路由信息
+     *
+     * 直接讀取 Gateway 實際使用的 RouteLocator，並附上每條路由的
+     * 請求速率、錯誤率、上游延遲百分位數以及目前解析到的實例
      */
     @GetMapping("/routes")
-    public String routes() {
-        return "Available routes: /customers, /pets";
+    public Mono<List<RouteInfo>> routes() {
+        return routeLocator.getRoutes()
+                .flatMapSequential(this::toRouteInfo)
+                .collectList();
+    }
+
+    private Mono<RouteInfo> toRouteInfo(Route route) {
+        RouteStats.Snapshot stats = routeStatsRegistry.snapshot(route.getId());
+        return resolveInstances(route)
+                .map(instances -> new RouteInfo(
+                        route.getId(),
+                        route.getUri().toString(),
+                        route.getOrder(),
+                        stats.totalRequests(),
+                        stats.totalErrors(),
+                        stats.requestsPerSecond(),
+                        stats.errorRate(),
+                        stats.p50Millis(),
+                        stats.p90Millis(),
+                        stats.p99Millis(),
+                        stats.maxMillis(),
+                        instances));
+    }
+
+    /**
+     * lb:// 路由透過服務發現解析實例，其他路由直接回傳目標位址
+     */
+    private Mono<List<String>> resolveInstances(Route route) {
+        if (!"lb".equals(route.getUri().getScheme())) {
+            return Mono.just(List.of(route.getUri().getAuthority() != null
+                    ? route.getUri().getAuthority() : route.getUri().toString()));
+        }
+        return discoveryClient.getInstances(route.getUri().getHost())
+                .map(instance -> instance.getHost() + ":" + instance.getPort())
+                .collectList()
+                .onErrorReturn(List.of());
     }
 
     /**
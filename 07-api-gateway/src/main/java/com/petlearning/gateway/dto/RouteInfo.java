@@ -0,0 +1,34 @@
+package com.petlearning.gateway.dto;
+
+import java.util.List;
+
+/**
+ * 路由即時資訊
+ *
+ * @param id 路由 ID
+ * @param uri 路由目標（例如 lb://customers-service）
+ * @param order 路由順序
+ * @param totalRequests 累計請求數
+ * @param totalErrors 累計錯誤數（5xx 或例外）
+ * @param requestsPerSecond 最近區間的每秒請求數
+ * @param errorRate 最近區間的錯誤比例（0 ~ 1）
+ * @param p50Millis 上游延遲 p50（毫秒）
+ * @param p90Millis 上游延遲 p90（毫秒）
+ * @param p99Millis 上游延遲 p99（毫秒）
+ * @param maxMillis 上游延遲最大值（毫秒）
+ * @param instances 目前從服務發現解析到的實例（host:port）
+ */
+public record RouteInfo(
+        String id,
+        String uri,
+        int order,
+        long totalRequests,
+        long totalErrors,
+        double requestsPerSecond,
+        double errorRate,
+        double p50Millis,
+        double p90Millis,
+        double p99Millis,
+        double maxMillis,
+        List<String> instances) {
+}
@@ -0,0 +1,130 @@
+package com.petlearning.gateway.loadbalancer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.client.loadbalancer.EmptyResponse;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.loadbalancer.core.NoopServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.core.ReactorServiceInstanceLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 依實例負載加權的隨機負載平衡
+ *
+ * 後端服務（04-customers-service / 04-pets-service）透過 04-load-metadata 把負載訊號寫入 Eureka metadata：
+ * - load.inflight：進行中請求數（區間峰值）
+ * - load.p99-ms：最近的 p99 延遲
+ * - load.cpu / load.pool：CPU 使用率與連線池飽和度（0~1）
+ *
+ * 權重 = (1 - 0.8 × cpu)(1 - 0.8 × pool) / ((1 + inflight)(1 + p99 / 100ms))
+ * 沒有 metadata 的實例（尚未升級、剛註冊）取其他實例的平均權重；都沒有時退化為均勻隨機。
+ *
+ * 用加權隨機而非「永遠選最輕」：metadata 隨註冊表同步會延遲數十秒，
+ * 全部流量湧向同一個「看起來最閒」的實例反而會把它壓垮。
+ */
+public class LoadAwareLoadBalancer implements ReactorServiceInstanceLoadBalancer {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoadAwareLoadBalancer.class);
+
+    /** 與 04-load-metadata 的 LoadSignals 相同的 metadata key（Gateway 不依賴 servlet 模組，故複製一份） */
+    static final String INFLIGHT = "load.inflight";
+    static final String P99_MILLIS = "load.p99-ms";
+    static final String CPU = "load.cpu";
+    static final String POOL = "load.pool";
+
+    private final String serviceId;
+    private final ObjectProvider<ServiceInstanceListSupplier> supplierProvider;
+
+    public LoadAwareLoadBalancer(String serviceId, ObjectProvider<ServiceInstanceListSupplier> supplierProvider) {
+        this.serviceId = serviceId;
+        this.supplierProvider = supplierProvider;
+    }
+
+    @Override
+    public Mono<Response<ServiceInstance>> choose(Request request) {
+        ServiceInstanceListSupplier supplier = supplierProvider.getIfAvailable(NoopServiceInstanceListSupplier::new);
+        return supplier.get(request).next()
+                .map(instances -> choose(instances, ThreadLocalRandom.current().nextDouble()));
+    }
+
+    /**
+     * 以 roll（0 ≤ roll < 1）在累積權重上選出實例
+     */
+    Response<ServiceInstance> choose(List<ServiceInstance> instances, double roll) {
+        if (instances.isEmpty()) {
+            logger.warn("No servers available for service: {}", serviceId);
+            return new EmptyResponse();
+        }
+        if (instances.size() == 1) {
+            return new DefaultResponse(instances.get(0));
+        }
+        double[] weights = weights(instances);
+        double total = 0;
+        for (double weight : weights) {
+            total += weight;
+        }
+        double target = roll * total;
+        for (int i = 0; i < weights.length; i++) {
+            target -= weights[i];
+            if (target < 0) {
+                return new DefaultResponse(instances.get(i));
+            }
+        }
+        return new DefaultResponse(instances.get(instances.size() - 1));
+    }
+
+    static double[] weights(List<ServiceInstance> instances) {
+        double[] weights = new double[instances.size()];
+        double known = 0;
+        int knownCount = 0;
+        for (int i = 0; i < weights.length; i++) {
+            weights[i] = weight(instances.get(i).getMetadata());
+            if (!Double.isNaN(weights[i])) {
+                known += weights[i];
+                knownCount++;
+            }
+        }
+        double fallback = knownCount == 0 ? 1.0 : known / knownCount;
+        for (int i = 0; i < weights.length; i++) {
+            if (Double.isNaN(weights[i])) {
+                weights[i] = fallback;
+            }
+        }
+        return weights;
+    }
+
+    /**
+     * 由 metadata 計算權重；沒有或無法解析時回傳 NaN
+     */
+    static double weight(Map<String, String> metadata) {
+        if (metadata == null || !metadata.containsKey(INFLIGHT)) {
+            return Double.NaN;
+        }
+        try {
+            double inflight = Math.max(0, Double.parseDouble(metadata.get(INFLIGHT)));
+            double p99 = Math.max(0, parse(metadata.get(P99_MILLIS)));
+            double cpu = clamp(parse(metadata.get(CPU)));
+            double pool = clamp(parse(metadata.get(POOL)));
+            return (1 - 0.8 * cpu) * (1 - 0.8 * pool) / ((1 + inflight) * (1 + p99 / 100));
+        } catch (NumberFormatException ex) {
+            return Double.NaN;
+        }
+    }
+
+    private static double parse(String value) {
+        return value == null ? 0 : Double.parseDouble(value);
+    }
+
+    private static double clamp(double ratio) {
+        return Math.min(1, Math.max(0, ratio));
+    }
+}
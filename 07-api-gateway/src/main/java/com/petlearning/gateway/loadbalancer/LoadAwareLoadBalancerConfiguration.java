@@ -0,0 +1,25 @@
+package com.petlearning.gateway.loadbalancer;
+
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.loadbalancer.core.ReactorLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.env.Environment;
+
+/**
+ * 每個服務的 LoadBalancer 子 context 配置
+ *
+ * 刻意不加 @Configuration：由 @LoadBalancerClients(defaultConfiguration = ...) 載入到各服務的子 context，
+ * 若被元件掃描到主 context 會變成所有服務共用同一個實例。
+ */
+public class LoadAwareLoadBalancerConfiguration {
+
+    @Bean
+    public ReactorLoadBalancer<ServiceInstance> loadAwareLoadBalancer(Environment environment,
+                                                                      LoadBalancerClientFactory clientFactory) {
+        String serviceId = environment.getProperty(LoadBalancerClientFactory.PROPERTY_NAME);
+        return new LoadAwareLoadBalancer(serviceId,
+                clientFactory.getLazyProvider(serviceId, ServiceInstanceListSupplier.class));
+    }
+}
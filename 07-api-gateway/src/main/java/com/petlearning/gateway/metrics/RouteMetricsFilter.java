@@ -0,0 +1,50 @@
+package com.petlearning.gateway.metrics;
+
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.ReactiveLoadBalancerClientFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+/**
+ * 路由延遲量測過濾器
+ *
+ * 排在負載平衡過濾器之後，量測的是「選定實例後到上游回應完成」的時間，
+ * 不包含 Gateway 前段過濾器的處理時間。
+ */
+@Component
+public class RouteMetricsFilter implements GlobalFilter, Ordered {
+
+    private final RouteStatsRegistry routeStatsRegistry;
+
+    public RouteMetricsFilter(RouteStatsRegistry routeStatsRegistry) {
+        this.routeStatsRegistry = routeStatsRegistry;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        long start = System.nanoTime();
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        String routeId = route != null ? route.getId() : null;
+        return chain.filter(exchange)
+                .doOnSuccess(ignored -> routeStatsRegistry.record(
+                        routeId, System.nanoTime() - start, statusOf(exchange)))
+                .doOnError(ex -> routeStatsRegistry.record(
+                        routeId, System.nanoTime() - start, -1));
+    }
+
+    private static int statusOf(ServerWebExchange exchange) {
+        HttpStatusCode status = exchange.getResponse().getStatusCode();
+        return status != null ? status.value() : 200;
+    }
+
+    @Override
+    public int getOrder() {
+        return ReactiveLoadBalancerClientFilter.LOAD_BALANCER_CLIENT_FILTER_ORDER + 1;
+    }
+}
@@ -0,0 +1,135 @@
+package com.petlearning.gateway.metrics;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 單一路由的即時統計
+ *
+ * 說明：
+ * - 延遲使用 HdrHistogram {@link Recorder} 記錄，寫入端無鎖、無配置
+ * - 讀取端以「區間」方式取出直方圖，累加到總直方圖中
+ * - 請求數與錯誤數使用 {@link LongAdder}，高併發下不會互相競爭
+ *
+ * 速率計算：
+ * 最近一個完整區間的請求數 / 區間秒數，區間長度由建構子決定
+ */
+public class RouteStats {
+
+    /** 最大可記錄延遲：60 秒（微秒單位） */
+    static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.SECONDS.toMicros(60);
+
+    private static final int SIGNIFICANT_DIGITS = 2;
+
+    private final String routeId;
+    private final long windowNanos;
+
+    private final Recorder recorder = new Recorder(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+
+    // 以下欄位只在 roll() 內（持有 this 鎖）修改
+    private final Histogram cumulative = new Histogram(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+    private Histogram intervalHistogram;
+    private Histogram lastInterval;
+    private long intervalStartNanos;
+    private long lastIntervalNanos;
+    private long requestsAtIntervalStart;
+    private long errorsAtIntervalStart;
+    private long lastIntervalRequests;
+    private long lastIntervalErrors;
+
+    public RouteStats(String routeId, long windowNanos) {
+        this.routeId = routeId;
+        this.windowNanos = windowNanos;
+        this.intervalStartNanos = System.nanoTime();
+    }
+
+    /**
+     * 記錄一次請求（請求路徑上呼叫，必須保持低開銷）
+     *
+     * @param latencyNanos 上游延遲（奈秒）
+     * @param error 是否為錯誤（5xx 或例外）
+     */
+    public void record(long latencyNanos, boolean error) {
+        long micros = Math.min(TimeUnit.NANOSECONDS.toMicros(latencyNanos), HIGHEST_TRACKABLE_MICROS);
+        recorder.recordValue(Math.max(micros, 0));
+        requests.increment();
+        if (error) {
+            errors.increment();
+        }
+    }
+
+    /**
+     * 取得目前統計快照
+     *
+     * 若目前區間已超過視窗長度，先滾動區間再產生快照
+     */
+    public synchronized Snapshot snapshot() {
+        long now = System.nanoTime();
+        if (now - intervalStartNanos >= windowNanos) {
+            roll(now);
+        }
+        double seconds = lastIntervalNanos > 0 ? lastIntervalNanos / 1_000_000_000.0 : 0;
+        double requestRate = seconds > 0 ? lastIntervalRequests / seconds : 0;
+        double errorRate = lastIntervalRequests > 0 ? (double) lastIntervalErrors / lastIntervalRequests : 0;
+        Histogram source = lastInterval != null && lastInterval.getTotalCount() > 0 ? lastInterval : cumulative;
+        return new Snapshot(
+                routeId,
+                requests.sum(),
+                errors.sum(),
+                requestRate,
+                errorRate,
+                percentileMillis(source, 50),
+                percentileMillis(source, 90),
+                percentileMillis(source, 99),
+                source.getTotalCount() > 0 ? source.getMaxValue() / 1000.0 : 0);
+    }
+
+    private void roll(long now) {
+        intervalHistogram = recorder.getIntervalHistogram(intervalHistogram);
+        cumulative.add(intervalHistogram);
+        // 交換兩個直方圖，避免每次滾動都配置新物件（回收的直方圖必須來自同一個 Recorder）
+        Histogram previous = lastInterval;
+        lastInterval = intervalHistogram;
+        intervalHistogram = previous;
+
+        long totalRequests = requests.sum();
+        long totalErrors = errors.sum();
+        lastIntervalRequests = totalRequests - requestsAtIntervalStart;
+        lastIntervalErrors = totalErrors - errorsAtIntervalStart;
+        requestsAtIntervalStart = totalRequests;
+        errorsAtIntervalStart = totalErrors;
+        lastIntervalNanos = now - intervalStartNanos;
+        intervalStartNanos = now;
+    }
+
+    private static double percentileMillis(Histogram histogram, double percentile) {
+        if (histogram.getTotalCount() == 0) {
+            return 0;
+        }
+        return histogram.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    public String getRouteId() {
+        return routeId;
+    }
+
+    /**
+     * 路由統計快照（延遲單位為毫秒）
+     */
+    public record Snapshot(
+            String routeId,
+            long totalRequests,
+            long totalErrors,
+            double requestsPerSecond,
+            double errorRate,
+            double p50Millis,
+            double p90Millis,
+            double p99Millis,
+            double maxMillis) {
+    }
+}
@@ -0,0 +1,113 @@
+package com.petlearning.gateway.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 路由統計登錄中心
+ *
+ * 說明：
+ * - 每個路由 ID 對應一個 {@link RouteStats}（HdrHistogram 延遲 + 請求/錯誤計數）
+ * - 同步匯出到 Micrometer：gateway.route.requests（Timer，tag：route、outcome）
+ *
+ * Tag 基數控制：
+ * - 最多追蹤 maxRoutes 個路由，超過的路由一律歸到 {@link #OVERFLOW_ROUTE}
+ * - outcome 只有 SUCCESS / CLIENT_ERROR / SERVER_ERROR 三種值
+ */
+@Component
+public class RouteStatsRegistry {
+
+    public static final String METER_NAME = "gateway.route.requests";
+    public static final String OVERFLOW_ROUTE = "OTHER";
+
+    private final MeterRegistry meterRegistry;
+    private final int maxRoutes;
+    private final long windowNanos;
+
+    private final Map<String, RouteStats> stats = new ConcurrentHashMap<>();
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+    public RouteStatsRegistry(
+            MeterRegistry meterRegistry,
+            @Value("${gateway.route-stats.max-routes:100}") int maxRoutes,
+            @Value("${gateway.route-stats.window:10s}") Duration window) {
+        this.meterRegistry = meterRegistry;
+        this.maxRoutes = maxRoutes;
+        this.windowNanos = window.toNanos();
+    }
+
+    /**
+     * 記錄一次路由請求
+     *
+     * @param routeId 路由 ID（可能為 null，代表未匹配任何路由）
+     * @param latencyNanos 延遲（奈秒）
+     * @param status HTTP 狀態碼，發生例外時為 -1
+     */
+    public void record(String routeId, long latencyNanos, int status) {
+        String key = boundedRouteId(routeId);
+        boolean error = status < 0 || status >= 500;
+        statsFor(key).record(latencyNanos, error);
+        timerFor(key, outcome(status)).record(latencyNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * 取得單一路由的統計快照；尚無請求時回傳空快照
+     */
+    public RouteStats.Snapshot snapshot(String routeId) {
+        RouteStats routeStats = stats.get(routeId);
+        if (routeStats == null) {
+            return new RouteStats.Snapshot(routeId, 0, 0, 0, 0, 0, 0, 0, 0);
+        }
+        return routeStats.snapshot();
+    }
+
+    /**
+     * 取得所有已追蹤路由的統計快照
+     */
+    public List<RouteStats.Snapshot> snapshots() {
+        List<RouteStats.Snapshot> result = new ArrayList<>(stats.size());
+        stats.values().forEach(routeStats -> result.add(routeStats.snapshot()));
+        return result;
+    }
+
+    private String boundedRouteId(String routeId) {
+        if (routeId == null) {
+            return OVERFLOW_ROUTE;
+        }
+        if (stats.containsKey(routeId) || stats.size() < maxRoutes) {
+            return routeId;
+        }
+        return OVERFLOW_ROUTE;
+    }
+
+    private RouteStats statsFor(String routeId) {
+        return stats.computeIfAbsent(routeId, id -> new RouteStats(id, windowNanos));
+    }
+
+    private Timer timerFor(String routeId, String outcome) {
+        return timers.computeIfAbsent(routeId + '|' + outcome, key -> Timer.builder(METER_NAME)
+                .description("Gateway upstream latency per route")
+                .tag("route", routeId)
+                .tag("outcome", outcome)
+                .register(meterRegistry));
+    }
+
+    private static String outcome(int status) {
+        if (status < 0 || status >= 500) {
+            return "SERVER_ERROR";
+        }
+        if (status >= 400) {
+            return "CLIENT_ERROR";
+        }
+        return "SUCCESS";
+    }
+}
@@ -0,0 +1,151 @@
+package com.petlearning.gateway.pool;
+
+import com.petlearning.gateway.config.ServicePoolProperties;
+import io.netty.channel.ChannelOption;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+import org.springframework.cloud.gateway.config.HttpClientCustomizer;
+import org.springframework.cloud.gateway.config.HttpClientFactory;
+import org.springframework.cloud.gateway.config.HttpClientProperties;
+import org.springframework.cloud.gateway.config.HttpClientSslConfigurer;
+import org.springframework.cloud.gateway.filter.NettyRoutingFilter;
+import org.springframework.cloud.gateway.filter.headers.HttpHeadersFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.RouteMetadataUtils;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 依後端服務隔離連線池的路由過濾器
+ *
+ * 問題：
+ * 所有路由共用 Gateway 預設的連線池，慢的 pets-service 會佔滿連線，
+ * 讓 customers-service 的請求也排隊等待。
+ *
+ * 做法：
+ * - 取代預設的 NettyRoutingFilter（spring.cloud.gateway.global-filter.netty-routing.enabled=false）
+ * - 在 gateway.pools.services 設定過的服務，各自擁有獨立的 ConnectionProvider
+ * - 除了連線池，其餘設定與預設 HttpClient 相同：沿用 Gateway 的 {@link HttpClientFactory} 建立，
+ *   spring.cloud.gateway.httpclient.*（SSL、proxy、wiretap、header 與 initial line 上限等）
+ *   與 HttpClientCustomizer Bean 都會套用
+ * - 連線池指標透過 reactor-netty 匯出到 Micrometer（tag name = gateway-pool-服務名稱）：
+ *   reactor.netty.connection.provider.active.connections / idle / pending / max.connections
+ *   reactor.netty.connection.provider.pending.connections.time（取得連線的等待時間）
+ */
+public class ServicePoolRoutingFilter extends NettyRoutingFilter implements DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(ServicePoolRoutingFilter.class);
+
+    public static final String POOL_NAME_PREFIX = "gateway-pool-";
+
+    private final HttpClientProperties httpClientProperties;
+    private final ServerProperties serverProperties;
+    private final HttpClientSslConfigurer sslConfigurer;
+    private final List<HttpClientCustomizer> customizers;
+    private final ServicePoolProperties poolProperties;
+    private final Map<String, HttpClient> clients = new ConcurrentHashMap<>();
+    private final Map<String, ConnectionProvider> providers = new ConcurrentHashMap<>();
+
+    public ServicePoolRoutingFilter(HttpClient defaultHttpClient,
+                                    ObjectProvider<List<HttpHeadersFilter>> headersFiltersProvider,
+                                    HttpClientProperties httpClientProperties,
+                                    ServerProperties serverProperties,
+                                    HttpClientSslConfigurer sslConfigurer,
+                                    List<HttpClientCustomizer> customizers,
+                                    ServicePoolProperties poolProperties) {
+        super(defaultHttpClient, headersFiltersProvider, httpClientProperties);
+        this.httpClientProperties = httpClientProperties;
+        this.serverProperties = serverProperties;
+        this.sslConfigurer = sslConfigurer;
+        this.customizers = customizers;
+        this.poolProperties = poolProperties;
+    }
+
+    @Override
+    protected HttpClient getHttpClient(Route route, ServerWebExchange exchange) {
+        String service = serviceKey(route);
+        ServicePoolProperties.Pool pool = poolProperties.getServices().get(service);
+        if (pool == null) {
+            return super.getHttpClient(route, exchange);
+        }
+        HttpClient client = clients.computeIfAbsent(service, key -> createClient(key, pool));
+        Object connectTimeout = route.getMetadata().get(RouteMetadataUtils.CONNECT_TIMEOUT_ATTR);
+        if (connectTimeout != null) {
+            client = client.option(ChannelOption.CONNECT_TIMEOUT_MILLIS, Integer.parseInt(connectTimeout.toString()));
+        }
+        return client;
+    }
+
+    /**
+     * lb:// 路由以服務 ID 為 key（同一服務的多條路由共用一個池），其他路由以路由 ID 為 key
+     */
+    public static String serviceKey(Route route) {
+        if ("lb".equalsIgnoreCase(route.getUri().getScheme()) && route.getUri().getHost() != null) {
+            return route.getUri().getHost();
+        }
+        return route.getId();
+    }
+
+    private HttpClient createClient(String service, ServicePoolProperties.Pool pool) {
+        ConnectionProvider.Builder builder = ConnectionProvider.builder(POOL_NAME_PREFIX + service)
+                .maxConnections(pool.getMaxConnections())
+                .pendingAcquireMaxCount(pool.getPendingAcquireMaxCount())
+                .pendingAcquireTimeout(pool.getPendingAcquireTimeout())
+                .maxIdleTime(pool.getMaxIdleTime())
+                .metrics(true);
+        if (!pool.getEvictionInterval().isZero()) {
+            builder.evictInBackground(pool.getEvictionInterval());
+        }
+        ConnectionProvider provider = builder.build();
+        providers.put(service, provider);
+        logger.info("Created connection pool for {}: maxConnections={}, pendingAcquireMaxCount={}",
+                service, pool.getMaxConnections(), pool.getPendingAcquireMaxCount());
+
+        // HttpClientFactory 會就地排序 customizer 清單，每次給一份可修改的副本
+        HttpClient client = new PooledHttpClientFactory(provider, httpClientProperties, serverProperties,
+                sslConfigurer, new ArrayList<>(customizers)).build();
+        if (pool.isHttp2()) {
+            client = client.protocol(HttpProtocol.HTTP11, HttpProtocol.H2C);
+        }
+        return client;
+    }
+
+    @Override
+    public void destroy() {
+        providers.values().forEach(ConnectionProvider::dispose);
+    }
+
+    /**
+     * 以服務專屬的 ConnectionProvider 取代 spring.cloud.gateway.httpclient.pool 建立的共用連線池
+     */
+    private static final class PooledHttpClientFactory extends HttpClientFactory {
+
+        private final ConnectionProvider provider;
+
+        private PooledHttpClientFactory(ConnectionProvider provider, HttpClientProperties properties,
+                                        ServerProperties serverProperties, HttpClientSslConfigurer sslConfigurer,
+                                        List<HttpClientCustomizer> customizers) {
+            super(properties, serverProperties, sslConfigurer, customizers);
+            this.provider = provider;
+        }
+
+        @Override
+        protected ConnectionProvider buildConnectionProvider(HttpClientProperties properties) {
+            return provider;
+        }
+
+        HttpClient build() {
+            return createInstance();
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.petlearning.gateway.registry;
+
+import org.springframework.cloud.netflix.eureka.http.EurekaClientHttpRequestFactorySupplier;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.client.InterceptingClientHttpRequestFactory;
+
+import javax.net.ssl.HostnameVerifier;
+import javax.net.ssl.SSLContext;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 記錄 Eureka 客戶端的註冊表抓取是否真的成功（HTTP 200）
+ *
+ * eureka-client 2.0.1 的全量抓取收到非 200 回應時只記錄 log，DiscoveryClient 仍視為抓取成功：
+ * 更新 lastSuccessfulRegistryFetchTimestamp 並發出 HeartbeatEvent，
+ * 所以只看事件或 getLastSuccessfulRegistryFetchTimePeriod() 分不出 Eureka 回了 5xx。
+ *
+ * 這裡包裝 Eureka 客戶端（RestTemplate 傳輸）使用的 ClientHttpRequestFactory，
+ * 在 HTTP 層記錄 GET apps/、apps/delta、vips/、svips/ 的結果。
+ */
+public class RegistryFetchMonitor implements EurekaClientHttpRequestFactorySupplier {
+
+    private final EurekaClientHttpRequestFactorySupplier delegate;
+    private final AtomicLong successfulFetches = new AtomicLong();
+    private volatile boolean lastFetchSuccessful;
+
+    public RegistryFetchMonitor(EurekaClientHttpRequestFactorySupplier delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public ClientHttpRequestFactory get(SSLContext sslContext, HostnameVerifier hostnameVerifier) {
+        return new InterceptingClientHttpRequestFactory(delegate.get(sslContext, hostnameVerifier),
+                List.of(this::intercept));
+    }
+
+    private ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        if (request.getMethod() != HttpMethod.GET || !isRegistryFetch(request.getURI().getPath())) {
+            return execution.execute(request, body);
+        }
+        boolean successful = false;
+        try {
+            ClientHttpResponse response = execution.execute(request, body);
+            successful = response.getStatusCode().value() == 200;
+            return response;
+        } finally {
+            lastFetchSuccessful = successful;
+            if (successful) {
+                successfulFetches.incrementAndGet();
+            }
+        }
+    }
+
+    static boolean isRegistryFetch(String path) {
+        return path.endsWith("/apps/") || path.endsWith("/apps/delta")
+                || path.contains("/vips/") || path.contains("/svips/");
+    }
+
+    /**
+     * 回應 200 的註冊表抓取次數
+     */
+    public long getSuccessfulFetches() {
+        return successfulFetches.get();
+    }
+
+    /**
+     * 最近一次註冊表抓取是否回應 200（增量成功但接著的全量對帳失敗時為 false）
+     */
+    public boolean isLastFetchSuccessful() {
+        return lastFetchSuccessful;
+    }
+}
@@ -0,0 +1,54 @@
+package com.petlearning.gateway.registry;
+
+import com.netflix.discovery.BackupRegistry;
+import com.netflix.discovery.shared.Applications;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * 以本機快照作為 Eureka 客戶端的備援註冊表
+ *
+ * 設定 eureka.client.backup-registry-impl 為本類別後，DiscoveryClient 在啟動時
+ * 全量抓取失敗（Eureka Server 無法連線）會改呼叫 {@link #fetchRegistry()}，
+ * 把快照當成本機註冊表，lb:// 路由在 Eureka 恢復前就能解析到實例。
+ *
+ * 快照保留伺服器的註冊表版本，Eureka 恢復後下一次排程抓取會直接走增量（/apps/delta），
+ * 增量套用後 hash 不一致時 DiscoveryClient 才會自行退回全量抓取。
+ *
+ * DiscoveryClient 以無參數建構子反射建立本類別，無法注入 Spring Bean，
+ * 因此由 {@link RegistrySnapshotListener} 在啟動時把快照存放區設定進來。
+ */
+public class RegistrySnapshotBackupRegistry implements BackupRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(RegistrySnapshotBackupRegistry.class);
+
+    private static volatile RegistrySnapshotStore store;
+
+    static void install(RegistrySnapshotStore snapshotStore) {
+        store = snapshotStore;
+    }
+
+    static void uninstall(RegistrySnapshotStore snapshotStore) {
+        if (store == snapshotStore) {
+            store = null;
+        }
+    }
+
+    @Override
+    public Applications fetchRegistry() {
+        RegistrySnapshotStore current = store;
+        if (current == null) {
+            logger.warn("Eureka is unreachable and no registry snapshot store is configured");
+            return null;
+        }
+        return current.load().orElse(null);
+    }
+
+    /**
+     * 快照只保存本地區域的註冊表，遠端區域交由恢復後的抓取補齊
+     */
+    @Override
+    public Applications fetchRegistry(String[] includeRemoteRegions) {
+        return fetchRegistry();
+    }
+}
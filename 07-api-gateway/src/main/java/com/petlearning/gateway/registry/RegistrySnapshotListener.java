@@ -0,0 +1,81 @@
+package com.petlearning.gateway.registry;
+
+import com.netflix.discovery.EurekaClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cloud.client.discovery.event.HeartbeatEvent;
+import org.springframework.context.event.EventListener;
+
+import java.io.IOException;
+
+/**
+ * 在成功抓取註冊表後寫入快照
+ *
+ * - 排程抓取：每次抓取後 CloudEurekaClient 發出 HeartbeatEvent
+ * - 啟動時的全量抓取在 DiscoveryClient 建構子內完成，不會發出事件，
+ *   因此在 ApplicationReadyEvent 補寫一次，不必等到第一次排程抓取（預設 30 秒後）
+ *
+ * Eureka 回應非 200 時 HeartbeatEvent 照樣會發出，是否真的抓到由 {@link RegistryFetchMonitor} 判斷：
+ * 上次寫入後沒有新的成功抓取、或最近一次抓取失敗時不寫入。
+ * 從備援快照載入、尚未連上 Eureka 的註冊表因此不會被寫回，也不會更新修改時間，
+ * 快照年齡照舊累計，超過 max-age 後不再被使用。
+ */
+public class RegistrySnapshotListener implements InitializingBean, DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(RegistrySnapshotListener.class);
+
+    private final RegistrySnapshotStore store;
+    private final RegistryFetchMonitor fetchMonitor;
+    private final ObjectProvider<EurekaClient> eurekaClient;
+    private long savedFetches;
+
+    public RegistrySnapshotListener(RegistrySnapshotStore store, RegistryFetchMonitor fetchMonitor,
+                                    ObjectProvider<EurekaClient> eurekaClient) {
+        this.store = store;
+        this.fetchMonitor = fetchMonitor;
+        this.eurekaClient = eurekaClient;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        RegistrySnapshotBackupRegistry.install(store);
+    }
+
+    @EventListener
+    public void onApplicationReady(ApplicationReadyEvent event) {
+        EurekaClient client = eurekaClient.getIfAvailable();
+        if (client != null) {
+            saveIfFetched(client);
+        }
+    }
+
+    @EventListener
+    public void onHeartbeat(HeartbeatEvent event) {
+        if (event.getSource() instanceof EurekaClient client) {
+            saveIfFetched(client);
+        }
+    }
+
+    private synchronized void saveIfFetched(EurekaClient client) {
+        long fetches = fetchMonitor.getSuccessfulFetches();
+        if (fetches == savedFetches || !fetchMonitor.isLastFetchSuccessful()) {
+            logger.debug("No successful registry fetch since last snapshot, skipping {}", store.getFile());
+            return;
+        }
+        savedFetches = fetches;
+        try {
+            store.save(client.getApplications());
+        } catch (IOException ex) {
+            logger.warn("Failed to write registry snapshot {}: {}", store.getFile(), ex.getMessage());
+        }
+    }
+
+    @Override
+    public void destroy() {
+        RegistrySnapshotBackupRegistry.uninstall(store);
+    }
+}
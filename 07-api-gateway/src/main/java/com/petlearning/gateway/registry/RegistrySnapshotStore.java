@@ -0,0 +1,280 @@
+package com.petlearning.gateway.registry;
+
+import com.netflix.appinfo.DataCenterInfo;
+import com.netflix.appinfo.InstanceInfo;
+import com.netflix.appinfo.LeaseInfo;
+import com.netflix.appinfo.MyDataCenterInfo;
+import com.netflix.discovery.shared.Application;
+import com.netflix.discovery.shared.Applications;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.zip.CRC32;
+
+/**
+ * Eureka 註冊表的本機快照
+ *
+ * 檔案格式（DataOutputStream，big-endian）：
+ * <pre>
+ * int   magic "REGS"
+ * short 格式版本
+ * long  註冊表版本（Applications.getVersion）
+ * int   應用數
+ *   UTF 應用名稱, int 實例數
+ *     實例欄位：instanceId、hostName、ipAddr、vip、port、status、metadata …（只保留路由需要的欄位）
+ * long  CRC32（前面所有位元組）
+ * </pre>
+ *
+ * 寫入：先寫同目錄的暫存檔並 fsync，再以 ATOMIC_MOVE 替換，
+ * 讀取端只會看到完整的舊檔或完整的新檔。
+ * 內容與上次寫入相同時只更新檔案修改時間，快照年齡以修改時間計算；
+ * 呼叫端只應在確實從 Eureka 抓到註冊表後寫入，否則會讓舊快照永遠不過期。
+ *
+ * 讀取：檔案不存在、CRC 不符或超過 max-age 時回傳 empty，不拋出例外。
+ */
+public class RegistrySnapshotStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(RegistrySnapshotStore.class);
+
+    static final int MAGIC = 0x52454753;
+    static final short FORMAT_VERSION = 1;
+
+    private final Path file;
+    private final Duration maxAge;
+    private volatile long lastWrittenChecksum = -1;
+
+    public RegistrySnapshotStore(Path file, Duration maxAge) {
+        this.file = file;
+        this.maxAge = maxAge;
+    }
+
+    /**
+     * 寫入快照；沒有任何實例的註冊表不會覆蓋既有快照
+     *
+     * @return 是否實際寫入檔案（內容未變或註冊表為空時回傳 false）
+     */
+    public boolean save(Applications applications) throws IOException {
+        if (countInstances(applications) == 0) {
+            logger.debug("Registry is empty, keeping previous snapshot {}", file);
+            return false;
+        }
+        byte[] bytes = encode(applications);
+        long checksum = ByteBuffer.wrap(bytes, bytes.length - Long.BYTES, Long.BYTES).getLong();
+        if (checksum == lastWrittenChecksum && Files.exists(file)) {
+            Files.setLastModifiedTime(file, FileTime.from(Instant.now()));
+            return false;
+        }
+
+        Path directory = file.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temp = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                ByteBuffer buffer = ByteBuffer.wrap(bytes);
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(true);
+            }
+            try {
+                Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException ex) {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        lastWrittenChecksum = checksum;
+        logger.debug("Saved registry snapshot: {} instances, {} bytes", countInstances(applications), bytes.length);
+        return true;
+    }
+
+    /**
+     * 讀取快照；不存在、損壞或過期時回傳 empty
+     */
+    public Optional<Applications> load() {
+        try {
+            Duration age = Duration.between(Files.getLastModifiedTime(file).toInstant(), Instant.now());
+            if (age.compareTo(maxAge) > 0) {
+                logger.warn("Ignoring registry snapshot {}: {} old, max-age is {}", file, age, maxAge);
+                return Optional.empty();
+            }
+            Applications applications = decode(Files.readAllBytes(file));
+            logger.info("Loaded registry snapshot {} ({} old): {} applications, {} instances",
+                    file, age, applications.getRegisteredApplications().size(), countInstances(applications));
+            return Optional.of(applications);
+        } catch (NoSuchFileException ex) {
+            logger.info("No registry snapshot at {}", file);
+            return Optional.empty();
+        } catch (IOException ex) {
+            logger.warn("Ignoring unreadable registry snapshot {}: {}", file, ex.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    static byte[] encode(Applications applications) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(16 * 1024);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(MAGIC);
+        out.writeShort(FORMAT_VERSION);
+        // -1 代表「不是來自伺服器」，Eureka 客戶端看到 -1 會改做全量抓取；快照來自伺服器，保留可做增量的版本號
+        Long version = applications.getVersion();
+        out.writeLong(version == null || version < 0 ? 1 : version);
+        List<Application> apps = applications.getRegisteredApplications();
+        out.writeInt(apps.size());
+        for (Application app : apps) {
+            List<InstanceInfo> instances = app.getInstances();
+            out.writeUTF(app.getName());
+            out.writeInt(instances.size());
+            for (InstanceInfo instance : instances) {
+                writeInstance(out, instance);
+            }
+        }
+        out.flush();
+        CRC32 crc = new CRC32();
+        crc.update(bytes.toByteArray());
+        out.writeLong(crc.getValue());
+        return bytes.toByteArray();
+    }
+
+    static Applications decode(byte[] bytes) throws IOException {
+        if (bytes.length < Long.BYTES) {
+            throw new IOException("Snapshot truncated");
+        }
+        CRC32 crc = new CRC32();
+        crc.update(bytes, 0, bytes.length - Long.BYTES);
+        long expected = ByteBuffer.wrap(bytes, bytes.length - Long.BYTES, Long.BYTES).getLong();
+        if (crc.getValue() != expected) {
+            throw new IOException("Snapshot checksum mismatch");
+        }
+
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes, 0, bytes.length - Long.BYTES));
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Not a registry snapshot");
+        }
+        short format = in.readShort();
+        if (format != FORMAT_VERSION) {
+            throw new IOException("Unsupported snapshot format " + format);
+        }
+        Applications applications = new Applications();
+        applications.setVersion(in.readLong());
+        int appCount = in.readInt();
+        for (int i = 0; i < appCount; i++) {
+            Application app = new Application(in.readUTF());
+            int instanceCount = in.readInt();
+            for (int j = 0; j < instanceCount; j++) {
+                app.addInstance(readInstance(in));
+            }
+            applications.addApplication(app);
+        }
+        return applications;
+    }
+
+    private static void writeInstance(DataOutputStream out, InstanceInfo instance) throws IOException {
+        out.writeUTF(instance.getInstanceId());
+        out.writeUTF(instance.getAppName());
+        out.writeUTF(instance.getHostName());
+        writeNullable(out, instance.getIPAddr());
+        writeNullable(out, instance.getVIPAddress());
+        writeNullable(out, instance.getSecureVipAddress());
+        out.writeUTF(instance.getStatus().name());
+        out.writeUTF(instance.getOverriddenStatus().name());
+        out.writeInt(instance.getPort());
+        out.writeBoolean(instance.isPortEnabled(InstanceInfo.PortType.UNSECURE));
+        out.writeInt(instance.getSecurePort());
+        out.writeBoolean(instance.isPortEnabled(InstanceInfo.PortType.SECURE));
+        writeNullable(out, instance.getHomePageUrl());
+        writeNullable(out, instance.getStatusPageUrl());
+        writeNullable(out, instance.getHealthCheckUrl());
+        writeNullable(out, instance.getSecureHealthCheckUrl());
+        DataCenterInfo dataCenter = instance.getDataCenterInfo();
+        out.writeUTF(dataCenter == null ? DataCenterInfo.Name.MyOwn.name() : dataCenter.getName().name());
+        LeaseInfo lease = instance.getLeaseInfo();
+        out.writeInt(lease == null ? LeaseInfo.DEFAULT_LEASE_RENEWAL_INTERVAL : lease.getRenewalIntervalInSecs());
+        out.writeInt(lease == null ? LeaseInfo.DEFAULT_LEASE_DURATION : lease.getDurationInSecs());
+        out.writeLong(instance.getLastUpdatedTimestamp());
+        out.writeLong(instance.getLastDirtyTimestamp() == null ? 0 : instance.getLastDirtyTimestamp());
+        Map<String, String> metadata = instance.getMetadata();
+        out.writeInt(metadata.size());
+        for (Map.Entry<String, String> entry : metadata.entrySet()) {
+            out.writeUTF(entry.getKey());
+            writeNullable(out, entry.getValue());
+        }
+    }
+
+    private static InstanceInfo readInstance(DataInputStream in) throws IOException {
+        InstanceInfo.Builder builder = InstanceInfo.Builder.newBuilder()
+                .setInstanceId(in.readUTF())
+                .setAppName(in.readUTF())
+                .setHostName(in.readUTF())
+                .setIPAddr(readNullable(in))
+                .setVIPAddressDeser(readNullable(in))
+                .setSecureVIPAddressDeser(readNullable(in))
+                .setStatus(InstanceInfo.InstanceStatus.toEnum(in.readUTF()))
+                .setOverriddenStatus(InstanceInfo.InstanceStatus.toEnum(in.readUTF()))
+                .setPort(in.readInt())
+                .enablePort(InstanceInfo.PortType.UNSECURE, in.readBoolean())
+                .setSecurePort(in.readInt())
+                .enablePort(InstanceInfo.PortType.SECURE, in.readBoolean())
+                .setHomePageUrlForDeser(readNullable(in))
+                .setStatusPageUrlForDeser(readNullable(in))
+                .setHealthCheckUrlsForDeser(readNullable(in), readNullable(in))
+                .setDataCenterInfo(new MyDataCenterInfo(DataCenterInfo.Name.valueOf(in.readUTF())))
+                .setLeaseInfo(LeaseInfo.Builder.newBuilder()
+                        .setRenewalIntervalInSecs(in.readInt())
+                        .setDurationInSecs(in.readInt())
+                        .build())
+                .setLastUpdatedTimestamp(in.readLong())
+                .setLastDirtyTimestamp(in.readLong())
+                .setActionType(InstanceInfo.ActionType.ADDED);
+        int metadataCount = in.readInt();
+        Map<String, String> metadata = new LinkedHashMap<>(metadataCount * 2);
+        for (int i = 0; i < metadataCount; i++) {
+            metadata.put(in.readUTF(), readNullable(in));
+        }
+        return builder.setMetadata(metadata).build();
+    }
+
+    private static void writeNullable(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readNullable(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    static int countInstances(Applications applications) {
+        int count = 0;
+        for (Application app : applications.getRegisteredApplications()) {
+            count += app.getInstances().size();
+        }
+        return count;
+    }
+}
@@ -0,0 +1,164 @@
+package com.petlearning.gateway.route;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.cloud.gateway.event.RefreshRoutesEvent;
+import org.springframework.cloud.gateway.route.RouteDefinition;
+import org.springframework.cloud.gateway.route.RouteDefinitionLocator;
+import org.springframework.context.ApplicationEventPublisher;
+import reactor.core.publisher.Flux;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.CRC32C;
+
+/**
+ * 從檔案載入路由定義，並在檔案變更時熱更新
+ *
+ * 檔案格式（YAML 或 JSON）：
+ * <pre>
+ * routes:
+ *   - id: customers-service
+ *     uri: lb://customers-service
+ *     predicates:
+ *       - Path=/api/customers/**
+ * </pre>
+ *
+ * 熱更新流程：
+ * 1. 背景執行緒定期讀取檔案，比對修改時間、大小與內容雜湊
+ *    （只看修改時間與大小時，在檔案系統時間精度內的同大小修改會被漏掉）
+ * 2. 有變更時完整解析並驗證，成功才整體替換（失敗則保留舊路由）
+ * 3. 發出 RefreshRoutesEvent，CachingRouteLocator 重新組裝路由後一次替換，
+ *    進行中的請求不受影響，不需要重啟 Gateway
+ */
+public class FileRouteDefinitionLocator implements RouteDefinitionLocator, InitializingBean, DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(FileRouteDefinitionLocator.class);
+
+    private final ObjectMapper mapper = new ObjectMapper(new YAMLFactory())
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    private final Path file;
+    private final Duration pollInterval;
+    private final ApplicationEventPublisher publisher;
+
+    private final AtomicReference<List<RouteDefinition>> definitions = new AtomicReference<>(List.of());
+    private volatile FileVersion loadedVersion;
+    private ScheduledExecutorService scheduler;
+
+    public FileRouteDefinitionLocator(Path file, Duration pollInterval, ApplicationEventPublisher publisher) {
+        this.file = file;
+        this.pollInterval = pollInterval;
+        this.publisher = publisher;
+    }
+
+    @Override
+    public Flux<RouteDefinition> getRouteDefinitions() {
+        return Flux.fromIterable(definitions.get());
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        // 啟動時的第一次載入不發事件：此時路由相關 Bean 仍在建立中，
+        // 啟動完成後 Gateway 本身會刷新一次路由
+        load(false);
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "route-file-watcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long millis = pollInterval.toMillis();
+        scheduler.scheduleWithFixedDelay(this::reloadIfChanged, millis, millis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void destroy() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    /**
+     * 檔案有變更時重新載入
+     *
+     * @return 是否載入了新的路由
+     */
+    public boolean reloadIfChanged() {
+        return load(true);
+    }
+
+    private boolean load(boolean publishRefresh) {
+        try {
+            if (!Files.isRegularFile(file)) {
+                return false;
+            }
+            BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+            byte[] content = Files.readAllBytes(file);
+            FileVersion current = FileVersion.of(attributes, content);
+            if (current.equals(loadedVersion)) {
+                return false;
+            }
+            // 解析計算雜湊的同一份內容，避免兩次讀取之間檔案又被改寫
+            List<RouteDefinition> loaded = parse(content);
+            definitions.set(List.copyOf(loaded));
+            loadedVersion = current;
+            logger.info("Loaded {} route definitions from {}", loaded.size(), file);
+            if (publishRefresh) {
+                publisher.publishEvent(new RefreshRoutesEvent(this));
+            }
+            return true;
+        } catch (IOException | RuntimeException ex) {
+            // 檔案可能正在寫入中或格式錯誤，保留舊路由，下次輪詢再試
+            logger.error("Failed to load route definitions from {}, keeping previous routes", file, ex);
+            return false;
+        }
+    }
+
+    private List<RouteDefinition> parse(byte[] content) throws IOException {
+        RouteFile routeFile = mapper.readValue(content, RouteFile.class);
+        List<RouteDefinition> routes = routeFile == null || routeFile.routes == null
+                ? List.of() : routeFile.routes;
+        Set<String> ids = new HashSet<>();
+        for (RouteDefinition route : routes) {
+            if (route.getId() == null || route.getUri() == null) {
+                throw new IllegalArgumentException("Route id and uri are required: " + route);
+            }
+            if (!ids.add(route.getId())) {
+                throw new IllegalArgumentException("Duplicate route id: " + route.getId());
+            }
+        }
+        return routes;
+    }
+
+    /**
+     * 路由檔案根節點
+     */
+    static class RouteFile {
+        public List<RouteDefinition> routes = new ArrayList<>();
+    }
+
+    private record FileVersion(long lastModified, long size, long contentHash) {
+
+        static FileVersion of(BasicFileAttributes attributes, byte[] content) {
+            CRC32C crc = new CRC32C();
+            crc.update(content);
+            return new FileVersion(attributes.lastModifiedTime().toMillis(), content.length, crc.getValue());
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.petlearning.gateway.route;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cloud.gateway.config.GlobalCorsProperties;
+import org.springframework.cloud.gateway.event.RefreshRoutesResultEvent;
+import org.springframework.cloud.gateway.handler.FilteringWebHandler;
+import org.springframework.cloud.gateway.handler.RoutePredicateHandlerMapping;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.route.RouteLocator;
+import org.springframework.core.env.Environment;
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_PREDICATE_PATH_CONTAINER_ATTR;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_PREDICATE_ROUTE_ATTR;
+
+/**
+ * 使用前綴樹索引的路由查找
+ *
+ * 取代 Gateway 預設的 RoutePredicateHandlerMapping：
+ * - 請求路徑只讀取目前的 {@link RouteIndex}，並以刷新代數（O(1)）確認索引是否最新
+ * - 只對索引篩選出的候選路由執行 predicate
+ *
+ * 索引在路由刷新後重建：
+ * - RefreshRoutesResultEvent 時記下刷新前的路由並遞增刷新代數
+ * - CachingRouteLocator 先發出事件才寫入新的快取，所以不在事件中重建；
+ *   代數不符時由下一個請求讀取快取重建，讀到的若仍是刷新前的路由則照常使用但不標記為最新，
+ *   快取寫入後的請求就會以新路由重建。只有刷新後的第一個請求需要 O(路由數) 的成本
+ * - 範圍刷新（scoped）後路由實例可能完全不變，超過 {@link #STALE_GRACE} 後即視為最新
+ */
+public class IndexedRoutePredicateHandlerMapping extends RoutePredicateHandlerMapping {
+
+    private static final Logger logger = LoggerFactory.getLogger(IndexedRoutePredicateHandlerMapping.class);
+
+    /** 事件發出到快取寫入之間的寬限時間（實際只隔同一執行緒上的一次 Map.put） */
+    static final Duration STALE_GRACE = Duration.ofSeconds(1);
+
+    private final RouteLocator routeLocator;
+    private final AtomicReference<IndexedRoutes> indexed =
+            new AtomicReference<>(new IndexedRoutes(RouteIndex.empty(), -1));
+    private volatile Refresh refresh = new Refresh(0, null, System.nanoTime());
+
+    public IndexedRoutePredicateHandlerMapping(FilteringWebHandler webHandler, RouteLocator routeLocator,
+                                               GlobalCorsProperties globalCorsProperties, Environment environment) {
+        super(webHandler, routeLocator, globalCorsProperties, environment);
+        this.routeLocator = routeLocator;
+    }
+
+    @Override
+    protected Mono<Route> lookupRoute(ServerWebExchange exchange) {
+        // 與 PathRoutePredicateFactory 相同的路徑，放進屬性讓 predicate 直接沿用
+        PathContainer path = (PathContainer) exchange.getAttributes().computeIfAbsent(
+                GATEWAY_PREDICATE_PATH_CONTAINER_ATTR,
+                key -> PathContainer.parsePath(exchange.getRequest().getURI().getRawPath()));
+        return currentIndex(refresh)
+                .flatMapMany(index -> Flux.fromIterable(index.candidates(path)))
+                .concatMap(route -> Mono.just(route).filterWhen(r -> {
+                    exchange.getAttributes().put(GATEWAY_PREDICATE_ROUTE_ATTR, r.getId());
+                    return r.getPredicate().apply(exchange);
+                })
+                        .doOnError(e -> logger.error("Error applying predicate for route: {}", route.getId(), e))
+                        .onErrorResume(e -> Mono.empty()))
+                .next()
+                .map(route -> {
+                    validateRoute(route, exchange);
+                    return route;
+                });
+    }
+
+    /**
+     * 路由刷新完成（CachingRouteLocator 尚未寫入新的快取）
+     *
+     * 此時讀到的仍是刷新前的路由，記下來供重建時判斷快取是否已更新
+     */
+    public void onRoutesRefreshed(RefreshRoutesResultEvent event) {
+        if (!event.isSuccess()) {
+            return;
+        }
+        routeLocator.getRoutes().collectList().subscribe(previous -> {
+            synchronized (this) {
+                refresh = new Refresh(refresh.generation() + 1, previous, System.nanoTime());
+            }
+        });
+    }
+
+    private Mono<RouteIndex> currentIndex(Refresh refresh) {
+        IndexedRoutes current = indexed.get();
+        if (current.generation() == refresh.generation()) {
+            return Mono.just(current.index());
+        }
+        return routeLocator.getRoutes().collectList().map(routes -> rebuild(refresh, routes));
+    }
+
+    /**
+     * 以快取中的路由重建索引；同時重建的執行緒結果相同，代數較新者勝出
+     */
+    RouteIndex rebuild(Refresh refresh, List<Route> routes) {
+        IndexedRoutes current = indexed.get();
+        RouteIndex index = current.index().isBuiltFrom(routes) ? current.index() : RouteIndex.build(routes);
+        boolean beforeCacheUpdate = refresh.previousRoutes() != null
+                && RouteIndex.sameRoutes(routes, refresh.previousRoutes())
+                && System.nanoTime() - refresh.at() < STALE_GRACE.toNanos();
+        if (!beforeCacheUpdate) {
+            IndexedRoutes updated = new IndexedRoutes(index, refresh.generation());
+            indexed.accumulateAndGet(updated,
+                    (existing, candidate) -> candidate.generation() >= existing.generation() ? candidate : existing);
+            if (index != current.index()) {
+                logger.info("Route index rebuilt with {} routes", index.size());
+            }
+        }
+        return index;
+    }
+
+    RouteIndex currentIndex() {
+        return indexed.get().index();
+    }
+
+    private record IndexedRoutes(RouteIndex index, long generation) {
+    }
+
+    /**
+     * @param generation 刷新代數
+     * @param previousRoutes 刷新前的路由（尚未刷新過時為 null）
+     * @param at 收到事件的時間（nanoTime）
+     */
+    record Refresh(long generation, List<Route> previousRoutes, long at) {
+    }
+}
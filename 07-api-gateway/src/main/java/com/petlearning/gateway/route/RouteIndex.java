@@ -0,0 +1,231 @@
+package com.petlearning.gateway.route;
+
+import org.springframework.cloud.gateway.handler.predicate.PathRoutePredicateFactory;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.http.server.PathContainer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 路由前綴樹索引（不可變）
+ *
+ * 問題：
+ * Gateway 預設依序對每條路由執行 predicate，路由越多查找越慢（O(路由數)）。
+ *
+ * 做法：
+ * - 取出每條路由 Path pattern 的「字面前綴」（遇到 *、?、{ 之前的路徑段）
+ * - 依路徑段建立前綴樹，路由掛在前綴結束的節點上
+ * - 查找時沿請求路徑往下走，只收集沿途節點上的路由作為候選
+ *   （以 PathSegment#valueToMatch 比對：已解碼、去除矩陣參數，與 PathPattern 比對的值相同）
+ * - 無法安全索引的路由（沒有 Path、使用 || 或 ! 組合）一律列為候選
+ *
+ * 候選路由仍會依原始順序執行完整 predicate，因此匹配結果與線性查找一致，
+ * 索引只是預先排除「路徑前綴不可能相符」的路由。
+ *
+ * 路由變更時建立新的索引並整體替換，查找端不需要加鎖。
+ */
+public final class RouteIndex {
+
+    private static final RouteIndex EMPTY = new RouteIndex(List.of(), new Node(), new int[0]);
+
+    private final List<Route> routes;
+    private final Node root;
+    private final int[] unindexed;
+
+    private RouteIndex(List<Route> routes, Node root, int[] unindexed) {
+        this.routes = routes;
+        this.root = root;
+        this.unindexed = unindexed;
+    }
+
+    public static RouteIndex empty() {
+        return EMPTY;
+    }
+
+    /**
+     * 建立索引
+     *
+     * @param routes 依匹配順序排列的路由（與 RouteLocator 回傳順序相同）
+     */
+    public static RouteIndex build(List<Route> routes) {
+        Node root = new Node();
+        List<Integer> unindexed = new ArrayList<>();
+        for (int i = 0; i < routes.size(); i++) {
+            List<String> patterns = indexablePatterns(routes.get(i));
+            if (patterns == null) {
+                unindexed.add(i);
+                continue;
+            }
+            for (String pattern : patterns) {
+                Node node = root;
+                for (String segment : literalPrefix(pattern)) {
+                    node = node.children.computeIfAbsent(segment, key -> new Node());
+                }
+                node.routeIndexes.add(i);
+            }
+        }
+        root.freeze();
+        return new RouteIndex(List.copyOf(routes),
+                root, unindexed.stream().mapToInt(Integer::intValue).toArray());
+    }
+
+    /**
+     * 取得可能匹配此路徑的候選路由（保持原始順序）
+     *
+     * @param path 原始（未解碼）路徑
+     */
+    public List<Route> candidates(String path) {
+        return candidates(PathContainer.parsePath(path));
+    }
+
+    /**
+     * 取得可能匹配此路徑的候選路由（保持原始順序）
+     */
+    public List<Route> candidates(PathContainer path) {
+        Collector collector = new Collector(unindexed);
+        Node node = root;
+        collector.add(node.frozenIndexes);
+        for (PathContainer.Element element : path.elements()) {
+            if (node == null) {
+                break;
+            }
+            if (element instanceof PathContainer.PathSegment segment && !segment.value().isEmpty()) {
+                node = node.child(segment.valueToMatch());
+                if (node != null) {
+                    collector.add(node.frozenIndexes);
+                }
+            }
+        }
+        return collector.toRoutes(routes);
+    }
+
+    /**
+     * 是否由這份路由清單建立（逐一比對 Route 實例）
+     *
+     * CachingRouteLocator 在刷新之間回傳同一批 Route 實例，刷新後則是新的實例
+     */
+    public boolean isBuiltFrom(List<Route> current) {
+        return sameRoutes(current, routes);
+    }
+
+    /**
+     * 兩份路由清單是否為相同順序的同一批 Route 實例
+     */
+    public static boolean sameRoutes(List<Route> left, List<Route> right) {
+        if (left.size() != right.size()) {
+            return false;
+        }
+        for (int i = 0; i < left.size(); i++) {
+            if (left.get(i) != right.get(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public List<Route> getRoutes() {
+        return routes;
+    }
+
+    public int size() {
+        return routes.size();
+    }
+
+    /**
+     * 取出可索引的 Path pattern；無法安全索引時回傳 null
+     */
+    static List<String> indexablePatterns(Route route) {
+        String description = String.valueOf(route.getPredicate());
+        if (description.contains(" || ") || description.contains("!")) {
+            return null;
+        }
+        List<String> patterns = new ArrayList<>();
+        int[] pathConfigs = {0};
+        route.getPredicate().accept(predicate -> {
+            if (predicate.getConfig() instanceof PathRoutePredicateFactory.Config config) {
+                pathConfigs[0]++;
+                patterns.addAll(config.getPatterns());
+            }
+        });
+        if (pathConfigs[0] != 1 || patterns.isEmpty()) {
+            return null;
+        }
+        return patterns;
+    }
+
+    static List<String> literalPrefix(String pattern) {
+        List<String> segments = new ArrayList<>();
+        for (String segment : pattern.split("/")) {
+            if (segment.isEmpty()) {
+                continue;
+            }
+            if (segment.indexOf('*') >= 0 || segment.indexOf('?') >= 0 || segment.indexOf('{') >= 0) {
+                break;
+            }
+            segments.add(segment);
+        }
+        return segments;
+    }
+
+    /**
+     * 收集候選路由序號，最後排序去重以維持原始匹配順序
+     */
+    private static final class Collector {
+
+        private int[] indexes;
+        private int size;
+
+        Collector(int[] initial) {
+            indexes = new int[Math.max(initial.length + 8, 16)];
+            System.arraycopy(initial, 0, indexes, 0, initial.length);
+            size = initial.length;
+        }
+
+        void add(int[] values) {
+            if (values.length == 0) {
+                return;
+            }
+            if (size + values.length > indexes.length) {
+                indexes = Arrays.copyOf(indexes, Math.max(indexes.length * 2, size + values.length));
+            }
+            System.arraycopy(values, 0, indexes, size, values.length);
+            size += values.length;
+        }
+
+        List<Route> toRoutes(List<Route> routes) {
+            Arrays.sort(indexes, 0, size);
+            List<Route> result = new ArrayList<>(size);
+            int previous = -1;
+            for (int i = 0; i < size; i++) {
+                if (indexes[i] != previous) {
+                    result.add(routes.get(indexes[i]));
+                    previous = indexes[i];
+                }
+            }
+            return result;
+        }
+    }
+
+    private static final class Node {
+
+        private final Map<String, Node> children = new HashMap<>();
+        private final List<Integer> routeIndexes = new ArrayList<>();
+        private int[] frozenIndexes = new int[0];
+
+        Node child(String segment) {
+            if (children.isEmpty()) {
+                return null;
+            }
+            return children.get(segment);
+        }
+
+        void freeze() {
+            frozenIndexes = routeIndexes.stream().mapToInt(Integer::intValue).toArray();
+            children.values().forEach(Node::freeze);
+        }
+    }
+}
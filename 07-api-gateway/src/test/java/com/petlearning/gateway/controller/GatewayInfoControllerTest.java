@@ -1,12 +1,25 @@
 package com.petlearning.gateway.controller;
 
+import com.petlearning.gateway.metrics.RouteStatsRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
-import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.discovery.ReactiveDiscoveryClient;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.route.RouteLocator;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
 
-import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
-import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.when;
 
 /**
  * API Gateway 控制器測試
@@ -16,30 +29,81 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
  * - 測試路由信息端點
  * - 驗證 HTTP 狀態碼
  */
-@WebMvcTest(GatewayInfoController.class)
+@WebFluxTest(GatewayInfoController.class)
+@Import(GatewayInfoControllerTest.StatsConfig.class)
 class GatewayInfoControllerTest {
 
     @Autowired
-    private MockMvc mockMvc;
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private RouteStatsRegistry routeStatsRegistry;
+
+    @MockBean
+    private RouteLocator routeLocator;
+
+    @MockBean
+    private ReactiveDiscoveryClient discoveryClient;
+
+    @TestConfiguration
+    static class StatsConfig {
+        @Bean
+        RouteStatsRegistry routeStatsRegistry() {
+            return new RouteStatsRegistry(new SimpleMeterRegistry(), 100, Duration.ZERO);
+        }
+    }
 
     @Test
-    void should_ReturnSuccess_When_HealthCheckCalled() throws Exception {
+    void should_ReturnSuccess_When_HealthCheckCalled() {
         // When & Then
-        mockMvc.perform(get("/api/health"))
-                .andExpect(status().isOk());
+        webTestClient.get().uri("/api/health")
+                .exchange()
+                .expectStatus().isOk();
     }
 
     @Test
-    void should_ReturnSuccess_When_RoutesCalled() throws Exception {
+    void should_ReturnSuccess_When_RoutesCalled() {
+        // Given
+        when(routeLocator.getRoutes()).thenReturn(Flux.empty());
+
+        // When & Then
+        webTestClient.get().uri("/api/routes")
+                .exchange()
+                .expectStatus().isOk();
+    }
+
+    @Test
+    void should_ReturnLiveRouteStats_When_RoutesCalled() {
+        // Given
+        Route route = Route.async()
+                .id("customers-service")
+                .uri("lb://customers-service")
+                .predicate(exchange -> true)
+                .build();
+        when(routeLocator.getRoutes()).thenReturn(Flux.just(route));
+        when(discoveryClient.getInstances("customers-service")).thenReturn(Flux.just(
+                new DefaultServiceInstance("c1", "customers-service", "10.0.0.1", 8081, false)));
+        routeStatsRegistry.record("customers-service", TimeUnit.MILLISECONDS.toNanos(20), 200);
+        routeStatsRegistry.record("customers-service", TimeUnit.MILLISECONDS.toNanos(40), 503);
+
         // When & Then
-        mockMvc.perform(get("/api/routes"))
-                .andExpect(status().isOk());
+        webTestClient.get().uri("/api/routes")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$[0].id").isEqualTo("customers-service")
+                .jsonPath("$[0].uri").isEqualTo("lb://customers-service")
+                .jsonPath("$[0].totalRequests").isEqualTo(2)
+                .jsonPath("$[0].totalErrors").isEqualTo(1)
+                .jsonPath("$[0].errorRate").isEqualTo(0.5)
+                .jsonPath("$[0].instances[0]").isEqualTo("10.0.0.1:8081");
     }
 
     @Test
-    void should_ReturnSuccess_When_InfoCalled() throws Exception {
+    void should_ReturnSuccess_When_InfoCalled() {
         // When & Then
-        mockMvc.perform(get("/api/info"))
-                .andExpect(status().isOk());
+        webTestClient.get().uri("/api/info")
+                .exchange()
+                .expectStatus().isOk();
     }
 }
@@ -0,0 +1,126 @@
+package com.petlearning.gateway.loadbalancer;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.DefaultRequest;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.support.ServiceInstanceListSuppliers;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 負載加權負載平衡測試
+ */
+class LoadAwareLoadBalancerTest {
+
+    private final LoadAwareLoadBalancer loadBalancer = new LoadAwareLoadBalancer("pets-service", supplier());
+
+    @Test
+    void should_PreferIdleInstance_When_OtherIsBusy() {
+        // Given
+        ServiceInstance idle = instance("idle", load(0, 5, 0.1, 0));
+        ServiceInstance busy = instance("busy", load(40, 400, 0.9, 0.8));
+
+        // When
+        Map<String, Integer> picks = pick(List.of(idle, busy), 1000);
+
+        // Then
+        assertThat(picks.get("idle")).isGreaterThan(950);
+        assertThat(picks.getOrDefault("busy", 0)).isPositive();
+    }
+
+    @Test
+    void should_TreatMissingMetadataAsAverage_When_InstanceHasNotPublished() {
+        // Given
+        Map<String, String> sameLoad = load(4, 50, 0.3, 0.2);
+        ServiceInstance first = instance("first", sameLoad);
+        ServiceInstance second = instance("second", sameLoad);
+        ServiceInstance legacy = instance("legacy", Map.of());
+
+        // When
+        double[] weights = LoadAwareLoadBalancer.weights(List.of(first, second, legacy));
+
+        // Then
+        assertThat(weights[2]).isEqualTo(weights[0]);
+        assertThat(weights[1]).isEqualTo(weights[0]);
+    }
+
+    @Test
+    void should_SpreadUniformly_When_NoInstanceHasMetadata() {
+        // Given
+        ServiceInstance a = instance("a", Map.of());
+        ServiceInstance b = instance("b", Map.of(LoadAwareLoadBalancer.INFLIGHT, "not-a-number"));
+
+        // When
+        Map<String, Integer> picks = pick(List.of(a, b), 1000);
+
+        // Then
+        assertThat(picks.get("a")).isEqualTo(500);
+        assertThat(picks.get("b")).isEqualTo(500);
+    }
+
+    @Test
+    void should_ChooseFromSupplier_When_Requested() {
+        // Given
+        ServiceInstance only = instance("only", load(1, 10, 0.1, 0.1));
+        LoadAwareLoadBalancer fromSupplier = new LoadAwareLoadBalancer("pets-service",
+                supplier(ServiceInstanceListSuppliers.from("pets-service", only)));
+
+        // When
+        Response<ServiceInstance> response = fromSupplier.choose(new DefaultRequest<>()).block();
+
+        // Then
+        assertThat(response.hasServer()).isTrue();
+        assertThat(response.getServer().getInstanceId()).isEqualTo("only");
+    }
+
+    @Test
+    void should_ReturnEmptyResponse_When_NoInstances() {
+        // When
+        Response<ServiceInstance> response = loadBalancer.choose(List.of(), 0.5);
+
+        // Then
+        assertThat(response.hasServer()).isFalse();
+    }
+
+    /**
+     * 以均勻分布的 roll 走過 [0, 1)，統計各實例被選中的次數
+     */
+    private Map<String, Integer> pick(List<ServiceInstance> instances, int rolls) {
+        Map<String, Integer> picks = new HashMap<>();
+        for (int i = 0; i < rolls; i++) {
+            String id = loadBalancer.choose(instances, (i + 0.5) / rolls).getServer().getInstanceId();
+            picks.merge(id, 1, Integer::sum);
+        }
+        return picks;
+    }
+
+    private static Map<String, String> load(int inflight, double p99, double cpu, double pool) {
+        return Map.of(
+                LoadAwareLoadBalancer.INFLIGHT, String.valueOf(inflight),
+                LoadAwareLoadBalancer.P99_MILLIS, String.valueOf(p99),
+                LoadAwareLoadBalancer.CPU, String.valueOf(cpu),
+                LoadAwareLoadBalancer.POOL, String.valueOf(pool));
+    }
+
+    private static ServiceInstance instance(String id, Map<String, String> metadata) {
+        return new DefaultServiceInstance(id, "pets-service", id + ".local", 8082, false, metadata);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ObjectProvider<ServiceInstanceListSupplier> supplier(ServiceInstanceListSupplier... suppliers) {
+        ObjectProvider<ServiceInstanceListSupplier> provider = mock(ObjectProvider.class);
+        when(provider.getIfAvailable(any())).thenReturn(suppliers.length == 0 ? null : suppliers[0]);
+        return provider;
+    }
+}
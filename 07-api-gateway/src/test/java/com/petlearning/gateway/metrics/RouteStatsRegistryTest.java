@@ -0,0 +1,57 @@
+package com.petlearning.gateway.metrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * 路由統計測試
+ *
+ * TDD 練習：
+ * - 驗證延遲百分位數計算
+ * - 驗證 Micrometer tag 基數受到限制
+ */
+class RouteStatsRegistryTest {
+
+    @Test
+    void should_ReportPercentiles_When_LatenciesRecorded() {
+        // Given
+        RouteStatsRegistry registry = new RouteStatsRegistry(new SimpleMeterRegistry(), 10, Duration.ZERO);
+        for (int i = 1; i <= 100; i++) {
+            registry.record("pets-service", TimeUnit.MILLISECONDS.toNanos(i), 200);
+        }
+
+        // When
+        RouteStats.Snapshot snapshot = registry.snapshot("pets-service");
+
+        // Then
+        assertThat(snapshot.totalRequests()).isEqualTo(100);
+        assertThat(snapshot.p50Millis()).isCloseTo(50, within(1.0));
+        assertThat(snapshot.p99Millis()).isCloseTo(99, within(1.0));
+        assertThat(snapshot.errorRate()).isZero();
+    }
+
+    @Test
+    void should_CollapseRouteTag_When_MaxRoutesExceeded() {
+        // Given
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        RouteStatsRegistry registry = new RouteStatsRegistry(meterRegistry, 2, Duration.ZERO);
+
+        // When
+        registry.record("a", 1_000, 200);
+        registry.record("b", 1_000, 200);
+        registry.record("c", 1_000, 200);
+        registry.record(null, 1_000, 404);
+
+        // Then
+        assertThat(meterRegistry.find(RouteStatsRegistry.METER_NAME).timers())
+                .extracting(timer -> timer.getId().getTag("route"))
+                .containsOnly("a", "b", RouteStatsRegistry.OVERFLOW_ROUTE);
+        assertThat(registry.snapshot(RouteStatsRegistry.OVERFLOW_ROUTE).totalRequests()).isEqualTo(2);
+    }
+}
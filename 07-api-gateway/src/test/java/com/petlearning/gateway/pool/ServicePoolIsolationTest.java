@@ -0,0 +1,172 @@
+package com.petlearning.gateway.pool;
+
+import io.micrometer.core.instrument.Metrics;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.cloud.gateway.config.HttpClientCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 每服務連線池隔離測試
+ *
+ * 情境：
+ * - slow-service 每個請求延遲 1.5 秒，連線池只有 2 條連線、最多 2 個等待者
+ * - 對 slow-service 灌入 30 個並行請求，超出的請求快速失敗
+ * - 同一時間 fast-service 的請求仍全部成功且延遲很低
+ * - 獨立連線池的 client 仍套用 spring.cloud.gateway.httpclient.* 與 HttpClientCustomizer
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "eureka.client.enabled=false",
+        "spring.cloud.gateway.discovery.locator.enabled=false",
+        "gateway.pools.services.slow-service.max-connections=2",
+        "gateway.pools.services.slow-service.pending-acquire-max-count=2",
+        "gateway.pools.services.slow-service.pending-acquire-timeout=500ms",
+        "gateway.pools.services.fast-service.max-connections=10",
+        "gateway.pools.services.echo-service.max-connections=2",
+        "spring.cloud.gateway.httpclient.max-header-size=1KB"
+})
+class ServicePoolIsolationTest {
+
+    private static final String CUSTOMIZED_HEADER = "X-Gateway-Client";
+
+    private static final DisposableServer SLOW = HttpServer.create()
+            .port(0)
+            .handle((request, response) -> Mono.delay(Duration.ofMillis(1500))
+                    .then(response.sendString(Mono.just("slow")).then()))
+            .bindNow();
+
+    private static final DisposableServer FAST = HttpServer.create()
+            .port(0)
+            .handle((request, response) -> response.sendString(Mono.just("fast")))
+            .bindNow();
+
+    private static final DisposableServer ECHO = HttpServer.create()
+            .port(0)
+            .route(routes -> routes
+                    .get("/echo/header", (request, response) ->
+                            response.sendString(Mono.just(String.valueOf(request.requestHeaders().get(CUSTOMIZED_HEADER)))))
+                    .get("/echo/large-header", (request, response) ->
+                            response.header("X-Large", "x".repeat(2048)).sendString(Mono.just("large"))))
+            .bindNow();
+
+    @TestConfiguration
+    static class CustomizerConfig {
+
+        @Bean
+        HttpClientCustomizer taggingCustomizer() {
+            return httpClient -> httpClient.headers(headers -> headers.set(CUSTOMIZED_HEADER, "customized"));
+        }
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @DynamicPropertySource
+    static void routes(DynamicPropertyRegistry registry) {
+        registry.add("spring.cloud.gateway.routes[0].id", () -> "slow-service");
+        registry.add("spring.cloud.gateway.routes[0].uri", () -> "http://localhost:" + SLOW.port());
+        registry.add("spring.cloud.gateway.routes[0].predicates[0]", () -> "Path=/slow/**");
+        registry.add("spring.cloud.gateway.routes[1].id", () -> "fast-service");
+        registry.add("spring.cloud.gateway.routes[1].uri", () -> "http://localhost:" + FAST.port());
+        registry.add("spring.cloud.gateway.routes[1].predicates[0]", () -> "Path=/fast/**");
+        registry.add("spring.cloud.gateway.routes[2].id", () -> "echo-service");
+        registry.add("spring.cloud.gateway.routes[2].uri", () -> "http://localhost:" + ECHO.port());
+        registry.add("spring.cloud.gateway.routes[2].predicates[0]", () -> "Path=/echo/**");
+    }
+
+    @AfterAll
+    static void stopStubs() {
+        SLOW.disposeNow();
+        FAST.disposeNow();
+        ECHO.disposeNow();
+    }
+
+    @Test
+    void should_KeepFastRouteHealthy_When_SlowRouteIsFlooded() {
+        // Given：測試用 client 本身不能成為瓶頸
+        ConnectionProvider clientPool = ConnectionProvider.builder("test-client").maxConnections(200).build();
+        WebClient client = WebClient.builder()
+                .baseUrl("http://localhost:" + port)
+                .clientConnector(new ReactorClientHttpConnector(HttpClient.create(clientPool)))
+                .build();
+
+        // When：灌爆 slow-service
+        AtomicInteger rejected = new AtomicInteger();
+        Mono<List<Integer>> flood = Flux.range(0, 30)
+                .flatMap(i -> client.get().uri("/slow/item").exchangeToMono(r -> Mono.just(r.statusCode().value()))
+                        .doOnNext(status -> {
+                            if (status >= 500) {
+                                rejected.incrementAndGet();
+                            }
+                        }), 30)
+                .collectList()
+                .cache();
+        flood.subscribe();
+
+        // 超出連線數與等待上限的請求先被拒絕（單核心環境下處理這些錯誤要將近 1 秒），
+        // 之後 slow-service 的連線仍全數被佔用，同時依序呼叫 fast-service
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (rejected.get() < 30 - 2 - 2 && System.nanoTime() < deadline) {
+            Mono.delay(Duration.ofMillis(10)).block();
+        }
+        List<Long> fastLatencies = new ArrayList<>();
+        List<Integer> fastStatuses = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            long start = System.nanoTime();
+            Integer status = client.get().uri("/fast/item")
+                    .exchangeToMono(r -> Mono.just(r.statusCode().value()))
+                    .block(Duration.ofSeconds(5));
+            fastLatencies.add((System.nanoTime() - start) / 1_000_000);
+            fastStatuses.add(status);
+        }
+        List<Integer> slowStatuses = flood.block(Duration.ofSeconds(30));
+
+        // Then
+        assertThat(fastStatuses).containsOnly(200);
+        assertThat(fastLatencies).allMatch(millis -> millis < 1000);
+        assertThat(slowStatuses).contains(200);
+        assertThat(slowStatuses).anyMatch(status -> status >= 500);
+        assertThat(Metrics.globalRegistry.find("reactor.netty.connection.provider.max.connections")
+                .tag("name", ServicePoolRoutingFilter.POOL_NAME_PREFIX + "slow-service")
+                .gauge()).isNotNull();
+
+        clientPool.dispose();
+    }
+
+    @Test
+    void should_ApplyGatewayHttpClientSettings_When_ServiceHasOwnPool() {
+        // Given
+        WebClient client = WebClient.create("http://localhost:" + port);
+
+        // When
+        String header = client.get().uri("/echo/header").retrieve().bodyToMono(String.class)
+                .block(Duration.ofSeconds(5));
+        Integer largeHeaderStatus = client.get().uri("/echo/large-header")
+                .exchangeToMono(r -> Mono.just(r.statusCode().value()))
+                .block(Duration.ofSeconds(5));
+
+        // Then：HttpClientCustomizer 與 max-header-size 都套用到 echo-service 的連線池 client
+        assertThat(header).isEqualTo("customized");
+        assertThat(largeHeaderStatus).isGreaterThanOrEqualTo(500);
+    }
+}
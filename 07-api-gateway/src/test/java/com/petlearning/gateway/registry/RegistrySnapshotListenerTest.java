@@ -0,0 +1,180 @@
+package com.petlearning.gateway.registry;
+
+import com.netflix.appinfo.InstanceInfo;
+import com.netflix.discovery.shared.Applications;
+import com.petlearning.gateway.ApiGatewayApplication;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 註冊表快照整合測試
+ *
+ * 以測試用 Eureka Server 啟動完整的 Gateway：
+ * - Eureka 無法連線時，Gateway 從快照載入註冊表，啟動後 lb:// 路由即可使用
+ * - Eureka 恢復後改做增量抓取，不需要重新全量抓取
+ * - 成功抓取註冊表後寫入快照
+ * - Eureka 回應 5xx 時不寫入、也不更新快照的修改時間
+ */
+class RegistrySnapshotListenerTest {
+
+    private static HttpServer pets;
+
+    @BeforeAll
+    static void startPets() throws IOException {
+        // 不使用 reactor-netty：Gateway context 關閉時會釋放全域的 event loop
+        pets = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        pets.createContext("/", exchange -> {
+            try (exchange) {
+                byte[] body = "pets".getBytes(StandardCharsets.UTF_8);
+                exchange.sendResponseHeaders(200, body.length);
+                exchange.getResponseBody().write(body);
+            }
+        });
+        pets.start();
+    }
+
+    @AfterAll
+    static void stopPets() {
+        pets.stop(0);
+    }
+
+    @TempDir
+    Path tempDir;
+
+    private StubEurekaServer eureka;
+    private ConfigurableApplicationContext gateway;
+
+    @BeforeEach
+    void setUp() {
+        eureka = new StubEurekaServer().addInstance("pets-service", "pets-1", pets.getAddress().getPort());
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (gateway != null) {
+            gateway.close();
+        }
+        eureka.close();
+    }
+
+    @Test
+    void should_RouteFromSnapshotThenFetchDelta_When_EurekaDownAtStartup() throws Exception {
+        // Given：上次成功抓取留下的快照，Eureka 尚未啟動
+        Path snapshot = tempDir.resolve("registry.snapshot");
+        new RegistrySnapshotStore(snapshot, Duration.ofHours(1)).save(RegistrySnapshotStoreTest.registry(petsInstance()));
+
+        // When
+        gateway = startGateway(snapshot);
+
+        // Then：啟動完成即可路由
+        assertThat(get("/pets-service/ping")).isEqualTo("pets");
+
+        // When：Eureka 恢復
+        eureka.start();
+        awaitUntil(() -> eureka.deltaFetches() > 0);
+
+        // Then：快照的註冊表版本讓客戶端直接走增量
+        assertThat(eureka.fullFetches()).isZero();
+        assertThat(get("/pets-service/ping")).isEqualTo("pets");
+    }
+
+    @Test
+    void should_WriteSnapshot_When_RegistryFetched() throws Exception {
+        // Given
+        Path snapshot = tempDir.resolve("registry.snapshot");
+        eureka.start();
+
+        // When
+        gateway = startGateway(snapshot);
+        awaitUntil(() -> Files.exists(snapshot));
+
+        // Then
+        Applications saved = new RegistrySnapshotStore(snapshot, Duration.ofHours(1)).load().orElseThrow();
+        assertThat(saved.getRegisteredApplications("PETS-SERVICE").getByInstanceId("pets-1").getPort())
+                .isEqualTo(pets.getAddress().getPort());
+        assertThat(eureka.fullFetches()).isEqualTo(1);
+    }
+
+    @Test
+    void should_KeepSnapshotAge_When_EurekaRespondsWithError() throws Exception {
+        // Given：半小時前的快照，Eureka 回 503（DiscoveryClient 仍會發出 HeartbeatEvent）
+        Path snapshot = tempDir.resolve("registry.snapshot");
+        new RegistrySnapshotStore(snapshot, Duration.ofHours(1)).save(RegistrySnapshotStoreTest.registry(petsInstance()));
+        FileTime written = FileTime.from(Instant.now().minus(Duration.ofMinutes(30)));
+        Files.setLastModifiedTime(snapshot, written);
+        eureka.respondWith(503).start();
+
+        // When
+        gateway = startGateway(snapshot);
+        int fetches = eureka.fullFetches() + eureka.deltaFetches();
+        awaitUntil(() -> eureka.fullFetches() + eureka.deltaFetches() >= fetches + 2);
+
+        // Then：從快照載入的內容沒有被寫回，快照年齡照舊
+        assertThat(get("/pets-service/ping")).isEqualTo("pets");
+        assertThat(Files.getLastModifiedTime(snapshot)).isEqualTo(written);
+
+        // When：Eureka 恢復
+        eureka.respondWith(200);
+        awaitUntil(() -> !Files.getLastModifiedTime(snapshot).equals(written));
+
+        // Then
+        assertThat(Files.getLastModifiedTime(snapshot).toInstant()).isAfter(written.toInstant());
+    }
+
+    private static InstanceInfo petsInstance() {
+        return InstanceInfo.Builder.newBuilder()
+                .setInstanceId("pets-1").setAppName("PETS-SERVICE").setHostName("localhost").setIPAddr("127.0.0.1")
+                .setVIPAddressDeser("pets-service").setSecureVIPAddressDeser("pets-service")
+                .setStatus(InstanceInfo.InstanceStatus.UP).setPort(pets.getAddress().getPort())
+                .setMetadata(Map.of("zone", "default"))
+                .build();
+    }
+
+    private ConfigurableApplicationContext startGateway(Path snapshot) {
+        return new SpringApplicationBuilder(ApiGatewayApplication.class).run(
+                "--server.port=0",
+                "--eureka.client.service-url.defaultZone=" + eureka.eurekaUrl(),
+                "--eureka.client.register-with-eureka=false",
+                "--eureka.client.registry-fetch-interval-seconds=1",
+                "--gateway.registry-snapshot.file=" + snapshot);
+    }
+
+    private String get(String path) {
+        String port = gateway.getEnvironment().getProperty("local.server.port");
+        return WebClient.create("http://localhost:" + port).get().uri(path)
+                .retrieve().bodyToMono(String.class).block(Duration.ofSeconds(5));
+    }
+
+    private static void awaitUntil(IoCondition condition) throws Exception {
+        long deadline = System.nanoTime() + Duration.ofSeconds(15).toNanos();
+        while (!condition.test()) {
+            assertThat(System.nanoTime()).as("condition not met within 15s").isLessThan(deadline);
+            Thread.sleep(50);
+        }
+    }
+
+    @FunctionalInterface
+    private interface IoCondition {
+        boolean test() throws IOException;
+    }
+}
@@ -0,0 +1,151 @@
+package com.petlearning.gateway.registry;
+
+import com.petlearning.gateway.ApiGatewayApplication;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 啟動到第一個可路由請求的時間：Eureka 正常 vs Eureka 無法連線
+ *
+ * 預設不執行，使用以下指令執行：
+ * mvn test -Dbenchmark=true -Dtest=RegistrySnapshotStartupBenchmarkTest
+ *
+ * 從 SpringApplication.run 開始計時，每 10ms 呼叫一次 /pets-service/ping，
+ * 直到 lb:// 路由回傳 200 為止。使用預設的 30 秒抓取間隔。
+ * 「Eureka 無法連線、沒有快照」的情境中 Eureka 在 10 秒後恢復。
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class RegistrySnapshotStartupBenchmarkTest {
+
+    private static final int RUNS = 3;
+    private static final Duration EUREKA_OUTAGE = Duration.ofSeconds(10);
+
+    @TempDir
+    Path tempDir;
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(1))
+            .build();
+
+    @Test
+    void should_RouteAtStartup_When_EurekaDownButSnapshotPresent() throws Exception {
+        HttpServer pets = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        pets.createContext("/", exchange -> {
+            try (exchange) {
+                byte[] body = "pets".getBytes(StandardCharsets.UTF_8);
+                exchange.sendResponseHeaders(200, body.length);
+                exchange.getResponseBody().write(body);
+            }
+        });
+        pets.start();
+        int petsPort = pets.getAddress().getPort();
+        Path snapshot = tempDir.resolve("registry.snapshot");
+
+        // 先以正常的 Eureka 啟動一次，產生快照（同時作為 JVM 暖機）
+        try (StubEurekaServer eureka = new StubEurekaServer().addInstance("pets-service", "pets-1", petsPort).start()) {
+            measure(eureka, snapshot, false);
+        }
+        assertThat(snapshot).exists();
+
+        System.out.printf("%-32s %12s %14s %14s%n", "scenario", "ready(ms)", "routable(ms)", "first fetch");
+        for (int i = 0; i < RUNS; i++) {
+            try (StubEurekaServer eureka = new StubEurekaServer().addInstance("pets-service", "pets-1", petsPort).start()) {
+                report("eureka up", measure(eureka, tempDir.resolve("none-" + i), false), eureka);
+            }
+        }
+        for (int i = 0; i < RUNS; i++) {
+            try (StubEurekaServer eureka = new StubEurekaServer().addInstance("pets-service", "pets-1", petsPort)) {
+                Result result = measure(eureka, snapshot, true);
+                assertThat(result.routableMillis()).isLessThan(EUREKA_OUTAGE.toMillis());
+                report("eureka down + snapshot", result, eureka);
+            }
+        }
+        try (StubEurekaServer eureka = new StubEurekaServer().addInstance("pets-service", "pets-1", petsPort)) {
+            Path missing = tempDir.resolve("missing");
+            Files.deleteIfExists(missing);
+            report("eureka down, no snapshot", measure(eureka, missing, true), eureka);
+        }
+        pets.stop(0);
+    }
+
+    /**
+     * @param eurekaDown true 時 Eureka 在啟動 {@link #EUREKA_OUTAGE} 後才開始服務，並等到恢復後的第一次抓取
+     */
+    private Result measure(StubEurekaServer eureka, Path snapshot, boolean eurekaDown) throws Exception {
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+        long start = System.nanoTime();
+        if (eurekaDown) {
+            scheduler.schedule(() -> {
+                eureka.start();
+                return null;
+            }, EUREKA_OUTAGE.toMillis(), TimeUnit.MILLISECONDS);
+        }
+        try (ConfigurableApplicationContext gateway = new SpringApplicationBuilder(ApiGatewayApplication.class).run(
+                "--server.port=0",
+                "--logging.level.root=WARN",
+                "--logging.level.com.netflix=OFF",
+                "--eureka.client.service-url.defaultZone=" + eureka.eurekaUrl(),
+                "--eureka.client.register-with-eureka=false",
+                "--gateway.registry-snapshot.file=" + snapshot)) {
+            long ready = System.nanoTime();
+            URI uri = URI.create("http://localhost:" + gateway.getEnvironment().getProperty("local.server.port")
+                    + "/pets-service/ping");
+            long deadline = start + Duration.ofSeconds(120).toNanos();
+            while (status(uri) != 200) {
+                assertThat(System.nanoTime()).as("not routable within 120s").isLessThan(deadline);
+                Thread.sleep(10);
+            }
+            long routable = System.nanoTime();
+            if (eurekaDown) {
+                while (eureka.fullFetches() + eureka.deltaFetches() == 0) {
+                    assertThat(System.nanoTime()).as("no fetch within 120s").isLessThan(deadline);
+                    Thread.sleep(50);
+                }
+            }
+            return new Result((ready - start) / 1_000_000, (routable - start) / 1_000_000);
+        } finally {
+            scheduler.shutdownNow();
+        }
+    }
+
+    private int status(URI uri) {
+        try {
+            return client.send(HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(2)).build(),
+                    HttpResponse.BodyHandlers.discarding()).statusCode();
+        } catch (IOException ex) {
+            return -1;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return -1;
+        }
+    }
+
+    private static void report(String scenario, Result result, StubEurekaServer eureka) {
+        String fetch = eureka.deltaFetches() > 0 && eureka.fullFetches() == 0 ? "delta" : "full";
+        System.out.printf("%-32s %12d %14d %14s%n", scenario, result.readyMillis(), result.routableMillis(), fetch);
+    }
+
+    private record Result(long readyMillis, long routableMillis) {
+    }
+}
@@ -0,0 +1,202 @@
+package com.petlearning.gateway.registry;
+
+import com.netflix.appinfo.DataCenterInfo;
+import com.netflix.appinfo.InstanceInfo;
+import com.netflix.appinfo.LeaseInfo;
+import com.netflix.appinfo.MyDataCenterInfo;
+import com.netflix.discovery.shared.Application;
+import com.netflix.discovery.shared.Applications;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 註冊表快照存放區測試
+ */
+class RegistrySnapshotStoreTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void should_RestoreRoutingFields_When_SnapshotRoundTrips() throws IOException {
+        // Given
+        RegistrySnapshotStore store = new RegistrySnapshotStore(tempDir.resolve("registry.snapshot"), Duration.ofHours(1));
+        Applications registry = registry(instance("PETS-SERVICE", "pets-1", 8082), instance("PETS-SERVICE", "pets-2", 8083));
+        registry.setVersion(42L);
+
+        // When
+        boolean written = store.save(registry);
+        Optional<Applications> loaded = store.load();
+
+        // Then
+        assertThat(written).isTrue();
+        assertThat(loaded).isPresent();
+        assertThat(loaded.get().getVersion()).isEqualTo(42L);
+        Application app = loaded.get().getRegisteredApplications("PETS-SERVICE");
+        assertThat(app.getInstances()).hasSize(2);
+        InstanceInfo pets = app.getByInstanceId("pets-1");
+        assertThat(pets.getHostName()).isEqualTo("pets-1.local");
+        assertThat(pets.getIPAddr()).isEqualTo("10.0.0.1");
+        assertThat(pets.getVIPAddress()).isEqualTo("pets-service");
+        assertThat(pets.getSecureVipAddress()).isNull();
+        assertThat(pets.getPort()).isEqualTo(8082);
+        assertThat(pets.isPortEnabled(InstanceInfo.PortType.UNSECURE)).isTrue();
+        assertThat(pets.isPortEnabled(InstanceInfo.PortType.SECURE)).isFalse();
+        assertThat(pets.getStatus()).isEqualTo(InstanceInfo.InstanceStatus.UP);
+        assertThat(pets.getHealthCheckUrl()).isEqualTo("http://pets-1.local:8082/actuator/health");
+        assertThat(pets.getMetadata()).containsEntry("zone", "zone-a");
+        assertThat(pets.getLeaseInfo().getDurationInSecs()).isEqualTo(90);
+        assertThat(pets.getLastDirtyTimestamp()).isEqualTo(1_700_000_000_000L);
+    }
+
+    @Test
+    void should_KeepPreviousSnapshot_When_RegistryIsEmpty() throws IOException {
+        // Given
+        RegistrySnapshotStore store = new RegistrySnapshotStore(tempDir.resolve("registry.snapshot"), Duration.ofHours(1));
+        store.save(registry(instance("PETS-SERVICE", "pets-1", 8082)));
+
+        // When
+        boolean written = store.save(new Applications());
+
+        // Then
+        assertThat(written).isFalse();
+        assertThat(store.load()).hasValueSatisfying(apps -> assertThat(apps.size()).isEqualTo(1));
+    }
+
+    @Test
+    void should_OnlyTouchFile_When_RegistryUnchanged() throws IOException {
+        // Given
+        Path file = tempDir.resolve("registry.snapshot");
+        RegistrySnapshotStore store = new RegistrySnapshotStore(file, Duration.ofHours(1));
+        store.save(registry(instance("PETS-SERVICE", "pets-1", 8082)));
+        FileTime old = FileTime.from(Instant.now().minusSeconds(600));
+        Files.setLastModifiedTime(file, old);
+
+        // When
+        boolean written = store.save(registry(instance("PETS-SERVICE", "pets-1", 8082)));
+
+        // Then
+        assertThat(written).isFalse();
+        assertThat(Files.getLastModifiedTime(file)).isGreaterThan(old);
+        try (var files = Files.list(tempDir)) {
+            assertThat(files).containsExactly(file);
+        }
+    }
+
+    @Test
+    void should_ReplaceSnapshot_When_RegistryChanged() throws IOException {
+        // Given
+        Path file = tempDir.resolve("registry.snapshot");
+        RegistrySnapshotStore store = new RegistrySnapshotStore(file, Duration.ofHours(1));
+        store.save(registry(instance("PETS-SERVICE", "pets-1", 8082)));
+
+        // When
+        boolean written = store.save(registry(instance("PETS-SERVICE", "pets-1", 8082),
+                instance("CUSTOMERS-SERVICE", "customers-1", 8081)));
+
+        // Then
+        assertThat(written).isTrue();
+        assertThat(store.load()).hasValueSatisfying(apps -> assertThat(apps.size()).isEqualTo(2));
+        try (var files = Files.list(tempDir)) {
+            assertThat(files).containsExactly(file);
+        }
+    }
+
+    @Test
+    void should_IgnoreSnapshot_When_OlderThanMaxAge() throws IOException {
+        // Given
+        Path file = tempDir.resolve("registry.snapshot");
+        RegistrySnapshotStore store = new RegistrySnapshotStore(file, Duration.ofMinutes(5));
+        store.save(registry(instance("PETS-SERVICE", "pets-1", 8082)));
+        Files.setLastModifiedTime(file, FileTime.from(Instant.now().minus(Duration.ofMinutes(6))));
+
+        // When
+        Optional<Applications> loaded = store.load();
+
+        // Then
+        assertThat(loaded).isEmpty();
+    }
+
+    @Test
+    void should_IgnoreSnapshot_When_FileIsCorruptOrMissing() throws IOException {
+        // Given
+        Path file = tempDir.resolve("registry.snapshot");
+        RegistrySnapshotStore store = new RegistrySnapshotStore(file, Duration.ofHours(1));
+        assertThat(store.load()).isEmpty();
+        store.save(registry(instance("PETS-SERVICE", "pets-1", 8082)));
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[bytes.length / 2] ^= 0x5A;
+        Files.write(file, bytes);
+
+        // When
+        Optional<Applications> loaded = store.load();
+
+        // Then
+        assertThat(loaded).isEmpty();
+    }
+
+    @Test
+    void should_ReturnSnapshot_When_BackupRegistryInstalled() throws IOException {
+        // Given
+        RegistrySnapshotStore store = new RegistrySnapshotStore(tempDir.resolve("registry.snapshot"), Duration.ofHours(1));
+        store.save(registry(instance("PETS-SERVICE", "pets-1", 8082)));
+        RegistrySnapshotBackupRegistry backupRegistry = new RegistrySnapshotBackupRegistry();
+
+        // When
+        RegistrySnapshotBackupRegistry.install(store);
+        Applications installed = backupRegistry.fetchRegistry();
+        RegistrySnapshotBackupRegistry.uninstall(store);
+        Applications uninstalled = backupRegistry.fetchRegistry(new String[]{"us-east-1"});
+
+        // Then
+        assertThat(installed.getRegisteredApplications("PETS-SERVICE").getInstances()).hasSize(1);
+        assertThat(uninstalled).isNull();
+    }
+
+    static Applications registry(InstanceInfo... instances) {
+        Applications applications = new Applications();
+        for (InstanceInfo instance : instances) {
+            Application app = applications.getRegisteredApplications(instance.getAppName());
+            if (app == null) {
+                app = new Application(instance.getAppName());
+                applications.addApplication(app);
+            }
+            app.addInstance(instance);
+        }
+        return applications;
+    }
+
+    static InstanceInfo instance(String app, String instanceId, int port) {
+        String host = instanceId + ".local";
+        return InstanceInfo.Builder.newBuilder()
+                .setInstanceId(instanceId)
+                .setAppName(app)
+                .setHostName(host)
+                .setIPAddr("10.0.0." + instanceId.charAt(instanceId.length() - 1))
+                .setVIPAddressDeser(app.toLowerCase())
+                .setStatus(InstanceInfo.InstanceStatus.UP)
+                .setPort(port)
+                .enablePort(InstanceInfo.PortType.UNSECURE, true)
+                .setSecurePort(443)
+                .enablePort(InstanceInfo.PortType.SECURE, false)
+                .setHomePageUrlForDeser("http://" + host + ":" + port + "/")
+                .setHealthCheckUrlsForDeser("http://" + host + ":" + port + "/actuator/health", null)
+                .setDataCenterInfo(new MyDataCenterInfo(DataCenterInfo.Name.MyOwn))
+                .setLeaseInfo(LeaseInfo.Builder.newBuilder().setRenewalIntervalInSecs(30).setDurationInSecs(90).build())
+                .setMetadata(Map.of("zone", "zone-a"))
+                .setLastUpdatedTimestamp(1_700_000_000_000L)
+                .setLastDirtyTimestamp(1_700_000_000_000L)
+                .build();
+    }
+}
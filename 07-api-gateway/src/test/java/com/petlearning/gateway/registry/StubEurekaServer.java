@@ -0,0 +1,146 @@
+package com.petlearning.gateway.registry;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 測試用 Eureka Server，只提供客戶端抓取用的 GET /eureka/apps/ 與 /eureka/apps/delta
+ *
+ * 先保留連接埠、之後再 {@link #start()}，可模擬 Gateway 啟動時 Eureka 尚未恢復。
+ * 增量回應不含任何變更，只帶上完整註冊表的 hash，客戶端 hash 一致時不會再做全量抓取。
+ */
+public class StubEurekaServer implements AutoCloseable {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final int port;
+    private final List<ObjectNode> instances = new CopyOnWriteArrayList<>();
+    private final AtomicInteger fullFetches = new AtomicInteger();
+    private final AtomicInteger deltaFetches = new AtomicInteger();
+    private volatile int status = 200;
+    private HttpServer server;
+
+    public StubEurekaServer() {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            this.port = socket.getLocalPort();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    public StubEurekaServer addInstance(String serviceId, String instanceId, int instancePort) {
+        ObjectNode instance = MAPPER.createObjectNode();
+        instance.put("instanceId", instanceId);
+        instance.put("hostName", "localhost");
+        instance.put("app", serviceId.toUpperCase());
+        instance.put("ipAddr", "127.0.0.1");
+        instance.put("status", "UP");
+        instance.put("overriddenStatus", "UNKNOWN");
+        instance.putObject("port").put("$", instancePort).put("@enabled", "true");
+        instance.putObject("securePort").put("$", 443).put("@enabled", "false");
+        instance.put("countryId", 1);
+        instance.putObject("dataCenterInfo")
+                .put("@class", "com.netflix.appinfo.InstanceInfo$DefaultDataCenterInfo")
+                .put("name", "MyOwn");
+        instance.putObject("leaseInfo").put("renewalIntervalInSecs", 30).put("durationInSecs", 90);
+        instance.putObject("metadata").put("zone", "default");
+        instance.put("homePageUrl", "http://localhost:" + instancePort + "/");
+        instance.put("statusPageUrl", "http://localhost:" + instancePort + "/actuator/info");
+        instance.put("healthCheckUrl", "http://localhost:" + instancePort + "/actuator/health");
+        instance.put("vipAddress", serviceId);
+        instance.put("secureVipAddress", serviceId);
+        instance.put("isCoordinatingDiscoveryServer", "false");
+        instance.put("lastUpdatedTimestamp", "1700000000000");
+        instance.put("lastDirtyTimestamp", "1700000000000");
+        instance.put("actionType", "ADDED");
+        instances.add(instance);
+        return this;
+    }
+
+    public synchronized StubEurekaServer start() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", port), 0);
+        server.createContext("/eureka/apps", this::handle);
+        server.setExecutor(Executors.newFixedThreadPool(2));
+        server.start();
+        return this;
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            exchange.getRequestBody().readAllBytes();
+            String path = exchange.getRequestURI().getPath();
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+            boolean delta = path.endsWith("/delta");
+            (delta ? deltaFetches : fullFetches).incrementAndGet();
+            if (status != 200) {
+                exchange.sendResponseHeaders(status, -1);
+                return;
+            }
+            byte[] body = MAPPER.writeValueAsBytes(registry(delta));
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+        }
+    }
+
+    private ObjectNode registry(boolean delta) {
+        ObjectNode root = MAPPER.createObjectNode();
+        ObjectNode applications = root.putObject("applications");
+        applications.put("versions__delta", "1");
+        applications.put("apps__hashcode", "UP_" + instances.size() + "_");
+        ArrayNode apps = applications.putArray("application");
+        if (!delta) {
+            Map<String, ArrayNode> byApp = new LinkedHashMap<>();
+            for (ObjectNode instance : instances) {
+                byApp.computeIfAbsent(instance.get("app").asText(),
+                        name -> apps.addObject().put("name", name).putArray("instance")).add(instance);
+            }
+        }
+        return root;
+    }
+
+    /**
+     * 之後的抓取一律回應指定狀態碼（模擬 Eureka 重啟中回 503）
+     */
+    public StubEurekaServer respondWith(int status) {
+        this.status = status;
+        return this;
+    }
+
+    public String eurekaUrl() {
+        return "http://127.0.0.1:" + port + "/eureka/";
+    }
+
+    public int fullFetches() {
+        return fullFetches.get();
+    }
+
+    public int deltaFetches() {
+        return deltaFetches.get();
+    }
+
+    @Override
+    public synchronized void close() {
+        if (server != null) {
+            server.stop(0);
+            server = null;
+        }
+    }
+}
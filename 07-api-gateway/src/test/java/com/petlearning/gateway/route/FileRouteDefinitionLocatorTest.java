@@ -0,0 +1,151 @@
+package com.petlearning.gateway.route;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.cloud.gateway.event.RefreshRoutesEvent;
+import org.springframework.cloud.gateway.route.RouteDefinition;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 檔案路由來源測試
+ *
+ * TDD 練習：
+ * - 驗證路由檔案解析
+ * - 驗證檔案變更後熱更新並發出 RefreshRoutesEvent
+ * - 驗證同大小且修改時間相同的變更也會被偵測
+ * - 驗證格式錯誤時保留舊路由
+ */
+class FileRouteDefinitionLocatorTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final List<Object> events = new ArrayList<>();
+
+    @Test
+    void should_LoadRoutes_When_FileIsValid() throws IOException {
+        // Given
+        Path file = write("routes.yml", """
+                routes:
+                  - id: customers-service
+                    uri: lb://customers-service
+                    predicates:
+                      - Path=/api/customers/**
+                """, 1_000);
+        FileRouteDefinitionLocator locator = new FileRouteDefinitionLocator(file, Duration.ofSeconds(1), events::add);
+
+        // When
+        boolean reloaded = locator.reloadIfChanged();
+
+        // Then
+        List<RouteDefinition> routes = locator.getRouteDefinitions().collectList().block();
+        assertThat(reloaded).isTrue();
+        assertThat(routes).hasSize(1);
+        assertThat(routes.get(0).getId()).isEqualTo("customers-service");
+        assertThat(routes.get(0).getPredicates().get(0).getName()).isEqualTo("Path");
+        assertThat(routes.get(0).getPredicates().get(0).getArgs()).containsValue("/api/customers/**");
+        assertThat(events).singleElement().isInstanceOf(RefreshRoutesEvent.class);
+    }
+
+    @Test
+    void should_SwapRoutes_When_FileChanges() throws IOException {
+        // Given
+        Path file = write("routes.yml", """
+                routes:
+                  - id: a
+                    uri: http://localhost:1
+                    predicates: [Path=/a/**]
+                """, 1_000);
+        FileRouteDefinitionLocator locator = new FileRouteDefinitionLocator(file, Duration.ofSeconds(1), events::add);
+        locator.reloadIfChanged();
+
+        // When
+        write("routes.yml", """
+                routes:
+                  - id: b
+                    uri: http://localhost:2
+                    predicates: [Path=/b/**]
+                  - id: c
+                    uri: http://localhost:3
+                    predicates: [Path=/c/**]
+                """, 2_000);
+        boolean reloaded = locator.reloadIfChanged();
+
+        // Then
+        assertThat(reloaded).isTrue();
+        assertThat(locator.getRouteDefinitions().map(RouteDefinition::getId).collectList().block())
+                .containsExactly("b", "c");
+        assertThat(locator.reloadIfChanged()).isFalse();
+        assertThat(events).hasSize(2);
+    }
+
+    @Test
+    void should_ReloadRoutes_When_SameSizeEditKeepsModifiedTime() throws IOException {
+        // Given
+        Path file = write("routes.yml", """
+                routes:
+                  - id: a
+                    uri: http://localhost:1
+                """, 1_000);
+        FileRouteDefinitionLocator locator = new FileRouteDefinitionLocator(file, Duration.ofSeconds(1), events::add);
+        locator.reloadIfChanged();
+
+        // When：大小與修改時間都相同（檔案系統時間精度內的修改）
+        write("routes.yml", """
+                routes:
+                  - id: b
+                    uri: http://localhost:2
+                """, 1_000);
+        boolean reloaded = locator.reloadIfChanged();
+
+        // Then
+        assertThat(reloaded).isTrue();
+        assertThat(locator.getRouteDefinitions().map(RouteDefinition::getId).collectList().block())
+                .containsExactly("b");
+        assertThat(locator.reloadIfChanged()).isFalse();
+    }
+
+    @Test
+    void should_KeepPreviousRoutes_When_FileIsInvalid() throws IOException {
+        // Given
+        Path file = write("routes.yml", """
+                routes:
+                  - id: a
+                    uri: http://localhost:1
+                """, 1_000);
+        FileRouteDefinitionLocator locator = new FileRouteDefinitionLocator(file, Duration.ofSeconds(1), events::add);
+        locator.reloadIfChanged();
+
+        // When：重複的路由 ID
+        write("routes.yml", """
+                routes:
+                  - id: dup
+                    uri: http://localhost:1
+                  - id: dup
+                    uri: http://localhost:2
+                """, 2_000);
+        boolean reloaded = locator.reloadIfChanged();
+
+        // Then
+        assertThat(reloaded).isFalse();
+        assertThat(locator.getRouteDefinitions().map(RouteDefinition::getId).collectList().block())
+                .containsExactly("a");
+        assertThat(events).hasSize(1);
+    }
+
+    private Path write(String name, String content, long lastModified) throws IOException {
+        Path file = tempDir.resolve(name);
+        Files.writeString(file, content);
+        Files.setLastModifiedTime(file, FileTime.fromMillis(lastModified));
+        return file;
+    }
+}
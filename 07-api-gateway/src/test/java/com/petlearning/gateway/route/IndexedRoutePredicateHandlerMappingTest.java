@@ -0,0 +1,108 @@
+package com.petlearning.gateway.route;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.config.GlobalCorsProperties;
+import org.springframework.cloud.gateway.event.RefreshRoutesResultEvent;
+import org.springframework.cloud.gateway.handler.FilteringWebHandler;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.http.HttpMethod;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Flux;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 索引路由查找測試
+ *
+ * TDD 練習：
+ * - 驗證刷新事件先於快取更新時，快取更新後仍以新路由查找
+ * - 驗證未刷新時查找不會重新讀取路由
+ * - 驗證編碼過的路徑仍能找到路由
+ */
+class IndexedRoutePredicateHandlerMappingTest {
+
+    private final List<Route> routes = new ArrayList<>();
+    private final AtomicInteger routeReads = new AtomicInteger();
+
+    private final IndexedRoutePredicateHandlerMapping mapping = new IndexedRoutePredicateHandlerMapping(
+            new FilteringWebHandler(List.of()),
+            () -> Flux.defer(() -> {
+                routeReads.incrementAndGet();
+                return Flux.fromIterable(List.copyOf(routes));
+            }),
+            new GlobalCorsProperties(), new MockEnvironment());
+
+    @Test
+    void should_RebuildIndex_When_CacheUpdatedAfterRefreshEvent() {
+        // Given
+        routes.add(RouteIndexTest.pathRoute("customers", "/api/customers/**"));
+        assertThat(lookup("/api/pets/1")).isNull();
+        RouteIndex first = mapping.currentIndex();
+
+        // When：CachingRouteLocator 先發出事件，之後才寫入含 pets 的快取
+        mapping.onRoutesRefreshed(new RefreshRoutesResultEvent(this));
+        assertThat(lookup("/api/pets/1")).isNull();
+        routes.add(RouteIndexTest.pathRoute("pets", "/api/pets/**"));
+
+        // Then
+        assertThat(lookup("/api/pets/1")).isEqualTo("pets");
+        assertThat(mapping.currentIndex()).isNotSameAs(first);
+        assertThat(lookup("/api/customers/1")).isEqualTo("customers");
+    }
+
+    @Test
+    void should_NotReadRoutes_When_NoRefreshSinceIndexBuilt() {
+        // Given
+        routes.add(RouteIndexTest.pathRoute("customers", "/api/customers/**"));
+        lookup("/api/customers/1");
+        RouteIndex first = mapping.currentIndex();
+        int reads = routeReads.get();
+
+        // When
+        for (int i = 0; i < 100; i++) {
+            lookup("/api/customers/" + i);
+        }
+
+        // Then：查找只讀取索引，不再走訪路由清單
+        assertThat(routeReads.get()).isEqualTo(reads);
+        assertThat(mapping.currentIndex()).isSameAs(first);
+    }
+
+    @Test
+    void should_KeepIndex_When_RefreshReturnsSameRouteInstances() {
+        // Given
+        routes.add(RouteIndexTest.pathRoute("customers", "/api/customers/**"));
+        lookup("/api/customers/1");
+        RouteIndex first = mapping.currentIndex();
+
+        // When：範圍刷新沒有改變任何路由
+        mapping.onRoutesRefreshed(new RefreshRoutesResultEvent(this));
+        lookup("/api/customers/2");
+
+        // Then
+        assertThat(mapping.currentIndex()).isSameAs(first);
+    }
+
+    @Test
+    void should_FindRoute_When_PathIsPercentEncoded() {
+        // Given
+        routes.add(RouteIndexTest.pathRoute("owners", "/api/owners/**"));
+
+        // When & Then
+        assertThat(lookup("/api/%6Fwners/1")).isEqualTo("owners");
+    }
+
+    private String lookup(String path) {
+        // 以 URI 建立請求，避免 % 被再次編碼
+        Route route = mapping.lookupRoute(MockServerWebExchange.from(
+                MockServerHttpRequest.method(HttpMethod.GET, URI.create(path)))).block();
+        return route == null ? null : route.getId();
+    }
+}
@@ -0,0 +1,113 @@
+package com.petlearning.gateway.route;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.handler.AsyncPredicate;
+import org.springframework.cloud.gateway.handler.predicate.MethodRoutePredicateFactory;
+import org.springframework.cloud.gateway.handler.predicate.PathRoutePredicateFactory;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.http.HttpMethod;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 路由前綴樹索引測試
+ *
+ * TDD 練習：
+ * - 驗證只回傳前綴相符的候選路由
+ * - 驗證候選路由維持原始順序
+ * - 驗證無法索引的路由一律列為候選
+ * - 驗證編碼過的路徑與矩陣參數不會被錯誤排除
+ */
+class RouteIndexTest {
+
+    private static final PathRoutePredicateFactory PATH = new PathRoutePredicateFactory();
+    private static final MethodRoutePredicateFactory METHOD = new MethodRoutePredicateFactory();
+
+    static Route pathRoute(String id, String... patterns) {
+        return Route.async()
+                .id(id)
+                .uri("lb://" + id)
+                .predicate(PATH.apply(new PathRoutePredicateFactory.Config().setPatterns(List.of(patterns))))
+                .build();
+    }
+
+    @Test
+    void should_ReturnOnlyPrefixMatches_When_PathLookedUp() {
+        // Given
+        RouteIndex index = RouteIndex.build(List.of(
+                pathRoute("customers", "/api/customers/**"),
+                pathRoute("pets", "/api/pets/**"),
+                pathRoute("health", "/health")));
+
+        // When
+        List<Route> candidates = index.candidates("/api/pets/42");
+
+        // Then
+        assertThat(candidates).extracting(Route::getId).containsExactly("pets");
+    }
+
+    @Test
+    void should_KeepOriginalOrder_When_SeveralPrefixesMatch() {
+        // Given
+        RouteIndex index = RouteIndex.build(List.of(
+                pathRoute("pet-detail", "/api/pets/{id}"),
+                pathRoute("catch-all", "/**"),
+                pathRoute("pets", "/api/pets/**")));
+
+        // When
+        List<Route> candidates = index.candidates("/api/pets/42");
+
+        // Then
+        assertThat(candidates).extracting(Route::getId).containsExactly("pet-detail", "catch-all", "pets");
+    }
+
+    @Test
+    void should_AlwaysIncludeRoute_When_PredicateCannotBeIndexed() {
+        // Given
+        Route orRoute = Route.async()
+                .id("or-route")
+                .uri("http://localhost")
+                .asyncPredicate(AsyncPredicate.from(
+                                PATH.apply(new PathRoutePredicateFactory.Config().setPatterns(List.of("/legacy/**"))))
+                        .or(AsyncPredicate.from(METHOD.apply(c -> c.setMethods(HttpMethod.DELETE)))))
+                .build();
+        RouteIndex index = RouteIndex.build(List.of(pathRoute("customers", "/api/customers/**"), orRoute));
+
+        // When
+        List<Route> candidates = index.candidates("/api/pets/1");
+
+        // Then
+        assertThat(candidates).extracting(Route::getId).containsExactly("or-route");
+    }
+
+    @Test
+    void should_MatchDecodedSegments_When_PathIsEncodedOrHasMatrixParams() {
+        // Given
+        RouteIndex index = RouteIndex.build(List.of(pathRoute("owners", "/api/owners/**")));
+
+        // When & Then：PathPattern 以解碼、去除矩陣參數後的值比對，索引不可先排除
+        assertThat(index.candidates("/api/%6Fwners/1")).extracting(Route::getId).containsExactly("owners");
+        assertThat(index.candidates("/api/owners;v=1/1")).extracting(Route::getId).containsExactly("owners");
+    }
+
+    @Test
+    void should_DetectRouteChange_When_RouteInstancesDiffer() {
+        // Given
+        Route customers = pathRoute("customers", "/api/customers/**");
+        RouteIndex index = RouteIndex.build(List.of(customers));
+
+        // When & Then
+        assertThat(index.isBuiltFrom(List.of(customers))).isTrue();
+        assertThat(index.isBuiltFrom(List.of(pathRoute("customers", "/api/customers/**")))).isFalse();
+        assertThat(index.isBuiltFrom(List.of())).isFalse();
+    }
+
+    @Test
+    void should_ExtractLiteralPrefix_When_PatternHasWildcards() {
+        assertThat(RouteIndex.literalPrefix("/api/customers/**")).containsExactly("api", "customers");
+        assertThat(RouteIndex.literalPrefix("/api/{id}/visits")).containsExactly("api");
+        assertThat(RouteIndex.literalPrefix("/**")).isEmpty();
+    }
+}
@@ -0,0 +1,101 @@
+package com.petlearning.gateway.route;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.cloud.gateway.config.GlobalCorsProperties;
+import org.springframework.cloud.gateway.handler.FilteringWebHandler;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.http.server.PathContainer;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 路由查找效能比較：線性查找 vs 前綴樹索引 vs 完整的 {@link IndexedRoutePredicateHandlerMapping#lookupRoute}
+ *
+ * 預設不執行，使用以下指令執行：
+ * mvn test -Dbenchmark=true -Dtest=RouteLookupBenchmarkTest
+ *
+ * 每個請求路徑隨機命中其中一條路由，量測「找出匹配路由」的平均耗時。
+ * mapping 欄位包含 Reactor 管線與刷新代數檢查，是實際請求路徑的成本。
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class RouteLookupBenchmarkTest {
+
+    private static final int WARMUP_LOOKUPS = 20_000;
+    private static final int MEASURED_LOOKUPS = 50_000;
+
+    @Test
+    void should_KeepLookupCostFlat_When_RouteCountGrows() {
+        System.out.printf("%-8s %15s %15s %15s%n", "routes", "linear(ns/op)", "indexed(ns/op)", "mapping(ns/op)");
+        for (int routeCount : new int[]{10, 1_000, 10_000}) {
+            List<Route> routes = new ArrayList<>(routeCount);
+            for (int i = 0; i < routeCount; i++) {
+                routes.add(RouteIndexTest.pathRoute("service-" + i, "/api/service-" + i + "/**"));
+            }
+            RouteIndex index = RouteIndex.build(routes);
+            IndexedRoutePredicateHandlerMapping mapping = new IndexedRoutePredicateHandlerMapping(
+                    new FilteringWebHandler(List.of()), () -> Flux.fromIterable(routes),
+                    new GlobalCorsProperties(), new MockEnvironment());
+            List<ServerWebExchange> exchanges = new ArrayList<>();
+            for (int i = 0; i < 1_000; i++) {
+                int target = ThreadLocalRandom.current().nextInt(routeCount);
+                exchanges.add(MockServerWebExchange.from(
+                        MockServerHttpRequest.get("/api/service-" + target + "/items/1")));
+            }
+
+            measure(exchanges, WARMUP_LOOKUPS, exchange -> firstMatch(routes, exchange));
+            long linear = measure(exchanges, MEASURED_LOOKUPS, exchange -> firstMatch(routes, exchange));
+            measure(exchanges, WARMUP_LOOKUPS, exchange -> firstMatch(index.candidates(path(exchange)), exchange));
+            long indexed = measure(exchanges, MEASURED_LOOKUPS,
+                    exchange -> firstMatch(index.candidates(path(exchange)), exchange));
+
+            measure(exchanges, WARMUP_LOOKUPS, exchange -> mapping.lookupRoute(exchange).block());
+            long mapped = measure(exchanges, MEASURED_LOOKUPS, exchange -> mapping.lookupRoute(exchange).block());
+
+            System.out.printf("%-8d %15d %15d %15d%n", routeCount, linear, indexed, mapped);
+            if (routeCount >= 1_000) {
+                assertThat(indexed).isLessThan(linear);
+                assertThat(mapped).isLessThan(linear);
+            }
+        }
+    }
+
+    private static long measure(List<ServerWebExchange> exchanges, int lookups, Lookup lookup) {
+        long start = System.nanoTime();
+        for (int i = 0; i < lookups; i++) {
+            Route matched = lookup.find(exchanges.get(i % exchanges.size()));
+            if (matched == null) {
+                throw new IllegalStateException("No route matched");
+            }
+        }
+        return (System.nanoTime() - start) / lookups;
+    }
+
+    private static Route firstMatch(List<Route> candidates, ServerWebExchange exchange) {
+        for (Route route : candidates) {
+            if (Boolean.TRUE.equals(Mono.from(route.getPredicate().apply(exchange)).block())) {
+                return route;
+            }
+        }
+        return null;
+    }
+
+    private static PathContainer path(ServerWebExchange exchange) {
+        return exchange.getRequest().getPath().pathWithinApplication();
+    }
+
+    @FunctionalInterface
+    private interface Lookup {
+        Route find(ServerWebExchange exchange);
+    }
+}
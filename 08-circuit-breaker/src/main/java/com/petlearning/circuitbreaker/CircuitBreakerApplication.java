@@ -2,6 +2,7 @@ package com.petlearning.circuitbreaker;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
 
 /**
  * 斷路器示例應用程式
@@ -27,6 +28,9 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
 public class CircuitBreakerApplication {
 
     public static void main(String[] args) {
-        SpringApplication.run(CircuitBreakerApplication.class, args);
+        SpringApplication application = new SpringApplication(CircuitBreakerApplication.class);
+        // 記錄啟動步驟（Bean 建立、自動配置等耗時），透過 /actuator/startup 查看
+        application.setApplicationStartup(new BufferingApplicationStartup(2048));
+        application.run(args);
     }
 }
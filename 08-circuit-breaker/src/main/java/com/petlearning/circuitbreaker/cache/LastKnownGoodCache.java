@@ -0,0 +1,113 @@
+package com.petlearning.circuitbreaker.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 每個 URL 最後一次成功回應的快取（stale-while-revalidate）
+ *
+ * 說明：
+ * - 每次外部服務呼叫成功都會覆寫該 URL 的快取值
+ * - 外部服務不可用時，降級方法改回傳快取值（標記為 stale），而不是固定字串
+ * - 回傳過 stale 值的 URL 會記錄下來，等斷路器進入半開狀態時在背景重新驗證
+ *
+ * 上限：
+ * - 最多保留 maxSize 個 URL（Caffeine 以 W-TinyLFU 淘汰）
+ * - 寫入超過 ttl 的值視為過期，不再提供（避免回傳過舊的資料）
+ */
+public class LastKnownGoodCache {
+
+    private final Cache<String, Entry> cache;
+    private final Ticker ticker;
+    private final Set<String> pendingRevalidation = ConcurrentHashMap.newKeySet();
+    private final LongAdder staleHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public LastKnownGoodCache(long maxSize, Duration ttl) {
+        this(maxSize, ttl, Ticker.systemTicker());
+    }
+
+    LastKnownGoodCache(long maxSize, Duration ttl, Ticker ticker) {
+        this.ticker = ticker;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .ticker(ticker)
+                .build();
+    }
+
+    /**
+     * 記錄一次成功回應
+     */
+    public void put(String url, String body) {
+        cache.put(url, new Entry(body, ticker.read()));
+        pendingRevalidation.remove(url);
+    }
+
+    /**
+     * 取得 stale 值供降級使用，並計入 stale 命中 / 未命中
+     */
+    public Optional<Stale> getStale(String url) {
+        Entry entry = cache.getIfPresent(url);
+        if (entry == null) {
+            misses.increment();
+            return Optional.empty();
+        }
+        staleHits.increment();
+        pendingRevalidation.add(url);
+        return Optional.of(new Stale(entry.body(), Duration.ofNanos(ticker.read() - entry.writtenAtNanos())));
+    }
+
+    /**
+     * 取出最多 max 個等待重新驗證的 URL（取出後即移除，重新驗證失敗時會在下次 stale 命中再加入）
+     */
+    public List<String> drainPendingRevalidation(int max) {
+        List<String> urls = new ArrayList<>(Math.min(max, pendingRevalidation.size()));
+        Iterator<String> iterator = pendingRevalidation.iterator();
+        while (iterator.hasNext() && urls.size() < max) {
+            urls.add(iterator.next());
+            iterator.remove();
+        }
+        return urls;
+    }
+
+    public long getStaleHits() {
+        return staleHits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * 降級時能以 stale 值回應的比例
+     */
+    public double getStaleHitRatio() {
+        long hits = staleHits.sum();
+        long total = hits + misses.sum();
+        return total == 0 ? 0 : (double) hits / total;
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    private record Entry(String body, long writtenAtNanos) {
+    }
+
+    /**
+     * stale 值與其年齡
+     */
+    public record Stale(String body, Duration age) {
+    }
+}
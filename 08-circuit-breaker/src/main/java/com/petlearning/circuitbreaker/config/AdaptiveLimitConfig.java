@@ -0,0 +1,49 @@
+package com.petlearning.circuitbreaker.config;
+
+import com.petlearning.circuitbreaker.limit.AdaptiveConcurrencyLimiter;
+import com.petlearning.circuitbreaker.service.ExternalServiceClient;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 自適應併發限制配置
+ *
+ * 指標（tag name = externalServiceCall）：
+ * - adaptive.concurrency.limit：目前限制
+ * - adaptive.concurrency.inflight：進行中的呼叫數
+ * - adaptive.concurrency.rejected：因超過限制被拒絕的呼叫數
+ */
+@Configuration
+@EnableConfigurationProperties(AdaptiveLimitProperties.class)
+public class AdaptiveLimitConfig {
+
+    @Bean
+    public AdaptiveConcurrencyLimiter externalServiceLimiter(AdaptiveLimitProperties properties,
+                                                             MeterRegistry meterRegistry) {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(
+                ExternalServiceClient.INSTANCE_NAME,
+                properties.getInitialLimit(),
+                properties.getMinLimit(),
+                properties.getMaxLimit(),
+                properties.getSmoothing(),
+                properties.getProbeMultiplier());
+
+        Gauge.builder("adaptive.concurrency.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+                .description("Current adaptive concurrency limit")
+                .tag("name", limiter.getName())
+                .register(meterRegistry);
+        Gauge.builder("adaptive.concurrency.inflight", limiter, AdaptiveConcurrencyLimiter::getInFlight)
+                .description("Calls currently holding a permit")
+                .tag("name", limiter.getName())
+                .register(meterRegistry);
+        FunctionCounter.builder("adaptive.concurrency.rejected", limiter, AdaptiveConcurrencyLimiter::getRejectedCount)
+                .description("Calls rejected because the limit was reached")
+                .tag("name", limiter.getName())
+                .register(meterRegistry);
+        return limiter;
+    }
+}
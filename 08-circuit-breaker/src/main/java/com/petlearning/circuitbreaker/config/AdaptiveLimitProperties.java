@@ -0,0 +1,65 @@
+package com.petlearning.circuitbreaker.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 自適應併發限制配置（adaptive-limit.*）
+ */
+@ConfigurationProperties(prefix = "adaptive-limit")
+public class AdaptiveLimitProperties {
+
+    /** 初始限制 */
+    private int initialLimit = 20;
+
+    /** 限制下限 */
+    private int minLimit = 1;
+
+    /** 限制上限 */
+    private int maxLimit = 200;
+
+    /** 每次調整時新值的權重（1.0 = 直接採用新值） */
+    private double smoothing = 1.0;
+
+    /** 每 probeMultiplier × limit 個樣本重新量測基準 RTT */
+    private int probeMultiplier = 30;
+
+    public int getInitialLimit() {
+        return initialLimit;
+    }
+
+    public void setInitialLimit(int initialLimit) {
+        this.initialLimit = initialLimit;
+    }
+
+    public int getMinLimit() {
+        return minLimit;
+    }
+
+    public void setMinLimit(int minLimit) {
+        this.minLimit = minLimit;
+    }
+
+    public int getMaxLimit() {
+        return maxLimit;
+    }
+
+    public void setMaxLimit(int maxLimit) {
+        this.maxLimit = maxLimit;
+    }
+
+    public double getSmoothing() {
+        return smoothing;
+    }
+
+    public void setSmoothing(double smoothing) {
+        this.smoothing = smoothing;
+    }
+
+    public int getProbeMultiplier() {
+        return probeMultiplier;
+    }
+
+    public void setProbeMultiplier(int probeMultiplier) {
+        this.probeMultiplier = probeMultiplier;
+    }
+}
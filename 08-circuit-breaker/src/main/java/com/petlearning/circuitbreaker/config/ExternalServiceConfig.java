@@ -0,0 +1,12 @@
+package com.petlearning.circuitbreaker.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 外部服務目標配置（external-service.*）
+ */
+@Configuration
+@EnableConfigurationProperties(ExternalServiceProperties.class)
+public class ExternalServiceConfig {
+}
@@ -0,0 +1,23 @@
+package com.petlearning.circuitbreaker.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 外部服務配置（external-service.*）
+ *
+ * 演示端點只接受路徑，目標主機固定為 baseUrl，不能讓呼叫端指定任意 URL（SSRF）
+ */
+@ConfigurationProperties(prefix = "external-service")
+public class ExternalServiceProperties {
+
+    /** 外部服務的基底 URL（scheme + host + port） */
+    private String baseUrl = "http://localhost:8082";
+
+    public String getBaseUrl() {
+        return baseUrl;
+    }
+
+    public void setBaseUrl(String baseUrl) {
+        this.baseUrl = baseUrl;
+    }
+}
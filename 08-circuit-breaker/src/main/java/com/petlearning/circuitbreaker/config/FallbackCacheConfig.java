@@ -0,0 +1,68 @@
+package com.petlearning.circuitbreaker.config;
+
+import com.petlearning.circuitbreaker.cache.LastKnownGoodCache;
+import com.petlearning.circuitbreaker.service.ExternalServiceClient;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 降級快取配置
+ *
+ * 指標：
+ * - fallback.cache.requests（tag result = stale / miss）：降級時是否有 stale 值可用
+ * - fallback.cache.stale.hit.ratio：降級時以 stale 值回應的比例
+ * - fallback.cache.size：目前快取的 URL 數量
+ */
+@Configuration
+@EnableConfigurationProperties(FallbackCacheProperties.class)
+public class FallbackCacheConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(FallbackCacheConfig.class);
+
+    @Bean
+    public LastKnownGoodCache lastKnownGoodCache(FallbackCacheProperties properties, MeterRegistry meterRegistry) {
+        LastKnownGoodCache cache = new LastKnownGoodCache(properties.getMaxSize(), properties.getTtl());
+
+        FunctionCounter.builder("fallback.cache.requests", cache, LastKnownGoodCache::getStaleHits)
+                .description("Fallbacks answered with a stale response")
+                .tag("result", "stale")
+                .register(meterRegistry);
+        FunctionCounter.builder("fallback.cache.requests", cache, LastKnownGoodCache::getMisses)
+                .description("Fallbacks without a cached response")
+                .tag("result", "miss")
+                .register(meterRegistry);
+        Gauge.builder("fallback.cache.stale.hit.ratio", cache, LastKnownGoodCache::getStaleHitRatio)
+                .description("Share of fallbacks answered with a stale response")
+                .register(meterRegistry);
+        Gauge.builder("fallback.cache.size", cache, LastKnownGoodCache::size)
+                .description("URLs with a last-known-good response")
+                .register(meterRegistry);
+        return cache;
+    }
+
+    /**
+     * 應用程式就緒後在背景預熱，不延遲啟動
+     */
+    @Bean
+    public ApplicationListener<ApplicationReadyEvent> fallbackCachePrewarmer(FallbackCacheProperties properties,
+                                                                             ExternalServiceClient client) {
+        return event -> {
+            if (properties.getPrewarmUrls().isEmpty()) {
+                return;
+            }
+            client.prewarm(properties.getPrewarmUrls(), properties.getPrewarmConcurrency())
+                    .subscribe(null,
+                            ex -> logger.warn("Fallback cache prewarm failed", ex),
+                            () -> logger.info("Fallback cache prewarm finished for {} URLs",
+                                    properties.getPrewarmUrls().size()));
+        };
+    }
+}
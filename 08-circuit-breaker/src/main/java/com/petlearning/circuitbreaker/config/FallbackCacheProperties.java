@@ -0,0 +1,58 @@
+package com.petlearning.circuitbreaker.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 降級快取配置（fallback-cache.*）
+ */
+@ConfigurationProperties(prefix = "fallback-cache")
+public class FallbackCacheProperties {
+
+    /** 最多快取的 URL 數量 */
+    private long maxSize = 1000;
+
+    /** 快取值的最長保存時間，超過後不再作為 stale 值回傳 */
+    private Duration ttl = Duration.ofMinutes(10);
+
+    /** 啟動後非同步預熱的熱門 URL */
+    private List<String> prewarmUrls = new ArrayList<>();
+
+    /** 預熱時的最大並行呼叫數 */
+    private int prewarmConcurrency = 4;
+
+    public long getMaxSize() {
+        return maxSize;
+    }
+
+    public void setMaxSize(long maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    public Duration getTtl() {
+        return ttl;
+    }
+
+    public void setTtl(Duration ttl) {
+        this.ttl = ttl;
+    }
+
+    public List<String> getPrewarmUrls() {
+        return prewarmUrls;
+    }
+
+    public void setPrewarmUrls(List<String> prewarmUrls) {
+        this.prewarmUrls = prewarmUrls;
+    }
+
+    public int getPrewarmConcurrency() {
+        return prewarmConcurrency;
+    }
+
+    public void setPrewarmConcurrency(int prewarmConcurrency) {
+        this.prewarmConcurrency = prewarmConcurrency;
+    }
+}
@@ -1,11 +1,19 @@
 package com.petlearning.circuitbreaker.controller;
 
+import com.petlearning.circuitbreaker.config.ExternalServiceProperties;
+import com.petlearning.circuitbreaker.dto.ExternalResponse;
 import com.petlearning.circuitbreaker.service.ExternalServiceClient;
-import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.util.Objects;
+import java.util.Optional;
 
 /**
  * 斷路器演示端點
@@ -19,18 +27,66 @@ import org.springframework.web.bind.annotation.RestController;
 @RequestMapping("/api/circuit-breaker")
 public class CircuitBreakerDemoController {
 
-    @Autowired
-    private ExternalServiceClient externalServiceClient;
+    private final ExternalServiceClient externalServiceClient;
+    private final URI baseUrl;
+
+    public CircuitBreakerDemoController(ExternalServiceClient externalServiceClient,
+                                        ExternalServiceProperties properties) {
+        this.externalServiceClient = externalServiceClient;
+        this.baseUrl = URI.create(properties.getBaseUrl().replaceAll("/+$", ""));
+    }
 
     /**
      * 測試斷路器
      * 
+     * 回傳 Mono，Spring MVC 以非同步方式處理，等待外部服務期間不佔用請求執行緒
+     * 
+     * 只接受路徑，目標主機固定為 external-service.base-url；
+     * 路徑無法解析或會改變主機（例如 //host、@host）時回傳 400
+     * 
+     * 回應標頭：
+     * - X-Response-Source：LIVE / STALE / FALLBACK
+     * - STALE 時另外帶上 Age（秒）與 Warning: 110（RFC 7234 的 Response is Stale）
+     * 
      * 使用方式：
-     * GET /api/circuit-breaker/test?url=http://example.com
+     * GET /api/circuit-breaker/test?path=/api/pets
      */
     @GetMapping("/test")
-    public String testCircuitBreaker(@RequestParam(defaultValue = "http://external-service.com") String url) {
-        return externalServiceClient.callExternalService(url);
+    public Mono<ResponseEntity<String>> testCircuitBreaker(@RequestParam(defaultValue = "/") String path) {
+        return resolve(path)
+                .map(url -> externalServiceClient.callExternalService(url)
+                        .map(CircuitBreakerDemoController::toResponseEntity))
+                .orElseGet(() -> Mono.just(ResponseEntity.badRequest().body("Invalid path: " + path)));
+    }
+
+    /**
+     * 以 baseUrl 解析路徑；結果的 scheme 或主機與 baseUrl 不同時視為無效
+     */
+    Optional<String> resolve(String path) {
+        if (!path.startsWith("/") || path.startsWith("//")) {
+            return Optional.empty();
+        }
+        URI target;
+        try {
+            target = URI.create(baseUrl + path);
+        } catch (IllegalArgumentException ex) {
+            return Optional.empty();
+        }
+        if (!Objects.equals(target.getScheme(), baseUrl.getScheme())
+                || !Objects.equals(target.getRawAuthority(), baseUrl.getRawAuthority())) {
+            return Optional.empty();
+        }
+        return Optional.of(target.toString());
+    }
+
+    private static ResponseEntity<String> toResponseEntity(ExternalResponse response) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .header("X-Response-Source", response.source().name());
+        if (response.isStale()) {
+            builder.header(HttpHeaders.AGE, String.valueOf(response.age().toSeconds()))
+                    .header(HttpHeaders.WARNING, "110 - \"Response is Stale\"");
+        }
+        return builder.body(response.body());
     }
 
     /**
@@ -0,0 +1,30 @@
+package com.petlearning.circuitbreaker.dto;
+
+import java.time.Duration;
+
+/**
+ * 外部服務呼叫結果
+ *
+ * @param body 回應內容
+ * @param source 內容來源
+ * @param age 內容產生至今的時間（LIVE 為 0）
+ */
+public record ExternalResponse(String body, Source source, Duration age) {
+
+    public enum Source {
+        /** 外部服務即時回應 */
+        LIVE,
+        /** 外部服務不可用，回傳最後一次成功的回應 */
+        STALE,
+        /** 外部服務不可用且沒有快取，回傳固定的降級內容 */
+        FALLBACK
+    }
+
+    public static ExternalResponse live(String body) {
+        return new ExternalResponse(body, Source.LIVE, Duration.ZERO);
+    }
+
+    public boolean isStale() {
+        return source == Source.STALE;
+    }
+}
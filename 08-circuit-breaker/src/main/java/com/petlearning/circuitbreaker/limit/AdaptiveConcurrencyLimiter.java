@@ -0,0 +1,215 @@
+package com.petlearning.circuitbreaker.limit;
+
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * 自適應併發限制器（TCP Vegas 風格）
+ *
+ * 問題：
+ * 斷路器依「失敗率」判斷，外部服務變慢但還沒失敗時不會反應，
+ * 等到逾時大量發生才打開，傷害已經造成。
+ *
+ * 做法（依 RTT 估算佇列長度）：
+ * - rttNoLoad：觀察到的最小 RTT，代表外部服務無排隊時的延遲
+ * - 估計佇列長度 queue = limit × (1 - rttNoLoad / rtt)
+ * - queue 很小 → 外部服務還有餘裕，放大限制
+ * - queue 過大 → 請求開始排隊，縮小限制
+ * - 逾時（drop）→ 直接縮小限制
+ * - 同時進行中的呼叫數達到限制時，新呼叫立即拒絕，不排隊
+ *
+ * 門檻依 log10(limit) 縮放（alpha = 3、beta = 6、threshold = 1 倍），
+ * 限制越大，允許的佇列越長。
+ *
+ * 每隔 probeMultiplier × limit 個樣本重設 rttNoLoad，
+ * 讓外部服務的基準延遲改變（例如換機器）後能重新學習。
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private final String name;
+    private final int minLimit;
+    private final int maxLimit;
+    private final double smoothing;
+    private final int probeMultiplier;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder rejected = new LongAdder();
+    private volatile int limit;
+
+    // 以下欄位只在 onSample()（持有 this 鎖）內修改
+    private double estimatedLimit;
+    private long rttNoLoadNanos;
+    private long samples;
+    private long nextProbeAt;
+
+    public AdaptiveConcurrencyLimiter(String name, int initialLimit, int minLimit, int maxLimit,
+                                      double smoothing, int probeMultiplier) {
+        if (minLimit < 1 || maxLimit < minLimit) {
+            throw new IllegalArgumentException("Invalid limit range: " + minLimit + ".." + maxLimit);
+        }
+        this.name = name;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.smoothing = smoothing;
+        this.probeMultiplier = probeMultiplier;
+        this.estimatedLimit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+        this.limit = (int) estimatedLimit;
+        this.nextProbeAt = nextProbe();
+    }
+
+    /**
+     * 嘗試取得執行名額；已達限制時回傳 null（並計入拒絕次數）
+     */
+    public Permit tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                rejected.increment();
+                return null;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return new Permit(current + 1);
+            }
+        }
+    }
+
+    /**
+     * Reactor 運算子，用法：{@code mono.transformDeferred(limiter.operator())}
+     *
+     * 名額不足時以 {@link ConcurrencyLimitExceededException} 結束，不會訂閱上游。
+     * RTT 從訂閱到完成計算；逾時視為 drop，斷路器/艙壁的快速拒絕不列入樣本。
+     */
+    public <T> Function<Mono<T>, Mono<T>> operator() {
+        return source -> Mono.defer(() -> {
+            Permit permit = tryAcquire();
+            if (permit == null) {
+                return Mono.error(new ConcurrencyLimitExceededException(name, limit));
+            }
+            long start = System.nanoTime();
+            return source
+                    .doOnSuccess(ignored -> permit.success(System.nanoTime() - start))
+                    .doOnError(ex -> {
+                        if (isTimeout(ex)) {
+                            permit.dropped();
+                        } else if (ex instanceof CallNotPermittedException || ex instanceof BulkheadFullException) {
+                            permit.ignore();
+                        } else {
+                            permit.success(System.nanoTime() - start);
+                        }
+                    })
+                    .doOnCancel(permit::ignore);
+        });
+    }
+
+    private static boolean isTimeout(Throwable ex) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof TimeoutException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private synchronized void onSample(long rttNanos, int inFlightAtStart, boolean didDrop) {
+        samples++;
+        if (samples >= nextProbeAt) {
+            rttNoLoadNanos = 0;
+            nextProbeAt = samples + nextProbe();
+        }
+        if (!didDrop && (rttNoLoadNanos == 0 || rttNanos < rttNoLoadNanos)) {
+            rttNoLoadNanos = rttNanos;
+            return;
+        }
+
+        double current = estimatedLimit;
+        double factor = Math.max(1, (int) Math.log10(current));
+        double next;
+        if (didDrop) {
+            next = current - factor;
+        } else if (inFlightAtStart * 2 < current) {
+            // 呼叫量本身不足以用滿限制，此時的 RTT 無法說明外部服務的容量
+            return;
+        } else {
+            double queue = Math.ceil(current * (1 - (double) rttNoLoadNanos / rttNanos));
+            if (queue <= factor) {
+                next = current + 6 * factor;
+            } else if (queue < 3 * factor) {
+                next = current + factor;
+            } else if (queue > 6 * factor) {
+                next = current - factor;
+            } else {
+                return;
+            }
+        }
+        next = Math.max(minLimit, Math.min(maxLimit, next));
+        estimatedLimit = (1 - smoothing) * current + smoothing * next;
+        limit = (int) estimatedLimit;
+    }
+
+    private long nextProbe() {
+        return (long) probeMultiplier * Math.max(limit, minLimit);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    /**
+     * 執行名額，呼叫結束時必須呼叫 success / dropped / ignore 其中之一（重複呼叫無效）
+     */
+    public final class Permit {
+
+        private final int inFlightAtStart;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Permit(int inFlightAtStart) {
+            this.inFlightAtStart = inFlightAtStart;
+        }
+
+        /** 呼叫完成，提供 RTT 樣本 */
+        public void success(long rttNanos) {
+            if (release()) {
+                onSample(rttNanos, inFlightAtStart, false);
+            }
+        }
+
+        /** 呼叫逾時或被外部服務丟棄，縮小限制 */
+        public void dropped() {
+            if (release()) {
+                onSample(0, inFlightAtStart, true);
+            }
+        }
+
+        /** 只釋放名額，不影響限制 */
+        public void ignore() {
+            release();
+        }
+
+        private boolean release() {
+            if (released.compareAndSet(false, true)) {
+                inFlight.decrementAndGet();
+                return true;
+            }
+            return false;
+        }
+    }
+}
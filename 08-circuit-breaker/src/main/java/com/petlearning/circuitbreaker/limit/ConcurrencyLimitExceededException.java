@@ -0,0 +1,11 @@
+package com.petlearning.circuitbreaker.limit;
+
+/**
+ * 同時進行中的呼叫數已達自適應限制
+ */
+public class ConcurrencyLimitExceededException extends RuntimeException {
+
+    public ConcurrencyLimitExceededException(String name, int limit) {
+        super("Concurrency limit of '" + name + "' reached: " + limit, null, false, false);
+    }
+}
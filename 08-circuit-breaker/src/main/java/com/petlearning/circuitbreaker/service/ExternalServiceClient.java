@@ -1,44 +1,178 @@
 package com.petlearning.circuitbreaker.service;
 
-import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
+import com.petlearning.circuitbreaker.cache.LastKnownGoodCache;
+import com.petlearning.circuitbreaker.dto.ExternalResponse;
+import com.petlearning.circuitbreaker.limit.AdaptiveConcurrencyLimiter;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.reactor.bulkhead.operator.BulkheadOperator;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import io.github.resilience4j.reactor.retry.RetryOperator;
+import io.github.resilience4j.reactor.timelimiter.TimeLimiterOperator;
+import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.retry.RetryRegistry;
+import io.github.resilience4j.timelimiter.TimeLimiter;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestClientException;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
 
 /**
  * 外部服務調用示例
- * 
- * 展示如何使用 Resilience4j 的 @CircuitBreaker 註解
- * TDD 練習：編寫測試模擬服務故障並驗證降級行為
+ *
+ * 使用 WebClient 非阻塞呼叫外部服務，並以 Resilience4j 的 Reactor 運算子組合容錯機制。
+ * 整個呼叫過程不佔用請求執行緒，慢的外部服務只會佔用 bulkhead 名額，不會卡住執行緒。
+ *
+ * 組合順序（由內到外，Resilience4j 部分與註解的預設順序相同）：
+ * <pre>
+ * AdaptiveLimit( Retry( CircuitBreaker( TimeLimiter( Bulkhead( WebClient 呼叫 ) ) ) ) )
+ * </pre>
+ * - AdaptiveLimit：依觀察到的 RTT 調整併發上限，外部服務變慢時提早削減流量
+ * - Bulkhead：限制同時進行中的呼叫數，額滿立即拒絕（maxWaitDuration 必須為 0，否則會阻塞）
+ * - TimeLimiter：單次呼叫逾時即取消，並釋放 bulkhead 名額
+ * - CircuitBreaker：統計每次嘗試的結果，失敗率過高時打開
+ * - Retry：只重試暫時性錯誤（見 application.yml 的 retryExceptions）
+ *
+ * Resilience4j 的四個元件共用同一個實例名稱 externalServiceCall，配置都在 application.yml
+ *
+ * 降級（stale-while-revalidate）：
+ * - 每次成功的回應寫入 {@link LastKnownGoodCache}
+ * - 呼叫失敗時優先回傳該 URL 最後一次成功的回應（標記為 STALE），沒有快取才回傳固定降級內容
+ * - 斷路器進入半開狀態時，在背景對回傳過 stale 值的 URL 發出探測呼叫，成功即更新快取
  */
 @Service
 public class ExternalServiceClient {
-    
+
     private static final Logger logger = LoggerFactory.getLogger(ExternalServiceClient.class);
 
+    public static final String INSTANCE_NAME = "externalServiceCall";
+    public static final String FALLBACK_BODY = "Fallback response - service unavailable";
+
+    private final WebClient webClient;
+    private final CircuitBreaker circuitBreaker;
+    private final Bulkhead bulkhead;
+    private final TimeLimiter timeLimiter;
+    private final Retry retry;
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final LastKnownGoodCache lastKnownGoodCache;
+
+    public ExternalServiceClient(WebClient.Builder webClientBuilder,
+                                 CircuitBreakerRegistry circuitBreakerRegistry,
+                                 BulkheadRegistry bulkheadRegistry,
+                                 TimeLimiterRegistry timeLimiterRegistry,
+                                 RetryRegistry retryRegistry,
+                                 AdaptiveConcurrencyLimiter limiter,
+                                 LastKnownGoodCache lastKnownGoodCache) {
+        this.webClient = webClientBuilder.build();
+        this.circuitBreaker = circuitBreakerRegistry.circuitBreaker(INSTANCE_NAME);
+        this.bulkhead = bulkheadRegistry.bulkhead(INSTANCE_NAME);
+        this.timeLimiter = timeLimiterRegistry.timeLimiter(INSTANCE_NAME);
+        this.retry = retryRegistry.retry(INSTANCE_NAME);
+        this.limiter = limiter;
+        this.lastKnownGoodCache = lastKnownGoodCache;
+        this.circuitBreaker.getEventPublisher().onStateTransition(event -> {
+            if (event.getStateTransition().getToState() == CircuitBreaker.State.HALF_OPEN) {
+                revalidateStaleEntries();
+            }
+        });
+    }
+
     /**
      * 調用外部服務
-     * 
-     * @CircuitBreaker 註解自動應用斷路器邏輯
-     * - 監視調用並記錄失敗
-     * - 當失敗率達到 50% 時打開斷路器
-     * - 新請求直接調用 fallback 方法
+     *
+     * 回傳的 Mono 不會以錯誤結束：所有失敗（逾時、bulkhead 額滿、斷路器打開、重試用盡，
+     * 或超過自適應併發限制）都會轉成降級回應
+     */
+    public Mono<ExternalResponse> callExternalService(String serviceUrl) {
+        return Mono.defer(() -> {
+                    logger.debug("Calling external service: {}", serviceUrl);
+                    return webClient.get()
+                            .uri(serviceUrl)
+                            .retrieve()
+                            .bodyToMono(String.class);
+                })
+                .doOnNext(body -> lastKnownGoodCache.put(serviceUrl, body))
+                .transformDeferred(BulkheadOperator.of(bulkhead))
+                .transformDeferred(TimeLimiterOperator.of(timeLimiter))
+                .transformDeferred(CircuitBreakerOperator.of(circuitBreaker))
+                .transformDeferred(RetryOperator.of(retry))
+                .transformDeferred(limiter.operator())
+                .map(ExternalResponse::live)
+                .onErrorResume(ex -> Mono.just(callServiceFallback(serviceUrl, ex)));
+    }
+
+    /**
+     * 非同步預熱熱門 URL 的快取，讓外部服務第一次故障時就有 stale 值可用
+     *
+     * 預熱呼叫與一般呼叫走相同的容錯鏈；失敗的 URL 只是沒有快取，不會中斷其他 URL
+     */
+    public Mono<Void> prewarm(Collection<String> serviceUrls, int concurrency) {
+        return Flux.fromIterable(serviceUrls)
+                .flatMap(this::callExternalService, concurrency)
+                .then();
+    }
+
+    /**
+     * 在背景重新驗證回傳過 stale 值的 URL，數量不超過半開狀態允許的探測次數
      */
-    @CircuitBreaker(name = "externalServiceCall", fallbackMethod = "callServiceFallback")
-    public String callExternalService(String serviceUrl) {
-        logger.info("Calling external service: {}", serviceUrl);
-        // 模擬 REST 調用
-        // RestTemplate 或 WebClient 實現
-        return "Response from " + serviceUrl;
+    private void revalidateStaleEntries() {
+        int probes = circuitBreaker.getCircuitBreakerConfig().getPermittedNumberOfCallsInHalfOpenState();
+        List<String> urls = lastKnownGoodCache.drainPendingRevalidation(probes);
+        if (urls.isEmpty()) {
+            return;
+        }
+        logger.info("Circuit half-open, revalidating {} stale entries in background", urls.size());
+        // 自動轉換由 CircuitBreakerAutoTransitionThread 觸發，該執行緒在轉換時會被 interrupt，
+        // 在它上面取得 bulkhead 名額會失敗，因此改到其他執行緒執行探測
+        Flux.fromIterable(urls)
+                .flatMap(this::callExternalService)
+                .subscribeOn(Schedulers.parallel())
+                .subscribe();
     }
 
     /**
      * 降級方法
-     * 當斷路器打開時調用此方法
+     * 外部服務失敗、逾時、被 bulkhead / 併發限制拒絕或斷路器打開時調用此方法
+     *
+     * 有最後成功的回應就回傳它（STALE），否則回傳固定的降級內容（FALLBACK）
      */
-    public String callServiceFallback(String serviceUrl, Exception ex) {
-        logger.warn("Circuit breaker activated for: {}, using fallback", serviceUrl);
-        return "Fallback response - service unavailable";
+    public ExternalResponse callServiceFallback(String serviceUrl, Throwable ex) {
+        return lastKnownGoodCache.getStale(serviceUrl)
+                .map(stale -> {
+                    logger.warn("External service call failed for: {} ({}), serving stale response (age {})",
+                            serviceUrl, ex.getClass().getSimpleName(), stale.age());
+                    return new ExternalResponse(stale.body(), ExternalResponse.Source.STALE, stale.age());
+                })
+                .orElseGet(() -> {
+                    logger.warn("External service call failed for: {} ({}), using fallback",
+                            serviceUrl, ex.getClass().getSimpleName());
+                    return new ExternalResponse(FALLBACK_BODY, ExternalResponse.Source.FALLBACK, Duration.ZERO);
+                });
+    }
+
+    public CircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    public Bulkhead getBulkhead() {
+        return bulkhead;
+    }
+
+    public AdaptiveConcurrencyLimiter getLimiter() {
+        return limiter;
+    }
+
+    public LastKnownGoodCache getLastKnownGoodCache() {
+        return lastKnownGoodCache;
     }
 }
@@ -0,0 +1,63 @@
+package com.petlearning.circuitbreaker.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 降級快取測試（以可控制的 Ticker 模擬時間）
+ */
+class LastKnownGoodCacheTest {
+
+    private final AtomicLong nanos = new AtomicLong();
+    private final LastKnownGoodCache cache = new LastKnownGoodCache(100, Duration.ofMinutes(10), nanos::get);
+
+    @Test
+    void should_ReturnStaleValueWithAge_When_EntryExists() {
+        // Given
+        cache.put("http://a", "body-a");
+        nanos.addAndGet(Duration.ofSeconds(30).toNanos());
+
+        // When
+        LastKnownGoodCache.Stale stale = cache.getStale("http://a").orElseThrow();
+
+        // Then
+        assertThat(stale.body()).isEqualTo("body-a");
+        assertThat(stale.age()).isEqualTo(Duration.ofSeconds(30));
+        assertThat(cache.getStaleHits()).isEqualTo(1);
+    }
+
+    @Test
+    void should_NotServeEntry_When_TtlExpired() {
+        // Given
+        cache.put("http://a", "body-a");
+        nanos.addAndGet(Duration.ofMinutes(11).toNanos());
+
+        // When / Then
+        assertThat(cache.getStale("http://a")).isEmpty();
+        assertThat(cache.getMisses()).isEqualTo(1);
+        assertThat(cache.getStaleHitRatio()).isZero();
+    }
+
+    @Test
+    void should_TrackStaleUrlsForRevalidation_When_StaleValueServed() {
+        // Given
+        cache.put("http://a", "body-a");
+        cache.put("http://b", "body-b");
+        cache.getStale("http://a");
+        cache.getStale("http://b");
+
+        // When：取出一個，另一個在重新驗證前已被新的成功回應更新
+        List<String> firstBatch = cache.drainPendingRevalidation(1);
+        String other = firstBatch.contains("http://a") ? "http://b" : "http://a";
+        cache.put(other, "refreshed");
+
+        // Then：已取出或已更新的 URL 不會重複驗證
+        assertThat(firstBatch).hasSize(1);
+        assertThat(cache.drainPendingRevalidation(10)).isEmpty();
+    }
+}
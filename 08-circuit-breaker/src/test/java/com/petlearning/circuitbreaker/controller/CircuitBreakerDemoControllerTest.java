@@ -1,7 +1,19 @@
 package com.petlearning.circuitbreaker.controller;
 
+import com.petlearning.circuitbreaker.config.ExternalServiceProperties;
+import com.petlearning.circuitbreaker.dto.ExternalResponse;
+import com.petlearning.circuitbreaker.service.ExternalServiceClient;
 import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import reactor.core.publisher.Mono;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
 
 /**
  * 斷路器控制器測試
@@ -10,12 +22,15 @@ import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
  * - 測試正常端點響應
  * - 測試降級端點響應
  * - 驗證 HTTP 狀態碼
+ * - 驗證只能呼叫設定的外部服務主機
  * 
  * 注意：完整的集成測試請參考模組 03 的 OwnerControllerTest
  */
 @SpringJUnitConfig
 class CircuitBreakerDemoControllerTest {
 
+    private final ExternalServiceClient client = mock(ExternalServiceClient.class);
+
     @Test
     void should_Demo_CircuitBreakerPatternConcepts() {
         // TDD 練習：編寫測試驗證斷路器行為
@@ -24,4 +39,41 @@ class CircuitBreakerDemoControllerTest {
         // 3. 恢復狀態（HALF_OPEN）：嘗試探測服務是否恢復
         System.out.println("Circuit Breaker Demo Test");
     }
+
+    @Test
+    void should_CallConfiguredHost_When_PathGiven() {
+        // Given
+        when(client.callExternalService("http://localhost:8082/api/pets?page=1"))
+                .thenReturn(Mono.just(ExternalResponse.live("pets")));
+        CircuitBreakerDemoController controller = controller("http://localhost:8082/");
+
+        // When
+        ResponseEntity<String> response = controller.testCircuitBreaker("/api/pets?page=1").block();
+
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).isEqualTo("pets");
+        assertThat(response.getHeaders().getFirst("X-Response-Source")).isEqualTo("LIVE");
+        verify(client).callExternalService("http://localhost:8082/api/pets?page=1");
+    }
+
+    @Test
+    void should_RejectRequest_When_PathTargetsAnotherHost() {
+        // Given
+        CircuitBreakerDemoController controller = controller("http://localhost:8082");
+
+        // When & Then：絕對 URL、協定相對 URL、userinfo 與無法解析的路徑都不會送出
+        for (String path : new String[]{"http://evil.example/", "//evil.example/", "@evil.example/",
+                ":1@evil.example/", "/a b"}) {
+            ResponseEntity<String> response = controller.testCircuitBreaker(path).block();
+            assertThat(response.getStatusCode()).as(path).isEqualTo(HttpStatus.BAD_REQUEST);
+        }
+        verifyNoInteractions(client);
+    }
+
+    private CircuitBreakerDemoController controller(String baseUrl) {
+        ExternalServiceProperties properties = new ExternalServiceProperties();
+        properties.setBaseUrl(baseUrl);
+        return new CircuitBreakerDemoController(client, properties);
+    }
 }
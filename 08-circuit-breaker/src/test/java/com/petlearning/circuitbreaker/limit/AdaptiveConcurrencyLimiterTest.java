@@ -0,0 +1,196 @@
+package com.petlearning.circuitbreaker.limit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 自適應併發限制器測試
+ *
+ * 最後一個測試是以虛擬時間進行的過載模擬，結果可重現且不依賴機器速度。
+ */
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long MILLIS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    @Test
+    void should_RejectImmediately_When_InFlightReachesLimit() {
+        // Given
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", 2, 1, 10, 1.0, 30);
+
+        // When
+        AdaptiveConcurrencyLimiter.Permit first = limiter.tryAcquire();
+        AdaptiveConcurrencyLimiter.Permit second = limiter.tryAcquire();
+        AdaptiveConcurrencyLimiter.Permit third = limiter.tryAcquire();
+
+        // Then
+        assertThat(first).isNotNull();
+        assertThat(second).isNotNull();
+        assertThat(third).isNull();
+        assertThat(limiter.getRejectedCount()).isEqualTo(1);
+
+        first.ignore();
+        first.ignore();
+        assertThat(limiter.getInFlight()).isEqualTo(1);
+    }
+
+    @Test
+    void should_GrowLimit_When_LatencyStaysAtBaseline() {
+        // Given
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", 10, 1, 100, 1.0, 1000);
+
+        // When：用滿限制且 RTT 維持 20ms
+        for (int round = 0; round < 5; round++) {
+            completeAll(acquireAll(limiter), 20 * MILLIS);
+        }
+
+        // Then
+        assertThat(limiter.getLimit()).isGreaterThan(10);
+    }
+
+    @Test
+    void should_ShrinkLimit_When_LatencyRises() {
+        // Given：先學到 20ms 的基準 RTT
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", 40, 1, 100, 1.0, 1000);
+        completeAll(acquireAll(limiter), 20 * MILLIS);
+        int before = limiter.getLimit();
+
+        // When：RTT 上升到 100ms（外部服務開始排隊）
+        for (int round = 0; round < 5; round++) {
+            completeAll(acquireAll(limiter), 100 * MILLIS);
+        }
+
+        // Then
+        assertThat(limiter.getLimit()).isLessThan(before);
+    }
+
+    @Test
+    void should_ShrinkLimit_When_CallsTimeOut() {
+        // Given
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", 20, 1, 100, 1.0, 1000);
+
+        // When
+        for (AdaptiveConcurrencyLimiter.Permit permit : acquireAll(limiter)) {
+            permit.dropped();
+        }
+
+        // Then
+        assertThat(limiter.getLimit()).isLessThan(20).isGreaterThanOrEqualTo(1);
+        assertThat(limiter.getInFlight()).isZero();
+    }
+
+    /**
+     * 過載模擬（虛擬時間，每步 1ms）
+     *
+     * 外部服務：處理器共享模型，容量 10 個併發，每個請求需要 20ms 的工作量；
+     * 併發超過 10 時所有請求平均分攤處理能力（延遲 = 20ms × 併發 / 10）。
+     *
+     * 負載：每 1ms 到達 1 個請求 = 容量的 2 倍，持續 10 秒。
+     *
+     * 預期：
+     * - 無限制：併發不斷累積，延遲隨時間線性上升
+     * - 自適應限制：多餘請求被立即拒絕，延遲維持在基準附近，吞吐量接近容量
+     */
+    @Test
+    void should_KeepLatencyBounded_When_DependencyIsOverloaded() {
+        // When
+        SimulationResult unlimited = simulate(null);
+        SimulationResult limited = simulate(new AdaptiveConcurrencyLimiter("sim", 20, 1, 200, 1.0, 30));
+
+        System.out.printf("unlimited: completed=%d rejected=%d p50=%dms p99=%dms%n",
+                unlimited.completed, unlimited.rejected, unlimited.p50Millis, unlimited.p99Millis);
+        System.out.printf("adaptive : completed=%d rejected=%d p50=%dms p99=%dms%n",
+                limited.completed, limited.rejected, limited.p50Millis, limited.p99Millis);
+
+        // Then
+        assertThat(unlimited.p99Millis).isGreaterThan(1000);
+        assertThat(limited.p99Millis).isLessThan(100);
+        // 容量 0.5 個/ms，後半段 5 秒最多完成約 2500 個
+        assertThat(limited.completed).isGreaterThan(2000);
+        assertThat(limited.rejected).isGreaterThan(0);
+    }
+
+    private static SimulationResult simulate(AdaptiveConcurrencyLimiter limiter) {
+        int capacity = 10;
+        double workMillis = 20;
+        int durationMillis = 10_000;
+        int measureFrom = durationMillis / 2;
+
+        List<SimRequest> inFlight = new ArrayList<>();
+        List<Long> latencies = new ArrayList<>();
+        long rejected = 0;
+
+        for (int now = 0; now < durationMillis; now++) {
+            AdaptiveConcurrencyLimiter.Permit permit = limiter != null ? limiter.tryAcquire() : null;
+            if (limiter != null && permit == null) {
+                if (now >= measureFrom) {
+                    rejected++;
+                }
+            } else {
+                inFlight.add(new SimRequest(now, workMillis, permit));
+            }
+
+            double progress = Math.min(1.0, (double) capacity / Math.max(1, inFlight.size()));
+            Iterator<SimRequest> iterator = inFlight.iterator();
+            while (iterator.hasNext()) {
+                SimRequest request = iterator.next();
+                request.remaining -= progress;
+                if (request.remaining <= 0) {
+                    iterator.remove();
+                    long latency = now + 1 - request.startMillis;
+                    if (request.permit != null) {
+                        request.permit.success(latency * MILLIS);
+                    }
+                    if (now >= measureFrom) {
+                        latencies.add(latency);
+                    }
+                }
+            }
+        }
+
+        Collections.sort(latencies);
+        return new SimulationResult(latencies.size(), rejected, percentile(latencies, 0.50), percentile(latencies, 0.99));
+    }
+
+    private static long percentile(List<Long> sorted, double percentile) {
+        if (sorted.isEmpty()) {
+            return 0;
+        }
+        return sorted.get((int) Math.min(sorted.size() - 1, Math.ceil(percentile * sorted.size()) - 1));
+    }
+
+    private static List<AdaptiveConcurrencyLimiter.Permit> acquireAll(AdaptiveConcurrencyLimiter limiter) {
+        List<AdaptiveConcurrencyLimiter.Permit> permits = new ArrayList<>();
+        AdaptiveConcurrencyLimiter.Permit permit;
+        while ((permit = limiter.tryAcquire()) != null) {
+            permits.add(permit);
+        }
+        return permits;
+    }
+
+    private static void completeAll(List<AdaptiveConcurrencyLimiter.Permit> permits, long rttNanos) {
+        permits.forEach(permit -> permit.success(rttNanos));
+    }
+
+    private static final class SimRequest {
+
+        private final long startMillis;
+        private final AdaptiveConcurrencyLimiter.Permit permit;
+        private double remaining;
+
+        SimRequest(long startMillis, double workMillis, AdaptiveConcurrencyLimiter.Permit permit) {
+            this.startMillis = startMillis;
+            this.remaining = workMillis;
+            this.permit = permit;
+        }
+    }
+
+    private record SimulationResult(long completed, long rejected, long p50Millis, long p99Millis) {
+    }
+}
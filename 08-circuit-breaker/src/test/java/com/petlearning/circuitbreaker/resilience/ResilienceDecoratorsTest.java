@@ -0,0 +1,80 @@
+package com.petlearning.circuitbreaker.resilience;
+
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.retry.RetryConfig;
+import io.github.resilience4j.retry.RetryRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 函數式容錯組合測試
+ */
+class ResilienceDecoratorsTest {
+
+    private final CircuitBreakerRegistry circuitBreakerRegistry = CircuitBreakerRegistry.ofDefaults();
+    private final ResilienceDecorators decorators = new ResilienceDecorators(
+            circuitBreakerRegistry,
+            RetryRegistry.of(RetryConfig.custom()
+                    .maxAttempts(3)
+                    .waitDuration(Duration.ofMillis(10))
+                    .ignoreExceptions(CallNotPermittedException.class)
+                    .build()),
+            BulkheadRegistry.ofDefaults());
+
+    @Test
+    void should_RetryInsideCircuitBreaker_When_CallFailsTransiently() {
+        // Given
+        AtomicInteger attempts = new AtomicInteger();
+        Supplier<String> call = decorators.decorate("test", () -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw new IllegalStateException("transient");
+            }
+            return "ok";
+        });
+
+        // When
+        String result = call.get();
+
+        // Then：每次嘗試都經過斷路器
+        assertThat(result).isEqualTo("ok");
+        assertThat(attempts).hasValue(3);
+        assertThat(circuitBreakerRegistry.circuitBreaker("test").getMetrics().getNumberOfFailedCalls()).isEqualTo(2);
+    }
+
+    @Test
+    void should_UseFallbackWithoutCallingTarget_When_CircuitIsOpen() {
+        // Given
+        AtomicInteger attempts = new AtomicInteger();
+        Supplier<String> call = decorators.decorate("test", () -> {
+            attempts.incrementAndGet();
+            return "ok";
+        }, ex -> "fallback:" + ex.getClass().getSimpleName());
+        circuitBreakerRegistry.circuitBreaker("test").transitionToOpenState();
+
+        // When
+        String result = call.get();
+
+        // Then
+        assertThat(result).isEqualTo("fallback:CallNotPermittedException");
+        assertThat(attempts).hasValue(0);
+    }
+
+    @Test
+    void should_PropagateFailure_When_NoFallbackGiven() {
+        // Given
+        Supplier<String> call = decorators.decorate("test", () -> {
+            throw new IllegalArgumentException("bad input");
+        });
+
+        // When / Then
+        assertThatThrownBy(call::get).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,260 @@
+package com.petlearning.circuitbreaker.resilience;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.reactor.bulkhead.operator.BulkheadOperator;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import io.github.resilience4j.reactor.retry.RetryOperator;
+import io.github.resilience4j.reactor.timelimiter.TimeLimiterOperator;
+import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.retry.RetryRegistry;
+import io.github.resilience4j.timelimiter.TimeLimiter;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Import;
+import reactor.core.publisher.Mono;
+
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 容錯機制的每次呼叫開銷：註解 AOP vs 函數式裝飾
+ *
+ * 預設不執行，使用以下指令執行：
+ * mvn test -Dbenchmark=true -Dtest=ResilienceOverheadBenchmarkTest
+ *
+ * 比較的呼叫方式（被保護的工作與原本的 callExternalService 相同：組出回應字串）：
+ * - plain：直接呼叫，作為基準
+ * - annotation：@Retry + @CircuitBreaker(fallbackMethod) + @Bulkhead，經 Spring AOP 代理
+ * - decorators：{@link ResilienceDecorators} 預先組合好的 Supplier
+ * - decorators/call：每次呼叫都重新裝飾（錯誤用法，用來顯示重複建立的成本）
+ * - reactor/plain：沒有任何容錯元件的 Mono，以 block() 取值，作為 Reactor 寫法的基準
+ * - reactor：Retry + CircuitBreaker + Bulkhead 運算子，以 block() 取值
+ * - reactor+timelimiter：再加上 ExternalServiceClient 使用的 TimeLimiter（每次呼叫在排程器上登記逾時）
+ *
+ * annotation、decorators、reactor 使用相同的三個元件，可以直接比較；
+ * block() 與 TimeLimiter 的成本分別以 reactor/plain 與 reactor+timelimiter 單獨列出。
+ *
+ * 每種方式在斷路器 CLOSED / OPEN / HALF_OPEN 三種狀態下，各以 1 條與 8 條執行緒量測。
+ * 單執行緒另外記錄每次呼叫配置的記憶體（bytes/op）。
+ *
+ * 以 JUnit 實作而非 JMH（專案未引入 JMH）：每項量測前先暖機，數字適合相互比較，不適合當絕對值。
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class ResilienceOverheadBenchmarkTest {
+
+    private static final String INSTANCE = "bench";
+    private static final String FALLBACK = "fallback";
+    private static final Set<String> UNGUARDED = Set.of("plain", "reactor/plain");
+
+    private static final int WARMUP_OPS = 200_000;
+    private static final int MEASURED_OPS = 500_000;
+    private static final int THREADS = 8;
+    private static final int OPS_PER_THREAD = 100_000;
+
+    private static ConfigurableApplicationContext context;
+    private static CircuitBreaker circuitBreaker;
+    private static volatile int sink;
+
+    @SpringBootConfiguration
+    @EnableAutoConfiguration
+    @Import({AnnotatedTarget.class, ResilienceDecorators.class})
+    static class BenchmarkApplication {
+    }
+
+    /**
+     * 註解式寫法的被測目標（必須是 Spring bean 才會被代理）
+     */
+    public static class AnnotatedTarget {
+
+        @io.github.resilience4j.retry.annotation.Retry(name = INSTANCE)
+        @io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker(name = INSTANCE, fallbackMethod = "fallback")
+        @io.github.resilience4j.bulkhead.annotation.Bulkhead(name = INSTANCE)
+        public String call(String url) {
+            return respond(url);
+        }
+
+        public String fallback(String url, Throwable ex) {
+            return FALLBACK;
+        }
+    }
+
+    @BeforeAll
+    static void startContext() {
+        context = new SpringApplicationBuilder(BenchmarkApplication.class)
+                .web(WebApplicationType.NONE)
+                // 以命令列參數傳入才能覆蓋 application.yml（其中 resilience4j 日誌為 DEBUG）
+                .run(
+                        "--logging.level.io.github.resilience4j=WARN",
+                        "--resilience4j.circuitbreaker.instances.bench.slidingWindowSize=100",
+                        "--resilience4j.circuitbreaker.instances.bench.minimumNumberOfCalls=100",
+                        "--resilience4j.circuitbreaker.instances.bench.waitDurationInOpenState=1h",
+                        "--resilience4j.circuitbreaker.instances.bench.permittedNumberOfCallsInHalfOpenState=1000000",
+                        "--resilience4j.retry.instances.bench.maxAttempts=3",
+                        "--resilience4j.retry.instances.bench.waitDuration=10ms",
+                        "--resilience4j.retry.instances.bench.ignoreExceptions="
+                                + "io.github.resilience4j.circuitbreaker.CallNotPermittedException,"
+                                + "io.github.resilience4j.bulkhead.BulkheadFullException",
+                        "--resilience4j.bulkhead.instances.bench.maxConcurrentCalls=100",
+                        "--resilience4j.bulkhead.instances.bench.maxWaitDuration=0",
+                        "--resilience4j.timelimiter.instances.bench.timeoutDuration=2s");
+        circuitBreaker = context.getBean(CircuitBreakerRegistry.class).circuitBreaker(INSTANCE);
+    }
+
+    @AfterAll
+    static void stopContext() {
+        if (context != null) {
+            context.close();
+        }
+    }
+
+    @Test
+    void should_ReportPerCallOverhead_When_ComparingProgrammingModels() {
+        AnnotatedTarget annotated = context.getBean(AnnotatedTarget.class);
+        ResilienceDecorators decorators = context.getBean(ResilienceDecorators.class);
+        String url = "http://external-service.com";
+
+        Map<String, Supplier<String>> forms = new LinkedHashMap<>();
+        forms.put("plain", () -> respond(url));
+        forms.put("annotation", () -> annotated.call(url));
+        Supplier<String> decorated = decorators.decorate(INSTANCE, () -> respond(url), ex -> FALLBACK);
+        forms.put("decorators", decorated);
+        forms.put("decorators/call", () -> decorators.decorate(INSTANCE, () -> respond(url), ex -> FALLBACK).get());
+        forms.put("reactor/plain", () -> Mono.fromSupplier(() -> respond(url)).block());
+        forms.put("reactor", reactorChain(url, false));
+        forms.put("reactor+timelimiter", reactorChain(url, true));
+
+        assertThat(annotated.getClass()).isNotEqualTo(AnnotatedTarget.class);
+
+        System.out.printf("%-20s %-10s %14s %14s %14s%n",
+                "form", "state", "1 thread ns/op", "bytes/op", THREADS + " threads ns/op");
+        Map<String, Long> closedSingleThread = new LinkedHashMap<>();
+        for (CircuitBreaker.State state : new CircuitBreaker.State[]{
+                CircuitBreaker.State.CLOSED, CircuitBreaker.State.OPEN, CircuitBreaker.State.HALF_OPEN}) {
+            for (Map.Entry<String, Supplier<String>> form : forms.entrySet()) {
+                Supplier<String> call = form.getValue();
+                String expected = state == CircuitBreaker.State.OPEN && !UNGUARDED.contains(form.getKey())
+                        ? FALLBACK : respond(url);
+                assertThat(call.get()).isEqualTo(expected);
+
+                enter(state);
+                runSingle(call, WARMUP_OPS);
+                enter(state);
+                long[] single = runSingle(call, MEASURED_OPS);
+                enter(state);
+                runContended(call);
+                enter(state);
+                long contended = runContended(call);
+
+                System.out.printf("%-20s %-10s %14d %14d %14d%n",
+                        form.getKey(), state, single[0], single[1], contended);
+                if (state == CircuitBreaker.State.CLOSED) {
+                    closedSingleThread.put(form.getKey(), single[0]);
+                }
+            }
+        }
+
+        assertThat(closedSingleThread.get("decorators")).isLessThan(closedSingleThread.get("annotation"));
+    }
+
+    /**
+     * 與 ExternalServiceClient 相同的運算子順序；withTimeLimiter 為 false 時省略 TimeLimiter
+     */
+    private static Supplier<String> reactorChain(String url, boolean withTimeLimiter) {
+        Bulkhead bulkhead = context.getBean(BulkheadRegistry.class).bulkhead(INSTANCE);
+        TimeLimiter timeLimiter = context.getBean(TimeLimiterRegistry.class).timeLimiter(INSTANCE);
+        Retry retry = context.getBean(RetryRegistry.class).retry(INSTANCE);
+        return () -> Mono.fromSupplier(() -> respond(url))
+                .transformDeferred(BulkheadOperator.of(bulkhead))
+                .transform(mono -> withTimeLimiter ? mono.transformDeferred(TimeLimiterOperator.of(timeLimiter)) : mono)
+                .transformDeferred(CircuitBreakerOperator.of(circuitBreaker))
+                .transformDeferred(RetryOperator.of(retry))
+                .onErrorResume(ex -> Mono.just(FALLBACK))
+                .block();
+    }
+
+    private static void enter(CircuitBreaker.State state) {
+        circuitBreaker.reset();
+        if (state == CircuitBreaker.State.OPEN) {
+            circuitBreaker.transitionToOpenState();
+        } else if (state == CircuitBreaker.State.HALF_OPEN) {
+            circuitBreaker.transitionToOpenState();
+            circuitBreaker.transitionToHalfOpenState();
+        }
+    }
+
+    /**
+     * @return [ns/op, bytes/op]
+     */
+    private static long[] runSingle(Supplier<String> call, int ops) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        long allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+        long start = System.nanoTime();
+        int local = 0;
+        for (int i = 0; i < ops; i++) {
+            local += call.get().length();
+        }
+        long elapsed = System.nanoTime() - start;
+        long allocated = threads.getThreadAllocatedBytes(threadId) - allocatedBefore;
+        sink = local;
+        return new long[]{elapsed / ops, allocated / ops};
+    }
+
+    /**
+     * @return 所有執行緒完成的總時間 / 總呼叫數（ns/op）
+     */
+    private static long runContended(Supplier<String> call) {
+        CountDownLatch ready = new CountDownLatch(THREADS);
+        CountDownLatch go = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(THREADS);
+        for (int t = 0; t < THREADS; t++) {
+            Thread worker = new Thread(() -> {
+                ready.countDown();
+                try {
+                    go.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                int local = 0;
+                for (int i = 0; i < OPS_PER_THREAD; i++) {
+                    local += call.get().length();
+                }
+                sink = local;
+                done.countDown();
+            });
+            worker.start();
+        }
+        try {
+            ready.await();
+            long start = System.nanoTime();
+            go.countDown();
+            done.await();
+            return (System.nanoTime() - start) / ((long) THREADS * OPS_PER_THREAD);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String respond(String url) {
+        return "Response from " + url;
+    }
+}
@@ -1,25 +1,355 @@
 package com.petlearning.circuitbreaker.service;
 
+import com.petlearning.circuitbreaker.cache.LastKnownGoodCache;
+import com.petlearning.circuitbreaker.dto.ExternalResponse;
+import com.petlearning.circuitbreaker.limit.AdaptiveConcurrencyLimiter;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.retry.RetryConfig;
+import io.github.resilience4j.retry.RetryRegistry;
+import io.github.resilience4j.timelimiter.TimeLimiterConfig;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
 
 /**
- * 斷路器服務測試
- * 
- * TDD 練習：
- * - 測試正常調用
- * - 測試降級行為
- * - 測試斷路器狀態轉換
+ * 外部服務調用測試
+ *
+ * 使用本機 reactor-netty stub server 模擬外部服務：
+ * - /ok：立即成功
+ * - /slow/{ms}：延遲指定毫秒後成功（非阻塞延遲）
+ * - /fail：永遠回 500
+ * - /flaky：前兩次回 503，之後成功
+ * - /missing：回 404
+ * - /toggle：healthy 時回傳目前 version，否則回 500
  */
-@SpringJUnitConfig
 class ExternalServiceClientTest {
 
+    private static final String FALLBACK = ExternalServiceClient.FALLBACK_BODY;
+
+    private static final AtomicInteger hits = new AtomicInteger();
+    private static final AtomicInteger flakyCalls = new AtomicInteger();
+    private static volatile boolean healthy;
+    private static volatile String version;
+
+    private static DisposableServer stub;
+
+    @BeforeAll
+    static void startStub() {
+        stub = HttpServer.create()
+                .port(0)
+                .route(routes -> routes
+                        .get("/ok", (request, response) -> {
+                            hits.incrementAndGet();
+                            return response.sendString(Mono.just("ok"));
+                        })
+                        .get("/slow/{millis}", (request, response) -> {
+                            hits.incrementAndGet();
+                            long millis = Long.parseLong(request.param("millis"));
+                            return Mono.delay(Duration.ofMillis(millis))
+                                    .then(response.sendString(Mono.just("slow")).then());
+                        })
+                        .get("/fail", (request, response) -> {
+                            hits.incrementAndGet();
+                            return response.status(500).sendString(Mono.just("boom"));
+                        })
+                        .get("/flaky", (request, response) -> {
+                            hits.incrementAndGet();
+                            if (flakyCalls.incrementAndGet() <= 2) {
+                                return response.status(503).sendString(Mono.just("unavailable"));
+                            }
+                            return response.sendString(Mono.just("recovered"));
+                        })
+                        .get("/missing", (request, response) -> {
+                            hits.incrementAndGet();
+                            return response.status(404).sendString(Mono.just("not found"));
+                        })
+                        .get("/toggle", (request, response) -> {
+                            hits.incrementAndGet();
+                            if (!healthy) {
+                                return response.status(500).sendString(Mono.just("down"));
+                            }
+                            return response.sendString(Mono.just(version));
+                        }))
+                .bindNow();
+    }
+
+    @AfterAll
+    static void stopStub() {
+        stub.disposeNow();
+    }
+
+    @BeforeEach
+    void resetCounters() {
+        hits.set(0);
+        flakyCalls.set(0);
+        healthy = true;
+        version = "v1";
+    }
+
     @Test
-    void should_Demo_ExternalServiceCallConcepts() {
-        // TDD 練習：編寫測試驗證外部服務調用
-        // 1. 正常情況：成功返回結果
-        // 2. 故障情況：達到失敗閾值時打開斷路器
-        // 3. 降級情況：返回降級響應
-        System.out.println("External Service Client Demo Test");
+    void should_ReturnResponse_When_ServiceIsHealthy() {
+        // Given
+        ExternalServiceClient client = client(10, Duration.ofSeconds(2));
+
+        // When
+        String result = client.callExternalService(url("/ok")).map(ExternalResponse::body).block();
+
+        // Then
+        assertThat(result).isEqualTo("ok");
+        assertThat(hits).hasValue(1);
+    }
+
+    @Test
+    void should_RetryAndSucceed_When_ServiceFailsTransiently() {
+        // Given
+        ExternalServiceClient client = client(10, Duration.ofSeconds(2));
+
+        // When
+        String result = client.callExternalService(url("/flaky")).map(ExternalResponse::body).block();
+
+        // Then
+        assertThat(result).isEqualTo("recovered");
+        assertThat(hits).hasValue(3);
+    }
+
+    @Test
+    void should_NotRetry_When_ServiceReturnsClientError() {
+        // Given
+        ExternalServiceClient client = client(10, Duration.ofSeconds(2));
+
+        // When
+        String result = client.callExternalService(url("/missing")).map(ExternalResponse::body).block();
+
+        // Then
+        assertThat(result).isEqualTo(FALLBACK);
+        assertThat(hits).hasValue(1);
+    }
+
+    @Test
+    void should_ReturnFallbackWithinTimeLimit_When_ServiceIsTooSlow() {
+        // Given：每次嘗試最多 100ms，最多 3 次
+        ExternalServiceClient client = client(10, Duration.ofMillis(100));
+
+        // When
+        long start = System.nanoTime();
+        String result = client.callExternalService(url("/slow/2000")).map(ExternalResponse::body).block();
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        // Then
+        assertThat(result).isEqualTo(FALLBACK);
+        assertThat(hits).hasValue(3);
+        assertThat(elapsedMillis).isLessThan(1500);
+    }
+
+    @Test
+    void should_RejectExcessCallsImmediately_When_BulkheadIsFull() {
+        // Given
+        ExternalServiceClient client = client(2, Duration.ofSeconds(5));
+
+        // When：10 個並行呼叫，只有 2 個名額
+        List<String> results = Flux.range(0, 10)
+                .flatMap(i -> client.callExternalService(url("/slow/500")).map(ExternalResponse::body), 10)
+                .collectList()
+                .block(Duration.ofSeconds(5));
+
+        // Then：被拒絕的呼叫不重試、不送到外部服務
+        assertThat(results).filteredOn("slow"::equals).hasSize(2);
+        assertThat(results).filteredOn(FALLBACK::equals).hasSize(8);
+        assertThat(hits).hasValue(2);
+        assertThat(client.getBulkhead().getMetrics().getAvailableConcurrentCalls()).isEqualTo(2);
+    }
+
+    @Test
+    void should_ShedCallsThroughFallback_When_ConcurrencyLimitIsReached() {
+        // Given：限制固定為 3
+        AdaptiveConcurrencyLimiter limiter =
+                new AdaptiveConcurrencyLimiter(ExternalServiceClient.INSTANCE_NAME, 3, 3, 3, 1.0, 30);
+        ExternalServiceClient client = client(100, Duration.ofSeconds(5), limiter);
+
+        // When
+        List<String> results = Flux.range(0, 10)
+                .flatMap(i -> client.callExternalService(url("/slow/300")).map(ExternalResponse::body), 10)
+                .collectList()
+                .block(Duration.ofSeconds(5));
+
+        // Then
+        assertThat(results).filteredOn("slow"::equals).hasSize(3);
+        assertThat(results).filteredOn(FALLBACK::equals).hasSize(7);
+        assertThat(hits).hasValue(3);
+        assertThat(limiter.getRejectedCount()).isEqualTo(7);
+        assertThat(limiter.getInFlight()).isZero();
+    }
+
+    @Test
+    void should_OpenCircuitAndStopCalling_When_FailureRateExceedsThreshold() {
+        // Given
+        ExternalServiceClient client = client(10, Duration.ofSeconds(2));
+        for (int i = 0; i < 5; i++) {
+            client.callExternalService(url("/fail")).map(ExternalResponse::body).block();
+        }
+        int hitsWhenOpened = hits.get();
+
+        // When
+        String result = client.callExternalService(url("/fail")).map(ExternalResponse::body).block();
+
+        // Then
+        assertThat(client.getCircuitBreaker().getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(result).isEqualTo(FALLBACK);
+        assertThat(hits).hasValue(hitsWhenOpened);
+    }
+
+    @Test
+    void should_ServeLastKnownGoodResponse_When_CircuitIsOpen() {
+        // Given：先成功一次，再讓外部服務故障並打開斷路器
+        ExternalServiceClient client = client(10, Duration.ofSeconds(2));
+        client.callExternalService(url("/toggle")).block();
+        healthy = false;
+        client.getCircuitBreaker().transitionToOpenState();
+
+        // When
+        ExternalResponse response = client.callExternalService(url("/toggle")).block();
+        ExternalResponse uncached = client.callExternalService(url("/ok")).block();
+
+        // Then
+        assertThat(response.source()).isEqualTo(ExternalResponse.Source.STALE);
+        assertThat(response.body()).isEqualTo("v1");
+        assertThat(uncached.source()).isEqualTo(ExternalResponse.Source.FALLBACK);
+        assertThat(uncached.body()).isEqualTo(FALLBACK);
+        assertThat(client.getLastKnownGoodCache().getStaleHitRatio()).isEqualTo(0.5);
+    }
+
+    @Test
+    void should_RefreshStaleEntryInBackground_When_CircuitTransitionsToHalfOpen() throws InterruptedException {
+        // Given：斷路器 200ms 後自動進入半開，1 次探測成功即關閉
+        ExternalServiceClient client = client(CircuitBreakerConfig.custom()
+                .slidingWindowSize(10)
+                .minimumNumberOfCalls(5)
+                .waitDurationInOpenState(Duration.ofMillis(200))
+                .automaticTransitionFromOpenToHalfOpenEnabled(true)
+                .permittedNumberOfCallsInHalfOpenState(1)
+                .build());
+        client.callExternalService(url("/toggle")).block();
+        healthy = false;
+        client.getCircuitBreaker().transitionToOpenState();
+        assertThat(client.callExternalService(url("/toggle")).block().body()).isEqualTo("v1");
+
+        // When：外部服務恢復並更新內容，期間沒有任何前景請求
+        version = "v2";
+        healthy = true;
+        long deadline = System.currentTimeMillis() + 5000;
+        while (client.getCircuitBreaker().getState() != CircuitBreaker.State.CLOSED
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+
+        // Then：半開探測已在背景更新快取並關閉斷路器
+        assertThat(client.getCircuitBreaker().getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+        ExternalResponse refreshed = client.callServiceFallback(url("/toggle"), new IllegalStateException());
+        assertThat(refreshed.body()).isEqualTo("v2");
+    }
+
+    @Test
+    void should_ServeStaleFromPrewarmedCache_When_ServiceFailsBeforeFirstCall() {
+        // Given
+        ExternalServiceClient client = client(10, Duration.ofSeconds(2));
+        client.prewarm(List.of(url("/toggle"), url("/ok")), 2).block(Duration.ofSeconds(5));
+
+        // When
+        healthy = false;
+        client.getCircuitBreaker().transitionToOpenState();
+        ExternalResponse response = client.callExternalService(url("/toggle")).block();
+
+        // Then
+        assertThat(response.isStale()).isTrue();
+        assertThat(response.body()).isEqualTo("v1");
+        assertThat(client.getLastKnownGoodCache().size()).isEqualTo(2);
+    }
+
+    @Test
+    void should_NotHoldThreadsWhileWaiting_When_ManyCallsAreSlow() {
+        // Given
+        ExternalServiceClient client = client(100, Duration.ofSeconds(5));
+
+        // When：50 個各需 300ms 的呼叫同時進行
+        long start = System.nanoTime();
+        List<String> results = Flux.range(0, 50)
+                .flatMap(i -> client.callExternalService(url("/slow/300")).map(ExternalResponse::body), 50)
+                .collectList()
+                .block(Duration.ofSeconds(10));
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        // Then：總時間接近單次延遲，而不是 50 × 300ms
+        assertThat(results).hasSize(50).containsOnly("slow");
+        assertThat(elapsedMillis).isLessThan(3000);
+    }
+
+    private static String url(String path) {
+        return "http://localhost:" + stub.port() + path;
+    }
+
+    private static ExternalServiceClient client(int maxConcurrentCalls, Duration timeout) {
+        return client(maxConcurrentCalls, timeout,
+                new AdaptiveConcurrencyLimiter(ExternalServiceClient.INSTANCE_NAME, 200, 1, 200, 1.0, 30));
+    }
+
+    private static ExternalServiceClient client(CircuitBreakerConfig circuitBreakerConfig) {
+        return client(10, Duration.ofSeconds(2),
+                new AdaptiveConcurrencyLimiter(ExternalServiceClient.INSTANCE_NAME, 200, 1, 200, 1.0, 30),
+                circuitBreakerConfig);
+    }
+
+    private static ExternalServiceClient client(int maxConcurrentCalls, Duration timeout,
+                                                AdaptiveConcurrencyLimiter limiter) {
+        return client(maxConcurrentCalls, timeout, limiter, CircuitBreakerConfig.custom()
+                .slidingWindowSize(10)
+                .minimumNumberOfCalls(5)
+                .failureRateThreshold(50)
+                .waitDurationInOpenState(Duration.ofSeconds(30))
+                .build());
+    }
+
+    private static ExternalServiceClient client(int maxConcurrentCalls, Duration timeout,
+                                                AdaptiveConcurrencyLimiter limiter,
+                                                CircuitBreakerConfig circuitBreakerConfig) {
+        CircuitBreakerRegistry circuitBreakerRegistry = CircuitBreakerRegistry.of(circuitBreakerConfig);
+        BulkheadRegistry bulkheadRegistry = BulkheadRegistry.of(BulkheadConfig.custom()
+                .maxConcurrentCalls(maxConcurrentCalls)
+                .maxWaitDuration(Duration.ZERO)
+                .build());
+        TimeLimiterRegistry timeLimiterRegistry = TimeLimiterRegistry.of(TimeLimiterConfig.custom()
+                .timeoutDuration(timeout)
+                .build());
+        RetryRegistry retryRegistry = RetryRegistry.of(RetryConfig.custom()
+                .maxAttempts(3)
+                .waitDuration(Duration.ofMillis(10))
+                .retryExceptions(
+                        WebClientRequestException.class,
+                        TimeoutException.class,
+                        WebClientResponseException.InternalServerError.class,
+                        WebClientResponseException.ServiceUnavailable.class)
+                .build());
+        return new ExternalServiceClient(WebClient.builder(),
+                circuitBreakerRegistry, bulkheadRegistry, timeLimiterRegistry, retryRegistry, limiter,
+                new LastKnownGoodCache(100, Duration.ofMinutes(10)));
     }
 }
@@ -2,6 +2,7 @@ package com.petlearning.tracing;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
 
 /**
  * 分散式追蹤伺服器 - Zipkin
@@ -31,6 +32,9 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
 public class TracingServerApplication {
 
     public static void main(String[] args) {
-        SpringApplication.run(TracingServerApplication.class, args);
+        SpringApplication application = new SpringApplication(TracingServerApplication.class);
+        // 記錄啟動步驟（Bean 建立、自動配置等耗時），透過 /actuator/startup 查看
+        application.setApplicationStartup(new BufferingApplicationStartup(2048));
+        application.run(args);
     }
 }
@@ -0,0 +1,62 @@
+package com.petlearning.tracing.config;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import com.petlearning.tracing.logging.DroppingAsyncAppender;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Iterator;
+
+/**
+ * 非同步日誌指標
+ *
+ * Appender 由 Logback 依 logback-spring.xml 建立，這裡從根 Logger 找出 {@link DroppingAsyncAppender} 註冊指標：
+ * - logging.async.events（tag result = enqueued / dropped / discarded）：入列、佇列滿而遺失、主動捨棄的事件數
+ * - logging.async.queue.depth：目前佇列中的事件數
+ */
+@Configuration
+public class AsyncLoggingConfig {
+
+    @Bean
+    public MeterBinder asyncLoggingMetrics() {
+        return registry -> {
+            if (!(LoggerFactory.getILoggerFactory() instanceof LoggerContext loggerContext)) {
+                return;
+            }
+            Logger root = loggerContext.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME);
+            Iterator<Appender<ILoggingEvent>> appenders = root.iteratorForAppenders();
+            while (appenders.hasNext()) {
+                if (appenders.next() instanceof DroppingAsyncAppender appender) {
+                    bind(appender, registry);
+                }
+            }
+        };
+    }
+
+    private static void bind(DroppingAsyncAppender appender, MeterRegistry registry) {
+        FunctionCounter.builder("logging.async.events", appender, DroppingAsyncAppender::getEnqueuedCount)
+                .description("Log events handed to the async appender")
+                .tags("appender", appender.getName(), "result", "enqueued")
+                .register(registry);
+        FunctionCounter.builder("logging.async.events", appender, DroppingAsyncAppender::getDroppedCount)
+                .description("Log events lost because the queue was full")
+                .tags("appender", appender.getName(), "result", "dropped")
+                .register(registry);
+        FunctionCounter.builder("logging.async.events", appender, DroppingAsyncAppender::getDiscardedCount)
+                .description("INFO and lower events discarded while the queue was nearly full")
+                .tags("appender", appender.getName(), "result", "discarded")
+                .register(registry);
+        Gauge.builder("logging.async.queue.depth", appender, DroppingAsyncAppender::getQueueDepth)
+                .description("Log events waiting in the async queue")
+                .tag("appender", appender.getName())
+                .register(registry);
+    }
+}
@@ -0,0 +1,79 @@
+package com.petlearning.tracing.config;
+
+import com.petlearning.tracing.sampling.LoggingSpanExporter;
+import com.petlearning.tracing.sampling.SpanExporter;
+import com.petlearning.tracing.sampling.TailSamplingObservationHandler;
+import com.petlearning.tracing.sampling.TailSamplingPolicy;
+import com.petlearning.tracing.sampling.TailSamplingSpanBuffer;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Locale;
+
+/**
+ * 尾端取樣配置
+ *
+ * HTTP 請求與程式中建立的 Observation 經 {@link TailSamplingObservationHandler} 轉為 Span，
+ * Spring Boot 會自動把 ObservationHandler Bean 註冊到 ObservationRegistry。
+ * 取樣通過的 Trace 交給 SpanExporter Bean（例如 {@link ZipkinExportConfig} 的批次匯出器），
+ * 沒有時以日誌輸出。
+ *
+ * 指標：
+ * - tracing.tail.buffer.traces / tracing.tail.buffer.spans：目前暫存的 Trace 數與 Span 數
+ * - tracing.tail.buffer.utilization：暫存使用率（Span 數 / max-spans）
+ * - tracing.tail.traces（tag decision = error / latency / baseline / drop）：取樣判斷結果
+ * - tracing.tail.evicted（tag reason = capacity / timeout）：未完成即被淘汰的 Trace
+ * - tracing.tail.spans.dropped：超過單一 Trace 上限或在判斷後才到達而丟棄的 Span
+ */
+@Configuration
+@EnableConfigurationProperties(TailSamplingProperties.class)
+@ConditionalOnProperty(prefix = "tracing.tail-sampling", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class TailSamplingConfig {
+
+    @Bean
+    public TailSamplingSpanBuffer tailSamplingSpanBuffer(TailSamplingProperties properties,
+                                                         ObjectProvider<SpanExporter> exporter,
+                                                         MeterRegistry meterRegistry) {
+        TailSamplingPolicy policy = new TailSamplingPolicy(properties.getLatencyThreshold(), properties.getBaselineRate());
+        TailSamplingSpanBuffer buffer = new TailSamplingSpanBuffer(policy,
+                exporter.getIfAvailable(LoggingSpanExporter::new),
+                properties.getMaxSpans(), properties.getMaxSpansPerTrace(), properties.getTraceTimeout());
+
+        Gauge.builder("tracing.tail.buffer.traces", buffer, TailSamplingSpanBuffer::getBufferedTraces)
+                .description("Traces waiting for their root span")
+                .register(meterRegistry);
+        Gauge.builder("tracing.tail.buffer.spans", buffer, TailSamplingSpanBuffer::getBufferedSpans)
+                .description("Spans held in the tail sampling buffer")
+                .register(meterRegistry);
+        Gauge.builder("tracing.tail.buffer.utilization", buffer, TailSamplingSpanBuffer::getUtilization)
+                .description("Buffered spans relative to the configured maximum")
+                .register(meterRegistry);
+        for (TailSamplingPolicy.Decision decision : TailSamplingPolicy.Decision.values()) {
+            FunctionCounter.builder("tracing.tail.traces", buffer, b -> b.getDecisionCount(decision))
+                    .description("Completed traces by sampling decision")
+                    .tag("decision", decision.name().toLowerCase(Locale.ROOT))
+                    .register(meterRegistry);
+        }
+        for (TailSamplingSpanBuffer.EvictionReason reason : TailSamplingSpanBuffer.EvictionReason.values()) {
+            FunctionCounter.builder("tracing.tail.evicted", buffer, b -> b.getEvictionCount(reason))
+                    .description("Traces evicted before their root span ended")
+                    .tag("reason", reason.name().toLowerCase(Locale.ROOT))
+                    .register(meterRegistry);
+        }
+        FunctionCounter.builder("tracing.tail.spans.dropped", buffer, TailSamplingSpanBuffer::getDroppedSpans)
+                .description("Spans dropped by the per-trace limit or arriving after the decision")
+                .register(meterRegistry);
+        return buffer;
+    }
+
+    @Bean
+    public TailSamplingObservationHandler tailSamplingObservationHandler(TailSamplingSpanBuffer buffer) {
+        return new TailSamplingObservationHandler(buffer);
+    }
+}
@@ -0,0 +1,78 @@
+package com.petlearning.tracing.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * 尾端取樣配置（tracing.tail-sampling.*）
+ */
+@ConfigurationProperties(prefix = "tracing.tail-sampling")
+public class TailSamplingProperties {
+
+    /** 是否啟用尾端取樣 */
+    private boolean enabled = true;
+
+    /** 暫存區所有 Trace 合計的 Span 數上限 */
+    private int maxSpans = 100_000;
+
+    /** 單一 Trace 最多暫存的 Span 數 */
+    private int maxSpansPerTrace = 1000;
+
+    /** 根 Span 未結束的 Trace 最長暫存時間，超過後以已收到的 Span 做取樣判斷 */
+    private Duration traceTimeout = Duration.ofSeconds(30);
+
+    /** 延遲超過此門檻的 Trace 一律匯出 */
+    private Duration latencyThreshold = Duration.ofMillis(500);
+
+    /** 正常 Trace 的基準取樣比例（0.0 ~ 1.0） */
+    private double baselineRate = 0.01;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getMaxSpans() {
+        return maxSpans;
+    }
+
+    public void setMaxSpans(int maxSpans) {
+        this.maxSpans = maxSpans;
+    }
+
+    public int getMaxSpansPerTrace() {
+        return maxSpansPerTrace;
+    }
+
+    public void setMaxSpansPerTrace(int maxSpansPerTrace) {
+        this.maxSpansPerTrace = maxSpansPerTrace;
+    }
+
+    public Duration getTraceTimeout() {
+        return traceTimeout;
+    }
+
+    public void setTraceTimeout(Duration traceTimeout) {
+        this.traceTimeout = traceTimeout;
+    }
+
+    public Duration getLatencyThreshold() {
+        return latencyThreshold;
+    }
+
+    public void setLatencyThreshold(Duration latencyThreshold) {
+        this.latencyThreshold = latencyThreshold;
+    }
+
+    public double getBaselineRate() {
+        return baselineRate;
+    }
+
+    public void setBaselineRate(double baselineRate) {
+        this.baselineRate = baselineRate;
+    }
+}
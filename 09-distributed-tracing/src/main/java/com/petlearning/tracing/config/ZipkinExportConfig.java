@@ -0,0 +1,72 @@
+package com.petlearning.tracing.config;
+
+import com.petlearning.tracing.export.BatchingSpanExporter;
+import com.petlearning.tracing.export.ZipkinHttpSender;
+import com.petlearning.tracing.export.ZipkinJsonEncoder;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Zipkin 非同步批次匯出配置
+ *
+ * 指標：
+ * - tracing.export.queue.size / tracing.export.queue.capacity：環形緩衝區目前與最大的 Span 數
+ * - tracing.export.spans（tag result = sent / dropped / failed）：送出、因緩衝區滿而丟棄、傳送失敗的 Span
+ * - tracing.export.batches：送出的批次數
+ * - tracing.export.bytes（tag stage = encoded / sent）：JSON 編碼後與實際送出（壓縮後）的位元組數
+ */
+@Configuration
+@EnableConfigurationProperties(ZipkinExportProperties.class)
+@ConditionalOnProperty(prefix = "tracing.export.zipkin", name = "enabled", havingValue = "true")
+public class ZipkinExportConfig {
+
+    @Bean
+    public BatchingSpanExporter zipkinSpanExporter(ZipkinExportProperties properties,
+                                                   @Value("${spring.application.name}") String serviceName,
+                                                   MeterRegistry meterRegistry) {
+        ZipkinHttpSender sender = new ZipkinHttpSender(properties.getEndpoint(),
+                properties.getConnectTimeout(), properties.getRequestTimeout(),
+                properties.isCompression(), new ZipkinJsonEncoder(serviceName));
+        BatchingSpanExporter exporter = new BatchingSpanExporter(sender, properties.getQueueCapacity(),
+                properties.getBatchSize(), properties.getFlushInterval(), properties.getShutdownTimeout());
+
+        Gauge.builder("tracing.export.queue.size", exporter, BatchingSpanExporter::getQueuedSpans)
+                .description("Spans waiting in the export ring buffer")
+                .register(meterRegistry);
+        Gauge.builder("tracing.export.queue.capacity", exporter, BatchingSpanExporter::getQueueCapacity)
+                .description("Capacity of the export ring buffer")
+                .register(meterRegistry);
+        FunctionCounter.builder("tracing.export.spans", exporter, BatchingSpanExporter::getSentSpans)
+                .description("Spans exported to Zipkin")
+                .tag("result", "sent")
+                .register(meterRegistry);
+        FunctionCounter.builder("tracing.export.spans", exporter, BatchingSpanExporter::getDroppedSpans)
+                .description("Spans dropped because the export buffer was full")
+                .tag("result", "dropped")
+                .register(meterRegistry);
+        FunctionCounter.builder("tracing.export.spans", exporter, BatchingSpanExporter::getFailedSpans)
+                .description("Spans in batches Zipkin did not accept")
+                .tag("result", "failed")
+                .register(meterRegistry);
+        FunctionCounter.builder("tracing.export.batches", exporter, BatchingSpanExporter::getSentBatches)
+                .description("Batches exported to Zipkin")
+                .register(meterRegistry);
+        FunctionCounter.builder("tracing.export.bytes", sender, ZipkinHttpSender::getRawBytes)
+                .description("Encoded span bytes before compression")
+                .baseUnit("bytes")
+                .tag("stage", "encoded")
+                .register(meterRegistry);
+        FunctionCounter.builder("tracing.export.bytes", sender, ZipkinHttpSender::getSentBytes)
+                .description("Span bytes sent to Zipkin")
+                .baseUnit("bytes")
+                .tag("stage", "sent")
+                .register(meterRegistry);
+        return exporter;
+    }
+}
@@ -0,0 +1,110 @@
+package com.petlearning.tracing.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.net.URI;
+import java.time.Duration;
+
+/**
+ * Zipkin 匯出配置（tracing.export.zipkin.*）
+ */
+@ConfigurationProperties(prefix = "tracing.export.zipkin")
+public class ZipkinExportProperties {
+
+    /** 是否把取樣通過的 Span 送到 Zipkin（關閉時以日誌輸出） */
+    private boolean enabled = false;
+
+    /** Zipkin 收集端點 */
+    private URI endpoint = URI.create("http://localhost:9411/api/v2/spans");
+
+    /** 環形緩衝區容量（Span 數，向上取整為 2 的次方），滿了就丟棄新的 Span */
+    private int queueCapacity = 8192;
+
+    /** 每批最多送出的 Span 數 */
+    private int batchSize = 512;
+
+    /** 未滿一批時最長等待多久送出 */
+    private Duration flushInterval = Duration.ofSeconds(1);
+
+    /** 是否以 gzip 壓縮請求本體 */
+    private boolean compression = true;
+
+    private Duration connectTimeout = Duration.ofSeconds(1);
+
+    private Duration requestTimeout = Duration.ofSeconds(5);
+
+    /** 關閉時等待送完剩餘 Span 的時間 */
+    private Duration shutdownTimeout = Duration.ofSeconds(5);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public URI getEndpoint() {
+        return endpoint;
+    }
+
+    public void setEndpoint(URI endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public void setQueueCapacity(int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public Duration getFlushInterval() {
+        return flushInterval;
+    }
+
+    public void setFlushInterval(Duration flushInterval) {
+        this.flushInterval = flushInterval;
+    }
+
+    public boolean isCompression() {
+        return compression;
+    }
+
+    public void setCompression(boolean compression) {
+        this.compression = compression;
+    }
+
+    public Duration getConnectTimeout() {
+        return connectTimeout;
+    }
+
+    public void setConnectTimeout(Duration connectTimeout) {
+        this.connectTimeout = connectTimeout;
+    }
+
+    public Duration getRequestTimeout() {
+        return requestTimeout;
+    }
+
+    public void setRequestTimeout(Duration requestTimeout) {
+        this.requestTimeout = requestTimeout;
+    }
+
+    public Duration getShutdownTimeout() {
+        return shutdownTimeout;
+    }
+
+    public void setShutdownTimeout(Duration shutdownTimeout) {
+        this.shutdownTimeout = shutdownTimeout;
+    }
+}
@@ -1,9 +1,15 @@
 package com.petlearning.tracing.controller;
 
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 /**
@@ -24,6 +30,12 @@ public class TracingDemoController {
 
     private static final Logger logger = LoggerFactory.getLogger(TracingDemoController.class);
 
+    private final ObservationRegistry observationRegistry;
+
+    public TracingDemoController(ObjectProvider<ObservationRegistry> observationRegistry) {
+        this.observationRegistry = observationRegistry.getIfAvailable(() -> ObservationRegistry.NOOP);
+    }
+
     /**
      * 簡單追蹤端點
      * 
@@ -41,7 +53,7 @@ public class TracingDemoController {
     /**
      * 多步操作追蹤
      * 
-     * 模擬一個包含多個步驟的業務流程
+     * 模擬一個包含多個步驟的業務流程，每個步驟是 HTTP 請求 Span 底下的子 Span
      */
     @GetMapping("/multi-step")
     public String multiStep() {
@@ -54,11 +66,40 @@ public class TracingDemoController {
     }
 
     private void step1() {
-        logger.info("Executing step 1");
+        Observation.createNotStarted("demo.step", observationRegistry)
+                .lowCardinalityKeyValue("step", "1")
+                .observe(() -> logger.info("Executing step 1"));
     }
 
     private void step2() {
-        logger.info("Executing step 2");
+        Observation.createNotStarted("demo.step", observationRegistry)
+                .lowCardinalityKeyValue("step", "2")
+                .observe(() -> logger.info("Executing step 2"));
+    }
+
+    /**
+     * 慢請求（尾端取樣：延遲超過門檻的 Trace 一律匯出）
+     *
+     * 使用方式：
+     * GET /api/tracing/slow?ms=800
+     */
+    @GetMapping("/slow")
+    public String slow(@RequestParam(defaultValue = "800") long ms) throws InterruptedException {
+        logger.info("Sleeping {}ms", ms);
+        Thread.sleep(ms);
+        return "Slow operation completed in " + ms + "ms";
+    }
+
+    /**
+     * 失敗請求（尾端取樣：發生錯誤的 Trace 一律匯出）
+     *
+     * 使用方式：
+     * GET /api/tracing/fail
+     */
+    @GetMapping("/fail")
+    public ResponseEntity<String> fail() {
+        logger.warn("Simulating a failed operation");
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Simulated failure");
     }
 
     /**
@@ -0,0 +1,157 @@
+package com.petlearning.tracing.export;
+
+import com.petlearning.tracing.sampling.SpanExporter;
+import com.petlearning.tracing.sampling.SpanRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 非同步批次 Span 匯出器
+ *
+ * 流程：
+ * 1. 請求執行緒呼叫 {@link #export(List)}，只把 Span 放入 {@link SpanRingBuffer} 就返回
+ * 2. 背景傳送執行緒累積到 batchSize 個 Span，或距上次傳送超過 flushInterval，就整批送出
+ * 3. 傳送由 {@link ZipkinHttpSender} 完成（JSON 串流編碼 + gzip）
+ *
+ * 背壓處理：
+ * - 緩衝區滿時直接丟棄新的 Span 並計數，請求執行緒永遠不會因為 Zipkin 變慢而被阻塞
+ * - 傳送失敗的批次不重試（重試只會讓積壓更嚴重），計入 failed
+ *
+ * 關閉時會先送完緩衝區內剩餘的 Span（最多等待 shutdownTimeout）。
+ */
+public class BatchingSpanExporter implements SpanExporter, InitializingBean, DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(BatchingSpanExporter.class);
+
+    private final SpanRingBuffer ringBuffer;
+    private final ZipkinHttpSender sender;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final long idleParkNanos;
+    private final Duration shutdownTimeout;
+
+    private final LongAdder droppedSpans = new LongAdder();
+    private final LongAdder sentSpans = new LongAdder();
+    private final LongAdder failedSpans = new LongAdder();
+    private final LongAdder sentBatches = new LongAdder();
+
+    private volatile boolean running;
+    private Thread senderThread;
+
+    public BatchingSpanExporter(ZipkinHttpSender sender, int queueCapacity, int batchSize,
+                                Duration flushInterval, Duration shutdownTimeout) {
+        this.ringBuffer = new SpanRingBuffer(queueCapacity);
+        this.sender = sender;
+        this.batchSize = batchSize;
+        this.flushIntervalNanos = flushInterval.toNanos();
+        this.idleParkNanos = Math.max(TimeUnit.MILLISECONDS.toNanos(1), flushIntervalNanos / 10);
+        this.shutdownTimeout = shutdownTimeout;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        running = true;
+        senderThread = new Thread(this::runSender, "span-exporter");
+        senderThread.setDaemon(true);
+        senderThread.start();
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        running = false;
+        if (senderThread != null) {
+            LockSupport.unpark(senderThread);
+            senderThread.join(shutdownTimeout.toMillis());
+        }
+    }
+
+    /**
+     * 請求路徑：只做無鎖入列，不做 I/O
+     */
+    @Override
+    public void export(List<SpanRecord> spans) {
+        for (SpanRecord span : spans) {
+            if (!ringBuffer.offer(span)) {
+                droppedSpans.increment();
+            }
+        }
+    }
+
+    private void runSender() {
+        List<SpanRecord> batch = new ArrayList<>(batchSize);
+        long deadline = System.nanoTime() + flushIntervalNanos;
+        while (running || !ringBuffer.isEmpty()) {
+            ringBuffer.drainTo(batch, batchSize - batch.size());
+            boolean full = batch.size() >= batchSize;
+            boolean due = System.nanoTime() - deadline >= 0;
+            if (!batch.isEmpty() && (full || due || !running)) {
+                send(batch);
+                batch.clear();
+                deadline = System.nanoTime() + flushIntervalNanos;
+            } else if (batch.isEmpty() && due) {
+                deadline = System.nanoTime() + flushIntervalNanos;
+            }
+            if (!full && running) {
+                LockSupport.parkNanos(idleParkNanos);
+            }
+        }
+        // running 在上面判斷之後才變成 false 時，本地批次可能還留著未滿、未到期的 Span
+        while (true) {
+            ringBuffer.drainTo(batch, batchSize - batch.size());
+            if (batch.isEmpty()) {
+                break;
+            }
+            send(batch);
+            batch.clear();
+        }
+    }
+
+    private void send(List<SpanRecord> batch) {
+        try {
+            sender.send(batch);
+            sentSpans.add(batch.size());
+            sentBatches.increment();
+        } catch (IOException | RuntimeException ex) {
+            failedSpans.add(batch.size());
+            logger.warn("Failed to export {} spans: {}", batch.size(), ex.getMessage());
+        }
+    }
+
+    public int getQueuedSpans() {
+        return ringBuffer.size();
+    }
+
+    public int getQueueCapacity() {
+        return ringBuffer.capacity();
+    }
+
+    public long getDroppedSpans() {
+        return droppedSpans.sum();
+    }
+
+    public long getSentSpans() {
+        return sentSpans.sum();
+    }
+
+    public long getFailedSpans() {
+        return failedSpans.sum();
+    }
+
+    public long getSentBatches() {
+        return sentBatches.sum();
+    }
+
+    public ZipkinHttpSender getSender() {
+        return sender;
+    }
+}
@@ -0,0 +1,101 @@
+package com.petlearning.tracing.export;
+
+import com.petlearning.tracing.sampling.SpanRecord;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 固定容量、無鎖的多生產者 / 單消費者環形緩衝區
+ *
+ * 說明：
+ * - 每個槽位有一個序號：序號 == 寫入位置代表可寫，序號 == 寫入位置 + 1 代表可讀
+ * - 生產者（請求執行緒）以 CAS 搶寫入位置，滿了直接回傳 false，不等待也不配置記憶體
+ * - 只有一個消費者（背景傳送執行緒），讀取位置不需要 CAS
+ *
+ * 容量會向上取整為 2 的次方，以位元遮罩取代取餘數。
+ */
+public class SpanRingBuffer {
+
+    private final int capacity;
+    private final int mask;
+    private final AtomicReferenceArray<SpanRecord> slots;
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong();
+    private volatile long head;
+
+    public SpanRingBuffer(int requestedCapacity) {
+        if (requestedCapacity < 2) {
+            throw new IllegalArgumentException("capacity must be at least 2: " + requestedCapacity);
+        }
+        this.capacity = Integer.highestOneBit(requestedCapacity - 1) << 1;
+        this.mask = capacity - 1;
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * 放入一個 Span（可由多個執行緒同時呼叫）
+     *
+     * @return false 代表緩衝區已滿
+     */
+    public boolean offer(SpanRecord span) {
+        long position = tail.get();
+        while (true) {
+            int index = (int) (position & mask);
+            long diff = sequences.get(index) - position;
+            if (diff == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    slots.lazySet(index, span);
+                    sequences.set(index, position + 1);
+                    return true;
+                }
+                position = tail.get();
+            } else if (diff < 0) {
+                return false;
+            } else {
+                position = tail.get();
+            }
+        }
+    }
+
+    /**
+     * 取出最多 max 個 Span（只能由單一消費者執行緒呼叫）
+     *
+     * @return 取出的數量
+     */
+    public int drainTo(List<SpanRecord> target, int max) {
+        long position = head;
+        int drained = 0;
+        while (drained < max) {
+            int index = (int) (position & mask);
+            if (sequences.get(index) != position + 1) {
+                break;
+            }
+            target.add(slots.get(index));
+            slots.lazySet(index, null);
+            sequences.set(index, position + capacity);
+            position++;
+            drained++;
+        }
+        head = position;
+        return drained;
+    }
+
+    public int size() {
+        return (int) Math.max(0, Math.min(capacity, tail.get() - head));
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+}
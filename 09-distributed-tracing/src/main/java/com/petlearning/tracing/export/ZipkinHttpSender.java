@@ -0,0 +1,124 @@
+package com.petlearning.tracing.export;
+
+import com.petlearning.tracing.sampling.SpanRecord;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 以 HTTP POST 把一批 Span 送到 Zipkin（/api/v2/spans）
+ *
+ * 說明：
+ * - 開啟壓縮時以 gzip 編碼請求本體（Content-Encoding: gzip），Zipkin 伺服器原生支援
+ * - 非 2xx 回應視為失敗，由呼叫端決定是否丟棄
+ * - 記錄壓縮前後的位元組數，用來觀察壓縮效益
+ */
+public class ZipkinHttpSender {
+
+    private final HttpClient httpClient;
+    private final URI endpoint;
+    private final Duration requestTimeout;
+    private final boolean compression;
+    private final ZipkinJsonEncoder encoder;
+
+    private final LongAdder rawBytes = new LongAdder();
+    private final LongAdder sentBytes = new LongAdder();
+
+    public ZipkinHttpSender(URI endpoint, Duration connectTimeout, Duration requestTimeout,
+                            boolean compression, ZipkinJsonEncoder encoder) {
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(connectTimeout)
+                .build();
+        this.endpoint = endpoint;
+        this.requestTimeout = requestTimeout;
+        this.compression = compression;
+        this.encoder = encoder;
+    }
+
+    public void send(List<SpanRecord> spans) throws IOException {
+        Encoded encoded = encode(spans);
+        HttpRequest.Builder request = HttpRequest.newBuilder(endpoint)
+                .timeout(requestTimeout)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(encoded.body()));
+        if (compression) {
+            request.header("Content-Encoding", "gzip");
+        }
+
+        HttpResponse<Void> response;
+        try {
+            response = httpClient.send(request.build(), HttpResponse.BodyHandlers.discarding());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while sending spans", ex);
+        }
+        if (response.statusCode() / 100 != 2) {
+            throw new IOException("Zipkin responded with status " + response.statusCode());
+        }
+        rawBytes.add(encoded.rawLength());
+        sentBytes.add(encoded.body().length);
+    }
+
+    private Encoded encode(List<SpanRecord> spans) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(256 * spans.size());
+        CountingOutputStream counting;
+        if (compression) {
+            GZIPOutputStream gzip = new GZIPOutputStream(buffer, 8192);
+            counting = new CountingOutputStream(gzip);
+        } else {
+            counting = new CountingOutputStream(buffer);
+        }
+        try (counting) {
+            encoder.encode(spans, counting);
+        }
+        return new Encoded(buffer.toByteArray(), counting.count);
+    }
+
+    /**
+     * 已送出 Span 編碼後、壓縮前的位元組數
+     */
+    public long getRawBytes() {
+        return rawBytes.sum();
+    }
+
+    /**
+     * 實際送出的位元組數（壓縮後）
+     */
+    public long getSentBytes() {
+        return sentBytes.sum();
+    }
+
+    private record Encoded(byte[] body, long rawLength) {
+    }
+
+    private static final class CountingOutputStream extends FilterOutputStream {
+
+        private long count;
+
+        CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.petlearning.tracing.export;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.petlearning.tracing.sampling.SpanRecord;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 把 Span 編碼成 Zipkin v2 JSON（POST /api/v2/spans 的格式）
+ *
+ * 以 Jackson 串流 API 直接寫入輸出串流（可以是 GZIP 串流），不建立中間物件或字串。
+ */
+public class ZipkinJsonEncoder {
+
+    private final JsonFactory jsonFactory = new JsonFactory();
+    private final String serviceName;
+
+    public ZipkinJsonEncoder(String serviceName) {
+        this.serviceName = serviceName;
+    }
+
+    public void encode(List<SpanRecord> spans, OutputStream out) throws IOException {
+        try (JsonGenerator generator = jsonFactory.createGenerator(out, JsonEncoding.UTF8)) {
+            generator.writeStartArray();
+            for (SpanRecord span : spans) {
+                writeSpan(generator, span);
+            }
+            generator.writeEndArray();
+        }
+    }
+
+    private void writeSpan(JsonGenerator generator, SpanRecord span) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("traceId", span.traceId());
+        generator.writeStringField("id", span.spanId());
+        if (span.parentSpanId() != null) {
+            generator.writeStringField("parentId", span.parentSpanId());
+        }
+        generator.writeStringField("name", span.name());
+        generator.writeNumberField("timestamp", span.startEpochMicros());
+        // Zipkin 的 duration 單位是微秒，且不接受 0
+        generator.writeNumberField("duration", Math.max(1, span.durationNanos() / 1000));
+        generator.writeObjectFieldStart("localEndpoint");
+        generator.writeStringField("serviceName", serviceName);
+        generator.writeEndObject();
+        if (!span.tags().isEmpty() || span.error()) {
+            generator.writeObjectFieldStart("tags");
+            for (Map.Entry<String, String> tag : span.tags().entrySet()) {
+                generator.writeStringField(tag.getKey(), tag.getValue());
+            }
+            if (span.error() && !span.tags().containsKey("error")) {
+                generator.writeStringField("error", "true");
+            }
+            generator.writeEndObject();
+        }
+        generator.writeEndObject();
+    }
+}
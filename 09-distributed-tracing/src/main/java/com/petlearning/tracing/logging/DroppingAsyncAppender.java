@@ -0,0 +1,232 @@
+package com.petlearning.tracing.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.UnsynchronizedAppenderBase;
+import ch.qos.logback.core.spi.AppenderAttachable;
+import ch.qos.logback.core.spi.AppenderAttachableImpl;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 永不阻塞的非同步 Appender（取代 Logback 的 AsyncAppender）
+ *
+ * 說明：
+ * - 請求執行緒只把事件放入有界佇列（offer），佇列滿時直接丟棄並計數
+ * - 佇列剩餘空間低於 discardingThreshold 時，先丟棄 INFO 以下的事件，保留 WARN / ERROR
+ * - 單一背景執行緒批次取出事件，交給掛上的 Appender（例如使用 {@link TraceContextEncoder} 的 ConsoleAppender）
+ * - 入列前呼叫 prepareForDeferredProcessing()：在請求執行緒上固定訊息、執行緒名稱與 MDC（traceId / spanId）
+ *
+ * 與 Logback AsyncAppender 的差異在於丟棄會被計數（{@link #getDroppedCount()}、{@link #getDiscardedCount()}），
+ * 可以註冊成指標觀察日誌是否遺失。
+ */
+public class DroppingAsyncAppender extends UnsynchronizedAppenderBase<ILoggingEvent>
+        implements AppenderAttachable<ILoggingEvent> {
+
+    private static final int DRAIN_BATCH = 256;
+    /** 佇列空時最長阻塞時間，也是 stop() 後背景執行緒發現停止的最長延遲 */
+    private static final long IDLE_POLL_MILLIS = 100;
+
+    private final AppenderAttachableImpl<ILoggingEvent> appenders = new AppenderAttachableImpl<>();
+    private final LongAdder enqueued = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder discarded = new LongAdder();
+
+    private int queueSize = 8192;
+    private int discardingThreshold = -1;
+    private int maxFlushTime = 1000;
+    private boolean includeCallerData;
+
+    private BlockingQueue<ILoggingEvent> queue;
+    private Thread worker;
+
+    @Override
+    public void start() {
+        if (isStarted()) {
+            return;
+        }
+        if (queueSize < 1) {
+            addError("Invalid queue size [" + queueSize + "]");
+            return;
+        }
+        if (discardingThreshold < 0) {
+            discardingThreshold = queueSize / 5;
+        }
+        queue = new ArrayBlockingQueue<>(queueSize);
+        worker = new Thread(this::drain, "async-log-" + getName());
+        worker.setDaemon(true);
+        super.start();
+        worker.start();
+    }
+
+    @Override
+    public void stop() {
+        if (!isStarted()) {
+            return;
+        }
+        // 不中斷背景執行緒：下游 Appender 寫檔時被中斷會關閉 FileChannel，由 poll 逾時發現停止
+        super.stop();
+        try {
+            worker.join(maxFlushTime);
+            if (worker.isAlive()) {
+                addWarn("Max flush time (" + maxFlushTime + "ms) reached; " + queue.size() + " events lost");
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        appenders.detachAndStopAllAppenders();
+    }
+
+    /**
+     * 請求路徑：不等待、不做 I/O
+     */
+    @Override
+    protected void append(ILoggingEvent event) {
+        if (queue.remainingCapacity() < discardingThreshold && event.getLevel().toInt() <= Level.INFO_INT) {
+            discarded.increment();
+            return;
+        }
+        event.prepareForDeferredProcessing();
+        if (includeCallerData) {
+            event.getCallerData();
+        }
+        if (queue.offer(event)) {
+            enqueued.increment();
+        } else {
+            dropped.increment();
+        }
+    }
+
+    /**
+     * 背景執行緒：佇列空時以 poll(timeout) 阻塞等待第一個事件，再以 drainTo 批次取出其餘事件
+     *
+     * 閒置時不會每毫秒醒來輪詢；忙碌時佇列不空，poll 直接返回，
+     * 入列時需要喚醒背景執行緒的只有佇列由空變為非空的那一次。
+     */
+    private void drain() {
+        List<ILoggingEvent> batch = new ArrayList<>(DRAIN_BATCH);
+        while (isStarted()) {
+            ILoggingEvent first;
+            try {
+                first = queue.poll(IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException ex) {
+                break;
+            }
+            if (first == null) {
+                continue;
+            }
+            batch.add(first);
+            queue.drainTo(batch, DRAIN_BATCH - 1);
+            appendAll(batch);
+        }
+        while (queue.drainTo(batch, DRAIN_BATCH) > 0) {
+            appendAll(batch);
+        }
+    }
+
+    private void appendAll(List<ILoggingEvent> batch) {
+        for (ILoggingEvent event : batch) {
+            appenders.appendLoopOnAppenders(event);
+        }
+        batch.clear();
+    }
+
+    public long getEnqueuedCount() {
+        return enqueued.sum();
+    }
+
+    /**
+     * 佇列已滿而遺失的事件數
+     */
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    /**
+     * 佇列接近滿時主動捨棄的 INFO 以下事件數
+     */
+    public long getDiscardedCount() {
+        return discarded.sum();
+    }
+
+    public int getQueueDepth() {
+        return queue == null ? 0 : queue.size();
+    }
+
+    public int getQueueSize() {
+        return queueSize;
+    }
+
+    public void setQueueSize(int queueSize) {
+        this.queueSize = queueSize;
+    }
+
+    public int getDiscardingThreshold() {
+        return discardingThreshold;
+    }
+
+    /**
+     * 剩餘空間低於此值時捨棄 INFO 以下事件；0 代表不捨棄，預設為 queueSize 的 1/5
+     */
+    public void setDiscardingThreshold(int discardingThreshold) {
+        this.discardingThreshold = discardingThreshold;
+    }
+
+    public int getMaxFlushTime() {
+        return maxFlushTime;
+    }
+
+    public void setMaxFlushTime(int maxFlushTime) {
+        this.maxFlushTime = maxFlushTime;
+    }
+
+    public boolean isIncludeCallerData() {
+        return includeCallerData;
+    }
+
+    public void setIncludeCallerData(boolean includeCallerData) {
+        this.includeCallerData = includeCallerData;
+    }
+
+    @Override
+    public void addAppender(Appender<ILoggingEvent> appender) {
+        appenders.addAppender(appender);
+    }
+
+    @Override
+    public Iterator<Appender<ILoggingEvent>> iteratorForAppenders() {
+        return appenders.iteratorForAppenders();
+    }
+
+    @Override
+    public Appender<ILoggingEvent> getAppender(String name) {
+        return appenders.getAppender(name);
+    }
+
+    @Override
+    public boolean isAttached(Appender<ILoggingEvent> appender) {
+        return appenders.isAttached(appender);
+    }
+
+    @Override
+    public void detachAndStopAllAppenders() {
+        appenders.detachAndStopAllAppenders();
+    }
+
+    @Override
+    public boolean detachAppender(Appender<ILoggingEvent> appender) {
+        return appenders.detachAppender(appender);
+    }
+
+    @Override
+    public boolean detachAppender(String name) {
+        return appenders.detachAppender(name);
+    }
+}
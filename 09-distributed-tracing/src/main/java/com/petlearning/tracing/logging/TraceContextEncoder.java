@@ -0,0 +1,145 @@
+package com.petlearning.tracing.logging;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.IThrowableProxy;
+import ch.qos.logback.classic.spi.ThrowableProxyUtil;
+import ch.qos.logback.core.CoreConstants;
+import ch.qos.logback.core.encoder.EncoderBase;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 低配置的固定格式日誌編碼器
+ *
+ * 輸出格式（與 Spring Boot 預設格式相近，多了 Trace 資訊）：
+ * 2024-01-01T12:00:00.123Z  INFO [http-nio-9411-exec-1] [traceId,spanId] c.p.t.c.TracingDemoController : message
+ *
+ * 說明：
+ * - 以可重用的 StringBuilder、char[] 與 ByteBuffer 格式化，不建立中間字串
+ * - 時間戳記的「到秒」前綴只在秒數改變時重新格式化
+ * - 縮寫後的 Logger 名稱以原名稱為鍵快取
+ * - Encoder 介面規定回傳 byte[]，因此每個事件只配置這一個剛好大小的陣列（例外堆疊除外）
+ *
+ * 放在 {@link DroppingAsyncAppender} 後面時只由單一背景執行緒呼叫，同步鎖不會有競爭。
+ */
+public class TraceContextEncoder extends EncoderBase<ILoggingEvent> {
+
+    private static final DateTimeFormatter SECOND_FORMAT =
+            DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.").withZone(ZoneOffset.UTC);
+    private static final String TRACE_ID = "traceId";
+    private static final String SPAN_ID = "spanId";
+
+    private final Map<String, String> abbreviatedLoggers = new ConcurrentHashMap<>();
+    private final StringBuilder line = new StringBuilder(256);
+    private final CharsetEncoder charsetEncoder = StandardCharsets.UTF_8.newEncoder();
+    private char[] chars = new char[256];
+    private CharBuffer charView = CharBuffer.wrap(chars);
+    private ByteBuffer bytes = ByteBuffer.allocate(1024);
+
+    private long cachedSecond = Long.MIN_VALUE;
+    private String cachedSecondPrefix;
+
+    @Override
+    public byte[] headerBytes() {
+        return null;
+    }
+
+    @Override
+    public byte[] footerBytes() {
+        return null;
+    }
+
+    @Override
+    public synchronized byte[] encode(ILoggingEvent event) {
+        line.setLength(0);
+        appendTimestamp(event.getTimeStamp());
+        line.append(' ');
+        appendLevel(event.getLevel().toString());
+        line.append(" [").append(event.getThreadName()).append("] [");
+        Map<String, String> mdc = event.getMDCPropertyMap();
+        String traceId = mdc.get(TRACE_ID);
+        if (traceId != null) {
+            line.append(traceId).append(',').append(mdc.get(SPAN_ID));
+        }
+        line.append("] ")
+                .append(abbreviatedLoggers.computeIfAbsent(event.getLoggerName(), TraceContextEncoder::abbreviate))
+                .append(" : ")
+                .append(event.getFormattedMessage())
+                .append(CoreConstants.LINE_SEPARATOR);
+        IThrowableProxy throwable = event.getThrowableProxy();
+        if (throwable != null) {
+            line.append(ThrowableProxyUtil.asString(throwable)).append(CoreConstants.LINE_SEPARATOR);
+        }
+        return toBytes();
+    }
+
+    private void appendTimestamp(long epochMillis) {
+        long second = Math.floorDiv(epochMillis, 1000);
+        if (second != cachedSecond) {
+            cachedSecondPrefix = SECOND_FORMAT.format(Instant.ofEpochSecond(second));
+            cachedSecond = second;
+        }
+        int millis = (int) Math.floorMod(epochMillis, 1000);
+        line.append(cachedSecondPrefix);
+        if (millis < 100) {
+            line.append('0');
+        }
+        if (millis < 10) {
+            line.append('0');
+        }
+        line.append(millis).append('Z');
+    }
+
+    private void appendLevel(String level) {
+        for (int i = level.length(); i < 5; i++) {
+            line.append(' ');
+        }
+        line.append(level);
+    }
+
+    private byte[] toBytes() {
+        int length = line.length();
+        if (chars.length < length) {
+            chars = new char[Math.max(length, chars.length * 2)];
+            charView = CharBuffer.wrap(chars);
+        }
+        line.getChars(0, length, chars, 0);
+        int maxBytes = (int) (length * charsetEncoder.maxBytesPerChar());
+        if (bytes.capacity() < maxBytes) {
+            bytes = ByteBuffer.allocate(Math.max(maxBytes, bytes.capacity() * 2));
+        }
+        bytes.clear();
+        charsetEncoder.reset();
+        charView.clear().limit(length);
+        charsetEncoder.encode(charView, bytes, true);
+        charsetEncoder.flush(bytes);
+        return Arrays.copyOf(bytes.array(), bytes.position());
+    }
+
+    /**
+     * com.petlearning.tracing.controller.TracingDemoController → c.p.t.c.TracingDemoController
+     */
+    static String abbreviate(String loggerName) {
+        int lastDot = loggerName.lastIndexOf('.');
+        if (lastDot < 0) {
+            return loggerName;
+        }
+        StringBuilder abbreviated = new StringBuilder(loggerName.length());
+        int segmentStart = 0;
+        while (segmentStart < lastDot) {
+            abbreviated.append(loggerName.charAt(segmentStart)).append('.');
+            int nextDot = loggerName.indexOf('.', segmentStart);
+            segmentStart = nextDot + 1;
+        }
+        return abbreviated.append(loggerName, lastDot + 1, loggerName.length()).toString();
+    }
+}
@@ -0,0 +1,32 @@
+package com.petlearning.tracing.sampling;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+
+/**
+ * 以日誌輸出取樣通過的 Trace（開發用）
+ *
+ * INFO：每個 Trace 一行摘要；DEBUG：每個 Span 一行
+ */
+public class LoggingSpanExporter implements SpanExporter {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoggingSpanExporter.class);
+
+    @Override
+    public void export(List<SpanRecord> spans) {
+        if (spans.isEmpty()) {
+            return;
+        }
+        long maxDurationMicros = spans.stream().mapToLong(SpanRecord::durationNanos).max().orElse(0) / 1000;
+        boolean error = spans.stream().anyMatch(SpanRecord::error);
+        logger.info("Sampled trace {}: {} spans, {}us, error={}",
+                spans.get(0).traceId(), spans.size(), maxDurationMicros, error);
+        if (logger.isDebugEnabled()) {
+            spans.forEach(span -> logger.debug("  span {} parent={} name={} {}us error={} tags={}",
+                    span.spanId(), span.parentSpanId(), span.name(),
+                    span.durationNanos() / 1000, span.error(), span.tags()));
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.petlearning.tracing.sampling;
+
+import java.util.List;
+
+/**
+ * 取樣通過的 Trace 匯出介面
+ */
+@FunctionalInterface
+public interface SpanExporter {
+
+    /**
+     * 匯出一個完整 Trace 的所有 Span（必須快速返回，不可阻塞呼叫端）
+     */
+    void export(List<SpanRecord> spans);
+}
@@ -0,0 +1,40 @@
+package com.petlearning.tracing.sampling;
+
+import java.util.Map;
+
+/**
+ * 已結束的 Span（不可變）
+ *
+ * @param traceId 32 位十六進位 Trace ID（沿用上游 B3 時可能是 16 位）
+ * @param spanId 16 位十六進位 Span ID
+ * @param parentSpanId 父 Span ID，沒有上游的根 Span 為 null
+ * @param name 操作名稱（例如 http.server.requests）
+ * @param startEpochMicros 開始時間（epoch 微秒）
+ * @param durationNanos 持續時間（奈秒）
+ * @param error 是否發生錯誤
+ * @param tags 低基數標籤
+ * @param remoteParent 父 Span 在上游服務（從請求標頭取得），此 Span 是本服務內的根 Span
+ */
+public record SpanRecord(
+        String traceId,
+        String spanId,
+        String parentSpanId,
+        String name,
+        long startEpochMicros,
+        long durationNanos,
+        boolean error,
+        Map<String, String> tags,
+        boolean remoteParent) {
+
+    public SpanRecord(String traceId, String spanId, String parentSpanId, String name,
+                      long startEpochMicros, long durationNanos, boolean error, Map<String, String> tags) {
+        this(traceId, spanId, parentSpanId, name, startEpochMicros, durationNanos, error, tags, false);
+    }
+
+    /**
+     * 是否為本服務內的根 Span（沒有父 Span，或父 Span 在上游服務）
+     */
+    public boolean isRoot() {
+        return parentSpanId == null || remoteParent;
+    }
+}
@@ -0,0 +1,214 @@
+package com.petlearning.tracing.sampling;
+
+import io.micrometer.common.KeyValue;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationHandler;
+import io.micrometer.observation.transport.ReceiverContext;
+import io.micrometer.observation.ObservationView;
+import org.slf4j.MDC;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 把 Micrometer Observation 轉成 Span，交給 {@link TailSamplingSpanBuffer}
+ *
+ * 說明：
+ * - 根 Observation（沒有父 Observation）若是接收端（HTTP 伺服器請求），依序從 W3C traceparent、
+ *   B3 單一標頭、X-B3-TraceId / X-B3-SpanId 取得上游的 Trace ID 與 Span ID，
+ *   讓同一個 Trace 在每個服務得到相同的基準取樣結果；沒有或格式錯誤時產生新的 Trace ID
+ * - 子 Observation 沿用父 Observation 的 Trace ID，並以父 Span ID 作為 parentSpanId
+ * - 結束時以 Observation 的低基數標籤作為 Span 標籤；
+ *   發生例外或 HTTP outcome 為 SERVER_ERROR 時標記為錯誤
+ * - Observation 的 scope 開啟時把 traceId / spanId 放入 MDC，關閉時還原為父 Span 的值，
+ *   讓同一執行緒上的日誌帶有目前的 Trace 資訊
+ */
+public class TailSamplingObservationHandler implements ObservationHandler<Observation.Context> {
+
+    private static final String OUTCOME = "outcome";
+    private static final String SERVER_ERROR = "SERVER_ERROR";
+    private static final String MDC_TRACE_ID = "traceId";
+    private static final String MDC_SPAN_ID = "spanId";
+    private static final String TRACEPARENT = "traceparent";
+    private static final String B3 = "b3";
+    private static final String B3_TRACE_ID = "X-B3-TraceId";
+    private static final String B3_SPAN_ID = "X-B3-SpanId";
+    private static final Pattern TRACEPARENT_FORMAT =
+            Pattern.compile("([0-9a-f]{2})-([0-9a-f]{32})-([0-9a-f]{16})-[0-9a-f]{2}(-.*)?");
+    private static final Pattern B3_TRACE_ID_FORMAT = Pattern.compile("[0-9a-f]{16}|[0-9a-f]{32}");
+    private static final Pattern B3_SPAN_ID_FORMAT = Pattern.compile("[0-9a-f]{16}");
+
+    private final TailSamplingSpanBuffer buffer;
+
+    public TailSamplingObservationHandler(TailSamplingSpanBuffer buffer) {
+        this.buffer = buffer;
+    }
+
+    @Override
+    public void onStart(Observation.Context context) {
+        SpanState parent = parentState(context);
+        if (parent != null) {
+            context.put(SpanState.class, new SpanState(parent.traceId, newSpanId(), parent.spanId, false,
+                    currentEpochMicros(), System.nanoTime()));
+            return;
+        }
+        RemoteContext remote = context instanceof ReceiverContext<?> receiver ? extract(receiver) : null;
+        context.put(SpanState.class, remote != null
+                ? new SpanState(remote.traceId, newSpanId(), remote.spanId, true, currentEpochMicros(), System.nanoTime())
+                : new SpanState(newTraceId(), newSpanId(), null, false, currentEpochMicros(), System.nanoTime()));
+    }
+
+    @Override
+    public void onStop(Observation.Context context) {
+        SpanState state = context.get(SpanState.class);
+        if (state == null) {
+            return;
+        }
+        Map<String, String> tags = new HashMap<>();
+        for (KeyValue keyValue : context.getLowCardinalityKeyValues()) {
+            tags.put(keyValue.getKey(), keyValue.getValue());
+        }
+        boolean error = context.getError() != null || SERVER_ERROR.equals(tags.get(OUTCOME));
+        String name = context.getContextualName() != null ? context.getContextualName() : context.getName();
+
+        buffer.onSpanEnd(new SpanRecord(state.traceId, state.spanId, state.parentSpanId, name,
+                state.startEpochMicros, System.nanoTime() - state.startNanos, error, Map.copyOf(tags),
+                state.remoteParent));
+    }
+
+    @Override
+    public void onScopeOpened(Observation.Context context) {
+        putMdc(context.get(SpanState.class));
+    }
+
+    @Override
+    public void onScopeClosed(Observation.Context context) {
+        putMdc(parentState(context));
+    }
+
+    @Override
+    public void onScopeReset(Observation.Context context) {
+        putMdc(null);
+    }
+
+    @Override
+    public boolean supportsContext(Observation.Context context) {
+        return true;
+    }
+
+    private static SpanState parentState(Observation.Context context) {
+        ObservationView parent = context.getParentObservation();
+        return parent != null ? parent.getContextView().get(SpanState.class) : null;
+    }
+
+    private static <C> RemoteContext extract(ReceiverContext<C> receiver) {
+        C carrier = receiver.getCarrier();
+        if (carrier == null) {
+            return null;
+        }
+        RemoteContext remote = fromTraceparent(receiver.getGetter().get(carrier, TRACEPARENT));
+        if (remote == null) {
+            remote = fromB3(receiver.getGetter().get(carrier, B3));
+        }
+        if (remote == null) {
+            remote = fromB3(receiver.getGetter().get(carrier, B3_TRACE_ID), receiver.getGetter().get(carrier, B3_SPAN_ID));
+        }
+        return remote;
+    }
+
+    /**
+     * W3C Trace Context：{version}-{trace-id}-{parent-id}-{flags}，版本 ff 與全零 ID 無效
+     */
+    static RemoteContext fromTraceparent(String header) {
+        if (header == null) {
+            return null;
+        }
+        Matcher matcher = TRACEPARENT_FORMAT.matcher(header.trim().toLowerCase(Locale.ROOT));
+        if (!matcher.matches() || "ff".equals(matcher.group(1))
+                || ("00".equals(matcher.group(1)) && matcher.group(4) != null)) {
+            return null;
+        }
+        return remote(matcher.group(2), matcher.group(3));
+    }
+
+    /**
+     * B3 單一標頭：{TraceId}-{SpanId}[-{SamplingState}[-{ParentSpanId}]]，只有取樣旗標（例如 "0"）時沒有上游 Span
+     */
+    static RemoteContext fromB3(String header) {
+        if (header == null) {
+            return null;
+        }
+        String[] parts = header.trim().split("-");
+        return parts.length >= 2 && parts.length <= 4 ? fromB3(parts[0], parts[1]) : null;
+    }
+
+    static RemoteContext fromB3(String traceId, String spanId) {
+        if (traceId == null || spanId == null) {
+            return null;
+        }
+        traceId = traceId.trim().toLowerCase(Locale.ROOT);
+        spanId = spanId.trim().toLowerCase(Locale.ROOT);
+        if (!B3_TRACE_ID_FORMAT.matcher(traceId).matches() || !B3_SPAN_ID_FORMAT.matcher(spanId).matches()) {
+            return null;
+        }
+        return remote(traceId, spanId);
+    }
+
+    private static RemoteContext remote(String traceId, String spanId) {
+        if (isAllZero(traceId) || isAllZero(spanId)) {
+            return null;
+        }
+        return new RemoteContext(traceId, spanId);
+    }
+
+    private static boolean isAllZero(String hex) {
+        return hex.chars().allMatch(c -> c == '0');
+    }
+
+    private static void putMdc(SpanState state) {
+        if (state == null) {
+            MDC.remove(MDC_TRACE_ID);
+            MDC.remove(MDC_SPAN_ID);
+        } else {
+            MDC.put(MDC_TRACE_ID, state.traceId);
+            MDC.put(MDC_SPAN_ID, state.spanId);
+        }
+    }
+
+    private static String newTraceId() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return toHex(random.nextLong()) + toHex(random.nextLong());
+    }
+
+    private static String newSpanId() {
+        return toHex(ThreadLocalRandom.current().nextLong());
+    }
+
+    private static String toHex(long value) {
+        String hex = Long.toHexString(value);
+        return "0".repeat(16 - hex.length()) + hex;
+    }
+
+    private static long currentEpochMicros() {
+        Instant now = Instant.now();
+        return now.getEpochSecond() * 1_000_000 + now.getNano() / 1_000;
+    }
+
+    /**
+     * 存放於 Observation.Context 中的 Span 識別與開始時間
+     */
+    private record SpanState(String traceId, String spanId, String parentSpanId, boolean remoteParent,
+                             long startEpochMicros, long startNanos) {
+    }
+
+    /**
+     * 從請求標頭取得的上游 Trace ID 與 Span ID
+     */
+    record RemoteContext(String traceId, String spanId) {
+    }
+}
@@ -0,0 +1,73 @@
+package com.petlearning.tracing.sampling;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * 尾端取樣策略：Trace 完成後依內容決定是否匯出
+ *
+ * 判斷順序：
+ * 1. 任一 Span 發生錯誤 → ERROR
+ * 2. Trace 延遲（最長的 Span，通常是根 Span）超過門檻 → LATENCY
+ * 3. 依 Trace ID 雜湊落在基準比例內 → BASELINE
+ * 4. 其餘 → DROP
+ *
+ * BASELINE 只看 Trace ID：上游以 traceparent / B3 標頭傳遞 Trace ID 時，
+ * 同一個 Trace 在每個服務的結果都相同（見 {@link TailSamplingObservationHandler}）。
+ * ERROR / LATENCY 只看得到本服務內的 Span，上游服務不會因為下游失敗或變慢而匯出自己的 Span。
+ */
+public class TailSamplingPolicy {
+
+    public enum Decision {
+        ERROR, LATENCY, BASELINE, DROP;
+
+        public boolean isSampled() {
+            return this != DROP;
+        }
+    }
+
+    private final long latencyThresholdNanos;
+    private final long baselineBound;
+
+    /**
+     * @param latencyThreshold 延遲門檻
+     * @param baselineRate 基準取樣比例（0.0 ~ 1.0）
+     */
+    public TailSamplingPolicy(Duration latencyThreshold, double baselineRate) {
+        if (baselineRate < 0 || baselineRate > 1) {
+            throw new IllegalArgumentException("baselineRate must be between 0 and 1: " + baselineRate);
+        }
+        this.latencyThresholdNanos = latencyThreshold.toNanos();
+        this.baselineBound = (long) (baselineRate * (1L << 53));
+    }
+
+    public Decision decide(String traceId, List<SpanRecord> spans) {
+        long maxDuration = 0;
+        for (SpanRecord span : spans) {
+            if (span.error()) {
+                return Decision.ERROR;
+            }
+            maxDuration = Math.max(maxDuration, span.durationNanos());
+        }
+        if (maxDuration >= latencyThresholdNanos) {
+            return Decision.LATENCY;
+        }
+        if (baselineHash(traceId) < baselineBound) {
+            return Decision.BASELINE;
+        }
+        return Decision.DROP;
+    }
+
+    /**
+     * 取 Trace ID 最後 13 個十六進位字元（52 bits）作為均勻分布的雜湊值，左移 1 位對齊 2^53
+     */
+    private static long baselineHash(String traceId) {
+        int length = traceId.length();
+        String tail = length > 13 ? traceId.substring(length - 13) : traceId;
+        try {
+            return Long.parseUnsignedLong(tail, 16) << 1;
+        } catch (NumberFormatException ex) {
+            return (traceId.hashCode() & 0x7fffffffL) << 22;
+        }
+    }
+}
@@ -0,0 +1,234 @@
+package com.petlearning.tracing.sampling;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * 尾端取樣的 Span 暫存區
+ *
+ * 流程：
+ * 1. 每個結束的 Span 依 Trace ID 放入該 Trace 的暫存
+ * 2. 根 Span 結束代表 Trace 完成，交給 {@link TailSamplingPolicy} 決定是否匯出
+ * 3. 匯出或丟棄後立即釋放該 Trace 的暫存
+ *
+ * 記憶體上限：
+ * - maxSpans：所有 Trace 合計的 Span 數上限，超過時淘汰最早開始暫存的 Trace
+ * - maxSpansPerTrace：單一 Trace 的 Span 數上限，超過的 Span 直接丟棄（避免單一 Trace 佔滿暫存）
+ * - traceTimeout：根 Span 遲遲未結束的 Trace，由背景執行緒定期以 {@link #evictExpired()} 淘汰
+ *
+ * 被淘汰的 Trace 仍會以已暫存的 Span 執行一次取樣判斷，錯誤或慢的 Trace 不會因為記憶體壓力而遺失。
+ */
+public class TailSamplingSpanBuffer implements InitializingBean, DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(TailSamplingSpanBuffer.class);
+
+    public enum EvictionReason {
+        CAPACITY, TIMEOUT
+    }
+
+    private final TailSamplingPolicy policy;
+    private final SpanExporter exporter;
+    private final int maxSpans;
+    private final int maxSpansPerTrace;
+    private final long traceTimeoutNanos;
+    private final LongSupplier nanoClock;
+
+    private final Map<String, TraceBuffer> traces = new ConcurrentHashMap<>();
+    private final Queue<TraceBuffer> insertionOrder = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger bufferedSpans = new AtomicInteger();
+
+    private final Map<TailSamplingPolicy.Decision, LongAdder> decisions = new EnumMap<>(TailSamplingPolicy.Decision.class);
+    private final Map<EvictionReason, LongAdder> evictions = new EnumMap<>(EvictionReason.class);
+    private final LongAdder droppedSpans = new LongAdder();
+    private ScheduledExecutorService sweeper;
+
+    public TailSamplingSpanBuffer(TailSamplingPolicy policy, SpanExporter exporter,
+                                  int maxSpans, int maxSpansPerTrace, Duration traceTimeout) {
+        this(policy, exporter, maxSpans, maxSpansPerTrace, traceTimeout, System::nanoTime);
+    }
+
+    TailSamplingSpanBuffer(TailSamplingPolicy policy, SpanExporter exporter,
+                           int maxSpans, int maxSpansPerTrace, Duration traceTimeout, LongSupplier nanoClock) {
+        this.policy = policy;
+        this.exporter = exporter;
+        this.maxSpans = maxSpans;
+        this.maxSpansPerTrace = maxSpansPerTrace;
+        this.traceTimeoutNanos = traceTimeout.toNanos();
+        this.nanoClock = nanoClock;
+        for (TailSamplingPolicy.Decision decision : TailSamplingPolicy.Decision.values()) {
+            decisions.put(decision, new LongAdder());
+        }
+        for (EvictionReason reason : EvictionReason.values()) {
+            evictions.put(reason, new LongAdder());
+        }
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        long intervalMillis = Math.max(100, TimeUnit.NANOSECONDS.toMillis(traceTimeoutNanos) / 10);
+        sweeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "tail-sampling-sweeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        sweeper.scheduleWithFixedDelay(this::evictExpired, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void destroy() {
+        if (sweeper != null) {
+            sweeper.shutdownNow();
+        }
+    }
+
+    /**
+     * 接收一個結束的 Span（請求路徑上呼叫）
+     */
+    public void onSpanEnd(SpanRecord span) {
+        while (bufferedSpans.get() >= maxSpans) {
+            if (!evictOldest()) {
+                break;
+            }
+        }
+
+        TraceBuffer trace = traces.computeIfAbsent(span.traceId(), id -> {
+            TraceBuffer created = new TraceBuffer(id, nanoClock.getAsLong());
+            insertionOrder.add(created);
+            return created;
+        });
+        if (!trace.add(span, maxSpansPerTrace)) {
+            droppedSpans.increment();
+        } else {
+            bufferedSpans.incrementAndGet();
+        }
+
+        if (span.isRoot()) {
+            complete(trace, null);
+        }
+    }
+
+    /**
+     * 淘汰逾時未完成的 Trace
+     */
+    public void evictExpired() {
+        long now = nanoClock.getAsLong();
+        for (TraceBuffer trace : traces.values()) {
+            if (now - trace.createdNanos >= traceTimeoutNanos) {
+                complete(trace, EvictionReason.TIMEOUT);
+            }
+        }
+        insertionOrder.removeIf(TraceBuffer::isClosed);
+    }
+
+    private boolean evictOldest() {
+        TraceBuffer oldest;
+        while ((oldest = insertionOrder.poll()) != null) {
+            if (!oldest.isClosed()) {
+                complete(oldest, EvictionReason.CAPACITY);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 只有成功從暫存移除 Trace 的執行緒會做取樣判斷，避免重複匯出
+     */
+    private void complete(TraceBuffer trace, EvictionReason eviction) {
+        if (!traces.remove(trace.traceId, trace)) {
+            return;
+        }
+        List<SpanRecord> spans = trace.close();
+        bufferedSpans.addAndGet(-spans.size());
+        if (eviction != null) {
+            evictions.get(eviction).increment();
+        }
+
+        TailSamplingPolicy.Decision decision = policy.decide(trace.traceId, spans);
+        decisions.get(decision).increment();
+        if (decision.isSampled()) {
+            try {
+                exporter.export(spans);
+            } catch (RuntimeException ex) {
+                logger.warn("Span export failed for trace {}", trace.traceId, ex);
+            }
+        }
+    }
+
+    public int getBufferedTraces() {
+        return traces.size();
+    }
+
+    public int getBufferedSpans() {
+        return bufferedSpans.get();
+    }
+
+    /**
+     * 暫存使用率（0.0 ~ 1.0）
+     */
+    public double getUtilization() {
+        return (double) bufferedSpans.get() / maxSpans;
+    }
+
+    public long getDecisionCount(TailSamplingPolicy.Decision decision) {
+        return decisions.get(decision).sum();
+    }
+
+    public long getEvictionCount(EvictionReason reason) {
+        return evictions.get(reason).sum();
+    }
+
+    public long getDroppedSpans() {
+        return droppedSpans.sum();
+    }
+
+    /**
+     * 單一 Trace 的暫存；關閉後拒絕新的 Span（晚到的 Span 計入丟棄）
+     */
+    private static final class TraceBuffer {
+
+        private final String traceId;
+        private final long createdNanos;
+        private final List<SpanRecord> spans = new ArrayList<>(8);
+        private boolean closed;
+
+        TraceBuffer(String traceId, long createdNanos) {
+            this.traceId = traceId;
+            this.createdNanos = createdNanos;
+        }
+
+        synchronized boolean add(SpanRecord span, int limit) {
+            if (closed || spans.size() >= limit) {
+                return false;
+            }
+            spans.add(span);
+            return true;
+        }
+
+        synchronized List<SpanRecord> close() {
+            closed = true;
+            return List.copyOf(spans);
+        }
+
+        synchronized boolean isClosed() {
+            return closed;
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.petlearning.tracing.export;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.petlearning.tracing.sampling.SpanRecord;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 非同步批次匯出測試（以 {@link StubZipkinCollector} 代替 Zipkin）
+ */
+class BatchingSpanExporterTest {
+
+    private StubZipkinCollector collector;
+    private BatchingSpanExporter exporter;
+
+    @BeforeEach
+    void startCollector() throws Exception {
+        collector = new StubZipkinCollector();
+    }
+
+    @AfterEach
+    void stop() throws Exception {
+        if (exporter != null) {
+            exporter.destroy();
+        }
+        collector.close();
+    }
+
+    @Test
+    void should_SendCompressedBatches_When_SpansAreExported() throws Exception {
+        // Given
+        exporter = exporter(1024, 100, Duration.ofMillis(100));
+
+        // When
+        exporter.export(List.of(
+                new SpanRecord("t1", "c1", "r1", "step", 1_000_000, 2_500_000, true, Map.of("step", "1")),
+                new SpanRecord("t1", "r1", null, "request", 1_000_000, 10_000_000, false, Map.of())));
+        exporter.export(spans(248));
+        await(() -> collector.spans().size() == 250 && exporter.getSentSpans() == 250);
+
+        // Then
+        assertThat(collector.batches()).isGreaterThanOrEqualTo(3);
+        assertThat(collector.gzipBatches()).isEqualTo(collector.batches());
+        assertThat(exporter.getSentSpans()).isEqualTo(250);
+        assertThat(exporter.getSender().getSentBytes()).isLessThan(exporter.getSender().getRawBytes());
+
+        JsonNode child = collector.spans().stream()
+                .filter(span -> span.path("id").asText().equals("c1"))
+                .findFirst().orElseThrow();
+        assertThat(child.path("traceId").asText()).isEqualTo("t1");
+        assertThat(child.path("parentId").asText()).isEqualTo("r1");
+        assertThat(child.path("timestamp").asLong()).isEqualTo(1_000_000);
+        assertThat(child.path("duration").asLong()).isEqualTo(2500);
+        assertThat(child.path("localEndpoint").path("serviceName").asText()).isEqualTo("test-service");
+        assertThat(child.path("tags").path("step").asText()).isEqualTo("1");
+        assertThat(child.path("tags").path("error").asText()).isEqualTo("true");
+    }
+
+    @Test
+    void should_DropSpansWithoutBlocking_When_CollectorIsSlow() throws Exception {
+        // Given：Zipkin 每批要 500ms，緩衝區只有 64 個位置
+        collector.delay(500);
+        exporter = exporter(64, 16, Duration.ofMillis(10));
+
+        // When
+        long start = System.nanoTime();
+        for (int i = 0; i < 100; i++) {
+            exporter.export(spans(100));
+        }
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        // Then：呼叫端不受 Zipkin 速度影響，多出來的 Span 被丟棄
+        assertThat(elapsedMillis).isLessThan(400);
+        assertThat(exporter.getDroppedSpans()).isGreaterThan(9000);
+        assertThat(exporter.getQueuedSpans()).isLessThanOrEqualTo(64);
+    }
+
+    @Test
+    void should_CountFailedSpans_When_CollectorRejectsBatch() throws Exception {
+        // Given
+        collector.respondWith(503);
+        exporter = exporter(1024, 10, Duration.ofMillis(50));
+
+        // When
+        exporter.export(spans(30));
+        await(() -> exporter.getFailedSpans() == 30);
+
+        // Then
+        assertThat(exporter.getSentSpans()).isZero();
+        assertThat(collector.spans()).isEmpty();
+    }
+
+    @Test
+    void should_FlushRemainingSpans_When_Destroyed() throws Exception {
+        // Given：未滿一批且離下次定時送出還很久
+        exporter = exporter(1024, 1000, Duration.ofHours(1));
+        exporter.export(spans(10));
+
+        // When
+        exporter.destroy();
+
+        // Then
+        assertThat(collector.spans()).hasSize(10);
+    }
+
+    @Test
+    void should_FlushPartialBatch_When_DestroyedAfterSenderDrainedBuffer() throws Exception {
+        // Given：傳送執行緒已把 Span 取到本地批次（每 1 秒檢查一次），緩衝區是空的，離定時送出還有 10 秒
+        exporter = exporter(1024, 1000, Duration.ofSeconds(10));
+        exporter.export(spans(10));
+        await(() -> exporter.getQueuedSpans() == 0);
+
+        // When
+        exporter.destroy();
+
+        // Then
+        assertThat(collector.spans()).hasSize(10);
+        assertThat(exporter.getSentSpans()).isEqualTo(10);
+    }
+
+    private BatchingSpanExporter exporter(int capacity, int batchSize, Duration flushInterval) {
+        ZipkinHttpSender sender = new ZipkinHttpSender(collector.endpoint(), Duration.ofSeconds(1),
+                Duration.ofSeconds(5), true, new ZipkinJsonEncoder("test-service"));
+        BatchingSpanExporter created = new BatchingSpanExporter(sender, capacity, batchSize, flushInterval,
+                Duration.ofSeconds(5));
+        created.afterPropertiesSet();
+        return created;
+    }
+
+    private static List<SpanRecord> spans(int count) {
+        List<SpanRecord> spans = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            spans.add(new SpanRecord("0af7651916cd43dd8448eb211c80319c", Integer.toHexString(i), null,
+                    "http.server.requests", 1_700_000_000_000_000L, 1_000_000, false,
+                    Map.of("method", "GET", "uri", "/api/tracing/multi-step", "outcome", "SUCCESS")));
+        }
+        return spans;
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(condition.getAsBoolean()).isTrue();
+    }
+}
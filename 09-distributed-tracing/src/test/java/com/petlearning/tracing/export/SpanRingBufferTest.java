@@ -0,0 +1,111 @@
+package com.petlearning.tracing.export;
+
+import com.petlearning.tracing.sampling.SpanRecord;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 無鎖環形緩衝區測試
+ */
+class SpanRingBufferTest {
+
+    @Test
+    void should_RejectOffer_When_BufferIsFull() {
+        // Given：容量 5 向上取整為 8
+        SpanRingBuffer buffer = new SpanRingBuffer(5);
+
+        // When
+        int accepted = 0;
+        for (int i = 0; i < 10; i++) {
+            if (buffer.offer(span(i))) {
+                accepted++;
+            }
+        }
+
+        // Then
+        assertThat(buffer.capacity()).isEqualTo(8);
+        assertThat(accepted).isEqualTo(8);
+        assertThat(buffer.size()).isEqualTo(8);
+    }
+
+    @Test
+    void should_ReuseSlotsInOrder_When_DrainedAndRefilled() {
+        // Given
+        SpanRingBuffer buffer = new SpanRingBuffer(4);
+        List<SpanRecord> drained = new ArrayList<>();
+
+        // When：繞行緩衝區多圈
+        for (int i = 0; i < 10; i++) {
+            buffer.offer(span(i));
+            if (i % 3 == 2) {
+                buffer.drainTo(drained, 3);
+            }
+        }
+        buffer.drainTo(drained, Integer.MAX_VALUE);
+
+        // Then
+        assertThat(drained).extracting(SpanRecord::spanId)
+                .containsExactly("0", "1", "2", "3", "4", "5", "6", "7", "8", "9");
+        assertThat(buffer.isEmpty()).isTrue();
+    }
+
+    @Test
+    void should_NeitherLoseNorDuplicateSpans_When_ProducersRunConcurrently() throws Exception {
+        // Given
+        SpanRingBuffer buffer = new SpanRingBuffer(1024);
+        int producers = 8;
+        int perProducer = 20_000;
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            int producer = p;
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < perProducer; i++) {
+                    SpanRecord span = span(producer * perProducer + i);
+                    while (!buffer.offer(span)) {
+                        Thread.yield();
+                    }
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+
+        // When：單一消費者持續取出
+        start.countDown();
+        Set<String> seen = new HashSet<>();
+        List<SpanRecord> batch = new ArrayList<>();
+        int expected = producers * perProducer;
+        int received = 0;
+        while (received < expected) {
+            batch.clear();
+            received += buffer.drainTo(batch, 256);
+            batch.forEach(span -> seen.add(span.spanId()));
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        // Then
+        assertThat(received).isEqualTo(expected);
+        assertThat(seen).hasSize(expected);
+        assertThat(buffer.isEmpty()).isTrue();
+    }
+
+    private static SpanRecord span(int id) {
+        return new SpanRecord("trace", String.valueOf(id), null, "test", 0, 1000, false, Map.of());
+    }
+}
@@ -0,0 +1,90 @@
+package com.petlearning.tracing.export;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * 測試用 Zipkin 收集端（POST /api/v2/spans）
+ *
+ * 解壓並解析每個批次，保留收到的 Span；可設定回應延遲與狀態碼，模擬 Zipkin 變慢或故障。
+ */
+class StubZipkinCollector implements AutoCloseable {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final HttpServer server;
+    private final List<JsonNode> spans = new CopyOnWriteArrayList<>();
+    private final AtomicInteger batches = new AtomicInteger();
+    private final AtomicInteger gzipBatches = new AtomicInteger();
+    private volatile long delayMillis;
+    private volatile int status = 202;
+
+    StubZipkinCollector() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/api/v2/spans", this::handle);
+        server.setExecutor(Executors.newFixedThreadPool(4));
+        server.start();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (delayMillis > 0) {
+                Thread.sleep(delayMillis);
+            }
+            boolean gzip = "gzip".equals(exchange.getRequestHeaders().getFirst("Content-Encoding"));
+            InputStream body = gzip ? new GZIPInputStream(exchange.getRequestBody()) : exchange.getRequestBody();
+            JsonNode batch = MAPPER.readTree(body);
+            if (status / 100 == 2) {
+                batch.forEach(spans::add);
+                batches.incrementAndGet();
+                if (gzip) {
+                    gzipBatches.incrementAndGet();
+                }
+            }
+            exchange.sendResponseHeaders(status, -1);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    URI endpoint() {
+        return URI.create("http://127.0.0.1:" + server.getAddress().getPort() + "/api/v2/spans");
+    }
+
+    List<JsonNode> spans() {
+        return spans;
+    }
+
+    int batches() {
+        return batches.get();
+    }
+
+    int gzipBatches() {
+        return gzipBatches.get();
+    }
+
+    void delay(long millis) {
+        this.delayMillis = millis;
+    }
+
+    void respondWith(int status) {
+        this.status = status;
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+}
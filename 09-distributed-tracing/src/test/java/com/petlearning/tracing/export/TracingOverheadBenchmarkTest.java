@@ -0,0 +1,133 @@
+package com.petlearning.tracing.export;
+
+import com.petlearning.tracing.TracingServerApplication;
+import com.petlearning.tracing.sampling.SpanExporter;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 追蹤開啟 / 關閉時每個請求的額外延遲
+ *
+ * 預設不執行，使用以下指令執行：
+ * mvn test -Dbenchmark=true -Dtest=TracingOverheadBenchmarkTest
+ *
+ * 比較的設定（皆呼叫 GET /api/tracing/multi-step，一個請求產生 3 個 Span）：
+ * - off：關閉尾端取樣，不產生 Span
+ * - async：每個 Trace 都取樣（baseline-rate = 1.0），經 {@link BatchingSpanExporter} 非同步送出
+ * - sync：每個 Trace 都取樣，在請求執行緒上直接以 {@link ZipkinHttpSender} 送出（原本的做法）
+ *
+ * 收集端為 {@link StubZipkinCollector}，每批回應前延遲 5ms，模擬經過網路的 Zipkin。
+ * 以 JUnit 實作而非 JMH（專案未引入 JMH），數字適合相互比較，不適合當絕對值。
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class TracingOverheadBenchmarkTest {
+
+    private static final int WARMUP_REQUESTS = 2_000;
+    private static final int MEASURED_REQUESTS = 5_000;
+
+    private static StubZipkinCollector collector;
+    private static final HttpClient CLIENT = HttpClient.newHttpClient();
+
+    /**
+     * sync 模式：以同步傳送的 SpanExporter 取代預設匯出器
+     */
+    @Configuration
+    static class SyncExportConfig {
+
+        @Bean
+        public SpanExporter syncSpanExporter() {
+            ZipkinHttpSender sender = new ZipkinHttpSender(collector.endpoint(), Duration.ofSeconds(1),
+                    Duration.ofSeconds(5), true, new ZipkinJsonEncoder("tracing-benchmark"));
+            return spans -> {
+                try {
+                    sender.send(spans);
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            };
+        }
+    }
+
+    @BeforeAll
+    static void startCollector() throws IOException {
+        collector = new StubZipkinCollector();
+        collector.delay(5);
+    }
+
+    @AfterAll
+    static void stopCollector() {
+        collector.close();
+    }
+
+    @Test
+    void should_ReportPerRequestOverhead_When_TracingIsOnOrOff() throws Exception {
+        Map<String, long[]> results = new LinkedHashMap<>();
+        results.put("off", measure(new Class<?>[]{TracingServerApplication.class},
+                "--tracing.tail-sampling.enabled=false"));
+        results.put("async", measure(new Class<?>[]{TracingServerApplication.class},
+                "--tracing.tail-sampling.baseline-rate=1.0",
+                "--tracing.export.zipkin.enabled=true",
+                "--tracing.export.zipkin.endpoint=" + collector.endpoint(),
+                "--tracing.export.zipkin.flush-interval=200ms"));
+        results.put("sync", measure(new Class<?>[]{TracingServerApplication.class, SyncExportConfig.class},
+                "--tracing.tail-sampling.baseline-rate=1.0"));
+
+        System.out.printf("%-8s %12s %12s %12s%n", "mode", "mean us", "p50 us", "p99 us");
+        results.forEach((mode, stats) -> System.out.printf("%-8s %12d %12d %12d%n",
+                mode, stats[0], stats[1], stats[2]));
+        System.out.printf("collector received %d spans in %d batches%n",
+                collector.spans().size(), collector.batches());
+
+        assertThat(results.get("async")[0]).isLessThan(results.get("sync")[0]);
+    }
+
+    /**
+     * @return [mean, p50, p99]（微秒）
+     */
+    private static long[] measure(Class<?>[] sources, String... args) throws Exception {
+        String[] allArgs = Arrays.copyOf(args, args.length + 2);
+        allArgs[args.length] = "--server.port=0";
+        allArgs[args.length + 1] = "--logging.level.com.petlearning.tracing=WARN";
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(sources).run(allArgs)) {
+            String port = context.getEnvironment().getProperty("local.server.port");
+            HttpRequest request = HttpRequest.newBuilder(
+                    URI.create("http://127.0.0.1:" + port + "/api/tracing/multi-step")).GET().build();
+
+            for (int i = 0; i < WARMUP_REQUESTS; i++) {
+                CLIENT.send(request, HttpResponse.BodyHandlers.discarding());
+            }
+            long[] micros = new long[MEASURED_REQUESTS];
+            long total = 0;
+            for (int i = 0; i < MEASURED_REQUESTS; i++) {
+                long start = System.nanoTime();
+                CLIENT.send(request, HttpResponse.BodyHandlers.discarding());
+                micros[i] = (System.nanoTime() - start) / 1000;
+                total += micros[i];
+            }
+            Arrays.sort(micros);
+            return new long[]{
+                    total / MEASURED_REQUESTS,
+                    micros[MEASURED_REQUESTS / 2],
+                    micros[(int) Math.ceil(MEASURED_REQUESTS * 0.99) - 1]};
+        }
+    }
+}
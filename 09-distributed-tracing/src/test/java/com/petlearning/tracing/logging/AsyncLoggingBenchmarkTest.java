@@ -0,0 +1,225 @@
+package com.petlearning.tracing.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.OutputStreamAppender;
+import ch.qos.logback.core.encoder.Encoder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 同步 vs 非同步日誌：請求延遲、吞吐量與編碼配置
+ *
+ * 預設不執行，使用以下指令執行：
+ * mvn test -Dbenchmark=true -Dtest=AsyncLoggingBenchmarkTest
+ *
+ * 每個「請求」模擬 TracingDemoController.multiStep：設定 MDC 中的 traceId / spanId 後寫 6 行 INFO 日誌。
+ * 日誌寫到暫存檔（每個事件 flush 一次，與 ConsoleAppender 預設相同）。
+ *
+ * 每種設定跑兩輪：
+ * - saturated：請求一個接一個不間斷送出（日誌產生速度超過寫檔速度，非同步設定會丟棄）
+ * - paced：固定每秒 10,000 個請求（6 萬行 / 秒），代表正常負載
+ *
+ * 比較的設定：
+ * - sync/pattern：請求執行緒直接寫檔，PatternLayoutEncoder（Spring Boot 預設的做法）
+ * - async/pattern：{@link DroppingAsyncAppender} + PatternLayoutEncoder
+ * - async/trace：{@link DroppingAsyncAppender} + {@link TraceContextEncoder}（logback-spring.xml 的設定）
+ *
+ * 以 JUnit 實作而非 JMH（專案未引入 JMH），數字適合相互比較，不適合當絕對值。
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class AsyncLoggingBenchmarkTest {
+
+    private static final String PATTERN =
+            "%d{yyyy-MM-dd'T'HH:mm:ss.SSSXXX} %5p [%t] [%X{traceId},%X{spanId}] %logger{39} : %m%n";
+    private static final int WARMUP_REQUESTS = 20_000;
+    private static final int MEASURED_REQUESTS = 50_000;
+    private static final int LINES_PER_REQUEST = 6;
+    private static final long PACED_INTERVAL_NANOS = 100_000;
+
+    private final LoggerContext loggerContext = (LoggerContext) LoggerFactory.getILoggerFactory();
+    private final List<Logger> loggers = new ArrayList<>();
+    private static volatile int sink;
+
+    @TempDir
+    Path tempDir;
+
+    @AfterEach
+    void detach() {
+        loggers.forEach(Logger::detachAndStopAllAppenders);
+    }
+
+    @Test
+    void should_ReportLatencyAndThroughput_When_ComparingSyncAndAsyncLogging() throws Exception {
+        Map<String, Result> results = new LinkedHashMap<>();
+        for (long interval : new long[]{0, PACED_INTERVAL_NANOS}) {
+            String load = interval == 0 ? "saturated" : "paced";
+            results.put("sync/pattern " + load, run("sync/pattern", false, patternEncoder(), interval));
+            results.put("async/pattern " + load, run("async/pattern", true, patternEncoder(), interval));
+            results.put("async/trace " + load, run("async/trace", true, new TraceContextEncoder(), interval));
+        }
+
+        System.out.printf("%-24s %10s %10s %10s %14s %10s%n",
+                "setup", "mean us", "p50 us", "p99 us", "written ev/s", "dropped");
+        results.forEach((name, r) -> System.out.printf("%-24s %10.1f %10.1f %10.1f %14d %10d%n",
+                name, r.meanMicros, r.p50Micros, r.p99Micros, r.eventsPerSecond, r.dropped));
+
+        long patternBytes = allocationPerEncode(patternEncoder());
+        long traceBytes = allocationPerEncode(new TraceContextEncoder());
+        System.out.printf("encoder bytes/op: pattern=%d trace=%d%n", patternBytes, traceBytes);
+
+        assertThat(results.get("async/trace paced").p50Micros).isLessThan(results.get("sync/pattern paced").p50Micros);
+        assertThat(results.get("async/trace paced").dropped).isZero();
+        assertThat(traceBytes).isLessThan(patternBytes);
+    }
+
+    /**
+     * @param intervalNanos 請求之間的固定間隔，0 代表不間斷
+     */
+    private Result run(String name, boolean async, Encoder<ILoggingEvent> encoder, long intervalNanos)
+            throws IOException {
+        OutputStreamAppender<ILoggingEvent> file = new OutputStreamAppender<>();
+        file.setContext(loggerContext);
+        file.setName(name + "-file");
+        encoder.setContext(loggerContext);
+        encoder.start();
+        file.setEncoder(encoder);
+        file.setOutputStream(new FileOutputStream(
+                tempDir.resolve(name.replace('/', '-') + "-" + loggers.size() + ".log").toFile()));
+        file.start();
+
+        Appender<ILoggingEvent> front = file;
+        DroppingAsyncAppender asyncAppender = null;
+        if (async) {
+            asyncAppender = new DroppingAsyncAppender();
+            asyncAppender.setContext(loggerContext);
+            asyncAppender.setName(name);
+            asyncAppender.setQueueSize(8192);
+            asyncAppender.setMaxFlushTime(60_000);
+            asyncAppender.addAppender(file);
+            asyncAppender.start();
+            front = asyncAppender;
+        }
+
+        Logger logger = loggerContext.getLogger("com.petlearning.tracing.controller.Benchmark" + loggers.size());
+        logger.setAdditive(false);
+        logger.setLevel(Level.INFO);
+        logger.addAppender(front);
+        loggers.add(logger);
+
+        for (int i = 0; i < WARMUP_REQUESTS; i++) {
+            request(logger, i);
+        }
+        if (asyncAppender != null) {
+            awaitDrained(asyncAppender);
+        }
+
+        long[] nanos = new long[MEASURED_REQUESTS];
+        long droppedBefore = asyncAppender != null ? asyncAppender.getDroppedCount() + asyncAppender.getDiscardedCount() : 0;
+        long start = System.nanoTime();
+        long next = start;
+        for (int i = 0; i < MEASURED_REQUESTS; i++) {
+            if (intervalNanos > 0) {
+                next += intervalNanos;
+                while (System.nanoTime() < next) {
+                    Thread.onSpinWait();
+                }
+            }
+            long requestStart = System.nanoTime();
+            request(logger, i);
+            nanos[i] = System.nanoTime() - requestStart;
+        }
+        long dropped = 0;
+        if (asyncAppender != null) {
+            awaitDrained(asyncAppender);
+            dropped = asyncAppender.getDroppedCount() + asyncAppender.getDiscardedCount() - droppedBefore;
+        }
+        long elapsed = System.nanoTime() - start;
+
+        Arrays.sort(nanos);
+        double mean = Arrays.stream(nanos).average().orElse(0) / 1000.0;
+        long written = (long) MEASURED_REQUESTS * LINES_PER_REQUEST - dropped;
+        return new Result(mean, nanos[MEASURED_REQUESTS / 2] / 1000.0,
+                nanos[(int) Math.ceil(MEASURED_REQUESTS * 0.99) - 1] / 1000.0,
+                written * 1_000_000_000L / elapsed, dropped);
+    }
+
+    private static void request(Logger logger, int i) {
+        MDC.put("traceId", "4bf92f3577b34da6a3ce929d0e0e4736");
+        MDC.put("spanId", "00f067aa0ba902b7");
+        try {
+            logger.info("Step 1: 接收請求");
+            logger.info("Executing step 1");
+            logger.info("Step 2: 處理業務邏輯");
+            logger.info("Executing step 2");
+            logger.info("Step 3: 返回結果");
+            logger.info("Request {} completed", i);
+        } finally {
+            MDC.remove("traceId");
+            MDC.remove("spanId");
+        }
+    }
+
+    private static void awaitDrained(DroppingAsyncAppender appender) {
+        while (appender.getQueueDepth() > 0) {
+            Thread.onSpinWait();
+        }
+    }
+
+    private long allocationPerEncode(Encoder<ILoggingEvent> encoder) {
+        encoder.setContext(loggerContext);
+        encoder.start();
+        LoggingEvent event = new LoggingEvent();
+        event.setLoggerContext(loggerContext);
+        event.setLoggerName("com.petlearning.tracing.controller.TracingDemoController");
+        event.setLevel(Level.INFO);
+        event.setMessage("Executing step 1");
+        event.setThreadName("http-nio-9411-exec-1");
+        event.setMDCPropertyMap(Map.of("traceId", "4bf92f3577b34da6a3ce929d0e0e4736", "spanId", "00f067aa0ba902b7"));
+        event.setTimeStamp(System.currentTimeMillis());
+
+        int local = 0;
+        for (int i = 0; i < 200_000; i++) {
+            local += encoder.encode(event).length;
+        }
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        int ops = 100_000;
+        long before = threads.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < ops; i++) {
+            local += encoder.encode(event).length;
+        }
+        sink = local;
+        return (threads.getThreadAllocatedBytes(threadId) - before) / ops;
+    }
+
+    private PatternLayoutEncoder patternEncoder() {
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setPattern(PATTERN);
+        return encoder;
+    }
+
+    private record Result(double meanMicros, double p50Micros, double p99Micros, long eventsPerSecond, long dropped) {
+    }
+}
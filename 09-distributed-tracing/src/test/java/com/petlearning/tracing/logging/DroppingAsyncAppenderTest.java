@@ -0,0 +1,153 @@
+package com.petlearning.tracing.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.AppenderBase;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 非同步 Appender 測試
+ */
+class DroppingAsyncAppenderTest {
+
+    private final LoggerContext loggerContext = (LoggerContext) LoggerFactory.getILoggerFactory();
+    private final Logger logger = loggerContext.getLogger("async-appender-test");
+    private DroppingAsyncAppender async;
+
+    @AfterEach
+    void detach() {
+        logger.detachAndStopAllAppenders();
+        MDC.clear();
+    }
+
+    @Test
+    void should_NotBlockAndCountDrops_When_DownstreamIsSlow() {
+        // Given：下游每個事件 50ms，佇列 16 個，不主動捨棄
+        SinkAppender sink = new SinkAppender(50);
+        async = attach(sink, 16, 0);
+
+        // When
+        long start = System.nanoTime();
+        for (int i = 0; i < 1000; i++) {
+            logger.info("event {}", i);
+        }
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        // Then
+        assertThat(elapsedMillis).isLessThan(500);
+        assertThat(async.getDroppedCount()).isGreaterThan(900);
+        assertThat(async.getEnqueuedCount() + async.getDroppedCount()).isEqualTo(1000);
+    }
+
+    @Test
+    void should_KeepMdcFromCallingThread_When_EventIsWrittenLater() throws Exception {
+        // Given
+        SinkAppender sink = new SinkAppender(0);
+        async = attach(sink, 16, 0);
+
+        // When
+        MDC.put("traceId", "4bf92f3577b34da6a3ce929d0e0e4736");
+        MDC.put("spanId", "00f067aa0ba902b7");
+        logger.info("inside span");
+        MDC.clear();
+        logger.info("outside span");
+        sink.await(2);
+
+        // Then
+        assertThat(sink.events.get(0).getMDCPropertyMap()).containsEntry("traceId", "4bf92f3577b34da6a3ce929d0e0e4736");
+        assertThat(sink.events.get(1).getMDCPropertyMap()).doesNotContainKey("traceId");
+        assertThat(sink.events.get(1).getThreadName()).isEqualTo(Thread.currentThread().getName());
+    }
+
+    @Test
+    void should_DiscardInfoButKeepWarn_When_QueueIsNearlyFull() {
+        // Given：下游卡住，佇列 10 個，剩 5 個以下就捨棄 INFO
+        SinkAppender sink = new SinkAppender(10_000);
+        async = attach(sink, 10, 5);
+
+        // When
+        for (int i = 0; i < 20; i++) {
+            logger.info("info {}", i);
+        }
+        logger.warn("warning");
+
+        // Then
+        assertThat(async.getDiscardedCount()).isGreaterThan(0);
+        assertThat(async.getEnqueuedCount()).isGreaterThan(async.getQueueSize() - 5);
+        assertThat(async.getDroppedCount()).isZero();
+    }
+
+    @Test
+    void should_FlushQueuedEvents_When_Stopped() throws Exception {
+        // Given
+        SinkAppender sink = new SinkAppender(1);
+        async = attach(sink, 100, 0);
+        for (int i = 0; i < 50; i++) {
+            logger.info("event {}", i);
+        }
+
+        // When
+        async.stop();
+
+        // Then
+        assertThat(sink.events).hasSize(50);
+    }
+
+    private DroppingAsyncAppender attach(SinkAppender sink, int queueSize, int discardingThreshold) {
+        sink.setContext(loggerContext);
+        sink.start();
+        DroppingAsyncAppender appender = new DroppingAsyncAppender();
+        appender.setContext(loggerContext);
+        appender.setName("test-async");
+        appender.setQueueSize(queueSize);
+        appender.setDiscardingThreshold(discardingThreshold);
+        appender.setMaxFlushTime(5000);
+        appender.addAppender(sink);
+        appender.start();
+        logger.setAdditive(false);
+        logger.setLevel(Level.INFO);
+        logger.addAppender(appender);
+        return appender;
+    }
+
+    private static final class SinkAppender extends AppenderBase<ILoggingEvent> {
+
+        private final List<ILoggingEvent> events = new CopyOnWriteArrayList<>();
+        private final long delayMillis;
+
+        SinkAppender(long delayMillis) {
+            this.delayMillis = delayMillis;
+        }
+
+        @Override
+        protected void append(ILoggingEvent event) {
+            if (delayMillis > 0) {
+                try {
+                    Thread.sleep(delayMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            events.add(event);
+        }
+
+        void await(int count) throws InterruptedException {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (events.size() < count && System.nanoTime() < deadline) {
+                Thread.sleep(5);
+            }
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.petlearning.tracing.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 固定格式編碼器測試
+ */
+class TraceContextEncoderTest {
+
+    private final LoggerContext loggerContext = new LoggerContext();
+
+    @Test
+    void should_WriteTraceAndSpanIds_When_PresentInMdc() {
+        // Given
+        TraceContextEncoder encoder = new TraceContextEncoder();
+        LoggingEvent event = event("Step 1: 接收請求",
+                Map.of("traceId", "4bf92f3577b34da6a3ce929d0e0e4736", "spanId", "00f067aa0ba902b7"));
+        event.setTimeStamp(1_700_000_000_007L);
+
+        // When
+        String line = new String(encoder.encode(event), StandardCharsets.UTF_8);
+
+        // Then
+        assertThat(line).isEqualTo("2023-11-14T22:13:20.007Z  INFO [http-nio-9411-exec-1] "
+                + "[4bf92f3577b34da6a3ce929d0e0e4736,00f067aa0ba902b7] "
+                + "c.p.t.c.TracingDemoController : Step 1: 接收請求" + System.lineSeparator());
+    }
+
+    @Test
+    void should_LeaveTraceSectionEmpty_When_NoSpanIsActive() {
+        // Given
+        TraceContextEncoder encoder = new TraceContextEncoder();
+
+        // When
+        String line = new String(encoder.encode(event("no span", Map.of())), StandardCharsets.UTF_8);
+
+        // Then
+        assertThat(line).contains("[http-nio-9411-exec-1] [] c.p.t.c.TracingDemoController : no span");
+    }
+
+    @Test
+    void should_AllocateOnlyTheOutputArray_When_Warm() {
+        // Given
+        TraceContextEncoder encoder = new TraceContextEncoder();
+        LoggingEvent event = event("Executing step 1",
+                Map.of("traceId", "4bf92f3577b34da6a3ce929d0e0e4736", "spanId", "00f067aa0ba902b7"));
+        int lineLength = encoder.encode(event).length;
+        for (int i = 0; i < 100_000; i++) {
+            encoder.encode(event);
+        }
+
+        // When
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        int ops = 10_000;
+        long before = threads.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < ops; i++) {
+            encoder.encode(event);
+        }
+        long perOp = (threads.getThreadAllocatedBytes(threadId) - before) / ops;
+
+        // Then：byte[] 標頭 16 bytes + 內容（對齊 8 bytes）
+        assertThat(perOp).isLessThanOrEqualTo(lineLength + 24);
+    }
+
+    @Test
+    void should_AbbreviatePackages_When_LoggerNameIsQualified() {
+        assertThat(TraceContextEncoder.abbreviate("com.petlearning.tracing.sampling.LoggingSpanExporter"))
+                .isEqualTo("c.p.t.s.LoggingSpanExporter");
+        assertThat(TraceContextEncoder.abbreviate("ROOT")).isEqualTo("ROOT");
+    }
+
+    private LoggingEvent event(String message, Map<String, String> mdc) {
+        LoggingEvent event = new LoggingEvent();
+        event.setLoggerContext(loggerContext);
+        event.setLoggerName("com.petlearning.tracing.controller.TracingDemoController");
+        event.setLevel(Level.INFO);
+        event.setMessage(message);
+        event.setThreadName("http-nio-9411-exec-1");
+        event.setMDCPropertyMap(mdc);
+        event.setTimeStamp(System.currentTimeMillis());
+        return event;
+    }
+}
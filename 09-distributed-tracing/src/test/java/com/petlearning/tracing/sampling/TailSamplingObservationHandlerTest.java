@@ -0,0 +1,150 @@
+package com.petlearning.tracing.sampling;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.observation.transport.ReceiverContext;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Observation 轉 Span 測試
+ *
+ * 基準比例 1.0：每個完成的 Trace 都會匯出，方便檢查 Span 內容。
+ */
+class TailSamplingObservationHandlerTest {
+
+    private final List<List<SpanRecord>> exported = new ArrayList<>();
+    private final ObservationRegistry registry = ObservationRegistry.create();
+
+    TailSamplingObservationHandlerTest() {
+        TailSamplingSpanBuffer buffer = new TailSamplingSpanBuffer(
+                new TailSamplingPolicy(Duration.ofSeconds(1), 1.0), exported::add, 100, 10, Duration.ofSeconds(30));
+        registry.observationConfig().observationHandler(new TailSamplingObservationHandler(buffer));
+    }
+
+    @Test
+    void should_LinkChildSpansToRoot_When_ObservationsAreNested() {
+        // When
+        Observation.createNotStarted("request", registry).observe(() -> {
+            Observation.createNotStarted("step", registry).lowCardinalityKeyValue("step", "1").observe(() -> { });
+            Observation.createNotStarted("step", registry).lowCardinalityKeyValue("step", "2").observe(() -> { });
+        });
+
+        // Then
+        assertThat(exported).hasSize(1);
+        List<SpanRecord> spans = exported.get(0);
+        assertThat(spans).hasSize(3);
+        SpanRecord root = spans.get(2);
+        assertThat(root.isRoot()).isTrue();
+        assertThat(root.name()).isEqualTo("request");
+        assertThat(root.traceId()).hasSize(32);
+        assertThat(spans.subList(0, 2)).allSatisfy(child -> {
+            assertThat(child.traceId()).isEqualTo(root.traceId());
+            assertThat(child.parentSpanId()).isEqualTo(root.spanId());
+        });
+        assertThat(spans.get(0).tags()).containsEntry("step", "1");
+    }
+
+    @Test
+    void should_MarkSpanAsError_When_ObservationFails() {
+        // When
+        try {
+            Observation.createNotStarted("request", registry).observe(() -> {
+                throw new IllegalStateException("boom");
+            });
+        } catch (IllegalStateException expected) {
+            // 例外會傳回呼叫端
+        }
+
+        // Then
+        assertThat(exported).hasSize(1);
+        assertThat(exported.get(0).get(0).error()).isTrue();
+    }
+
+    @Test
+    void should_ExposeCurrentSpanInMdc_When_ScopeIsOpen() {
+        // Given
+        List<Map<String, String>> seen = new ArrayList<>();
+
+        // When
+        Observation.createNotStarted("request", registry).observe(() -> {
+            seen.add(MDC.getCopyOfContextMap());
+            Observation.createNotStarted("step", registry).observe(() -> seen.add(MDC.getCopyOfContextMap()));
+            seen.add(MDC.getCopyOfContextMap());
+        });
+
+        // Then：子 Span 結束後還原為父 Span，全部結束後清除
+        SpanRecord child = exported.get(0).get(0);
+        SpanRecord root = exported.get(0).get(1);
+        assertThat(seen.get(0)).containsEntry("traceId", root.traceId()).containsEntry("spanId", root.spanId());
+        assertThat(seen.get(1)).containsEntry("traceId", root.traceId()).containsEntry("spanId", child.spanId());
+        assertThat(seen.get(2)).containsEntry("spanId", root.spanId());
+        assertThat(MDC.get("traceId")).isNull();
+    }
+
+    @Test
+    void should_StartNewTrace_When_ObservationHasNoParent() {
+        // When
+        Observation.createNotStarted("first", registry).observe(() -> { });
+        Observation.createNotStarted("second", registry).observe(() -> { });
+
+        // Then
+        assertThat(exported).hasSize(2);
+        assertThat(exported.get(0).get(0).traceId()).isNotEqualTo(exported.get(1).get(0).traceId());
+    }
+
+    @Test
+    void should_ContinueUpstreamTrace_When_RequestHasTraceparent() {
+        // When
+        receive(Map.of("traceparent", "00-0AF7651916CD43DD8448EB211C80319C-B7AD6B7169203331-01"));
+
+        // Then：沿用上游 Trace ID，上游 Span 為父 Span，仍視為本服務的根 Span 完成 Trace
+        assertThat(exported).hasSize(1);
+        SpanRecord root = exported.get(0).get(0);
+        assertThat(root.traceId()).isEqualTo("0af7651916cd43dd8448eb211c80319c");
+        assertThat(root.parentSpanId()).isEqualTo("b7ad6b7169203331");
+        assertThat(root.isRoot()).isTrue();
+    }
+
+    @Test
+    void should_ContinueUpstreamTrace_When_RequestHasB3Headers() {
+        // When
+        receive(Map.of("b3", "80f198ee56343ba864fe8b2a57d3eff7-e457b5a2e4d86bd1-1-05e3ac9a4f6e3b90"));
+        receive(Map.of("X-B3-TraceId", "463ac35c9f6413ad", "X-B3-SpanId", "a2fb4a1d1a96d312"));
+
+        // Then
+        assertThat(exported).hasSize(2);
+        assertThat(exported.get(0).get(0).traceId()).isEqualTo("80f198ee56343ba864fe8b2a57d3eff7");
+        assertThat(exported.get(0).get(0).parentSpanId()).isEqualTo("e457b5a2e4d86bd1");
+        assertThat(exported.get(1).get(0).traceId()).isEqualTo("463ac35c9f6413ad");
+        assertThat(exported.get(1).get(0).parentSpanId()).isEqualTo("a2fb4a1d1a96d312");
+    }
+
+    @Test
+    void should_StartNewTrace_When_TraceContextHeaderIsInvalid() {
+        // When：版本 ff、全零 Trace ID、只有取樣旗標的 B3 都不沿用
+        receive(Map.of("traceparent", "ff-0af7651916cd43dd8448eb211c80319c-b7ad6b7169203331-01"));
+        receive(Map.of("traceparent", "00-00000000000000000000000000000000-b7ad6b7169203331-01"));
+        receive(Map.of("b3", "0"));
+
+        // Then
+        assertThat(exported).hasSize(3);
+        assertThat(exported).allSatisfy(spans -> {
+            assertThat(spans.get(0).traceId()).hasSize(32).isNotEqualTo("0af7651916cd43dd8448eb211c80319c");
+            assertThat(spans.get(0).parentSpanId()).isNull();
+        });
+    }
+
+    private void receive(Map<String, String> headers) {
+        ReceiverContext<Map<String, String>> context = new ReceiverContext<>(Map::get);
+        context.setCarrier(headers);
+        Observation.createNotStarted("http.server.requests", () -> context, registry).observe(() -> { });
+    }
+}
@@ -0,0 +1,63 @@
+package com.petlearning.tracing.sampling;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 尾端取樣策略測試
+ */
+class TailSamplingPolicyTest {
+
+    private static final List<SpanRecord> FAST_TRACE = List.of(
+            new SpanRecord("t", "r", null, "test", 0, 1_000_000, false, Map.of()));
+
+    @Test
+    void should_SampleRoughlyBaselineRate_When_TracesAreNormal() {
+        // Given
+        TailSamplingPolicy policy = new TailSamplingPolicy(Duration.ofMillis(500), 0.1);
+        int total = 100_000;
+
+        // When
+        int sampled = 0;
+        for (int i = 0; i < total; i++) {
+            if (policy.decide(randomTraceId(), FAST_TRACE) == TailSamplingPolicy.Decision.BASELINE) {
+                sampled++;
+            }
+        }
+
+        // Then
+        assertThat((double) sampled / total).isBetween(0.09, 0.11);
+    }
+
+    @Test
+    void should_GiveSameDecision_When_SameTraceIdIsSeenTwice() {
+        // Given：兩個服務各自以相同設定判斷同一個 Trace
+        TailSamplingPolicy serviceA = new TailSamplingPolicy(Duration.ofMillis(500), 0.5);
+        TailSamplingPolicy serviceB = new TailSamplingPolicy(Duration.ofMillis(500), 0.5);
+
+        // When & Then
+        for (int i = 0; i < 1000; i++) {
+            String traceId = randomTraceId();
+            assertThat(serviceA.decide(traceId, FAST_TRACE)).isEqualTo(serviceB.decide(traceId, FAST_TRACE));
+        }
+    }
+
+    @Test
+    void should_RejectRate_When_OutOfRange() {
+        // When & Then
+        assertThatThrownBy(() -> new TailSamplingPolicy(Duration.ofMillis(500), 1.5))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static String randomTraceId() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return String.format("%016x%016x", random.nextLong(), random.nextLong());
+    }
+}
@@ -0,0 +1,125 @@
+package com.petlearning.tracing.sampling;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 尾端取樣暫存區測試
+ *
+ * 延遲門檻 100ms、基準比例 0（正常 Trace 一律丟棄），時鐘由測試控制。
+ */
+class TailSamplingSpanBufferTest {
+
+    private static final long MILLIS = 1_000_000L;
+
+    private final List<List<SpanRecord>> exported = new ArrayList<>();
+    private final AtomicLong clock = new AtomicLong();
+    private final TailSamplingPolicy policy = new TailSamplingPolicy(Duration.ofMillis(100), 0.0);
+
+    @Test
+    void should_ExportWholeTrace_When_ChildSpanFailed() {
+        // Given
+        TailSamplingSpanBuffer buffer = buffer(100, 10);
+
+        // When
+        buffer.onSpanEnd(span("t1", "c1", "r1", 5, true));
+        buffer.onSpanEnd(span("t1", "c2", "r1", 5, false));
+        buffer.onSpanEnd(span("t1", "r1", null, 20, false));
+
+        // Then
+        assertThat(exported).hasSize(1);
+        assertThat(exported.get(0)).extracting(SpanRecord::spanId).containsExactly("c1", "c2", "r1");
+        assertThat(buffer.getDecisionCount(TailSamplingPolicy.Decision.ERROR)).isEqualTo(1);
+        assertThat(buffer.getBufferedTraces()).isZero();
+        assertThat(buffer.getBufferedSpans()).isZero();
+    }
+
+    @Test
+    void should_ExportSlowTraceAndDropFastTrace_When_RootEnds() {
+        // Given
+        TailSamplingSpanBuffer buffer = buffer(100, 10);
+
+        // When
+        buffer.onSpanEnd(span("slow", "r1", null, 150, false));
+        buffer.onSpanEnd(span("fast", "r2", null, 10, false));
+
+        // Then
+        assertThat(exported).hasSize(1);
+        assertThat(exported.get(0).get(0).traceId()).isEqualTo("slow");
+        assertThat(buffer.getDecisionCount(TailSamplingPolicy.Decision.LATENCY)).isEqualTo(1);
+        assertThat(buffer.getDecisionCount(TailSamplingPolicy.Decision.DROP)).isEqualTo(1);
+    }
+
+    @Test
+    void should_EvictOldestTrace_When_SpanCapacityReached() {
+        // Given：容量 4 個 Span，最舊的 Trace 含一個錯誤 Span
+        TailSamplingSpanBuffer buffer = buffer(4, 10);
+        buffer.onSpanEnd(span("old", "a1", "root", 5, true));
+        buffer.onSpanEnd(span("old", "a2", "root", 5, false));
+        buffer.onSpanEnd(span("new", "b1", "root", 5, false));
+        buffer.onSpanEnd(span("new", "b2", "root", 5, false));
+        assertThat(buffer.getUtilization()).isEqualTo(1.0);
+
+        // When
+        buffer.onSpanEnd(span("newer", "c1", "root", 5, false));
+
+        // Then：被淘汰的 Trace 仍依已收到的 Span 判斷並匯出
+        assertThat(buffer.getEvictionCount(TailSamplingSpanBuffer.EvictionReason.CAPACITY)).isEqualTo(1);
+        assertThat(exported).hasSize(1);
+        assertThat(exported.get(0)).extracting(SpanRecord::traceId).containsOnly("old");
+        assertThat(buffer.getBufferedSpans()).isEqualTo(3);
+        assertThat(buffer.getBufferedTraces()).isEqualTo(2);
+    }
+
+    @Test
+    void should_DropSpans_When_TraceExceedsPerTraceLimitOrArrivesLate() {
+        // Given
+        TailSamplingSpanBuffer buffer = buffer(100, 2);
+
+        // When
+        buffer.onSpanEnd(span("t1", "c1", "r1", 5, false));
+        buffer.onSpanEnd(span("t1", "c2", "r1", 5, false));
+        buffer.onSpanEnd(span("t1", "c3", "r1", 5, false));
+        buffer.onSpanEnd(span("t1", "r1", null, 5, false));
+
+        // Then：c3 與根 Span 超過上限被丟棄，但根 Span 結束仍觸發判斷
+        assertThat(buffer.getDroppedSpans()).isEqualTo(2);
+        assertThat(buffer.getDecisionCount(TailSamplingPolicy.Decision.DROP)).isEqualTo(1);
+        assertThat(buffer.getBufferedTraces()).isZero();
+    }
+
+    @Test
+    void should_EvictTrace_When_RootSpanNeverEnds() {
+        // Given
+        TailSamplingSpanBuffer buffer = buffer(100, 10);
+        buffer.onSpanEnd(span("stuck", "c1", "r1", 150, false));
+        clock.addAndGet(10_000 * MILLIS);
+        buffer.onSpanEnd(span("recent", "c2", "r2", 5, false));
+
+        // When
+        clock.addAndGet(25_000 * MILLIS);
+        buffer.evictExpired();
+
+        // Then
+        assertThat(buffer.getEvictionCount(TailSamplingSpanBuffer.EvictionReason.TIMEOUT)).isEqualTo(1);
+        assertThat(exported).hasSize(1);
+        assertThat(exported.get(0).get(0).traceId()).isEqualTo("stuck");
+        assertThat(buffer.getBufferedTraces()).isEqualTo(1);
+    }
+
+    private TailSamplingSpanBuffer buffer(int maxSpans, int maxSpansPerTrace) {
+        return new TailSamplingSpanBuffer(policy, exported::add, maxSpans, maxSpansPerTrace,
+                Duration.ofSeconds(30), clock::get);
+    }
+
+    private static SpanRecord span(String traceId, String spanId, String parentSpanId, long millis, boolean error) {
+        return new SpanRecord(traceId, spanId, parentSpanId, "test", 0, millis * MILLIS, error, Map.of());
+    }
+}
@@ -2,6 +2,7 @@ package com.petlearning.monitoring;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
 
 /**
  * 監控和指標應用程式
@@ -34,6 +35,9 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
 public class MonitoringApplication {
 
     public static void main(String[] args) {
-        SpringApplication.run(MonitoringApplication.class, args);
+        SpringApplication application = new SpringApplication(MonitoringApplication.class);
+        // 記錄啟動步驟（Bean 建立、自動配置等耗時），透過 /actuator/startup 查看
+        application.setApplicationStartup(new BufferingApplicationStartup(2048));
+        application.run(args);
     }
 }
@@ -0,0 +1,73 @@
+package com.petlearning.monitoring.config;
+
+import com.petlearning.monitoring.metrics.CachingPrometheusScrapeEndpoint;
+import com.petlearning.monitoring.metrics.UriTagCardinalityFilter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.prometheus.client.CollectorRegistry;
+import org.springframework.boot.actuate.autoconfigure.endpoint.condition.ConditionalOnAvailableEndpoint;
+import org.springframework.boot.actuate.autoconfigure.metrics.export.ConditionalOnEnabledMetricsExport;
+import org.springframework.boot.actuate.metrics.export.prometheus.PrometheusScrapeEndpoint;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.web.servlet.mvc.method.RequestMappingInfo;
+import org.springframework.web.servlet.mvc.method.RequestMappingInfoHandlerMapping;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 降低 Prometheus 抓取成本
+ *
+ * - bucket：application.yml 以 management.metrics.distribution.slo 為每個 Timer 指定與 SLO 對齊的少量 bucket，
+ *   取代 percentiles-histogram 的約 70 個 bucket
+ * - 基數：{@link UriTagCardinalityFilter} 把未知的 uri 值收斂為 OTHER；
+ *   啟動完成時把所有 @RequestMapping 與 Actuator 端點的路由樣板加入白名單
+ * - 輸出：以 {@link CachingPrometheusScrapeEndpoint} 取代預設的 /actuator/prometheus
+ *
+ * 指標：monitoring.metrics.uri.collapsed：被改為 OTHER 的 uri 次數
+ */
+@Configuration
+@EnableConfigurationProperties(MetricsShapingProperties.class)
+public class MetricsShapingConfig {
+
+    @Bean
+    public static UriTagCardinalityFilter uriTagCardinalityFilter(MetricsShapingProperties properties) {
+        return new UriTagCardinalityFilter(properties.getUriGuardMeters(), properties.getMaxUris());
+    }
+
+    @Bean
+    public MeterBinder uriTagCardinalityMetrics(UriTagCardinalityFilter filter) {
+        return registry -> FunctionCounter.builder("monitoring.metrics.uri.collapsed", filter,
+                        UriTagCardinalityFilter::getCollapsedCount)
+                .description("uri tag values replaced by OTHER")
+                .register(registry);
+    }
+
+    @EventListener
+    public void allowKnownRoutes(ContextRefreshedEvent event) {
+        UriTagCardinalityFilter filter = event.getApplicationContext().getBean(UriTagCardinalityFilter.class);
+        List<String> patterns = new ArrayList<>();
+        for (RequestMappingInfoHandlerMapping mapping : event.getApplicationContext()
+                .getBeansOfType(RequestMappingInfoHandlerMapping.class).values()) {
+            for (RequestMappingInfo info : mapping.getHandlerMethods().keySet()) {
+                patterns.addAll(info.getPatternValues());
+            }
+        }
+        filter.allow(patterns);
+    }
+
+    /**
+     * Prometheus 匯出停用（例如測試環境）時不建立，沿用 Spring Boot 的條件
+     */
+    @Bean
+    @ConditionalOnEnabledMetricsExport("prometheus")
+    @ConditionalOnAvailableEndpoint(endpoint = PrometheusScrapeEndpoint.class)
+    public CachingPrometheusScrapeEndpoint prometheusEndpoint(CollectorRegistry collectorRegistry,
+                                                              MetricsShapingProperties properties) {
+        return new CachingPrometheusScrapeEndpoint(collectorRegistry, properties.getScrapeCacheTtl());
+    }
+}
@@ -0,0 +1,49 @@
+package com.petlearning.monitoring.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 指標輸出成本控制（monitoring.metrics.*）
+ *
+ * 各 Timer 的 bucket 由 Spring Boot 的 management.metrics.distribution.slo.* 設定。
+ */
+@ConfigurationProperties(prefix = "monitoring.metrics")
+public class MetricsShapingProperties {
+
+    /** 套用 uri 基數控制的計量器 */
+    private List<String> uriGuardMeters = new ArrayList<>(List.of("http.server.requests", "http.client.requests"));
+
+    /** 每個計量器最多保留的非路由 uri 值，超過的歸到 OTHER */
+    private int maxUris = 50;
+
+    /** /actuator/prometheus 輸出的快取時間，0 表示不快取 */
+    private Duration scrapeCacheTtl = Duration.ofSeconds(5);
+
+    public List<String> getUriGuardMeters() {
+        return uriGuardMeters;
+    }
+
+    public void setUriGuardMeters(List<String> uriGuardMeters) {
+        this.uriGuardMeters = uriGuardMeters;
+    }
+
+    public int getMaxUris() {
+        return maxUris;
+    }
+
+    public void setMaxUris(int maxUris) {
+        this.maxUris = maxUris;
+    }
+
+    public Duration getScrapeCacheTtl() {
+        return scrapeCacheTtl;
+    }
+
+    public void setScrapeCacheTtl(Duration scrapeCacheTtl) {
+        this.scrapeCacheTtl = scrapeCacheTtl;
+    }
+}
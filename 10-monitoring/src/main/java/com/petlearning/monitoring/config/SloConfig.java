@@ -0,0 +1,92 @@
+package com.petlearning.monitoring.config;
+
+import com.petlearning.monitoring.dto.SloReport;
+import com.petlearning.monitoring.slo.ServiceLevelObjective;
+import com.petlearning.monitoring.slo.SloBucketMeterFilter;
+import com.petlearning.monitoring.slo.SloEndpoint;
+import com.petlearning.monitoring.slo.SloEvaluator;
+import com.petlearning.monitoring.slo.SloHealthIndicator;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * SLO 燃燒率評估配置
+ *
+ * SLO 宣告於 monitoring.slo.objectives，由 {@link SloEvaluator} 每個 evaluation-interval
+ * 從 http.server.requests 評估一次，結果提供給：
+ * - /actuator/slo：各 SLO 的視窗燃燒率與規則狀態
+ * - /actuator/health 的 slo 元件：任一規則成立時為 DOWN
+ * - slo.burn.rate（tag slo, window）、slo.budget.remaining（tag slo，預算週期內）：供 Grafana 顯示
+ */
+@Configuration
+@EnableConfigurationProperties(SloProperties.class)
+@ConditionalOnProperty(prefix = "monitoring.slo", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class SloConfig {
+
+    /**
+     * 延遲 SLO 的門檻加入 http.server.requests 的 histogram bucket（static：需在 registry 建立前生效）
+     */
+    @Bean
+    public static SloBucketMeterFilter sloBucketMeterFilter(SloProperties properties) {
+        return new SloBucketMeterFilter(properties.getObjectives().stream()
+                .map(SloProperties.Objective::getThreshold)
+                .filter(Objects::nonNull)
+                .toList());
+    }
+
+    @Bean
+    public SloEvaluator sloEvaluator(SloProperties properties, MeterRegistry meterRegistry) {
+        SloEvaluator evaluator = new SloEvaluator(meterRegistry, properties.toObjectives(),
+                properties.toBurnRateRules(), properties.getEvaluationInterval(), properties.getMinRequests(),
+                properties.getBudgetPeriod());
+
+        for (ServiceLevelObjective objective : properties.toObjectives()) {
+            String name = objective.name();
+            for (Duration window : evaluator.getWindows()) {
+                Gauge.builder("slo.burn.rate", evaluator, e -> e.find(name)
+                                .flatMap(report -> report.windows().stream()
+                                        .filter(w -> w.window().equals(window))
+                                        .findFirst())
+                                .map(SloReport.Window::burnRate)
+                                .orElse(Double.NaN))
+                        .description("Error budget burn rate over the window")
+                        .tags("slo", name, "window", label(window))
+                        .register(meterRegistry);
+            }
+            Gauge.builder("slo.budget.remaining", evaluator,
+                            e -> e.find(name).map(SloReport::budgetRemaining).orElse(Double.NaN))
+                    .description("Error budget left over the budget period")
+                    .tag("slo", name)
+                    .register(meterRegistry);
+        }
+        return evaluator;
+    }
+
+    @Bean
+    public SloEndpoint sloEndpoint(SloEvaluator evaluator) {
+        return new SloEndpoint(evaluator);
+    }
+
+    @Bean
+    public SloHealthIndicator sloHealthIndicator(SloEvaluator evaluator) {
+        return new SloHealthIndicator(evaluator);
+    }
+
+    private static String label(Duration window) {
+        long seconds = window.toSeconds();
+        if (seconds % 3600 == 0) {
+            return seconds / 3600 + "h";
+        }
+        if (seconds % 60 == 0) {
+            return seconds / 60 + "m";
+        }
+        return seconds + "s";
+    }
+}
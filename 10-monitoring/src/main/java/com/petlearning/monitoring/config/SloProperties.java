@@ -0,0 +1,211 @@
+package com.petlearning.monitoring.config;
+
+import com.petlearning.monitoring.slo.BurnRateRule;
+import com.petlearning.monitoring.slo.ServiceLevelObjective;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * SLO 配置（monitoring.slo.*）
+ */
+@ConfigurationProperties(prefix = "monitoring.slo")
+public class SloProperties {
+
+    /** 是否啟用 SLO 評估 */
+    private boolean enabled = true;
+
+    /** 評估（取樣）間隔，也是視窗的最小粒度 */
+    private Duration evaluationInterval = Duration.ofSeconds(10);
+
+    /** 錯誤預算週期，剩餘預算以此期間的累計壞請求數計算 */
+    private Duration budgetPeriod = Duration.ofDays(30);
+
+    /** 短視窗請求數少於此值時規則不成立 */
+    private long minRequests = 10;
+
+    /** 多視窗燃燒率規則，預設為 1h/5m 14.4 倍與 6h/30m 6 倍（30 天週期分別在 2% 與 5% 預算耗盡時觸發） */
+    private List<Rule> rules = new ArrayList<>(List.of(
+            new Rule(Duration.ofHours(1), Duration.ofMinutes(5), 14.4),
+            new Rule(Duration.ofHours(6), Duration.ofMinutes(30), 6)));
+
+    /** SLO 列表 */
+    private List<Objective> objectives = new ArrayList<>();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Duration getEvaluationInterval() {
+        return evaluationInterval;
+    }
+
+    public void setEvaluationInterval(Duration evaluationInterval) {
+        this.evaluationInterval = evaluationInterval;
+    }
+
+    public Duration getBudgetPeriod() {
+        return budgetPeriod;
+    }
+
+    public void setBudgetPeriod(Duration budgetPeriod) {
+        this.budgetPeriod = budgetPeriod;
+    }
+
+    public long getMinRequests() {
+        return minRequests;
+    }
+
+    public void setMinRequests(long minRequests) {
+        this.minRequests = minRequests;
+    }
+
+    public List<Rule> getRules() {
+        return rules;
+    }
+
+    public void setRules(List<Rule> rules) {
+        this.rules = rules;
+    }
+
+    public List<Objective> getObjectives() {
+        return objectives;
+    }
+
+    public void setObjectives(List<Objective> objectives) {
+        this.objectives = objectives;
+    }
+
+    public List<BurnRateRule> toBurnRateRules() {
+        return rules.stream()
+                .map(rule -> new BurnRateRule(rule.getLongWindow(), rule.getShortWindow(), rule.getBurnRate()))
+                .toList();
+    }
+
+    public List<ServiceLevelObjective> toObjectives() {
+        return objectives.stream()
+                .map(objective -> new ServiceLevelObjective(objective.getName(), objective.getIndicator(),
+                        objective.getMethod(), objective.getUri(), objective.getTarget(), objective.getThreshold()))
+                .toList();
+    }
+
+    public static class Rule {
+
+        /** 長視窗 */
+        private Duration longWindow;
+
+        /** 短視窗 */
+        private Duration shortWindow;
+
+        /** 燃燒率門檻 */
+        private double burnRate;
+
+        public Rule() {
+        }
+
+        Rule(Duration longWindow, Duration shortWindow, double burnRate) {
+            this.longWindow = longWindow;
+            this.shortWindow = shortWindow;
+            this.burnRate = burnRate;
+        }
+
+        public Duration getLongWindow() {
+            return longWindow;
+        }
+
+        public void setLongWindow(Duration longWindow) {
+            this.longWindow = longWindow;
+        }
+
+        public Duration getShortWindow() {
+            return shortWindow;
+        }
+
+        public void setShortWindow(Duration shortWindow) {
+            this.shortWindow = shortWindow;
+        }
+
+        public double getBurnRate() {
+            return burnRate;
+        }
+
+        public void setBurnRate(double burnRate) {
+            this.burnRate = burnRate;
+        }
+    }
+
+    public static class Objective {
+
+        /** SLO 名稱 */
+        private String name;
+
+        /** availability 或 latency */
+        private ServiceLevelObjective.Indicator indicator = ServiceLevelObjective.Indicator.AVAILABILITY;
+
+        /** HTTP 方法，未設定表示所有方法 */
+        private String method;
+
+        /** URI 樣板，例如 /api/monitoring/stats */
+        private String uri;
+
+        /** 目標比例，例如 0.999 */
+        private double target;
+
+        /** 延遲門檻（latency 才需要） */
+        private Duration threshold;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public ServiceLevelObjective.Indicator getIndicator() {
+            return indicator;
+        }
+
+        public void setIndicator(ServiceLevelObjective.Indicator indicator) {
+            this.indicator = indicator;
+        }
+
+        public String getMethod() {
+            return method;
+        }
+
+        public void setMethod(String method) {
+            this.method = method;
+        }
+
+        public String getUri() {
+            return uri;
+        }
+
+        public void setUri(String uri) {
+            this.uri = uri;
+        }
+
+        public double getTarget() {
+            return target;
+        }
+
+        public void setTarget(double target) {
+            this.target = target;
+        }
+
+        public Duration getThreshold() {
+            return threshold;
+        }
+
+        public void setThreshold(Duration threshold) {
+            this.threshold = threshold;
+        }
+    }
+}
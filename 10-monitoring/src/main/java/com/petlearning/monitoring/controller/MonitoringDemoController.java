@@ -1,11 +1,26 @@
 package com.petlearning.monitoring.controller;
 
+import com.petlearning.monitoring.dto.LatencyStatsResponse;
+import com.petlearning.monitoring.metrics.EndpointStats;
+import com.petlearning.monitoring.metrics.EndpointStatsRegistry;
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 /**
  * 監控指標演示端點
@@ -23,9 +38,16 @@ public class MonitoringDemoController {
     private MeterRegistry meterRegistry;
 
     private final Counter customCounter;
+    private final EndpointStatsRegistry endpointStats;
+    private final List<Duration> defaultWindows;
 
-    public MonitoringDemoController(MeterRegistry meterRegistry) {
+    public MonitoringDemoController(
+            MeterRegistry meterRegistry,
+            EndpointStatsRegistry endpointStats,
+            @Value("${monitoring.stats.windows:1m,5m}") List<Duration> defaultWindows) {
         this.meterRegistry = meterRegistry;
+        this.endpointStats = endpointStats;
+        this.defaultWindows = defaultWindows;
         // 創建自定義計數器
         this.customCounter = Counter.builder("custom.operation.count")
                 .description("Custom operation counter")
@@ -56,10 +78,58 @@ public class MonitoringDemoController {
 
     /**
      * 獲取當前指標統計
+     *
+     * 使用方式：
+     * GET /api/monitoring/stats
+     * GET /api/monitoring/stats?window=30s&window=15m
+     *
+     * 回傳各端點在每個時間視窗內的請求數、吞吐量、錯誤率與延遲百分位數（毫秒），
+     * 直接由服務內的 HdrHistogram 計算，不需要查詢 Prometheus。
      */
     @GetMapping("/stats")
-    public String stats() {
-        double count = customCounter.count();
-        return "Custom operation count: " + count;
+    public LatencyStatsResponse stats(@RequestParam(name = "window", required = false) List<String> windows) {
+        Map<String, Duration> resolved = resolveWindows(windows);
+        long now = endpointStats.now();
+
+        List<LatencyStatsResponse.Endpoint> endpoints = new ArrayList<>();
+        for (EndpointStats stats : endpointStats.endpoints()) {
+            Map<String, EndpointStats.WindowSnapshot> snapshots = new LinkedHashMap<>();
+            resolved.forEach((label, window) -> snapshots.put(label, stats.window(window, now)));
+            endpoints.add(new LatencyStatsResponse.Endpoint(
+                    stats.getEndpoint(), stats.getTotalRequests(), stats.getTotalErrors(), snapshots));
+        }
+        return new LatencyStatsResponse(Instant.ofEpochMilli(now), endpointStats.getInterval().toSeconds(),
+                customCounter.count(), endpoints);
+    }
+
+    private Map<String, Duration> resolveWindows(List<String> windows) {
+        Map<String, Duration> resolved = new LinkedHashMap<>();
+        if (windows == null || windows.isEmpty()) {
+            defaultWindows.forEach(window -> resolved.put(label(window), window));
+            return resolved;
+        }
+        for (String window : windows) {
+            try {
+                Duration duration = DurationStyle.detectAndParse(window);
+                if (duration.isNegative() || duration.isZero()) {
+                    throw new IllegalArgumentException(window);
+                }
+                resolved.put(window, duration);
+            } catch (IllegalArgumentException ex) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid window: " + window);
+            }
+        }
+        return resolved;
+    }
+
+    private static String label(Duration window) {
+        long seconds = window.toSeconds();
+        if (seconds % 3600 == 0) {
+            return seconds / 3600 + "h";
+        }
+        if (seconds % 60 == 0) {
+            return seconds / 60 + "m";
+        }
+        return seconds + "s";
     }
 }
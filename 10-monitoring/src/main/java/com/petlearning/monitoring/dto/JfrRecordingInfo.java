@@ -0,0 +1,27 @@
+package com.petlearning.monitoring.dto;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * /actuator/jfr 回傳的錄製資訊
+ *
+ * @param id JFR 錄製 ID（下載與停止時使用）
+ * @param name 錄製名稱
+ * @param profile 使用的 JFR 設定檔（default / profile）
+ * @param state 錄製狀態（RUNNING；停止並寫出檔案後為 CLOSED）
+ * @param startTime 開始時間
+ * @param duration 預定錄製長度，到期後自動停止
+ * @param sizeBytes 目前錄製資料大小
+ * @param file 停止後寫出的 .jfr 檔案路徑
+ */
+public record JfrRecordingInfo(
+        long id,
+        String name,
+        String profile,
+        String state,
+        Instant startTime,
+        Duration duration,
+        long sizeBytes,
+        String file) {
+}
@@ -0,0 +1,35 @@
+package com.petlearning.monitoring.dto;
+
+import com.petlearning.monitoring.metrics.EndpointStats;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * /api/monitoring/stats 回應
+ *
+ * @param generatedAt 產生時間
+ * @param intervalSeconds 區間長度（統計只包含已完成的區間）
+ * @param customOperationCount 自訂計數器 custom.operation.count 的值
+ * @param endpoints 各端點統計
+ */
+public record LatencyStatsResponse(
+        Instant generatedAt,
+        long intervalSeconds,
+        double customOperationCount,
+        List<Endpoint> endpoints) {
+
+    /**
+     * @param endpoint HTTP 方法 + URI 樣板
+     * @param totalRequests 啟動以來的請求數
+     * @param totalErrors 啟動以來的錯誤數
+     * @param windows 各時間視窗（例如 1m、5m）的統計
+     */
+    public record Endpoint(
+            String endpoint,
+            long totalRequests,
+            long totalErrors,
+            Map<String, EndpointStats.WindowSnapshot> windows) {
+    }
+}
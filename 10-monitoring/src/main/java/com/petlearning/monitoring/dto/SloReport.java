@@ -0,0 +1,49 @@
+package com.petlearning.monitoring.dto;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * 單一 SLO 的評估結果
+ *
+ * @param name SLO 名稱
+ * @param indicator availability / latency
+ * @param method HTTP 方法（null 表示所有方法）
+ * @param uri URI 樣板
+ * @param target 目標比例
+ * @param threshold 延遲門檻（availability 為 null）
+ * @param burning 是否有燃燒率規則成立
+ * @param budgetRemaining 預算週期內剩餘的錯誤預算比例（1 - 壞請求數 / 允許的壞請求數，負值表示已超支）
+ * @param windows 各視窗的請求數與燃燒率
+ * @param rules 各燃燒率規則是否成立
+ */
+public record SloReport(
+        String name,
+        String indicator,
+        String method,
+        String uri,
+        double target,
+        Duration threshold,
+        boolean burning,
+        double budgetRemaining,
+        List<Window> windows,
+        List<Rule> rules) {
+
+    /**
+     * @param window 視窗長度
+     * @param requests 視窗內的請求數
+     * @param bad 視窗內的壞請求數
+     * @param burnRate 壞請求比例 / 錯誤預算
+     */
+    public record Window(Duration window, long requests, long bad, double burnRate) {
+    }
+
+    /**
+     * @param longWindow 長視窗
+     * @param shortWindow 短視窗
+     * @param burnRate 燃燒率門檻
+     * @param firing 兩個視窗都超過門檻
+     */
+    public record Rule(Duration longWindow, Duration shortWindow, double burnRate, boolean firing) {
+    }
+}
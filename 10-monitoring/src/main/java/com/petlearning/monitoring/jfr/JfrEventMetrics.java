@@ -0,0 +1,119 @@
+package com.petlearning.monitoring.jfr;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingStream;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 持續以 JFR 事件串流產生 JVM 指標
+ *
+ * 訂閱的事件與對應指標：
+ * - jdk.GarbageCollection → jvm.jfr.gc.pause（tag gc, cause）：每次 GC 的暫停總時間
+ * - jdk.ObjectAllocationSample → jvm.jfr.allocation（bytes）：依取樣權重估算的配置量，rate() 即配置速率
+ * - jdk.JavaMonitorEnter → jvm.jfr.monitor.contention：等待 synchronized 鎖超過 monitorThreshold 的時間
+ * - jdk.SafepointStateSynchronization → jvm.jfr.safepoint.sync：所有執行緒到達 safepoint 所花的時間
+ * - jdk.ExecuteVMOperation（safepoint 內）→ jvm.jfr.safepoint.operation（tag operation）：safepoint 內的 VM 操作時間
+ *
+ * Timer 的 histogram bucket 由 management.metrics.distribution.slo.jvm.jfr 設定，
+ * 可與 http.server.requests 放在同一個 Grafana 面板比對。
+ * 事件由 JFR 每秒批次送到串流執行緒處理，請求執行緒不受影響；配置事件以 throttle 限制取樣數量。
+ */
+@Component
+@ConditionalOnProperty(prefix = "monitoring.jfr.streaming", name = "enabled", matchIfMissing = true)
+public class JfrEventMetrics implements MeterBinder, DisposableBean {
+
+    static final String GC = "jdk.GarbageCollection";
+    static final String ALLOCATION_SAMPLE = "jdk.ObjectAllocationSample";
+    static final String MONITOR_ENTER = "jdk.JavaMonitorEnter";
+    static final String SAFEPOINT_SYNC = "jdk.SafepointStateSynchronization";
+    static final String VM_OPERATION = "jdk.ExecuteVMOperation";
+
+    private final Duration monitorThreshold;
+    private final String allocationThrottle;
+
+    private MeterRegistry registry;
+    private Counter allocation;
+    private Timer monitorContention;
+    private Timer safepointSync;
+    private RecordingStream stream;
+
+    @Autowired
+    public JfrEventMetrics(
+            @Value("${monitoring.jfr.streaming.monitor-threshold:10ms}") Duration monitorThreshold,
+            @Value("${monitoring.jfr.streaming.allocation-throttle:100/s}") String allocationThrottle) {
+        this.monitorThreshold = monitorThreshold;
+        this.allocationThrottle = allocationThrottle;
+    }
+
+    /**
+     * 註冊指標並啟動事件串流（只啟動一次）
+     */
+    @Override
+    public synchronized void bindTo(MeterRegistry registry) {
+        if (stream != null) {
+            return;
+        }
+        this.registry = registry;
+        allocation = Counter.builder("jvm.jfr.allocation")
+                .description("Heap allocation estimated from JFR allocation samples")
+                .baseUnit("bytes")
+                .register(registry);
+        monitorContention = Timer.builder("jvm.jfr.monitor.contention")
+                .description("Time blocked entering a contended monitor")
+                .register(registry);
+        safepointSync = Timer.builder("jvm.jfr.safepoint.sync")
+                .description("Time for all threads to reach a safepoint")
+                .register(registry);
+
+        stream = new RecordingStream();
+        stream.enable(GC);
+        stream.enable(ALLOCATION_SAMPLE).with("throttle", allocationThrottle);
+        stream.enable(MONITOR_ENTER).withThreshold(monitorThreshold);
+        stream.enable(SAFEPOINT_SYNC);
+        stream.enable(VM_OPERATION);
+        stream.setMaxAge(Duration.ofMinutes(1));
+        stream.onEvent(GC, this::onGarbageCollection);
+        stream.onEvent(ALLOCATION_SAMPLE, event -> allocation.increment(event.getLong("weight")));
+        stream.onEvent(MONITOR_ENTER, event -> monitorContention.record(event.getDuration()));
+        stream.onEvent(SAFEPOINT_SYNC, event -> safepointSync.record(event.getDuration()));
+        stream.onEvent(VM_OPERATION, this::onVmOperation);
+        stream.startAsync();
+    }
+
+    @Override
+    public synchronized void destroy() {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+
+    private void onGarbageCollection(RecordedEvent event) {
+        Timer.builder("jvm.jfr.gc.pause")
+                .description("Total stop-the-world pause time of a garbage collection")
+                .tag("gc", event.getString("name"))
+                .tag("cause", event.getString("cause"))
+                .register(registry)
+                .record(event.getDuration("sumOfPauses"));
+    }
+
+    private void onVmOperation(RecordedEvent event) {
+        if (!event.getBoolean("safepoint")) {
+            return;
+        }
+        Timer.builder("jvm.jfr.safepoint.operation")
+                .description("Time spent executing a VM operation at a safepoint")
+                .tag("operation", event.getString("operation"))
+                .register(registry)
+                .record(event.getDuration());
+    }
+}
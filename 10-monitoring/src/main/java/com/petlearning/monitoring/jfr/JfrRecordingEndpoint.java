@@ -0,0 +1,72 @@
+package com.petlearning.monitoring.jfr;
+
+import com.petlearning.monitoring.dto.JfrRecordingInfo;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.boot.actuate.endpoint.web.annotation.WebEndpoint;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * JFR 錄製管理端點（/actuator/jfr）
+ *
+ * 使用方式：
+ * - GET    /actuator/jfr                                       列出錄製
+ * - POST   /actuator/jfr  {"profile":"profile","duration":"2m"}   開始錄製
+ * - DELETE /actuator/jfr/{id}                                  停止錄製並寫出檔案
+ * - GET    /actuator/jfr/{id}                                  下載 .jfr（錄製中則下載目前快照）
+ *
+ * 端點可啟停 JVM 內部的錄製並下載資料，正式環境務必限制存取。
+ */
+@Component
+@WebEndpoint(id = "jfr")
+public class JfrRecordingEndpoint {
+
+    private final JfrRecordingManager manager;
+
+    public JfrRecordingEndpoint(JfrRecordingManager manager) {
+        this.manager = manager;
+    }
+
+    @ReadOperation
+    public List<JfrRecordingInfo> recordings() {
+        return manager.list();
+    }
+
+    @WriteOperation
+    public WebEndpointResponse<JfrRecordingInfo> start(@Nullable String profile, @Nullable Duration duration) {
+        try {
+            return new WebEndpointResponse<>(manager.start(profile, duration), WebEndpointResponse.STATUS_OK);
+        } catch (IllegalArgumentException ex) {
+            throw new InvalidEndpointRequestException(ex.getMessage(), ex.getMessage());
+        } catch (IllegalStateException ex) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_TOO_MANY_REQUESTS);
+        }
+    }
+
+    @DeleteOperation
+    public WebEndpointResponse<JfrRecordingInfo> stop(@Selector long id) {
+        JfrRecordingInfo info = manager.stop(id);
+        return info != null
+                ? new WebEndpointResponse<>(info, WebEndpointResponse.STATUS_OK)
+                : new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+    }
+
+    @ReadOperation(produces = "application/octet-stream")
+    public WebEndpointResponse<Resource> download(@Selector long id) {
+        Path file = manager.file(id);
+        return file != null
+                ? new WebEndpointResponse<>(new FileSystemResource(file), WebEndpointResponse.STATUS_OK)
+                : new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+    }
+}
@@ -0,0 +1,223 @@
+package com.petlearning.monitoring.jfr;
+
+import com.petlearning.monitoring.dto.JfrRecordingInfo;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 隨需啟動的 JFR 錄製
+ *
+ * 說明：
+ * - 以 JDK 內建的設定檔啟動錄製：default（約 1% 開銷，適合長時間）或 profile（約 2%，取樣更密集）
+ * - 每個錄製都有 duration 上限，忘記停止也會自動結束並寫出檔案
+ * - 停止後檔案保留在 directory，最多保留 maxRecordings 份，超過時刪除最舊的已結束錄製
+ * - 錄製中也能下載：先把目前內容 dump 成快照檔再回傳
+ *
+ * 同時執行中的錄製數受 maxRunning 限制，避免多人同時操作疊加開銷。
+ */
+@Component
+public class JfrRecordingManager implements DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(JfrRecordingManager.class);
+
+    public static final String DEFAULT_PROFILE = "default";
+
+    private final Path directory;
+    private final Duration defaultDuration;
+    private final Duration maxDuration;
+    private final long maxSizeBytes;
+    private final int maxRecordings;
+    private final int maxRunning;
+
+    private final Map<Long, Entry> recordings = new LinkedHashMap<>();
+
+    @Autowired
+    public JfrRecordingManager(
+            @Value("${monitoring.jfr.directory:${java.io.tmpdir}/monitoring-jfr}") Path directory,
+            @Value("${monitoring.jfr.default-duration:60s}") Duration defaultDuration,
+            @Value("${monitoring.jfr.max-duration:10m}") Duration maxDuration,
+            @Value("${monitoring.jfr.max-size:100MB}") DataSize maxSize,
+            @Value("${monitoring.jfr.max-recordings:5}") int maxRecordings,
+            @Value("${monitoring.jfr.max-running:1}") int maxRunning) {
+        this.directory = directory;
+        this.defaultDuration = defaultDuration;
+        this.maxDuration = maxDuration;
+        this.maxSizeBytes = maxSize.toBytes();
+        this.maxRecordings = maxRecordings;
+        this.maxRunning = maxRunning;
+    }
+
+    /**
+     * 啟動錄製
+     *
+     * @param profile JFR 設定檔名稱，null 時使用 default
+     * @param duration 錄製長度，null 時使用 defaultDuration
+     * @throws IllegalArgumentException 設定檔不存在或 duration 超過上限
+     * @throws IllegalStateException 執行中的錄製已達上限
+     */
+    public synchronized JfrRecordingInfo start(String profile, Duration duration) {
+        String profileName = profile != null ? profile : DEFAULT_PROFILE;
+        Duration length = duration != null ? duration : defaultDuration;
+        if (length.isNegative() || length.isZero() || length.compareTo(maxDuration) > 0) {
+            throw new IllegalArgumentException("Duration must be between 0 and " + maxDuration + ": " + length);
+        }
+        Configuration configuration = configuration(profileName);
+        long running = recordings.values().stream()
+                .filter(entry -> entry.recording.getState() == RecordingState.RUNNING)
+                .count();
+        if (running >= maxRunning) {
+            throw new IllegalStateException("Already " + running + " JFR recording(s) running");
+        }
+
+        evictFinished(maxRecordings - 1);
+        Recording recording = new Recording(configuration);
+        Path file = directory.resolve("recording-" + recording.getId() + "-" + profileName + ".jfr");
+        try {
+            Files.createDirectories(directory);
+            recording.setName("monitoring-" + recording.getId());
+            recording.setDuration(length);
+            recording.setMaxSize(maxSizeBytes);
+            recording.setToDisk(true);
+            recording.setDestination(file);
+        } catch (IOException ex) {
+            recording.close();
+            throw new UncheckedIOException(ex);
+        }
+        recording.start();
+        Entry entry = new Entry(recording, profileName, file);
+        recordings.put(recording.getId(), entry);
+        logger.info("Started JFR recording {} with profile {} for {}", recording.getId(), profileName, length);
+        return entry.info();
+    }
+
+    /**
+     * 停止錄製並寫出檔案（已停止的錄製直接回傳目前資訊）
+     *
+     * @return 不存在時回傳 null
+     */
+    public synchronized JfrRecordingInfo stop(long id) {
+        Entry entry = recordings.get(id);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.recording.getState() == RecordingState.RUNNING) {
+            entry.recording.stop();
+            logger.info("Stopped JFR recording {}, written to {}", id, entry.file);
+        }
+        return entry.info();
+    }
+
+    /**
+     * 取得可下載的 .jfr 檔案
+     *
+     * 已停止的錄製回傳其檔案；錄製中則 dump 一份到目前為止的快照
+     *
+     * @return 不存在時回傳 null
+     */
+    public synchronized Path file(long id) {
+        Entry entry = recordings.get(id);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.recording.getState() != RecordingState.RUNNING) {
+            return Files.exists(entry.file) ? entry.file : null;
+        }
+        Path snapshot = directory.resolve("recording-" + id + "-snapshot.jfr");
+        try {
+            entry.recording.dump(snapshot);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return snapshot;
+    }
+
+    public synchronized List<JfrRecordingInfo> list() {
+        List<JfrRecordingInfo> infos = new ArrayList<>(recordings.size());
+        for (Entry entry : recordings.values()) {
+            infos.add(entry.info());
+        }
+        return infos;
+    }
+
+    /**
+     * 關閉時停止所有錄製；已寫出的檔案保留在 directory 供事後分析
+     */
+    @Override
+    public synchronized void destroy() {
+        for (Entry entry : recordings.values()) {
+            entry.recording.close();
+        }
+        recordings.clear();
+    }
+
+    /**
+     * 刪除最舊的已結束錄製，直到總數不超過 keep
+     */
+    private void evictFinished(int keep) {
+        Iterator<Entry> iterator = recordings.values().iterator();
+        while (recordings.size() > keep && iterator.hasNext()) {
+            Entry entry = iterator.next();
+            if (entry.recording.getState() == RecordingState.RUNNING) {
+                continue;
+            }
+            entry.recording.close();
+            try {
+                Files.deleteIfExists(entry.file);
+                Files.deleteIfExists(directory.resolve("recording-" + entry.recording.getId() + "-snapshot.jfr"));
+            } catch (IOException ex) {
+                logger.warn("Failed to delete JFR file {}: {}", entry.file, ex.getMessage());
+            }
+            iterator.remove();
+        }
+    }
+
+    private static Configuration configuration(String profile) {
+        try {
+            return Configuration.getConfiguration(profile);
+        } catch (IOException | ParseException ex) {
+            throw new IllegalArgumentException("Unknown JFR profile: " + profile, ex);
+        }
+    }
+
+    private record Entry(Recording recording, String profile, Path file) {
+
+        /**
+         * 設定 destination 的錄製停止時會寫出檔案並自動關閉（CLOSED），大小改以檔案為準
+         */
+        JfrRecordingInfo info() {
+            boolean running = recording.getState() == RecordingState.RUNNING;
+            long size = running ? recording.getSize() : fileSize();
+            return new JfrRecordingInfo(recording.getId(), recording.getName(), profile,
+                    recording.getState().name(), recording.getStartTime(), recording.getDuration(),
+                    size, running ? null : file.toString());
+        }
+
+        private long fileSize() {
+            try {
+                return Files.exists(file) ? Files.size(file) : 0;
+            } catch (IOException ex) {
+                return 0;
+            }
+        }
+    }
+}
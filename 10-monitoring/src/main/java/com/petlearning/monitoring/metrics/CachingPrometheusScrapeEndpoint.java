@@ -0,0 +1,82 @@
+package com.petlearning.monitoring.metrics;
+
+import io.prometheus.client.CollectorRegistry;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.boot.actuate.metrics.export.prometheus.PrometheusScrapeEndpoint;
+import org.springframework.boot.actuate.metrics.export.prometheus.TextOutputFormat;
+import org.springframework.lang.Nullable;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * 快取輸出結果的 /actuator/prometheus
+ *
+ * 說明：
+ * - 同一種格式與 includedNames 的輸出在 ttl 內直接重用，不重新走訪所有計量器
+ * - 快取過期時只有一條執行緒重新產生，同時到達的抓取等待並共用結果
+ * - ttl 應小於 Prometheus 的抓取間隔（例如抓取 15s、ttl 5s）：
+ *   單一 Prometheus 每次都拿到新資料，HA 成對的 Prometheus 或手動查詢則共用同一份輸出
+ */
+public class CachingPrometheusScrapeEndpoint extends PrometheusScrapeEndpoint {
+
+    private final long ttlNanos;
+    private final LongSupplier nanoClock;
+    private final Map<Key, Entry> cache = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder renders = new LongAdder();
+
+    public CachingPrometheusScrapeEndpoint(CollectorRegistry collectorRegistry, Duration ttl) {
+        this(collectorRegistry, ttl, System::nanoTime);
+    }
+
+    CachingPrometheusScrapeEndpoint(CollectorRegistry collectorRegistry, Duration ttl, LongSupplier nanoClock) {
+        super(collectorRegistry);
+        this.ttlNanos = ttl.toNanos();
+        this.nanoClock = nanoClock;
+    }
+
+    @Override
+    @ReadOperation(producesFrom = TextOutputFormat.class)
+    public WebEndpointResponse<String> scrape(TextOutputFormat format, @Nullable Set<String> includedNames) {
+        Key key = new Key(format, includedNames == null ? null : new TreeSet<>(includedNames));
+        Entry entry = cache.get(key);
+        if (entry != null && nanoClock.getAsLong() - entry.renderedAt < ttlNanos) {
+            hits.increment();
+            return entry.response;
+        }
+        synchronized (this) {
+            entry = cache.get(key);
+            if (entry != null && nanoClock.getAsLong() - entry.renderedAt < ttlNanos) {
+                hits.increment();
+                return entry.response;
+            }
+            WebEndpointResponse<String> response = super.scrape(format, includedNames);
+            renders.increment();
+            if (response.getStatus() == WebEndpointResponse.STATUS_OK) {
+                cache.put(key, new Entry(response, nanoClock.getAsLong()));
+            }
+            return response;
+        }
+    }
+
+    public long getCacheHits() {
+        return hits.sum();
+    }
+
+    public long getRenders() {
+        return renders.sum();
+    }
+
+    private record Key(TextOutputFormat format, Set<String> includedNames) {
+    }
+
+    private record Entry(WebEndpointResponse<String> response, long renderedAt) {
+    }
+}
@@ -0,0 +1,146 @@
+package com.petlearning.monitoring.metrics;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 單一端點的即時延遲統計
+ *
+ * 說明：
+ * - 延遲使用 HdrHistogram {@link Recorder} 記錄，寫入端 wait-free、無配置
+ * - 每個固定區間（interval）結束時由 {@link #roll(long)} 取出區間直方圖，保留最近 maxIntervals 個
+ * - 查詢任意時間視窗時，把落在視窗內的區間直方圖合併（{@link Histogram#add}）後計算百分位數
+ *
+ * 因為保留的是完整直方圖而不是百分位數，1 分鐘與 5 分鐘視窗的百分位數都是精確合併的結果，
+ * 而不是「百分位數的平均」。
+ */
+public class EndpointStats {
+
+    /** 最大可記錄延遲：60 秒（微秒單位） */
+    static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.SECONDS.toMicros(60);
+
+    private static final int SIGNIFICANT_DIGITS = 2;
+
+    private final String endpoint;
+    private final int maxIntervals;
+
+    private final Recorder recorder = new Recorder(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder intervalErrors = new LongAdder();
+
+    // 以下欄位只在持有 this 鎖時存取
+    private final Deque<Interval> intervals = new ArrayDeque<>();
+    private Histogram recycled;
+    private long intervalStartMillis;
+
+    public EndpointStats(String endpoint, int maxIntervals, long startMillis) {
+        this.endpoint = endpoint;
+        this.maxIntervals = maxIntervals;
+        this.intervalStartMillis = startMillis;
+    }
+
+    /**
+     * 記錄一次請求（請求路徑上呼叫，必須保持低開銷）
+     *
+     * @param latencyNanos 延遲（奈秒）
+     * @param error 是否為錯誤（5xx 或例外）
+     */
+    public void record(long latencyNanos, boolean error) {
+        long micros = Math.min(TimeUnit.NANOSECONDS.toMicros(latencyNanos), HIGHEST_TRACKABLE_MICROS);
+        recorder.recordValue(Math.max(micros, 0));
+        requests.increment();
+        if (error) {
+            errors.increment();
+            intervalErrors.increment();
+        }
+    }
+
+    /**
+     * 結束目前區間並保存其直方圖（由背景排程定期呼叫）
+     */
+    public synchronized void roll(long nowMillis) {
+        // 回收的直方圖必須來自同一個 Recorder，超過保留數量的舊區間直方圖在下次滾動時重用
+        Histogram histogram = recorder.getIntervalHistogram(recycled);
+        recycled = null;
+        intervals.addLast(new Interval(intervalStartMillis, nowMillis, histogram, intervalErrors.sumThenReset()));
+        intervalStartMillis = nowMillis;
+        if (intervals.size() > maxIntervals) {
+            recycled = intervals.removeFirst().histogram();
+        }
+    }
+
+    /**
+     * 合併最近 window 內已完成的區間，產生統計快照
+     */
+    public synchronized WindowSnapshot window(Duration window, long nowMillis) {
+        long from = nowMillis - window.toMillis();
+        Histogram merged = new Histogram(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+        long windowErrors = 0;
+        long coveredMillis = 0;
+        Iterator<Interval> newestFirst = intervals.descendingIterator();
+        while (newestFirst.hasNext()) {
+            Interval interval = newestFirst.next();
+            if (interval.endMillis() <= from) {
+                break;
+            }
+            merged.add(interval.histogram());
+            windowErrors += interval.errors();
+            coveredMillis += interval.endMillis() - interval.startMillis();
+        }
+
+        long count = merged.getTotalCount();
+        return new WindowSnapshot(
+                count,
+                coveredMillis > 0 ? count * 1000.0 / coveredMillis : 0,
+                count > 0 ? (double) windowErrors / count : 0,
+                percentileMillis(merged, 50),
+                percentileMillis(merged, 90),
+                percentileMillis(merged, 99),
+                percentileMillis(merged, 99.9),
+                count > 0 ? merged.getMaxValue() / 1000.0 : 0);
+    }
+
+    private static double percentileMillis(Histogram histogram, double percentile) {
+        if (histogram.getTotalCount() == 0) {
+            return 0;
+        }
+        return histogram.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    public long getTotalRequests() {
+        return requests.sum();
+    }
+
+    public long getTotalErrors() {
+        return errors.sum();
+    }
+
+    private record Interval(long startMillis, long endMillis, Histogram histogram, long errors) {
+    }
+
+    /**
+     * 時間視窗統計快照（延遲單位為毫秒）
+     */
+    public record WindowSnapshot(
+            long requests,
+            double requestsPerSecond,
+            double errorRate,
+            double p50Millis,
+            double p90Millis,
+            double p99Millis,
+            double p999Millis,
+            double maxMillis) {
+    }
+}
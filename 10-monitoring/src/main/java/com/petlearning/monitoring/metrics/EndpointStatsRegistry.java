@@ -0,0 +1,129 @@
+package com.petlearning.monitoring.metrics;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * 端點延遲統計登錄中心
+ *
+ * 說明：
+ * - 每個端點（HTTP 方法 + URI 樣板）對應一個 {@link EndpointStats}
+ * - 背景執行緒每隔 interval 滾動所有端點的區間直方圖，保留 retention 長度的歷史
+ * - 查詢時合併視窗內的區間，不需要經過 Prometheus
+ *
+ * 基數控制：
+ * 最多追蹤 maxEndpoints 個端點，超過的一律歸到 {@link #OVERFLOW_ENDPOINT}
+ */
+@Component
+public class EndpointStatsRegistry implements InitializingBean, DisposableBean {
+
+    public static final String OVERFLOW_ENDPOINT = "OTHER";
+
+    private final int maxEndpoints;
+    private final Duration interval;
+    private final int maxIntervals;
+    private final LongSupplier clock;
+
+    private final Map<String, EndpointStats> stats = new ConcurrentHashMap<>();
+    private ScheduledExecutorService scheduler;
+
+    @Autowired
+    public EndpointStatsRegistry(
+            @Value("${monitoring.stats.max-endpoints:200}") int maxEndpoints,
+            @Value("${monitoring.stats.interval:10s}") Duration interval,
+            @Value("${monitoring.stats.retention:5m}") Duration retention) {
+        this(maxEndpoints, interval, retention, System::currentTimeMillis);
+    }
+
+    EndpointStatsRegistry(int maxEndpoints, Duration interval, Duration retention, LongSupplier clock) {
+        this.maxEndpoints = maxEndpoints;
+        this.interval = interval;
+        this.maxIntervals = (int) Math.max(1, retention.toMillis() / interval.toMillis());
+        this.clock = clock;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "endpoint-stats-roller");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long millis = interval.toMillis();
+        scheduler.scheduleAtFixedRate(this::roll, millis, millis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void destroy() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    /**
+     * 記錄一次請求
+     *
+     * @param endpoint 端點（例如 GET /api/monitoring/stats）
+     * @param latencyNanos 延遲（奈秒）
+     * @param error 是否為錯誤
+     */
+    public void record(String endpoint, long latencyNanos, boolean error) {
+        String key = endpoint != null ? endpoint : OVERFLOW_ENDPOINT;
+        EndpointStats endpointStats = stats.get(key);
+        if (endpointStats == null) {
+            endpointStats = stats.computeIfAbsent(boundedEndpoint(key),
+                    name -> new EndpointStats(name, maxIntervals, clock.getAsLong()));
+        }
+        endpointStats.record(latencyNanos, error);
+    }
+
+    /**
+     * 結束所有端點的目前區間
+     */
+    public void roll() {
+        long now = clock.getAsLong();
+        stats.values().forEach(endpointStats -> endpointStats.roll(now));
+    }
+
+    /**
+     * 所有已追蹤的端點（依名稱排序）
+     */
+    public List<EndpointStats> endpoints() {
+        List<EndpointStats> result = new ArrayList<>(stats.values());
+        result.sort(Comparator.comparing(EndpointStats::getEndpoint));
+        return result;
+    }
+
+    public long now() {
+        return clock.getAsLong();
+    }
+
+    public Duration getInterval() {
+        return interval;
+    }
+
+    public Duration getRetention() {
+        return interval.multipliedBy(maxIntervals);
+    }
+
+    private String boundedEndpoint(String endpoint) {
+        if (stats.size() < maxEndpoints) {
+            return endpoint;
+        }
+        return OVERFLOW_ENDPOINT;
+    }
+}
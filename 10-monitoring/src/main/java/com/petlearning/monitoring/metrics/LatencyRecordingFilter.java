@@ -0,0 +1,47 @@
+package com.petlearning.monitoring.metrics;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * 記錄每個 HTTP 請求的延遲到 {@link EndpointStatsRegistry}
+ *
+ * 端點以「HTTP 方法 + URI 樣板」識別（例如 GET /api/owners/{id}），
+ * 路徑參數不會造成端點數量爆增；沒有對應 Handler 的請求歸到 UNMATCHED。
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class LatencyRecordingFilter extends OncePerRequestFilter {
+
+    static final String UNMATCHED = "UNMATCHED";
+
+    private final EndpointStatsRegistry registry;
+
+    public LatencyRecordingFilter(EndpointStatsRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            chain.doFilter(request, response);
+            failed = false;
+        } finally {
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            String endpoint = request.getMethod() + ' ' + (pattern != null ? pattern : UNMATCHED);
+            registry.record(endpoint, System.nanoTime() - start, failed || response.getStatus() >= 500);
+        }
+    }
+}
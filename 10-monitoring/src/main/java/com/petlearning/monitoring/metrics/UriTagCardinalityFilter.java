@@ -0,0 +1,82 @@
+package com.petlearning.monitoring.metrics;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.config.MeterFilter;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * uri 標籤的基數控制
+ *
+ * 說明：
+ * - 應用程式已知的路由樣板（{@link #allow(Collection)}）一律保留
+ * - 其他 uri 值（例如 RestTemplate 以字串串接的完整 URL、未樣板化的路徑）
+ *   每個計量器最多保留 maxUris 個，之後的一律改為 {@link #OVERFLOW_URI}
+ *
+ * 與 Spring Boot 的 max-uri-tags 不同：超過上限的請求仍計入 OTHER，而不是整筆指標被丟棄。
+ */
+public class UriTagCardinalityFilter implements MeterFilter {
+
+    public static final String URI_TAG = "uri";
+    public static final String OVERFLOW_URI = "OTHER";
+
+    private final Set<String> meterNames;
+    private final int maxUris;
+    private final Set<String> known = ConcurrentHashMap.newKeySet();
+    private final Map<String, Set<String>> admitted = new ConcurrentHashMap<>();
+    private final LongAdder collapsed = new LongAdder();
+
+    public UriTagCardinalityFilter(Collection<String> meterNames, int maxUris) {
+        this.meterNames = Set.copyOf(meterNames);
+        this.maxUris = maxUris;
+    }
+
+    /**
+     * 加入已知的路由樣板（不受 maxUris 限制）
+     */
+    public void allow(Collection<String> uris) {
+        known.addAll(uris);
+    }
+
+    @Override
+    public Meter.Id map(Meter.Id id) {
+        if (!meterNames.contains(id.getName())) {
+            return id;
+        }
+        String uri = id.getTag(URI_TAG);
+        if (uri == null || OVERFLOW_URI.equals(uri) || known.contains(uri)) {
+            return id;
+        }
+        Set<String> seen = admitted.computeIfAbsent(id.getName(), name -> ConcurrentHashMap.newKeySet());
+        if (seen.contains(uri)) {
+            return id;
+        }
+        // 上限檢查與加入不是原子操作，併發時可能略微超過 maxUris
+        if (seen.size() < maxUris) {
+            seen.add(uri);
+            return id;
+        }
+        collapsed.increment();
+        return id.replaceTags(Tags.of(id.getTagsAsIterable()).and(URI_TAG, OVERFLOW_URI));
+    }
+
+    /**
+     * 被改為 OTHER 的 uri 次數
+     */
+    public long getCollapsedCount() {
+        return collapsed.sum();
+    }
+
+    /**
+     * 各計量器目前保留的非路由 uri 數
+     */
+    public int getAdmittedCount(String meterName) {
+        Set<String> seen = admitted.get(meterName);
+        return seen == null ? 0 : seen.size();
+    }
+}
@@ -0,0 +1,22 @@
+package com.petlearning.monitoring.slo;
+
+import java.time.Duration;
+
+/**
+ * 多視窗燃燒率規則
+ *
+ * 長視窗與短視窗的燃燒率都超過 burnRate 才成立：
+ * 長視窗確認消耗的預算夠多，短視窗確認問題仍在發生（問題解除後能很快恢復）
+ *
+ * @param longWindow 長視窗，例如 1h
+ * @param shortWindow 短視窗，通常為長視窗的 1/12，例如 5m
+ * @param burnRate 燃燒率門檻；1 表示剛好在 SLO 週期結束時用完預算
+ */
+public record BurnRateRule(Duration longWindow, Duration shortWindow, double burnRate) {
+
+    public BurnRateRule {
+        if (shortWindow.compareTo(longWindow) > 0) {
+            throw new IllegalArgumentException("Short window " + shortWindow + " is longer than " + longWindow);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.petlearning.monitoring.slo;
+
+/**
+ * 固定大小的累計值取樣環
+ *
+ * 每個評估區間記錄一次 (總請求數, 壞請求數) 的累計值，
+ * 任一視窗內的增量 = 最新取樣 - 視窗起點的取樣，記憶體只與最長視窗 / 評估區間成正比。
+ *
+ * 非執行緒安全，由 {@link SloEvaluator} 在同步區塊內使用。
+ */
+final class RollingCounterWindow {
+
+    private final long[] totals;
+    private final long[] bads;
+    private int latest = -1;
+    private int size;
+
+    RollingCounterWindow(int capacity) {
+        this.totals = new long[capacity];
+        this.bads = new long[capacity];
+    }
+
+    /**
+     * 記錄一次累計值；累計值變小（計量器被重設）時捨棄先前的取樣
+     */
+    void record(long total, long bad) {
+        if (size > 0 && (total < totals[latest] || bad < bads[latest])) {
+            size = 0;
+        }
+        latest = (latest + 1) % totals.length;
+        totals[latest] = total;
+        bads[latest] = bad;
+        size = Math.min(size + 1, totals.length);
+    }
+
+    /**
+     * 以最新累計值覆寫最後一筆取樣（不前進），讓粗粒度的取樣環也能算到目前為止的增量；
+     * 累計值變小時與 {@link #record} 相同，捨棄先前的取樣
+     */
+    void update(long total, long bad) {
+        if (size == 0 || total < totals[latest] || bad < bads[latest]) {
+            record(total, bad);
+            return;
+        }
+        totals[latest] = total;
+        bads[latest] = bad;
+    }
+
+    /**
+     * 最近 intervals 個區間的增量；取樣不足時以最早的取樣為起點
+     */
+    Delta delta(int intervals) {
+        if (size == 0) {
+            return new Delta(0, 0);
+        }
+        int back = Math.min(intervals, size - 1);
+        int start = Math.floorMod(latest - back, totals.length);
+        return new Delta(totals[latest] - totals[start], bads[latest] - bads[start]);
+    }
+
+    int capacity() {
+        return totals.length;
+    }
+
+    record Delta(long total, long bad) {
+
+        double badRatio() {
+            return total == 0 ? 0 : (double) bad / total;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.petlearning.monitoring.slo;
+
+import java.time.Duration;
+
+/**
+ * 單一端點的服務水準目標
+ *
+ * @param name SLO 名稱
+ * @param indicator 指標類型
+ * @param method HTTP 方法（null 表示所有方法）
+ * @param uri http.server.requests 的 uri 標籤（URI 樣板）
+ * @param target 目標比例，例如 0.999 表示 99.9% 的請求須為「好」的請求
+ * @param threshold 延遲門檻（只用於 LATENCY）
+ */
+public record ServiceLevelObjective(
+        String name,
+        Indicator indicator,
+        String method,
+        String uri,
+        double target,
+        Duration threshold) {
+
+    public enum Indicator {
+        /** 非 5xx 的請求為好請求 */
+        AVAILABILITY,
+        /** 耗時不超過 threshold 的請求為好請求 */
+        LATENCY
+    }
+
+    public ServiceLevelObjective {
+        if (target <= 0 || target >= 1) {
+            throw new IllegalArgumentException("SLO " + name + " target must be between 0 and 1: " + target);
+        }
+        if (indicator == Indicator.LATENCY && threshold == null) {
+            throw new IllegalArgumentException("Latency SLO " + name + " requires a threshold");
+        }
+    }
+
+    /**
+     * 錯誤預算：允許的壞請求比例
+     */
+    public double errorBudget() {
+        return 1 - target;
+    }
+}
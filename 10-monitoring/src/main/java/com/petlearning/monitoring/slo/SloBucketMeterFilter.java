@@ -0,0 +1,44 @@
+package com.petlearning.monitoring.slo;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.TreeSet;
+
+/**
+ * 把延遲 SLO 的門檻加入 http.server.requests 的 histogram bucket
+ *
+ * 預設的 percentiles-histogram bucket 是固定的指數間隔，不一定剛好落在 SLO 門檻上；
+ * 加入門檻 bucket 後，「不超過門檻的請求數」是精確值，{@link SloEvaluator} 與 PromQL 都能直接使用。
+ */
+public class SloBucketMeterFilter implements MeterFilter {
+
+    private final double[] thresholdNanos;
+
+    public SloBucketMeterFilter(Collection<Duration> thresholds) {
+        this.thresholdNanos = thresholds.stream().mapToDouble(Duration::toNanos).distinct().sorted().toArray();
+    }
+
+    @Override
+    public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+        if (thresholdNanos.length == 0 || !SloEvaluator.METRIC.equals(id.getName())) {
+            return config;
+        }
+        TreeSet<Double> boundaries = new TreeSet<>();
+        for (double threshold : thresholdNanos) {
+            boundaries.add(threshold);
+        }
+        if (config.getServiceLevelObjectiveBoundaries() != null) {
+            for (double boundary : config.getServiceLevelObjectiveBoundaries()) {
+                boundaries.add(boundary);
+            }
+        }
+        return DistributionStatisticConfig.builder()
+                .serviceLevelObjectives(boundaries.stream().mapToDouble(Double::doubleValue).toArray())
+                .build()
+                .merge(config);
+    }
+}
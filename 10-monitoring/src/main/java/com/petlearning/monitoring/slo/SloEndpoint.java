@@ -0,0 +1,49 @@
+package com.petlearning.monitoring.slo;
+
+import com.petlearning.monitoring.dto.SloReport;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * SLO 評估結果端點（/actuator/slo）
+ *
+ * 使用方式：
+ * - GET /actuator/slo          所有 SLO
+ * - GET /actuator/slo/{name}   單一 SLO
+ */
+@Endpoint(id = "slo")
+public class SloEndpoint {
+
+    private final SloEvaluator evaluator;
+
+    public SloEndpoint(SloEvaluator evaluator) {
+        this.evaluator = evaluator;
+    }
+
+    @ReadOperation
+    public SloStatus status() {
+        List<SloReport> reports = evaluator.getReports();
+        boolean burning = reports.stream().anyMatch(SloReport::burning);
+        return new SloStatus(evaluator.getEvaluatedAt(), burning, reports);
+    }
+
+    @ReadOperation
+    public WebEndpointResponse<SloReport> objective(@Selector String name) {
+        return evaluator.find(name)
+                .map(report -> new WebEndpointResponse<>(report, WebEndpointResponse.STATUS_OK))
+                .orElseGet(() -> new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND));
+    }
+
+    /**
+     * @param evaluatedAt 最近一次評估時間
+     * @param burning 是否有任何 SLO 的燃燒率規則成立
+     * @param objectives 各 SLO 的評估結果
+     */
+    public record SloStatus(Instant evaluatedAt, boolean burning, List<SloReport> objectives) {
+    }
+}
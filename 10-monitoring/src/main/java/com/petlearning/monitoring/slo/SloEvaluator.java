@@ -0,0 +1,225 @@
+package com.petlearning.monitoring.slo;
+
+import com.petlearning.monitoring.dto.SloReport;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.CountAtBucket;
+import io.micrometer.core.instrument.search.Search;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 程序內的 SLO 燃燒率評估
+ *
+ * 流程：
+ * 1. 每個 interval 從 MeterRegistry 讀取各 SLO 對應 http.server.requests 的累計值
+ *    - 總請求數：Timer count
+ *    - 壞請求（availability）：outcome = SERVER_ERROR 的 count
+ *    - 壞請求（latency）：count 減去不超過 threshold 的 histogram bucket 累計數
+ * 2. 累計值寫入固定大小的 {@link RollingCounterWindow}
+ * 3. 以取樣差計算各視窗的燃燒率 = 壞請求比例 / 錯誤預算，套用多視窗規則
+ * 4. 剩餘錯誤預算 = 1 - 預算週期內壞請求數 / 允許的壞請求數（總請求數 × 錯誤預算），
+ *    預算週期（預設 30 天）另以最多 {@value #BUDGET_SAMPLES} 筆的粗粒度取樣環計算，
+ *    計量器自程序啟動才開始累計，啟動未滿一個週期時只涵蓋啟動以來的請求
+ *
+ * 延遲門檻必須是 Timer 的 histogram bucket（由 {@link SloBucketMeterFilter} 加入），
+ * 且 registry 的 histogram 必須是累計的（Prometheus）。
+ * 短視窗請求數少於 minRequests 時規則不成立，避免低流量時單一錯誤觸發告警。
+ */
+public class SloEvaluator implements InitializingBean, DisposableBean {
+
+    static final String METRIC = "http.server.requests";
+    static final Duration DEFAULT_BUDGET_PERIOD = Duration.ofDays(30);
+    static final int BUDGET_SAMPLES = 720;
+    private static final String SERVER_ERROR = "SERVER_ERROR";
+
+    private final MeterRegistry registry;
+    private final List<ServiceLevelObjective> objectives;
+    private final List<BurnRateRule> rules;
+    private final Duration interval;
+    private final long minRequests;
+    private final List<Duration> windows;
+    private final int budgetStride;
+    private final int budgetIntervals;
+    private final Map<String, RollingCounterWindow> samples = new TreeMap<>();
+    private final Map<String, RollingCounterWindow> budgetSamples = new TreeMap<>();
+    private long evaluations;
+
+    private volatile List<SloReport> reports = List.of();
+    private volatile Instant evaluatedAt;
+    private ScheduledExecutorService scheduler;
+
+    public SloEvaluator(MeterRegistry registry, List<ServiceLevelObjective> objectives, List<BurnRateRule> rules,
+                        Duration interval, long minRequests) {
+        this(registry, objectives, rules, interval, minRequests, DEFAULT_BUDGET_PERIOD);
+    }
+
+    public SloEvaluator(MeterRegistry registry, List<ServiceLevelObjective> objectives, List<BurnRateRule> rules,
+                        Duration interval, long minRequests, Duration budgetPeriod) {
+        this.registry = registry;
+        this.objectives = List.copyOf(objectives);
+        this.rules = List.copyOf(rules);
+        this.interval = interval;
+        this.minRequests = minRequests;
+
+        TreeSet<Duration> distinct = new TreeSet<>();
+        for (BurnRateRule rule : rules) {
+            distinct.add(rule.longWindow());
+            distinct.add(rule.shortWindow());
+        }
+        this.windows = List.copyOf(distinct);
+        int capacity = distinct.isEmpty() ? 1 : intervals(distinct.last()) + 1;
+        // 預算取樣環每 budgetStride 個評估區間前進一格，記憶體與週期長度無關
+        int periodIntervals = intervals(budgetPeriod);
+        this.budgetStride = Math.max(1, (periodIntervals + BUDGET_SAMPLES - 1) / BUDGET_SAMPLES);
+        this.budgetIntervals = (periodIntervals + budgetStride - 1) / budgetStride;
+        for (ServiceLevelObjective objective : objectives) {
+            samples.put(objective.name(), new RollingCounterWindow(capacity));
+            budgetSamples.put(objective.name(), new RollingCounterWindow(budgetIntervals + 2));
+        }
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "slo-evaluator");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long millis = interval.toMillis();
+        scheduler.scheduleAtFixedRate(this::evaluate, 0, millis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void destroy() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    /**
+     * 取樣並重新評估所有 SLO（由背景執行緒每個 interval 呼叫一次）
+     */
+    public synchronized void evaluate() {
+        List<SloReport> results = new ArrayList<>(objectives.size());
+        for (ServiceLevelObjective objective : objectives) {
+            RollingCounterWindow window = samples.get(objective.name());
+            RollingCounterWindow budget = budgetSamples.get(objective.name());
+            long[] counts = read(objective);
+            window.record(counts[0], counts[1]);
+            // 預算取樣環的最後一格是目前的累計值；每 budgetStride 個區間把它固定為邊界取樣並另開一格
+            budget.update(counts[0], counts[1]);
+            if (evaluations % budgetStride == 0) {
+                budget.record(counts[0], counts[1]);
+            }
+            results.add(report(objective, window, budget));
+        }
+        evaluations++;
+        reports = List.copyOf(results);
+        evaluatedAt = Instant.now();
+    }
+
+    public List<SloReport> getReports() {
+        return reports;
+    }
+
+    public Optional<SloReport> find(String name) {
+        return reports.stream().filter(report -> report.name().equals(name)).findFirst();
+    }
+
+    /**
+     * 最近一次評估時間（尚未評估時為 null）
+     */
+    public Instant getEvaluatedAt() {
+        return evaluatedAt;
+    }
+
+    public List<Duration> getWindows() {
+        return windows;
+    }
+
+    private SloReport report(ServiceLevelObjective objective, RollingCounterWindow window,
+                             RollingCounterWindow budget) {
+        Map<Duration, Double> burnRates = new TreeMap<>();
+        List<SloReport.Window> windowReports = new ArrayList<>(windows.size());
+        for (Duration duration : windows) {
+            RollingCounterWindow.Delta delta = window.delta(intervals(duration));
+            double burnRate = delta.badRatio() / objective.errorBudget();
+            burnRates.put(duration, burnRate);
+            windowReports.add(new SloReport.Window(duration, delta.total(), delta.bad(), burnRate));
+        }
+
+        boolean burning = false;
+        List<SloReport.Rule> ruleReports = new ArrayList<>(rules.size());
+        for (BurnRateRule rule : rules) {
+            long shortRequests = window.delta(intervals(rule.shortWindow())).total();
+            boolean firing = shortRequests >= minRequests
+                    && burnRates.get(rule.longWindow()) >= rule.burnRate()
+                    && burnRates.get(rule.shortWindow()) >= rule.burnRate();
+            burning |= firing;
+            ruleReports.add(new SloReport.Rule(rule.longWindow(), rule.shortWindow(), rule.burnRate(), firing));
+        }
+
+        RollingCounterWindow.Delta period = budget.delta(budgetIntervals + 1);
+        double allowed = period.total() * objective.errorBudget();
+        double budgetRemaining = period.bad() == 0 ? 1 : 1 - period.bad() / allowed;
+        return new SloReport(objective.name(), objective.indicator().name().toLowerCase(Locale.ROOT),
+                objective.method(), objective.uri(), objective.target(), objective.threshold(),
+                burning, budgetRemaining, windowReports, ruleReports);
+    }
+
+    /**
+     * @return [總請求數, 壞請求數]（自啟動以來的累計值）
+     */
+    private long[] read(ServiceLevelObjective objective) {
+        Search search = registry.find(METRIC).tag("uri", objective.uri());
+        if (objective.method() != null) {
+            search = search.tag("method", objective.method());
+        }
+        long total = 0;
+        long bad = 0;
+        for (Timer timer : search.timers()) {
+            long count = timer.count();
+            total += count;
+            if (objective.indicator() == ServiceLevelObjective.Indicator.AVAILABILITY) {
+                if (SERVER_ERROR.equals(timer.getId().getTag("outcome"))) {
+                    bad += count;
+                }
+            } else {
+                bad += count - countWithin(timer, objective.threshold());
+            }
+        }
+        return new long[]{total, bad};
+    }
+
+    /**
+     * 不超過門檻的請求數：取不大於門檻的最大 bucket（沒有剛好等於門檻的 bucket 時偏保守）
+     */
+    private static long countWithin(Timer timer, Duration threshold) {
+        double thresholdNanos = threshold.toNanos();
+        long within = 0;
+        for (CountAtBucket bucket : timer.takeSnapshot().histogramCounts()) {
+            if (bucket.bucket(TimeUnit.NANOSECONDS) <= thresholdNanos) {
+                within = (long) bucket.count();
+            }
+        }
+        return within;
+    }
+
+    private int intervals(Duration window) {
+        return (int) Math.max(1, (window.toMillis() + interval.toMillis() - 1) / interval.toMillis());
+    }
+}
@@ -0,0 +1,40 @@
+package com.petlearning.monitoring.slo;
+
+import com.petlearning.monitoring.dto.SloReport;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 錯誤預算燃燒過快時回報 DOWN
+ *
+ * details 列出每個 SLO 的狀態（OK / BURNING）與預算週期內的剩餘錯誤預算。
+ * 此指標不屬於 liveness / readiness 群組，不會讓 Kubernetes 重啟或摘除 Pod，只反映在 /actuator/health。
+ */
+public class SloHealthIndicator implements HealthIndicator {
+
+    private final SloEvaluator evaluator;
+
+    public SloHealthIndicator(SloEvaluator evaluator) {
+        this.evaluator = evaluator;
+    }
+
+    @Override
+    public Health health() {
+        boolean burning = false;
+        Map<String, Object> objectives = new LinkedHashMap<>();
+        for (SloReport report : evaluator.getReports()) {
+            burning |= report.burning();
+            objectives.put(report.name(), Map.of(
+                    "status", report.burning() ? "BURNING" : "OK",
+                    "budgetRemaining", report.budgetRemaining()));
+        }
+        Health.Builder builder = burning ? Health.down() : Health.up();
+        return builder
+                .withDetail("evaluatedAt", String.valueOf(evaluator.getEvaluatedAt()))
+                .withDetail("objectives", objectives)
+                .build();
+    }
+}
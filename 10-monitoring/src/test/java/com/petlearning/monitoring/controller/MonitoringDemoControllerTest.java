@@ -1,11 +1,20 @@
 package com.petlearning.monitoring.controller;
 
+import com.petlearning.monitoring.metrics.EndpointStatsRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.web.servlet.MockMvc;
 
+import static org.hamcrest.Matchers.contains;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 /**
@@ -17,11 +26,24 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
  * - 測試統計端點
  */
 @WebMvcTest(MonitoringDemoController.class)
+@Import({EndpointStatsRegistry.class, MonitoringDemoControllerTest.MetricsConfig.class})
 class MonitoringDemoControllerTest {
 
+    @TestConfiguration
+    static class MetricsConfig {
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
     @Autowired
     private MockMvc mockMvc;
 
+    @Autowired
+    private EndpointStatsRegistry endpointStats;
+
     @Test
     void should_ReturnSuccess_When_HealthCheckCalled() throws Exception {
         // When & Then
@@ -42,4 +64,30 @@ class MonitoringDemoControllerTest {
         mockMvc.perform(get("/api/monitoring/stats"))
                 .andExpect(status().isOk());
     }
+
+    @Test
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.BEFORE_METHOD)
+    void should_ReturnEndpointLatencyStats_When_IntervalCompleted() throws Exception {
+        // Given
+        for (int i = 0; i < 3; i++) {
+            mockMvc.perform(get("/api/monitoring/health"));
+        }
+        endpointStats.roll();
+
+        // When & Then
+        String health = "$.endpoints[?(@.endpoint == 'GET /api/monitoring/health')]";
+        mockMvc.perform(get("/api/monitoring/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.intervalSeconds").value(10))
+                .andExpect(jsonPath(health + ".totalRequests").value(contains(3)))
+                .andExpect(jsonPath(health + ".windows.1m.requests").value(contains(3)))
+                .andExpect(jsonPath(health + ".windows.5m.errorRate").value(contains(0.0)));
+    }
+
+    @Test
+    void should_ReturnBadRequest_When_WindowIsInvalid() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/api/monitoring/stats").param("window", "soon"))
+                .andExpect(status().isBadRequest());
+    }
 }
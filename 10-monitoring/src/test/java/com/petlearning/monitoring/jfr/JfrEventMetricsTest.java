@@ -0,0 +1,96 @@
+package com.petlearning.monitoring.jfr;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * JFR 事件串流指標測試（使用真實的 JFR 串流，事件約每秒送達一次）
+ */
+class JfrEventMetricsTest {
+
+    private static final long TIMEOUT_MILLIS = 15_000;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final JfrEventMetrics metrics = new JfrEventMetrics(Duration.ofMillis(10), "1000/s");
+
+    @AfterEach
+    void tearDown() {
+        metrics.destroy();
+    }
+
+    @Test
+    void should_RecordGcPauseSafepointAndAllocation_When_GcTriggered() throws Exception {
+        // Given
+        metrics.bindTo(registry);
+        Thread.sleep(500);
+
+        // When
+        byte[][] garbage = new byte[1024][];
+        for (int i = 0; i < garbage.length; i++) {
+            garbage[i] = new byte[16 * 1024];
+        }
+        System.gc();
+
+        // Then
+        await(() -> registry.find("jvm.jfr.gc.pause").tag("cause", "System.gc()").timer() != null
+                && registry.get("jvm.jfr.safepoint.sync").timer().count() > 0
+                && registry.get("jvm.jfr.allocation").counter().count() > 0);
+        assertThat(registry.find("jvm.jfr.safepoint.operation").timers()).isNotEmpty();
+        assertThat(garbage[garbage.length - 1]).hasSize(16 * 1024);
+    }
+
+    @Test
+    void should_RecordMonitorContention_When_ThreadBlockedOnLock() throws Exception {
+        // Given
+        metrics.bindTo(registry);
+        Thread.sleep(500);
+        Object lock = new Object();
+        CountDownLatch holding = new CountDownLatch(1);
+
+        // When：另一條執行緒持有鎖 100ms，目前執行緒等待進入
+        Thread holder = new Thread(() -> {
+            synchronized (lock) {
+                holding.countDown();
+                sleep(100);
+            }
+        });
+        holder.start();
+        holding.await();
+        long blockedNanos = System.nanoTime();
+        synchronized (lock) {
+            blockedNanos = System.nanoTime() - blockedNanos;
+        }
+        holder.join();
+
+        // Then
+        await(() -> registry.get("jvm.jfr.monitor.contention").timer().count() > 0);
+        Timer contention = registry.get("jvm.jfr.monitor.contention").timer();
+        assertThat(blockedNanos).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(10));
+        assertThat(contention.max(TimeUnit.MILLISECONDS)).isGreaterThanOrEqualTo(10);
+    }
+
+    private static void await(BooleanSupplier condition) {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        while (!condition.getAsBoolean()) {
+            assertThat(System.currentTimeMillis()).as("condition not met in time").isLessThan(deadline);
+            sleep(100);
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.petlearning.monitoring.jfr;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.core.io.Resource;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * JFR 端點的 HTTP 狀態對應測試
+ */
+class JfrRecordingEndpointTest {
+
+    @TempDir
+    Path directory;
+
+    private JfrRecordingManager manager;
+    private JfrRecordingEndpoint endpoint;
+
+    @AfterEach
+    void tearDown() {
+        manager.destroy();
+    }
+
+    @Test
+    void should_ReturnRecordingFile_When_StartedStoppedAndDownloaded() throws Exception {
+        // Given
+        newEndpoint();
+        long id = endpoint.start(null, Duration.ofSeconds(30)).getBody().id();
+
+        // When
+        WebEndpointResponse<?> stopped = endpoint.stop(id);
+        WebEndpointResponse<Resource> download = endpoint.download(id);
+
+        // Then
+        assertThat(stopped.getStatus()).isEqualTo(200);
+        assertThat(download.getStatus()).isEqualTo(200);
+        assertThat(download.getBody().contentLength()).isPositive();
+        assertThat(endpoint.recordings()).hasSize(1);
+    }
+
+    @Test
+    void should_ReturnErrorStatus_When_RequestInvalidOrBusyOrUnknown() {
+        // Given
+        newEndpoint();
+        endpoint.start(null, null);
+
+        // When & Then
+        assertThat(endpoint.start(null, null).getStatus()).isEqualTo(429);
+        assertThatThrownBy(() -> endpoint.start("no-such-profile", null))
+                .isInstanceOf(InvalidEndpointRequestException.class);
+        assertThat(endpoint.stop(-1).getStatus()).isEqualTo(404);
+        assertThat(endpoint.download(-1).getStatus()).isEqualTo(404);
+    }
+
+    private void newEndpoint() {
+        manager = new JfrRecordingManager(directory, Duration.ofMinutes(1), Duration.ofMinutes(10),
+                DataSize.ofMegabytes(10), 5, 1);
+        endpoint = new JfrRecordingEndpoint(manager);
+    }
+}
@@ -0,0 +1,104 @@
+package com.petlearning.monitoring.jfr;
+
+import com.petlearning.monitoring.dto.JfrRecordingInfo;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * JFR 錄製管理測試（最多保留 2 份、同時執行 1 份）
+ */
+class JfrRecordingManagerTest {
+
+    @TempDir
+    Path directory;
+
+    private JfrRecordingManager manager;
+
+    @AfterEach
+    void tearDown() {
+        if (manager != null) {
+            manager.destroy();
+        }
+    }
+
+    @Test
+    void should_WriteJfrFile_When_RecordingStopped() throws Exception {
+        // Given
+        manager = newManager();
+        JfrRecordingInfo started = manager.start("profile", Duration.ofMinutes(1));
+
+        // When
+        JfrRecordingInfo stopped = manager.stop(started.id());
+
+        // Then
+        assertThat(started.state()).isEqualTo("RUNNING");
+        assertThat(started.file()).isNull();
+        assertThat(stopped.state()).isEqualTo("CLOSED");
+        assertThat(stopped.profile()).isEqualTo("profile");
+        Path file = manager.file(started.id());
+        assertThat(file.toString()).isEqualTo(stopped.file());
+        assertThat(Files.size(file)).isPositive().isEqualTo(stopped.sizeBytes());
+    }
+
+    @Test
+    void should_DumpSnapshot_When_DownloadingRunningRecording() throws Exception {
+        // Given
+        manager = newManager();
+        JfrRecordingInfo started = manager.start(null, null);
+
+        // When
+        Path snapshot = manager.file(started.id());
+
+        // Then：錄製仍在進行
+        assertThat(snapshot.getFileName().toString()).endsWith("-snapshot.jfr");
+        assertThat(Files.size(snapshot)).isPositive();
+        assertThat(manager.list()).extracting(JfrRecordingInfo::state).containsExactly("RUNNING");
+    }
+
+    @Test
+    void should_RejectStart_When_ProfileUnknownOrDurationTooLongOrAlreadyRunning() {
+        // Given
+        manager = newManager();
+
+        // When & Then
+        assertThatThrownBy(() -> manager.start("no-such-profile", null))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> manager.start(null, Duration.ofHours(1)))
+                .isInstanceOf(IllegalArgumentException.class);
+        manager.start(null, null);
+        assertThatThrownBy(() -> manager.start(null, null))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void should_DeleteOldestFinishedRecording_When_MaxRecordingsExceeded() {
+        // Given：兩份已結束的錄製
+        manager = newManager();
+        long first = manager.stop(manager.start(null, null).id()).id();
+        long second = manager.stop(manager.start(null, null).id()).id();
+        Path firstFile = manager.file(first);
+
+        // When
+        long third = manager.start(null, null).id();
+
+        // Then
+        assertThat(manager.list()).extracting(JfrRecordingInfo::id).containsExactly(second, third);
+        assertThat(manager.file(first)).isNull();
+        assertThat(firstFile).doesNotExist();
+        assertThat(manager.stop(first)).isNull();
+    }
+
+    private JfrRecordingManager newManager() {
+        return new JfrRecordingManager(directory, Duration.ofMinutes(1), Duration.ofMinutes(10),
+                DataSize.ofMegabytes(10), 2, 1);
+    }
+}
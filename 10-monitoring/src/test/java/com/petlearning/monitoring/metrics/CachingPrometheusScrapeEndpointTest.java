@@ -0,0 +1,78 @@
+package com.petlearning.monitoring.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.prometheus.PrometheusConfig;
+import io.micrometer.prometheus.PrometheusMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.boot.actuate.metrics.export.prometheus.TextOutputFormat;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Prometheus 輸出快取測試（ttl 5 秒，時鐘由測試控制）
+ */
+class CachingPrometheusScrapeEndpointTest {
+
+    private final PrometheusMeterRegistry registry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+    private final AtomicLong clock = new AtomicLong();
+    private final CachingPrometheusScrapeEndpoint endpoint = new CachingPrometheusScrapeEndpoint(
+            registry.getPrometheusRegistry(), Duration.ofSeconds(5), clock::get);
+    private final Counter counter = registry.counter("orders.created");
+
+    @Test
+    void should_ReuseOutput_When_ScrapedWithinTtl() {
+        // Given
+        counter.increment();
+        WebEndpointResponse<String> first = endpoint.scrape(TextOutputFormat.CONTENT_TYPE_004, null);
+
+        // When
+        counter.increment();
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(4));
+        WebEndpointResponse<String> second = endpoint.scrape(TextOutputFormat.CONTENT_TYPE_004, null);
+
+        // Then
+        assertThat(second).isSameAs(first);
+        assertThat(second.getBody()).contains("orders_created_total 1.0");
+        assertThat(endpoint.getRenders()).isEqualTo(1);
+        assertThat(endpoint.getCacheHits()).isEqualTo(1);
+    }
+
+    @Test
+    void should_RenderAgain_When_TtlExpired() {
+        // Given
+        counter.increment();
+        endpoint.scrape(TextOutputFormat.CONTENT_TYPE_004, null);
+
+        // When
+        counter.increment();
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(5));
+        WebEndpointResponse<String> response = endpoint.scrape(TextOutputFormat.CONTENT_TYPE_004, null);
+
+        // Then
+        assertThat(response.getBody()).contains("orders_created_total 2.0");
+        assertThat(endpoint.getRenders()).isEqualTo(2);
+    }
+
+    @Test
+    void should_CacheSeparately_When_FormatOrIncludedNamesDiffer() {
+        // Given
+        registry.counter("orders.cancelled").increment();
+
+        // When
+        String all = endpoint.scrape(TextOutputFormat.CONTENT_TYPE_004, null).getBody();
+        String filtered = endpoint.scrape(TextOutputFormat.CONTENT_TYPE_004, Set.of("orders_cancelled_total")).getBody();
+        String openMetrics = endpoint.scrape(TextOutputFormat.CONTENT_TYPE_OPENMETRICS_100, null).getBody();
+
+        // Then
+        assertThat(all).contains("orders_created_total").contains("orders_cancelled_total");
+        assertThat(filtered).contains("orders_cancelled_total").doesNotContain("orders_created_total");
+        assertThat(openMetrics).endsWith("# EOF\n");
+        assertThat(endpoint.getRenders()).isEqualTo(3);
+    }
+}
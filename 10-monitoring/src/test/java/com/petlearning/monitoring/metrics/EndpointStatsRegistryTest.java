@@ -0,0 +1,112 @@
+package com.petlearning.monitoring.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * 端點延遲統計測試（區間 10 秒、保留 5 分鐘，時鐘由測試控制）
+ */
+class EndpointStatsRegistryTest {
+
+    private static final long MILLIS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final AtomicLong clock = new AtomicLong(1_000_000);
+    private final EndpointStatsRegistry registry =
+            new EndpointStatsRegistry(3, Duration.ofSeconds(10), Duration.ofMinutes(5), clock::get);
+
+    @Test
+    void should_ReportPercentilesThroughputAndErrorRate_When_IntervalCompleted() {
+        // Given：1 ~ 100ms 各一次，其中 5 次錯誤
+        for (int i = 1; i <= 100; i++) {
+            registry.record("GET /api/owners/{id}", i * MILLIS, i > 95);
+        }
+
+        // When
+        advanceAndRoll(10);
+        EndpointStats.WindowSnapshot snapshot = stats("GET /api/owners/{id}").window(Duration.ofMinutes(1), clock.get());
+
+        // Then
+        assertThat(snapshot.requests()).isEqualTo(100);
+        assertThat(snapshot.requestsPerSecond()).isEqualTo(10.0);
+        assertThat(snapshot.errorRate()).isEqualTo(0.05);
+        assertThat(snapshot.p50Millis()).isCloseTo(50, within(1.0));
+        assertThat(snapshot.p99Millis()).isCloseTo(99, within(1.0));
+        assertThat(snapshot.maxMillis()).isCloseTo(100, within(1.0));
+    }
+
+    @Test
+    void should_MergeOnlyIntervalsInsideWindow_When_QueryingDifferentWindows() {
+        // Given：2 分鐘前的區間都是 500ms，最近一個區間都是 10ms
+        for (int i = 0; i < 100; i++) {
+            registry.record("GET /slow-then-fast", 500 * MILLIS, false);
+        }
+        advanceAndRoll(10);
+        for (int interval = 0; interval < 11; interval++) {
+            advanceAndRoll(10);
+        }
+        for (int i = 0; i < 100; i++) {
+            registry.record("GET /slow-then-fast", 10 * MILLIS, false);
+        }
+        advanceAndRoll(10);
+
+        // When
+        EndpointStats stats = stats("GET /slow-then-fast");
+        EndpointStats.WindowSnapshot lastMinute = stats.window(Duration.ofMinutes(1), clock.get());
+        EndpointStats.WindowSnapshot lastFiveMinutes = stats.window(Duration.ofMinutes(5), clock.get());
+
+        // Then
+        assertThat(lastMinute.requests()).isEqualTo(100);
+        assertThat(lastMinute.p99Millis()).isCloseTo(10, within(0.5));
+        assertThat(lastFiveMinutes.requests()).isEqualTo(200);
+        assertThat(lastFiveMinutes.p50Millis()).isCloseTo(10, within(0.5));
+        assertThat(lastFiveMinutes.p99Millis()).isCloseTo(500, within(5.0));
+    }
+
+    @Test
+    void should_DropOldestInterval_When_RetentionExceeded() {
+        // Given
+        registry.record("GET /old", 5 * MILLIS, false);
+        advanceAndRoll(10);
+
+        // When：再經過 30 個區間（5 分鐘）
+        for (int interval = 0; interval < 30; interval++) {
+            advanceAndRoll(10);
+        }
+
+        // Then：即使查詢更長的視窗，也只剩保留期內的資料
+        EndpointStats stats = stats("GET /old");
+        assertThat(stats.window(Duration.ofHours(1), clock.get()).requests()).isZero();
+        assertThat(stats.getTotalRequests()).isEqualTo(1);
+    }
+
+    @Test
+    void should_GroupIntoOverflow_When_TooManyEndpoints() {
+        // When
+        for (int i = 0; i < 5; i++) {
+            registry.record("GET /endpoint-" + i, MILLIS, false);
+        }
+
+        // Then
+        assertThat(registry.endpoints()).extracting(EndpointStats::getEndpoint)
+                .containsExactly("GET /endpoint-0", "GET /endpoint-1", "GET /endpoint-2",
+                        EndpointStatsRegistry.OVERFLOW_ENDPOINT);
+        assertThat(stats(EndpointStatsRegistry.OVERFLOW_ENDPOINT).getTotalRequests()).isEqualTo(2);
+    }
+
+    private void advanceAndRoll(long seconds) {
+        clock.addAndGet(TimeUnit.SECONDS.toMillis(seconds));
+        registry.roll();
+    }
+
+    private EndpointStats stats(String endpoint) {
+        return registry.endpoints().stream()
+                .filter(stats -> stats.getEndpoint().equals(endpoint))
+                .findFirst().orElseThrow();
+    }
+}
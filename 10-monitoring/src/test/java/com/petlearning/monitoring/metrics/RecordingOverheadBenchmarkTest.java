@@ -0,0 +1,112 @@
+package com.petlearning.monitoring.metrics;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.prometheus.PrometheusConfig;
+import io.micrometer.prometheus.PrometheusMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongConsumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 請求路徑上的記錄開銷
+ *
+ * 預設不執行，使用以下指令執行：
+ * mvn test -Dbenchmark=true -Dtest=RecordingOverheadBenchmarkTest
+ *
+ * 比較：
+ * - hdr：{@link EndpointStatsRegistry#record}（Recorder + LongAdder，含端點查表）
+ * - micrometer：Prometheus registry 上開啟 percentiles-histogram 的 Timer（http.server.requests 的設定）
+ *
+ * 以 JUnit 實作而非 JMH（專案未引入 JMH），數字適合相互比較，不適合當絕對值。
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class RecordingOverheadBenchmarkTest {
+
+    private static final int WARMUP_OPS = 2_000_000;
+    private static final int MEASURED_OPS = 10_000_000;
+    private static final int THREADS = 4;
+
+    @Test
+    void should_ReportRecordingCost_When_ComparingHdrRecorderAndMicrometerTimer() throws Exception {
+        EndpointStatsRegistry registry = new EndpointStatsRegistry(200, Duration.ofSeconds(10), Duration.ofMinutes(5),
+                System::currentTimeMillis);
+        PrometheusMeterRegistry prometheus = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+        Timer timer = Timer.builder("http.server.requests")
+                .tag("uri", "/api/owners/{id}")
+                .publishPercentileHistogram()
+                .register(prometheus);
+
+        Map<String, LongConsumer> forms = new LinkedHashMap<>();
+        forms.put("hdr", nanos -> registry.record("GET /api/owners/{id}", nanos, false));
+        forms.put("micrometer", nanos -> timer.record(nanos, TimeUnit.NANOSECONDS));
+
+        System.out.printf("%-12s %16s %10s %18s%n", "form", "1 thread ns/op", "bytes/op", THREADS + " threads ns/op");
+        Map<String, Long> singleThread = new LinkedHashMap<>();
+        for (Map.Entry<String, LongConsumer> form : forms.entrySet()) {
+            runSingle(form.getValue(), WARMUP_OPS);
+            long[] single = runSingle(form.getValue(), MEASURED_OPS);
+            long contended = runContended(form.getValue());
+            registry.roll();
+            System.out.printf("%-12s %16d %10d %18d%n", form.getKey(), single[0], single[1], contended);
+            singleThread.put(form.getKey(), single[0]);
+        }
+
+        assertThat(singleThread.get("hdr")).isLessThan(singleThread.get("micrometer"));
+    }
+
+    /**
+     * @return [ns/op, bytes/op]
+     */
+    private static long[] runSingle(LongConsumer record, int ops) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        long allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+        long start = System.nanoTime();
+        for (int i = 0; i < ops; i++) {
+            record.accept(1_000_000L + (i & 0xFFFFF));
+        }
+        long elapsed = System.nanoTime() - start;
+        long allocated = threads.getThreadAllocatedBytes(threadId) - allocatedBefore;
+        return new long[]{elapsed / ops, allocated / ops};
+    }
+
+    /**
+     * @return 所有執行緒完成的總時間 / 總記錄數（ns/op）
+     */
+    private static long runContended(LongConsumer record) throws InterruptedException {
+        int perThread = MEASURED_OPS / THREADS;
+        CountDownLatch ready = new CountDownLatch(THREADS);
+        CountDownLatch go = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(THREADS);
+        for (int t = 0; t < THREADS; t++) {
+            Thread worker = new Thread(() -> {
+                ready.countDown();
+                try {
+                    go.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int i = 0; i < perThread; i++) {
+                    record.accept(1_000_000L + (i & 0xFFFFF));
+                }
+                done.countDown();
+            });
+            worker.start();
+        }
+        ready.await();
+        long start = System.nanoTime();
+        go.countDown();
+        done.await();
+        return (System.nanoTime() - start) / ((long) THREADS * perThread);
+    }
+}
@@ -0,0 +1,152 @@
+package com.petlearning.monitoring.metrics;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import io.micrometer.prometheus.PrometheusConfig;
+import io.micrometer.prometheus.PrometheusMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.actuate.metrics.export.prometheus.PrometheusScrapeEndpoint;
+import org.springframework.boot.actuate.metrics.export.prometheus.TextOutputFormat;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * /actuator/prometheus 的抓取成本（約 1 萬條時間序列）
+ *
+ * 預設不執行，使用以下指令執行：
+ * mvn test -Dbenchmark=true -Dtest=ScrapeBenchmarkTest
+ *
+ * 比較：
+ * - histogram：http.server.requests 開啟 percentiles-histogram（原本的設定），140 個 Timer
+ * - slo-buckets：同樣 140 個 Timer，只輸出 8 個與 SLO 對齊的 bucket
+ * - slo-buckets/cached：同上，經 {@link CachingPrometheusScrapeEndpoint} 且快取未過期
+ * - raw-uri：800 個未樣板化的 uri（8 個 bucket），約 1 萬條序列
+ * - raw-uri/guarded：同上，經 {@link UriTagCardinalityFilter}（上限 50）
+ *
+ * 以 JUnit 實作而非 JMH（專案未引入 JMH），數字適合相互比較，不適合當絕對值。
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class ScrapeBenchmarkTest {
+
+    private static final String METRIC = "http.server.requests";
+    private static final int ROUTES = 35;
+    private static final String[] STATUSES = {"200", "201", "404", "500"};
+    private static final int RAW_URIS = 800;
+    private static final double[] SLO_BUCKETS = {25, 50, 100, 250, 500, 1000, 2500, 5000};
+
+    private static final int WARMUP_SCRAPES = 20;
+    private static final int MEASURED_SCRAPES = 50;
+
+    @Test
+    void should_ReportScrapeCostAndPayload_When_ShapingMetrics() {
+        Map<String, long[]> results = new LinkedHashMap<>();
+
+        PrometheusMeterRegistry histogram = registry(percentilesHistogram());
+        recordRoutes(histogram);
+        results.put("histogram", measure(new PrometheusScrapeEndpoint(histogram.getPrometheusRegistry())));
+
+        PrometheusMeterRegistry buckets = registry(sloBuckets());
+        recordRoutes(buckets);
+        results.put("slo-buckets", measure(new PrometheusScrapeEndpoint(buckets.getPrometheusRegistry())));
+        results.put("slo-buckets/cached", measure(
+                new CachingPrometheusScrapeEndpoint(buckets.getPrometheusRegistry(), Duration.ofMinutes(1))));
+
+        PrometheusMeterRegistry raw = registry(sloBuckets());
+        recordRawUris(raw);
+        results.put("raw-uri", measure(new PrometheusScrapeEndpoint(raw.getPrometheusRegistry())));
+
+        PrometheusMeterRegistry guarded = registry(sloBuckets());
+        guarded.config().meterFilter(new UriTagCardinalityFilter(List.of(METRIC), 50));
+        recordRawUris(guarded);
+        results.put("raw-uri/guarded", measure(new PrometheusScrapeEndpoint(guarded.getPrometheusRegistry())));
+
+        System.out.printf("%-20s %8s %14s %14s%n", "form", "series", "scrape us/op", "payload bytes");
+        results.forEach((form, result) ->
+                System.out.printf("%-20s %8d %14d %14d%n", form, result[0], result[1], result[2]));
+
+        assertThat(results.get("histogram")[0]).isGreaterThanOrEqualTo(10_000);
+        assertThat(results.get("slo-buckets")[2]).isLessThan(results.get("histogram")[2]);
+        assertThat(results.get("slo-buckets/cached")[1]).isLessThan(results.get("slo-buckets")[1]);
+        assertThat(results.get("raw-uri/guarded")[0]).isLessThan(results.get("raw-uri")[0]);
+    }
+
+    /**
+     * @return [series, us/op, payload bytes]
+     */
+    private static long[] measure(PrometheusScrapeEndpoint endpoint) {
+        String body = null;
+        for (int i = 0; i < WARMUP_SCRAPES; i++) {
+            body = endpoint.scrape(TextOutputFormat.CONTENT_TYPE_004, null).getBody();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_SCRAPES; i++) {
+            body = endpoint.scrape(TextOutputFormat.CONTENT_TYPE_004, null).getBody();
+        }
+        long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start) / MEASURED_SCRAPES;
+        long series = body.lines().filter(line -> !line.startsWith("#")).count();
+        return new long[]{series, micros, body.getBytes(StandardCharsets.UTF_8).length};
+    }
+
+    private static PrometheusMeterRegistry registry(MeterFilter shaping) {
+        PrometheusMeterRegistry registry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+        registry.config().meterFilter(shaping);
+        return registry;
+    }
+
+    private static void recordRoutes(PrometheusMeterRegistry registry) {
+        for (int route = 0; route < ROUTES; route++) {
+            for (String status : STATUSES) {
+                record(registry, "/api/resource" + route + "/{id}", status);
+            }
+        }
+    }
+
+    private static void recordRawUris(PrometheusMeterRegistry registry) {
+        for (int i = 0; i < RAW_URIS; i++) {
+            record(registry, "/api/owners/" + i, "200");
+        }
+    }
+
+    private static void record(PrometheusMeterRegistry registry, String uri, String status) {
+        Timer timer = Timer.builder(METRIC)
+                .tags("method", "GET", "uri", uri, "status", status,
+                        "outcome", status.startsWith("2") ? "SUCCESS" : "ERROR", "exception", "none")
+                .register(registry);
+        for (int i = 0; i < 100; i++) {
+            timer.record(ThreadLocalRandom.current().nextLong(1, 2000), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private static MeterFilter percentilesHistogram() {
+        return new MeterFilter() {
+            @Override
+            public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+                return DistributionStatisticConfig.builder().percentilesHistogram(true).build().merge(config);
+            }
+        };
+    }
+
+    private static MeterFilter sloBuckets() {
+        return new MeterFilter() {
+            @Override
+            public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+                double[] nanos = new double[SLO_BUCKETS.length];
+                for (int i = 0; i < nanos.length; i++) {
+                    nanos[i] = TimeUnit.MILLISECONDS.toNanos((long) SLO_BUCKETS[i]);
+                }
+                return DistributionStatisticConfig.builder().serviceLevelObjectives(nanos).build().merge(config);
+            }
+        };
+    }
+}
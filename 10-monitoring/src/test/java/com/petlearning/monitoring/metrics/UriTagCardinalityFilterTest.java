@@ -0,0 +1,73 @@
+package com.petlearning.monitoring.metrics;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * uri 標籤基數控制測試（每個計量器最多 2 個非路由 uri）
+ */
+class UriTagCardinalityFilterTest {
+
+    private final UriTagCardinalityFilter filter =
+            new UriTagCardinalityFilter(List.of("http.server.requests", "http.client.requests"), 2);
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    UriTagCardinalityFilterTest() {
+        registry.config().meterFilter(filter);
+        filter.allow(List.of("/api/owners/{id}"));
+    }
+
+    @Test
+    void should_CollapseUnknownUris_When_LimitReached() {
+        // Given & When
+        for (int i = 0; i < 10; i++) {
+            record("http.client.requests", "/api/owners/" + i);
+        }
+
+        // Then：前 2 個保留，其餘 8 個請求計入 OTHER
+        assertThat(registry.find("http.client.requests").timers()).hasSize(3);
+        assertThat(registry.get("http.client.requests").tag("uri", UriTagCardinalityFilter.OVERFLOW_URI)
+                .timer().count()).isEqualTo(8);
+        assertThat(filter.getAdmittedCount("http.client.requests")).isEqualTo(2);
+        assertThat(filter.getCollapsedCount()).isEqualTo(8);
+    }
+
+    @Test
+    void should_KeepKnownRoutesAndAdmittedUris_When_LimitReached() {
+        // Given：上限已被佔滿
+        record("http.server.requests", "/raw/1");
+        record("http.server.requests", "/raw/2");
+        record("http.server.requests", "/raw/3");
+
+        // When
+        record("http.server.requests", "/api/owners/{id}");
+        record("http.server.requests", "/raw/1");
+
+        // Then
+        assertThat(registry.get("http.server.requests").tag("uri", "/api/owners/{id}").timer().count()).isEqualTo(1);
+        assertThat(registry.get("http.server.requests").tag("uri", "/raw/1").timer().count()).isEqualTo(2);
+        assertThat(registry.get("http.server.requests").tag("uri", "OTHER").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void should_LeaveOtherMetersUntouched_When_NotGuarded() {
+        // Given & When
+        for (int i = 0; i < 10; i++) {
+            record("custom.requests", "/raw/" + i);
+        }
+
+        // Then
+        assertThat(registry.find("custom.requests").timers()).hasSize(10);
+        assertThat(filter.getCollapsedCount()).isZero();
+    }
+
+    private void record(String name, String uri) {
+        Timer.builder(name).tag("uri", uri).tag("method", "GET").register(registry).record(Duration.ofMillis(1));
+    }
+}
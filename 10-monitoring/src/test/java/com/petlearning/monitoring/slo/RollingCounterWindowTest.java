@@ -0,0 +1,63 @@
+package com.petlearning.monitoring.slo;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 累計值取樣環測試
+ */
+class RollingCounterWindowTest {
+
+    @Test
+    void should_ReturnDeltaWithinWindow_When_RingWrapsAround() {
+        // Given：容量 4，記錄 6 次（最早的 2 次已被覆寫）
+        RollingCounterWindow window = new RollingCounterWindow(4);
+        for (int i = 1; i <= 6; i++) {
+            window.record(i * 100L, i * 10L);
+        }
+
+        // When
+        RollingCounterWindow.Delta lastInterval = window.delta(1);
+        RollingCounterWindow.Delta beyondCapacity = window.delta(10);
+
+        // Then
+        assertThat(lastInterval.total()).isEqualTo(100);
+        assertThat(lastInterval.bad()).isEqualTo(10);
+        assertThat(beyondCapacity.total()).isEqualTo(300);
+        assertThat(beyondCapacity.badRatio()).isEqualTo(0.1);
+    }
+
+    @Test
+    void should_DiscardHistory_When_CumulativeValueDecreases() {
+        // Given
+        RollingCounterWindow window = new RollingCounterWindow(4);
+        window.record(1000, 100);
+        window.record(2000, 200);
+
+        // When：計量器重設後重新累計
+        window.record(50, 5);
+        window.record(80, 8);
+
+        // Then
+        assertThat(window.delta(3).total()).isEqualTo(30);
+        assertThat(window.delta(3).bad()).isEqualTo(3);
+    }
+
+    @Test
+    void should_IncludeLatestValue_When_LatestSampleUpdated() {
+        // Given
+        RollingCounterWindow window = new RollingCounterWindow(3);
+        window.record(100, 10);
+
+        // When：同一格內再更新兩次
+        window.update(150, 12);
+        window.update(180, 15);
+        window.record(200, 20);
+
+        // Then：覆寫不前進，視窗起點仍是更新後的值
+        assertThat(window.delta(1).total()).isEqualTo(20);
+        assertThat(window.delta(1).bad()).isEqualTo(5);
+        assertThat(window.delta(5).total()).isEqualTo(20);
+    }
+}
@@ -0,0 +1,146 @@
+package com.petlearning.monitoring.slo;
+
+import com.petlearning.monitoring.dto.SloReport;
+import io.micrometer.prometheus.PrometheusConfig;
+import io.micrometer.prometheus.PrometheusMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * SLO 燃燒率評估測試（評估間隔 10 秒，規則：1m / 10s 燃燒率 10 倍，由測試直接呼叫 evaluate）
+ */
+class SloEvaluatorTest {
+
+    private static final String URI = "/api/owners/{id}";
+    private static final Duration THRESHOLD = Duration.ofMillis(100);
+
+    private final PrometheusMeterRegistry registry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+    private final SloEvaluator evaluator;
+
+    SloEvaluatorTest() {
+        registry.config().meterFilter(new SloBucketMeterFilter(List.of(THRESHOLD)));
+        evaluator = new SloEvaluator(registry,
+                List.of(new ServiceLevelObjective("owners-availability", ServiceLevelObjective.Indicator.AVAILABILITY,
+                                "GET", URI, 0.99, null),
+                        new ServiceLevelObjective("owners-latency", ServiceLevelObjective.Indicator.LATENCY,
+                                "GET", URI, 0.9, THRESHOLD)),
+                List.of(new BurnRateRule(Duration.ofMinutes(1), Duration.ofSeconds(10), 10)),
+                Duration.ofSeconds(10), 10);
+    }
+
+    @Test
+    void should_FireRule_When_ErrorBudgetBurningFast() {
+        // Given
+        evaluator.evaluate();
+        record("GET", URI, "SUCCESS", 10, 100);
+        record("GET", URI, "SERVER_ERROR", 10, 20);
+
+        // When
+        evaluator.evaluate();
+        SloReport report = evaluator.find("owners-availability").orElseThrow();
+
+        // Then：壞請求比例 20/120，錯誤預算 1%，燃燒率約 16.7
+        assertThat(report.burning()).isTrue();
+        assertThat(report.windows()).allSatisfy(window -> {
+            assertThat(window.requests()).isEqualTo(120);
+            assertThat(window.bad()).isEqualTo(20);
+            assertThat(window.burnRate()).isCloseTo(16.67, within(0.01));
+        });
+        assertThat(report.rules()).singleElement().extracting(SloReport.Rule::firing).isEqualTo(true);
+        assertThat(report.budgetRemaining()).isCloseTo(1 - 20 / 1.2, within(0.001));
+    }
+
+    @Test
+    void should_KeepBudgetConsumed_When_ErrorsLeaveLongestWindow() {
+        // Given：預算週期 5 分鐘，1000 個請求中 5 個 5xx（允許 1%）
+        SloEvaluator periodEvaluator = new SloEvaluator(registry,
+                List.of(new ServiceLevelObjective("owners-availability", ServiceLevelObjective.Indicator.AVAILABILITY,
+                        "GET", URI, 0.99, null)),
+                List.of(new BurnRateRule(Duration.ofMinutes(1), Duration.ofSeconds(10), 10)),
+                Duration.ofSeconds(10), 10, Duration.ofMinutes(5));
+        periodEvaluator.evaluate();
+        record("GET", URI, "SUCCESS", 10, 995);
+        record("GET", URI, "SERVER_ERROR", 10, 5);
+        periodEvaluator.evaluate();
+
+        // When：之後 7 個區間全部成功，壞請求已移出最長視窗（1 分鐘）
+        for (int i = 0; i < 7; i++) {
+            record("GET", URI, "SUCCESS", 10, 100);
+            periodEvaluator.evaluate();
+        }
+        SloReport report = periodEvaluator.find("owners-availability").orElseThrow();
+
+        // Then：視窗燃燒率為 0，但週期內 1700 個請求允許 17 個壞請求，已用掉 5 個
+        assertThat(report.windows()).allSatisfy(window -> assertThat(window.burnRate()).isZero());
+        assertThat(report.budgetRemaining()).isCloseTo(1 - 5 / 17.0, within(0.001));
+    }
+
+    @Test
+    void should_StopFiring_When_ShortWindowRecovers() {
+        // Given：先進入燃燒狀態
+        evaluator.evaluate();
+        record("GET", URI, "SERVER_ERROR", 10, 20);
+        record("GET", URI, "SUCCESS", 10, 100);
+        evaluator.evaluate();
+
+        // When：下一個區間全部成功（長視窗 20/170，燃燒率約 11.8）
+        record("GET", URI, "SUCCESS", 10, 50);
+        evaluator.evaluate();
+        SloReport report = evaluator.find("owners-availability").orElseThrow();
+
+        // Then：長視窗仍超過門檻，短視窗已恢復
+        assertThat(report.windows()).extracting(SloReport.Window::burnRate)
+                .satisfiesExactly(
+                        shortWindow -> assertThat(shortWindow).isZero(),
+                        longWindow -> assertThat(longWindow).isGreaterThan(10));
+        assertThat(report.burning()).isFalse();
+    }
+
+    @Test
+    void should_CountSlowRequestsAsBad_When_LatencyObjective() {
+        // Given：50 個 50ms、50 個 150ms；其他 URI 與方法不計入
+        evaluator.evaluate();
+        record("GET", URI, "SUCCESS", 50, 50);
+        record("GET", URI, "SUCCESS", 150, 50);
+        record("POST", URI, "SUCCESS", 500, 50);
+        record("GET", "/api/other", "SUCCESS", 500, 50);
+
+        // When
+        evaluator.evaluate();
+        SloReport report = evaluator.find("owners-latency").orElseThrow();
+
+        // Then：壞請求比例 50%，錯誤預算 10%，燃燒率 5（未達 10 倍）
+        assertThat(report.windows().get(0).requests()).isEqualTo(100);
+        assertThat(report.windows().get(0).bad()).isEqualTo(50);
+        assertThat(report.windows().get(0).burnRate()).isCloseTo(5.0, within(0.001));
+        assertThat(report.burning()).isFalse();
+        assertThat(evaluator.find("owners-availability").orElseThrow().windows().get(0).bad()).isZero();
+    }
+
+    @Test
+    void should_NotFire_When_ShortWindowBelowMinRequests() {
+        // Given
+        evaluator.evaluate();
+        record("GET", URI, "SERVER_ERROR", 10, 5);
+
+        // When
+        evaluator.evaluate();
+        SloReport report = evaluator.find("owners-availability").orElseThrow();
+
+        // Then
+        assertThat(report.windows().get(0).burnRate()).isCloseTo(100.0, within(0.001));
+        assertThat(report.burning()).isFalse();
+    }
+
+    private void record(String method, String uri, String outcome, long millis, int times) {
+        for (int i = 0; i < times; i++) {
+            registry.timer(SloEvaluator.METRIC, "method", method, "uri", uri, "outcome", outcome)
+                    .record(Duration.ofMillis(millis));
+        }
+    }
+}
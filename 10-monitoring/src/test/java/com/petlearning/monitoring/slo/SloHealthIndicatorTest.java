@@ -0,0 +1,58 @@
+package com.petlearning.monitoring.slo;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * SLO 健康指標測試
+ */
+class SloHealthIndicatorTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final SloEvaluator evaluator = new SloEvaluator(registry,
+            List.of(new ServiceLevelObjective("checkout", ServiceLevelObjective.Indicator.AVAILABILITY,
+                    null, "/checkout", 0.999, null)),
+            List.of(new BurnRateRule(Duration.ofMinutes(5), Duration.ofMinutes(1), 14.4)),
+            Duration.ofSeconds(10), 1);
+    private final SloHealthIndicator indicator = new SloHealthIndicator(evaluator);
+
+    @Test
+    void should_ReportUp_When_NoErrors() {
+        // Given
+        evaluator.evaluate();
+        registry.timer(SloEvaluator.METRIC, "uri", "/checkout", "outcome", "SUCCESS").record(Duration.ofMillis(5));
+
+        // When
+        evaluator.evaluate();
+        Health health = indicator.health();
+
+        // Then
+        assertThat(health.getStatus()).isEqualTo(Status.UP);
+        assertThat(health.getDetails().get("objectives"))
+                .isEqualTo(Map.of("checkout", Map.of("status", "OK", "budgetRemaining", 1.0)));
+    }
+
+    @Test
+    void should_ReportDown_When_ErrorBudgetBurningFast() {
+        // Given
+        evaluator.evaluate();
+        registry.timer(SloEvaluator.METRIC, "uri", "/checkout", "outcome", "SUCCESS").record(Duration.ofMillis(5));
+        registry.timer(SloEvaluator.METRIC, "uri", "/checkout", "outcome", "SERVER_ERROR").record(Duration.ofMillis(5));
+
+        // When
+        evaluator.evaluate();
+        Health health = indicator.health();
+
+        // Then
+        assertThat(health.getStatus()).isEqualTo(Status.DOWN);
+        assertThat(((Map<?, ?>) health.getDetails().get("objectives")).get("checkout").toString()).contains("BURNING");
+    }
+}
@@ -0,0 +1,17 @@
+package com.petlearning.loadtest;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+/**
+ * Load Test 啟動類
+ * 以固定到達速率對整個服務堆疊送出混合的 CRUD 請求，輸出延遲百分位數報表；
+ * 執行完畢即結束，與基準比較有退步時結束碼為 1
+ */
+@SpringBootApplication
+public class LoadTestApplication {
+
+    public static void main(String[] args) {
+        System.exit(SpringApplication.exit(SpringApplication.run(LoadTestApplication.class, args)));
+    }
+}
@@ -0,0 +1,118 @@
+package com.petlearning.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.petlearning.loadtest.config.LoadTestProperties;
+import com.petlearning.loadtest.load.LoadTestResult;
+import com.petlearning.loadtest.load.OpenModelLoadGenerator;
+import com.petlearning.loadtest.load.Workload;
+import com.petlearning.loadtest.report.BaselineComparison;
+import com.petlearning.loadtest.report.LoadTestReport;
+import com.petlearning.loadtest.report.LoadTestSummary;
+import com.petlearning.loadtest.stack.ServiceStack;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.ExitCodeGenerator;
+
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * 執行一次負載測試：啟動服務堆疊（未設定 target-url 時）→ 建立資料 → 暖機 → 量測 → 報表 → 比較
+ */
+public class LoadTestRunner implements ApplicationRunner, ExitCodeGenerator {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoadTestRunner.class);
+
+    /** 處理回應的執行緒數；請求本身是非同步送出，不需要每個進行中的請求一條執行緒 */
+    private static final int CLIENT_THREADS = 4;
+
+    /** 每段結束後等待進行中請求的時間 = 請求逾時 + 此值，避免暖機的請求延續到量測期間 */
+    private static final Duration DRAIN_MARGIN = Duration.ofSeconds(5);
+
+    private final LoadTestProperties properties;
+    private final LoadTestReport report;
+    private final ObjectMapper objectMapper;
+    private volatile int exitCode;
+
+    public LoadTestRunner(LoadTestProperties properties, LoadTestReport report, ObjectMapper objectMapper) {
+        this.properties = properties;
+        this.report = report;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        Path outputDir = properties.getOutputDir();
+        ServiceStack stack = properties.getTargetUrl() == null
+                ? ServiceStack.launch(properties.getStack(), outputDir.resolve("logs")) : null;
+        ExecutorService executor = Executors.newFixedThreadPool(CLIENT_THREADS);
+        try {
+            String baseUrl = stack != null ? stack.getGatewayUrl() : properties.getTargetUrl();
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(2))
+                    .executor(executor)
+                    .build();
+            Workload workload = new Workload(baseUrl, properties.getSeedOwners(), properties.getMix(),
+                    properties.getRequestTimeout(), objectMapper);
+            workload.seed(client, properties.getSeedPetsPerOwner());
+            logger.info("Seeded {} pets for {} owners via {}", workload.getPetCount(), properties.getSeedOwners(),
+                    baseUrl);
+
+            OpenModelLoadGenerator generator = new OpenModelLoadGenerator(client, workload, properties.getRate(),
+                    properties.getMaxInFlight(), properties.getRequestTimeout().plus(DRAIN_MARGIN));
+            if (!properties.getWarmup().isZero()) {
+                logger.info("Warming up for {} at {}/s", properties.getWarmup(), properties.getRate());
+                generator.run(properties.getWarmup());
+            }
+            logger.info("Measuring for {} at {}/s", properties.getDuration(), properties.getRate());
+            LoadTestResult result = generator.run(properties.getDuration());
+
+            LoadTestSummary summary = report.write(result, outputDir);
+            logger.info("Report written to {}\n{}", outputDir.toAbsolutePath(), LoadTestReport.table(summary));
+            if (properties.isSaveBaseline()) {
+                Files.createDirectories(properties.getBaseline().toAbsolutePath().getParent());
+                Files.copy(outputDir.resolve(LoadTestReport.SUMMARY), properties.getBaseline(),
+                        StandardCopyOption.REPLACE_EXISTING);
+                logger.info("Saved baseline to {}", properties.getBaseline().toAbsolutePath());
+            }
+            if (properties.isCompare()) {
+                compare(summary, outputDir);
+            }
+        } finally {
+            executor.shutdownNow();
+            if (stack != null) {
+                stack.close();
+            }
+        }
+    }
+
+    @Override
+    public int getExitCode() {
+        return exitCode;
+    }
+
+    private void compare(LoadTestSummary summary, Path outputDir) throws Exception {
+        LoadTestSummary baseline = report.read(properties.getBaseline());
+        List<BaselineComparison.Regression> regressions =
+                new BaselineComparison(properties.getTolerance()).compare(baseline, summary);
+        StringBuilder text = new StringBuilder();
+        regressions.forEach(regression -> text.append(regression).append('\n'));
+        Files.writeString(outputDir.resolve("comparison.txt"),
+                regressions.isEmpty() ? "No regressions against " + properties.getBaseline() + "\n" : text);
+        if (regressions.isEmpty()) {
+            logger.info("No regressions against {}", properties.getBaseline());
+        } else {
+            logger.warn("{} regressions against {}:\n{}", regressions.size(), properties.getBaseline(), text);
+            exitCode = 1;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.petlearning.loadtest.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.petlearning.loadtest.LoadTestRunner;
+import com.petlearning.loadtest.report.LoadTestReport;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 負載測試配置
+ *
+ * 啟動後執行一次量測（暖機 + 量測）並結束；LoadTestRunner 同時是 ExitCodeGenerator，
+ * 比較模式下有退步時 SpringApplication.exit 回傳 1，可直接用在 CI。
+ */
+@Configuration
+@EnableConfigurationProperties(LoadTestProperties.class)
+public class LoadTestConfig {
+
+    @Bean
+    public LoadTestReport loadTestReport(ObjectMapper objectMapper) {
+        return new LoadTestReport(objectMapper);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "load-test", name = "run-on-startup", matchIfMissing = true)
+    public LoadTestRunner loadTestRunner(LoadTestProperties properties, LoadTestReport report,
+                                         ObjectMapper objectMapper) {
+        return new LoadTestRunner(properties, report, objectMapper);
+    }
+}
@@ -0,0 +1,307 @@
+package com.petlearning.loadtest.config;
+
+import com.petlearning.loadtest.load.Scenario;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * 負載測試設定
+ *
+ * 範例：
+ * <pre>
+ * load-test:
+ *   rate: 20
+ *   duration: 60s
+ *   mix:
+ *     owner-pets: 35
+ *     create-pet: 10
+ * </pre>
+ */
+@ConfigurationProperties(prefix = "load-test")
+public class LoadTestProperties {
+
+    /** Gateway 位址；未設定時在本機埠號啟動整個服務堆疊 */
+    private String targetUrl;
+
+    /** 固定的到達速率（每秒請求數），不受回應快慢影響 */
+    private double rate = 20;
+
+    /** 暖機時間，期間的結果不列入報表 */
+    private Duration warmup = Duration.ofSeconds(30);
+
+    /** 量測時間 */
+    private Duration duration = Duration.ofSeconds(60);
+
+    /** 進行中請求數上限，超過時該次請求記為 dropped（避免服務停擺時無限累積） */
+    private int maxInFlight = 500;
+
+    /** 單一請求逾時 */
+    private Duration requestTimeout = Duration.ofSeconds(5);
+
+    /** 各情境的權重 */
+    private Map<Scenario, Integer> mix = new EnumMap<>(Scenario.class);
+
+    /** 開始前建立的飼主數（ownerId 1..N） */
+    private int seedOwners = 50;
+
+    /** 每位飼主預先建立的寵物數（各附一筆就診） */
+    private int seedPetsPerOwner = 4;
+
+    /** 報表輸出目錄 */
+    private Path outputDir = Path.of("target/load-test");
+
+    /** 比較用的基準（之前某次的 summary.json） */
+    private Path baseline = Path.of("baseline/summary.json");
+
+    /** 與基準比較，有退步時以結束碼 1 結束 */
+    private boolean compare;
+
+    /** 把這次的 summary.json 存成新的基準 */
+    private boolean saveBaseline;
+
+    private Tolerance tolerance = new Tolerance();
+
+    private Stack stack = new Stack();
+
+    public String getTargetUrl() {
+        return targetUrl;
+    }
+
+    public void setTargetUrl(String targetUrl) {
+        this.targetUrl = targetUrl;
+    }
+
+    public double getRate() {
+        return rate;
+    }
+
+    public void setRate(double rate) {
+        this.rate = rate;
+    }
+
+    public Duration getWarmup() {
+        return warmup;
+    }
+
+    public void setWarmup(Duration warmup) {
+        this.warmup = warmup;
+    }
+
+    public Duration getDuration() {
+        return duration;
+    }
+
+    public void setDuration(Duration duration) {
+        this.duration = duration;
+    }
+
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    public void setMaxInFlight(int maxInFlight) {
+        this.maxInFlight = maxInFlight;
+    }
+
+    public Duration getRequestTimeout() {
+        return requestTimeout;
+    }
+
+    public void setRequestTimeout(Duration requestTimeout) {
+        this.requestTimeout = requestTimeout;
+    }
+
+    public Map<Scenario, Integer> getMix() {
+        return mix;
+    }
+
+    public void setMix(Map<Scenario, Integer> mix) {
+        this.mix = mix;
+    }
+
+    public int getSeedOwners() {
+        return seedOwners;
+    }
+
+    public void setSeedOwners(int seedOwners) {
+        this.seedOwners = seedOwners;
+    }
+
+    public int getSeedPetsPerOwner() {
+        return seedPetsPerOwner;
+    }
+
+    public void setSeedPetsPerOwner(int seedPetsPerOwner) {
+        this.seedPetsPerOwner = seedPetsPerOwner;
+    }
+
+    public Path getOutputDir() {
+        return outputDir;
+    }
+
+    public void setOutputDir(Path outputDir) {
+        this.outputDir = outputDir;
+    }
+
+    public Path getBaseline() {
+        return baseline;
+    }
+
+    public void setBaseline(Path baseline) {
+        this.baseline = baseline;
+    }
+
+    public boolean isCompare() {
+        return compare;
+    }
+
+    public void setCompare(boolean compare) {
+        this.compare = compare;
+    }
+
+    public boolean isSaveBaseline() {
+        return saveBaseline;
+    }
+
+    public void setSaveBaseline(boolean saveBaseline) {
+        this.saveBaseline = saveBaseline;
+    }
+
+    public Tolerance getTolerance() {
+        return tolerance;
+    }
+
+    public void setTolerance(Tolerance tolerance) {
+        this.tolerance = tolerance;
+    }
+
+    public Stack getStack() {
+        return stack;
+    }
+
+    public void setStack(Stack stack) {
+        this.stack = stack;
+    }
+
+    /**
+     * 與基準比較時容許的差距
+     */
+    public static class Tolerance {
+
+        /** 延遲百分位數可比基準慢的比例 */
+        private double latency = 0.25;
+
+        /** 延遲差距小於此值時不算退步（避免 1ms → 1.3ms 這類雜訊被判定為退步） */
+        private Duration minLatencyDelta = Duration.ofMillis(2);
+
+        /** 達成吞吐量可比基準低的比例 */
+        private double throughput = 0.05;
+
+        /** 錯誤率可比基準高的絕對值 */
+        private double errorRate = 0.01;
+
+        public double getLatency() {
+            return latency;
+        }
+
+        public void setLatency(double latency) {
+            this.latency = latency;
+        }
+
+        public Duration getMinLatencyDelta() {
+            return minLatencyDelta;
+        }
+
+        public void setMinLatencyDelta(Duration minLatencyDelta) {
+            this.minLatencyDelta = minLatencyDelta;
+        }
+
+        public double getThroughput() {
+            return throughput;
+        }
+
+        public void setThroughput(double throughput) {
+            this.throughput = throughput;
+        }
+
+        public double getErrorRate() {
+            return errorRate;
+        }
+
+        public void setErrorRate(double errorRate) {
+            this.errorRate = errorRate;
+        }
+    }
+
+    /**
+     * 在本機埠號啟動的服務堆疊（各服務以 java -jar 啟動，需先 mvn package）
+     */
+    public static class Stack {
+
+        /** 專案根目錄；省略時從目前目錄往上尋找 */
+        private Path projectDir;
+
+        private int gatewayPort = 18080;
+
+        private int customersPort = 18081;
+
+        private int petsPort = 18082;
+
+        /** 每個服務的 JVM 參數 */
+        private String jvmArgs = "-Xmx256m";
+
+        private Duration startupTimeout = Duration.ofMinutes(3);
+
+        public Path getProjectDir() {
+            return projectDir;
+        }
+
+        public void setProjectDir(Path projectDir) {
+            this.projectDir = projectDir;
+        }
+
+        public int getGatewayPort() {
+            return gatewayPort;
+        }
+
+        public void setGatewayPort(int gatewayPort) {
+            this.gatewayPort = gatewayPort;
+        }
+
+        public int getCustomersPort() {
+            return customersPort;
+        }
+
+        public void setCustomersPort(int customersPort) {
+            this.customersPort = customersPort;
+        }
+
+        public int getPetsPort() {
+            return petsPort;
+        }
+
+        public void setPetsPort(int petsPort) {
+            this.petsPort = petsPort;
+        }
+
+        public String getJvmArgs() {
+            return jvmArgs;
+        }
+
+        public void setJvmArgs(String jvmArgs) {
+            this.jvmArgs = jvmArgs;
+        }
+
+        public Duration getStartupTimeout() {
+            return startupTimeout;
+        }
+
+        public void setStartupTimeout(Duration startupTimeout) {
+            this.startupTimeout = startupTimeout;
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.petlearning.loadtest.load;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 一次量測的結果
+ *
+ * @param targetRate 設定的到達速率（每秒請求數）
+ * @param duration 量測時間（送出請求的時間，不含等待最後一批回應）
+ * @param scenarios 各情境的統計，沒有出現的情境 count 為 0
+ * @param timeline 每秒的吞吐量與延遲
+ */
+public record LoadTestResult(double targetRate, Duration duration,
+                             Map<Scenario, ScenarioStats.ScenarioResult> scenarios,
+                             List<Timeline.Point> timeline) {
+}
@@ -0,0 +1,132 @@
+package com.petlearning.loadtest.load;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 開放模型（open model）負載產生器：固定到達速率
+ *
+ * 第 i 個請求排定在 start + i / rate 送出，與前面的請求何時完成無關：
+ * - 請求以非同步方式送出，服務變慢時不會拖慢送出的節奏（封閉模型的 N 條執行緒迴圈會跟著變慢，
+ *   少送的請求正好是會遇到慢回應的那些，延遲因此被低估）
+ * - 延遲從排定時間起算：產生器本身落後（GC、執行緒排程）時，落後的時間也計入
+ * - 進行中請求數達 maxInFlight 時，該次請求不送出並記為 dropped，避免服務停擺時無限累積；
+ *   dropped 以最大可記錄延遲計入回應時間，百分位數不會因為丟棄最慢的那些請求而變好看
+ */
+public class OpenModelLoadGenerator {
+
+    private static final Logger logger = LoggerFactory.getLogger(OpenModelLoadGenerator.class);
+
+    private final HttpClient client;
+    private final Workload workload;
+    private final double rate;
+    private final int maxInFlight;
+    private final Duration drainTimeout;
+
+    public OpenModelLoadGenerator(HttpClient client, Workload workload, double rate, int maxInFlight,
+                                  Duration drainTimeout) {
+        if (rate <= 0) {
+            throw new IllegalArgumentException("rate must be positive");
+        }
+        this.client = client;
+        this.workload = workload;
+        this.rate = rate;
+        this.maxInFlight = maxInFlight;
+        this.drainTimeout = drainTimeout;
+    }
+
+    /**
+     * 以固定速率送出 duration 時間的請求，等進行中的請求完成後回傳統計
+     */
+    public LoadTestResult run(Duration duration) throws InterruptedException {
+        Map<Scenario, ScenarioStats> stats = new EnumMap<>(Scenario.class);
+        for (Scenario scenario : Scenario.values()) {
+            stats.put(scenario, new ScenarioStats(scenario));
+        }
+        Timeline timeline = new Timeline();
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        long intervalNanos = Math.round(1_000_000_000L / rate);
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+
+        ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor(
+                runnable -> new Thread(runnable, "load-timeline"));
+        sampler.scheduleAtFixedRate(() -> timeline.sample((System.nanoTime() - start) / 1e9),
+                1, 1, TimeUnit.SECONDS);
+        long sent = 0;
+        try {
+            for (long i = 0; ; i++) {
+                long intended = start + i * intervalNanos;
+                if (intended >= end) {
+                    break;
+                }
+                long wait;
+                while ((wait = intended - System.nanoTime()) > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                Workload.Request request = workload.request(workload.nextScenario());
+                ScenarioStats scenarioStats = stats.get(request.scenario());
+                if (!inFlight.tryAcquire()) {
+                    scenarioStats.drop();
+                    timeline.drop();
+                    continue;
+                }
+                long sentAt = System.nanoTime();
+                sent++;
+                client.sendAsync(request.httpRequest(), HttpResponse.BodyHandlers.ofString())
+                        .whenComplete((response, failure) -> {
+                            long done = System.nanoTime();
+                            try {
+                                boolean error = failure != null || response.statusCode() >= 400;
+                                if (!error) {
+                                    error = !accept(request, response);
+                                }
+                                scenarioStats.record(done - intended, done - sentAt, error);
+                                timeline.record(done - intended, error);
+                            } finally {
+                                // 記錄完才歸還，結束時取回全部許可即表示所有回應都已計入
+                                inFlight.release();
+                            }
+                        });
+            }
+            if (!inFlight.tryAcquire(maxInFlight, drainTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                logger.warn("{} requests still in flight after {}", maxInFlight - inFlight.availablePermits(),
+                        drainTimeout);
+            }
+        } finally {
+            sampler.shutdownNow();
+        }
+        double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+        timeline.sample(elapsedSeconds);
+
+        Map<Scenario, ScenarioStats.ScenarioResult> results = new EnumMap<>(Scenario.class);
+        stats.forEach((scenario, scenarioStats) -> results.put(scenario, scenarioStats.finish()));
+        logger.info("Sent {} requests in {} s at a target rate of {}/s", sent, String.format("%.1f", elapsedSeconds),
+                rate);
+        return new LoadTestResult(rate, duration, results, timeline.points());
+    }
+
+    /**
+     * 交給 Workload 更新 id 池；回應內容不符預期時記為錯誤
+     */
+    private boolean accept(Workload.Request request, HttpResponse<String> response) {
+        try {
+            workload.onSuccess(request, response);
+            return true;
+        } catch (RuntimeException ex) {
+            logger.debug("Unexpected {} response: {}", request.scenario().key(), ex.getMessage());
+            return false;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.petlearning.loadtest.load;
+
+/**
+ * 負載情境：飼主視角的寵物與就診 CRUD，全部經過 Gateway
+ *
+ * 飼主資料不在 Customers / Pets Service 中，飼主以 ownerId 表示；
+ * owner-pets 走完整的呼叫鏈 Gateway → Customers Service → Pets Service → H2。
+ */
+public enum Scenario {
+
+    /** GET /customers-service/api/customers/{ownerId}/pets */
+    OWNER_PETS("owner-pets"),
+    /** GET /pets-service/api/pets/{id} */
+    GET_PET("get-pet"),
+    /** GET /pets-service/api/pets?size=20 */
+    PAGE_PETS("page-pets"),
+    /** POST /pets-service/api/pets */
+    CREATE_PET("create-pet"),
+    /** PUT /pets-service/api/pets/{id} */
+    UPDATE_PET("update-pet"),
+    /** POST /pets-service/api/pets/{id}/visits */
+    ADD_VISIT("add-visit"),
+    /** DELETE /pets-service/api/pets/{id} */
+    DELETE_PET("delete-pet");
+
+    private final String key;
+
+    Scenario(String key) {
+        this.key = key;
+    }
+
+    /**
+     * 報表檔名與 summary.json 使用的名稱
+     */
+    public String key() {
+        return key;
+    }
+}
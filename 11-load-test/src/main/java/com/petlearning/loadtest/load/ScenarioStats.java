@@ -0,0 +1,77 @@
+package com.petlearning.loadtest.load;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 單一情境的延遲統計
+ *
+ * 每個請求記錄兩種延遲（微秒，HdrHistogram {@link Recorder}，多執行緒寫入不需要鎖）：
+ * - 回應時間：從「排定送出的時間」到完成。產生器落後或連線塞住時，等待的時間也算在請求上，
+ *   不會因為少送請求而低估延遲（coordinated omission）
+ * - 服務時間：從實際送出到完成，兩者差距即為負載產生端的排隊時間
+ *
+ * 錯誤（狀態碼 &gt;= 400、逾時、連線失敗）的延遲同樣計入直方圖；
+ * 因進行中請求數達上限而沒有送出的請求計入 dropped，並以最大可記錄延遲計入回應時間：
+ * 只算在錯誤率裡時，百分位數只剩下沒被丟棄的請求，又會低估服務停擺時的延遲。
+ * 沒有送出就沒有服務時間，完成數以服務時間直方圖為準。
+ */
+public class ScenarioStats {
+
+    /** 最大可記錄延遲：60 秒（微秒單位） */
+    static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.SECONDS.toMicros(60);
+
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private final Scenario scenario;
+    private final Recorder responseTime = new Recorder(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+    private final Recorder serviceTime = new Recorder(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+
+    public ScenarioStats(Scenario scenario) {
+        this.scenario = scenario;
+    }
+
+    public void record(long responseNanos, long serviceNanos, boolean error) {
+        responseTime.recordValue(micros(responseNanos));
+        serviceTime.recordValue(micros(serviceNanos));
+        if (error) {
+            errors.increment();
+        }
+    }
+
+    public void drop() {
+        responseTime.recordValue(HIGHEST_TRACKABLE_MICROS);
+        dropped.increment();
+    }
+
+    /**
+     * 取出目前為止的統計並重新開始
+     */
+    public ScenarioResult finish() {
+        return new ScenarioResult(scenario, responseTime.getIntervalHistogram(), serviceTime.getIntervalHistogram(),
+                errors.sumThenReset(), dropped.sumThenReset());
+    }
+
+    static long micros(long nanos) {
+        return Math.max(0, Math.min(TimeUnit.NANOSECONDS.toMicros(nanos), HIGHEST_TRACKABLE_MICROS));
+    }
+
+    /**
+     * 情境的統計結果（直方圖單位為微秒）
+     */
+    public record ScenarioResult(Scenario scenario, Histogram responseTime, Histogram serviceTime,
+                                 long errors, long dropped) {
+
+        /**
+         * 實際送出並完成的請求數（不含 dropped）
+         */
+        public long count() {
+            return serviceTime.getTotalCount();
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.petlearning.loadtest.load;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 每秒的吞吐量與延遲（所有情境合計），用於畫出吞吐量與延遲隨時間變化的圖
+ *
+ * 與 ScenarioStats 相同以 Recorder 記錄；每秒由取樣執行緒呼叫 {@link #sample(double)} 切出一個區間。
+ * dropped 的請求以最大可記錄延遲計入延遲，但不計入吞吐量。
+ */
+public class Timeline {
+
+    private final Recorder recorder = new Recorder(ScenarioStats.HIGHEST_TRACKABLE_MICROS, 2);
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final List<Point> points = new ArrayList<>();
+    private Histogram recycled;
+    private double lastSecond;
+
+    public void record(long responseNanos, boolean error) {
+        recorder.recordValue(ScenarioStats.micros(responseNanos));
+        if (error) {
+            errors.increment();
+        }
+    }
+
+    public void drop() {
+        recorder.recordValue(ScenarioStats.HIGHEST_TRACKABLE_MICROS);
+        dropped.increment();
+    }
+
+    /**
+     * 結束目前區間
+     *
+     * @param second 從量測開始經過的秒數
+     */
+    public synchronized void sample(double second) {
+        Histogram histogram = recorder.getIntervalHistogram(recycled);
+        double elapsed = second - lastSecond;
+        long count = histogram.getTotalCount();
+        long completed = count - dropped.sumThenReset();
+        points.add(new Point(second, elapsed > 0 ? completed / elapsed : 0, errors.sumThenReset(),
+                count > 0 ? histogram.getValueAtPercentile(50) / 1000.0 : 0,
+                count > 0 ? histogram.getValueAtPercentile(99) / 1000.0 : 0));
+        lastSecond = second;
+        recycled = histogram;
+    }
+
+    public synchronized List<Point> points() {
+        return List.copyOf(points);
+    }
+
+    /**
+     * 區間結束時間點的統計（延遲單位為毫秒）
+     */
+    public record Point(double second, double perSecond, long errors, double p50Millis, double p99Millis) {
+    }
+}
@@ -0,0 +1,204 @@
+package com.petlearning.loadtest.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 依情境產生請求，並追蹤目前存在的寵物 id
+ *
+ * 新增成功的寵物加入 id 池，刪除時從池中取出，讓讀取與更新大多打到存在的資料；
+ * 池空時需要 id 的情境改為分頁查詢。飼主 id 在 1..owners 之間隨機。
+ */
+public class Workload {
+
+    private static final String JSON = "application/json";
+
+    private final String baseUrl;
+    private final int owners;
+    private final Duration requestTimeout;
+    private final ObjectMapper objectMapper;
+    private final Scenario[] wheel;
+    // 只在持有 petIds 鎖時存取
+    private final List<Long> petIds = new ArrayList<>();
+
+    /**
+     * @param mix 各情境的權重，權重為 0 或未列出的情境不會出現
+     */
+    public Workload(String baseUrl, int owners, Map<Scenario, Integer> mix, Duration requestTimeout,
+                    ObjectMapper objectMapper) {
+        this.baseUrl = baseUrl;
+        this.owners = owners;
+        this.requestTimeout = requestTimeout;
+        this.objectMapper = objectMapper;
+        this.wheel = wheel(mix);
+    }
+
+    /**
+     * 依權重隨機選出下一個情境
+     */
+    public Scenario nextScenario() {
+        return wheel[ThreadLocalRandom.current().nextInt(wheel.length)];
+    }
+
+    /**
+     * 建立情境的請求；需要寵物 id 而池空時改用 {@link Scenario#PAGE_PETS}
+     */
+    public Request request(Scenario scenario) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return switch (scenario) {
+            case OWNER_PETS -> new Request(scenario,
+                    get("/customers-service/api/customers/" + randomOwner() + "/pets"));
+            case PAGE_PETS -> new Request(scenario, get("/pets-service/api/pets?size=20"));
+            case CREATE_PET -> new Request(scenario, send("POST", "/pets-service/api/pets",
+                    petJson("pet-" + random.nextInt(1_000_000), randomOwner())));
+            case GET_PET, UPDATE_PET, ADD_VISIT, DELETE_PET -> {
+                Long id = scenario == Scenario.DELETE_PET ? takePet() : randomPet();
+                if (id == null) {
+                    yield request(Scenario.PAGE_PETS);
+                }
+                yield new Request(scenario, switch (scenario) {
+                    case GET_PET -> get("/pets-service/api/pets/" + id);
+                    case UPDATE_PET -> send("PUT", "/pets-service/api/pets/" + id,
+                            petJson("renamed-" + random.nextInt(1_000_000), randomOwner()));
+                    case ADD_VISIT -> send("POST", "/pets-service/api/pets/" + id + "/visits",
+                            visitJson(LocalDate.now().minusDays(random.nextInt(365))));
+                    default -> HttpRequest.newBuilder(uri("/pets-service/api/pets/" + id))
+                            .timeout(requestTimeout).DELETE().build();
+                });
+            }
+        };
+    }
+
+    /**
+     * 請求成功後更新 id 池
+     */
+    public void onSuccess(Request request, HttpResponse<String> response) {
+        if (request.scenario() == Scenario.CREATE_PET) {
+            addPet(petId(response.body()));
+        }
+    }
+
+    /**
+     * 依序為每位飼主建立寵物，各附一筆就診
+     */
+    public void seed(HttpClient client, int petsPerOwner) throws IOException, InterruptedException {
+        for (int owner = 1; owner <= owners; owner++) {
+            for (int i = 0; i < petsPerOwner; i++) {
+                HttpResponse<String> created = client.send(
+                        send("POST", "/pets-service/api/pets", petJson("seed-" + owner + "-" + i, owner)),
+                        HttpResponse.BodyHandlers.ofString());
+                if (created.statusCode() != 201) {
+                    throw new IllegalStateException("Seeding failed with " + created.statusCode() + ": "
+                            + created.body());
+                }
+                long id = petId(created.body());
+                client.send(send("POST", "/pets-service/api/pets/" + id + "/visits", visitJson(LocalDate.now())),
+                        HttpResponse.BodyHandlers.discarding());
+                addPet(id);
+            }
+        }
+    }
+
+    public int getPetCount() {
+        synchronized (petIds) {
+            return petIds.size();
+        }
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(uri(path)).timeout(requestTimeout).GET().build();
+    }
+
+    private HttpRequest send(String method, String path, String json) {
+        return HttpRequest.newBuilder(uri(path))
+                .timeout(requestTimeout)
+                .header("Content-Type", JSON)
+                .method(method, HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    private URI uri(String path) {
+        return URI.create(baseUrl + path);
+    }
+
+    private int randomOwner() {
+        return ThreadLocalRandom.current().nextInt(1, owners + 1);
+    }
+
+    private Long randomPet() {
+        synchronized (petIds) {
+            return petIds.isEmpty() ? null : petIds.get(ThreadLocalRandom.current().nextInt(petIds.size()));
+        }
+    }
+
+    /**
+     * 隨機取出一個 id（與最後一個交換後移除，O(1)）
+     */
+    private Long takePet() {
+        synchronized (petIds) {
+            if (petIds.isEmpty()) {
+                return null;
+            }
+            int index = ThreadLocalRandom.current().nextInt(petIds.size());
+            Long id = petIds.get(index);
+            petIds.set(index, petIds.get(petIds.size() - 1));
+            petIds.remove(petIds.size() - 1);
+            return id;
+        }
+    }
+
+    private void addPet(long id) {
+        synchronized (petIds) {
+            petIds.add(id);
+        }
+    }
+
+    private long petId(String body) {
+        try {
+            return objectMapper.readTree(body).get("id").asLong();
+        } catch (IOException ex) {
+            throw new IllegalStateException("Unexpected pet response: " + body, ex);
+        }
+    }
+
+    private static String petJson(String name, int ownerId) {
+        return "{\"name\":\"" + name + "\",\"type\":\"狗\",\"ownerId\":" + ownerId + "}";
+    }
+
+    private static String visitJson(LocalDate date) {
+        return "{\"visitDate\":\"" + date + "\",\"description\":\"定期檢查\"}";
+    }
+
+    /**
+     * 把權重展開成陣列，隨機索引即為依權重抽選
+     */
+    private static Scenario[] wheel(Map<Scenario, Integer> mix) {
+        List<Scenario> wheel = new ArrayList<>();
+        for (Scenario scenario : Scenario.values()) {
+            for (int i = 0; i < mix.getOrDefault(scenario, 0); i++) {
+                wheel.add(scenario);
+            }
+        }
+        if (wheel.isEmpty()) {
+            throw new IllegalArgumentException("load-test.mix has no scenario with a positive weight");
+        }
+        return wheel.toArray(Scenario[]::new);
+    }
+
+    /**
+     * 實際送出的情境與請求（池空時情境已改為 PAGE_PETS）
+     */
+    public record Request(Scenario scenario, HttpRequest httpRequest) {
+    }
+}
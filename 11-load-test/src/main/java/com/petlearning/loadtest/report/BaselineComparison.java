@@ -0,0 +1,78 @@
+package com.petlearning.loadtest.report;
+
+import com.petlearning.loadtest.config.LoadTestProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 與基準摘要比較，找出退步的情境與指標
+ *
+ * - 延遲（p50、p90、p99）：比基準慢超過 tolerance.latency 的比例，且差距大於 min-latency-delta；
+ *   p99.9 只在兩次都有 {@value #MIN_TAIL_SAMPLES} 個以上樣本時比較，樣本太少時 p99.9 幾乎就是最大值
+ * - 吞吐量：只比較 "all"，比基準低超過 tolerance.throughput 的比例表示跟不上到達速率；
+ *   各情境的請求數由隨機抽選決定，本身就會上下浮動
+ * - 錯誤率（含 dropped）：比基準高超過 tolerance.error-rate
+ *
+ * 只比較基準中也有的情境；到達速率不同的兩次量測不可比較。
+ */
+public class BaselineComparison {
+
+    static final int MIN_TAIL_SAMPLES = 1000;
+
+    private final LoadTestProperties.Tolerance tolerance;
+
+    public BaselineComparison(LoadTestProperties.Tolerance tolerance) {
+        this.tolerance = tolerance;
+    }
+
+    public List<Regression> compare(LoadTestSummary baseline, LoadTestSummary current) {
+        if (Double.compare(baseline.targetRate(), current.targetRate()) != 0) {
+            throw new IllegalArgumentException("Baseline rate " + baseline.targetRate()
+                    + "/s differs from current rate " + current.targetRate() + "/s");
+        }
+        double minDelta = tolerance.getMinLatencyDelta().toNanos() / 1e6;
+        List<Regression> regressions = new ArrayList<>();
+        for (LoadTestSummary.Row now : current.scenarios()) {
+            LoadTestSummary.Row before = baseline.row(now.scenario());
+            if (before == null) {
+                continue;
+            }
+            latency(regressions, now.scenario(), "p50", before.p50Millis(), now.p50Millis(), minDelta);
+            latency(regressions, now.scenario(), "p90", before.p90Millis(), now.p90Millis(), minDelta);
+            latency(regressions, now.scenario(), "p99", before.p99Millis(), now.p99Millis(), minDelta);
+            if (Math.min(before.count(), now.count()) >= MIN_TAIL_SAMPLES) {
+                latency(regressions, now.scenario(), "p99.9", before.p999Millis(), now.p999Millis(), minDelta);
+            }
+            if (LoadTestSummary.ALL.equals(now.scenario())
+                    && now.throughput() < before.throughput() * (1 - tolerance.getThroughput())) {
+                regressions.add(new Regression(now.scenario(), "throughput", before.throughput(),
+                        now.throughput()));
+            }
+            if (now.errorRate() > before.errorRate() + tolerance.getErrorRate()) {
+                regressions.add(new Regression(now.scenario(), "error-rate", before.errorRate(), now.errorRate()));
+            }
+        }
+        return regressions;
+    }
+
+    private void latency(List<Regression> regressions, String scenario, String metric, double before, double now,
+                         double minDelta) {
+        if (now > before * (1 + tolerance.getLatency()) && now - before > minDelta) {
+            regressions.add(new Regression(scenario, metric + " ms", before, now));
+        }
+    }
+
+    /**
+     * 退步的指標
+     */
+    public record Regression(String scenario, String metric, double baseline, double current) {
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT, "%s %s: %.2f -> %.2f (%+.0f%%)", scenario, metric, baseline, current,
+                    baseline > 0 ? (current / baseline - 1) * 100 : 100.0);
+        }
+    }
+}
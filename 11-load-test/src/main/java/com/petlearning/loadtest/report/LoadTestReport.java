@@ -0,0 +1,104 @@
+package com.petlearning.loadtest.report;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.petlearning.loadtest.load.LoadTestResult;
+import com.petlearning.loadtest.load.ScenarioStats;
+import com.petlearning.loadtest.load.Timeline;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 把一次量測的結果寫成檔案
+ *
+ * - &lt;scenario&gt;.hgrm / &lt;scenario&gt;.service.hgrm：回應時間與服務時間的完整百分位分布（毫秒），
+ *   可貼到 HdrHistogram 的 plotFiles.html 畫圖比較
+ * - summary.json：各情境的吞吐量、錯誤率與百分位數，也是比較用的基準格式
+ * - timeline.csv、throughput.svg、latency.svg：每秒的吞吐量與延遲
+ */
+public class LoadTestReport {
+
+    public static final String SUMMARY = "summary.json";
+
+    /** hgrm 的數值除以此值輸出，直方圖以微秒記錄，輸出為毫秒 */
+    private static final double MICROS_PER_MILLI = 1000.0;
+
+    private final ObjectMapper objectMapper;
+
+    public LoadTestReport(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper.copy().enable(SerializationFeature.INDENT_OUTPUT);
+    }
+
+    /**
+     * 寫出所有檔案並回傳摘要
+     */
+    public LoadTestSummary write(LoadTestResult result, Path dir) throws IOException {
+        Files.createDirectories(dir);
+        for (ScenarioStats.ScenarioResult scenario : result.scenarios().values()) {
+            if (scenario.count() == 0 && scenario.dropped() == 0) {
+                continue;
+            }
+            writeHistogram(scenario, dir.resolve(scenario.scenario().key() + ".hgrm"), false);
+            writeHistogram(scenario, dir.resolve(scenario.scenario().key() + ".service.hgrm"), true);
+        }
+        LoadTestSummary summary = LoadTestSummary.of(result);
+        objectMapper.writeValue(dir.resolve(SUMMARY).toFile(), summary);
+        writeTimeline(result.timeline(), dir);
+        return summary;
+    }
+
+    public LoadTestSummary read(Path summary) throws IOException {
+        return objectMapper.readValue(summary.toFile(), LoadTestSummary.class);
+    }
+
+    /**
+     * 主控台用的摘要表格
+     */
+    public static String table(LoadTestSummary summary) {
+        StringBuilder table = new StringBuilder(String.format(Locale.ROOT,
+                "%-12s %8s %8s %7s %7s %9s %9s %9s %9s %9s%n", "scenario", "count", "req/s", "errors",
+                "dropped", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms"));
+        for (LoadTestSummary.Row row : summary.scenarios()) {
+            table.append(String.format(Locale.ROOT, "%-12s %8d %8.1f %7d %7d %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                    row.scenario(), row.count(), row.throughput(), row.errors(), row.dropped(), row.p50Millis(),
+                    row.p90Millis(), row.p99Millis(), row.p999Millis(), row.maxMillis()));
+        }
+        return table.toString();
+    }
+
+    private static void writeHistogram(ScenarioStats.ScenarioResult scenario, Path file, boolean service)
+            throws IOException {
+        try (PrintStream out = new PrintStream(Files.newOutputStream(file), false, StandardCharsets.UTF_8)) {
+            (service ? scenario.serviceTime() : scenario.responseTime())
+                    .outputPercentileDistribution(out, MICROS_PER_MILLI);
+        }
+    }
+
+    private static void writeTimeline(List<Timeline.Point> points, Path dir) throws IOException {
+        StringBuilder csv = new StringBuilder("second,requests_per_second,errors,p50_ms,p99_ms\n");
+        double[] seconds = new double[points.size()];
+        double[] throughput = new double[points.size()];
+        double[] p50 = new double[points.size()];
+        double[] p99 = new double[points.size()];
+        for (int i = 0; i < points.size(); i++) {
+            Timeline.Point point = points.get(i);
+            csv.append(String.format(Locale.ROOT, "%.1f,%.1f,%d,%.2f,%.2f%n", point.second(), point.perSecond(),
+                    point.errors(), point.p50Millis(), point.p99Millis()));
+            seconds[i] = point.second();
+            throughput[i] = point.perSecond();
+            p50[i] = point.p50Millis();
+            p99[i] = point.p99Millis();
+        }
+        Files.writeString(dir.resolve("timeline.csv"), csv);
+        Files.writeString(dir.resolve("throughput.svg"),
+                new SvgChart("Throughput", "requests / s").series("completed", seconds, throughput).render());
+        Files.writeString(dir.resolve("latency.svg"),
+                new SvgChart("Response time", "ms").series("p50", seconds, p50).series("p99", seconds, p99).render());
+    }
+}
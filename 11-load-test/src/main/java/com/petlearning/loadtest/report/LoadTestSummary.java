@@ -0,0 +1,74 @@
+package com.petlearning.loadtest.report;
+
+import com.petlearning.loadtest.load.LoadTestResult;
+import com.petlearning.loadtest.load.ScenarioStats;
+import org.HdrHistogram.Histogram;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * summary.json 的內容：各情境一列，最後一列 "all" 為所有情境合計
+ *
+ * 延遲單位為毫秒，回應時間從排定送出的時間起算（dropped 以最大可記錄延遲計入）；
+ * serviceP99Millis 為從實際送出起算的 p99。count 與 throughput 只算實際完成的請求。
+ * 同一個格式也是比較用的基準檔。
+ */
+public record LoadTestSummary(double targetRate, double durationSeconds, List<Row> scenarios) {
+
+    public static final String ALL = "all";
+
+    public record Row(String scenario, long count, double throughput, long errors, long dropped,
+                      double errorRate, double p50Millis, double p90Millis, double p99Millis,
+                      double p999Millis, double maxMillis, double serviceP99Millis) {
+    }
+
+    public static LoadTestSummary of(LoadTestResult result) {
+        double seconds = result.duration().toNanos() / 1e9;
+        List<Row> rows = new ArrayList<>();
+        Histogram allResponse = null;
+        Histogram allService = null;
+        long allErrors = 0;
+        long allDropped = 0;
+        for (ScenarioStats.ScenarioResult scenario : result.scenarios().values()) {
+            if (scenario.count() == 0 && scenario.dropped() == 0) {
+                continue;
+            }
+            rows.add(row(scenario.scenario().key(), scenario.responseTime(), scenario.serviceTime(),
+                    scenario.errors(), scenario.dropped(), seconds));
+            if (allResponse == null) {
+                allResponse = scenario.responseTime().copy();
+                allService = scenario.serviceTime().copy();
+            } else {
+                allResponse.add(scenario.responseTime());
+                allService.add(scenario.serviceTime());
+            }
+            allErrors += scenario.errors();
+            allDropped += scenario.dropped();
+        }
+        if (allResponse != null) {
+            rows.add(row(ALL, allResponse, allService, allErrors, allDropped, seconds));
+        }
+        return new LoadTestSummary(result.targetRate(), seconds, rows);
+    }
+
+    public Row row(String scenario) {
+        return scenarios.stream()
+                .filter(row -> row.scenario().equals(scenario))
+                .findFirst()
+                .orElse(null);
+    }
+
+    private static Row row(String scenario, Histogram response, Histogram service, long errors, long dropped,
+                           double seconds) {
+        long count = service.getTotalCount();
+        return new Row(scenario, count, count / seconds, errors, dropped,
+                count + dropped > 0 ? (double) (errors + dropped) / (count + dropped) : 0,
+                millis(response, 50), millis(response, 90), millis(response, 99), millis(response, 99.9),
+                response.getTotalCount() > 0 ? response.getMaxValue() / 1000.0 : 0, millis(service, 99));
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getTotalCount() > 0 ? histogram.getValueAtPercentile(percentile) / 1000.0 : 0;
+    }
+}
@@ -0,0 +1,121 @@
+package com.petlearning.loadtest.report;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 簡單的 SVG 折線圖（x 軸為秒），不需要額外的繪圖函式庫，瀏覽器即可開啟
+ */
+public class SvgChart {
+
+    private static final int WIDTH = 800;
+    private static final int HEIGHT = 360;
+    private static final int LEFT = 60;
+    private static final int RIGHT = 130;
+    private static final int TOP = 40;
+    private static final int BOTTOM = 40;
+    private static final int Y_TICKS = 5;
+    private static final String[] COLORS = {"#1f77b4", "#d62728", "#2ca02c", "#ff7f0e"};
+
+    private final String title;
+    private final String yLabel;
+    private final List<Series> series = new ArrayList<>();
+
+    private record Series(String name, double[] x, double[] y) {
+    }
+
+    public SvgChart(String title, String yLabel) {
+        this.title = title;
+        this.yLabel = yLabel;
+    }
+
+    public SvgChart series(String name, double[] x, double[] y) {
+        if (x.length != y.length) {
+            throw new IllegalArgumentException("x and y must have the same length");
+        }
+        series.add(new Series(name, x, y));
+        return this;
+    }
+
+    public String render() {
+        double maxX = 1;
+        double maxY = 0;
+        for (Series s : series) {
+            for (int i = 0; i < s.x().length; i++) {
+                maxX = Math.max(maxX, s.x()[i]);
+                maxY = Math.max(maxY, s.y()[i]);
+            }
+        }
+        maxY = niceCeiling(maxY);
+        int plotWidth = WIDTH - LEFT - RIGHT;
+        int plotHeight = HEIGHT - TOP - BOTTOM;
+
+        StringBuilder svg = new StringBuilder();
+        svg.append(format("<svg xmlns=\"http://www.w3.org/2000/svg\" width=\"%d\" height=\"%d\""
+                + " font-family=\"sans-serif\" font-size=\"12\">%n", WIDTH, HEIGHT));
+        svg.append(format("<rect width=\"%d\" height=\"%d\" fill=\"white\"/>%n", WIDTH, HEIGHT));
+        svg.append(format("<text x=\"%d\" y=\"24\" font-size=\"16\">%s</text>%n", LEFT, escape(title)));
+        for (int i = 0; i <= Y_TICKS; i++) {
+            double value = maxY * i / Y_TICKS;
+            double y = TOP + plotHeight - plotHeight * i / (double) Y_TICKS;
+            svg.append(format("<line x1=\"%d\" y1=\"%.1f\" x2=\"%d\" y2=\"%.1f\" stroke=\"#ddd\"/>%n",
+                    LEFT, y, LEFT + plotWidth, y));
+            svg.append(format("<text x=\"%d\" y=\"%.1f\" text-anchor=\"end\">%s</text>%n",
+                    LEFT - 6, y + 4, label(value)));
+        }
+        svg.append(format("<line x1=\"%d\" y1=\"%d\" x2=\"%d\" y2=\"%d\" stroke=\"black\"/>%n",
+                LEFT, TOP + plotHeight, LEFT + plotWidth, TOP + plotHeight));
+        svg.append(format("<text x=\"%d\" y=\"%d\" text-anchor=\"end\">%s s</text>%n",
+                LEFT + plotWidth, HEIGHT - 10, label(maxX)));
+        svg.append(format("<text x=\"%d\" y=\"%d\">%s</text>%n", LEFT, HEIGHT - 10, escape(yLabel)));
+
+        for (int s = 0; s < series.size(); s++) {
+            Series current = series.get(s);
+            String color = COLORS[s % COLORS.length];
+            StringBuilder points = new StringBuilder();
+            for (int i = 0; i < current.x().length; i++) {
+                double x = LEFT + plotWidth * current.x()[i] / maxX;
+                double y = TOP + plotHeight - (maxY > 0 ? plotHeight * current.y()[i] / maxY : 0);
+                points.append(format("%.1f,%.1f ", x, y));
+            }
+            svg.append(format("<polyline fill=\"none\" stroke=\"%s\" stroke-width=\"1.5\" points=\"%s\"/>%n",
+                    color, points.toString().trim()));
+            int legendY = TOP + 16 + s * 18;
+            svg.append(format("<line x1=\"%d\" y1=\"%d\" x2=\"%d\" y2=\"%d\" stroke=\"%s\" stroke-width=\"3\"/>%n",
+                    WIDTH - RIGHT + 10, legendY - 4, WIDTH - RIGHT + 30, legendY - 4, color));
+            svg.append(format("<text x=\"%d\" y=\"%d\">%s</text>%n",
+                    WIDTH - RIGHT + 36, legendY, escape(current.name())));
+        }
+        svg.append("</svg>\n");
+        return svg.toString();
+    }
+
+    /**
+     * 取 1、2、5 × 10^n 中不小於 value 的最小值，讓刻度是整齊的數字
+     */
+    static double niceCeiling(double value) {
+        if (value <= 0) {
+            return 1;
+        }
+        double magnitude = Math.pow(10, Math.floor(Math.log10(value)));
+        for (double step : new double[]{1, 2, 5, 10}) {
+            if (step * magnitude >= value) {
+                return step * magnitude;
+            }
+        }
+        return 10 * magnitude;
+    }
+
+    private static String label(double value) {
+        return value == Math.rint(value) ? String.valueOf((long) value) : format("%.1f", value);
+    }
+
+    private static String format(String pattern, Object... args) {
+        return String.format(Locale.ROOT, pattern, args);
+    }
+
+    private static String escape(String text) {
+        return text.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;");
+    }
+}
@@ -0,0 +1,206 @@
+package com.petlearning.loadtest.stack;
+
+import com.petlearning.loadtest.config.LoadTestProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * 在本機埠號啟動 Pets Service、Customers Service 與 Gateway
+ *
+ * 每個服務是獨立的 JVM（java -jar），與正式部署相同，彼此不共用 heap 與 GC。
+ * 不啟動 Eureka：Gateway 以 simple discovery 取得兩個服務的位址，仍走 lb:// 路由與負載平衡器；
+ * Customers Service 直接以 service-client 設定 Pets Service 的位址。
+ * 各服務的輸出寫到報表目錄下的 &lt;service&gt;.log。
+ */
+public class ServiceStack implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(ServiceStack.class);
+
+    private final List<Service> services = new ArrayList<>();
+    private final Thread shutdownHook = new Thread(this::stopAll, "service-stack-shutdown");
+    private final String gatewayUrl;
+
+    private record Service(String name, Process process, int port) {
+    }
+
+    private ServiceStack(String gatewayUrl) {
+        this.gatewayUrl = gatewayUrl;
+    }
+
+    /**
+     * 啟動三個服務並等到 /actuator/health 都回應 200
+     */
+    public static ServiceStack launch(LoadTestProperties.Stack properties, Path logDir) throws IOException {
+        Path projectDir = properties.getProjectDir() != null
+                ? properties.getProjectDir() : locateProjectDir(Path.of("").toAbsolutePath());
+        Files.createDirectories(logDir);
+        int pets = properties.getPetsPort();
+        int customers = properties.getCustomersPort();
+        int gateway = properties.getGatewayPort();
+
+        ServiceStack stack = new ServiceStack("http://localhost:" + gateway);
+        Runtime.getRuntime().addShutdownHook(stack.shutdownHook);
+        try {
+            stack.start("pets-service", jar(projectDir, "04-pets-service"), pets, properties, logDir,
+                    "--eureka.client.enabled=false",
+                    "--spring.jpa.show-sql=false");
+            stack.start("customers-service", jar(projectDir, "04-customers-service"), customers, properties, logDir,
+                    "--eureka.client.enabled=false",
+                    "--spring.jpa.show-sql=false",
+                    "--service-client.targets.pets-service.base-url=http://localhost:" + pets);
+            stack.start("api-gateway", jar(projectDir, "07-api-gateway"), gateway, properties, logDir,
+                    "--eureka.client.enabled=false",
+                    "--gateway.registry-snapshot.enabled=false",
+                    "--spring.cloud.discovery.client.simple.instances.customers-service[0].uri=http://localhost:" + customers,
+                    "--spring.cloud.discovery.client.simple.instances.pets-service[0].uri=http://localhost:" + pets);
+            stack.awaitHealthy(properties.getStartupTimeout());
+        } catch (IOException | RuntimeException ex) {
+            stack.close();
+            throw ex;
+        }
+        return stack;
+    }
+
+    public String getGatewayUrl() {
+        return gatewayUrl;
+    }
+
+    @Override
+    public void close() {
+        stopAll();
+        try {
+            Runtime.getRuntime().removeShutdownHook(shutdownHook);
+        } catch (IllegalStateException ex) {
+            // JVM 正在關閉，shutdown hook 已在執行
+        }
+    }
+
+    private void start(String name, Path jar, int port, LoadTestProperties.Stack properties, Path logDir,
+                       String... args) throws IOException {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(Arrays.asList(properties.getJvmArgs().trim().split("\\s+")));
+        command.add("-jar");
+        command.add(jar.toString());
+        command.add("--server.port=" + port);
+        command.addAll(Arrays.asList(args));
+        Path log = logDir.resolve(name + ".log");
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start();
+        services.add(new Service(name, process, port));
+        logger.info("Started {} on port {} (pid {}, log {})", name, port, process.pid(), log);
+    }
+
+    private void awaitHealthy(Duration timeout) {
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+        long deadline = System.nanoTime() + timeout.toNanos();
+        for (Service service : services) {
+            HttpRequest health = HttpRequest.newBuilder(
+                            URI.create("http://localhost:" + service.port() + "/actuator/health"))
+                    .timeout(Duration.ofSeconds(2))
+                    .build();
+            while (!isHealthy(client, health)) {
+                if (!service.process().isAlive()) {
+                    throw new IllegalStateException(service.name() + " exited with code "
+                            + service.process().exitValue() + " during startup, see " + service.name() + ".log");
+                }
+                if (System.nanoTime() > deadline) {
+                    throw new IllegalStateException(service.name() + " not healthy within " + timeout);
+                }
+                sleep(Duration.ofMillis(500));
+            }
+            logger.info("{} is healthy", service.name());
+        }
+    }
+
+    private static boolean isHealthy(HttpClient client, HttpRequest health) {
+        try {
+            return client.send(health, HttpResponse.BodyHandlers.discarding()).statusCode() == 200;
+        } catch (IOException ex) {
+            return false;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for services", ex);
+        }
+    }
+
+    /**
+     * 依啟動的相反順序停止：先停 Gateway，避免還在路由的請求打到已停止的服務
+     */
+    private synchronized void stopAll() {
+        for (int i = services.size() - 1; i >= 0; i--) {
+            Process process = services.get(i).process();
+            process.destroy();
+            try {
+                if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                    process.destroyForcibly();
+                }
+            } catch (InterruptedException ex) {
+                process.destroyForcibly();
+                Thread.currentThread().interrupt();
+            }
+        }
+        services.clear();
+    }
+
+    /**
+     * spring-boot-maven-plugin 產生的可執行 jar
+     */
+    private static Path jar(Path projectDir, String module) throws IOException {
+        Path target = projectDir.resolve(module).resolve("target");
+        if (Files.isDirectory(target)) {
+            try (Stream<Path> files = Files.list(target)) {
+                List<Path> jars = files
+                        .filter(file -> {
+                            String name = file.getFileName().toString();
+                            return name.startsWith(module) && name.endsWith(".jar")
+                                    && !name.endsWith("-sources.jar") && !name.endsWith("-tests.jar");
+                        })
+                        .sorted()
+                        .toList();
+                if (!jars.isEmpty()) {
+                    return jars.get(0);
+                }
+            }
+        }
+        throw new IllegalStateException("No jar found in " + target
+                + ", run: mvn package -DskipTests -pl 04-pets-service,04-customers-service,07-api-gateway -am");
+    }
+
+    /**
+     * 從 start 往上尋找包含 07-api-gateway 的目錄（mvn spring-boot:run 的工作目錄是模組目錄）
+     */
+    static Path locateProjectDir(Path start) {
+        for (Path dir = start; dir != null; dir = dir.getParent()) {
+            if (Files.isDirectory(dir.resolve("07-api-gateway")) && Files.exists(dir.resolve("pom.xml"))) {
+                return dir;
+            }
+        }
+        throw new IllegalStateException("Project root not found from " + start + ", set load-test.stack.project-dir");
+    }
+
+    private static void sleep(Duration duration) {
+        try {
+            Thread.sleep(duration.toMillis());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for services", ex);
+        }
+    }
+}
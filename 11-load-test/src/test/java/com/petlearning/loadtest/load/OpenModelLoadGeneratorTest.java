@@ -0,0 +1,107 @@
+package com.petlearning.loadtest.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 開放模型負載產生器測試
+ *
+ * 以測試用服務端點驗證：服務變慢時仍維持到達速率、延遲從排定時間起算、進行中請求達上限時記為 dropped
+ */
+class OpenModelLoadGeneratorTest {
+
+    private StubPetsServer server;
+    private ExecutorService executor;
+    private HttpClient client;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = new StubPetsServer();
+        executor = Executors.newFixedThreadPool(4);
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).executor(executor).build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.close();
+        executor.shutdownNow();
+    }
+
+    @Test
+    void should_KeepArrivalRate_When_ServiceIsSlow() throws Exception {
+        // Given
+        server.setDelay(Duration.ofMillis(300));
+        OpenModelLoadGenerator generator = generator(Map.of(Scenario.PAGE_PETS, 1), 50, 100);
+
+        // When
+        LoadTestResult result = generator.run(Duration.ofSeconds(1));
+
+        // Then：封閉模型的單一迴圈一秒只送得出 3 個，開放模型照樣送出 50 個
+        ScenarioStats.ScenarioResult pages = result.scenarios().get(Scenario.PAGE_PETS);
+        assertThat(pages.count()).isEqualTo(50);
+        assertThat(pages.errors()).isZero();
+        assertThat(pages.dropped()).isZero();
+        assertThat(server.requests()).isEqualTo(50);
+        assertThat(pages.serviceTime().getValueAtPercentile(50)).isGreaterThanOrEqualTo(300_000);
+        assertThat(pages.responseTime().getMaxValue())
+                .isGreaterThanOrEqualTo(pages.serviceTime().getMaxValue());
+        assertThat(result.timeline()).isNotEmpty();
+    }
+
+    @Test
+    void should_DropRequests_When_InFlightLimitReached() throws Exception {
+        // Given
+        server.setDelay(Duration.ofMillis(800));
+        OpenModelLoadGenerator generator = generator(Map.of(Scenario.PAGE_PETS, 1), 40, 4);
+
+        // When
+        LoadTestResult result = generator.run(Duration.ofMillis(500));
+
+        // Then：dropped 以最大可記錄延遲計入回應時間
+        ScenarioStats.ScenarioResult pages = result.scenarios().get(Scenario.PAGE_PETS);
+        assertThat(pages.count()).isEqualTo(4);
+        assertThat(pages.dropped()).isEqualTo(16);
+        assertThat(server.requests()).isEqualTo(4);
+        assertThat(pages.responseTime().getTotalCount()).isEqualTo(20);
+        assertThat(pages.responseTime().getValueAtPercentile(50))
+                .isEqualTo(pages.responseTime().highestEquivalentValue(ScenarioStats.HIGHEST_TRACKABLE_MICROS));
+        assertThat(pages.serviceTime().getTotalCount()).isEqualTo(4);
+    }
+
+    @Test
+    void should_UseCreatedPets_When_MixNeedsPetIds() throws Exception {
+        // Given
+        Workload workload = workload(Map.of(Scenario.CREATE_PET, 1, Scenario.GET_PET, 1));
+        OpenModelLoadGenerator generator = new OpenModelLoadGenerator(client, workload, 40, 100,
+                Duration.ofSeconds(5));
+
+        // When
+        LoadTestResult result = generator.run(Duration.ofMillis(500));
+
+        // Then
+        long created = result.scenarios().get(Scenario.CREATE_PET).count();
+        assertThat(created).isPositive();
+        assertThat(workload.getPetCount()).isEqualTo(created);
+        assertThat(result.scenarios().values())
+                .allSatisfy(scenario -> assertThat(scenario.errors()).isZero());
+    }
+
+    private OpenModelLoadGenerator generator(Map<Scenario, Integer> mix, double rate, int maxInFlight) {
+        return new OpenModelLoadGenerator(client, workload(mix), rate, maxInFlight, Duration.ofSeconds(5));
+    }
+
+    private Workload workload(Map<Scenario, Integer> mix) {
+        return new Workload(server.baseUrl(), 5, mix, Duration.ofSeconds(5), new ObjectMapper());
+    }
+}
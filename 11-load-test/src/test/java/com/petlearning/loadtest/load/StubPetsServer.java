@@ -0,0 +1,75 @@
+package com.petlearning.loadtest.load;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 測試用服務端點，模擬 Gateway 後方的 Pets / Customers Service
+ *
+ * 新增寵物回應 201 與遞增的 id，其他請求回應 200；每個請求先等待 {@link #setDelay(Duration)} 指定的時間，
+ * 用來模擬變慢的服務。以不限數量的執行緒處理，慢的請求不會彼此排隊。
+ */
+public class StubPetsServer implements AutoCloseable {
+
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final AtomicInteger requests = new AtomicInteger();
+    private final AtomicLong nextId = new AtomicLong(1);
+    private volatile Duration delay = Duration.ZERO;
+
+    public StubPetsServer() throws IOException {
+        // JDK HttpServer 預設未關閉 Nagle，重用連線時會有約 40ms 的延遲
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", this::handle);
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    public String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    public void setDelay(Duration delay) {
+        this.delay = delay;
+    }
+
+    public int requests() {
+        return requests.get();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            exchange.getRequestBody().readAllBytes();
+            requests.incrementAndGet();
+            try {
+                Thread.sleep(delay.toMillis());
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            boolean create = "POST".equals(exchange.getRequestMethod())
+                    && exchange.getRequestURI().getPath().endsWith("/pets");
+            byte[] body = (create ? "{\"id\":" + nextId.getAndIncrement() + "}" : "{}")
+                    .getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(create ? 201 : 200, body.length);
+            exchange.getResponseBody().write(body);
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
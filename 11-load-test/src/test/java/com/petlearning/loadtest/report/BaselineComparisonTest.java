@@ -0,0 +1,93 @@
+package com.petlearning.loadtest.report;
+
+import com.petlearning.loadtest.config.LoadTestProperties;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 基準比較測試
+ */
+class BaselineComparisonTest {
+
+    private final BaselineComparison comparison = new BaselineComparison(new LoadTestProperties.Tolerance());
+
+    @Test
+    void should_ReportNoRegression_When_WithinTolerance() {
+        // Given：p99 由 40ms 變為 48ms（+20%），p50 由 1ms 變為 2ms（+100% 但差距小於 2ms）
+        LoadTestSummary baseline = summary(50, row("owner-pets", 50.0, 1.0, 40.0, 0.0));
+        LoadTestSummary current = summary(50, row("owner-pets", 49.0, 2.0, 48.0, 0.005));
+
+        // When
+        List<BaselineComparison.Regression> regressions = comparison.compare(baseline, current);
+
+        // Then
+        assertThat(regressions).isEmpty();
+    }
+
+    @Test
+    void should_FlagLatencyThroughputAndErrors_When_Regressed() {
+        // Given
+        LoadTestSummary baseline = summary(50, row("all", 50.0, 5.0, 40.0, 0.0));
+        LoadTestSummary current = summary(50, row("all", 40.0, 5.5, 80.0, 0.05));
+
+        // When
+        List<BaselineComparison.Regression> regressions = comparison.compare(baseline, current);
+
+        // Then
+        assertThat(regressions)
+                .extracting(BaselineComparison.Regression::metric)
+                .containsExactly("p99 ms", "p99.9 ms", "throughput", "error-rate");
+        assertThat(regressions.get(0).toString()).isEqualTo("all p99 ms: 40.00 -> 80.00 (+100%)");
+    }
+
+    @Test
+    void should_IgnoreScenarioThroughputAndSparseTail_When_ComparingScenarios() {
+        // Given：單一情境的請求數少了 20%，p99.9 變慢但樣本不足 1000
+        LoadTestSummary baseline = summary(50, row("delete-pet", 5.0, 5.0, 40.0, 0.0));
+        LoadTestSummary current = summary(50, new LoadTestSummary.Row("delete-pet", 240, 4.0, 0, 0, 0.0,
+                5.0, 5.0, 40.0, 400.0, 400.0, 40.0));
+
+        // When & Then
+        assertThat(comparison.compare(baseline, current)).isEmpty();
+    }
+
+    @Test
+    void should_SkipScenario_When_NotInBaseline() {
+        // Given
+        LoadTestSummary baseline = summary(50, row("get-pet", 10.0, 1.0, 5.0, 0.0));
+        LoadTestSummary current = summary(50, row("get-pet", 10.0, 1.0, 5.0, 0.0),
+                row("delete-pet", 1.0, 100.0, 900.0, 0.5));
+
+        // When & Then
+        assertThat(comparison.compare(baseline, current)).isEmpty();
+    }
+
+    @Test
+    void should_Reject_When_RatesDiffer() {
+        // Given
+        LoadTestSummary baseline = summary(50, row("all", 50.0, 1.0, 5.0, 0.0));
+        LoadTestSummary current = summary(100, row("all", 100.0, 1.0, 5.0, 0.0));
+
+        // When & Then
+        assertThatThrownBy(() -> comparison.compare(baseline, current))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("differs");
+    }
+
+    private static LoadTestSummary summary(double rate, LoadTestSummary.Row... rows) {
+        return new LoadTestSummary(rate, 60, List.of(rows));
+    }
+
+    /**
+     * p90 與 p50 相同、p99.9 與 p99 相同、max 為 p99 的兩倍
+     */
+    private static LoadTestSummary.Row row(String scenario, double throughput, double p50, double p99,
+                                           double errorRate) {
+        return new LoadTestSummary.Row(scenario, Math.round(throughput * 60), throughput, 0, 0, errorRate,
+                p50, p50, p99, p99, p99 * 2, p99);
+    }
+}
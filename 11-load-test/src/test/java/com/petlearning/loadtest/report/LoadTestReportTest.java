@@ -0,0 +1,82 @@
+package com.petlearning.loadtest.report;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.petlearning.loadtest.load.LoadTestResult;
+import com.petlearning.loadtest.load.Scenario;
+import com.petlearning.loadtest.load.ScenarioStats;
+import com.petlearning.loadtest.load.Timeline;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * 報表輸出測試
+ */
+class LoadTestReportTest {
+
+    private final LoadTestReport report = new LoadTestReport(new ObjectMapper());
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void should_WriteHistogramsSummaryAndCharts_When_ResultWritten() throws Exception {
+        // Given：owner-pets 100 個請求 1..100ms（其中 2 個錯誤），get-pet 100 個 1ms 與 1 個 dropped（計為 60 秒）
+        ScenarioStats ownerPets = new ScenarioStats(Scenario.OWNER_PETS);
+        ScenarioStats getPet = new ScenarioStats(Scenario.GET_PET);
+        for (int i = 1; i <= 100; i++) {
+            ownerPets.record(TimeUnit.MILLISECONDS.toNanos(i), TimeUnit.MILLISECONDS.toNanos(i), i > 98);
+            getPet.record(TimeUnit.MILLISECONDS.toNanos(1), TimeUnit.MILLISECONDS.toNanos(1), false);
+        }
+        getPet.drop();
+        Map<Scenario, ScenarioStats.ScenarioResult> scenarios = new EnumMap<>(Scenario.class);
+        scenarios.put(Scenario.OWNER_PETS, ownerPets.finish());
+        scenarios.put(Scenario.GET_PET, getPet.finish());
+        scenarios.put(Scenario.DELETE_PET, new ScenarioStats(Scenario.DELETE_PET).finish());
+        List<Timeline.Point> timeline = List.of(new Timeline.Point(1, 100, 0, 1, 50),
+                new Timeline.Point(2, 100, 2, 2, 99));
+
+        // When
+        LoadTestSummary summary = report.write(
+                new LoadTestResult(50, Duration.ofSeconds(4), scenarios, timeline), dir);
+
+        // Then
+        assertThat(summary.scenarios()).extracting(LoadTestSummary.Row::scenario)
+                .containsExactly("owner-pets", "get-pet", "all");
+        LoadTestSummary.Row owner = summary.row("owner-pets");
+        assertThat(owner.throughput()).isEqualTo(25.0);
+        assertThat(owner.errorRate()).isEqualTo(0.02);
+        assertThat(owner.p50Millis()).isCloseTo(50.0, within(0.1));
+        assertThat(owner.p99Millis()).isCloseTo(99.0, within(0.1));
+        LoadTestSummary.Row all = summary.row("all");
+        assertThat(all.count()).isEqualTo(200);
+        assertThat(all.errors()).isEqualTo(2);
+        assertThat(all.dropped()).isEqualTo(1);
+        assertThat(all.maxMillis()).isCloseTo(60_000.0, within(60.0));
+        LoadTestSummary.Row get = summary.row("get-pet");
+        assertThat(get.count()).isEqualTo(100);
+        assertThat(get.throughput()).isEqualTo(25.0);
+        assertThat(get.p99Millis()).isCloseTo(1.0, within(0.01));
+        assertThat(get.maxMillis()).isCloseTo(60_000.0, within(60.0));
+
+        assertThat(dir.resolve("owner-pets.hgrm")).content().contains("Percentile", "#[Max     =      100.");
+        assertThat(dir.resolve("get-pet.service.hgrm")).exists();
+        assertThat(dir.resolve("delete-pet.hgrm")).doesNotExist();
+        assertThat(Files.readAllLines(dir.resolve("timeline.csv")))
+                .containsExactly("second,requests_per_second,errors,p50_ms,p99_ms",
+                        "1.0,100.0,0,1.00,50.00", "2.0,100.0,2,2.00,99.00");
+        assertThat(dir.resolve("throughput.svg")).content().startsWith("<svg").contains("<polyline");
+        assertThat(dir.resolve("latency.svg")).content().contains("p50", "p99");
+        assertThat(report.read(dir.resolve(LoadTestReport.SUMMARY))).isEqualTo(summary);
+    }
+}
@@ -0,0 +1,86 @@
+#!/usr/bin/env bash
+#
+# 啟動時間比較：plain / lazy-init / AOT / AOT+CDS
+#
+# 用法：
+#   mvn -Pfast-start package -DskipTests -pl <module> -am
+#   scripts/startup-benchmark.sh <module> [runs] [port]
+#
+# 每種模式啟動 runs 次（預設 5），量測：
+#   - ready(ms)：從啟動 JVM 到 /actuator/health 第一次回應（不論 UP / DOWN，代表已能接流量）
+#   - rss(MB)  ：ready 當下的常駐記憶體
+# 沒有 AOT 產物的模組（spring-boot.aot.skip=true，例如 Eureka Server）只比較 plain / lazy-init / cds。
+# 最後一次啟動的 /actuator/startup 存到 target/startup-<mode>.json，可查最慢的啟動步驟。
+#
+set -euo pipefail
+
+MODULE=${1:?usage: $0 <module> [runs] [port]}
+RUNS=${2:-5}
+PORT=${3:-18080}
+ROOT=$(cd "$(dirname "$0")/.." && pwd)
+TARGET="$ROOT/$MODULE/target"
+JAR="$TARGET/$MODULE-1.0.0-SNAPSHOT.jar"
+JSA="$TARGET/$MODULE.jsa"
+
+if [[ ! -f "$JAR" || ! -d "$TARGET/lib" || ! -f "$JSA" ]]; then
+    echo "missing $JAR, lib/ or $JSA — build with: mvn -Pfast-start package -DskipTests -pl $MODULE -am" >&2
+    exit 1
+fi
+
+now_ms() {
+    date +%s%3N
+}
+
+# 啟動一次，輸出 "ready_ms rss_kb"
+run_once() {
+    local mode=$1; shift
+    local start pid ready rss
+    start=$(now_ms)
+    # AOT 會在建置時凍結條件判斷，這裡只覆寫 port，各模式才會建立同一組 Bean
+    (cd "$TARGET" && exec java "$@" -jar "$JAR" --server.port="$PORT" \
+        --management.server.port="$PORT" >"$TARGET/startup-$mode.log" 2>&1) &
+    pid=$!
+    until curl -s -o /dev/null "http://localhost:$PORT/actuator/health"; do
+        if ! kill -0 "$pid" 2>/dev/null; then
+            echo "$MODULE ($mode) exited before ready, see $TARGET/startup-$mode.log" >&2
+            exit 1
+        fi
+        sleep 0.02
+    done
+    ready=$(( $(now_ms) - start ))
+    rss=$(ps -o rss= -p "$pid" | tr -d ' ')
+    curl -s "http://localhost:$PORT/actuator/startup" -o "$TARGET/startup-$mode.json" || true
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+    echo "$ready $rss"
+}
+
+# 各模式的 JVM 參數
+declare -A MODES=(
+    [plain]=""
+    [lazy-init]="-Dspring.main.lazy-initialization=true"
+    [aot]="-Dspring.aot.enabled=true"
+    [aot+cds]="-Dspring.aot.enabled=true -XX:SharedArchiveFile=$JSA"
+    [cds]="-XX:SharedArchiveFile=$JSA"
+)
+if [[ -n $(find "$TARGET/classes" -name '*__ApplicationContextInitializer.class' -print -quit) ]]; then
+    ORDER=(plain lazy-init aot aot+cds)
+else
+    ORDER=(plain lazy-init cds)
+fi
+
+printf "%-10s %12s %12s %12s\n" "mode" "ready(ms)" "min(ms)" "rss(MB)"
+for mode in "${ORDER[@]}"; do
+    total_ready=0; total_rss=0; min_ready=
+    # 第一次啟動暖 OS 檔案快取，不計入
+    read -r _ _ < <(run_once "$mode" ${MODES[$mode]})
+    for ((i = 0; i < RUNS; i++)); do
+        read -r ready rss < <(run_once "$mode" ${MODES[$mode]})
+        total_ready=$((total_ready + ready))
+        total_rss=$((total_rss + rss))
+        if [[ -z "$min_ready" || $ready -lt $min_ready ]]; then
+            min_ready=$ready
+        fi
+    done
+    printf "%-10s %12d %12d %12d\n" "$mode" $((total_ready / RUNS)) "$min_ready" $((total_rss / RUNS / 1024))
+done